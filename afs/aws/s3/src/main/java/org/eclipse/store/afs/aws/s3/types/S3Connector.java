@@ -15,6 +15,7 @@ package org.eclipse.store.afs.aws.s3.types;
  */
 
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.serializer.math.XMath.positive;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.io.BufferedInputStream;
@@ -31,12 +32,19 @@ import org.eclipse.serializer.exceptions.IORuntimeException;
 import org.eclipse.serializer.io.ByteBufferInputStream;
 import org.eclipse.store.afs.blobstore.types.BlobStoreConnector;
 import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
 
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.internal.util.Mimetype;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
@@ -49,6 +57,7 @@ import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 /**
  * Connector for the <a href="https://aws.amazon.com/s3/">Amazon Simple Storage Service (Amazon S3)</a>.
@@ -99,6 +108,28 @@ public interface S3Connector extends BlobStoreConnector
 			true
 		);
 	}
+	/**
+	 * Pseudo-constructor method which creates a new {@link S3Connector} with cache for general purpose buckets,
+	 * which combines small appends to a file into blobs of up to the given size. The last blob of a file is
+	 * rewritten until it reaches this size, which reduces the number of blobs, at the cost of uploading
+	 * its data again.
+	 *
+	 * @param s3 connection to the S3 storage
+	 * @param writeCombiningSize the size up to which appends are combined into a single blob
+	 * @return a new {@link S3Connector}
+	 */
+	public static S3Connector Caching(
+		final S3Client s3                ,
+		final long     writeCombiningSize
+	)
+	{
+		return new S3Connector.Default(
+			notNull(s3),
+			true,
+			positive(writeCombiningSize)
+		);
+	}
+
 	/**
 	 * Pseudo-constructor method which creates a new {@link S3Connector} for directory buckets.
 	 *
@@ -131,25 +162,62 @@ public interface S3Connector extends BlobStoreConnector
 		);
 	}
 
+	/**
+	 * Pseudo-constructor method which creates a new {@link S3Connector} with cache for directory buckets,
+	 * which combines small appends to a file into blobs of up to the given size.
+	 *
+	 * @param s3 connection to the S3 storage
+	 * @param writeCombiningSize the size up to which appends are combined into a single blob
+	 * @return a new {@link S3Connector}
+	 * @see #Caching(S3Client, long)
+	 */
+	public static S3Connector CachingDirectory(
+		final S3Client s3                ,
+		final long     writeCombiningSize
+	)
+	{
+		return new S3Connector.Directory(
+			notNull(s3),
+			true,
+			positive(writeCombiningSize)
+		);
+	}
+
 
 	public static class Default
 	extends    BlobStoreConnector.Abstract<S3Object>
 	implements S3Connector
 	{
+		private final static long MULTIPART_THRESHOLD = 64L << 20;
+		private final static long MULTIPART_PART_SIZE = 16L << 20;
+		private final static long MAX_COPY_SIZE       = 5L << 30;
+
 		protected final S3Client s3;
+		private   final long     writeCombiningSize;
 
 		Default(
 			final S3Client s3      ,
 			final boolean  useCache
 		)
+		{
+			this(s3, useCache, 0L);
+		}
+
+		Default(
+			final S3Client s3                ,
+			final boolean  useCache          ,
+			final long     writeCombiningSize
+		)
 		{
 			super(
 				S3Object::key,
 				S3Object::size,
 				S3PathValidator.New(),
-				useCache
+				useCache,
+				BlobStoreReadScheduler.New()
 			);
-			this.s3 = s3;
+			this.s3                 = s3                ;
+			this.writeCombiningSize = writeCombiningSize;
 		}
 
 		@Override
@@ -366,6 +434,20 @@ public interface S3Connector extends BlobStoreConnector
 			return response.deleted().size() == blobs.size();
 		}
 
+		@Override
+		protected S3Object writtenBlob(
+			final BlobStorePath file  ,
+			final long          number,
+			final long          size
+		)
+		{
+			return S3Object.builder()
+				.key(toBlobKey(file, number))
+				.size(size)
+				.build()
+			;
+		}
+
 		@Override
 		protected long internalWriteData(
 			final BlobStorePath                  file         ,
@@ -375,9 +457,82 @@ public interface S3Connector extends BlobStoreConnector
 			final long nextBlobNumber = this.nextBlobNumber(file);
 			final long totalSize      = this.totalSize(sourceBuffers);
 
+			if(totalSize > MULTIPART_THRESHOLD)
+			{
+				this.putObjectMultipart(file, nextBlobNumber, sourceBuffers);
+			}
+			else
+			{
+				this.putObject(file, nextBlobNumber, sourceBuffers, totalSize);
+			}
+
+			return totalSize;
+		}
+
+		@Override
+		protected void internalWriteBlob(
+			final BlobStorePath                  file         ,
+			final long                           number       ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			this.putObject(file, number, sourceBuffers, this.totalSize(sourceBuffers));
+		}
+
+		@Override
+		protected boolean internalWriteBlobSupported()
+		{
+			return true;
+		}
+
+		@Override
+		protected long writeCombiningSize()
+		{
+			return this.writeCombiningSize;
+		}
+
+		@Override
+		protected boolean internalCopyBlobSupported()
+		{
+			return true;
+		}
+
+		@Override
+		protected S3Object internalCopyBlob(
+			final BlobStorePath sourceFile,
+			final S3Object      blob      ,
+			final BlobStorePath targetFile,
+			final long          number
+		)
+		{
+			if(blob.size() > MAX_COPY_SIZE)
+			{
+				// larger objects would need a multipart copy
+				return null;
+			}
+
+			final CopyObjectRequest request = CopyObjectRequest.builder()
+				.sourceBucket(sourceFile.container())
+				.sourceKey(blob.key())
+				.destinationBucket(targetFile.container())
+				.destinationKey(toBlobKey(targetFile, number))
+				.build()
+			;
+			this.s3.copyObject(request);
+
+			return this.writtenBlob(targetFile, number, blob.size());
+		}
+
+		private void putObject(
+			final BlobStorePath                  file         ,
+			final long                           number       ,
+			final Iterable<? extends ByteBuffer> sourceBuffers,
+			final long                           totalSize
+		)
+		{
 			final PutObjectRequest request = PutObjectRequest.builder()
 				.bucket(file.container())
-				.key(toBlobKey(file, nextBlobNumber))
+				.key(toBlobKey(file, number))
 				.build()
 			;
 			
@@ -397,8 +552,107 @@ public interface S3Connector extends BlobStoreConnector
 			{
 				throw new IORuntimeException(e);
 			}
+		}
 
-			return totalSize;
+		/*
+		 * Uploads the data in parts, which are slices of the source buffers, so the data is neither copied
+		 * nor held in memory as a whole if the source buffers are read while being iterated.
+		 */
+		private void putObjectMultipart(
+			final BlobStorePath                  file         ,
+			final long                           number       ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			final String key      = toBlobKey(file, number);
+			final String uploadId = this.s3.createMultipartUpload(
+				CreateMultipartUploadRequest.builder()
+					.bucket(file.container())
+					.key(key)
+					.build()
+			).uploadId();
+
+			try
+			{
+				final List<CompletedPart> parts       = new ArrayList<>();
+				final List<ByteBuffer>    partBuffers = new ArrayList<>();
+				      long                partSize    = 0L;
+				for(final ByteBuffer buffer : sourceBuffers)
+				{
+					while(buffer.hasRemaining())
+					{
+						final int amount = (int)Math.min(buffer.remaining(), MULTIPART_PART_SIZE - partSize);
+						partBuffers.add(buffer.slice(buffer.position(), amount));
+						buffer.position(buffer.position() + amount);
+						partSize += amount;
+						if(partSize == MULTIPART_PART_SIZE)
+						{
+							parts.add(this.uploadPart(file, key, uploadId, parts.size() + 1, partBuffers, partSize));
+							partBuffers.clear();
+							partSize = 0L;
+						}
+					}
+				}
+				if(partSize > 0L)
+				{
+					parts.add(this.uploadPart(file, key, uploadId, parts.size() + 1, partBuffers, partSize));
+				}
+
+				this.s3.completeMultipartUpload(
+					CompleteMultipartUploadRequest.builder()
+						.bucket(file.container())
+						.key(key)
+						.uploadId(uploadId)
+						.multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+						.build()
+				);
+			}
+			catch(final RuntimeException e)
+			{
+				this.s3.abortMultipartUpload(
+					AbortMultipartUploadRequest.builder()
+						.bucket(file.container())
+						.key(key)
+						.uploadId(uploadId)
+						.build()
+				);
+				throw e;
+			}
+		}
+
+		private CompletedPart uploadPart(
+			final BlobStorePath    file      ,
+			final String           key       ,
+			final String           uploadId  ,
+			final int              partNumber,
+			final List<ByteBuffer> buffers   ,
+			final long             size
+		)
+		{
+			final UploadPartRequest request = UploadPartRequest.builder()
+				.bucket(file.container())
+				.key(key)
+				.uploadId(uploadId)
+				.partNumber(partNumber)
+				.contentLength(size)
+				.build()
+			;
+			// duplicates for every attempt, so retries resend the whole part
+			final List<ByteBuffer> data = new ArrayList<>(buffers);
+			final RequestBody      body = RequestBody.fromContentProvider(
+				() -> ByteBufferInputStream.New(
+					data.stream().map(ByteBuffer::duplicate).collect(toList())
+				),
+				size,
+				Mimetype.MIMETYPE_OCTET_STREAM
+			);
+			final String eTag = this.s3.uploadPart(request, body).eTag();
+
+			return CompletedPart.builder()
+				.partNumber(partNumber)
+				.eTag(eTag)
+				.build()
+			;
 		}
 
 	}
@@ -411,6 +665,11 @@ public interface S3Connector extends BlobStoreConnector
 		{
 			super(s3, useCache);
 		}
+
+		Directory(final S3Client s3, final boolean useCache, final long writeCombiningSize)
+		{
+			super(s3, useCache, writeCombiningSize);
+		}
 		
 		/*
 		 * Needs to load all objects in a "directory" and filter afterwards,
@@ -27,6 +27,7 @@ import com.azure.core.http.rest.PagedIterable;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobItem;
+import com.azure.storage.blob.models.BlobItemProperties;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.DownloadRetryOptions;
 import com.azure.storage.blob.models.ListBlobsOptions;
@@ -34,6 +35,7 @@ import com.azure.storage.blob.specialized.BlockBlobClient;
 
 import org.eclipse.store.afs.blobstore.types.BlobStoreConnector;
 import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
 import org.eclipse.serializer.exceptions.IORuntimeException;
 import org.eclipse.serializer.io.ByteBufferInputStream;
 import org.eclipse.serializer.io.ByteBufferOutputStream;
@@ -104,7 +106,8 @@ public interface AzureStorageConnector extends BlobStoreConnector
 				BlobItem::getName,
 				b -> b.getProperties().getContentLength(),
 				AzureStoragePathValidator.New(),
-				useCache
+				useCache,
+				BlobStoreReadScheduler.New()
 			);
 			this.serviceClient = serviceClient;
 		}
@@ -219,6 +222,25 @@ public interface AzureStorageConnector extends BlobStoreConnector
 			return true;
 		}
 
+		@Override
+		protected long maximumBlobSize()
+		{
+			return BlockBlobClient.MAX_STAGE_BLOCK_BYTES_LONG;
+		}
+
+		@Override
+		protected BlobItem writtenBlob(
+			final BlobStorePath file  ,
+			final long          number,
+			final long          size
+		)
+		{
+			return new BlobItem()
+				.setName(toBlobKey(file, number))
+				.setProperties(new BlobItemProperties().setContentLength(size))
+			;
+		}
+
 		@Override
 		protected long internalWriteData(
 			final BlobStorePath                  file         ,
@@ -234,7 +256,7 @@ public interface AzureStorageConnector extends BlobStoreConnector
 			{
 				final long currentBatchSize = Math.min(
 					available,
-					BlockBlobClient.MAX_STAGE_BLOCK_BYTES_LONG
+					this.maximumBlobSize()
 				);
 
 				try(LimitedInputStream limitedInputStream = LimitedInputStream.New(
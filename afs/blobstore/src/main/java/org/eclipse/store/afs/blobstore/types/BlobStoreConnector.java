@@ -19,14 +19,17 @@ import static org.eclipse.serializer.util.X.checkArrayRange;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.OptionalLong;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -89,6 +92,8 @@ public interface BlobStoreConnector extends AutoCloseable
 		protected final static char    NUMBER_SUFFIX_SEPARATOR_CHAR = '.';
 		protected final static String  NUMBER_SUFFIX_REGEX          = "\\d+";
 
+		private final static int       MAX_COMBINED_FILES           = 64;
+
 		protected static String toContainerKey(
 			final BlobStorePath directory
 		)
@@ -224,14 +229,24 @@ public interface BlobStoreConnector extends AutoCloseable
 		}
 
 
-		private final Function<B, String>     blobKeyProvider                       ;
-		private final ToLongFunction<B>       blobSizeProvider                      ;
-		private final BlobStorePath.Validator blobStorePathValidator                ;
-		private final AtomicBoolean           open                                  ;
-		private final boolean                 useCache                              ;
-		private final Map<String, Boolean>    directoryExistsCache = new HashMap<>();
-		private final Map<String, Boolean>    fileExistsCache      = new HashMap<>();
-		private final Map<String, Long>       fileSizeCache        = new HashMap<>();
+		private final Function<B, String>      blobKeyProvider                       ;
+		private final ToLongFunction<B>        blobSizeProvider                      ;
+		private final BlobStorePath.Validator  blobStorePathValidator                ;
+		private final AtomicBoolean            open                                  ;
+		private final boolean                  useCache                              ;
+		private final BlobStoreReadScheduler   readScheduler                         ;
+		private final Map<String, Boolean>     directoryExistsCache = new HashMap<>();
+		private final Map<String, Boolean>     fileExistsCache      = new HashMap<>();
+		private final Map<String, Long>        fileSizeCache        = new HashMap<>();
+		private final Map<String, Manifest<B>> manifestCache        = new HashMap<>();
+		private final Map<String, Tail>        tails                = new LinkedHashMap<>(16, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, Tail> eldest)
+			{
+				return this.size() > MAX_COMBINED_FILES;
+			}
+		};
 
 		protected Abstract(
 			final Function<B, String> blobKeyProvider ,
@@ -253,6 +268,23 @@ public interface BlobStoreConnector extends AutoCloseable
 			final BlobStorePath.Validator blobStorePathValidator,
 			final boolean                 useCache
 		)
+		{
+			this(
+				blobKeyProvider,
+				blobSizeProvider,
+				blobStorePathValidator,
+				useCache,
+				BlobStoreReadScheduler.Sequential()
+			);
+		}
+
+		protected Abstract(
+			final Function<B, String>     blobKeyProvider       ,
+			final ToLongFunction<B>       blobSizeProvider      ,
+			final BlobStorePath.Validator blobStorePathValidator,
+			final boolean                 useCache              ,
+			final BlobStoreReadScheduler  readScheduler
+		)
 		{
 			super();
 			this.blobKeyProvider        = notNull(blobKeyProvider) ;
@@ -262,6 +294,7 @@ public interface BlobStoreConnector extends AutoCloseable
 				: BlobStorePath.Validator.NO_OP
 			;
 			this.useCache               = useCache;
+			this.readScheduler          = notNull(readScheduler);
 			this.open                   = new AtomicBoolean(true);
 		}
 
@@ -291,14 +324,217 @@ public interface BlobStoreConnector extends AutoCloseable
 			Iterable<? extends ByteBuffer> sourceBuffers
 		);
 
-		protected long internalFileSize(
+		/**
+		 * The maximum size of a single blob. Writes of more data are split into consecutive blobs of this size.
+		 *
+		 * @return the maximum blob size, unlimited by default
+		 */
+		protected long maximumBlobSize()
+		{
+			return Long.MAX_VALUE;
+		}
+
+		/**
+		 * Creates the metadata of a blob which has just been written by this connector, so that the cached
+		 * {@link Manifest} of its file can be updated without listing the file's blobs again.
+		 * <p>
+		 * Connectors which read blobs by their key only can create a blob description locally.
+		 *
+		 * @param file the file the blob belongs to
+		 * @param number the number of the blob
+		 * @param size the size of the blob
+		 * @return the blob's metadata, or <code>null</code> if not supported, which invalidates the manifest
+		 */
+		protected B writtenBlob(
+			final BlobStorePath file  ,
+			final long          number,
+			final long          size
+		)
+		{
+			return null;
+		}
+
+		/**
+		 * Writes a blob with a specific number, replacing an existing blob with the same number.
+		 * Only called if {@link #internalWriteBlobSupported()} returns <code>true</code>.
+		 *
+		 * @param file the file the blob belongs to
+		 * @param number the number of the blob
+		 * @param sourceBuffers the blob's data
+		 */
+		protected void internalWriteBlob(
+			final BlobStorePath                  file         ,
+			final long                           number       ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			throw new UnsupportedOperationException(
+				"Writing single blobs is not supported by " + this.getClass().getName()
+			);
+		}
+
+		/**
+		 * @return if this connector can write and overwrite single blobs, see
+		 *         {@link #internalWriteBlob(BlobStorePath, long, Iterable)}
+		 */
+		protected boolean internalWriteBlobSupported()
+		{
+			return false;
+		}
+
+		/**
+		 * The size up to which small appends are combined into a single blob. If enabled, the last blob of a
+		 * file is rewritten, with the appended data added to it, until it reaches this size. This keeps the
+		 * number of blobs low, at the cost of uploading the blob's data again. Since overwriting a blob is
+		 * atomic, each write stays durable.
+		 * <p>
+		 * Write combining requires the cache and {@link #internalWriteBlobSupported()}, without them all writes
+		 * take the regular path, regardless of this size.
+		 *
+		 * @return the size up to which writes are combined, 0 if disabled, which is the default
+		 */
+		protected long writeCombiningSize()
+		{
+			return 0L;
+		}
+
+		/**
+		 * Copies a whole blob into a target file on the server side, without transferring its data.
+		 *
+		 * @param sourceFile the file the blob belongs to
+		 * @param blob the blob to copy
+		 * @param targetFile the target file
+		 * @param number the number of the copy in the target file
+		 * @return the metadata of the copy, or <code>null</code> if not supported for this blob
+		 */
+		protected B internalCopyBlob(
+			final BlobStorePath sourceFile,
+			final B             blob      ,
+			final BlobStorePath targetFile,
+			final long          number
+		)
+		{
+			return null;
+		}
+
+		/**
+		 * The size of the chunks in which data is transferred by copy operations, which cannot be executed on
+		 * the server side. Only a single chunk is held in memory at a time.
+		 *
+		 * @return the size of the copy chunks, 16 MiB by default
+		 */
+		protected long copyChunkSize()
+		{
+			return 16L << 20;
+		}
+
+		/**
+		 * Gets the manifest of a file. If the cache is enabled, it is created once by listing the file's blobs
+		 * and kept up to date by this connector's writes, truncations and deletions afterwards.
+		 *
+		 * @param file the file to get the manifest for
+		 * @return the file's manifest
+		 */
+		protected Manifest<B> manifest(
 			final BlobStorePath file
 		)
 		{
-			return this.blobs(file)
-				.mapToLong(this.blobSizeProvider)
-				.sum()
+			if(!this.useCache)
+			{
+				return this.createManifest(file);
+			}
+
+			synchronized(this)
+			{
+				return this.manifestCache.computeIfAbsent(
+					file.fullQualifiedName(),
+					name -> this.createManifest(file)
+				);
+			}
+		}
+
+		private Manifest<B> createManifest(
+			final BlobStorePath file
+		)
+		{
+			final List<B> blobs          = this.blobs(file).collect(toList());
+			final long[]  sizes          = blobs.stream().mapToLong(this.blobSizeProvider).toArray();
+			final long    nextBlobNumber = blobs.isEmpty()
+				? 0L
+				: this.blobNumber(blobs.get(blobs.size() - 1)) + 1
 			;
+			return Manifest.New(blobs, sizes, nextBlobNumber);
+		}
+
+		private Manifest<B> appendWrittenBlobs(
+			final BlobStorePath file    ,
+			final Manifest<B>   manifest,
+			final long          written
+		)
+		{
+			if(written <= 0L)
+			{
+				// it depends on the connector if an empty blob has been written
+				return null;
+			}
+
+			final long    maximumBlobSize = this.maximumBlobSize();
+			final int     blobCount       = checkArrayRange((written - 1L) / maximumBlobSize + 1L);
+			final List<B> blobs           = new ArrayList<>(blobCount);
+			final long[]  sizes           = new long[blobCount];
+			final long    firstNumber     = manifest.nextBlobNumber();
+			for(int i = 0; i < blobCount; i++)
+			{
+				sizes[i] = Math.min(written - i * maximumBlobSize, maximumBlobSize);
+				final B blob = this.writtenBlob(file, firstNumber + i, sizes[i]);
+				if(blob == null)
+				{
+					return null;
+				}
+				blobs.add(blob);
+			}
+
+			return manifest.append(blobs, sizes, firstNumber + blobCount);
+		}
+
+		private void cacheManifest(
+			final BlobStorePath file    ,
+			final Manifest<B>   manifest
+		)
+		{
+			if(!this.useCache)
+			{
+				return;
+			}
+
+			synchronized(this)
+			{
+				if(manifest != null)
+				{
+					this.manifestCache.put(file.fullQualifiedName(), manifest);
+				}
+				else
+				{
+					this.manifestCache.remove(file.fullQualifiedName());
+				}
+			}
+		}
+
+		private Manifest<B> cachedManifest(
+			final BlobStorePath file
+		)
+		{
+			synchronized(this)
+			{
+				return this.manifestCache.get(file.fullQualifiedName());
+			}
+		}
+
+		protected long internalFileSize(
+			final BlobStorePath file
+		)
+		{
+			return this.manifest(file).size();
 		}
 
 		protected boolean internalDirectoryExists(
@@ -312,10 +548,7 @@ public interface BlobStoreConnector extends AutoCloseable
 			final BlobStorePath file
 		)
 		{
-			return this.blobs(file)
-				.findAny()
-				.isPresent()
-			;
+			return this.manifest(file).blobCount() > 0;
 		}
 	
 		protected boolean internalIsEmpty(
@@ -384,7 +617,7 @@ public interface BlobStoreConnector extends AutoCloseable
 			final BlobStorePath file
 		)
 		{
-			final List<? extends B> blobs = this.blobs(file).collect(toList());
+			final List<? extends B> blobs = this.manifest(file).blobs();
 			return blobs.isEmpty()
 				? false
 				: this.internalDeleteBlobs(file, blobs)
@@ -454,40 +687,116 @@ public interface BlobStoreConnector extends AutoCloseable
 			final long          length
 		)
 		{
-			final ByteBuffer buffer = this.readData(sourceFile, offset, length);
-			return this.writeData(targetFile, Arrays.asList(buffer));
+			final Manifest<B> manifest = this.manifest(sourceFile);
+			final long        end      = length > 0L
+				? Math.min(offset + length, manifest.size())
+				: manifest.size()
+			;
+			      long        position = offset;
+			      long        copied   = 0L;
+			for(int i = manifest.indexOf(offset); position < end && i < manifest.blobCount(); i++)
+			{
+				final long blobStart = manifest.offset(i);
+				final long blobEnd   = blobStart + manifest.blobSize(i);
+				if(blobStart == blobEnd)
+				{
+					continue;
+				}
+
+				// whole blobs are copied on the server side if possible
+				if(blobStart >= position && blobEnd <= end)
+				{
+					final long number = this.nextBlobNumber(targetFile);
+					final B    copy   = this.internalCopyBlob(sourceFile, manifest.blob(i), targetFile, number);
+					if(copy != null)
+					{
+						this.blobCopied(targetFile, copy, number, blobEnd - blobStart);
+						copied  += blobEnd - blobStart;
+						position = blobEnd;
+						continue;
+					}
+				}
+
+				// the rest up to the next server side copy is streamed
+				final long streamEnd = this.streamEnd(manifest, i, position, end);
+				copied  += this.writeData(
+					targetFile,
+					new StreamedData(this, sourceFile, position, streamEnd - position, this.copyChunkSize())
+				);
+				i        = manifest.indexOf(streamEnd) - 1;
+				position = streamEnd;
+			}
+
+			return copied;
 		}
 
-		protected void internalTruncateFile(
-			final BlobStorePath file     ,
-			final long          newLength
+		private long streamEnd(
+			final Manifest<B> manifest ,
+			final int         blobIndex,
+			final long        position ,
+			final long        end
 		)
 		{
-			final List<? extends B> blobs = this.blobs(file).collect(toList());
-			      long              offset = 0L;
-			      B                 blob   = null;
-			for(final B b : blobs)
+			if(this.internalCopyBlobSupported())
 			{
-				final long size  = this.blobSizeProvider.applyAsLong(b);
-				final long start = offset;
-				final long end   = offset + size - 1L;
-				if(start <= newLength && end >= newLength)
-				{
-					blob = b;
-					break;
-				}
-				offset += size;
+				// stream up to the end of the blob, the following ones may be copied on the server side
+				return Math.min(manifest.offset(blobIndex) + manifest.blobSize(blobIndex), end);
 			}
+			return end;
+		}
+
+		/**
+		 * @return if this connector supports server side copies, see
+		 *         {@link #internalCopyBlob(BlobStorePath, Object, BlobStorePath, long)}
+		 */
+		protected boolean internalCopyBlobSupported()
+		{
+			return false;
+		}
 
-			if(blob == null)
+		private void blobCopied(
+			final BlobStorePath file  ,
+			final B             blob  ,
+			final long          number,
+			final long          size
+		)
+		{
+			if(!this.useCache)
+			{
+				return;
+			}
+
+			final Manifest<B> manifest = this.cachedManifest(file);
+			synchronized(this)
+			{
+				this.fileExistsCache.put(file.fullQualifiedName(), Boolean.TRUE);
+				this.fileSizeCache.merge(file.fullQualifiedName(), size, Math::addExact);
+			}
+			this.cacheManifest(
+				file,
+				manifest != null
+					? manifest.append(Arrays.asList(blob), new long[] {size}, number + 1)
+					: null
+			);
+		}
+
+
+		protected void internalTruncateFile(
+			final BlobStorePath file     ,
+			final long          newLength
+		)
+		{
+			final Manifest<B> manifest  = this.manifest(file);
+			final int         blobIndex = manifest.indexOf(newLength);
+			final int         blobCount = manifest.blobCount();
+			if(blobIndex >= blobCount)
 			{
 				throw new IllegalArgumentException("new length > file length");
 			}
 
-			final long blobStart = offset;
-			final long blobEnd   = this.blobSizeProvider.applyAsLong(blob) - 1L;
-			final int  blobIndex = blobs.indexOf(blob);
-			final int  blobCount = blobs.size();
+			final B       blob      = manifest.blob(blobIndex);
+			final long    blobStart = manifest.offset(blobIndex);
+			final List<B> blobs     = manifest.blobs();
 
 			if(blobStart == newLength)
 			{
@@ -495,13 +804,15 @@ public interface BlobStoreConnector extends AutoCloseable
 					file,
 					blobs.subList(blobIndex, blobCount)
 				);
+				this.cacheManifest(file, manifest.truncate(blobIndex));
 			}
-			else if(blobEnd == newLength - 1)
+			else if(blobStart + manifest.blobSize(blobIndex) == newLength)
 			{
 				this.internalDeleteBlobs(
 					file,
 					blobs.subList(blobIndex + 1, blobCount)
 				);
+				this.cacheManifest(file, manifest.truncate(blobIndex + 1));
 			}
 			else
 			{
@@ -516,8 +827,11 @@ public interface BlobStoreConnector extends AutoCloseable
 					file,
 					blobs.subList(blobIndex, blobCount)
 				);
+				final Manifest<B> truncated = manifest.truncate(blobIndex);
+				this.cacheManifest(file, truncated);
 
-				this.internalWriteData(file, Arrays.asList(buffer));
+				final long written = this.internalWriteData(file, Arrays.asList(buffer));
+				this.cacheManifest(file, this.appendWrittenBlobs(file, truncated, written));
 			}
 		}
 
@@ -552,14 +866,7 @@ public interface BlobStoreConnector extends AutoCloseable
 			final BlobStorePath file
 		)
 		{
-			final OptionalLong maxBlobNumber = this.blobs(file)
-				.mapToLong(this::blobNumber)
-				.max()
-			;
-			return maxBlobNumber.isPresent()
-				? maxBlobNumber.getAsLong() + 1
-				: 0L
-			;
+			return this.manifest(file).nextBlobNumber();
 		}
 
 		protected long internalReadData(
@@ -569,57 +876,101 @@ public interface BlobStoreConnector extends AutoCloseable
 			final long                     length
 		)
 		{
-			final List<B>     blobs        = this.blobs(file).collect(toList());
-			final long        sizeTotal    = blobs.stream()
-				.mapToLong(this.blobSizeProvider)
-				.sum()
+			final Manifest<B> manifest  = this.manifest(file);
+			final long        fileSize  = manifest.size();
+			final long        remaining = length > 0L
+				? length
+				: fileSize - offset
 			;
-			final Iterator<B> iterator     = blobs.iterator();
-		          long        remaining    = length > 0L
-		        	  ? length
-		        	  : sizeTotal - offset
-		          ;
-		          long        readTotal    = 0L;
-		          long        skipped      = 0L;
-		          ByteBuffer  targetBuffer = null;
-			while(remaining > 0 && iterator.hasNext())
-			{
-				final B    blob     = iterator.next();
-				final long blobSize = this.blobSizeProvider.applyAsLong(blob);
-				if(skipped + blobSize <= offset)
+			if(remaining <= 0L || offset >= fileSize)
+			{
+				return 0L;
+			}
+
+			final ByteBuffer targetBuffer = bufferProvider.apply(remaining);
+			final String     key          = file.fullQualifiedName();
+			      long       readTotal    = this.readScheduler.readAhead(key, offset, remaining, targetBuffer);
+			readTotal += this.readRange(file, manifest, offset + readTotal, remaining - readTotal, targetBuffer, true);
+
+			this.readScheduler.readCompleted(
+				key,
+				offset,
+				offset + readTotal,
+				fileSize,
+				(o, l, buffer) -> this.readRange(file, manifest, o, l, buffer, false)
+			);
+
+			return readTotal;
+		}
+
+		/**
+		 * Reads a range of a file, with one ranged request per blob, or per {@link BlobStoreReadScheduler#requestSize()}
+		 * bytes of a blob if executed in parallel.
+		 */
+		private long readRange(
+			final BlobStorePath file        ,
+			final Manifest<B>   manifest    ,
+			final long          offset      ,
+			final long          length      ,
+			final ByteBuffer    targetBuffer,
+			final boolean       parallel
+		)
+		{
+			final long              requestSize = parallel
+				? this.readScheduler.requestSize()
+				: Long.MAX_VALUE
+			;
+			final List<BlobRead<B>> reads       = new ArrayList<>();
+			      long              remaining   = length;
+			      long              readTotal   = 0L;
+			for(int i = manifest.indexOf(offset); remaining > 0 && i < manifest.blobCount(); i++)
+			{
+				final long blobSize   = manifest.blobSize(i);
+				final long blobOffset = Math.max(offset - manifest.offset(i), 0L);
+				if(blobSize == 0L)
 				{
-					skipped += blobSize;
 					continue;
 				}
 
-				if(targetBuffer == null)
+				final long amount = Math.min(
+					blobSize - blobOffset,
+					remaining
+				);
+				for(long requestOffset = 0L; requestOffset < amount; requestOffset += requestSize)
 				{
-					targetBuffer = bufferProvider.apply(remaining);
+					reads.add(new BlobRead<>(
+						manifest.blob(i),
+						blobOffset + requestOffset,
+						Math.min(requestSize, amount - requestOffset),
+						readTotal + requestOffset
+					));
 				}
+				remaining -= amount;
+				readTotal += amount;
+			}
 
-				final long blobOffset;
-				if(skipped < offset)
+			if(reads.size() > 1 && parallel)
+			{
+				// the requests fill disjoint slices of the target buffer
+				final int            targetPosition = targetBuffer.position();
+				final List<Runnable> requests       = new ArrayList<>(reads.size());
+				for(final BlobRead<B> read : reads)
 				{
-					blobOffset = offset - skipped;
-					skipped = offset;
+					final ByteBuffer slice = targetBuffer.slice(
+						checkArrayRange(targetPosition + read.targetOffset),
+						checkArrayRange(read.length)
+					);
+					requests.add(() -> this.internalReadBlobData(file, read.blob, slice, read.offset, read.length));
 				}
-				else
+				this.readScheduler.read(requests);
+				targetBuffer.position(checkArrayRange(targetPosition + readTotal));
+			}
+			else
+			{
+				for(final BlobRead<B> read : reads)
 				{
-					blobOffset = 0L;
+					this.internalReadBlobData(file, read.blob, targetBuffer, read.offset, read.length);
 				}
-				final long amount = Math.min(
-					blobSize - blobOffset,
-					remaining
-				);
-				this.internalReadBlobData(
-					file,
-					blob,
-					targetBuffer,
-					blobOffset,
-					amount
-				);
-				remaining -= amount;
-				readTotal += amount;
 			}
 
 			return readTotal;
@@ -629,6 +980,12 @@ public interface BlobStoreConnector extends AutoCloseable
 			final Iterable<? extends ByteBuffer> sourceBuffers
 		)
 		{
+			if(sourceBuffers instanceof StreamedData)
+			{
+				// known in advance, without reading the data
+				return ((StreamedData)sourceBuffers).length;
+			}
+
 			long totalSize = 0L;
 			for(final ByteBuffer buffer : sourceBuffers)
 			{
@@ -772,8 +1129,11 @@ public interface BlobStoreConnector extends AutoCloseable
 				{
 					this.fileExistsCache.remove(file.fullQualifiedName());
 					this.fileSizeCache.remove(file.fullQualifiedName());
+					this.manifestCache.remove(file.fullQualifiedName());
+					this.tails.remove(file.fullQualifiedName());
 				}
 			}
+			this.readScheduler.invalidate(file.fullQualifiedName());
 			
 			return success;
 		}
@@ -830,15 +1190,24 @@ public interface BlobStoreConnector extends AutoCloseable
 			this.ensureOpen();
 			this.blobStorePathValidator.validate(file);
 
+			if(this.useCache && this.internalWriteBlobSupported() && this.writeCombiningSize() > 0L)
+			{
+				return this.writeCombined(file, sourceBuffers);
+			}
+
 			final long written = this.internalWriteData(file, sourceBuffers);
 			
 			if(this.useCache)
 			{
-				synchronized(this)
-				{
-					this.fileExistsCache.put(file.fullQualifiedName(), Boolean.TRUE);
-					this.fileSizeCache.merge(file.fullQualifiedName(), written, Math::addExact);
-				}
+				// the manifest has been cached by nextBlobNumber, if the connector used it
+				final Manifest<B> manifest = this.cachedManifest(file);
+				this.dataWritten(
+					file,
+					written,
+					manifest != null
+						? this.appendWrittenBlobs(file, manifest, written)
+						: null
+				);
 			}
 			
 			return written;
@@ -855,6 +1224,8 @@ public interface BlobStoreConnector extends AutoCloseable
 			this.blobStorePathValidator.validate(targetFile);
 
 			this.internalMoveFile(sourceFile, targetFile);
+			this.readScheduler.invalidate(sourceFile.fullQualifiedName());
+			this.readScheduler.invalidate(targetFile.fullQualifiedName());
 			
 			if(this.useCache)
 			{
@@ -862,6 +1233,10 @@ public interface BlobStoreConnector extends AutoCloseable
 				{
 					this.fileExistsCache.put(sourceFile.fullQualifiedName(), Boolean.FALSE);
 					this.fileExistsCache.put(targetFile.fullQualifiedName(), Boolean.TRUE);
+					this.manifestCache.remove(sourceFile.fullQualifiedName());
+					this.manifestCache.remove(targetFile.fullQualifiedName());
+					this.tails.remove(sourceFile.fullQualifiedName());
+					this.tails.remove(targetFile.fullQualifiedName());
 					
 					final Long fileSize = this.fileSizeCache.remove(sourceFile.fullQualifiedName());
 					if(fileSize != null)
@@ -872,6 +1247,110 @@ public interface BlobStoreConnector extends AutoCloseable
 			}
 		}
 
+		private void dataWritten(
+			final BlobStorePath file    ,
+			final long          written ,
+			final Manifest<B>   manifest
+		)
+		{
+			synchronized(this)
+			{
+				this.fileExistsCache.put(file.fullQualifiedName(), Boolean.TRUE);
+				this.fileSizeCache.merge(file.fullQualifiedName(), written, Math::addExact);
+			}
+			this.cacheManifest(file, manifest);
+		}
+
+		private long writeCombined(
+			final BlobStorePath                  file         ,
+			final Iterable<? extends ByteBuffer> sourceBuffers
+		)
+		{
+			final long        size      = this.totalSize(sourceBuffers);
+			final long        limit     = this.writeCombiningSize();
+			final Manifest<B> manifest  = this.manifest(file);
+			final int         blobCount = manifest.blobCount();
+			final String      key       = file.fullQualifiedName();
+			      Tail        tail;
+			synchronized(this)
+			{
+				tail = this.tails.get(key);
+			}
+			// the tail is valid as long as it is the file's last blob
+			if(tail != null && (blobCount == 0
+				|| this.blobNumber(manifest.blob(blobCount - 1)) != tail.number
+				|| manifest.blobSize(blobCount - 1) != tail.data.length
+			))
+			{
+				tail = null;
+			}
+
+			final Tail        newTail;
+			final Manifest<B> updated;
+			if(tail != null && tail.data.length + size <= limit)
+			{
+				final byte[] data = Arrays.copyOf(tail.data, checkArrayRange(tail.data.length + size));
+				copy(sourceBuffers, data, tail.data.length);
+				this.internalWriteBlob(file, tail.number, Arrays.asList(ByteBuffer.wrap(data)));
+
+				newTail = new Tail(tail.number, data);
+				final B blob = this.writtenBlob(file, tail.number, data.length);
+				updated = blob != null
+					? manifest.truncate(blobCount - 1).append(
+						Arrays.asList(blob),
+						new long[] {data.length},
+						manifest.nextBlobNumber()
+					)
+					: null
+				;
+			}
+			else if(size > 0L && size < limit)
+			{
+				final byte[] data   = new byte[checkArrayRange(size)];
+				final long   number = manifest.nextBlobNumber();
+				copy(sourceBuffers, data, 0);
+				this.internalWriteBlob(file, number, Arrays.asList(ByteBuffer.wrap(data)));
+
+				newTail = new Tail(number, data);
+				updated = this.appendWrittenBlobs(file, manifest, size);
+			}
+			else
+			{
+				final long written = this.internalWriteData(file, sourceBuffers);
+
+				newTail = null;
+				updated = this.appendWrittenBlobs(file, manifest, written);
+			}
+
+			synchronized(this)
+			{
+				if(newTail != null)
+				{
+					this.tails.put(key, newTail);
+				}
+				else
+				{
+					this.tails.remove(key);
+				}
+			}
+			this.dataWritten(file, size, updated);
+
+			return size;
+		}
+
+		private static void copy(
+			final Iterable<? extends ByteBuffer> sourceBuffers,
+			final byte[]                         target       ,
+			final int                            offset
+		)
+		{
+			final ByteBuffer targetBuffer = ByteBuffer.wrap(target, offset, target.length - offset);
+			for(final ByteBuffer buffer : sourceBuffers)
+			{
+				targetBuffer.put(buffer);
+			}
+		}
+
 		@Override
 		public final long copyFile(
 			final BlobStorePath sourceFile,
@@ -903,12 +1382,14 @@ public interface BlobStoreConnector extends AutoCloseable
 			this.blobStorePathValidator.validate(file);
 
 			this.internalTruncateFile(file, newLength);
+			this.readScheduler.invalidate(file.fullQualifiedName());
 			
 			if(this.useCache)
 			{
 				synchronized(this)
 				{
 					this.fileSizeCache.put(file.fullQualifiedName(), newLength);
+					this.tails.remove(file.fullQualifiedName());
 				}
 			}
 		}
@@ -916,14 +1397,246 @@ public interface BlobStoreConnector extends AutoCloseable
 		@Override
 		public final void close()
 		{
-			if(!this.open.get())
+			if(this.open.compareAndSet(true, false))
 			{
-				this.open.set(false);
-
+				this.readScheduler.close();
 				this.internalClose();
 			}
 		}
 
+
+
+		/**
+		 * Data of a file's range, which is read chunk by chunk while being iterated.
+		 * Its size is known in advance, see {@link Abstract#totalSize(Iterable)}.
+		 */
+		static final class StreamedData implements Iterable<ByteBuffer>
+		{
+			final BlobStoreConnector connector;
+			final BlobStorePath      file     ;
+			final long               offset   ;
+			final long               length   ;
+			final long               chunkSize;
+
+			StreamedData(
+				final BlobStoreConnector connector,
+				final BlobStorePath      file     ,
+				final long               offset   ,
+				final long               length   ,
+				final long               chunkSize
+			)
+			{
+				super();
+
+				this.connector = connector;
+				this.file      = file     ;
+				this.offset    = offset   ;
+				this.length    = length   ;
+				this.chunkSize = chunkSize;
+			}
+
+			@Override
+			public Iterator<ByteBuffer> iterator()
+			{
+				return new Iterator<ByteBuffer>()
+				{
+					private long position = StreamedData.this.offset;
+
+					@Override
+					public boolean hasNext()
+					{
+						return this.position < StreamedData.this.offset + StreamedData.this.length;
+					}
+
+					@Override
+					public ByteBuffer next()
+					{
+						if(!this.hasNext())
+						{
+							throw new NoSuchElementException();
+						}
+
+						final long chunkLength = Math.min(
+							StreamedData.this.chunkSize,
+							StreamedData.this.offset + StreamedData.this.length - this.position
+						);
+						final ByteBuffer chunk = StreamedData.this.connector.readData(
+							StreamedData.this.file,
+							this.position,
+							chunkLength
+						);
+						this.position += chunkLength;
+						return chunk;
+					}
+				};
+			}
+		}
+
+		static final class Tail
+		{
+			final long   number;
+			final byte[] data  ;
+
+			Tail(final long number, final byte[] data)
+			{
+				super();
+
+				this.number = number;
+				this.data   = data  ;
+			}
+		}
+
+		static final class BlobRead<B>
+		{
+			final B    blob        ;
+			final long offset      ;
+			final long length      ;
+			final long targetOffset;
+
+			BlobRead(final B blob, final long offset, final long length, final long targetOffset)
+			{
+				super();
+
+				this.blob         = blob        ;
+				this.offset       = offset      ;
+				this.length       = length      ;
+				this.targetOffset = targetOffset;
+			}
+		}
+
+
+		/**
+		 * Immutable description of the blobs a file consists of: their metadata, sizes and offsets in the file,
+		 * and the number the next blob will get.
+		 *
+		 * @param <B> the blob type
+		 */
+		protected static final class Manifest<B>
+		{
+			static <B> Manifest<B> New(
+				final List<B> blobs         ,
+				final long[]  sizes         ,
+				final long    nextBlobNumber
+			)
+			{
+				final long[] offsets = new long[sizes.length + 1];
+				for(int i = 0; i < sizes.length; i++)
+				{
+					offsets[i + 1] = offsets[i] + sizes[i];
+				}
+				return new Manifest<>(Collections.unmodifiableList(new ArrayList<>(blobs)), offsets, nextBlobNumber);
+			}
+
+
+			private final List<B> blobs         ;
+			private final long[]  offsets       ;
+			private final long    nextBlobNumber;
+
+			private Manifest(
+				final List<B> blobs         ,
+				final long[]  offsets       ,
+				final long    nextBlobNumber
+			)
+			{
+				super();
+
+				this.blobs          = blobs         ;
+				this.offsets        = offsets       ;
+				this.nextBlobNumber = nextBlobNumber;
+			}
+
+			public List<B> blobs()
+			{
+				return this.blobs;
+			}
+
+			public int blobCount()
+			{
+				return this.blobs.size();
+			}
+
+			public B blob(final int index)
+			{
+				return this.blobs.get(index);
+			}
+
+			/**
+			 * @param index the blob's index
+			 * @return the offset of the blob's first byte in the file
+			 */
+			public long offset(final int index)
+			{
+				return this.offsets[index];
+			}
+
+			public long blobSize(final int index)
+			{
+				return this.offsets[index + 1] - this.offsets[index];
+			}
+
+			public long size()
+			{
+				return this.offsets[this.blobs.size()];
+			}
+
+			public long nextBlobNumber()
+			{
+				return this.nextBlobNumber;
+			}
+
+			/**
+			 * @param offset an offset in the file
+			 * @return the index of the first blob containing the offset, or {@link #blobCount()} if the offset
+			 *         is not less than the file's size
+			 */
+			public int indexOf(final long offset)
+			{
+				// first blob which ends after the offset
+				int low  = 0;
+				int high = this.blobs.size();
+				while(low < high)
+				{
+					final int middle = low + high >>> 1;
+					if(this.offsets[middle + 1] <= offset)
+					{
+						low = middle + 1;
+					}
+					else
+					{
+						high = middle;
+					}
+				}
+				return low;
+			}
+
+			Manifest<B> truncate(final int blobCount)
+			{
+				return new Manifest<>(
+					this.blobs.subList(0, blobCount),
+					Arrays.copyOf(this.offsets, blobCount + 1),
+					this.nextBlobNumber
+				);
+			}
+
+			Manifest<B> append(
+				final List<B> blobs         ,
+				final long[]  sizes         ,
+				final long    nextBlobNumber
+			)
+			{
+				final int     count      = this.blobs.size();
+				final List<B> newBlobs   = new ArrayList<>(count + blobs.size());
+				final long[]  newOffsets = Arrays.copyOf(this.offsets, count + sizes.length + 1);
+				newBlobs.addAll(this.blobs);
+				newBlobs.addAll(blobs);
+				for(int i = 0; i < sizes.length; i++)
+				{
+					newOffsets[count + i + 1] = newOffsets[count + i] + sizes[i];
+				}
+				return new Manifest<>(Collections.unmodifiableList(newBlobs), newOffsets, nextBlobNumber);
+			}
+
+		}
 	}
 
 }
@@ -0,0 +1,629 @@
+package org.eclipse.store.afs.blobstore.types;
+
+/*-
+ * #%L
+ * EclipseStore Abstract File System Blobstore
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.positive;
+import static org.eclipse.serializer.util.X.checkArrayRange;
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.serializer.exceptions.IORuntimeException;
+
+
+/**
+ * Decorator for a {@link BlobStoreConnector}, which keeps a bounded cache of file data on the local disk.
+ * <p>
+ * Files are cached in pages of a fixed size. Only complete pages are cached, since the data of a storage file
+ * never changes, except by appending, truncation or deletion. Appending doesn't change complete pages, truncation
+ * and deletion are performed through this connector, which discards the affected pages. So the cache never
+ * serves stale data, as long as the files are changed through this connector only.
+ * <p>
+ * The pages are kept in slots of a single cache file, which stays open while the connector is open.
+ * The least recently used pages are evicted when the cache exceeds its maximum size, their slots are reused.
+ * The cache file is recreated on startup and deleted when closed.
+ * <p>
+ * Only {@link BlobStoreConnector}s can be decorated. The SQL connector is not a blob store connector, its
+ * file system has no local disk cache.
+ * <pre>
+ * BlobStoreFileSystem fileSystem = BlobStoreFileSystem.New(
+ * 	BlobStoreDiskCacheConnector.New(
+ * 		S3Connector.Caching(client),
+ * 		Paths.get("/var/cache/storage"),
+ * 		10L * 1024 * 1024 * 1024
+ * 	)
+ * );
+ * </pre>
+ */
+public interface BlobStoreDiskCacheConnector extends BlobStoreConnector
+{
+	/**
+	 * @return the decorated connector
+	 */
+	public BlobStoreConnector delegate();
+
+	/**
+	 * @return the maximum size of all cached pages
+	 */
+	public long maximumSize();
+
+	/**
+	 * @return the current size of all cached pages
+	 */
+	public long size();
+
+
+	/**
+	 * @return the default page size, which is 1 MiB
+	 */
+	public static int DefaultPageSize()
+	{
+		return 1 << 20;
+	}
+
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreDiskCacheConnector}.
+	 *
+	 * @param delegate the connector to decorate
+	 * @param cacheDirectory the directory for the cached pages
+	 * @param maximumSize the maximum size of all cached pages
+	 * @return a new {@link BlobStoreDiskCacheConnector}
+	 */
+	public static BlobStoreDiskCacheConnector New(
+		final BlobStoreConnector delegate      ,
+		final Path               cacheDirectory,
+		final long               maximumSize
+	)
+	{
+		return New(delegate, cacheDirectory, maximumSize, DefaultPageSize());
+	}
+
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreDiskCacheConnector}.
+	 *
+	 * @param delegate the connector to decorate
+	 * @param cacheDirectory the directory for the cached pages
+	 * @param maximumSize the maximum size of all cached pages
+	 * @param pageSize the size of a cached page
+	 * @return a new {@link BlobStoreDiskCacheConnector}
+	 */
+	public static BlobStoreDiskCacheConnector New(
+		final BlobStoreConnector delegate      ,
+		final Path               cacheDirectory,
+		final long               maximumSize   ,
+		final int                pageSize
+	)
+	{
+		return new BlobStoreDiskCacheConnector.Default(
+			notNull(delegate)      ,
+			notNull(cacheDirectory),
+			positive(maximumSize)  ,
+			positive(pageSize)
+		);
+	}
+
+
+	public static class Default implements BlobStoreDiskCacheConnector
+	{
+		private final static String CACHE_FILE_NAME = "pages.cache";
+
+		private final BlobStoreConnector    delegate      ;
+		private final Path                  cacheFile     ;
+		private final FileChannel           channel       ;
+		private final long                  maximumSize   ;
+		private final int                   pageSize      ;
+		private final long                  slotCount     ;
+		private final Map<PageKey, Page>    pages         = new LinkedHashMap<>(16, 0.75f, true);
+		private final Map<String, Long>     fileIds       = new HashMap<>();
+		private final AtomicLong            nextId        = new AtomicLong();
+		private final ArrayDeque<Long>      freeSlots     = new ArrayDeque<>();
+		private       long                  nextSlot      ;
+		private       long                  size          ;
+
+		Default(
+			final BlobStoreConnector delegate      ,
+			final Path               cacheDirectory,
+			final long               maximumSize   ,
+			final int                pageSize
+		)
+		{
+			super();
+
+			this.delegate    = delegate   ;
+			this.cacheFile   = cacheDirectory.resolve(CACHE_FILE_NAME);
+			this.maximumSize = maximumSize;
+			this.pageSize    = pageSize   ;
+			this.slotCount   = Math.max(1L, maximumSize / pageSize);
+
+			try
+			{
+				Files.createDirectories(cacheDirectory);
+				// pages of a previous run are discarded
+				this.channel = FileChannel.open(
+					this.cacheFile,
+					StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.READ,
+					StandardOpenOption.WRITE
+				);
+			}
+			catch(final IOException e)
+			{
+				throw new IORuntimeException(e);
+			}
+		}
+
+		@Override
+		public BlobStoreConnector delegate()
+		{
+			return this.delegate;
+		}
+
+		@Override
+		public long maximumSize()
+		{
+			return this.maximumSize;
+		}
+
+		@Override
+		public synchronized long size()
+		{
+			return this.size;
+		}
+
+		@Override
+		public long fileSize(final BlobStorePath file)
+		{
+			return this.delegate.fileSize(file);
+		}
+
+		@Override
+		public boolean directoryExists(final BlobStorePath directory)
+		{
+			return this.delegate.directoryExists(directory);
+		}
+
+		@Override
+		public boolean fileExists(final BlobStorePath file)
+		{
+			return this.delegate.fileExists(file);
+		}
+
+		@Override
+		public void visitChildren(final BlobStorePath directory, final BlobStorePathVisitor visitor)
+		{
+			this.delegate.visitChildren(directory, visitor);
+		}
+
+		@Override
+		public boolean isEmpty(final BlobStorePath directory)
+		{
+			return this.delegate.isEmpty(directory);
+		}
+
+		@Override
+		public boolean createDirectory(final BlobStorePath directory)
+		{
+			return this.delegate.createDirectory(directory);
+		}
+
+		@Override
+		public boolean createFile(final BlobStorePath file)
+		{
+			return this.delegate.createFile(file);
+		}
+
+		@Override
+		public boolean deleteFile(final BlobStorePath file)
+		{
+			this.discard(file, 0L);
+			return this.delegate.deleteFile(file);
+		}
+
+		@Override
+		public ByteBuffer readData(
+			final BlobStorePath file  ,
+			final long          offset,
+			final long          length
+		)
+		{
+			if(length == 0L)
+			{
+				return ByteBuffer.allocateDirect(0);
+			}
+
+			final long       fileSize = this.delegate.fileSize(file);
+			final long       end      = end(fileSize, offset, length);
+			final ByteBuffer buffer   = ByteBuffer.allocateDirect(checkArrayRange(Math.max(end - offset, 0L)));
+			this.read(file, fileSize, buffer, offset, end);
+			return buffer.flip();
+		}
+
+		@Override
+		public long readData(
+			final BlobStorePath file        ,
+			final ByteBuffer    targetBuffer,
+			final long          offset      ,
+			final long          length
+		)
+		{
+			if(length == 0L)
+			{
+				return 0L;
+			}
+
+			final long fileSize = this.delegate.fileSize(file);
+			return this.read(file, fileSize, targetBuffer, offset, end(fileSize, offset, length));
+		}
+
+		private static long end(
+			final long fileSize,
+			final long offset  ,
+			final long length
+		)
+		{
+			return length > 0L
+				? Math.min(offset + length, fileSize)
+				: fileSize
+			;
+		}
+
+		private long read(
+			final BlobStorePath file        ,
+			final long          fileSize    ,
+			final ByteBuffer    targetBuffer,
+			final long          offset      ,
+			final long          end
+		)
+		{
+			long position = offset;
+			while(position < end)
+			{
+				final long pageIndex = position / this.pageSize;
+				final long pageStart = pageIndex * this.pageSize;
+				final long pageEnd   = pageStart + this.pageSize;
+				if(pageEnd > fileSize)
+				{
+					// incomplete pages may still change, they are read directly
+					position += this.delegate.readData(file, targetBuffer, position, end - position);
+					break;
+				}
+
+				final int amount = (int)(Math.min(end, pageEnd) - position);
+				this.readPage(file, pageIndex, (int)(position - pageStart), amount, targetBuffer);
+				position += amount;
+			}
+
+			return position - offset;
+		}
+
+		private void readPage(
+			final BlobStorePath file        ,
+			final long          pageIndex   ,
+			final int           pageOffset  ,
+			final int           length      ,
+			final ByteBuffer    targetBuffer
+		)
+		{
+			final PageKey key = this.pageKey(file, pageIndex);
+			final Page    page;
+			synchronized(this)
+			{
+				// pinned, so that its slot isn't reused while being read
+				if((page = this.pages.get(key)) != null)
+				{
+					page.pins++;
+				}
+			}
+
+			if(page != null)
+			{
+				final boolean read = this.readCachedPage(page, pageOffset, length, targetBuffer);
+				synchronized(this)
+				{
+					page.pins--;
+					this.releaseIfUnused(page);
+				}
+				if(read)
+				{
+					return;
+				}
+			}
+
+			final ByteBuffer data = this.delegate.readData(file, pageIndex * this.pageSize, this.pageSize);
+			this.cachePage(key, data.duplicate());
+			targetBuffer.put(data.slice(pageOffset, length));
+		}
+
+		private boolean readCachedPage(
+			final Page       page        ,
+			final int        pageOffset  ,
+			final int        length      ,
+			final ByteBuffer targetBuffer
+		)
+		{
+			final ByteBuffer target   = targetBuffer.slice(targetBuffer.position(), length);
+			      long       position = page.slot * this.pageSize + pageOffset;
+			try
+			{
+				while(target.hasRemaining())
+				{
+					final int read = this.channel.read(target, position);
+					if(read < 0)
+					{
+						return false;
+					}
+					position += read;
+				}
+			}
+			catch(final IOException e)
+			{
+				// unreadable, read from the delegate
+				return false;
+			}
+
+			targetBuffer.position(targetBuffer.position() + length);
+			return true;
+		}
+
+		private void cachePage(final PageKey key, final ByteBuffer data)
+		{
+			final long slot = this.allocateSlot();
+			if(slot < 0L)
+			{
+				// all slots are being read
+				return;
+			}
+
+			try
+			{
+				// written completely before being visible to readers
+				long position = slot * this.pageSize;
+				while(data.hasRemaining())
+				{
+					position += this.channel.write(data, position);
+				}
+			}
+			catch(final IOException e)
+			{
+				// the cache is optional
+				synchronized(this)
+				{
+					this.freeSlots.push(slot);
+				}
+				return;
+			}
+
+			synchronized(this)
+			{
+				final Page previous = this.pages.put(key, new Page(slot));
+				if(previous == null)
+				{
+					this.size += this.pageSize;
+				}
+				else
+				{
+					// cached concurrently by another reader
+					this.evict(previous);
+				}
+			}
+		}
+
+		/**
+		 * @return a free slot, or -1 if the least recently used pages are all being read
+		 */
+		private synchronized long allocateSlot()
+		{
+			if(!this.freeSlots.isEmpty())
+			{
+				return this.freeSlots.pop();
+			}
+			if(this.nextSlot < this.slotCount)
+			{
+				return this.nextSlot++;
+			}
+
+			// all slots are used, the least recently used pages are evicted until one is free
+			final Iterator<Page> iterator = this.pages.values().iterator();
+			while(this.freeSlots.isEmpty() && iterator.hasNext())
+			{
+				final Page page = iterator.next();
+				iterator.remove();
+				this.size -= this.pageSize;
+				this.evict(page);
+			}
+
+			return this.freeSlots.isEmpty()
+				? -1L
+				: this.freeSlots.pop()
+			;
+		}
+
+		private void evict(final Page page)
+		{
+			page.evicted = true;
+			this.releaseIfUnused(page);
+		}
+
+		private void releaseIfUnused(final Page page)
+		{
+			if(page.evicted && page.pins == 0 && !page.released)
+			{
+				page.released = true;
+				this.freeSlots.push(page.slot);
+			}
+		}
+
+		private synchronized PageKey pageKey(final BlobStorePath file, final long pageIndex)
+		{
+			final long fileId = this.fileIds.computeIfAbsent(
+				file.fullQualifiedName(),
+				name -> this.nextId.getAndIncrement()
+			);
+			return new PageKey(fileId, pageIndex);
+		}
+
+		/**
+		 * Discards the cached pages of a file from the page containing an offset on.
+		 */
+		private synchronized void discard(final BlobStorePath file, final long offset)
+		{
+			final Long fileId = this.fileIds.get(file.fullQualifiedName());
+			if(fileId == null)
+			{
+				return;
+			}
+
+			final long firstPage = offset / this.pageSize;
+			final Iterator<Map.Entry<PageKey, Page>> iterator = this.pages.entrySet().iterator();
+			while(iterator.hasNext())
+			{
+				final Map.Entry<PageKey, Page> entry = iterator.next();
+				if(entry.getKey().fileId == fileId && entry.getKey().pageIndex >= firstPage)
+				{
+					iterator.remove();
+					this.size -= this.pageSize;
+					this.evict(entry.getValue());
+				}
+			}
+			if(offset == 0L)
+			{
+				// deleted or replaced files get new pages
+				this.fileIds.remove(file.fullQualifiedName());
+			}
+		}
+
+		@Override
+		public long writeData(final BlobStorePath file, final Iterable<? extends ByteBuffer> sourceBuffers)
+		{
+			// appending doesn't change complete pages
+			return this.delegate.writeData(file, sourceBuffers);
+		}
+
+		@Override
+		public void moveFile(final BlobStorePath sourceFile, final BlobStorePath targetFile)
+		{
+			this.discard(sourceFile, 0L);
+			this.discard(targetFile, 0L);
+			this.delegate.moveFile(sourceFile, targetFile);
+		}
+
+		@Override
+		public long copyFile(
+			final BlobStorePath sourceFile,
+			final BlobStorePath targetFile,
+			final long          offset    ,
+			final long          length
+		)
+		{
+			return this.delegate.copyFile(sourceFile, targetFile, offset, length);
+		}
+
+		@Override
+		public void truncateFile(final BlobStorePath file, final long newLength)
+		{
+			this.discard(file, newLength);
+			this.delegate.truncateFile(file, newLength);
+		}
+
+		@Override
+		public void close()
+		{
+			try
+			{
+				this.delegate.close();
+			}
+			finally
+			{
+				synchronized(this)
+				{
+					this.pages.clear();
+					this.fileIds.clear();
+					this.freeSlots.clear();
+					this.nextSlot = 0L;
+					this.size     = 0L;
+				}
+				try
+				{
+					this.channel.close();
+					Files.deleteIfExists(this.cacheFile);
+				}
+				catch(final IOException e)
+				{
+					// recreated on next startup
+				}
+			}
+		}
+
+
+		static final class PageKey
+		{
+			final long fileId   ;
+			final long pageIndex;
+
+			PageKey(final long fileId, final long pageIndex)
+			{
+				super();
+
+				this.fileId    = fileId   ;
+				this.pageIndex = pageIndex;
+			}
+
+			@Override
+			public int hashCode()
+			{
+				return Long.hashCode(this.fileId) * 31 + Long.hashCode(this.pageIndex);
+			}
+
+			@Override
+			public boolean equals(final Object obj)
+			{
+				return obj == this
+					|| obj instanceof PageKey
+					&& ((PageKey)obj).fileId    == this.fileId
+					&& ((PageKey)obj).pageIndex == this.pageIndex
+				;
+			}
+		}
+
+		static final class Page
+		{
+			final long slot    ;
+			int        pins    ;
+			boolean    evicted ;
+			boolean    released;
+
+			Page(final long slot)
+			{
+				super();
+
+				this.slot = slot;
+			}
+		}
+
+	}
+
+}
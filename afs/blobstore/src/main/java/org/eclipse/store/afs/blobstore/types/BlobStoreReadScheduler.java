@@ -0,0 +1,562 @@
+package org.eclipse.store.afs.blobstore.types;
+
+/*-
+ * #%L
+ * EclipseStore Abstract File System Blobstore
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
+import static org.eclipse.serializer.util.X.checkArrayRange;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Schedules the requests which read the data of a blob store file.
+ * <p>
+ * Large reads are split into ranged requests of {@link #requestSize()} bytes, which are executed concurrently.
+ * Sequential scans, which start at the beginning of a file or continue where the last read ended, are detected,
+ * and the following range of the file is read ahead in the background.
+ * The memory used for read-ahead data is bounded.
+ *
+ * @see BlobStoreConnector.Abstract
+ */
+public interface BlobStoreReadScheduler extends AutoCloseable
+{
+	/**
+	 * Reads a range of a file into a target buffer.
+	 */
+	@FunctionalInterface
+	public static interface RangeReader
+	{
+		public void read(long offset, long length, ByteBuffer targetBuffer);
+	}
+
+
+	/**
+	 * @return the size of a single ranged request, larger reads are split
+	 */
+	public long requestSize();
+
+	/**
+	 * Executes read requests and waits for all of them to complete.
+	 *
+	 * @param requests the requests to execute
+	 */
+	public void read(List<? extends Runnable> requests);
+
+	/**
+	 * Copies data which has been read ahead into the target buffer.
+	 *
+	 * @param file the full qualified name of the file
+	 * @param offset the offset of the data in the file
+	 * @param length the length of the requested data
+	 * @param targetBuffer the buffer to copy the data to
+	 * @return the number of bytes copied from the read-ahead data, beginning at the offset
+	 */
+	public long readAhead(String file, long offset, long length, ByteBuffer targetBuffer);
+
+	/**
+	 * Notifies this scheduler about a completed read, which may schedule a read-ahead of the following range.
+	 *
+	 * @param file the full qualified name of the file
+	 * @param offset the offset of the completed read
+	 * @param end the end of the completed read
+	 * @param fileSize the file's size
+	 * @param reader the reader for the following range
+	 */
+	public void readCompleted(String file, long offset, long end, long fileSize, RangeReader reader);
+
+	/**
+	 * Discards the read-ahead data of a file, because it has been changed.
+	 *
+	 * @param file the full qualified name of the file
+	 */
+	public void invalidate(String file);
+
+	@Override
+	public void close();
+
+
+	/**
+	 * @return the default number of concurrent requests, which is 8
+	 */
+	public static int DefaultParallelism()
+	{
+		return 8;
+	}
+
+	/**
+	 * @return the default size of a ranged request, which is 8 MiB
+	 */
+	public static long DefaultRequestSize()
+	{
+		return 8L << 20;
+	}
+
+	/**
+	 * @return the default size of a file's range which is read ahead, which is 8 MiB
+	 */
+	public static long DefaultReadAheadSize()
+	{
+		return 8L << 20;
+	}
+
+	/**
+	 * @return the default maximum memory used for read-ahead data, which is 64 MiB
+	 */
+	public static long DefaultMaximumBufferSize()
+	{
+		return 64L << 20;
+	}
+
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreReadScheduler} with default settings.
+	 *
+	 * @return a new {@link BlobStoreReadScheduler}
+	 */
+	public static BlobStoreReadScheduler New()
+	{
+		return New(
+			DefaultParallelism()      ,
+			DefaultRequestSize()      ,
+			DefaultReadAheadSize()    ,
+			DefaultMaximumBufferSize()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method which creates a new {@link BlobStoreReadScheduler}.
+	 *
+	 * @param parallelism the maximum number of concurrent requests
+	 * @param requestSize the size of a ranged request
+	 * @param readAheadSize the size of a file's range which is read ahead, 0 disables read-ahead
+	 * @param maximumBufferSize the maximum memory used for read-ahead data
+	 * @return a new {@link BlobStoreReadScheduler}
+	 */
+	public static BlobStoreReadScheduler New(
+		final int  parallelism      ,
+		final long requestSize      ,
+		final long readAheadSize    ,
+		final long maximumBufferSize
+	)
+	{
+		return new BlobStoreReadScheduler.Default(
+			positive(parallelism)                     ,
+			positive(requestSize)                     ,
+			checkArrayRange(notNegative(readAheadSize)),
+			notNegative(maximumBufferSize)
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method which creates a {@link BlobStoreReadScheduler} executing all requests
+	 * one after another in the calling thread, without read-ahead.
+	 *
+	 * @return a sequential {@link BlobStoreReadScheduler}
+	 */
+	public static BlobStoreReadScheduler Sequential()
+	{
+		return new BlobStoreReadScheduler.Sequential();
+	}
+
+
+	public static class Sequential implements BlobStoreReadScheduler
+	{
+		Sequential()
+		{
+			super();
+		}
+
+		@Override
+		public long requestSize()
+		{
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public void read(final List<? extends Runnable> requests)
+		{
+			requests.forEach(Runnable::run);
+		}
+
+		@Override
+		public long readAhead(
+			final String     file        ,
+			final long       offset      ,
+			final long       length      ,
+			final ByteBuffer targetBuffer
+		)
+		{
+			return 0L;
+		}
+
+		@Override
+		public void readCompleted(
+			final String      file    ,
+			final long        offset  ,
+			final long        end     ,
+			final long        fileSize,
+			final RangeReader reader
+		)
+		{
+			// no read-ahead
+		}
+
+		@Override
+		public void invalidate(final String file)
+		{
+			// no read-ahead
+		}
+
+		@Override
+		public void close()
+		{
+			// no-op
+		}
+
+	}
+
+
+	public static class Default implements BlobStoreReadScheduler
+	{
+		private final static int MAX_TRACKED_FILES = 256;
+
+		private final long                requestSize      ;
+		private final long                readAheadSize    ;
+		private final long                maximumBufferSize;
+		private final ThreadPoolExecutor  executor         ;
+		private final AtomicLong          bufferSize       = new AtomicLong();
+		private final Map<String, Stream> streams          ;
+		private final Set<ReadAhead>      pending          = ConcurrentHashMap.newKeySet();
+
+		Default(
+			final int  parallelism      ,
+			final long requestSize      ,
+			final long readAheadSize    ,
+			final long maximumBufferSize
+		)
+		{
+			super();
+
+			this.requestSize       = requestSize      ;
+			this.readAheadSize     = readAheadSize    ;
+			this.maximumBufferSize = maximumBufferSize;
+
+			final AtomicInteger threadNumber = new AtomicInteger();
+			this.executor = new ThreadPoolExecutor(
+				parallelism,
+				parallelism,
+				30L,
+				TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(),
+				runnable ->
+				{
+					final Thread thread = new Thread(runnable, "BlobStoreReader-" + threadNumber.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			);
+			// idle connectors don't keep any threads
+			this.executor.allowCoreThreadTimeOut(true);
+
+			this.streams = new LinkedHashMap<>(16, 0.75f, true)
+			{
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, Stream> eldest)
+				{
+					if(this.size() <= MAX_TRACKED_FILES)
+					{
+						return false;
+					}
+					Default.this.discard(eldest.getValue().readAhead);
+					return true;
+				}
+			};
+		}
+
+		@Override
+		public long requestSize()
+		{
+			return this.requestSize;
+		}
+
+		public long bufferSize()
+		{
+			return this.bufferSize.get();
+		}
+
+		/**
+		 * @return <code>true</code> if this scheduler has been closed and all of its threads have ended
+		 */
+		public boolean isTerminated()
+		{
+			return this.executor.isTerminated();
+		}
+
+		@Override
+		public void read(final List<? extends Runnable> requests)
+		{
+			if(requests.size() <= 1)
+			{
+				requests.forEach(Runnable::run);
+				return;
+			}
+
+			final List<CompletableFuture<Void>> futures = new ArrayList<>(requests.size() - 1);
+			for(final Runnable request : requests.subList(1, requests.size()))
+			{
+				futures.add(CompletableFuture.runAsync(request, this.executor));
+			}
+
+			// the calling thread executes the first request itself
+			try
+			{
+				requests.get(0).run();
+			}
+			finally
+			{
+				try
+				{
+					CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+				}
+				catch(final CompletionException e)
+				{
+					if(e.getCause() instanceof RuntimeException)
+					{
+						throw (RuntimeException)e.getCause();
+					}
+					if(e.getCause() instanceof Error)
+					{
+						throw (Error)e.getCause();
+					}
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public long readAhead(
+			final String     file        ,
+			final long       offset      ,
+			final long       length      ,
+			final ByteBuffer targetBuffer
+		)
+		{
+			final ReadAhead readAhead;
+			synchronized(this.streams)
+			{
+				final Stream stream = this.streams.get(file);
+				if(stream == null || stream.readAhead == null)
+				{
+					return 0L;
+				}
+				if(!stream.readAhead.contains(offset))
+				{
+					// not sequential anymore
+					this.discard(stream.readAhead);
+					stream.readAhead = null;
+					return 0L;
+				}
+				readAhead = stream.readAhead;
+			}
+
+			final ByteBuffer data;
+			try
+			{
+				data = readAhead.data.join();
+			}
+			catch(final CompletionException e)
+			{
+				// read again by the caller
+				this.remove(file, readAhead);
+				return 0L;
+			}
+
+			final int  index     = (int)(offset - readAhead.offset);
+			final long available = data.limit() - index;
+			if(available <= 0L)
+			{
+				this.remove(file, readAhead);
+				return 0L;
+			}
+			final long amount    = Math.min(available, length);
+			targetBuffer.put(
+				data.slice(index, (int)amount)
+			);
+			if(amount == available)
+			{
+				this.remove(file, readAhead);
+			}
+
+			return amount;
+		}
+
+		@Override
+		public void readCompleted(
+			final String      file    ,
+			final long        offset  ,
+			final long        end     ,
+			final long        fileSize,
+			final RangeReader reader
+		)
+		{
+			if(this.readAheadSize == 0L)
+			{
+				return;
+			}
+
+			synchronized(this.streams)
+			{
+				final Stream  stream     = this.streams.computeIfAbsent(file, f -> new Stream());
+				final boolean sequential = offset == 0L || offset == stream.end;
+				stream.end = end;
+				if(!sequential || end >= fileSize || stream.readAhead != null)
+				{
+					return;
+				}
+
+				final long length = Math.min(this.readAheadSize, fileSize - end);
+				if(!this.reserve(length))
+				{
+					return;
+				}
+
+				final ReadAhead readAhead = new ReadAhead(
+					end,
+					length,
+					CompletableFuture.supplyAsync(
+						() ->
+						{
+							final ByteBuffer buffer = ByteBuffer.allocateDirect(checkArrayRange(length));
+							reader.read(end, length, buffer);
+							return buffer.flip();
+						},
+						this.executor
+					)
+				);
+				this.pending.add(readAhead);
+				readAhead.data.whenComplete((buffer, failure) -> this.pending.remove(readAhead));
+				stream.readAhead = readAhead;
+			}
+		}
+
+		@Override
+		public void invalidate(final String file)
+		{
+			synchronized(this.streams)
+			{
+				final Stream stream = this.streams.remove(file);
+				if(stream != null)
+				{
+					this.discard(stream.readAhead);
+				}
+			}
+		}
+
+		@Override
+		public void close()
+		{
+			synchronized(this.streams)
+			{
+				this.streams.values().forEach(stream -> this.discard(stream.readAhead));
+				this.streams.clear();
+			}
+			this.executor.shutdownNow();
+
+			// read-aheads which have not started yet are never run, cancelling them releases their buffers
+			this.pending.forEach(readAhead -> readAhead.data.cancel(false));
+		}
+
+		private void remove(final String file, final ReadAhead readAhead)
+		{
+			synchronized(this.streams)
+			{
+				final Stream stream = this.streams.get(file);
+				if(stream != null && stream.readAhead == readAhead)
+				{
+					stream.readAhead = null;
+					this.discard(readAhead);
+				}
+			}
+		}
+
+		private void discard(final ReadAhead readAhead)
+		{
+			if(readAhead != null)
+			{
+				// the buffer is released when the pending request is done with it
+				readAhead.data.whenComplete((buffer, failure) -> this.bufferSize.addAndGet(-readAhead.length));
+			}
+		}
+
+		private boolean reserve(final long length)
+		{
+			long size;
+			do
+			{
+				size = this.bufferSize.get();
+				if(size + length > this.maximumBufferSize)
+				{
+					return false;
+				}
+			}
+			while(!this.bufferSize.compareAndSet(size, size + length));
+
+			return true;
+		}
+
+
+		static final class Stream
+		{
+			long      end      ;
+			ReadAhead readAhead;
+		}
+
+		static final class ReadAhead
+		{
+			final long                          offset;
+			final long                          length;
+			final CompletableFuture<ByteBuffer> data  ;
+
+			ReadAhead(final long offset, final long length, final CompletableFuture<ByteBuffer> data)
+			{
+				super();
+
+				this.offset = offset;
+				this.length = length;
+				this.data   = data  ;
+			}
+
+			boolean contains(final long offset)
+			{
+				return offset >= this.offset && offset < this.offset + this.length;
+			}
+		}
+
+	}
+
+}
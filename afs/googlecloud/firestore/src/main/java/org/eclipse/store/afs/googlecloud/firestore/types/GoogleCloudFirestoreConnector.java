@@ -41,6 +41,7 @@ import com.google.protobuf.UnsafeByteOperations;
 
 import org.eclipse.store.afs.blobstore.types.BlobStoreConnector;
 import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
 import org.eclipse.serializer.chars.VarString;
 import org.eclipse.serializer.exceptions.IORuntimeException;
 import org.eclipse.serializer.io.ByteBufferInputStream;
@@ -118,7 +119,8 @@ public interface GoogleCloudFirestoreConnector extends BlobStoreConnector
 				blob -> blob.getString(FIELD_KEY ),
 				blob -> blob.getLong  (FIELD_SIZE),
 				GoogleCloudFirestorePathValidator.New(),
-				withCache
+				withCache,
+				BlobStoreReadScheduler.New()
 			);
 			this.firestore = firestore;
 		}
@@ -43,6 +43,7 @@ import com.oracle.bmc.objectstorage.transfer.UploadManager.UploadRequest;
 
 import org.eclipse.store.afs.blobstore.types.BlobStoreConnector;
 import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
 import org.eclipse.serializer.exceptions.IORuntimeException;
 import org.eclipse.serializer.io.ByteBufferInputStream;
 import org.eclipse.serializer.io.LimitedInputStream;
@@ -114,7 +115,8 @@ public interface OracleCloudObjectStorageConnector extends BlobStoreConnector
 				ObjectSummary::getName,
 				ObjectSummary::getSize,
 				OracleCloudObjectStoragePathValidator.New(),
-				withCache
+				withCache,
+				BlobStoreReadScheduler.New()
 			);
 			this.client = client;
 		}
@@ -247,6 +249,26 @@ public interface OracleCloudObjectStorageConnector extends BlobStoreConnector
 			return deleted.get();
 		}
 
+		@Override
+		protected long maximumBlobSize()
+		{
+			return MAX_BLOB_SIZE;
+		}
+
+		@Override
+		protected ObjectSummary writtenBlob(
+			final BlobStorePath file  ,
+			final long          number,
+			final long          size
+		)
+		{
+			return ObjectSummary.builder()
+				.name(toBlobKey(file, number))
+				.size(size)
+				.build()
+			;
+		}
+
 		@Override
 		protected long internalWriteData(
 			final BlobStorePath                  file         ,
@@ -262,7 +284,7 @@ public interface OracleCloudObjectStorageConnector extends BlobStoreConnector
 			{
 				final long currentBatchSize = Math.min(
 					available,
-					MAX_BLOB_SIZE
+					this.maximumBlobSize()
 				);
 
 				try(final UploadInputStream uploadInputStream = new UploadInputStream(
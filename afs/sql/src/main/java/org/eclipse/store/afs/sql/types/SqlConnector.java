@@ -14,9 +14,12 @@ package org.eclipse.store.afs.sql.types;
  * #L%
  */
 
+import static org.eclipse.serializer.math.XMath.positive;
 import static org.eclipse.serializer.util.X.checkArrayRange;
 import static org.eclipse.serializer.util.X.notNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.sql.Blob;
 import java.sql.Connection;
@@ -31,16 +34,24 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.LongFunction;
 
 import org.eclipse.serializer.chars.XChars;
+import org.eclipse.serializer.exceptions.IORuntimeException;
 import org.eclipse.serializer.io.ByteBufferInputStream;
-import org.eclipse.serializer.io.LimitedInputStream;
 import org.eclipse.serializer.reference.Reference;
 import org.eclipse.serializer.typing.KeyValue;
 
 
-public interface SqlConnector
+public interface SqlConnector extends AutoCloseable
 {
 	public long fileSize(SqlPath file);
 
@@ -70,6 +81,16 @@ public interface SqlConnector
 
 	public boolean isEmpty(SqlPath directory);
 	
+	/**
+	 * Releases the resources held by this connector, like the threads of parallel reads.
+	 * The data source is owned by the caller and stays open.
+	 */
+	@Override
+	public default void close()
+	{
+		// no-op by default
+	}
+	
 
 	/**
 	 * Creates a new {@link SqlConnector} which doesn't use caching.
@@ -81,10 +102,29 @@ public interface SqlConnector
 	public static SqlConnector New(
 		final SqlProvider provider
 	)
+	{
+		return New(provider, 1);
+	}
+	
+	/**
+	 * Creates a new {@link SqlConnector} which doesn't use caching.
+	 * Large ranges are read with up to <code>readParallelism</code> connections in parallel.
+	 * Any data source works, but without a connection pool each part opens a new connection.
+	 * 
+	 * @param provider the sql provider for the connector, not null
+	 * @param readParallelism the maximum number of connections used by a single read, positive
+	 * @return the newly created connector
+	 * @see #Caching(SqlProvider, int)
+	 */
+	public static SqlConnector New(
+		final SqlProvider provider       ,
+		final int         readParallelism
+	)
 	{
 		return new Default(
 			notNull(provider),
-			false
+			false,
+			positive(readParallelism)
 		);
 	}
 	
@@ -98,10 +138,29 @@ public interface SqlConnector
 	public static SqlConnector Caching(
 		final SqlProvider provider
 	)
+	{
+		return Caching(provider, 1);
+	}
+	
+	/**
+	 * Creates a new {@link SqlConnector} which uses caching.
+	 * Large ranges are read with up to <code>readParallelism</code> connections in parallel.
+	 * Any data source works, but without a connection pool each part opens a new connection.
+	 * 
+	 * @param provider the sql provider for the connector, not null
+	 * @param readParallelism the maximum number of connections used by a single read, positive
+	 * @return the newly created connector
+	 * @see #New(SqlProvider, int)
+	 */
+	public static SqlConnector Caching(
+		final SqlProvider provider       ,
+		final int         readParallelism
+	)
 	{
 		return new Default(
 			notNull(provider),
-			true
+			true,
+			positive(readParallelism)
 		);
 	}
 
@@ -114,21 +173,49 @@ public interface SqlConnector
 		public final static int END_COLUMN_INDEX        = 3;
 		public final static int DATA_COLUMN_INDEX       = 4;
 
-		private final SqlProvider          provider                         ;
-		private       Long                 maxBlobSize                      ;
-		private final boolean              useCache                         ;
-		private       Set<String>          directoryCache                   ;
-		private final Map<String, Boolean> fileExistsCache = new HashMap<>();
-		private final Map<String, Long>    fileSizeCache   = new HashMap<>();
+		// rows inserted with one batch
+		private final static int  WRITE_BATCH_SIZE        = 32;
+		// minimum size of a range read by one connection, when reading in parallel
+		private final static long PARALLEL_READ_PART_SIZE = 4L * 1024L * 1024L;
+		private final static int  STREAM_BUFFER_SIZE      = 64 * 1024;
+
+		private final SqlProvider          provider                                   ;
+		private       Long                 maxBlobSize                                ;
+		private final boolean              useCache                                   ;
+		private final int                  readParallelism                            ;
+		private       ThreadPoolExecutor   readExecutor                               ;
+		private       Set<String>          directoryCache                             ;
+		private final Map<String, Boolean> fileExistsCache = new HashMap<>()          ;
+		private final Map<String, Long>    fileSizeCache   = new HashMap<>()          ;
+		private final Map<String, String>  queryTexts      = new ConcurrentHashMap<>();
 
 		Default(
-			final SqlProvider provider,
-			final boolean     useCache
+			final SqlProvider provider       ,
+			final boolean     useCache       ,
+			final int         readParallelism
 		)
 		{
 			super();
-			this.provider = provider;
-			this.useCache = useCache;
+			this.provider        = provider       ;
+			this.useCache        = useCache       ;
+			this.readParallelism = readParallelism;
+		}
+		
+		/*
+		 * Query texts are built once per table instead of on every operation.
+		 * The statements themselves are prepared per connection, reusing them is up to
+		 * the statement caches of the driver or the connection pool.
+		 */
+		private String queryText(
+			final String                   kind     ,
+			final String                   tableName,
+			final Function<String, String> builder
+		)
+		{
+			return this.queryTexts.computeIfAbsent(
+				kind + ':' + tableName,
+				key -> builder.apply(tableName)
+			);
 		}
 		
 		private boolean queryFileExists(
@@ -137,7 +224,11 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.fileExistsQuery(file.parentPath().fullQualifiedName());
+			final String sql = this.queryText(
+				"fileExistsQuery",
+				file.parentPath().fullQualifiedName(),
+				this.provider::fileExistsQuery
+			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
 				statement.setString(1, file.identifier());
@@ -221,7 +312,11 @@ public interface SqlConnector
 		{
 			final List<String> fileNames = new ArrayList<>();
 
-			final String sql = this.provider.listFilesQuery(directory.fullQualifiedName());
+			final String sql = this.queryText(
+				"listFilesQuery",
+				directory.fullQualifiedName(),
+				this.provider::listFilesQuery
+			);
 			try(final Statement statement = connection.createStatement())
 			{
 				try(final ResultSet result = statement.executeQuery(sql))
@@ -242,7 +337,11 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.countFilesQuery(directory.fullQualifiedName());
+			final String sql = this.queryText(
+				"countFilesQuery",
+				directory.fullQualifiedName(),
+				this.provider::countFilesQuery
+			);
 			try(final Statement statement = connection.createStatement())
 			{
 				try(final ResultSet result = statement.executeQuery(sql))
@@ -307,8 +406,10 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.fileSizeQuery(
-				file.parentPath().fullQualifiedName()
+			final String sql = this.queryText(
+				"fileSizeQuery",
+				file.parentPath().fullQualifiedName(),
+				this.provider::fileSizeQuery
 			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
@@ -333,6 +434,12 @@ public interface SqlConnector
 			final long                     length
 		)
 		{
+			final long parallelLength = this.parallelReadLength(file, offset, length);
+			if(parallelLength > 0L)
+			{
+				return this.readDataParallel(file, bufferProvider, offset, parallelLength);
+			}
+			
 			return this.provider.execute(connection ->
 			{
 				final KeyValue<ByteBuffer, Long> kv = this.internalReadData(
@@ -356,6 +463,123 @@ public interface SqlConnector
 			});
 		}
 
+		/*
+		 * Returns the length of the range to read, if it is large enough to be read in parallel, otherwise 0.
+		 */
+		private long parallelReadLength(
+			final SqlPath file  ,
+			final long    offset,
+			final long    length
+		)
+		{
+			if(this.readParallelism <= 1 || length > 0L && length < 2L * PARALLEL_READ_PART_SIZE)
+			{
+				return 0L;
+			}
+			
+			final long fileSize = this.fileSize(file);
+			final long end      = length > 0L
+				? offset + length
+				: fileSize
+			;
+			return end <= fileSize && end - offset >= 2L * PARALLEL_READ_PART_SIZE
+				? end - offset
+				: 0L
+			;
+		}
+
+		/*
+		 * Reads consecutive parts of the range with separate connections into slices of the target buffer.
+		 */
+		private long readDataParallel(
+			final SqlPath                  file          ,
+			final LongFunction<ByteBuffer> bufferProvider,
+			final long                     offset        ,
+			final long                     length
+		)
+		{
+			final ByteBuffer     targetBuffer = bufferProvider.apply(length);
+			final int            partCount    = (int)Math.min(this.readParallelism, length / PARALLEL_READ_PART_SIZE);
+			final long           partSize     = (length + partCount - 1L) / partCount;
+			final List<Runnable> reads        = new ArrayList<>(partCount);
+			for(long partOffset = 0L; partOffset < length; partOffset += partSize)
+			{
+				final long       partStart  = offset + partOffset;
+				final long       partLength = Math.min(partSize, length - partOffset);
+				final ByteBuffer part       = targetBuffer.slice(
+					checkArrayRange(partOffset),
+					checkArrayRange(partLength)
+				);
+				reads.add(() -> this.provider.execute(connection ->
+					this.readDataSegment(file, capacity -> part, partStart, partLength, connection)
+				));
+			}
+			
+			this.executeAll(reads);
+			targetBuffer.position(checkArrayRange(length));
+			
+			return length;
+		}
+
+		private void executeAll(final List<Runnable> reads)
+		{
+			final ThreadPoolExecutor            executor = this.readExecutor();
+			final List<CompletableFuture<Void>> futures  = new ArrayList<>(reads.size() - 1);
+			for(final Runnable read : reads.subList(1, reads.size()))
+			{
+				futures.add(CompletableFuture.runAsync(read, executor));
+			}
+
+			// the calling thread executes the first read itself
+			try
+			{
+				reads.get(0).run();
+			}
+			finally
+			{
+				try
+				{
+					CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+				}
+				catch(final CompletionException e)
+				{
+					if(e.getCause() instanceof RuntimeException)
+					{
+						throw (RuntimeException)e.getCause();
+					}
+					if(e.getCause() instanceof Error)
+					{
+						throw (Error)e.getCause();
+					}
+					throw e;
+				}
+			}
+		}
+
+		private synchronized ThreadPoolExecutor readExecutor()
+		{
+			if(this.readExecutor == null)
+			{
+				final AtomicInteger threadNumber = new AtomicInteger();
+				this.readExecutor = new ThreadPoolExecutor(
+					this.readParallelism - 1,
+					this.readParallelism - 1,
+					30L,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(),
+					runnable ->
+					{
+						final Thread thread = new Thread(runnable, "SqlReader-" + threadNumber.incrementAndGet());
+						thread.setDaemon(true);
+						return thread;
+					}
+				);
+				// idle connectors don't keep any threads
+				this.readExecutor.allowCoreThreadTimeOut(true);
+			}
+			return this.readExecutor;
+		}
+
 		/*
 		 *  Results are ordered in reverse, so the first row's end index equals the overall size.
 		 *  This is done that way because some JDBC drivers don't support scrollable resultsets.
@@ -391,8 +615,10 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.readDataQuery(
-				file.parentPath().fullQualifiedName()
+			final String sql = this.queryText(
+				"readDataQuery",
+				file.parentPath().fullQualifiedName(),
+				this.provider::readDataQuery
 			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
@@ -436,8 +662,10 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.readDataQueryWithLength(
-				file.parentPath().fullQualifiedName()
+			final String sql = this.queryText(
+				"readDataQueryWithLength",
+				file.parentPath().fullQualifiedName(),
+				this.provider::readDataQueryWithLength
 			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
@@ -479,8 +707,10 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.readDataQueryWithOffset(
-				file.parentPath().fullQualifiedName()
+			final String sql = this.queryText(
+				"readDataQueryWithOffset",
+				file.parentPath().fullQualifiedName(),
+				this.provider::readDataQueryWithOffset
 			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
@@ -530,8 +760,10 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
-			final String sql = this.provider.readDataQueryWithRange(
-				file.parentPath().fullQualifiedName()
+			final String sql = this.queryText(
+				"readDataQueryWithRange",
+				file.parentPath().fullQualifiedName(),
+				this.provider::readDataQueryWithRange
 			);
 			try(final PreparedStatement statement = connection.prepareStatement(sql))
 			{
@@ -581,37 +813,58 @@ public interface SqlConnector
 		)
 		throws SQLException
 		{
+			final int        amount   = checkArrayRange(length);
+			final int        position = reverseTargetBuffer.position() - amount;
+			final ByteBuffer target   = reverseTargetBuffer.slice(position, amount);
 			try
 			{
-				final Blob blob = result.getBlob(columnIndex);
 				try
 				{
-					final byte[] bytes    = blob.getBytes(
-						offset + 1,
-						checkArrayRange(length)
-					);
-					final int    position = reverseTargetBuffer.position() - bytes.length;
-					reverseTargetBuffer.position(position);
-					reverseTargetBuffer.put(bytes);
-					reverseTargetBuffer.position(position);
+					final Blob blob = result.getBlob(columnIndex);
+					try(final InputStream inputStream = blob.getBinaryStream(offset + 1, length))
+					{
+						copy(inputStream, target);
+					}
+					finally
+					{
+						blob.free();
+					}
 				}
-				finally
+				catch(final SQLException e)
 				{
-					blob.free();
+					// no blob support
+					try(final InputStream inputStream = result.getBinaryStream(columnIndex))
+					{
+						inputStream.skipNBytes(offset);
+						copy(inputStream, target.clear());
+					}
 				}
 			}
-			catch(final SQLException e)
+			catch(final IOException e)
 			{
-				final byte[] bytes    = result.getBytes(columnIndex);
-				final int    amount   = checkArrayRange(length);
-				final int    position = reverseTargetBuffer.position() - amount;
-				reverseTargetBuffer.position(position);
-				reverseTargetBuffer.put(
-					bytes,
-					checkArrayRange(offset),
-					amount
-				);
-				reverseTargetBuffer.position(position);
+				throw new IORuntimeException(e);
+			}
+			reverseTargetBuffer.position(position);
+		}
+
+		/*
+		 * Large segments are streamed through a small buffer, instead of being materialized as a whole.
+		 */
+		private static void copy(
+			final InputStream inputStream,
+			final ByteBuffer  target
+		)
+		throws IOException
+		{
+			final byte[] buffer = new byte[Math.min(STREAM_BUFFER_SIZE, target.remaining())];
+			while(target.hasRemaining())
+			{
+				final int read = inputStream.read(buffer, 0, Math.min(buffer.length, target.remaining()));
+				if(read < 0)
+				{
+					throw new IOException("Unexpected end of data, " + target.remaining() + " bytes missing");
+				}
+				target.put(buffer, 0, read);
 			}
 		}
 
@@ -771,8 +1024,10 @@ public interface SqlConnector
 		{
 			final boolean success = this.provider.execute(connection ->
 			{
-				final String sql = this.provider.deleteFileQuery(
-					file.parentPath().fullQualifiedName()
+				final String sql = this.queryText(
+					"deleteFileQuery",
+					file.parentPath().fullQualifiedName(),
+					this.provider::deleteFileQuery
 				);
 				try(final PreparedStatement statement = connection.prepareStatement(sql))
 				{
@@ -865,48 +1120,59 @@ public interface SqlConnector
 			final Iterable<? extends ByteBuffer> sourceBuffers
 		)
 		{
+			final List<ByteBuffer> buffers       = new ArrayList<>();
+			      long             buffersLength = 0L;
+			for(final ByteBuffer buffer : sourceBuffers)
+			{
+				buffers.add(buffer);
+				buffersLength += buffer.remaining();
+			}
+			
+			final long length  = buffersLength;
 			final long written = this.provider.execute(connection ->
 			{
-				final String sql = this.provider.writeDataQuery(
-					file.parentPath().fullQualifiedName()
-				);
-
-				long buffersLength = 0L;
-				for(final ByteBuffer buffer : sourceBuffers)
-				{
-					buffersLength += buffer.remaining();
-				}
-				final long maxBatchSize = Math.min(
-					this.maxBlobSize(connection),
-					buffersLength
+				final String sql = this.queryText(
+					"writeDataQuery",
+					file.parentPath().fullQualifiedName(),
+					this.provider::writeDataQuery
 				);
 
-				final ByteBufferInputStream inputStream = ByteBufferInputStream.New(sourceBuffers);
-				final long                  fileSize    = this.internalFileSize(file, connection);
-				      long                  offset      = Math.max(0L, fileSize);
-				      long                  available   = buffersLength;
-				while(available > 0)
+				final long maxSegmentSize = this.maxBlobSize(connection);
+				final long fileSize       = Math.max(0L, this.internalFileSize(file, connection));
+				
+				// one statement for all segments, sent in batches
+				try(final PreparedStatement statement = connection.prepareStatement(sql))
 				{
-					final long        currentBatchSize = Math.min(available, maxBatchSize);
-					try(final PreparedStatement statement = connection.prepareStatement(sql))
+					int batchSize = 0;
+					for(long position = 0L; position < length; position += maxSegmentSize)
 					{
-						statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()            );
-						statement.setLong  (START_COLUMN_INDEX     , offset                       );
-						statement.setLong  (END_COLUMN_INDEX       , offset + currentBatchSize - 1);
+						final long segmentSize  = Math.min(length - position, maxSegmentSize);
+						final long segmentStart = fileSize + position;
+						statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()              );
+						statement.setLong  (START_COLUMN_INDEX     , segmentStart                   );
+						statement.setLong  (END_COLUMN_INDEX       , segmentStart + segmentSize - 1L);
+						// each row gets its own stream, since drivers may read them when executing the batch
 						this.provider.setBlob(
-								statement,
-								DATA_COLUMN_INDEX,
-								LimitedInputStream.New(inputStream, currentBatchSize),
-								currentBatchSize
+							statement,
+							DATA_COLUMN_INDEX,
+							ByteBufferInputStream.New(slices(buffers, position, segmentSize)),
+							segmentSize
 						);
-						statement.executeUpdate();
+						statement.addBatch();
+						
+						if(++batchSize == WRITE_BATCH_SIZE)
+						{
+							statement.executeBatch();
+							batchSize = 0;
+						}
+					}
+					if(batchSize > 0)
+					{
+						statement.executeBatch();
 					}
-
-					offset    += currentBatchSize;
-					available -= currentBatchSize;
 				}
 
-				return buffersLength;
+				return length;
 			});
 			
 			if(this.useCache)
@@ -921,6 +1187,34 @@ public interface SqlConnector
 			return written;
 		}
 
+		private static List<ByteBuffer> slices(
+			final List<ByteBuffer> buffers,
+			final long             offset ,
+			final long             length
+		)
+		{
+			final List<ByteBuffer> slices    = new ArrayList<>();
+			      long             skip      = offset;
+			      long             remaining = length;
+			for(final ByteBuffer buffer : buffers)
+			{
+				if(remaining == 0L)
+				{
+					break;
+				}
+				if(skip >= buffer.remaining())
+				{
+					skip -= buffer.remaining();
+					continue;
+				}
+				final int amount = (int)Math.min(buffer.remaining() - skip, remaining);
+				slices.add(buffer.slice(buffer.position() + (int)skip, amount));
+				remaining -= amount;
+				skip       = 0L;
+			}
+			return slices;
+		}
+
 		@Override
 		public void moveFile(
 			final SqlPath sourceFile,
@@ -935,8 +1229,10 @@ public interface SqlConnector
 				{
 					// same parent
 
-					final String sql = this.provider.moveFileQuerySameParent(
-						sourceFile.parentPath().fullQualifiedName()
+					final String sql = this.queryText(
+						"moveFileQuerySameParent",
+						sourceFile.parentPath().fullQualifiedName(),
+						this.provider::moveFileQuerySameParent
 					);
 					try(PreparedStatement statement = connection.prepareStatement(sql))
 					{
@@ -960,8 +1256,10 @@ public interface SqlConnector
 						statement.executeUpdate();
 					}
 
-					sql = this.provider.deleteFileQuery(
-						sourceFile.parentPath().fullQualifiedName()
+					sql = this.queryText(
+						"deleteFileQuery",
+						sourceFile.parentPath().fullQualifiedName(),
+						this.provider::deleteFileQuery
 					);
 					try(final PreparedStatement statement = connection.prepareStatement(sql))
 					{
@@ -1028,7 +1326,11 @@ public interface SqlConnector
 			          long   segmentStart;
 				      long   segmentEnd  ;
 				try(final PreparedStatement statement = connection.prepareStatement(
-					this.provider.readMetadataQuerySingleSegment(tableName)
+					this.queryText(
+						"readMetadataQuerySingleSegment",
+						tableName,
+						this.provider::readMetadataQuerySingleSegment
+					)
 				))
 				{
 					statement.setString(1, file.identifier());
@@ -1045,7 +1347,7 @@ public interface SqlConnector
 				if(segmentStart == newLength)
 				{
 					try(final PreparedStatement statement = connection.prepareStatement(
-						this.provider.deleteFileQueryFromStart(tableName)
+						this.queryText("deleteFileQueryFromStart", tableName, this.provider::deleteFileQueryFromStart)
 					))
 					{
 						statement.setString(1, file.identifier());
@@ -1056,7 +1358,7 @@ public interface SqlConnector
 				else if(segmentEnd == newLength - 1)
 				{
 					try(final PreparedStatement statement = connection.prepareStatement(
-						this.provider.deleteFileQueryFromEnd(tableName)
+						this.queryText("deleteFileQueryFromEnd", tableName, this.provider::deleteFileQueryFromEnd)
 					))
 					{
 						statement.setString(1, file.identifier());
@@ -1079,7 +1381,7 @@ public interface SqlConnector
 					);
 
 					try(final PreparedStatement statement = connection.prepareStatement(
-						this.provider.deleteFileQueryFromStart(tableName)
+						this.queryText("deleteFileQueryFromStart", tableName, this.provider::deleteFileQueryFromStart)
 					))
 					{
 						statement.setString(1, file.identifier());
@@ -1088,7 +1390,7 @@ public interface SqlConnector
 					}
 
 					try(final PreparedStatement statement = connection.prepareStatement(
-						this.provider.writeDataQuery(tableName)
+						this.queryText("writeDataQuery", tableName, this.provider::writeDataQuery)
 					))
 					{
 						statement.setString(IDENTIFIER_COLUMN_INDEX, file.identifier()                  );
@@ -1116,6 +1418,16 @@ public interface SqlConnector
 			}
 		}
 
+		@Override
+		public synchronized void close()
+		{
+			if(this.readExecutor != null)
+			{
+				this.readExecutor.shutdownNow();
+				this.readExecutor = null;
+			}
+		}
+
 	}
 	
 }
@@ -52,10 +52,11 @@ public abstract class SqlFileSystemCreator extends ConfigurationBasedCreator.Abs
 				configuration,
 				dataSourceProvider.provideDataSource(configuration.detach())
 			);
-			final boolean cache = configuration.optBoolean("cache").orElse(true);
+			final boolean cache           = configuration.optBoolean("cache").orElse(true);
+			final int     readParallelism = configuration.optInteger("read-parallelism").orElse(1);
 			return SqlFileSystem.New(cache
-				? SqlConnector.Caching(sqlProvider)
-				: SqlConnector.New(sqlProvider)
+				? SqlConnector.Caching(sqlProvider, readParallelism)
+				: SqlConnector.New(sqlProvider, readParallelism)
 			);
 		}
 		catch(InstantiationException | IllegalAccessException |
@@ -27,4 +27,5 @@ module org.eclipse.store.cache
 	requires org.eclipse.serializer.configuration;
 	requires org.eclipse.serializer;
 	requires org.eclipse.serializer.base;
+	requires static micrometer.core;
 }
@@ -56,6 +56,7 @@ import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.EntryProcessorException;
 
 import org.eclipse.serializer.Serializer;
+import org.eclipse.serializer.SerializerFoundation;
 import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.types.XList;
 import org.eclipse.serializer.exceptions.IORuntimeException;
@@ -218,17 +219,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.manager         = manager      ;
 			this.configuration   = configuration;
 
-			this.objectConverter = configuration.isStoreByValue()
-				? ObjectConverter.ByValue(
-					Serializer.Binary(
-						configuration.getSerializerFoundation()
-							.setClassLoaderProvider(
-								ClassLoaderProvider.New(Thread.currentThread().getContextClassLoader())
-							)
-					)
-				)
-				: ObjectConverter.ByReference()
-			;
+			this.objectConverter = createObjectConverter(configuration);
 
 			final Factory<ExpiryPolicy> expiryPolicyFactory = coalesce(
 				configuration.getExpiryPolicyFactory(),
@@ -294,6 +285,30 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			);
 		}
 
+		private static ObjectConverter createObjectConverter(final CacheConfiguration<?, ?> configuration)
+		{
+			if(!configuration.isStoreByValue())
+			{
+				return ObjectConverter.ByReference();
+			}
+			
+			final SerializerFoundation<?> serializerFoundation = configuration.getSerializerFoundation()
+				.setClassLoaderProvider(
+					ClassLoaderProvider.New(Thread.currentThread().getContextClassLoader())
+				)
+			;
+			final long offHeapByteSize = configuration.getOffHeapByteSize();
+			return offHeapByteSize > 0
+				? ObjectConverter.OffHeap(
+					Serializer.Bytes(serializerFoundation),
+					OffHeapStore.New(offHeapByteSize)
+				)
+				: ObjectConverter.ByValue(
+					Serializer.Binary(serializerFoundation)
+				)
+			;
+		}
+
 		@Override
 		public String getName()
 		{
@@ -437,10 +452,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		@Override
 		public long size()
 		{
-			synchronized(this.cacheTable)
-			{
-				return this.cacheTable.size();
-			}
+			return this.cacheTable.size();
 		}
 
 		@Override
@@ -502,7 +514,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object internalKey = this.objectConverter.internalize(key);
 			final long   now         = System.currentTimeMillis();
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				return cachedValue != null && !cachedValue.isExpiredAt(now);
@@ -595,7 +607,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final AtomicBoolean              isStatisticsEnabled = this.isStatisticsEnabled;
 			final long                       start               = isStatisticsEnabled.get()
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final CacheEventDispatcher<K, V> eventDispatcher     = this.listenerRegistrations.size() > 0L
@@ -605,9 +617,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final long                       now                 = System.currentTimeMillis();
 			final ObjectConverter            objectConverter     = this.objectConverter;
 			final Object                     internalKey         = objectConverter.internalize(key);
-			final Object                     internalValue       = objectConverter.internalize(value);
+			final Object                     internalValue       = objectConverter.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -661,7 +673,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -683,7 +695,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
 				cacheStatisticsMXBean.increaseCachePuts(putCount);
-				cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 			}
 		}
 
@@ -697,16 +709,16 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
             final AtomicBoolean isStatisticsEnabled = this.isStatisticsEnabled;
             final long start = isStatisticsEnabled.get()
-                               ? System.nanoTime()
+                               ? this.cacheStatisticsMXBean.startTime()
                                : 0;
 
             int putCount = 0;
             final long now = System.currentTimeMillis();
             final ObjectConverter objectConverter = this.objectConverter;
             final Object internalKey = objectConverter.internalize(key);
-            final Object internalValue = objectConverter.internalize(value);
+            final Object internalValue = objectConverter.internalizeValue(value);
 
-            synchronized (this.cacheTable)
+            synchronized(this.cacheTable.lock(internalKey))
             {
                 CachedValue cachedValue = this.cacheTable.get(internalKey);
                 final boolean isExpired = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -760,7 +772,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
                     this.updateExpiryForUpdate(cachedValue, now);
 
-                    cachedValue.value(internalValue, now);
+                    this.replaceValue(cachedValue, internalValue, now);
                     this.writeCacheEntry(entry);
                     putCount++;
                 }
@@ -770,7 +782,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
             {
                 final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
                 cacheStatisticsMXBean.increaseCachePuts(putCount);
-                cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+                cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
             }
         }
 
@@ -784,7 +796,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final AtomicBoolean              isStatisticsEnabled = this.isStatisticsEnabled;
 			final long                       start               = isStatisticsEnabled.get()
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			V                                result;
@@ -794,9 +806,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			int                              putCount            = 0;
 			final long                       now                 = System.currentTimeMillis();
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.objectConverter.internalizeValue(value);
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -851,7 +863,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(internalValue, now);
+					this.replaceValue(cachedValue, internalValue, now);
 					this.writeCacheEntry(entry);
 					putCount++;
 
@@ -881,12 +893,12 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					cacheStatisticsMXBean.increaseCacheHits(1);
 				}
 
-				cacheStatisticsMXBean.addGetTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.addGetTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 
 				if(putCount > 0)
 				{
 					cacheStatisticsMXBean.increaseCachePuts(putCount);
-					cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+					cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 				}
 			}
 
@@ -907,36 +919,41 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
-			int                              putCount            = 0;
+			final int[]                      putCount            = new int[1];
 			final CacheEventDispatcher<K, V> eventDispatcher     = this.listenerRegistrations.size() > 0L
 				? CacheEventDispatcher.New()
 				: null;
-			CacheWriterException             exception           = null;
+			final CacheWriterException[]     exception           = new CacheWriterException[1];
 
-			synchronized(this.cacheTable)
-			{
-				final boolean isWriteThrough = this.cacheWriter != null
-					&& this.configuration.isWriteThrough() && useWriteThrough;
+			final boolean isWriteThrough = this.cacheWriter != null
+				&& this.configuration.isWriteThrough() && useWriteThrough;
 
-				final Collection<Cache.Entry<? extends K, ? extends V>> entriesToWrite = new ArrayList<>();
-				final HashSet<K>                                        keysToPut      = new HashSet<>();
-				for(final Map.Entry<? extends K, ? extends V> entry : map.entrySet())
-				{
-					final K key   = entry.getKey();
-					final V value = entry.getValue();
+			final Collection<Cache.Entry<? extends K, ? extends V>> entriesToWrite = new ArrayList<>();
+			final HashSet<K>                                        keysToPut      = new HashSet<>();
+			for(final Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+			{
+				final K key   = entry.getKey();
+				final V value = entry.getValue();
 
-					keysToPut.add(key);
+				keysToPut.add(key);
 
-					if(isWriteThrough)
-					{
-						entriesToWrite.add(CacheEntry.New(key, value));
-					}
+				if(isWriteThrough)
+				{
+					entriesToWrite.add(CacheEntry.New(key, value));
 				}
+			}
 
+			/*
+			 * The writer and the table are updated while holding the locks of all affected entries, so no
+			 * concurrent operation on one of the keys can interleave and leave the cache and the external
+			 * resource disagreeing.
+			 */
+			this.cacheTable.executeLocked(this.internalizeKeys(map.keySet()), () ->
+			{
 				if(isWriteThrough)
 				{
 					try
@@ -945,11 +962,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 					catch(final CacheWriterException e)
 					{
-						exception = e;
+						exception[0] = e;
 					}
 					catch(final Exception e)
 					{
-						exception = new CacheWriterException(e);
+						exception[0] = new CacheWriterException(e);
 					}
 
 					for(final Cache.Entry<? extends K, ? extends V> entry : entriesToWrite)
@@ -960,98 +977,102 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 				for(final K key : keysToPut)
 				{
-					final V       value         = map.get(key);
-					final Object  internalKey   = this.objectConverter.internalize(key);
-					final Object  internalValue = this.objectConverter.internalize(value);
-					CachedValue   cachedValue   = this.cacheTable.get(internalKey);
+					final V      value         = map.get(key);
+					final Object internalKey   = this.objectConverter.internalize(key);
+					final Object internalValue = this.objectConverter.internalizeValue(value);
 
-					final boolean isExpired     = cachedValue != null && cachedValue.isExpiredAt(now);
-					if(cachedValue == null || isExpired)
+					synchronized(this.cacheTable.lock(internalKey))
 					{
-						if(isExpired)
-						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								this.objectConverter.externalize(cachedValue.value())
-							);
-						}
+						CachedValue   cachedValue   = this.cacheTable.get(internalKey);
 
-						cachedValue = CachedValue.New(
-							internalValue,
-							now,
-							this.expiryForCreation().getAdjustedTime(now)
-						);
-						if(cachedValue.isExpiredAt(now))
+						final boolean isExpired     = cachedValue != null && cachedValue.isExpiredAt(now);
+						if(cachedValue == null || isExpired)
 						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								value
+							if(isExpired)
+							{
+								this.processExpiries(
+									key,
+									internalKey,
+									eventDispatcher,
+									this.objectConverter.externalize(cachedValue.value())
+								);
+							}
+
+							cachedValue = CachedValue.New(
+								internalValue,
+								now,
+								this.expiryForCreation().getAdjustedTime(now)
 							);
+							if(cachedValue.isExpiredAt(now))
+							{
+								this.processExpiries(
+									key,
+									internalKey,
+									eventDispatcher,
+									value
+								);
+							}
+							else
+							{
+								this.putValue(
+									key,
+									value,
+									internalKey,
+									cachedValue,
+									eventDispatcher
+								);
+
+								/*
+								 * This method called from loadAll when useWriteThrough is false. Do not count loads as puts
+								 * per statistics table in specification.
+								 */
+								if(useWriteThrough)
+								{
+									putCount[0]++;
+								}
+							}
 						}
-						else
+						else if(replaceExistingValues)
 						{
-							this.putValue(
-								key,
-								value,
-								internalKey,
-								cachedValue,
-								eventDispatcher
-							);
+							final V oldValue = this.objectConverter.externalize(cachedValue.value());
+
+							this.updateExpiryForUpdate(cachedValue, now);
+
+							this.replaceValue(cachedValue, internalValue, now);
 
 							/*
-							 * This method called from loadAll when useWriteThrough is false. Do not count loads as puts
-							 * per statistics table in specification.
+							 * Do not count loadAll calls as puts. useWriteThrough is false when called from loadAll.
 							 */
 							if(useWriteThrough)
 							{
-								putCount++;
+								putCount[0]++;
 							}
-						}
-					}
-					else if(replaceExistingValues)
-					{
-						final V oldValue = this.objectConverter.externalize(cachedValue.value());
-
-						this.updateExpiryForUpdate(cachedValue, now);
-
-						cachedValue.value(internalValue, now);
-
-						/*
-						 * Do not count loadAll calls as puts. useWriteThrough is false when called from loadAll.
-						 */
-						if(useWriteThrough)
-						{
-							putCount++;
-						}
 
-						if(eventDispatcher != null)
-						{
-							eventDispatcher.addEvent(
-								CacheEntryUpdatedListener.class,
-								new CacheEvent<>(this, EventType.UPDATED, key, value, oldValue)
-							);
+							if(eventDispatcher != null)
+							{
+								eventDispatcher.addEvent(
+									CacheEntryUpdatedListener.class,
+									new CacheEvent<>(this, EventType.UPDATED, key, value, oldValue)
+								);
+							}
 						}
 					}
 				}
-			}
+			});
 
 			if(eventDispatcher != null)
 			{
 				eventDispatcher.dispatch(this.listenerRegistrations);
 			}
-			if(isStatisticsEnabled && putCount > 0)
+			if(isStatisticsEnabled && putCount[0] > 0)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				cacheStatisticsMXBean.increaseCachePuts(putCount);
-				cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.increaseCachePuts(putCount[0]);
+				cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 			}
-			if(exception != null)
+			if(exception[0] != null)
 			{
-				throw exception;
+				throw exception[0];
 			}
 		}
 
@@ -1065,7 +1086,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1073,10 +1094,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				? CacheEventDispatcher.New()
 				: null;
 			final Object                     internalKey         = this.objectConverter.internalize(key);
-			final Object                     internalValue       = this.objectConverter.internalize(value);
+			final Object                     internalValue       = this.objectConverter.internalizeValue(value);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 
@@ -1143,7 +1164,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					cacheStatisticsMXBean.increaseCachePuts(1);
 					cacheStatisticsMXBean.increaseCacheMisses(1);
-					cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+					cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 				}
 				else
 				{
@@ -1163,7 +1184,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1173,7 +1194,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				this.deleteCacheEntry(key);
 
@@ -1189,8 +1210,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 				else
 				{
-					this.cacheTable.remove(internalKey);
 					final V value = this.objectConverter.externalize(cachedValue.value());
+					this.removeValue(internalKey);
 
 					if(eventDispatcher != null)
 					{
@@ -1212,7 +1233,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
 				cacheStatisticsMXBean.increaseCacheRemovals(1);
-				cacheStatisticsMXBean.addRemoveTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.addRemoveTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 			}
 
 			return result;
@@ -1228,7 +1249,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1239,7 +1260,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			boolean                          hit                 = false;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1257,7 +1278,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					{
 						this.deleteCacheEntry(key);
 
-						this.cacheTable.remove(internalKey);
+						this.removeValue(internalKey);
 
 						if(eventDispatcher != null)
 						{
@@ -1285,7 +1306,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			if(isStatisticsEnabled)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				final long duration = System.nanoTime() - start;
+				final long duration = cacheStatisticsMXBean.elapsedNanos(start);
 				if(result)
 				{
 					cacheStatisticsMXBean.increaseCacheRemovals(1);
@@ -1314,7 +1335,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1324,7 +1345,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				this.deleteCacheEntry(key);
 
@@ -1335,8 +1356,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 				else
 				{
-					this.cacheTable.remove(internalKey);
 					result = this.objectConverter.externalize(cachedValue.value(now));
+					this.removeValue(internalKey);
 
 					if(eventDispatcher != null)
 					{
@@ -1355,7 +1376,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			if(isStatisticsEnabled)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				final long duration = System.nanoTime() - start;
+				final long duration = cacheStatisticsMXBean.elapsedNanos(start);
 				cacheStatisticsMXBean.addGetTimeNano(duration);
 				if(result != null)
 				{
@@ -1383,7 +1404,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1394,7 +1415,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			long                             hitCount            = 0;
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1414,8 +1435,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 						this.updateExpiryForUpdate(cachedValue, now);
 
-						cachedValue.value(
-							this.objectConverter.internalize(newValue),
+						this.replaceValue(
+							cachedValue,
+							this.objectConverter.internalizeValue(newValue),
 							now
 						);
 
@@ -1445,7 +1467,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			if(isStatisticsEnabled)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				final long duration = System.nanoTime() - start;
+				final long duration = cacheStatisticsMXBean.elapsedNanos(start);
 				if(result)
 				{
 					cacheStatisticsMXBean.increaseCachePuts(1);
@@ -1475,7 +1497,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1485,7 +1507,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			boolean                          result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1501,8 +1523,8 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					final Object newInternalValue = this.objectConverter.internalize(value);
-					cachedValue.value(newInternalValue, now);
+					final Object newInternalValue = this.objectConverter.internalizeValue(value);
+					this.replaceValue(cachedValue, newInternalValue, now);
 
 					if(eventDispatcher != null)
 					{
@@ -1523,7 +1545,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			if(isStatisticsEnabled)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				final long duration = System.nanoTime() - start;
+				final long duration = cacheStatisticsMXBean.elapsedNanos(start);
 				cacheStatisticsMXBean.addGetTimeNano(duration);
 				if(result)
 				{
@@ -1550,7 +1572,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long                       start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long                       now                 = System.currentTimeMillis();
@@ -1560,7 +1582,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey         = this.objectConverter.internalize(key);
 			V                                result;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				if(cachedValue == null || cachedValue.isExpiredAt(now))
@@ -1576,8 +1598,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 					this.updateExpiryForUpdate(cachedValue, now);
 
-					cachedValue.value(
-						this.objectConverter.internalize(value),
+					this.replaceValue(
+						cachedValue,
+						this.objectConverter.internalizeValue(value),
 						now
 					);
 
@@ -1600,7 +1623,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			if(isStatisticsEnabled)
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
-				final long duration = System.nanoTime() - start;
+				final long duration = cacheStatisticsMXBean.elapsedNanos(start);
 				cacheStatisticsMXBean.addGetTimeNano(duration);
 				if(result != null)
 				{
@@ -1631,10 +1654,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				: null;
 			final HashSet<K>                 cacheWriterKeys     = new HashSet<>();
 			final HashSet<Object>            deletedKeys         = new HashSet<>();
+			final CacheException[]           exception           = new CacheException[1];
 			cacheWriterKeys.addAll(keys);
-			CacheException exception = null;
 
-			synchronized(this.cacheTable)
+			// the writer and the table are updated under the same locks, see putAll
+			this.cacheTable.executeLocked(this.internalizeKeys(keys), () ->
 			{
 				if(this.cacheWriter != null && this.configuration.isWriteThrough())
 				{
@@ -1644,11 +1668,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					}
 					catch(final CacheWriterException e)
 					{
-						exception = e;
+						exception[0] = e;
 					}
 					catch(final Exception e)
 					{
-						exception = new CacheWriterException(e);
+						exception[0] = new CacheWriterException(e);
 					}
 
 					// At this point, cacheWriterKeys will contain only those that were _not_ written
@@ -1658,30 +1682,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						// only delete those keys that the writer deleted. per CacheWriter spec.
 						if(!cacheWriterKeys.contains(key))
 						{
-							final Object      internalKey = this.objectConverter.internalize(key);
-							final CachedValue cachedValue = this.cacheTable.remove(internalKey);
-							if(cachedValue != null)
+							if(this.removeInternal(key, now, eventDispatcher) != null)
 							{
 								deletedKeys.add(key);
-
-								final V value = this.objectConverter.externalize(cachedValue.value());
-
-								if(cachedValue.isExpiredAt(now))
-								{
-									this.processExpiries(
-										key,
-										internalKey,
-										eventDispatcher,
-										value
-									);
-								}
-								else if(eventDispatcher != null)
-								{
-									eventDispatcher.addEvent(
-										CacheEntryRemovedListener.class,
-										new CacheEvent<>(this, EventType.REMOVED, key, value, value)
-									);
-								}
 							}
 						}
 					}
@@ -1690,35 +1693,13 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					for(final K key : keys)
 					{
-						// only delete those keys that the writer deleted. per CacheWriter spec.
-						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
-						if(cachedValue != null)
+						if(this.removeInternal(key, now, eventDispatcher) != null)
 						{
 							deletedKeys.add(key);
-
-							final V value = this.objectConverter.externalize(cachedValue.value());
-
-							if(cachedValue.isExpiredAt(now))
-							{
-								this.processExpiries(
-									key,
-									internalKey,
-									eventDispatcher,
-									value
-								);
-							}
-							else if(eventDispatcher != null)
-							{
-								eventDispatcher.addEvent(
-									CacheEntryRemovedListener.class,
-									new CacheEvent<>(this, EventType.REMOVED, key, value, value)
-								);
-							}
 						}
 					}
 				}
-			}
+			});
 
 			if(eventDispatcher != null)
 			{
@@ -1729,10 +1710,60 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				this.cacheStatisticsMXBean.increaseCacheRemovals(deletedKeys.size());
 			}
 
-			if(exception != null)
+			if(exception[0] != null)
+			{
+				throw exception[0];
+			}
+		}
+
+		private CachedValue removeInternal(
+			final K                          key            ,
+			final long                       now            ,
+			final CacheEventDispatcher<K, V> eventDispatcher
+		)
+		{
+			final Object internalKey = this.objectConverter.internalize(key);
+
+			synchronized(this.cacheTable.lock(internalKey))
+			{
+				final CachedValue cachedValue = this.cacheTable.remove(internalKey);
+				if(cachedValue == null)
+				{
+					return null;
+				}
+
+				final V value = this.objectConverter.externalize(cachedValue.value());
+
+				if(cachedValue.isExpiredAt(now))
+				{
+					this.processExpiries(
+						key,
+						internalKey,
+						eventDispatcher,
+						value
+					);
+				}
+				else if(eventDispatcher != null)
+				{
+					eventDispatcher.addEvent(
+						CacheEntryRemovedListener.class,
+						new CacheEvent<>(this, EventType.REMOVED, key, value, value)
+					);
+				}
+				this.objectConverter.release(cachedValue.value());
+
+				return cachedValue;
+			}
+		}
+
+		private HashSet<Object> internalizeKeys(final Collection<? extends K> keys)
+		{
+			final HashSet<Object> internalKeys = new HashSet<>();
+			for(final K key : keys)
 			{
-				throw exception;
+				internalKeys.add(this.objectConverter.internalize(key));
 			}
+			return internalKeys;
 		}
 
 		@Override
@@ -1741,61 +1772,65 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			this.ensureOpen();
 
 			final boolean                    isStatisticsEnabled = this.isStatisticsEnabled.get();
-			int                              removed             = 0;
+			final int[]                      removed             = new int[1];
 			final long                       now                 = System.currentTimeMillis();
 			final CacheEventDispatcher<K, V> eventDispatcher     = this.listenerRegistrations.size() > 0L
 				? CacheEventDispatcher.New()
 				: null;
-			CacheException                   exception           = null;
+			final CacheException[]           exception           = new CacheException[1];
 
-			synchronized(this.cacheTable)
-			{
-				final HashSet<K> keys = new HashSet<>();
-				this.cacheTable.keys().forEach(key -> keys.add(this.objectConverter.externalize(key)));
+			final HashSet<K> keys = new HashSet<>();
+			this.cacheTable.keys().forEach(key -> keys.add(this.objectConverter.externalize(key)));
 
-				final boolean       writeThrough  = this.cacheWriter != null && this.configuration.isWriteThrough();
-				// heap-evicted durable mapping -> old value (null = not loaded or unavailable)
-				final HashMap<K, V> ghostMappings = new HashMap<>();
+			final boolean       writeThrough  = this.cacheWriter != null && this.configuration.isWriteThrough();
+			// heap-evicted durable mapping -> old value (null = not loaded or unavailable)
+			final HashMap<K, V> ghostMappings = new HashMap<>();
+
+			/*
+			 * A CacheStore's table holds exactly this cache's durable mappings, including
+			 * entries evicted from the heap. Those are still mappings of this cache
+			 * (iteration and read-through expose them), so removeAll() must delete them
+			 * as well. For any other CacheWriter the cache knows no mappings beyond the
+			 * heap ones and must not enumerate the external resource.
+			 */
+			if(writeThrough && this.cacheWriter instanceof CacheStore)
+			{
+				@SuppressWarnings("unchecked")
+				final CacheStore<K, V> cacheStore = (CacheStore<K, V>)this.cacheWriter;
+				cacheStore.keys().forEachRemaining(key ->
+				{
+					if(!keys.contains(key))
+					{
+						ghostMappings.put(key, null);
+					}
+				});
 
 				/*
-				 * A CacheStore's table holds exactly this cache's durable mappings, including
-				 * entries evicted from the heap. Those are still mappings of this cache
-				 * (iteration and read-through expose them), so removeAll() must delete them
-				 * as well. For any other CacheWriter the cache knows no mappings beyond the
-				 * heap ones and must not enumerate the external resource.
+				 * Old values are needed only for REMOVED events and must be read before the
+				 * delete. Loaded in one bulk call, and only when a removed-listener is
+				 * actually registered (any listener registration would make the dispatcher
+				 * non-null, e.g. the eviction manager's created-listener).
 				 */
-				if(writeThrough && this.cacheWriter instanceof CacheStore)
+				if(!ghostMappings.isEmpty() && this.hasCacheEntryRemovedListener())
 				{
-					@SuppressWarnings("unchecked")
-					final CacheStore<K, V> cacheStore = (CacheStore<K, V>)this.cacheWriter;
-					cacheStore.keys().forEachRemaining(key ->
+					try
 					{
-						if(!keys.contains(key))
-						{
-							ghostMappings.put(key, null);
-						}
-					});
-
-					/*
-					 * Old values are needed only for REMOVED events and must be read before the
-					 * delete. Loaded in one bulk call, and only when a removed-listener is
-					 * actually registered (any listener registration would make the dispatcher
-					 * non-null, e.g. the eviction manager's created-listener).
-					 */
-					if(!ghostMappings.isEmpty() && this.hasCacheEntryRemovedListener())
+						ghostMappings.putAll(cacheStore.loadAll(ghostMappings.keySet()));
+					}
+					catch(final Exception e)
 					{
-						try
-						{
-							ghostMappings.putAll(cacheStore.loadAll(ghostMappings.keySet()));
-						}
-						catch(final Exception e)
-						{
-							// a failed old-value read must not veto the purge;
-							// the affected REMOVED events are skipped instead
-						}
+						// a failed old-value read must not veto the purge;
+						// the affected REMOVED events are skipped instead
 					}
 				}
+			}
+
+			final HashSet<Object> lockedKeys = this.internalizeKeys(keys);
+			lockedKeys.addAll(this.internalizeKeys(ghostMappings.keySet()));
 
+			// the writer and the table are updated under the same locks, see putAll
+			this.cacheTable.executeLocked(lockedKeys, () ->
+			{
 				final Set<K> keysToDelete;
 
 				if(writeThrough)
@@ -1811,11 +1846,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						}
 						catch(final CacheWriterException e)
 						{
-							exception = e;
+							exception[0] = e;
 						}
 						catch(final Exception e)
 						{
-							exception = new CacheWriterException(e);
+							exception[0] = new CacheWriterException(e);
 						}
 					}
 				}
@@ -1829,29 +1864,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					if(!keysToDelete.contains(key))
 					{
-						final Object      internalKey = this.objectConverter.internalize(key);
-						final CachedValue cachedValue = this.cacheTable.remove(internalKey);
-						final V           value       = this.objectConverter.externalize(cachedValue.value());
-
-						if(cachedValue.isExpiredAt(now))
+						// the key set is a snapshot, the entry may have been removed concurrently
+						final CachedValue cachedValue = this.removeInternal(key, now, eventDispatcher);
+						if(cachedValue != null && !cachedValue.isExpiredAt(now))
 						{
-							this.processExpiries(
-								key,
-								internalKey,
-								eventDispatcher,
-								value
-							);
-						}
-						else
-						{
-							if(eventDispatcher != null)
-							{
-								eventDispatcher.addEvent(
-									CacheEntryRemovedListener.class,
-									new CacheEvent<>(this, EventType.REMOVED, key, value, value)
-								);
-							}
-							removed++;
+							removed[0]++;
 						}
 					}
 				}
@@ -1872,10 +1889,10 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 								);
 							}
 						}
-						removed++;
+						removed[0]++;
 					}
 				}
-			}
+			});
 
 			if(eventDispatcher != null)
 			{
@@ -1883,12 +1900,12 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 			if(isStatisticsEnabled)
 			{
-				this.cacheStatisticsMXBean.increaseCacheRemovals(removed);
+				this.cacheStatisticsMXBean.increaseCacheRemovals(removed[0]);
 			}
 
-			if(exception != null)
+			if(exception[0] != null)
 			{
-				throw exception;
+				throw exception[0];
 			}
 		}
 
@@ -1897,10 +1914,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		{
 			this.ensureOpen();
 
-			synchronized(this.cacheTable)
-			{
-				this.cacheTable.clear();
-			}
+			this.cacheTable.clear();
 		}
 
 		@Override
@@ -2013,7 +2027,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			final boolean isStatisticsEnabled = this.isStatisticsEnabled.get();
 			long          start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			notNull(entryProcessor);
@@ -2025,7 +2039,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final Object                     internalKey     = this.objectConverter.internalize(key);
 			T                                result          = null;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				final CachedValue cachedValue = this.cacheTable.get(internalKey);
 				final boolean     isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -2051,10 +2065,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					{
 						cacheStatisticsMXBean.increaseCacheHits(1);
 					}
-					final long nanoTime = System.nanoTime();
-					cacheStatisticsMXBean.addGetTimeNano(nanoTime - start);
+					cacheStatisticsMXBean.addGetTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 					// restart
-					start = nanoTime;
+					start = cacheStatisticsMXBean.startTime();
 				}
 
 				final MutableCacheEntry<K, V> entry = MutableCacheEntry.New(
@@ -2180,7 +2193,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			}
 
 			cachedValue = CachedValue.New(
-				this.objectConverter.internalize(entry.getValue()),
+				this.objectConverter.internalizeValue(entry.getValue()),
 				now,
 				this.expiryForCreation().getAdjustedTime(now)
 			);
@@ -2210,7 +2223,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				{
 					final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
 					cacheStatisticsMXBean.increaseCachePuts(1);
-					cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+					cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 				}
 			}
 		}
@@ -2232,8 +2245,9 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			this.updateExpiryForUpdate(cachedValue, now);
 
-			cachedValue.value(
-				this.objectConverter.internalize(entry.getValue()),
+			this.replaceValue(
+				cachedValue,
+				this.objectConverter.internalizeValue(entry.getValue()),
 				now
 			);
 
@@ -2248,7 +2262,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
 				cacheStatisticsMXBean.increaseCachePuts(1);
-				cacheStatisticsMXBean.addPutTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.addPutTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 			}
 		}
 
@@ -2266,7 +2280,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final V oldValue = cachedValue == null
 				? null
 				: this.objectConverter.externalize(cachedValue.value());
-			this.cacheTable.remove(internalKey);
+			this.removeValue(internalKey);
 
 			if(eventDispatcher != null)
 			{
@@ -2279,7 +2293,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			{
 				final CacheStatisticsMXBean cacheStatisticsMXBean = this.cacheStatisticsMXBean;
 				cacheStatisticsMXBean.increaseCacheRemovals(1);
-				cacheStatisticsMXBean.addRemoveTimeNano(System.nanoTime() - start);
+				cacheStatisticsMXBean.addRemoveTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 			}
 		}
 
@@ -2299,14 +2313,14 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 		{
 			final boolean isStatisticsEnabled = this.isStatisticsEnabled.get();
 			final long    start               = isStatisticsEnabled
-				? System.nanoTime()
+				? this.cacheStatisticsMXBean.startTime()
 				: 0;
 
 			final long    now                 = System.currentTimeMillis();
 			final Object  internalKey         = this.objectConverter.internalize(key);
 			V             value               = null;
 
-			synchronized(this.cacheTable)
+			synchronized(this.cacheTable.lock(internalKey))
 			{
 				CachedValue   cachedValue = this.cacheTable.get(internalKey);
 				final boolean isExpired   = cachedValue != null && cachedValue.isExpiredAt(now);
@@ -2337,7 +2351,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 							: now
 						;
 						cachedValue = CachedValue.New(
-							this.objectConverter.internalize(value),
+							this.objectConverter.internalizeValue(value),
 							creationTime,
 							this.expiryForCreation().getAdjustedTime(creationTime)
 						);
@@ -2377,12 +2391,32 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 
 			if(isStatisticsEnabled)
 			{
-				this.cacheStatisticsMXBean.addGetTimeNano(System.nanoTime() - start);
+				this.cacheStatisticsMXBean.addGetTimeNano(this.cacheStatisticsMXBean.elapsedNanos(start));
 			}
 
 			return value;
 		}
 
+		/*
+		 * Replaced and removed internal values are released only after they have been externalized for the
+		 * last time, which frees off-heap memory right away instead of when the garbage collector finds them.
+		 */
+		private void replaceValue(final CachedValue cachedValue, final Object internalValue, final long now)
+		{
+			final Object replacedValue = cachedValue.value();
+			cachedValue.value(internalValue, now);
+			this.objectConverter.release(replacedValue);
+		}
+
+		private void removeValue(final Object internalKey)
+		{
+			final CachedValue removedValue = this.cacheTable.remove(internalKey);
+			if(removedValue != null)
+			{
+				this.objectConverter.release(removedValue.value());
+			}
+		}
+
 		private void putValue(
 			final K                          key            ,
 			final V                          value          ,
@@ -2411,31 +2445,39 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				? CacheEventDispatcher.New()
 				: null;
 
-			synchronized(this.cacheTable)
+			for(final KeyValue<Object, CachedValue> entryToEvict : entriesToEvict)
 			{
-				for(final KeyValue<Object, CachedValue> entryToEvict : entriesToEvict)
+				/*
+				 * The entries have been picked without holding their locks. An entry which has been
+				 * removed or replaced in the meantime is not evicted.
+				 */
+				synchronized(this.cacheTable.lock(entryToEvict.key()))
 				{
-					this.cacheTable.remove(entryToEvict.key());
-
-					final K evictedKey   = this.objectConverter.externalize(entryToEvict.key());
-					final V evictedValue = this.objectConverter.externalize(entryToEvict.value().value());
-
-					/*
-					 * Eviction only frees heap space; it must not write through to the CacheWriter.
-					 * JSR-107 treats eviction, like expiry, as a cache-internal removal: the entry
-					 * stays in the external resource and is reloaded via read-through on demand.
-					 */
-
-					if(eventDispatcher != null)
+					if(!this.cacheTable.remove(entryToEvict.key(), entryToEvict.value()))
 					{
-						eventDispatcher.addEvent(
-							CacheEntryRemovedListener.class,
-							new CacheEvent<>(this, EventType.REMOVED, evictedKey, evictedValue, evictedValue)
-						);
+						continue;
 					}
+				}
+
+				final K evictedKey   = this.objectConverter.externalize(entryToEvict.key());
+				final V evictedValue = this.objectConverter.externalize(entryToEvict.value().value());
+				this.objectConverter.release(entryToEvict.value().value());
+
+				/*
+				 * Eviction only frees heap space; it must not write through to the CacheWriter.
+				 * JSR-107 treats eviction, like expiry, as a cache-internal removal: the entry
+				 * stays in the external resource and is reloaded via read-through on demand.
+				 */
 
-					evictionCount++;
+				if(eventDispatcher != null)
+				{
+					eventDispatcher.addEvent(
+						CacheEntryRemovedListener.class,
+						new CacheEvent<>(this, EventType.REMOVED, evictedKey, evictedValue, evictedValue)
+					);
 				}
+
+				evictionCount++;
 			}
 
 			if(this.isStatisticsEnabled.get() && evictionCount > 0)
@@ -2487,7 +2529,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			final V                          expiredValue
 		)
 		{
-			this.cacheTable.remove(internalKey);
+			this.removeValue(internalKey);
 
 			if(eventDispatcher != null)
 			{
@@ -2649,10 +2691,11 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 			private void fetch()
 			{
 				final long start = this.isStatisticsEnabled
-					? System.nanoTime()
+					? this.cacheStatisticsMXBean.startTime()
 					: 0;
 
 				final ObjectConverter objectConverter = Cache.Default.this.objectConverter;
+				final CacheTable      cacheTable      = Cache.Default.this.cacheTable;
 
 				while(this.nextEntry == null && this.iterator.hasNext())
 				{
@@ -2661,18 +2704,22 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					final K                             key         = objectConverter.externalize(entry.key());
 					try
 					{
-						if(!cachedValue.isExpiredAt(this.now))
+						// entries removed since the snapshot are skipped, their values may have been released
+						synchronized(cacheTable.lock(entry.key()))
 						{
-							final V value  = objectConverter.externalize(cachedValue.value(this.now));
-							this.nextEntry = CacheEntry.New(key, value);
-
-							try
+							if(cacheTable.get(entry.key()) == cachedValue && !cachedValue.isExpiredAt(this.now))
 							{
-								Cache.Default.this.updateExpiryForAccess(cachedValue, this.now);
-							}
-							catch(final Throwable t)
-							{
-								// Spec says leave the expiry time untouched when we can't determine a duration
+								final V value  = objectConverter.externalize(cachedValue.value(this.now));
+								this.nextEntry = CacheEntry.New(key, value);
+
+								try
+								{
+									Cache.Default.this.updateExpiryForAccess(cachedValue, this.now);
+								}
+								catch(final Throwable t)
+								{
+									// Spec says leave the expiry time untouched when we can't determine a duration
+								}
 							}
 						}
 					}
@@ -2682,7 +2729,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 						{
 							final CacheStatisticsMXBean cacheStatisticsMXBean = Cache.Default.this.cacheStatisticsMXBean;
 							cacheStatisticsMXBean.increaseCacheHits(1);
-							cacheStatisticsMXBean.addGetTimeNano(System.nanoTime() - start);
+							cacheStatisticsMXBean.addGetTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 						}
 					}
 				}
@@ -2724,7 +2771,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 				}
 
 				final long start         = this.isStatisticsEnabled
-					? System.nanoTime()
+					? this.cacheStatisticsMXBean.startTime()
 					: 0;
 				int        cacheRemovals = 0;
 				try
@@ -2764,7 +2811,7 @@ public interface Cache<K, V> extends javax.cache.Cache<K, V>, Unwrappable
 					{
 						final CacheStatisticsMXBean cacheStatisticsMXBean = Cache.Default.this.cacheStatisticsMXBean;
 						cacheStatisticsMXBean.increaseCacheRemovals(cacheRemovals);
-						cacheStatisticsMXBean.addRemoveTimeNano(System.nanoTime() - start);
+						cacheStatisticsMXBean.addRemoveTimeNano(cacheStatisticsMXBean.elapsedNanos(start));
 					}
 				}
 			}
@@ -16,6 +16,7 @@ package org.eclipse.store.cache.types;
  */
 
 import static org.eclipse.serializer.chars.XChars.notEmpty;
+import static org.eclipse.serializer.math.XMath.notNegative;
 import static org.eclipse.serializer.util.X.coalesce;
 import static org.eclipse.serializer.util.X.notNull;
 
@@ -54,7 +55,8 @@ import org.eclipse.store.storage.types.StorageManager;
  * <p>
  * Added features:<br>
  * - {@link #getEvictionManagerFactory()}<br>
- * - {@link #getSerializerFoundation()}
+ * - {@link #getSerializerFoundation()}<br>
+ * - {@link #getOffHeapByteSize()}
  * </p>
  * <p>
  * Can be adapted to EclipseStore's generic {@link Configuration} layer.
@@ -769,6 +771,20 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	 */
 	public SerializerFoundation<?> getSerializerFoundation();
 
+	/**
+	 * Gets the maximum amount of native memory used to hold the values of a store-by-value cache.
+	 * <p>
+	 * If positive, the serialized values are kept off the Java heap, see {@link OffHeapStore}.
+	 *
+	 * The default implementation keeps the values on the heap.
+	 *
+	 * @return the maximum off-heap byte size, or 0 if values are kept on the heap
+	 */
+	public default long getOffHeapByteSize()
+	{
+		return 0;
+	}
+
 	/**
 	 * Creates a new {@link Builder} for a {@link CacheConfiguration}.
 	 *
@@ -1110,6 +1126,28 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 	     */
 		public Builder<K, V> serializerFoundation(SerializerFoundation<?> serializerFoundation);
 
+		/**
+		 * Sets the maximum amount of native memory used to hold the values of a store-by-value cache.
+		 * Has no effect if the cache stores by reference.
+		 * <p>
+		 * The default implementation only supports keeping the values on the heap.
+		 *
+		 * @param offHeapByteSize the maximum off-heap byte size, 0 to keep values on the heap
+		 * @return this
+		 * @throws UnsupportedOperationException if a positive size is given to a builder without off-heap support
+		 * @see OffHeapStore
+		 */
+		public default Builder<K, V> offHeapByteSize(final long offHeapByteSize)
+		{
+			if(offHeapByteSize != 0)
+			{
+				throw new UnsupportedOperationException(
+					"Off-heap values are not supported by " + this.getClass().getName()
+				);
+			}
+			return this;
+		}
+
 		/**
 		 * Builds a {@link CacheConfiguration} based on the values of this {@link Builder}.
 		 * 
@@ -1132,6 +1170,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			private boolean                                        statisticsEnabled;
 			private boolean                                        managementEnabled;
 			private SerializerFoundation<?>                        serializerFoundation;
+			private long                                           offHeapByteSize;
 
 			Default(final Class<K> keyType, final Class<V> valueType)
 			{
@@ -1219,6 +1258,13 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				return this;
 			}
 
+			@Override
+			public Builder<K, V> offHeapByteSize(final long offHeapByteSize)
+			{
+				this.offHeapByteSize = notNegative(offHeapByteSize);
+				return this;
+			}
+
 			@Override
 			public CacheConfiguration<K, V> build()
 			{
@@ -1249,7 +1295,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 					this.storeByValue,
 					this.statisticsEnabled,
 					this.managementEnabled,
-					serializerFoundation
+					serializerFoundation,
+					this.offHeapByteSize
 				);
 			}
 
@@ -1304,16 +1351,19 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 
 			final Factory<EvictionManager<K, V>> evictionManagerFactory;
 			final SerializerFoundation<?>        serializerFoundation;
+			final long                           offHeapByteSize;
 			if(other instanceof CacheConfiguration)
 			{
 				final CacheConfiguration<K, V> msCacheConfig = (CacheConfiguration<K, V>)other;
 				evictionManagerFactory = msCacheConfig.getEvictionManagerFactory();
 				serializerFoundation   = msCacheConfig.getSerializerFoundation();
+				offHeapByteSize        = msCacheConfig.getOffHeapByteSize();
 			}
 			else
 			{
 				evictionManagerFactory = DefaultEvictionManagerFactory();
 				serializerFoundation   = SerializerFoundation.New();
+				offHeapByteSize        = 0;
 			}
 
 			return new Default<>(
@@ -1329,7 +1379,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				complete.isStoreByValue(),
 				complete.isStatisticsEnabled(),
 				complete.isManagementEnabled(),
-				serializerFoundation
+				serializerFoundation,
+				offHeapByteSize
 			);
 		}
 
@@ -1346,13 +1397,15 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			other.isStoreByValue(),
 			false,
 			false,
-			SerializerFoundation.New());
+			SerializerFoundation.New(),
+			0);
 	}
 
 	public static class Default<K, V> extends MutableConfiguration<K, V> implements CacheConfiguration<K, V>
 	{
 		private final Factory<EvictionManager<K, V>> evictionManagerFactory;
 		private final SerializerFoundation<?>        serializerFoundation;
+		private final long                           offHeapByteSize;
 
 		Default(
 			final Class<K>                                       keyType,
@@ -1367,7 +1420,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			final boolean                                        isStoreByValue,
 			final boolean                                        isStatisticsEnabled,
 			final boolean                                        isManagementEnabled,
-			final SerializerFoundation<?>                        serializerFoundation
+			final SerializerFoundation<?>                        serializerFoundation,
+			final long                                           offHeapByteSize
 		)
 		{
 			super();
@@ -1388,6 +1442,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			this.isStoreByValue           = isStoreByValue;
 			this.isManagementEnabled      = isManagementEnabled;
 			this.serializerFoundation = serializerFoundation;
+			this.offHeapByteSize      = offHeapByteSize;
 		}
 
 		@Override
@@ -1422,6 +1477,12 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			return this.serializerFoundation;
 		}
 
+		@Override
+		public long getOffHeapByteSize()
+		{
+			return this.offHeapByteSize;
+		}
+
 		@Override
 		public int hashCode()
 		{
@@ -1440,6 +1501,7 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			result = prime * result + (this.valueType == null ? 0 : this.valueType.hashCode());
 			result = prime * result + (this.evictionManagerFactory == null ? 0 : this.evictionManagerFactory.hashCode());
 			result = prime * result + (this.serializerFoundation == null ? 0 : this.serializerFoundation.hashCode());
+			result = prime * result + Long.hashCode(this.offHeapByteSize);
 			return result;
 		}
 
@@ -1563,6 +1625,10 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 			{
 				return false;
 			}
+			if(this.offHeapByteSize != other.getOffHeapByteSize())
+			{
+				return false;
+			}
 			return true;
 		}
 		
@@ -1581,7 +1647,8 @@ public interface CacheConfiguration<K, V> extends CompleteConfiguration<K, V>
 				.add("isWriteThrough=").add(this.isWriteThrough).lf()
 				.add("isStatisticsEnabled=").add(this.isStatisticsEnabled).lf()
 				.add("isStoreByValue=").add(this.isStoreByValue).lf()
-				.add("isManagementEnabled=").add(this.isManagementEnabled)
+				.add("isManagementEnabled=").add(this.isManagementEnabled).lf()
+				.add("offHeapByteSize=").add(this.offHeapByteSize)
 				.toString()
 			;
 		}
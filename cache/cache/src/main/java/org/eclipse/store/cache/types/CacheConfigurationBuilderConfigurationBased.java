@@ -22,6 +22,7 @@ import javax.cache.CacheException;
 import javax.cache.configuration.Factory;
 
 import org.eclipse.serializer.chars.XChars;
+import org.eclipse.serializer.configuration.types.ByteSize;
 import org.eclipse.serializer.configuration.types.Configuration;
 import org.eclipse.serializer.configuration.types.ConfigurationLoader;
 import org.eclipse.serializer.configuration.types.ConfigurationParserIni;
@@ -119,6 +120,9 @@ public interface CacheConfigurationBuilderConfigurationBased
 			configuration.optBoolean(MANAGEMENT_ENABLED).ifPresent(value ->
 				builder.enableManagement(value)
 			);
+			configuration.opt(OFF_HEAP_SIZE, ByteSize.class).ifPresent(value ->
+				builder.offHeapByteSize(value.bytes())
+			);
 
 			final CacheStore<K, V> cacheStore = this.buildCacheStore(configuration);
 			if(cacheStore != null)
@@ -179,7 +183,20 @@ public interface CacheConfigurationBuilderConfigurationBased
 				final String cacheKey = storageConfiguration.opt(STORAGE_KEY)
 					.orElse(CachingProvider.defaultURI() + "::cache")
 				;
-				return CacheStore.New(cacheKey, storageManager);
+				final Integer bucketCount = storageConfiguration.optInteger(STORAGE_BUCKET_COUNT).orElse(null);
+				final CacheStore<K, V> cacheStore = bucketCount != null
+					? CacheStore.Bucketed(CacheStore.TableProvider.Root(cacheKey), storageManager, bucketCount)
+					: CacheStore.New(cacheKey, storageManager)
+				;
+				return storageConfiguration.optInteger(STORAGE_WRITE_BEHIND_INTERVAL)
+					.map(interval -> (CacheStore<K, V>)CacheStore.WriteBehind(
+						cacheStore,
+						interval,
+						CacheStore.DefaultBatchSize(),
+						CacheStore.DefaultMaxPendingCount()
+					))
+					.orElse(cacheStore)
+				;
 			}
 			
 			return null;
@@ -50,6 +50,20 @@ public interface CacheConfigurationPropertyNames
 	 */
 	public static final String STORAGE_KEY                         = "key";
 	
+	/**
+	 * Amount of buckets the backing store's entries are spread over, see
+	 * {@link CacheStore#Bucketed(CacheStore.TableProvider, org.eclipse.store.storage.types.StorageManager, int)}.
+	 * If not set, all entries are kept in a single table.
+	 */
+	public static final String STORAGE_BUCKET_COUNT                = "bucket-count";
+	
+	/**
+	 * Flush interval in milliseconds of the backing store's write-behind queue, see
+	 * {@link CacheStore#WriteBehind(CacheStore, long, int, int)}.
+	 * If not set, the backing store is written synchronously.
+	 */
+	public static final String STORAGE_WRITE_BEHIND_INTERVAL       = "write-behind-interval-millis";
+	
 	/**
 	 * @see CompleteConfiguration#getCacheLoaderFactory()
 	 */
@@ -95,4 +109,9 @@ public interface CacheConfigurationPropertyNames
 	 */
 	public static final String MANAGEMENT_ENABLED                  = "management-enabled";
 	
+	/**
+	 * @see CacheConfiguration#getOffHeapByteSize()
+	 */
+	public static final String OFF_HEAP_SIZE                       = "off-heap-size";
+	
 }
@@ -0,0 +1,159 @@
+package org.eclipse.store.cache.types;
+
+/*-
+ * #%L
+ * EclipseStore Cache
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+
+/**
+ * Exposes the statistics of a {@link Cache} to Micrometer.
+ * <p>
+ * The meters read the cache's {@link CacheStatisticsMXBean}, so they only count while statistics are enabled.
+ * Latency percentiles are reported if the latency histogram is enabled, see
+ * {@link CacheStatisticsMXBean#setLatencyHistogramEnabled(boolean)}.
+ * <p>
+ * Micrometer is an optional dependency, it has to be on the classpath when using this type.
+ * <pre>
+ * CacheMetrics.New(cache).bindTo(meterRegistry);
+ * </pre>
+ */
+public class CacheMetrics implements MeterBinder
+{
+	private static final double[] PERCENTILES = {50.0, 95.0, 99.0, 99.9};
+
+	public static CacheMetrics New(final Cache<?, ?> cache)
+	{
+		return New(cache, Tags.empty());
+	}
+
+	public static CacheMetrics New(final Cache<?, ?> cache, final Iterable<Tag> tags)
+	{
+		return new CacheMetrics(
+			notNull(cache),
+			Tags.concat(notNull(tags), "cache", cache.getName())
+		);
+	}
+
+
+	private final Cache<?, ?>           cache     ;
+	private final CacheStatisticsMXBean statistics;
+	private final Tags                  tags      ;
+
+	CacheMetrics(final Cache<?, ?> cache, final Tags tags)
+	{
+		super();
+
+		this.cache      = cache;
+		this.statistics = cache.unwrap(CacheStatisticsMXBean.class);
+		this.tags       = tags ;
+	}
+
+	@Override
+	public void bindTo(final MeterRegistry registry)
+	{
+		Gauge.builder("cache.size", this.cache, Cache::size)
+			.tags(this.tags)
+			.description("The number of entries in the cache")
+			.register(registry)
+		;
+
+		this.counter(registry, "cache.gets", "hit" , CacheStatisticsMXBean::getCacheHits,
+			"The number of times cache lookup methods have returned a cached value");
+		this.counter(registry, "cache.gets", "miss", CacheStatisticsMXBean::getCacheMisses,
+			"The number of times cache lookup methods have not returned a value");
+		this.counter(registry, "cache.puts"     , null, CacheStatisticsMXBean::getCachePuts,
+			"The number of entries added to the cache");
+		this.counter(registry, "cache.removals" , null, CacheStatisticsMXBean::getCacheRemovals,
+			"The number of entries removed from the cache");
+		this.counter(registry, "cache.evictions", null, CacheStatisticsMXBean::getCacheEvictions,
+			"The number of entries evicted from the cache");
+		this.counter(registry, "cache.expiries" , null, CacheStatisticsMXBean::getCacheExpiries,
+			"The number of entries expired in the cache");
+
+		this.latency(registry, "get"   , CacheStatisticsMXBean::getAverageGetTime   , CacheStatisticsMXBean::getGetTimePercentile   );
+		this.latency(registry, "put"   , CacheStatisticsMXBean::getAveragePutTime   , CacheStatisticsMXBean::getPutTimePercentile   );
+		this.latency(registry, "remove", CacheStatisticsMXBean::getAverageRemoveTime, CacheStatisticsMXBean::getRemoveTimePercentile);
+	}
+
+	private void counter(
+		final MeterRegistry                           registry   ,
+		final String                                  name       ,
+		final String                                  result     ,
+		final ToDoubleFunction<CacheStatisticsMXBean> function   ,
+		final String                                  description
+	)
+	{
+		final FunctionCounter.Builder<CacheStatisticsMXBean> builder = FunctionCounter
+			.builder(name, this.statistics, function)
+			.tags(this.tags)
+			.description(description)
+		;
+		if(result != null)
+		{
+			builder.tag("result", result);
+		}
+		builder.register(registry);
+	}
+
+	private void latency(
+		final MeterRegistry                           registry  ,
+		final String                                  operation ,
+		final ToDoubleFunction<CacheStatisticsMXBean> average   ,
+		final PercentileFunction                      percentile
+	)
+	{
+		TimeGauge.builder("cache.latency.mean", this.statistics, TimeUnit.MICROSECONDS, average)
+			.tags(this.tags)
+			.tag("operation", operation)
+			.description("The mean time of cache " + operation + " operations")
+			.register(registry)
+		;
+
+		for(final double p : PERCENTILES)
+		{
+			TimeGauge.builder(
+				"cache.latency",
+				this.statistics,
+				TimeUnit.MICROSECONDS,
+				statistics -> percentile.apply(statistics, p)
+			)
+				.tags(this.tags)
+				.tag("operation", operation)
+				.tag("quantile", Double.toString(p / 100.0))
+				.description("The time of cache " + operation + " operations at the quantile")
+				.register(registry)
+			;
+		}
+	}
+
+
+	@FunctionalInterface
+	interface PercentileFunction
+	{
+		public float apply(CacheStatisticsMXBean statistics, double percentile);
+	}
+
+}
@@ -15,12 +15,25 @@ package org.eclipse.store.cache.types;
  * #L%
  */
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongSupplier;
 
 
+/**
+ * Statistics of a {@link Cache}, extended by switchable latency tracking.
+ * <p>
+ * All counters are striped, so recording doesn't contend between threads. Timing the operations is the only
+ * overhead which is noticeable on the hot path, it can be switched off at runtime via
+ * {@link #setTimingEnabled(boolean)}. Latency percentiles are recorded additionally if
+ * {@link #setLatencyHistogramEnabled(boolean)} is switched on.
+ */
 public interface CacheStatisticsMXBean extends javax.cache.management.CacheStatisticsMXBean
 {
+	/**
+	 * The start time returned by {@link #startTime()} if timing is disabled.
+	 */
+	public static final long NOT_TIMED = Long.MIN_VALUE;
+	
 	public void increaseCacheRemovals(final long number);
 	
 	public void increaseCacheExpiries(final long number);
@@ -39,22 +52,131 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 	
 	public void addRemoveTimeNano(final long duration);
 	
+	/**
+	 * The default implementation always times.
+	 * 
+	 * @return the current time in nanoseconds, or {@link #NOT_TIMED} if timing is disabled
+	 */
+	public default long startTime()
+	{
+		return System.nanoTime();
+	}
+	
+	/**
+	 * @param startTime a time returned by {@link #startTime()}
+	 * @return the nanoseconds elapsed since the start time, or -1 if it was not timed, which is ignored
+	 *         by the <code>add*TimeNano</code> methods
+	 */
+	public default long elapsedNanos(final long startTime)
+	{
+		return startTime == NOT_TIMED
+			? -1
+			: System.nanoTime() - startTime
+		;
+	}
+	
+	/**
+	 * The default implementation doesn't count expiries.
+	 * 
+	 * @return the number of expired entries
+	 */
+	public default long getCacheExpiries()
+	{
+		return 0;
+	}
+	
+	public default boolean isTimingEnabled()
+	{
+		return true;
+	}
+	
+	/**
+	 * Switches the timing of get, put and remove operations, which the average times are based on.
+	 * Enabled by default.
+	 * 
+	 * <p>
+	 * The default implementation can't switch timing off.
+	 * 
+	 * @param timingEnabled true to time operations
+	 */
+	public default void setTimingEnabled(final boolean timingEnabled)
+	{
+		if(!timingEnabled)
+		{
+			throw new UnsupportedOperationException("Timing can't be disabled by " + this.getClass().getName());
+		}
+	}
+	
+	public default boolean isLatencyHistogramEnabled()
+	{
+		return false;
+	}
+	
+	/**
+	 * Switches the recording of latency histograms, which the percentile times are based on.
+	 * Enabling it enables timing as well. Disabling it discards the recorded histograms.
+	 * Disabled by default.
+	 * 
+	 * <p>
+	 * The default implementation doesn't record latency histograms.
+	 * 
+	 * @param latencyHistogramEnabled true to record latency histograms
+	 */
+	public default void setLatencyHistogramEnabled(final boolean latencyHistogramEnabled)
+	{
+		if(latencyHistogramEnabled)
+		{
+			throw new UnsupportedOperationException(
+				"Latency histograms are not supported by " + this.getClass().getName()
+			);
+		}
+	}
+	
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the get time at the percentile in microseconds, or 0 if no histogram is recorded
+	 */
+	public default float getGetTimePercentile(final double percentile)
+	{
+		return 0;
+	}
+	
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the put time at the percentile in microseconds, or 0 if no histogram is recorded
+	 */
+	public default float getPutTimePercentile(final double percentile)
+	{
+		return 0;
+	}
+	
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the remove time at the percentile in microseconds, or 0 if no histogram is recorded
+	 */
+	public default float getRemoveTimePercentile(final double percentile)
+	{
+		return 0;
+	}
+	
 	
 	public static class Default implements CacheStatisticsMXBean
 	{
-		private final static long     NANOSECONDS_IN_A_MICROSECOND = 1000L;
+		private final static float    NANOSECONDS_IN_A_MICROSECOND = 1000.0f;
 		
 		private final transient LongSupplier sizeSupplier;
 		
-		private final AtomicLong      cacheRemovals                = new AtomicLong();
-		private final AtomicLong      cacheExpiries                = new AtomicLong();
-		private final AtomicLong      cachePuts                    = new AtomicLong();
-		private final AtomicLong      cacheHits                    = new AtomicLong();
-		private final AtomicLong      cacheMisses                  = new AtomicLong();
-		private final AtomicLong      cacheEvictions               = new AtomicLong();
-		private final AtomicLong      cachePutTimeTakenNanos       = new AtomicLong();
-		private final AtomicLong      cacheGetTimeTakenNanos       = new AtomicLong();
-		private final AtomicLong      cacheRemoveTimeTakenNanos    = new AtomicLong();
+		private final LongAdder       cacheRemovals                = new LongAdder();
+		private final LongAdder       cacheExpiries                = new LongAdder();
+		private final LongAdder       cachePuts                    = new LongAdder();
+		private final LongAdder       cacheHits                    = new LongAdder();
+		private final LongAdder       cacheMisses                  = new LongAdder();
+		private final LongAdder       cacheEvictions               = new LongAdder();
+		private final Timer           getTimer                     = new Timer();
+		private final Timer           putTimer                     = new Timer();
+		private final Timer           removeTimer                  = new Timer();
+		private volatile boolean      timingEnabled                = true;
+		private volatile boolean      latencyHistogramEnabled;
 		
 		Default(final LongSupplier sizeSupplier)
 		{
@@ -64,15 +186,15 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public void clear()
 		{
-			this.cachePuts.set(0);
-			this.cacheMisses.set(0);
-			this.cacheRemovals.set(0);
-			this.cacheExpiries.set(0);
-			this.cacheHits.set(0);
-			this.cacheEvictions.set(0);
-			this.cacheGetTimeTakenNanos.set(0);
-			this.cachePutTimeTakenNanos.set(0);
-			this.cacheRemoveTimeTakenNanos.set(0);
+			this.cachePuts.reset();
+			this.cacheMisses.reset();
+			this.cacheRemovals.reset();
+			this.cacheExpiries.reset();
+			this.cacheHits.reset();
+			this.cacheEvictions.reset();
+			this.getTimer.clear(this.latencyHistogramEnabled);
+			this.putTimer.clear(this.latencyHistogramEnabled);
+			this.removeTimer.clear(this.latencyHistogramEnabled);
 		}
 		
 		public long getEntryCount()
@@ -83,7 +205,7 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public long getCacheHits()
 		{
-			return this.cacheHits.longValue();
+			return this.cacheHits.sum();
 		}
 		
 		@Override
@@ -98,7 +220,7 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public long getCacheMisses()
 		{
-			return this.cacheMisses.longValue();
+			return this.cacheMisses.sum();
 		}
 		
 		@Override
@@ -119,128 +241,239 @@ public interface CacheStatisticsMXBean extends javax.cache.management.CacheStati
 		@Override
 		public long getCachePuts()
 		{
-			return this.cachePuts.longValue();
+			return this.cachePuts.sum();
 		}
 		
 		@Override
 		public long getCacheRemovals()
 		{
-			return this.cacheRemovals.longValue();
+			return this.cacheRemovals.sum();
 		}
 		
 		@Override
 		public long getCacheEvictions()
 		{
-			return this.cacheEvictions.longValue();
+			return this.cacheEvictions.sum();
+		}
+		
+		@Override
+		public long getCacheExpiries()
+		{
+			return this.cacheExpiries.sum();
 		}
 		
 		@Override
 		public float getAverageGetTime()
 		{
-			final long cacheGetTimeTakenNanos = this.cacheGetTimeTakenNanos.longValue();
-			final long cacheGets              = this.getCacheGets();
-			return cacheGetTimeTakenNanos == 0 || cacheGets == 0
-				? 0
-				: (cacheGetTimeTakenNanos / cacheGets) / NANOSECONDS_IN_A_MICROSECOND;
+			return this.getTimer.averageMicros();
 		}
 		
 		@Override
 		public float getAveragePutTime()
 		{
-			final long cachePutTimeTakenNanos = this.cachePutTimeTakenNanos.longValue();
-			final long cacheGets              = this.getCacheGets();
-			return cachePutTimeTakenNanos == 0 || cacheGets == 0
-				? 0
-				: (cachePutTimeTakenNanos / cacheGets) / NANOSECONDS_IN_A_MICROSECOND;
+			return this.putTimer.averageMicros();
 		}
 		
 		@Override
 		public float getAverageRemoveTime()
 		{
-			final long cacheRemoveTimeTakenNanos = this.cacheRemoveTimeTakenNanos.longValue();
-			final long cacheGets                 = this.getCacheGets();
-			return cacheRemoveTimeTakenNanos == 0 || cacheGets == 0
-				? 0
-				: (cacheRemoveTimeTakenNanos / cacheGets) / NANOSECONDS_IN_A_MICROSECOND;
+			return this.removeTimer.averageMicros();
+		}
+		
+		@Override
+		public float getGetTimePercentile(final double percentile)
+		{
+			return this.getTimer.percentileMicros(percentile);
+		}
+		
+		@Override
+		public float getPutTimePercentile(final double percentile)
+		{
+			return this.putTimer.percentileMicros(percentile);
+		}
+		
+		@Override
+		public float getRemoveTimePercentile(final double percentile)
+		{
+			return this.removeTimer.percentileMicros(percentile);
 		}
 		
 		@Override
 		public void increaseCacheRemovals(final long number)
 		{
-			this.cacheRemovals.getAndAdd(number);
+			this.cacheRemovals.add(number);
 		}
 		
 		@Override
 		public void increaseCacheExpiries(final long number)
 		{
-			this.cacheExpiries.getAndAdd(number);
+			this.cacheExpiries.add(number);
 		}
 		
 		@Override
 		public void increaseCachePuts(final long number)
 		{
-			this.cachePuts.getAndAdd(number);
+			this.cachePuts.add(number);
 		}
 		
 		@Override
 		public void increaseCacheHits(final long number)
 		{
-			this.cacheHits.getAndAdd(number);
+			this.cacheHits.add(number);
 		}
 		
 		@Override
 		public void increaseCacheMisses(final long number)
 		{
-			this.cacheMisses.getAndAdd(number);
+			this.cacheMisses.add(number);
 		}
 		
 		@Override
 		public void increaseCacheEvictions(final long number)
 		{
-			this.cacheEvictions.getAndAdd(number);
+			this.cacheEvictions.add(number);
 		}
 		
 		@Override
 		public void addGetTimeNano(final long duration)
 		{
-			if(this.cacheGetTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
-			{
-				this.cacheGetTimeTakenNanos.addAndGet(duration);
-			}
-			else
-			{
-				// Counter full. Just reset.
-				this.clear();
-				this.cacheGetTimeTakenNanos.set(duration);
-			}
+			this.getTimer.add(duration);
 		}
 		
 		@Override
 		public void addPutTimeNano(final long duration)
 		{
-			if(this.cachePutTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
-			{
-				this.cachePutTimeTakenNanos.addAndGet(duration);
-			}
-			else
-			{
-				this.clear();
-				this.cachePutTimeTakenNanos.set(duration);
-			}
+			this.putTimer.add(duration);
 		}
 		
 		@Override
 		public void addRemoveTimeNano(final long duration)
 		{
-			if(this.cacheRemoveTimeTakenNanos.get() <= Long.MAX_VALUE - duration)
+			this.removeTimer.add(duration);
+		}
+		
+		@Override
+		public long startTime()
+		{
+			return this.timingEnabled
+				? System.nanoTime()
+				: NOT_TIMED
+			;
+		}
+		
+		@Override
+		public long elapsedNanos(final long startTime)
+		{
+			return startTime == NOT_TIMED
+				? -1
+				: System.nanoTime() - startTime
+			;
+		}
+		
+		@Override
+		public boolean isTimingEnabled()
+		{
+			return this.timingEnabled;
+		}
+		
+		@Override
+		public void setTimingEnabled(final boolean timingEnabled)
+		{
+			this.timingEnabled = timingEnabled;
+		}
+		
+		@Override
+		public boolean isLatencyHistogramEnabled()
+		{
+			return this.latencyHistogramEnabled;
+		}
+		
+		@Override
+		public synchronized void setLatencyHistogramEnabled(final boolean latencyHistogramEnabled)
+		{
+			this.latencyHistogramEnabled = latencyHistogramEnabled;
+			this.getTimer.enableHistogram(latencyHistogramEnabled);
+			this.putTimer.enableHistogram(latencyHistogramEnabled);
+			this.removeTimer.enableHistogram(latencyHistogramEnabled);
+			if(latencyHistogramEnabled)
+			{
+				this.timingEnabled = true;
+			}
+		}
+		
+		
+		/**
+		 * Sum and count of the timed operations of one kind, plus the optional histogram.
+		 * Averages are based on the timed operations only, so they stay correct when timing is switched.
+		 */
+		static final class Timer
+		{
+			private final LongAdder           totalNanos = new LongAdder();
+			private final LongAdder           count      = new LongAdder();
+			private volatile LatencyHistogram histogram;
+			
+			Timer()
+			{
+				super();
+			}
+			
+			void add(final long duration)
+			{
+				if(duration < 0)
+				{
+					return;
+				}
+				
+				this.totalNanos.add(duration);
+				this.count.increment();
+				
+				final LatencyHistogram histogram = this.histogram;
+				if(histogram != null)
+				{
+					histogram.record(duration);
+				}
+			}
+			
+			float averageMicros()
+			{
+				final long count = this.count.sum();
+				return count == 0
+					? 0
+					: this.totalNanos.sum() / count / NANOSECONDS_IN_A_MICROSECOND
+				;
+			}
+			
+			float percentileMicros(final double percentile)
+			{
+				final LatencyHistogram histogram = this.histogram;
+				return histogram == null
+					? 0
+					: histogram.valueAtPercentile(percentile) / NANOSECONDS_IN_A_MICROSECOND
+				;
+			}
+			
+			void enableHistogram(final boolean enabled)
 			{
-				this.cacheRemoveTimeTakenNanos.addAndGet(duration);
+				if(!enabled)
+				{
+					this.histogram = null;
+				}
+				else if(this.histogram == null)
+				{
+					this.histogram = new LatencyHistogram();
+				}
 			}
-			else
+			
+			void clear(final boolean histogramEnabled)
 			{
-				this.clear();
-				this.cacheRemoveTimeTakenNanos.set(duration);
+				this.totalNanos.reset();
+				this.count.reset();
+				this.histogram = histogramEnabled
+					? new LatencyHistogram()
+					: null
+				;
 			}
+			
 		}
 		
 	}
@@ -18,11 +18,21 @@ package org.eclipse.store.cache.types;
 import static org.eclipse.serializer.chars.XChars.notEmpty;
 import static org.eclipse.serializer.util.X.notNull;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 import javax.cache.Cache.Entry;
 import javax.cache.integration.CacheLoader;
@@ -30,10 +40,13 @@ import javax.cache.integration.CacheLoaderException;
 import javax.cache.integration.CacheWriter;
 import javax.cache.integration.CacheWriterException;
 
+import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.EqHashTable;
 import org.eclipse.serializer.collections.types.XTable;
 import org.eclipse.serializer.reference.Lazy;
+import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.types.StorageManager;
+import org.slf4j.Logger;
 
 
 public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
@@ -45,6 +58,32 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 	{
 		public <K, V> XTable<K, Lazy<V>> provideTable(StorageManager storage, boolean create);
 		
+		/**
+		 * Provides the persistent layout of a {@link CacheStore.Bucketed} store.
+		 * <p>
+		 * The default implementation does not support bucketed stores, custom providers which are used
+		 * with one have to override it.
+		 * 
+		 * @param <K> the key type
+		 * @param <V> the value type
+		 * @param storage the storage holding the buckets
+		 * @param bucketCount the amount of buckets, if they are created
+		 * @param create if the buckets should be created if they do not exist yet
+		 * @return the buckets, or <code>null</code> if they do not exist and <code>create</code> is false
+		 * @throws UnsupportedOperationException if this provider does not support bucketed stores
+		 */
+		public default <K, V> Buckets<K, V> provideBuckets(
+			final StorageManager storage    ,
+			final int            bucketCount,
+			final boolean        create
+		)
+		{
+			throw new UnsupportedOperationException(
+				"Table provider " + this.getClass().getName() + " does not support bucketed cache stores, "
+				+ "it has to implement provideBuckets to be used with CacheStore.Bucketed"
+			);
+		}
+		
 		
 		public static TableProvider Root(final String cacheKey)
 		{
@@ -57,6 +96,20 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 		}
 		
 		
+		@SuppressWarnings("unchecked")
+		private static <T> T checkType(final String cacheKey, final Object cacheData, final Class<?> type)
+		{
+			if(cacheData != null && !type.isInstance(cacheData))
+			{
+				throw new IllegalStateException(
+					"Cache '" + cacheKey + "' is stored as " + cacheData.getClass().getName()
+					+ ", not as " + type.getName()
+				);
+			}
+			return (T)cacheData;
+		}
+		
+		
 		public static class Root implements TableProvider
 		{
 			private final String cacheKey;
@@ -70,24 +123,44 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 			@Override
 			public <K, V> XTable<K, Lazy<V>> provideTable(final StorageManager storage, final boolean create)
 			{
-				boolean                                  storeRoot = false;
-				XTable<String, Lazy<XTable<K, Lazy<V>>>> rootTable;
+				return this.provide(storage, create, XTable.class, EqHashTable::New);
+			}
+			
+			@Override
+			public <K, V> Buckets<K, V> provideBuckets(
+				final StorageManager storage    ,
+				final int            bucketCount,
+				final boolean        create
+			)
+			{
+				return this.provide(storage, create, Buckets.class, () -> Buckets.New(bucketCount));
+			}
+			
+			private <T> T provide(
+				final StorageManager storage,
+				final boolean        create ,
+				final Class<?>       type   ,
+				final Supplier<T>    factory
+			)
+			{
+				boolean                 storeRoot = false;
+				XTable<String, Lazy<T>> rootTable;
 				if((rootTable = storage.root()) == null)
 				{
 					storage.setRoot(rootTable = EqHashTable.New());
 					storeRoot = true;
 				}
-				XTable<K, Lazy<V>> cacheTable;
-				if((cacheTable = Lazy.get(rootTable.get(this.cacheKey))) == null && create)
+				T cacheData;
+				if((cacheData = checkType(this.cacheKey, Lazy.get(rootTable.get(this.cacheKey)), type)) == null && create)
 				{
-					rootTable.put(this.cacheKey, Lazy.Reference(cacheTable = EqHashTable.New()));
+					rootTable.put(this.cacheKey, Lazy.Reference(cacheData = factory.get()));
 					storeRoot = true;
 				}
 				if(storeRoot)
 				{
 					storage.storeRoot();
 				}
-				return cacheTable;
+				return cacheData;
 			}
 			
 		}
@@ -103,28 +176,48 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 				this.cacheKey = cacheKey;
 			}
 			
-			@SuppressWarnings({"unchecked", "rawtypes"})
 			@Override
 			public <K, V> XTable<K, Lazy<V>> provideTable(final StorageManager storage, final boolean create)
 			{
-				boolean                                  storeRoot = false;
-				XTable<String, Lazy<XTable<K, Lazy<V>>>> rootTable;
+				return this.provide(storage, create, XTable.class, EqHashTable::New);
+			}
+			
+			@Override
+			public <K, V> Buckets<K, V> provideBuckets(
+				final StorageManager storage    ,
+				final int            bucketCount,
+				final boolean        create
+			)
+			{
+				return this.provide(storage, create, Buckets.class, () -> Buckets.New(bucketCount));
+			}
+			
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			private <T> T provide(
+				final StorageManager storage,
+				final boolean        create ,
+				final Class<?>       type   ,
+				final Supplier<T>    factory
+			)
+			{
+				boolean                 storeRoot = false;
+				XTable<String, Lazy<T>> rootTable;
 				if((rootTable = Lazy.get(storage.root())) == null)
 				{
 					storage.setRoot(Lazy.Reference(rootTable = EqHashTable.New()));
 					storeRoot = true;
 				}
-				XTable<K, Lazy<V>> cacheTable;
-				if((cacheTable = Lazy.get(rootTable.get(this.cacheKey))) == null && create)
+				T cacheData;
+				if((cacheData = checkType(this.cacheKey, Lazy.get(rootTable.get(this.cacheKey)), type)) == null && create)
 				{
-					rootTable.put(this.cacheKey, Lazy.Reference(cacheTable = EqHashTable.New()));
+					rootTable.put(this.cacheKey, Lazy.Reference(cacheData = factory.get()));
 					storeRoot = true;
 				}
 				if(storeRoot)
 				{
 					storage.storeAll(storage.root(), rootTable);
 				}
-				return cacheTable;
+				return cacheData;
 			}
 			
 		}
@@ -149,6 +242,117 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 		);
 	}
 	
+	public static int DefaultBucketCount()
+	{
+		return 1024;
+	}
+	
+	public static <K, V> CacheStore<K, V> Bucketed(final String cacheKey, final StorageManager storage)
+	{
+		return Bucketed(TableProvider.Root(cacheKey), storage, DefaultBucketCount());
+	}
+	
+	/**
+	 * Creates a store which spreads its entries over a fixed amount of buckets, so that a write only stores
+	 * the bucket of the written entry instead of all entries. The buckets are guarded by locks of their own,
+	 * writes to different buckets do not block each other.
+	 * <p>
+	 * The layout is persistent: a cache key once used with a bucketed store can not be used with a
+	 * {@link #New(TableProvider, StorageManager) single table} store and vice versa, and the bucket count
+	 * is fixed on creation. The keys' hash codes must be the same in every process, like the ones of strings
+	 * and numbers.
+	 * 
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @param tableProvider the provider of the persistent buckets
+	 * @param storage the storage to persist to
+	 * @param bucketCount the amount of buckets, if they are created
+	 * @return the new store
+	 */
+	public static <K, V> CacheStore<K, V> Bucketed(
+		final TableProvider  tableProvider,
+		final StorageManager storage      ,
+		final int            bucketCount
+	)
+	{
+		if(bucketCount < 1)
+		{
+			throw new IllegalArgumentException("Illegal bucket count: " + bucketCount + " < 1");
+		}
+		
+		return new Bucketed<>(
+			notNull(tableProvider),
+			notNull(storage),
+			bucketCount
+		);
+	}
+	
+	public static long DefaultFlushIntervalMillis()
+	{
+		return 1000;
+	}
+	
+	public static int DefaultBatchSize()
+	{
+		return 1000;
+	}
+	
+	public static int DefaultMaxPendingCount()
+	{
+		return 100_000;
+	}
+	
+	public static <K, V> WriteBehind<K, V> WriteBehind(final CacheStore<K, V> delegate)
+	{
+		return WriteBehind(
+			delegate,
+			DefaultFlushIntervalMillis(),
+			DefaultBatchSize(),
+			DefaultMaxPendingCount()
+		);
+	}
+	
+	/**
+	 * Creates a store which queues the writes and deletes and flushes them to the delegate store in batches,
+	 * by a background thread. Only the latest operation per key is kept, so repeated writes of the same key
+	 * are coalesced into one. Loads see the queued operations.
+	 * 
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @param delegate the store to flush to
+	 * @param flushIntervalMillis the time between two flushes
+	 * @param batchSize the amount of operations flushed at once, reaching it triggers an early flush
+	 * @param maxPendingCount the amount of queued operations at which writing threads flush themselves
+	 * @return the new store
+	 */
+	public static <K, V> WriteBehind<K, V> WriteBehind(
+		final CacheStore<K, V> delegate           ,
+		final long             flushIntervalMillis,
+		final int              batchSize          ,
+		final int              maxPendingCount
+	)
+	{
+		if(flushIntervalMillis <= 0)
+		{
+			throw new IllegalArgumentException("Illegal flush interval: " + flushIntervalMillis + " <= 0");
+		}
+		if(batchSize < 1)
+		{
+			throw new IllegalArgumentException("Illegal batch size: " + batchSize + " < 1");
+		}
+		if(maxPendingCount < batchSize)
+		{
+			throw new IllegalArgumentException("Illegal max pending count: " + maxPendingCount + " < " + batchSize);
+		}
+		
+		return new WriteBehind<>(
+			notNull(delegate),
+			flushIntervalMillis,
+			batchSize,
+			maxPendingCount
+		);
+	}
+	
 	
 	public static class Default<K, V> implements CacheStore<K, V>
 	{
@@ -304,5 +508,557 @@ public interface CacheStore<K, V> extends CacheLoader<K, V>, CacheWriter<K, V>
 		}
 		
 	}
+
+	
+	
+	/**
+	 * Persistent layout of a {@link Bucketed} store.
+	 */
+	public static final class Buckets<K, V>
+	{
+		final EqHashTable<K, Lazy<V>>[] tables;
+		
+		@SuppressWarnings("unchecked")
+		static <K, V> Buckets<K, V> New(final int bucketCount)
+		{
+			final EqHashTable<K, Lazy<V>>[] tables = new EqHashTable[bucketCount];
+			for(int i = 0; i < bucketCount; i++)
+			{
+				tables[i] = EqHashTable.New();
+			}
+			return new Buckets<>(tables);
+		}
+		
+		Buckets(final EqHashTable<K, Lazy<V>>[] tables)
+		{
+			super();
+			
+			this.tables = tables;
+		}
+		
+		public int bucketCount()
+		{
+			return this.tables.length;
+		}
+		
+		int indexOf(final Object key)
+		{
+			final int hash = key.hashCode();
+			return Math.floorMod(hash ^ hash >>> 16, this.tables.length);
+		}
+		
+		EqHashTable<K, Lazy<V>> bucket(final Object key)
+		{
+			return this.tables[this.indexOf(key)];
+		}
+		
+	}
+	
+	
+	public static class Bucketed<K, V> implements CacheStore<K, V>
+	{
+		private final TableProvider  tableProvider;
+		private final StorageManager storage      ;
+		private final int            bucketCount  ;
+		
+		Bucketed(final TableProvider tableProvider, final StorageManager storage, final int bucketCount)
+		{
+			super();
+
+			this.tableProvider = tableProvider;
+			this.storage       = storage      ;
+			this.bucketCount   = bucketCount  ;
+		}
+		
+		private Buckets<K, V> buckets(final boolean create)
+		{
+			synchronized(this.storage)
+			{
+				if(!this.storage.isRunning())
+				{
+					this.storage.start();
+				}
+				
+				return this.tableProvider.provideBuckets(this.storage, this.bucketCount, create);
+			}
+		}
+		
+		@Override
+		public Iterator<K> keys()
+		{
+			final Buckets<K, V> buckets = this.buckets(false);
+			if(buckets == null)
+			{
+				return Collections.emptyIterator();
+			}
+			
+			final BulkList<K> keys = BulkList.New();
+			for(final EqHashTable<K, Lazy<V>> bucket : buckets.tables)
+			{
+				synchronized(bucket)
+				{
+					bucket.keys().iterate(keys::add);
+				}
+			}
+			return keys.iterator();
+		}
+		
+		@Override
+		public V load(final K key) throws CacheLoaderException
+		{
+			try
+			{
+				final Buckets<K, V> buckets;
+				return (buckets = this.buckets(false)) != null
+					? Lazy.get(get(buckets.bucket(key), key))
+					: null;
+			}
+			catch(final Exception e)
+			{
+				throw new CacheLoaderException(e);
+			}
+		}
+		
+		@Override
+		public Map<K, V> loadAll(final Iterable<? extends K> keys) throws CacheLoaderException
+		{
+			try
+			{
+				final Map<K, V>     result = new HashMap<>();
+				final Buckets<K, V> buckets;
+				if((buckets = this.buckets(false)) != null)
+				{
+					keys.forEach(key -> result.put(key, Lazy.get(get(buckets.bucket(key), key))));
+				}
+				return result;
+			}
+			catch(final Exception e)
+			{
+				throw new CacheLoaderException(e);
+			}
+		}
+		
+		private static <K, V> Lazy<V> get(final EqHashTable<K, Lazy<V>> bucket, final K key)
+		{
+			// the lazy reference is loaded outside of the lock
+			synchronized(bucket)
+			{
+				return bucket.get(key);
+			}
+		}
+		
+		@Override
+		public void write(final Entry<? extends K, ? extends V> entry) throws CacheWriterException
+		{
+			try
+			{
+				final EqHashTable<K, Lazy<V>> bucket = this.buckets(true).bucket(entry.getKey());
+				synchronized(bucket)
+				{
+					bucket.put(entry.getKey(), Lazy.Reference(entry.getValue()));
+					this.storage.store(bucket);
+				}
+			}
+			catch(final Exception e)
+			{
+				throw new CacheWriterException(e);
+			}
+		}
+		
+		@Override
+		public void writeAll(final Collection<Entry<? extends K, ? extends V>> entries)
+			throws CacheWriterException
+		{
+			try
+			{
+				final Buckets<K, V> buckets = this.buckets(true);
+				
+				final Map<Integer, List<Entry<? extends K, ? extends V>>> entriesPerBucket = new HashMap<>();
+				entries.forEach(entry ->
+					entriesPerBucket.computeIfAbsent(buckets.indexOf(entry.getKey()), i -> new ArrayList<>()).add(entry)
+				);
+				
+				// each changed bucket is stored once, written entries are removed as the CacheWriter contract demands
+				for(final Map.Entry<Integer, List<Entry<? extends K, ? extends V>>> bucketEntries : entriesPerBucket.entrySet())
+				{
+					final EqHashTable<K, Lazy<V>> bucket = buckets.tables[bucketEntries.getKey()];
+					synchronized(bucket)
+					{
+						bucketEntries.getValue().forEach(entry ->
+							bucket.put(entry.getKey(), Lazy.Reference(entry.getValue()))
+						);
+						this.storage.store(bucket);
+					}
+					entries.removeAll(bucketEntries.getValue());
+				}
+			}
+			catch(final Exception e)
+			{
+				throw new CacheWriterException(e);
+			}
+		}
+		
+		@SuppressWarnings("unchecked") // Object in typed interface [sigh]
+		@Override
+		public void delete(final Object key) throws CacheWriterException
+		{
+			try
+			{
+				final Buckets<K, V> buckets;
+				if((buckets = this.buckets(false)) != null)
+				{
+					final EqHashTable<K, Lazy<V>> bucket = buckets.bucket(key);
+					synchronized(bucket)
+					{
+						if(bucket.removeFor((K)key) != null)
+						{
+							this.storage.store(bucket);
+						}
+					}
+				}
+			}
+			catch(final Exception e)
+			{
+				throw new CacheWriterException(e);
+			}
+		}
+		
+		@Override
+		public void deleteAll(final Collection<?> keys) throws CacheWriterException
+		{
+			try
+			{
+				final Buckets<K, V> buckets;
+				if((buckets = this.buckets(false)) != null)
+				{
+					final Map<Integer, List<Object>> keysPerBucket = new HashMap<>();
+					keys.forEach(key ->
+						keysPerBucket.computeIfAbsent(buckets.indexOf(key), i -> new ArrayList<>()).add(key)
+					);
+					
+					for(final Map.Entry<Integer, List<Object>> bucketKeys : keysPerBucket.entrySet())
+					{
+						final EqHashTable<K, Lazy<V>> bucket = buckets.tables[bucketKeys.getKey()];
+						synchronized(bucket)
+						{
+							boolean changed = false;
+							for(final Object key : bucketKeys.getValue())
+							{
+								@SuppressWarnings("unchecked")
+								final K k = (K)key;
+								changed |= bucket.removeFor(k) != null;
+							}
+							if(changed)
+							{
+								this.storage.store(bucket);
+							}
+						}
+						keys.removeAll(bucketKeys.getValue());
+					}
+				}
+			}
+			catch(final Exception e)
+			{
+				throw new CacheWriterException(e);
+			}
+		}
+		
+	}
+	
+	
+	public static class WriteBehind<K, V> implements CacheStore<K, V>, Closeable
+	{
+		private final static Logger logger = Logging.getLogger(WriteBehind.class);
+		
+		// queued in place of a value for a pending delete
+		private final static Object DELETED = new Object();
+		
+		private final CacheStore<K, V>             delegate           ;
+		private final long                         flushIntervalMillis;
+		private final int                          batchSize          ;
+		private final int                          maxPendingCount    ;
+		private final ConcurrentHashMap<K, Object> pending            ;
+		private final Object                       flushLock          ;
+		private volatile Thread                    flusher            ;
+		private volatile boolean                   closed             ;
+		
+		WriteBehind(
+			final CacheStore<K, V> delegate           ,
+			final long             flushIntervalMillis,
+			final int              batchSize          ,
+			final int              maxPendingCount
+		)
+		{
+			super();
+			
+			this.delegate            = delegate           ;
+			this.flushIntervalMillis = flushIntervalMillis;
+			this.batchSize           = batchSize          ;
+			this.maxPendingCount     = maxPendingCount    ;
+			this.pending             = new ConcurrentHashMap<>();
+			this.flushLock           = new Object();
+		}
+		
+		public CacheStore<K, V> delegate()
+		{
+			return this.delegate;
+		}
+		
+		public int pendingCount()
+		{
+			return this.pending.size();
+		}
+		
+		@Override
+		public Iterator<K> keys()
+		{
+			final LinkedHashSet<K> keys = new LinkedHashSet<>();
+			this.delegate.keys().forEachRemaining(keys::add);
+			this.pending.forEach((key, value) ->
+			{
+				if(value == DELETED)
+				{
+					keys.remove(key);
+				}
+				else
+				{
+					keys.add(key);
+				}
+			});
+			return keys.iterator();
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public V load(final K key) throws CacheLoaderException
+		{
+			/*
+			 * A flush writes to the delegate before it dequeues the operation,
+			 * so the latest state is either pending or in the delegate.
+			 */
+			final Object pending = this.pending.get(key);
+			if(pending != null)
+			{
+				return pending == DELETED
+					? null
+					: (V)pending;
+			}
+			return this.delegate.load(key);
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public Map<K, V> loadAll(final Iterable<? extends K> keys) throws CacheLoaderException
+		{
+			final Map<K, V> result  = new HashMap<>();
+			final List<K>   missing = new ArrayList<>();
+			for(final K key : keys)
+			{
+				final Object pending = this.pending.get(key);
+				if(pending == null)
+				{
+					missing.add(key);
+				}
+				else
+				{
+					result.put(key, pending == DELETED ? null : (V)pending);
+				}
+			}
+			if(!missing.isEmpty())
+			{
+				result.putAll(this.delegate.loadAll(missing));
+			}
+			return result;
+		}
+		
+		@Override
+		public void write(final Entry<? extends K, ? extends V> entry) throws CacheWriterException
+		{
+			this.enqueue(entry.getKey(), entry.getValue());
+		}
+		
+		@Override
+		public void writeAll(final Collection<Entry<? extends K, ? extends V>> entries)
+			throws CacheWriterException
+		{
+			entries.forEach(entry -> this.enqueue(entry.getKey(), entry.getValue()));
+			entries.clear();
+		}
+		
+		@SuppressWarnings("unchecked") // Object in typed interface [sigh]
+		@Override
+		public void delete(final Object key) throws CacheWriterException
+		{
+			this.enqueue((K)key, DELETED);
+		}
+		
+		@SuppressWarnings("unchecked") // Object in typed interface [sigh]
+		@Override
+		public void deleteAll(final Collection<?> keys) throws CacheWriterException
+		{
+			keys.forEach(key -> this.enqueue((K)key, DELETED));
+			keys.clear();
+		}
+		
+		private void enqueue(final K key, final Object value)
+		{
+			if(this.closed)
+			{
+				this.pending.put(key, value);
+				this.flush();
+				return;
+			}
+			
+			this.ensureFlusher();
+			this.pending.put(key, value);
+			
+			final int pendingCount = this.pending.size();
+			if(pendingCount >= this.maxPendingCount)
+			{
+				// back pressure: the writing thread waits for the flush instead of letting the queue grow
+				this.flush();
+			}
+			else if(pendingCount >= this.batchSize)
+			{
+				LockSupport.unpark(this.flusher);
+			}
+		}
+		
+		private void ensureFlusher()
+		{
+			if(this.flusher == null)
+			{
+				synchronized(this.pending)
+				{
+					if(this.flusher == null)
+					{
+						final Thread flusher = new Thread(
+							this::runFlusher,
+							WriteBehind.class.getSimpleName() + "@" + System.identityHashCode(this)
+						);
+						flusher.setDaemon(true);
+						flusher.start();
+						this.flusher = flusher;
+					}
+				}
+			}
+		}
+		
+		private void runFlusher()
+		{
+			final long intervalNanos = TimeUnit.MILLISECONDS.toNanos(this.flushIntervalMillis);
+			while(!this.closed)
+			{
+				LockSupport.parkNanos(this, intervalNanos);
+				if(this.closed)
+				{
+					// the final flush is done by close()
+					break;
+				}
+				
+				try
+				{
+					this.flush();
+				}
+				catch(final Exception e)
+				{
+					// the operations stay pending and are retried with the next flush
+					logger.error("Write-behind flush failed, {} operations pending", this.pending.size(), e);
+				}
+			}
+		}
+		
+		/**
+		 * Flushes all pending operations to the delegate store.
+		 * 
+		 * @throws CacheWriterException if the delegate fails, the failed operations stay pending
+		 */
+		public void flush() throws CacheWriterException
+		{
+			synchronized(this.flushLock)
+			{
+				final List<Map.Entry<K, Object>> batch = new ArrayList<>(this.batchSize);
+				for(final Map.Entry<K, Object> entry : this.pending.entrySet())
+				{
+					batch.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+					if(batch.size() >= this.batchSize)
+					{
+						this.flush(batch);
+						batch.clear();
+					}
+				}
+				if(!batch.isEmpty())
+				{
+					this.flush(batch);
+				}
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		private void flush(final List<Map.Entry<K, Object>> batch)
+		{
+			final List<Entry<? extends K, ? extends V>> writes  = new ArrayList<>();
+			final List<K>                               deletes = new ArrayList<>();
+			for(final Map.Entry<K, Object> operation : batch)
+			{
+				if(operation.getValue() == DELETED)
+				{
+					deletes.add(operation.getKey());
+				}
+				else
+				{
+					writes.add(CacheEntry.New(operation.getKey(), (V)operation.getValue()));
+				}
+			}
+			
+			if(!writes.isEmpty())
+			{
+				this.delegate.writeAll(writes);
+			}
+			if(!deletes.isEmpty())
+			{
+				this.delegate.deleteAll(deletes);
+			}
+			
+			// operations queued in the meantime replaced the flushed ones and stay pending
+			for(final Map.Entry<K, Object> operation : batch)
+			{
+				this.pending.remove(operation.getKey(), operation.getValue());
+			}
+		}
+		
+		/**
+		 * Flushes all pending operations and closes the delegate store if it is {@link Closeable}.
+		 * Operations after closing are written through.
+		 */
+		@Override
+		public void close() throws IOException
+		{
+			if(this.closed)
+			{
+				return;
+			}
+			this.closed = true;
+			
+			final Thread flusher = this.flusher;
+			if(flusher != null)
+			{
+				LockSupport.unpark(flusher);
+			}
+			
+			try
+			{
+				this.flush();
+			}
+			finally
+			{
+				if(this.delegate instanceof Closeable)
+				{
+					((Closeable)this.delegate).close();
+				}
+			}
+		}
+		
+	}
 	
 }
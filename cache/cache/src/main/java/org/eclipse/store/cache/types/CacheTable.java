@@ -15,17 +15,33 @@ package org.eclipse.store.cache.types;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import org.eclipse.serializer.branching.ThrowBreak;
+import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.EqHashTable;
 import org.eclipse.serializer.functional.Aggregator;
 import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.serializer.util.X;
 
 
+/**
+ * The entry table of a {@link Cache}.
+ * <p>
+ * All operations are thread-safe on their own. Compound operations on a single entry, like a
+ * read-modify-write, have to synchronize on the monitor provided by {@link #lock(Object)} for
+ * the entry's key. Operations spanning all entries, like {@link #iterator()} or {@link #keys()},
+ * work on a snapshot and are not atomic.
+ */
 public interface CacheTable
 {
 	public CachedValue get(Object key);
@@ -34,6 +50,98 @@ public interface CacheTable
 	
 	public CachedValue remove(Object key);
 	
+	/**
+	 * Removes the entry for the given key only if it is still mapped to the given value.
+	 * 
+	 * @param key the entry's key
+	 * @param value the expected value
+	 * @return <code>true</code> if the entry has been removed
+	 */
+	public default boolean remove(final Object key, final CachedValue value)
+	{
+		synchronized(this.lock(key))
+		{
+			if(value == null || this.get(key) != value)
+			{
+				return false;
+			}
+			
+			this.remove(key);
+			return true;
+		}
+	}
+	
+	/**
+	 * Provides the monitor which guards the entry for the given key.
+	 * Entries of different keys may share the same monitor.
+	 * <p>
+	 * The default implementation returns the table itself, which is only correct for tables
+	 * whose operations synchronize on the table instance.
+	 * 
+	 * @param key the entry's key
+	 * @return the monitor to synchronize on
+	 */
+	public default Object lock(final Object key)
+	{
+		return this;
+	}
+	
+	/**
+	 * Executes the given logic while holding the monitors of the entries of all given keys.
+	 * <p>
+	 * The monitors are always acquired in the same order, so concurrent calls with overlapping
+	 * keys cannot deadlock. Monitors which cannot be ordered, because their identity hash codes
+	 * collide, are acquired while holding a global tie-breaking monitor. This is meant for multi-key operations which have to keep an external
+	 * resource and the table consistent, like write-through of a bulk put.
+	 * 
+	 * @param keys the keys of the affected entries
+	 * @param logic the logic to execute
+	 */
+	public default void executeLocked(final Iterable<?> keys, final Runnable logic)
+	{
+		final List<Object> monitors = new ArrayList<>();
+		final Set<Object>  distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(final Object key : keys)
+		{
+			final Object monitor = this.lock(key);
+			if(distinct.add(monitor))
+			{
+				monitors.add(monitor);
+			}
+		}
+		monitors.sort(Comparator.comparingInt(System::identityHashCode));
+		
+		// monitors with equal identity hash codes have no defined order among each other,
+		// so their acquisition is serialized via a global tie-breaking monitor
+		for(int i = 1; i < monitors.size(); i++)
+		{
+			if(System.identityHashCode(monitors.get(i - 1)) == System.identityHashCode(monitors.get(i)))
+			{
+				synchronized(CacheTable.class)
+				{
+					executeLocked(monitors, 0, logic);
+				}
+				return;
+			}
+		}
+		
+		executeLocked(monitors, 0, logic);
+	}
+	
+	private static void executeLocked(final List<Object> monitors, final int index, final Runnable logic)
+	{
+		if(index == monitors.size())
+		{
+			logic.run();
+			return;
+		}
+		
+		synchronized(monitors.get(index))
+		{
+			executeLocked(monitors, index + 1, logic);
+		}
+	}
+	
 	public Iterable<Object> keys();
 	
 	public Iterator<KeyValue<Object, CachedValue>> iterator();
@@ -53,18 +161,76 @@ public interface CacheTable
 		long                                              length    ,
 		Comparator<? super KeyValue<Object, CachedValue>> comparator
 	);
+	
+	/**
+	 * Sets the observer which is notified of all accesses and modifications of this table's entries,
+	 * replacing the previous one.
+	 * 
+	 * @param observer the new observer, or <code>null</code> to remove the current one
+	 */
+	public void observer(Observer observer);
+	
+	
+	/**
+	 * Callback for incrementally maintained eviction structures.
+	 * <p>
+	 * The methods are called while the lock of the affected entry is held, so they must be short and
+	 * must not call back into the table.
+	 */
+	public interface Observer
+	{
+		public void onPut(Object key, CachedValue value);
+		
+		public void onAccess(Object key, CachedValue value);
+		
+		public void onRemove(Object key, CachedValue value);
+	}
+	
+	
+	public static int DefaultStripeCount()
+	{
+		// power of two, enough stripes to make collisions of concurrently used keys unlikely
+		final int stripeCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+		return Math.min(stripeCount, 256);
+	}
 			
 	
 	public static CacheTable New()
 	{
-		return new Default();
+		return New(DefaultStripeCount());
+	}
+	
+	/**
+	 * Creates a table which is split into independently locked stripes.
+	 * 
+	 * @param stripeCount the amount of stripes, rounded up to the next power of two
+	 * @return the new table
+	 */
+	public static CacheTable New(final int stripeCount)
+	{
+		if(stripeCount < 1)
+		{
+			throw new IllegalArgumentException("Illegal stripe count: " + stripeCount + " < 1");
+		}
+		
+		return stripeCount == 1
+			? new Default()
+			: new Striped(stripeCount)
+		;
 	}
 	
 	
+	/**
+	 * Single table guarded by its own monitor.
+	 */
 	public static class Default implements CacheTable
 	{
 		final EqHashTable<Object, CachedValue> table;
 		
+		// mirrors the table's size for unsynchronized reads
+		private volatile long     size    ;
+		private volatile Observer observer;
+		
 		Default()
 		{
 			super();
@@ -73,69 +239,99 @@ public interface CacheTable
 		}
 		
 		@Override
-		public CachedValue get(final Object key)
+		public synchronized CachedValue get(final Object key)
 		{
-			return this.table.get(key);
+			final CachedValue value    = this.table.get(key);
+			final Observer    observer = this.observer;
+			if(value != null && observer != null)
+			{
+				observer.onAccess(key, value);
+			}
+			return value;
 		}
 		
 		@Override
-		public boolean put(final Object key, final CachedValue value)
+		public synchronized boolean put(final Object key, final CachedValue value)
 		{
-			return this.table.put(key, value);
+			final boolean result = this.table.put(key, value);
+			this.size = this.table.size();
+			final Observer observer = this.observer;
+			if(observer != null)
+			{
+				observer.onPut(key, value);
+			}
+			return result;
 		}
 		
 		@Override
-		public CachedValue remove(final Object key)
+		public synchronized CachedValue remove(final Object key)
 		{
-			return this.table.removeFor(key);
+			final CachedValue removed = this.table.removeFor(key);
+			this.size = this.table.size();
+			final Observer observer = this.observer;
+			if(removed != null && observer != null)
+			{
+				observer.onRemove(key, removed);
+			}
+			return removed;
 		}
 		
 		@Override
-		public Iterable<Object> keys()
+		public synchronized boolean remove(final Object key, final CachedValue value)
+		{
+			if(value == null || this.table.get(key) != value)
+			{
+				return false;
+			}
+			
+			this.remove(key);
+			return true;
+		}
+		
+		@Override
+		public Object lock(final Object key)
 		{
-			return this.table.keys();
+			return this;
 		}
 		
 		@Override
-		public Iterator<KeyValue<Object, CachedValue>> iterator()
+		public void executeLocked(final Iterable<?> keys, final Runnable logic)
 		{
-			final Iterator<KeyValue<Object, CachedValue>> it = this.table.iterator();
-			/*
-			 * Iterator#remove is used by Cache, so we have to implement it
-			 * since EqHashTable's iterators don't.
-			 */
-			return new Iterator<>()
+			synchronized(this)
 			{
-				KeyValue<Object, CachedValue> next;
-				
-				@Override
-				public boolean hasNext()
-				{
-					return it.hasNext();
-				}
-
-				@Override
-				public KeyValue<Object, CachedValue> next()
-				{
-					return this.next = it.next();
-				}
-				
-				@Override
-				public void remove()
-				{
-					CacheTable.Default.this.table.remove(this.next);
-				}
-			};
+				logic.run();
+			}
 		}
 		
 		@Override
-		public void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
+		public synchronized Iterable<Object> keys()
+		{
+			final BulkList<Object> keys = BulkList.New(X.checkArrayRange(this.table.size()));
+			this.table.keys().iterate(keys::add);
+			return keys;
+		}
+		
+		synchronized BulkList<KeyValue<Object, CachedValue>> snapshot()
+		{
+			final BulkList<KeyValue<Object, CachedValue>> entries = BulkList.New(X.checkArrayRange(this.table.size()));
+			this.table.iterate(kv -> entries.add(KeyValue.New(kv.key(), kv.value())));
+			return entries;
+		}
+		
+		@Override
+		public Iterator<KeyValue<Object, CachedValue>> iterator()
+		{
+			return new SnapshotIterator(this.snapshot().iterator(), this);
+		}
+		
+		@Override
+		public synchronized void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
 		{
 			this.table.iterate(procedure);
 		}
 
 		@Override
-		public KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
+		public synchronized KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
 		{
 			return this.table.search(predicate);
 		}
@@ -143,23 +339,30 @@ public interface CacheTable
 		@Override
 		public long size()
 		{
-			return this.table.size();
+			return this.size;
 		}
 		
 		@Override
-		public void clear()
+		public synchronized void clear()
 		{
+			// reported per entry, other stripes of the same observer are not affected
+			final Observer observer = this.observer;
+			if(observer != null)
+			{
+				this.table.iterate(kv -> observer.onRemove(kv.key(), kv.value()));
+			}
 			this.table.clear();
+			this.size = 0;
 		}
 		
 		@Override
-		public KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
+		public synchronized KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
 		{
 			return this.table.min(comparator);
 		}
 				
 		@Override
-		public KeyValue<Object, CachedValue> rangeMin(
+		public synchronized KeyValue<Object, CachedValue> rangeMin(
 			final long offset,
 			final long length,
 			final Comparator<? super KeyValue<Object, CachedValue>> comparator
@@ -168,6 +371,12 @@ public interface CacheTable
 			return this.table.iterate(new RangeMin<>(offset, length, comparator)).yield();
 		}
 		
+		@Override
+		public synchronized void observer(final Observer observer)
+		{
+			this.observer = observer;
+		}
+		
 		
 		static class RangeMin<E> implements Aggregator<E, E>
 		{
@@ -233,4 +442,317 @@ public interface CacheTable
 		
 	}
 	
+	
+	/**
+	 * Table consisting of independently locked {@link Default} stripes, selected by the keys' hash codes.
+	 * Operations on keys of different stripes do not block each other.
+	 */
+	public static class Striped implements CacheTable
+	{
+		final Default[] stripes;
+		final int       mask   ;
+		
+		Striped(final int stripeCount)
+		{
+			super();
+			
+			final int length = stripeCount > 1
+				? Integer.highestOneBit(stripeCount - 1) << 1
+				: 1
+			;
+			this.stripes = new Default[length];
+			this.mask    = length - 1;
+			for(int i = 0; i < length; i++)
+			{
+				this.stripes[i] = new Default();
+			}
+		}
+		
+		final int stripeIndex(final Object key)
+		{
+			final int hash = key == null ? 0 : key.hashCode();
+			return (hash ^ hash >>> 16) & this.mask;
+		}
+		
+		final Default stripe(final Object key)
+		{
+			return this.stripes[this.stripeIndex(key)];
+		}
+		
+		@Override
+		public CachedValue get(final Object key)
+		{
+			return this.stripe(key).get(key);
+		}
+		
+		@Override
+		public boolean put(final Object key, final CachedValue value)
+		{
+			return this.stripe(key).put(key, value);
+		}
+		
+		@Override
+		public CachedValue remove(final Object key)
+		{
+			return this.stripe(key).remove(key);
+		}
+		
+		@Override
+		public boolean remove(final Object key, final CachedValue value)
+		{
+			return this.stripe(key).remove(key, value);
+		}
+		
+		@Override
+		public Object lock(final Object key)
+		{
+			return this.stripe(key);
+		}
+		
+		@Override
+		public void executeLocked(final Iterable<?> keys, final Runnable logic)
+		{
+			// stripes are always locked in ascending index order
+			final boolean[] affected = new boolean[this.stripes.length];
+			for(final Object key : keys)
+			{
+				affected[this.stripeIndex(key)] = true;
+			}
+			
+			this.executeLocked(affected, 0, logic);
+		}
+		
+		private void executeLocked(final boolean[] affected, final int index, final Runnable logic)
+		{
+			int i = index;
+			while(i < affected.length && !affected[i])
+			{
+				i++;
+			}
+			if(i == affected.length)
+			{
+				logic.run();
+				return;
+			}
+			
+			synchronized(this.stripes[i])
+			{
+				this.executeLocked(affected, i + 1, logic);
+			}
+		}
+		
+		@Override
+		public Iterable<Object> keys()
+		{
+			final BulkList<Object> keys = BulkList.New();
+			for(final Default stripe : this.stripes)
+			{
+				stripe.keys().forEach(keys::add);
+			}
+			return keys;
+		}
+		
+		@Override
+		public Iterator<KeyValue<Object, CachedValue>> iterator()
+		{
+			return new Iterator<>()
+			{
+				int                                     stripeIndex;
+				Iterator<KeyValue<Object, CachedValue>> current = Collections.emptyIterator();
+				Iterator<KeyValue<Object, CachedValue>> last   ;
+				
+				@Override
+				public boolean hasNext()
+				{
+					// stripes are copied one at a time, not all at once.
+					while(!this.current.hasNext() && this.stripeIndex < CacheTable.Striped.this.stripes.length)
+					{
+						this.current = CacheTable.Striped.this.stripes[this.stripeIndex++].iterator();
+					}
+					return this.current.hasNext();
+				}
+
+				@Override
+				public KeyValue<Object, CachedValue> next()
+				{
+					if(!this.hasNext())
+					{
+						throw new NoSuchElementException();
+					}
+					return (this.last = this.current).next();
+				}
+				
+				@Override
+				public void remove()
+				{
+					if(this.last == null)
+					{
+						throw new IllegalStateException();
+					}
+					this.last.remove();
+				}
+			};
+		}
+		
+		@Override
+		public void iterate(final Consumer<KeyValue<Object, CachedValue>> procedure)
+		{
+			/*
+			 * The procedure is called on the stripes' snapshots without holding a lock,
+			 * so that a break can end the whole iteration, not only the current stripe's.
+			 */
+			try
+			{
+				for(final Default stripe : this.stripes)
+				{
+					stripe.snapshot().iterate(procedure);
+				}
+			}
+			catch(final ThrowBreak b)
+			{
+				// early exit
+			}
+		}
+
+		@Override
+		public KeyValue<Object, CachedValue> search(final Predicate<? super KeyValue<Object, CachedValue>> predicate)
+		{
+			for(final Default stripe : this.stripes)
+			{
+				final KeyValue<Object, CachedValue> result = stripe.search(predicate);
+				if(result != null)
+				{
+					return result;
+				}
+			}
+			return null;
+		}
+		
+		@Override
+		public long size()
+		{
+			long size = 0;
+			for(final Default stripe : this.stripes)
+			{
+				size += stripe.size();
+			}
+			return size;
+		}
+		
+		@Override
+		public void clear()
+		{
+			for(final Default stripe : this.stripes)
+			{
+				stripe.clear();
+			}
+		}
+		
+		@Override
+		public KeyValue<Object, CachedValue> min(final Comparator<? super KeyValue<Object, CachedValue>> comparator)
+		{
+			KeyValue<Object, CachedValue> min = null;
+			for(final Default stripe : this.stripes)
+			{
+				min = min(min, stripe.min(comparator), comparator);
+			}
+			return min;
+		}
+		
+		@Override
+		public KeyValue<Object, CachedValue> rangeMin(
+			final long offset,
+			final long length,
+			final Comparator<? super KeyValue<Object, CachedValue>> comparator
+		)
+		{
+			// the range is defined over the concatenation of all stripes, stripes before it are skipped as a whole.
+			KeyValue<Object, CachedValue> min = null;
+			long remainingOffset = offset;
+			long remainingLength = length;
+			for(int i = 0; i < this.stripes.length && remainingLength > 0; i++)
+			{
+				final long stripeSize = this.stripes[i].size();
+				if(remainingOffset >= stripeSize)
+				{
+					remainingOffset -= stripeSize;
+					continue;
+				}
+				
+				final long stripeLength = Math.min(remainingLength, stripeSize - remainingOffset);
+				min = min(min, this.stripes[i].rangeMin(remainingOffset, stripeLength, comparator), comparator);
+				remainingLength -= stripeLength;
+				remainingOffset  = 0;
+			}
+			return min;
+		}
+		
+		@Override
+		public void observer(final Observer observer)
+		{
+			for(final Default stripe : this.stripes)
+			{
+				stripe.observer(observer);
+			}
+		}
+		
+		private static KeyValue<Object, CachedValue> min(
+			final KeyValue<Object, CachedValue>                     kv1       ,
+			final KeyValue<Object, CachedValue>                     kv2       ,
+			final Comparator<? super KeyValue<Object, CachedValue>> comparator
+		)
+		{
+			return kv1 == null
+				? kv2
+				: kv2 == null || comparator.compare(kv1, kv2) <= 0
+					? kv1
+					: kv2
+			;
+		}
+		
+	}
+	
+	
+	/**
+	 * Iterates over a snapshot, removals are applied to the table only if the entry is still unchanged.
+	 */
+	static final class SnapshotIterator implements Iterator<KeyValue<Object, CachedValue>>
+	{
+		private final Iterator<KeyValue<Object, CachedValue>> snapshot;
+		private final CacheTable                              table   ;
+		private KeyValue<Object, CachedValue>                 next    ;
+		
+		SnapshotIterator(final Iterator<KeyValue<Object, CachedValue>> snapshot, final CacheTable table)
+		{
+			super();
+			
+			this.snapshot = snapshot;
+			this.table    = table   ;
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			return this.snapshot.hasNext();
+		}
+
+		@Override
+		public KeyValue<Object, CachedValue> next()
+		{
+			return this.next = this.snapshot.next();
+		}
+		
+		@Override
+		public void remove()
+		{
+			if(this.next == null)
+			{
+				throw new IllegalStateException();
+			}
+			this.table.remove(this.next.key(), this.next.value());
+			this.next = null;
+		}
+		
+	}
+	
 }
@@ -79,6 +79,27 @@ public interface EvictionManager<K, V>
 				cache.evict(entriesToEvict);
 			}
 		}
+		
+		/**
+		 * Connects an incrementally maintained policy to the table, see {@link EvictionPolicy.Incremental}.
+		 */
+		void observe(final CacheTable cacheTable)
+		{
+			if(this.evictionPolicy instanceof CacheTable.Observer)
+			{
+				final CacheTable.Observer observer = (CacheTable.Observer)this.evictionPolicy;
+				cacheTable.observer(observer);
+				cacheTable.iterate(kv -> observer.onPut(kv.key(), kv.value()));
+			}
+		}
+		
+		void unobserve(final CacheTable cacheTable)
+		{
+			if(this.evictionPolicy instanceof CacheTable.Observer)
+			{
+				cacheTable.observer(null);
+			}
+		}
 	}
 		
 	
@@ -107,6 +128,7 @@ public interface EvictionManager<K, V>
 					true   // synchronous
 				);
 				
+				this.observe(cacheTable);
 				cache.registerCacheEntryListener(this.listenerConfiguration);
 			}
 		}
@@ -117,6 +139,7 @@ public interface EvictionManager<K, V>
 			if(this.listenerConfiguration != null)
 			{
 				cache.deregisterCacheEntryListener(this.listenerConfiguration);
+				this.unobserve(cacheTable);
 				
 				this.listenerConfiguration = null;
 			}
@@ -147,6 +170,7 @@ public interface EvictionManager<K, V>
 		{
 			this.cache      = cache;
 			this.cacheTable = cacheTable;
+			this.observe(cacheTable);
 			
 			if(!this.running.get())
 			{
@@ -159,6 +183,7 @@ public interface EvictionManager<K, V>
 		public void uninstall(final Cache<K, V> cache, final CacheTable cacheTable)
 		{
 			this.running.set(false);
+			this.unobserve(cacheTable);
 			this.cache      = null;
 			this.cacheTable = null;
 		}
@@ -18,9 +18,14 @@ package org.eclipse.store.cache.types;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 
+import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.EqHashEnum;
 import org.eclipse.serializer.collections.types.XEnum;
 import org.eclipse.serializer.reference._intReference;
@@ -213,6 +218,48 @@ public interface EvictionPolicy
 			evictionPermission
 		);
 	}
+	
+	public static EvictionPolicy SegmentedLeastRecentlyUsed(final long maxCacheSize)
+	{
+		return SegmentedLeastRecentlyUsed(maxCacheSize, false);
+	}
+	
+	/**
+	 * Segmented LRU, maintained incrementally on every access.
+	 * Must be installed by an {@link EvictionManager} and must not be shared between caches.
+	 * 
+	 * @param maximum the maximum entry count, or the maximum total byte size if weighed by byte size
+	 * @param weighByByteSize weigh entries by {@link CachedValue#byteSizeEstimate()} instead of counting them
+	 * @return the new policy
+	 */
+	public static EvictionPolicy SegmentedLeastRecentlyUsed(
+		final long    maximum        ,
+		final boolean weighByByteSize
+	)
+	{
+		return new SegmentedLeastRecentlyUsed(maximum, weighByByteSize);
+	}
+	
+	public static EvictionPolicy WindowTinyLfu(final long maxCacheSize)
+	{
+		return WindowTinyLfu(maxCacheSize, false);
+	}
+	
+	/**
+	 * Window TinyLFU, maintained incrementally on every access.
+	 * Must be installed by an {@link EvictionManager} and must not be shared between caches.
+	 * 
+	 * @param maximum the maximum entry count, or the maximum total byte size if weighed by byte size
+	 * @param weighByByteSize weigh entries by {@link CachedValue#byteSizeEstimate()} instead of counting them
+	 * @return the new policy
+	 */
+	public static EvictionPolicy WindowTinyLfu(
+		final long    maximum        ,
+		final boolean weighByByteSize
+	)
+	{
+		return new WindowTinyLfu(maximum, weighByByteSize);
+	}
 		
 	
 
@@ -379,4 +426,583 @@ public interface EvictionPolicy
 		
 	}
 	
+	
+	/**
+	 * Base of the policies which keep their eviction order up to date on every access of the observed
+	 * {@link CacheTable}, instead of searching it for victims. Picking a victim is O(1) and does not block
+	 * the table.
+	 * <p>
+	 * The table's threads never wait for the policy's lock: reads and writes are recorded in lock-free buffers,
+	 * which are drained by whichever thread gets the lock. The read buffer is lossy, a dropped read only makes
+	 * the order less exact. The write buffer is not, a writer only waits for the lock if the buffer is full.
+	 * Writes of the same key are buffered in the order of the key's monitor, so they are applied in order.
+	 */
+	public static abstract class Incremental implements EvictionPolicy, CacheTable.Observer
+	{
+		final static int READ_BUFFER_SIZE  = 1024;
+		final static int WRITE_BUFFER_SIZE = 1024;
+		
+		final long                              maximum        ;
+		final boolean                           weighByByteSize;
+		final HashMap<Object, Node>             nodes          ;
+		final ReentrantLock                     lock           ;
+		final ConcurrentLinkedQueue<Object>     readBuffer     ;
+		final AtomicInteger                     readCount      ;
+		final ConcurrentLinkedQueue<Write>      writeBuffer    ;
+		final AtomicInteger                     writeCount     ;
+		long                                    weight         ;
+		BulkList<KeyValue<Object, CachedValue>> victims        ;
+		
+		Incremental(final long maximum, final boolean weighByByteSize)
+		{
+			super();
+			
+			if(maximum <= 0)
+			{
+				throw new IllegalArgumentException("Illegal maximum for eviction: " + maximum + " <= 0");
+			}
+			
+			this.maximum         = maximum;
+			this.weighByByteSize = weighByByteSize;
+			this.nodes           = new HashMap<>();
+			this.lock            = new ReentrantLock();
+			this.readBuffer      = new ConcurrentLinkedQueue<>();
+			this.readCount       = new AtomicInteger();
+			this.writeBuffer     = new ConcurrentLinkedQueue<>();
+			this.writeCount      = new AtomicInteger();
+		}
+		
+		/**
+		 * Adds the new node to the policy's structures.
+		 */
+		abstract void onInsert(Node node);
+		
+		/**
+		 * Reorders the structures for an access of the node.
+		 */
+		abstract void onHit(Node node);
+		
+		/**
+		 * Evicts nodes by {@link #evict(Node)} until the total weight does not exceed the maximum.
+		 */
+		abstract void evict();
+		
+		@Override
+		public void onPut(final Object key, final CachedValue value)
+		{
+			this.bufferWrite(new Write(key, value, false));
+		}
+		
+		@Override
+		public void onAccess(final Object key, final CachedValue value)
+		{
+			// dropped if the buffer is full
+			if(this.readCount.get() < READ_BUFFER_SIZE)
+			{
+				this.readCount.incrementAndGet();
+				this.readBuffer.offer(key);
+			}
+			if(this.lock.tryLock())
+			{
+				try
+				{
+					this.drainBuffers();
+				}
+				finally
+				{
+					this.lock.unlock();
+				}
+			}
+		}
+		
+		@Override
+		public void onRemove(final Object key, final CachedValue value)
+		{
+			this.bufferWrite(new Write(key, value, true));
+		}
+		
+		@Override
+		public Iterable<KeyValue<Object, CachedValue>> pickEntriesToEvict(final CacheTable cacheTable)
+		{
+			this.lock.lock();
+			try
+			{
+				this.drainBuffers();
+				this.evict();
+				
+				final BulkList<KeyValue<Object, CachedValue>> victims = this.victims;
+				this.victims = null;
+				return victims;
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+		
+		private void bufferWrite(final Write write)
+		{
+			this.writeBuffer.offer(write);
+			
+			// back pressure: a full buffer has to be drained before the writer may continue
+			if(this.writeCount.incrementAndGet() >= WRITE_BUFFER_SIZE)
+			{
+				this.lock.lock();
+			}
+			else if(!this.lock.tryLock())
+			{
+				return;
+			}
+			try
+			{
+				this.drainBuffers();
+			}
+			finally
+			{
+				this.lock.unlock();
+			}
+		}
+		
+		/**
+		 * Removes the node from the policy's order and hands it out as victim. The entry is removed from the
+		 * table afterwards, if it has not been replaced in the meantime. Until then, the node stays registered
+		 * as pending eviction, so that a replacement re-tracks it instead of losing it.
+		 */
+		final void evict(final Node node)
+		{
+			this.discard(node);
+			node.pendingEviction = true;
+			
+			if(this.victims == null)
+			{
+				this.victims = BulkList.New();
+			}
+			this.victims.add(KeyValue.New(node.key, node.value));
+		}
+		
+		private void discard(final Node node)
+		{
+			if(node.queue != null)
+			{
+				node.queue.remove(node);
+			}
+			if(!node.pendingEviction)
+			{
+				this.weight -= node.weight;
+			}
+		}
+		
+		private void drainBuffers()
+		{
+			for(Object key; (key = this.readBuffer.poll()) != null;)
+			{
+				this.readCount.decrementAndGet();
+				this.recordAccess(key);
+			}
+			for(Write write; (write = this.writeBuffer.poll()) != null;)
+			{
+				this.writeCount.decrementAndGet();
+				if(write.removal)
+				{
+					this.recordRemoval(write.key, write.value);
+				}
+				else
+				{
+					this.recordPut(write.key, write.value);
+				}
+			}
+		}
+		
+		private void recordPut(final Object key, final CachedValue value)
+		{
+			final Node node = this.nodes.get(key);
+			if(node == null)
+			{
+				final Node created = new Node(key, value, this.weigh(value));
+				this.nodes.put(key, created);
+				this.weight += created.weight;
+				this.onInsert(created);
+			}
+			else if(node.pendingEviction)
+			{
+				// the victim has been replaced before its removal, its conditional removal fails
+				node.pendingEviction = false;
+				node.value           = value;
+				node.weight          = this.weigh(value);
+				this.weight         += node.weight;
+				this.onInsert(node);
+			}
+			else
+			{
+				node.value = value;
+				this.reweigh(node);
+				this.onHit(node);
+			}
+		}
+		
+		private void recordRemoval(final Object key, final CachedValue value)
+		{
+			final Node node = this.nodes.get(key);
+			// a removal of a replaced value is outdated, the replacement's put is buffered after it
+			if(node != null && (node.value == value || !node.pendingEviction))
+			{
+				this.nodes.remove(key);
+				this.discard(node);
+			}
+		}
+		
+		private void recordAccess(final Object key)
+		{
+			final Node node = this.nodes.get(key);
+			if(node != null && !node.pendingEviction)
+			{
+				this.reweigh(node);
+				this.onHit(node);
+			}
+		}
+		
+		private long weigh(final CachedValue value)
+		{
+			if(!this.weighByByteSize)
+			{
+				return 1;
+			}
+			
+			final long byteSize = value.byteSizeEstimate();
+			return byteSize > 0
+				? byteSize
+				: 1
+			;
+		}
+		
+		// values are updated in place, so their size may have changed since the last access
+		private void reweigh(final Node node)
+		{
+			if(!this.weighByByteSize)
+			{
+				return;
+			}
+			
+			final long delta = this.weigh(node.value) - node.weight;
+			if(delta != 0)
+			{
+				node.weight += delta;
+				this.weight += delta;
+				if(node.queue != null)
+				{
+					node.queue.weight += delta;
+				}
+			}
+		}
+		
+		
+		static final class Node
+		{
+			final Object     key            ;
+			CachedValue      value          ;
+			long             weight         ;
+			AccessOrderDeque queue          ;
+			Node             previous       ;
+			Node             next           ;
+			boolean          pendingEviction;
+			
+			Node(final Object key, final CachedValue value, final long weight)
+			{
+				super();
+				
+				this.key    = key   ;
+				this.value  = value ;
+				this.weight = weight;
+			}
+		}
+		
+		
+		/**
+		 * A buffered put or removal of an entry.
+		 */
+		static final class Write
+		{
+			final Object      key    ;
+			final CachedValue value  ;
+			final boolean     removal;
+			
+			Write(final Object key, final CachedValue value, final boolean removal)
+			{
+				super();
+				
+				this.key     = key    ;
+				this.value   = value  ;
+				this.removal = removal;
+			}
+		}
+		
+		
+		/**
+		 * Doubly linked list of nodes, from the least recently used one to the most recently used one.
+		 */
+		static final class AccessOrderDeque
+		{
+			Node first ;
+			Node last  ;
+			long weight;
+			
+			AccessOrderDeque()
+			{
+				super();
+			}
+			
+			void addLast(final Node node)
+			{
+				node.queue    = this;
+				node.previous = this.last;
+				node.next     = null;
+				if(this.last == null)
+				{
+					this.first = node;
+				}
+				else
+				{
+					this.last.next = node;
+				}
+				this.last    = node;
+				this.weight += node.weight;
+			}
+			
+			void remove(final Node node)
+			{
+				if(node.previous == null)
+				{
+					this.first = node.next;
+				}
+				else
+				{
+					node.previous.next = node.next;
+				}
+				if(node.next == null)
+				{
+					this.last = node.previous;
+				}
+				else
+				{
+					node.next.previous = node.previous;
+				}
+				node.queue    = null;
+				node.previous = null;
+				node.next     = null;
+				this.weight  -= node.weight;
+			}
+			
+			void moveToLast(final Node node)
+			{
+				if(node != this.last)
+				{
+					this.remove(node);
+					this.addLast(node);
+				}
+			}
+		}
+		
+	}
+	
+	
+	/**
+	 * Segmented LRU: new entries start in the probation segment, entries accessed again are promoted to the
+	 * protected segment, which holds up to 80% of the maximum. Victims are taken from probation first,
+	 * so entries used only once cannot flush frequently used ones.
+	 */
+	public static class SegmentedLeastRecentlyUsed extends Incremental
+	{
+		final static double PROTECTED_SHARE = 0.8;
+		
+		final AccessOrderDeque probation       ;
+		final AccessOrderDeque protectedSegment;
+		final long             protectedMaximum;
+		
+		SegmentedLeastRecentlyUsed(final long maximum, final boolean weighByByteSize)
+		{
+			super(maximum, weighByByteSize);
+			
+			this.probation        = new AccessOrderDeque();
+			this.protectedSegment = new AccessOrderDeque();
+			this.protectedMaximum = (long)(maximum * PROTECTED_SHARE);
+		}
+		
+		@Override
+		void onInsert(final Node node)
+		{
+			this.probation.addLast(node);
+		}
+		
+		@Override
+		void onHit(final Node node)
+		{
+			promote(node, this.probation, this.protectedSegment, this.protectedMaximum);
+		}
+		
+		@Override
+		void evict()
+		{
+			while(this.weight > this.maximum)
+			{
+				final Node victim = this.probation.first != null
+					? this.probation.first
+					: this.protectedSegment.first
+				;
+				if(victim == null)
+				{
+					break;
+				}
+				this.evict(victim);
+			}
+		}
+		
+		static void promote(
+			final Node             node            ,
+			final AccessOrderDeque probation       ,
+			final AccessOrderDeque protectedSegment,
+			final long             protectedMaximum
+		)
+		{
+			if(node.queue == protectedSegment)
+			{
+				protectedSegment.moveToLast(node);
+				return;
+			}
+			if(node.queue != probation)
+			{
+				return;
+			}
+			
+			probation.remove(node);
+			protectedSegment.addLast(node);
+			
+			// demote the protected segment's overflow to the most recently used end of probation
+			while(protectedSegment.weight > protectedMaximum && protectedSegment.first != node)
+			{
+				final Node demoted = protectedSegment.first;
+				protectedSegment.remove(demoted);
+				probation.addLast(demoted);
+			}
+		}
+		
+	}
+	
+	
+	/**
+	 * Window TinyLFU: new entries enter a small LRU window of 1% of the maximum. Entries leaving the window are
+	 * candidates for the main space, a segmented LRU, and are only admitted in place of its victim if their
+	 * access frequency, estimated by a {@link FrequencySketch}, is higher. This keeps both recency bursts and
+	 * long-term popular entries, and a scan cannot flush the main space.
+	 */
+	public static class WindowTinyLfu extends Incremental
+	{
+		final static double WINDOW_SHARE                    = 0.01   ;
+		final static double PROTECTED_SHARE                 = 0.8    ;
+		final static long   INITIAL_WEIGHED_SKETCH_CAPACITY = 1024   ;
+		final static long   MAX_INITIAL_SKETCH_CAPACITY     = 1 << 16;
+		
+		final AccessOrderDeque window          ;
+		final AccessOrderDeque probation       ;
+		final AccessOrderDeque protectedSegment;
+		final long             windowMaximum   ;
+		final long             protectedMaximum;
+		final FrequencySketch  sketch          ;
+		
+		WindowTinyLfu(final long maximum, final boolean weighByByteSize)
+		{
+			super(maximum, weighByByteSize);
+			
+			this.window           = new AccessOrderDeque();
+			this.probation        = new AccessOrderDeque();
+			this.protectedSegment = new AccessOrderDeque();
+			this.windowMaximum    = Math.max(1, (long)(maximum * WINDOW_SHARE));
+			this.protectedMaximum = (long)((maximum - this.windowMaximum) * PROTECTED_SHARE);
+			
+			// the entry count is unknown if weighed by byte size, the sketch grows with it
+			this.sketch = new FrequencySketch(weighByByteSize
+				? INITIAL_WEIGHED_SKETCH_CAPACITY
+				: Math.min(maximum, MAX_INITIAL_SKETCH_CAPACITY)
+			);
+		}
+		
+		@Override
+		void onInsert(final Node node)
+		{
+			if(this.nodes.size() > this.sketch.capacity())
+			{
+				this.sketch.ensureCapacity(2L * this.nodes.size());
+			}
+			this.sketch.increment(node.key);
+			this.window.addLast(node);
+		}
+		
+		@Override
+		void onHit(final Node node)
+		{
+			this.sketch.increment(node.key);
+			if(node.queue == this.window)
+			{
+				this.window.moveToLast(node);
+			}
+			else
+			{
+				SegmentedLeastRecentlyUsed.promote(node, this.probation, this.protectedSegment, this.protectedMaximum);
+			}
+		}
+		
+		@Override
+		void evict()
+		{
+			// the window's overflow moves to the end of probation, the first one moved is the first candidate
+			Node candidate = null;
+			while(this.window.weight > this.windowMaximum && this.window.first != null)
+			{
+				final Node node = this.window.first;
+				this.window.remove(node);
+				this.probation.addLast(node);
+				if(candidate == null)
+				{
+					candidate = node;
+				}
+			}
+			
+			while(this.weight > this.maximum)
+			{
+				final Node victim = this.probation.first != null
+					? this.probation.first
+					: this.protectedSegment.first != null
+						? this.protectedSegment.first
+						: this.window.first
+				;
+				if(victim == null)
+				{
+					break;
+				}
+				
+				if(candidate == null || candidate == victim || victim.queue != this.probation)
+				{
+					if(candidate == victim)
+					{
+						candidate = candidate.next;
+					}
+					this.evict(victim);
+					continue;
+				}
+				
+				// TinyLFU admission: the candidate replaces the victim only if it is used more frequently
+				final Node next = candidate.next;
+				if(this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key))
+				{
+					this.evict(victim);
+				}
+				else
+				{
+					this.evict(candidate);
+				}
+				candidate = next;
+			}
+		}
+		
+	}
+	
 }
@@ -0,0 +1,155 @@
+
+package org.eclipse.store.cache.types;
+
+/*-
+ * #%L
+ * EclipseStore Cache
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+/**
+ * Count-min sketch with 4-bit counters estimating the access frequency of keys, used for TinyLFU admission.
+ * <p>
+ * The counters form {@value #DEPTH} rows of equal width, sixteen counters packed into each <code>long</code>.
+ * A key maps to one counter per row, derived from a single 64 bit hash by double hashing. The estimate is the
+ * minimum of the key's counters. Increments are conservative: only the counters holding the current minimum
+ * are raised, which keeps the overestimation caused by colliding keys low.
+ * <p>
+ * After a sample of ten times the tracked key count has been counted, all counters are halved, so that the
+ * estimates age and stale popularity fades.
+ * <p>
+ * Not thread-safe.
+ */
+final class FrequencySketch
+{
+	private static final int  DEPTH             = 4                     ;
+	private static final int  COUNTERS_PER_WORD = 16                    ;
+	private static final int  COUNTER_MAXIMUM   = 15                    ;
+	private static final long HALVING_MASK      = 0x7777_7777_7777_7777L;
+	private static final int  MAXIMUM_CAPACITY  = 1 << 24               ;
+
+	private long[] words      ;
+	private int    capacity   ;
+	private int    rowWidth   ; // counters per row, a power of two
+	private int    sampleSize ;
+	private int    additions  ;
+
+	FrequencySketch(final long capacity)
+	{
+		super();
+
+		this.ensureCapacity(capacity);
+	}
+
+	/**
+	 * Grows the sketch to track at least the given amount of keys. Growing discards all counts.
+	 */
+	void ensureCapacity(final long capacity)
+	{
+		final int required = (int)Math.max(1, Math.min(capacity, MAXIMUM_CAPACITY));
+		if(this.words != null && this.capacity >= required)
+		{
+			return;
+		}
+
+		final int keys = required > 1
+			? Integer.highestOneBit(required - 1) << 1
+			: 1
+		;
+		// four counters per tracked key and row keep collisions rare at the sampled key count
+		this.rowWidth   = Math.max(COUNTERS_PER_WORD, keys << 2);
+		this.words      = new long[DEPTH * this.rowWidth / COUNTERS_PER_WORD];
+		this.capacity   = keys;
+		this.sampleSize = 10 * keys;
+		this.additions  = 0;
+	}
+
+	int capacity()
+	{
+		return this.capacity;
+	}
+
+	int frequency(final Object key)
+	{
+		final long hash = hash(key);
+
+		int minimum = COUNTER_MAXIMUM;
+		for(int row = 0; row < DEPTH; row++)
+		{
+			minimum = Math.min(minimum, this.counter(this.counterIndex(hash, row)));
+		}
+		return minimum;
+	}
+
+	void increment(final Object key)
+	{
+		final long  hash    = hash(key);
+		final int[] indices = new int[DEPTH];
+
+		int minimum = COUNTER_MAXIMUM;
+		for(int row = 0; row < DEPTH; row++)
+		{
+			indices[row] = this.counterIndex(hash, row);
+			minimum = Math.min(minimum, this.counter(indices[row]));
+		}
+		if(minimum == COUNTER_MAXIMUM)
+		{
+			// saturated in every row
+			return;
+		}
+
+		for(final int index : indices)
+		{
+			if(this.counter(index) == minimum)
+			{
+				this.words[index >>> 4] += 1L << ((index & 15) << 2);
+			}
+		}
+
+		if(++this.additions >= this.sampleSize)
+		{
+			this.halve();
+		}
+	}
+
+	private int counter(final int index)
+	{
+		return (int)(this.words[index >>> 4] >>> ((index & 15) << 2)) & COUNTER_MAXIMUM;
+	}
+
+	private int counterIndex(final long hash, final int row)
+	{
+		// double hashing: the rows' positions are h1 + row * h2, h2 odd to reach every column
+		final int h1 = (int)hash;
+		final int h2 = (int)(hash >>> 32) | 1;
+		return row * this.rowWidth + (h1 + row * h2 & this.rowWidth - 1);
+	}
+
+	private void halve()
+	{
+		for(int i = 0; i < this.words.length; i++)
+		{
+			this.words[i] = this.words[i] >>> 1 & HALVING_MASK;
+		}
+		this.additions >>>= 1;
+	}
+
+	private static long hash(final Object key)
+	{
+		// 64 bit finalizer of SplitMix64, spreads the hash code over both halves
+		long z = key.hashCode() * 0x9e37_79b9_7f4a_7c15L;
+		z = (z ^ z >>> 30) * 0xbf58_476d_1ce4_e5b9L;
+		z = (z ^ z >>> 27) * 0x94d0_49bb_1331_11ebL;
+		return z ^ z >>> 31;
+	}
+
+}
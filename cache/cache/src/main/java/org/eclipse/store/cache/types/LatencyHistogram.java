@@ -0,0 +1,121 @@
+package org.eclipse.store.cache.types;
+
+/*-
+ * #%L
+ * EclipseStore Cache
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets, like an HDR histogram: every power of two is
+ * divided into 32 buckets. The middle of a bucket is reported, so the relative error of the reported values is
+ * at most 1/64, under 2%, over the whole range of long values.
+ * <p>
+ * The buckets are striped counters, so concurrent recording threads don't contend.
+ */
+final class LatencyHistogram
+{
+	private static final int SUB_BUCKET_BITS  = 5;
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT     = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + 2 * SUB_BUCKET_COUNT;
+
+	private final LongAdder[] counts = new LongAdder[BUCKET_COUNT];
+
+	LatencyHistogram()
+	{
+		super();
+
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			this.counts[i] = new LongAdder();
+		}
+	}
+
+	void record(final long nanos)
+	{
+		if(nanos >= 0)
+		{
+			this.counts[indexOf(nanos)].increment();
+		}
+	}
+
+	long count()
+	{
+		long count = 0;
+		for(final LongAdder adder : this.counts)
+		{
+			count += adder.sum();
+		}
+		return count;
+	}
+
+	/**
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the value at the percentile in nanoseconds, or 0 if nothing has been recorded
+	 */
+	long valueAtPercentile(final double percentile)
+	{
+		final long[] counts = new long[BUCKET_COUNT];
+		long         total  = 0;
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			total += counts[i] = this.counts[i].sum();
+		}
+		if(total == 0)
+		{
+			return 0;
+		}
+
+		final double clamped = Math.min(Math.max(percentile, 0.0), 100.0);
+		final long   target  = Math.max(1, (long)Math.ceil(clamped / 100.0 * total));
+		long         seen    = 0;
+		for(int i = 0; i < BUCKET_COUNT; i++)
+		{
+			if((seen += counts[i]) >= target)
+			{
+				return valueOf(i);
+			}
+		}
+		return valueOf(BUCKET_COUNT - 1);
+	}
+
+	static int indexOf(final long nanos)
+	{
+		if(nanos < 2 * SUB_BUCKET_COUNT)
+		{
+			return (int)nanos;
+		}
+
+		final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+		final int mantissa = (int)(nanos >>> exponent - SUB_BUCKET_BITS);
+		return (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + mantissa;
+	}
+
+	/**
+	 * @return the middle of the bucket's range
+	 */
+	static long valueOf(final int index)
+	{
+		if(index < 2 * SUB_BUCKET_COUNT)
+		{
+			return index;
+		}
+
+		final int  exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		final long mantissa = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		final int  shift    = exponent - SUB_BUCKET_BITS;
+		return (mantissa << shift) + (1L << shift >>> 1);
+	}
+
+}
@@ -15,6 +15,8 @@ package org.eclipse.store.cache.types;
  * #L%
  */
 
+import static org.eclipse.serializer.util.X.notNull;
+
 import org.eclipse.serializer.Serializer;
 import org.eclipse.serializer.persistence.binary.types.Binary;
 
@@ -23,8 +25,32 @@ public interface ObjectConverter
 {
 	public <T> Object internalize(T value);
 	
+	/**
+	 * Internalizes a value which is going to be stored in the cache, as opposed to keys and values which are
+	 * only compared against stored ones.
+	 * 
+	 * @param <T> the value type
+	 * @param value the value to be stored
+	 * @return the internal representation of the value
+	 */
+	public default <T> Object internalizeValue(final T value)
+	{
+		return this.internalize(value);
+	}
+	
 	public <T> T externalize(Object internal);
 	
+	/**
+	 * Releases the resources of an internal value which has been dropped by the cache, e.g. because its entry
+	 * has been replaced or evicted. Must only be called once the value has been externalized for the last time.
+	 * 
+	 * @param internal the dropped internal value
+	 */
+	public default void release(final Object internal)
+	{
+		// no-op by default
+	}
+	
 	
 	public static ObjectConverter ByReference()
 	{
@@ -36,6 +62,14 @@ public interface ObjectConverter
 		return new ByValue(serializer);
 	}
 	
+	public static ObjectConverter OffHeap(final Serializer<byte[]> serializer, final OffHeapStore offHeapStore)
+	{
+		return new OffHeap(
+			notNull(serializer)  ,
+			notNull(offHeapStore)
+		);
+	}
+	
 	
 	public static class ByReference implements ObjectConverter
 	{
@@ -89,4 +123,66 @@ public interface ObjectConverter
 		
 	}
 	
+	/**
+	 * By-value converter which keeps the serialized values in the native memory of an {@link OffHeapStore}.
+	 * Keys, small values and values which don't fit into the store anymore stay on the heap.
+	 */
+	public static class OffHeap implements ObjectConverter
+	{
+		private final Serializer<byte[]> serializer  ;
+		private final OffHeapStore       offHeapStore;
+		
+		OffHeap(final Serializer<byte[]> serializer, final OffHeapStore offHeapStore)
+		{
+			super();
+			
+			this.serializer   = serializer  ;
+			this.offHeapStore = offHeapStore;
+		}
+		
+		public OffHeapStore offHeapStore()
+		{
+			return this.offHeapStore;
+		}
+		
+		@Override
+		public <T> Object internalize(final T value)
+		{
+			return OffHeapObject.New(
+				value.hashCode(),
+				this.serializer.serialize(value)
+			);
+		}
+		
+		@Override
+		public <T> Object internalizeValue(final T value)
+		{
+			final int           hashCode = value.hashCode();
+			final byte[]        data     = this.serializer.serialize(value);
+			final OffHeapObject stored   = this.offHeapStore.store(hashCode, data);
+			return stored != null
+				? stored
+				: OffHeapObject.New(hashCode, data)
+			;
+		}
+		
+		@Override
+		public <T> T externalize(final Object internal)
+		{
+			return this.serializer.deserialize(
+				((OffHeapObject)internal).serializedData()
+			);
+		}
+		
+		@Override
+		public void release(final Object internal)
+		{
+			if(internal instanceof OffHeapObject)
+			{
+				((OffHeapObject)internal).release();
+			}
+		}
+		
+	}
+	
 }
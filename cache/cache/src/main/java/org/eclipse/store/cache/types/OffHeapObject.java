@@ -0,0 +1,221 @@
+package org.eclipse.store.cache.types;
+
+/*-
+ * #%L
+ * EclipseStore Cache
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * The serialized form of a cached object, as created by {@link ObjectConverter#OffHeap(org.eclipse.serializer.Serializer, OffHeapStore)}.
+ * <p>
+ * The data is either held in a block of native memory of an {@link OffHeapStore}, or, for small values, for
+ * transient values like the ones compared against, and if the store is full, in a plain byte array on the heap.
+ * <p>
+ * Like {@link SerializedObject}s, instances are considered equal if their hash codes are.
+ */
+public interface OffHeapObject extends ByteSized
+{
+	/**
+	 * Copies the serialized data onto the heap.
+	 *
+	 * @return a new array containing the serialized data
+	 */
+	public byte[] serializedData();
+
+	/**
+	 * @return <code>true</code> if the data is held in native memory
+	 */
+	public boolean isOffHeap();
+
+	/**
+	 * Releases the data once it is no longer referenced by the cache, e.g. because its entry has been
+	 * replaced or evicted. Native memory is returned to its store as soon as all readers currently
+	 * copying the data are done. Does nothing for data held on the heap.
+	 */
+	public default void release()
+	{
+		// no-op by default
+	}
+
+
+	public static OffHeapObject New(final int hashCode, final byte[] serializedData)
+	{
+		return new OffHeapObject.Heap(hashCode, notNull(serializedData));
+	}
+
+
+	public static abstract class Abstract implements OffHeapObject
+	{
+		private final int hashCode;
+
+		Abstract(final int hashCode)
+		{
+			super();
+
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object obj)
+		{
+			return obj == this
+				|| (   obj instanceof OffHeapObject
+				    && obj.hashCode() == this.hashCode
+				   );
+		}
+
+	}
+
+
+	public static class Heap extends Abstract
+	{
+		private final byte[] serializedData;
+
+		Heap(final int hashCode, final byte[] serializedData)
+		{
+			super(hashCode);
+
+			this.serializedData = serializedData;
+		}
+
+		@Override
+		public byte[] serializedData()
+		{
+			return this.serializedData.clone();
+		}
+
+		@Override
+		public long byteSize()
+		{
+			return this.serializedData.length;
+		}
+
+		@Override
+		public boolean isOffHeap()
+		{
+			return false;
+		}
+
+	}
+
+
+	/**
+	 * Handle of a block of native memory.
+	 * <p>
+	 * The block is reference counted: the cache holds one reference until it {@link #release() releases}
+	 * the handle, and every {@link #serializedData()} call holds another one while copying. The block is returned
+	 * to its store when the last reference is dropped, so readers never see a block which has been handed out
+	 * again. A handle which becomes unreachable without having been released is reclaimed by a cleaner.
+	 */
+	public static class Native extends Abstract
+	{
+		private final ByteBuffer        block     ;
+		private final int               length    ;
+		private final AtomicInteger     references;
+		private final AtomicBoolean     released  ;
+		private final Cleaner.Cleanable cleanable ;
+
+		Native(
+			final int        hashCode,
+			final ByteBuffer block   ,
+			final int        length  ,
+			final Cleaner    cleaner ,
+			final Runnable   free
+		)
+		{
+			super(hashCode);
+
+			this.block      = block ;
+			this.length     = length;
+			this.references = new AtomicInteger(1);
+			this.released   = new AtomicBoolean();
+			// the action must not reference the handle, or it never becomes unreachable
+			this.cleanable  = cleaner.register(this, free);
+		}
+
+		@Override
+		public byte[] serializedData()
+		{
+			this.acquire();
+			try
+			{
+				final byte[] data = new byte[this.length];
+				// absolute bulk get, the buffer's position is shared by concurrent readers
+				this.block.get(0, data, 0, this.length);
+				return data;
+			}
+			finally
+			{
+				this.dropReference();
+			}
+		}
+
+		@Override
+		public void release()
+		{
+			if(this.released.compareAndSet(false, true))
+			{
+				this.dropReference();
+			}
+		}
+
+		private void acquire()
+		{
+			int references;
+			do
+			{
+				if((references = this.references.get()) == 0)
+				{
+					throw new IllegalStateException("Native memory block has already been released.");
+				}
+			}
+			while(!this.references.compareAndSet(references, references + 1));
+		}
+
+		private void dropReference()
+		{
+			if(this.references.decrementAndGet() == 0)
+			{
+				// runs the free action at most once, the cleaner won't run it again
+				this.cleanable.clean();
+			}
+		}
+
+		@Override
+		public long byteSize()
+		{
+			return this.length;
+		}
+
+		@Override
+		public boolean isOffHeap()
+		{
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,419 @@
+package org.eclipse.store.cache.types;
+
+/*-
+ * #%L
+ * EclipseStore Cache
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.positive;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Arena of native memory holding the serialized values of a by-value cache outside of the Java heap.
+ * <p>
+ * Native memory is allocated in slabs of {@link #DefaultSlabByteSize()} bytes, which are cut into blocks of
+ * power-of-two size classes. Values larger than a slab get a block of their own. Blocks are recycled via
+ * per-slab free lists, preferring recently full slabs. Each size class keeps at most one empty slab for reuse,
+ * further ones are returned right away. If the maximum is reached, the empty slabs of all size classes are
+ * returned before giving up, so memory moves to the size classes in demand. Returned slabs are freed by the
+ * garbage collector. The total amount of allocated native memory never exceeds {@link #maximumByteSize()};
+ * if it is used up, {@link #store(int, byte[])} returns <code>null</code> and the caller keeps the value on
+ * the heap.
+ * <p>
+ * To bound the memory used by the cache, combine it with an eviction policy weighing entries by byte size,
+ * e.g. {@link EvictionPolicy#WindowTinyLfu(long, boolean)}, with a maximum below the store's maximum. Blocks of
+ * replaced, removed and evicted values are released right away, the remaining headroom absorbs size class
+ * fragmentation and values dropped all at once, like by {@link javax.cache.Cache#clear()}, which are reclaimed by a
+ * cleaner, see {@link OffHeapObject.Native}.
+ */
+public interface OffHeapStore
+{
+	/**
+	 * Copies the data into a block of native memory.
+	 *
+	 * @param hashCode the hash code of the original object
+	 * @param data the serialized data
+	 * @return the handle of the block, or <code>null</code> if there is no native memory left
+	 */
+	public OffHeapObject store(int hashCode, byte[] data);
+
+	/**
+	 * @return the maximum amount of native memory this store allocates
+	 */
+	public long maximumByteSize();
+
+	/**
+	 * @return the amount of native memory allocated by this store
+	 */
+	public long allocatedByteSize();
+
+	/**
+	 * @return the amount of bytes of the currently stored values
+	 */
+	public long usedByteSize();
+
+
+	/**
+	 * @return the byte size of a slab of native memory, which is 1 MiB
+	 */
+	public static int DefaultSlabByteSize()
+	{
+		return 1 << 20;
+	}
+
+	/**
+	 * @return the byte size of the smallest block, which is 64 bytes. Smaller values are kept on the heap,
+	 * the handle of a block would be about as big as the value itself.
+	 */
+	public static int DefaultMinimumBlockByteSize()
+	{
+		return 64;
+	}
+
+	public static OffHeapStore New(final long maximumByteSize)
+	{
+		return new OffHeapStore.Default(positive(maximumByteSize), DefaultSlabByteSize());
+	}
+
+
+	public static class Default implements OffHeapStore
+	{
+		private static final Cleaner CLEANER = Cleaner.create();
+
+		private final long        maximumByteSize   ;
+		private final int         slabByteSize      ;
+		private final int         minimumClassShift ;
+		private final SizeClass[] sizeClasses       ;
+		private final AtomicLong  allocatedByteSize = new AtomicLong();
+		private final AtomicLong  usedByteSize      = new AtomicLong();
+
+		Default(final long maximumByteSize, final int slabByteSize)
+		{
+			super();
+
+			this.maximumByteSize   = maximumByteSize;
+			this.slabByteSize      = slabByteSize   ;
+			this.minimumClassShift = Integer.numberOfTrailingZeros(DefaultMinimumBlockByteSize());
+
+			final int classCount = Integer.numberOfTrailingZeros(slabByteSize) - this.minimumClassShift + 1;
+			this.sizeClasses = new SizeClass[classCount];
+			for(int i = 0; i < classCount; i++)
+			{
+				this.sizeClasses[i] = new SizeClass(1 << i + this.minimumClassShift);
+			}
+		}
+
+		@Override
+		public long maximumByteSize()
+		{
+			return this.maximumByteSize;
+		}
+
+		@Override
+		public long allocatedByteSize()
+		{
+			return this.allocatedByteSize.get();
+		}
+
+		@Override
+		public long usedByteSize()
+		{
+			return this.usedByteSize.get();
+		}
+
+		@Override
+		public OffHeapObject store(final int hashCode, final byte[] data)
+		{
+			final int length = data.length;
+			if(length < DefaultMinimumBlockByteSize())
+			{
+				return null;
+			}
+
+			final Release release = length > this.slabByteSize
+				? this.allocateOversized(length)
+				: this.allocateBlock(this.sizeClasses[this.sizeClassOf(length)], length)
+			;
+			if(release == null)
+			{
+				return null;
+			}
+
+			release.block.put(0, data, 0, length);
+			this.usedByteSize.addAndGet(length);
+
+			return new OffHeapObject.Native(
+				hashCode,
+				release.block,
+				length,
+				CLEANER,
+				release
+			);
+		}
+
+		private int sizeClassOf(final int length)
+		{
+			final int shift = 32 - Integer.numberOfLeadingZeros(length - 1);
+			return Math.max(shift, this.minimumClassShift) - this.minimumClassShift;
+		}
+
+		private Release allocateBlock(final SizeClass sizeClass, final int length)
+		{
+			final Release release = this.tryAllocateBlock(sizeClass, length);
+			if(release != null || this.reclaimEmptySlabs() == 0)
+			{
+				return release;
+			}
+
+			// the memory of the other size classes' empty slabs is available now
+			return this.tryAllocateBlock(sizeClass, length);
+		}
+
+		private Release tryAllocateBlock(final SizeClass sizeClass, final int length)
+		{
+			synchronized(sizeClass)
+			{
+				Slab slab = sizeClass.availableSlab();
+				if(slab == null)
+				{
+					if(!this.reserve(this.slabByteSize))
+					{
+						return null;
+					}
+					slab = sizeClass.addSlab(ByteBuffer.allocateDirect(this.slabByteSize));
+				}
+
+				return new Release(this, sizeClass.take(slab), slab, length);
+			}
+		}
+
+		private Release allocateOversized(final int length)
+		{
+			return this.reserve(length)
+				? new Release(this, ByteBuffer.allocateDirect(length), null, length)
+				: null
+			;
+		}
+
+		private boolean reserve(final long byteSize)
+		{
+			long allocated;
+			do
+			{
+				allocated = this.allocatedByteSize.get();
+				if(allocated + byteSize > this.maximumByteSize)
+				{
+					return false;
+				}
+			}
+			while(!this.allocatedByteSize.compareAndSet(allocated, allocated + byteSize));
+
+			return true;
+		}
+
+		private long reclaimEmptySlabs()
+		{
+			// one size class at a time, a thread allocating a block holds only its own class' monitor
+			long reclaimedByteSize = 0;
+			for(final SizeClass sizeClass : this.sizeClasses)
+			{
+				synchronized(sizeClass)
+				{
+					reclaimedByteSize += (long)sizeClass.removeEmptySlabs() * this.slabByteSize;
+				}
+			}
+			this.allocatedByteSize.addAndGet(-reclaimedByteSize);
+
+			return reclaimedByteSize;
+		}
+
+		void release(final ByteBuffer block, final Slab slab, final int length)
+		{
+			this.usedByteSize.addAndGet(-length);
+
+			if(slab == null)
+			{
+				// oversized blocks are freed along with their buffer
+				this.allocatedByteSize.addAndGet(-length);
+				return;
+			}
+
+			final boolean returned;
+			synchronized(slab.sizeClass)
+			{
+				returned = slab.sizeClass.give(slab, block);
+			}
+			if(returned)
+			{
+				this.allocatedByteSize.addAndGet(-this.slabByteSize);
+			}
+		}
+
+
+		/**
+		 * The slabs of one block size which have free blocks. Blocks are always taken from the first slab.
+		 * A slab which has been full is put first when it regains a free block, an empty one last, so the
+		 * blocks concentrate in few slabs and the others can run empty. Guarded by its own monitor.
+		 */
+		static final class SizeClass
+		{
+			final int              blockByteSize ;
+			final ArrayDeque<Slab> available     ;
+			int                    emptySlabCount;
+
+			SizeClass(final int blockByteSize)
+			{
+				super();
+
+				this.blockByteSize = blockByteSize;
+				this.available     = new ArrayDeque<>();
+			}
+
+			Slab availableSlab()
+			{
+				return this.available.peekFirst();
+			}
+
+			Slab addSlab(final ByteBuffer memory)
+			{
+				final Slab slab = new Slab(this, memory);
+				this.available.addLast(slab);
+				this.emptySlabCount++;
+
+				return slab;
+			}
+
+			ByteBuffer take(final Slab slab)
+			{
+				if(slab.isEmpty())
+				{
+					this.emptySlabCount--;
+				}
+
+				final ByteBuffer block = slab.freeBlocks.pop();
+				if(slab.freeBlocks.isEmpty())
+				{
+					this.available.remove(slab);
+				}
+
+				return block;
+			}
+
+			/**
+			 * Returns the block to its slab.
+			 *
+			 * @return <code>true</code> if the slab became empty and has been removed, because this size class
+			 * already keeps an empty slab
+			 */
+			boolean give(final Slab slab, final ByteBuffer block)
+			{
+				slab.freeBlocks.push(block);
+				if(slab.freeBlocks.size() == 1)
+				{
+					// it has been full, so it is the fullest one with a free block
+					this.available.addFirst(slab);
+				}
+				if(!slab.isEmpty())
+				{
+					return false;
+				}
+
+				this.available.remove(slab);
+				if(this.emptySlabCount > 0)
+				{
+					return true;
+				}
+
+				this.available.addLast(slab);
+				this.emptySlabCount++;
+
+				return false;
+			}
+
+			int removeEmptySlabs()
+			{
+				// the empty slabs are the last ones
+				final int removed = this.emptySlabCount;
+				for(; this.emptySlabCount > 0; this.emptySlabCount--)
+				{
+					this.available.pollLast();
+				}
+
+				return removed;
+			}
+
+		}
+
+
+		/**
+		 * A slab of native memory cut into blocks of one size class.
+		 */
+		static final class Slab
+		{
+			final SizeClass              sizeClass ;
+			final ArrayDeque<ByteBuffer> freeBlocks;
+			final int                    blockCount;
+
+			Slab(final SizeClass sizeClass, final ByteBuffer memory)
+			{
+				super();
+
+				this.sizeClass  = sizeClass;
+				this.freeBlocks = new ArrayDeque<>();
+				this.blockCount = memory.capacity() / sizeClass.blockByteSize;
+				for(int offset = 0; offset < memory.capacity(); offset += sizeClass.blockByteSize)
+				{
+					this.freeBlocks.add(memory.slice(offset, sizeClass.blockByteSize));
+				}
+			}
+
+			boolean isEmpty()
+			{
+				return this.freeBlocks.size() == this.blockCount;
+			}
+
+		}
+
+
+		static final class Release implements Runnable
+		{
+			private final Default    store ;
+			private final ByteBuffer block ;
+			private final Slab       slab  ;
+			private final int        length;
+
+			Release(final Default store, final ByteBuffer block, final Slab slab, final int length)
+			{
+				super();
+
+				this.store  = store ;
+				this.block  = block ;
+				this.slab   = slab  ;
+				this.length = length;
+			}
+
+			@Override
+			public void run()
+			{
+				this.store.release(this.block, this.slab, this.length);
+			}
+
+		}
+
+	}
+
+}
@@ -343,6 +343,7 @@ public abstract class AbstractBitmapIndexBinary<E, I> extends BitmapIndex.Abstra
 	{
 		this.entries = BitmapEntry.createEntriesArray(0);
 		this.updateCachedEntriesLength();
+		this.incrementModificationCount();
 		this.markStateChangeChildren();
 	}
 	
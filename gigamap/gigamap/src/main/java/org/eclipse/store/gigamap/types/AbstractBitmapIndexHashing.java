@@ -364,6 +364,7 @@ public abstract class AbstractBitmapIndexHashing<E, I, K> extends BitmapIndex.Ab
 	public void internalRemoveAll()
 	{
 		this.entries.clear();
+		this.incrementModificationCount();
 		this.markStateChangeInstance();
 	}
 	
@@ -77,6 +77,9 @@ public abstract class AbstractBitmapIterating<E>
 	
 	private int currentLevel3Index, currentLevel2Index, currentLevel1Index;
 	long currentBitmapValue, bitValBaseId;
+	
+	// the combined value mask of the current level1 segment. Values outside of it are known to be 0L.
+	private long currentLevel1ValueMask;
 
 	private int currentBitPosition;
 
@@ -266,15 +269,16 @@ public abstract class AbstractBitmapIterating<E>
 		int currentLevel1Index = this.currentLevel1Index;
 		do
 		{
-			if(++currentLevel1Index >= level1IndexBound)
+			// values that are known to be 0L are skipped without ever being looked at.
+			if((currentLevel1Index = BitmapResult.nextValueIndex(this.currentLevel1ValueMask, currentLevel1Index)) >= level1IndexBound)
 			{
 				if(!this.scrollToNextLevel1Segment())
 				{
 					// no more level1 segment to scroll to, because iteration has reached the end of the data.
 					return false;
 				}
-				// start the newly scrolled to level1segment at the beginning.
-				currentLevel1Index = 0;
+				// start the newly scrolled to level1segment at its first potentially non-zero value.
+				currentLevel1Index = BitmapResult.nextValueIndex(this.currentLevel1ValueMask, -1);
 			}
 		}
 		while(!this.updateCurrentLevel1Index(currentLevel1Index));
@@ -352,9 +356,15 @@ public abstract class AbstractBitmapIterating<E>
 			if(!r.setCurrentIterationLevel1Segment(level2Index))
 			{
 				// early exit: an all-0s value will never be changed by AND logic. Skip to the next index.
+				this.currentLevel1ValueMask = 0L;
 				return false;
 			}
 		}
+		if((this.currentLevel1ValueMask = BitmapResult.andValueMasks(this.results)) == 0L)
+		{
+			// the results' segments have no potentially non-zero value in common, so the segment can be skipped.
+			return false;
+		}
 		this.updateLevel2IterationState(level2Index);
 		
 		return true;
@@ -180,6 +180,19 @@ implements BitmapIndex.TopLevel<E, KS>
 		}
 	}
 	
+	@Override
+	public final long internalModificationCount()
+	{
+		// the data is held by the sub indices. Their counters only ever grow and sub indices are never removed.
+		long modificationCount = super.internalModificationCount();
+		for(final Sub<E, KS, K> subIndex : this.subIndices)
+		{
+			modificationCount += subIndex.internalModificationCount();
+		}
+		
+		return modificationCount;
+	}
+	
 	@Override
 	public final void internalAdd(final long entityId, final E entity)
 	{
@@ -665,6 +678,8 @@ implements BitmapIndex.TopLevel<E, KS>
 		
 		public int entryCount();
 		
+		public long internalModificationCount();
+		
 		public void markStateChangeChildren2();
 		
 		public void clearStateChangeMarkers2();
@@ -0,0 +1,233 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+/**
+ * Iteration view of a single level 1 segment, adapted to the kind of data the segment contains.
+ * <p>
+ * The persistent layout of a level 1 segment inside a {@link BitmapLevel2} is either nothing at all
+ * (all-0-bits), a marker value (all-1-bits), a standalone uncompressed bitmap or a {@link BytePatternCompression}
+ * compressed entry. Reading a single value from a compressed entry requires walking its chunks, which would
+ * happen for every one of the segment's values during an iteration. A container decodes such an entry exactly
+ * once when the iteration enters the segment and from then on behaves like one of the following kinds:
+ * <ul>
+ * <li>{@link #KIND_EMPTY}: no bits at all.</li>
+ * <li>{@link #KIND_RUN}: one contiguous run of 1-bits covering the whole segment.</li>
+ * <li>{@link #KIND_BITMAP}: a standalone uncompressed bitmap, read directly.</li>
+ * <li>{@link #KIND_ARRAY}: a sorted, packed array of only the non-zero values, addressed via a rank over
+ * the value mask. This is the representation for sparse segments.</li>
+ * </ul>
+ * In addition to the values themselves, every container provides two masks describing its values as a whole:
+ * the value mask (bit {@code i} is set if value {@code i} is non-zero) and the full mask (bit {@code i} is set if
+ * value {@code i} consists of 1-bits only). {@link BitmapResult} implementations combine those masks with
+ * AND/OR/NOT logic, which allows iterating logic to skip all values that cannot contribute to a result without
+ * ever looking at them.
+ * <p>
+ * The AND/OR/NOT kernels of the {@link BitmapResult} implementations use the masks per value as well: an empty
+ * or full value decides or passes through a combination without being read, only array and bitmap values are
+ * actually combined.
+ * <p>
+ * A container is a transient, read-only view that only exists during an iteration. It neither changes the
+ * persistent layout of a {@link BitmapLevel2} nor the memory it occupies.
+ * <p>
+ * Instances are mutable iteration state and must never be shared between concurrent iterations.
+ */
+final class BitmapContainer
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	static final int
+		KIND_EMPTY  = 0,
+		KIND_RUN    = 1,
+		KIND_BITMAP = 2,
+		KIND_ARRAY  = 3
+	;
+
+	private static final int VALUE_COUNT = BitmapLevel3.LEVEL_1_SEGMENT_VALUE_COUNT;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final long[] packedValues = new long[VALUE_COUNT];
+
+	private int  kind         ;
+	private long level1Address;
+	private long valueMask    ;
+	private long fullMask     ;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	BitmapContainer()
+	{
+		super();
+		this.clear();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	final int kind()
+	{
+		return this.kind;
+	}
+
+	final long valueMask()
+	{
+		return this.valueMask;
+	}
+
+	final long fullMask()
+	{
+		return this.fullMask;
+	}
+
+	final boolean isEmpty()
+	{
+		return this.valueMask == 0L;
+	}
+
+	final void clear()
+	{
+		this.kind          = KIND_EMPTY;
+		this.level1Address = 0L;
+		this.valueMask     = 0L;
+		this.fullMask      = 0L;
+	}
+
+	final void load(final long level1Address)
+	{
+		if(level1Address == 0L)
+		{
+			this.clear();
+		}
+		else if(level1Address == -1L)
+		{
+			this.setRun();
+		}
+		else if(BitmapLevel2.isCompressedLevel1Address(level1Address))
+		{
+			this.loadCompressed(level1Address);
+		}
+		else
+		{
+			this.loadBitmap(level1Address);
+		}
+	}
+
+	private void setRun()
+	{
+		this.kind          = KIND_RUN;
+		this.level1Address = -1L;
+		this.valueMask     = -1L;
+		this.fullMask      = -1L;
+	}
+
+	private void loadCompressed(final long level1Address)
+	{
+		final long[] packedValues = this.packedValues;
+		final long   valueMask    = BytePatternCompression.decompressNonZeroValues(
+			BitmapLevel2.toCompressedLevel1DataAddress(level1Address),
+			packedValues
+		);
+
+		// packed values are in mask order, so the lowest remaining mask bit always belongs to the next packed value.
+		long fullMask    = 0L;
+		int  packedIndex = 0;
+		for(long m = valueMask; m != 0L; m &= m - 1)
+		{
+			if(packedValues[packedIndex++] == -1L)
+			{
+				fullMask |= Long.lowestOneBit(m);
+			}
+		}
+
+		if(fullMask == -1L)
+		{
+			// compressed, but effectively a single run. Hardly ever happens, but is the cheapest kind there is.
+			this.setRun();
+			return;
+		}
+
+		this.kind          = valueMask == 0L ? KIND_EMPTY : KIND_ARRAY;
+		this.level1Address = level1Address;
+		this.valueMask     = valueMask;
+		this.fullMask      = fullMask;
+	}
+
+	private void loadBitmap(final long level1Address)
+	{
+		long valueMask = 0L, fullMask = 0L;
+		for(int i = 0; i < VALUE_COUNT; i++)
+		{
+			final long value = BitmapLevel2.getLevel1BitmapValue(level1Address, i);
+			if(value != 0L)
+			{
+				valueMask |= 1L << i;
+				if(value == -1L)
+				{
+					fullMask |= 1L << i;
+				}
+			}
+		}
+
+		this.kind          = KIND_BITMAP;
+		this.level1Address = level1Address;
+		this.valueMask     = valueMask;
+		this.fullMask      = fullMask;
+	}
+
+	final long value(final int level1Index)
+	{
+		switch(this.kind)
+		{
+			case KIND_BITMAP:
+			{
+				return BitmapLevel2.getLevel1BitmapValue(this.level1Address, level1Index);
+			}
+			case KIND_ARRAY:
+			{
+				final long bit = 1L << level1Index;
+
+				// rank: the packed position is the number of non-zero values below the requested one.
+				return (this.valueMask & bit) == 0L
+					? 0L
+					: this.packedValues[Long.bitCount(this.valueMask & bit - 1)]
+				;
+			}
+			case KIND_RUN:
+			{
+				return -1L;
+			}
+			default:
+			{
+				return 0L;
+			}
+		}
+	}
+
+}
@@ -125,12 +125,14 @@ implements ChangeHandler, Unpersistable
 	final void add(final long entityId)
 	{
 		this.getLevel3().add(entityId);
+		this.parent.incrementModificationCount();
 		this.markStateChangeChildren();
 	}
 	
 	final boolean remove(final long entityId)
 	{
 		final boolean result = this.getLevel3().remove(entityId);
+		this.parent.incrementModificationCount();
 		this.markStateChangeChildren();
 		
 		return result;
@@ -139,6 +141,7 @@ implements ChangeHandler, Unpersistable
 	final void removeAll()
 	{
 		this.getLevel3().removeAll();
+		this.parent.incrementModificationCount();
 		this.markStateChangeChildren();
 	}
 	
@@ -274,6 +274,16 @@ public interface BitmapIndex<E, K> extends IndexIdentifier<E, K>, GigaIndex<E>
 		 * collector eventually runs the segments' cleaners.
 		 */
 		public void internalReleaseOffHeap();
+
+		/**
+		 * Returns a counter that is incremented by every modification of this index' data, i.e. whenever an
+		 * entity id is added to or removed from any of its entries. The absolute value has no meaning, only
+		 * whether it changed: a query result derived from this index stays valid as long as the counter
+		 * stays the same (see {@link QueryCache}).
+		 *
+		 * @return the current modification count of this index
+		 */
+		public long internalModificationCount();
 	}
 	
 	
@@ -323,6 +333,10 @@ public interface BitmapIndex<E, K> extends IndexIdentifier<E, K>, GigaIndex<E>
 		final BitmapIndices<E> parent;
 		final String           name  ;
 		
+		// runtime-only validity marker for cached query results, see #internalModificationCount.
+		// Modified under the parent map's lock, but read by read-only queries without holding it.
+		private transient volatile long modificationCount;
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -366,6 +380,16 @@ public interface BitmapIndex<E, K> extends IndexIdentifier<E, K>, GigaIndex<E>
 
 		public abstract int entryCount();
 		
+		public long internalModificationCount()
+		{
+			return this.modificationCount;
+		}
+		
+		final void incrementModificationCount()
+		{
+			this.modificationCount++;
+		}
+		
 		protected abstract K indexEntity(I entity);
 		
 		public abstract <C extends Consumer<? super K>> C iterateKeys(C logic);
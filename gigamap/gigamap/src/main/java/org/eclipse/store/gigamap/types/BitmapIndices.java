@@ -25,12 +25,22 @@ import org.eclipse.serializer.collections.types.XGettingEnum;
 import org.eclipse.serializer.collections.types.XGettingTable;
 import org.eclipse.serializer.collections.types.XImmutableEnum;
 import org.eclipse.serializer.collections.types.XIterable;
+import org.eclipse.serializer.hashing.HashEqualator;
 import org.eclipse.serializer.persistence.binary.types.BinaryTypeHandler;
 import org.eclipse.serializer.persistence.types.Storer;
 import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.serializer.util.X;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
@@ -919,6 +929,271 @@ Iterable<KeyValue<String, ? extends BitmapIndex<E, ?>>>
 			}
 		}
 
+		/**
+		 * Bulk variant of {@link #internalAddAll(long, Iterable)}: the unique constraints are validated for the
+		 * whole batch first, in a single sort-based pass, and then the indices are built in parallel, one index
+		 * per task. Each index' data structures are exclusively used by the thread building it, only the
+		 * entities are shared (read-only).
+		 */
+		@Override
+		public final void internalBulkAddAll(final long firstEntityId, final E[] entities, final int threadCount)
+		{
+			this.internalCheckBulkUniqueness(firstEntityId, entities);
+
+			final BulkList<BitmapIndex.Internal<E, ?>> indices = BulkList.New(this.bitmapIndices.values());
+			try
+			{
+				this.buildIndicesParallel(indices, firstEntityId, entities, Math.min(threadCount, indices.intSize()));
+			}
+			finally
+			{
+				this.markStateChangeChildren();
+			}
+		}
+
+		private void internalCheckBulkUniqueness(final long firstEntityId, final E[] entities)
+		{
+			if(this.uniqueConstraints == null)
+			{
+				return;
+			}
+
+			for(final BitmapIndex.Internal<E, ?> index : this.uniqueConstraints)
+			{
+				checkBulkUniqueness(index, firstEntityId, entities);
+			}
+		}
+
+		/*
+		 * Checking every entity of a batch against the index does not suffice, since the batch's entities are
+		 * not indexed yet and could still collide with each other. Instead of a hash table of all of the batch's
+		 * keys, the (hash, position) pairs are packed into a primitive array and sorted: equal keys have equal
+		 * hashes, so every potential duplicate ends up in the same run of the sorted array and only the entities
+		 * within a run need to be compared.
+		 */
+		private static <E, K> void checkBulkUniqueness(
+			final BitmapIndex.Internal<E, K> index        ,
+			final long                       firstEntityId,
+			final E[]                        entities
+		)
+		{
+			final Indexer<? super E, K>    indexer   = index.indexer();
+			final HashEqualator<? super K> equalator = indexer.hashEqualator();
+			final Object[]                 keys      = new Object[entities.length];
+			final long[]                   packed    = new long[entities.length];
+
+			for(int i = 0; i < entities.length; i++)
+			{
+				if(index.internalContains(entities[i]))
+				{
+					throw new UniqueConstraintViolationExceptionBitmap(firstEntityId + i, null, entities[i], index);
+				}
+
+				final K key = indexer.index(entities[i]);
+				keys[i]   = key;
+				packed[i] = (long)keyHash(equalator, key) << 32 | i;
+			}
+
+			Arrays.parallelSort(packed);
+
+			for(int runStart = 0, runBound; runStart < packed.length; runStart = runBound)
+			{
+				final long hash = packed[runStart] >>> 32;
+				for(runBound = runStart + 1; runBound < packed.length && packed[runBound] >>> 32 == hash; runBound++)
+				{
+					// just determining the run's bound.
+				}
+
+				// positions within a run are ascending, so the later entity is the one reported as violating.
+				for(int j = runStart + 1; j < runBound; j++)
+				{
+					final int position = (int)packed[j];
+					for(int i = runStart; i < j; i++)
+					{
+						if(equalKeys(equalator, keys[(int)packed[i]], keys[position]))
+						{
+							throw new UniqueConstraintViolationExceptionBitmap(
+								firstEntityId + position, null, entities[position], index
+							);
+						}
+					}
+				}
+			}
+		}
+
+		private static <K> int keyHash(final HashEqualator<? super K> equalator, final K key)
+		{
+			if(key == null)
+			{
+				return 0;
+			}
+
+			// composite indices use arrays as keys, which the default equalator only hashes by identity.
+			return key.getClass().isArray()
+				? Arrays.deepHashCode(new Object[]{key})
+				: equalator.hash(key)
+			;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <K> boolean equalKeys(final HashEqualator<? super K> equalator, final Object key1, final Object key2)
+		{
+			// null is a valid key in a hashing index, so two null keys are duplicates like any other two equal keys.
+			if(key1 == null || key2 == null)
+			{
+				return key1 == key2;
+			}
+
+			// wrapped in an Object[] to use the deep logic that handles primitive component types, as well.
+			if(key1.getClass().isArray())
+			{
+				return Arrays.deepEquals(new Object[]{key1}, new Object[]{key2});
+			}
+
+			return equalator.equal((K)key1, (K)key2);
+		}
+
+		private void buildIndicesParallel(
+			final BulkList<BitmapIndex.Internal<E, ?>> indices      ,
+			final long                                 firstEntityId,
+			final E[]                                  entities     ,
+			final int                                  threadCount
+		)
+		{
+			final int           indexCount = indices.intSize();
+			final Throwable[]   failures   = new Throwable[indexCount];
+			final AtomicInteger nextIndex  = new AtomicInteger();
+
+			// each failure slot is written only by the task of its index and read only after all tasks completed.
+			final Runnable task = () ->
+			{
+				for(int i; (i = nextIndex.getAndIncrement()) < indexCount;)
+				{
+					try
+					{
+						indices.at(i).internalAddAll(firstEntityId, entities);
+					}
+					catch(final Throwable t)
+					{
+						failures[i] = t;
+					}
+				}
+			};
+
+			final List<Throwable> taskFailures = new ArrayList<>();
+			final int             workerCount  = Math.max(threadCount - 1, 0);
+			if(workerCount == 0)
+			{
+				task.run();
+			}
+			else
+			{
+				final ExecutorService executor = Executors.newFixedThreadPool(workerCount, new BulkIndexerThreadFactory());
+				try
+				{
+					final List<Future<?>> futures = new ArrayList<>(workerCount);
+					for(int t = 0; t < workerCount; t++)
+					{
+						futures.add(executor.submit(task));
+					}
+
+					// the calling thread does its share of the work instead of just waiting.
+					task.run();
+					awaitUninterruptibly(futures, taskFailures);
+				}
+				finally
+				{
+					executor.shutdown();
+				}
+			}
+
+			Throwable first = null;
+			for(final Throwable failure : failures)
+			{
+				first = addFailure(first, failure);
+			}
+			for(final Throwable failure : taskFailures)
+			{
+				first = addFailure(first, failure);
+			}
+			if(first instanceof RuntimeException)
+			{
+				throw (RuntimeException)first;
+			}
+			if(first instanceof Error)
+			{
+				throw (Error)first;
+			}
+			if(first != null)
+			{
+				throw new BitmapIndicesException(first, this);
+			}
+		}
+
+		private static Throwable addFailure(final Throwable first, final Throwable failure)
+		{
+			if(failure == null)
+			{
+				return first;
+			}
+			if(first == null)
+			{
+				return failure;
+			}
+			first.addSuppressed(failure);
+
+			return first;
+		}
+
+		private static void awaitUninterruptibly(final List<Future<?>> futures, final List<Throwable> failures)
+		{
+			/*
+			 * The workers operate on the indices of a map whose lock the calling thread holds. Returning before
+			 * all of them have finished would let the map be used while indices are still being built, so an
+			 * interrupt is only remembered and restored afterwards.
+			 */
+			boolean interrupted = false;
+			for(final Future<?> future : futures)
+			{
+				while(true)
+				{
+					try
+					{
+						future.get();
+						break;
+					}
+					catch(final InterruptedException e)
+					{
+						interrupted = true;
+					}
+					catch(final ExecutionException e)
+					{
+						// index failures are recorded per index, this only covers failures of the task itself.
+						failures.add(e.getCause());
+						break;
+					}
+				}
+			}
+			if(interrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		static final class BulkIndexerThreadFactory implements ThreadFactory
+		{
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			@Override
+			public Thread newThread(final Runnable runnable)
+			{
+				final Thread thread = new Thread(runnable, "GigaMap-BulkIndexer-" + this.threadNumber.getAndIncrement());
+				thread.setDaemon(true);
+
+				return thread;
+			}
+		}
+
 		@Override
 		public final void internalRemove(final long entityId, final E entity)
 		{
@@ -1262,6 +1262,17 @@ public class BitmapLevel2 extends AbstractStateChangeFlagged implements Unpersis
 		);
 	}
 			
+	static boolean isCompressedLevel1Address(final long level1Address)
+	{
+		// 0L (empty) and -1L (all-1-bits) are abused pointer values as well, but no actual compressed entries.
+		return level1Address < -1L;
+	}
+
+	static long toCompressedLevel1DataAddress(final long level1Address)
+	{
+		return getEntryNonTrivialDataAddress(entryAddressUnmark(level1Address));
+	}
+
 	// same as #add except for setting 0 bit instead of 1 bit.
 	private static int removeFromLevel1(final long level1Address, final int level1Id)
 	{
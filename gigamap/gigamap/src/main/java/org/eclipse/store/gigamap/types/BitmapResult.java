@@ -38,6 +38,34 @@ public interface BitmapResult
 	 */
 	public long getCurrentLevel1BitmapValue(int level1Index);
 	
+	/**
+	 * Retrieves a mask describing which bitmap values of the current level 1 segment can be non-zero.
+	 * Bit {@code i} of the mask being 0 guarantees that {@link #getCurrentLevel1BitmapValue(int)} returns
+	 * {@code 0L} for index {@code i}, so iterating logic can skip that value entirely.
+	 * <p>
+	 * The default implementation makes no guarantees at all and reports every value as potentially non-zero.
+	 *
+	 * @return the mask of potentially non-zero bitmap values in the current level 1 segment
+	 */
+	public default long getCurrentLevel1ValueMask()
+	{
+		return -1L;
+	}
+	
+	/**
+	 * Retrieves a mask describing which bitmap values of the current level 1 segment consist of 1-bits only.
+	 * Bit {@code i} of the mask being 1 guarantees that {@link #getCurrentLevel1BitmapValue(int)} returns
+	 * {@code -1L} for index {@code i}.
+	 * <p>
+	 * The default implementation makes no guarantees at all and reports no value as being full.
+	 *
+	 * @return the mask of bitmap values consisting of 1-bits only in the current level 1 segment
+	 */
+	public default long getCurrentLevel1FullMask()
+	{
+		return 0L;
+	}
+	
 	/**
 	 * Sets the current iteration state to the specified level 1 segment
 	 * corresponding to the given level 2 index.
@@ -124,6 +152,50 @@ public interface BitmapResult
 	
 	
 	
+	/**
+	 * Combines the {@link #getCurrentLevel1ValueMask()} of all passed results with AND logic, analogous to the
+	 * way iterating logic combines the results' bitmap values. Trailing {@code null} elements are ignored.
+	 *
+	 * @param results the results whose value masks shall be combined
+	 * @return the mask of potentially non-zero bitmap values of the AND-combined results
+	 */
+	public static long andValueMasks(final BitmapResult[] results)
+	{
+		long valueMask = -1L;
+		for(final BitmapResult r : results)
+		{
+			if(r == null)
+			{
+				break;
+			}
+			if((valueMask &= r.getCurrentLevel1ValueMask()) == 0L)
+			{
+				// early exit: an all-0s mask will never be changed by AND logic.
+				break;
+			}
+		}
+		return valueMask;
+	}
+	
+	/**
+	 * Determines the next bitmap value index after the passed one that is marked in the passed value mask.
+	 *
+	 * @param valueMask the value mask as returned by {@link #getCurrentLevel1ValueMask()}
+	 * @param valueIndex the last processed value index or -1 to start at the beginning
+	 * @return the next marked value index or {@link Long#SIZE} if there is none.
+	 */
+	public static int nextValueIndex(final long valueMask, final int valueIndex)
+	{
+		final int startIndex = valueIndex + 1;
+		if(startIndex >= Long.SIZE)
+		{
+			return Long.SIZE;
+		}
+		
+		// numberOfTrailingZeros conveniently yields Long.SIZE for a mask without any remaining bits.
+		return Long.numberOfTrailingZeros(valueMask & -1L << startIndex);
+	}
+	
 	public static int andOptimize(final BitmapResult r1, final BitmapResult r2)
 	{
 		if(r1.isAndLogicOptimizable())
@@ -160,6 +232,13 @@ public interface BitmapResult
 		final BitmapResult[] elements;
 		final long cachedSegmentCount;
 		
+		/*
+		 * The combined masks of the current level1 segment, determined once when the segment is set.
+		 * The initial values make no guarantees at all, so values are always computed correctly.
+		 */
+		long currentLevel1ValueMask = -1L;
+		long currentLevel1FullMask  =  0L;
+		
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -193,10 +272,39 @@ public interface BitmapResult
 		{
 			return this.cachedSegmentCount;
 		}
+		
+		@Override
+		public final long getCurrentLevel1ValueMask()
+		{
+			return this.currentLevel1ValueMask;
+		}
+		
+		@Override
+		public final long getCurrentLevel1FullMask()
+		{
+			return this.currentLevel1FullMask;
+		}
+		
+		abstract long combineLevel1ValueMasks();
+		
+		abstract long combineLevel1FullMasks();
+		
+		final void updateLevel1Masks()
+		{
+			this.currentLevel1ValueMask = this.combineLevel1ValueMasks();
+			this.currentLevel1FullMask  = this.combineLevel1FullMasks() ;
+		}
+		
+		final void resetLevel1Masks()
+		{
+			this.currentLevel1ValueMask = -1L;
+			this.currentLevel1FullMask  =  0L;
+		}
 				
 		@Override
 		public void clearIterationState()
 		{
+			this.resetLevel1Masks();
 			for(final BitmapResult element : this.elements)
 			{
 				if(element == null)
@@ -234,6 +342,20 @@ public interface BitmapResult
 		@Override
 		public long getCurrentLevel1BitmapValue(final int level1Index)
 		{
+			/*
+			 * Kernels per element kind: a full (run) value decides the result alone, an empty value is skipped
+			 * without being looked at, only the remaining array or bitmap values are actually combined.
+			 */
+			final long bit = 1L << level1Index;
+			if((this.currentLevel1FullMask & bit) != 0L)
+			{
+				return -1L;
+			}
+			if((this.currentLevel1ValueMask & bit) == 0L)
+			{
+				return 0L;
+			}
+			
 			// all bits are initially 0s. The condition result values will add them up.
 			long result = 0L;
 			for(final BitmapResult element : this.elements)
@@ -242,6 +364,10 @@ public interface BitmapResult
 				{
 					break;
 				}
+				if((element.getCurrentLevel1ValueMask() & bit) == 0L)
+				{
+					continue;
+				}
 				// -1 looks weird, but that is actually "all 1 bits", of course.
 				if((result |= element.getCurrentLevel1BitmapValue(level1Index)) == -1L)
 				{
@@ -252,6 +378,44 @@ public interface BitmapResult
 			return result;
 		}
 		
+		@Override
+		final long combineLevel1ValueMasks()
+		{
+			// a value can only be non-zero if at least ONE element's value can be non-zero.
+			long valueMask = 0L;
+			for(final BitmapResult element : this.elements)
+			{
+				if(element == null)
+				{
+					break;
+				}
+				if((valueMask |= element.getCurrentLevel1ValueMask()) == -1L)
+				{
+					break;
+				}
+			}
+			return valueMask;
+		}
+		
+		@Override
+		final long combineLevel1FullMasks()
+		{
+			// a single full value makes the OR-combined value full.
+			long fullMask = 0L;
+			for(final BitmapResult element : this.elements)
+			{
+				if(element == null)
+				{
+					break;
+				}
+				if((fullMask |= element.getCurrentLevel1FullMask()) == -1L)
+				{
+					break;
+				}
+			}
+			return fullMask;
+		}
+		
 		@Override
 		public boolean setCurrentIterationLevel1Segment(final int level2Index)
 		{
@@ -267,6 +431,8 @@ public interface BitmapResult
 				isRequired |= element.setCurrentIterationLevel1Segment(level2Index);
 			}
 			
+			this.updateLevel1Masks();
+			
 			return isRequired;
 		}
 		
@@ -285,6 +451,8 @@ public interface BitmapResult
 				isRequired |= element.setCurrentIterationLevel2Segment(level3Index);
 			}
 			
+			this.resetLevel1Masks();
+			
 			return isRequired;
 		}
 		
@@ -328,6 +496,20 @@ public interface BitmapResult
 		@Override
 		public long getCurrentLevel1BitmapValue(final int level1Index)
 		{
+			/*
+			 * Kernels per element kind: an empty value decides the result alone, a full (run) value is the
+			 * identity of AND logic and is skipped, only the remaining array or bitmap values are actually combined.
+			 */
+			final long bit = 1L << level1Index;
+			if((this.currentLevel1ValueMask & bit) == 0L)
+			{
+				return 0L;
+			}
+			if((this.currentLevel1FullMask & bit) != 0L)
+			{
+				return -1L;
+			}
+			
 			// -1L means all bits are 1s. The condition result values will filter it down.
 			long result = -1L;
 			for(final BitmapResult element : this.elements)
@@ -336,6 +518,10 @@ public interface BitmapResult
 				{
 					break;
 				}
+				if((element.getCurrentLevel1FullMask() & bit) != 0L)
+				{
+					continue;
+				}
 				if((result &= element.getCurrentLevel1BitmapValue(level1Index)) == 0L)
 				{
 					// early exit: an all-0s value will never be changed by AND logic.
@@ -345,6 +531,44 @@ public interface BitmapResult
 			return result;
 		}
 		
+		@Override
+		final long combineLevel1ValueMasks()
+		{
+			// a value can only be non-zero if ALL elements' values can be non-zero.
+			long valueMask = -1L;
+			for(final BitmapResult element : this.elements)
+			{
+				if(element == null)
+				{
+					break;
+				}
+				if((valueMask &= element.getCurrentLevel1ValueMask()) == 0L)
+				{
+					break;
+				}
+			}
+			return valueMask;
+		}
+		
+		@Override
+		final long combineLevel1FullMasks()
+		{
+			// the AND-combined value is only full if ALL elements' values are full.
+			long fullMask = -1L;
+			for(final BitmapResult element : this.elements)
+			{
+				if(element == null)
+				{
+					break;
+				}
+				if((fullMask &= element.getCurrentLevel1FullMask()) == 0L)
+				{
+					break;
+				}
+			}
+			return fullMask;
+		}
+		
 		@Override
 		public boolean setCurrentIterationLevel1Segment(final int level2Index)
 		{
@@ -365,6 +589,8 @@ public interface BitmapResult
 				isRequired &= element.setCurrentIterationLevel1Segment(level2Index);
 			}
 			
+			this.updateLevel1Masks();
+			
 			return isRequired;
 		}
 		
@@ -383,6 +609,8 @@ public interface BitmapResult
 				isRequired |= element.setCurrentIterationLevel2Segment(level3Index);
 			}
 			
+			this.resetLevel1Masks();
+			
 			return isRequired;
 		}
 		
@@ -454,10 +682,35 @@ public interface BitmapResult
 		@Override
 		public long getCurrentLevel1BitmapValue(final int level1Index)
 		{
+			// an empty or full element value is negated without being looked at.
+			final long bit = 1L << level1Index;
+			if((this.element.getCurrentLevel1FullMask() & bit) != 0L)
+			{
+				return 0L;
+			}
+			if((this.element.getCurrentLevel1ValueMask() & bit) == 0L)
+			{
+				return -1L;
+			}
+			
 			// the whole logic of this class is "~" :-DD. Well ... what to expect from a class called "Not".
 			return ~this.element.getCurrentLevel1BitmapValue(level1Index);
 		}
 		
+		@Override
+		public long getCurrentLevel1ValueMask()
+		{
+			// a negated value can only be non-zero where the element's value is not full.
+			return ~this.element.getCurrentLevel1FullMask();
+		}
+		
+		@Override
+		public long getCurrentLevel1FullMask()
+		{
+			// a negated value is full exactly where the element's value is known to be zero.
+			return ~this.element.getCurrentLevel1ValueMask();
+		}
+		
 		@Override
 		public boolean setCurrentIterationLevel1Segment(final int level2Index)
 		{
@@ -516,6 +769,12 @@ public interface BitmapResult
 			return 0L;
 		}
 		
+		@Override
+		public final long getCurrentLevel1ValueMask()
+		{
+			return 0L;
+		}
+		
 		@Override
 		public final boolean setCurrentIterationLevel1Segment(final int level2Index)
 		{
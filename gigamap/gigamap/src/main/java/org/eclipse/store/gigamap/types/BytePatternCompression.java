@@ -1249,7 +1249,66 @@ public class BytePatternCompression
 		// existing, but completely empty segment (0 chunks)
 		return 0L;
 	}
-	
+
+	/**
+	 * Decodes all bitmap values of a compressed entry in one pass over its chunks, as opposed to
+	 * {@link #getBitmapValueFromCompressedEntry(long, int)}, which has to walk the chunks again for every value.
+	 * Only the non-zero values are written, densely packed in ascending value index order, to {@code target}.
+	 * The returned mask has bit {@code i} set if and only if value {@code i} is non-zero, so the packed position
+	 * of value {@code i} is the number of mask bits below bit {@code i}.
+	 *
+	 * @param compressedDataAddress the address of the compressed entry's data.
+	 * @param target the array to write the packed non-zero values to. Must hold a complete level1 segment.
+	 * @return the mask of non-zero values.
+	 */
+	static final long decompressNonZeroValues(final long compressedDataAddress, final long[] target)
+	{
+		final int chunksCount = getChunksCount(compressedDataAddress);
+
+		long currentChunkAddress = toChunksStartAddress(compressedDataAddress);
+		long nonZeroMask         = 0L;
+		int  packedCount         = 0;
+		for(int i = 0, valueIndex = 0; i < chunksCount; i++)
+		{
+			final int     chunkHead = getChunkHead(currentChunkAddress);
+			final int     chunkType = toChunkType(chunkHead);
+			final boolean flipBits  = isFlippedBits(currentChunkAddress);
+			if(isChunkSingleValue(chunkType))
+			{
+				final long value = getSingleValueChunkBitmapValue(currentChunkAddress, chunkType, flipBits);
+				if(value != 0L)
+				{
+					target[packedCount++] = value;
+					nonZeroMask |= 1L << valueIndex;
+				}
+				valueIndex++;
+				currentChunkAddress += getSingleValueChunkLength(chunkType);
+				continue;
+			}
+
+			final int chunkSize = getChunkMultiValueSize(currentChunkAddress, chunkType);
+			if(!flipBits && isTrivialChunkType(chunkHead))
+			{
+				// a run of all-0-bits values contributes nothing, so it can be skipped as a whole.
+				valueIndex += chunkSize;
+				currentChunkAddress += getMultiValueChunkLength(currentChunkAddress, chunkType);
+				continue;
+			}
+			for(int v = 0; v < chunkSize; v++, valueIndex++)
+			{
+				final long value = getMultiValueChunkBitmapValue(currentChunkAddress, chunkType, flipBits, v);
+				if(value != 0L)
+				{
+					target[packedCount++] = value;
+					nonZeroMask |= 1L << valueIndex;
+				}
+			}
+			currentChunkAddress += getMultiValueChunkLength(currentChunkAddress, chunkType);
+		}
+
+		return nonZeroMask;
+	}
+
 	private static long getSingleValueChunkBitmapValue(
 		final long    chunkAddress,
 		final int     chunkType   ,
@@ -0,0 +1,581 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.eclipse.serializer.persistence.types.Unpersistable;
+import org.eclipse.serializer.typing.XTypes;
+
+
+/**
+ * A materialized, immutable snapshot of the entity ids matched by a condition, used by the {@link QueryCache}.
+ * <p>
+ * In contrast to the other {@link BitmapResult} implementations, which are views on the live bitmap data of the
+ * indices and combine their values anew on every access, this result holds the already combined values on the heap.
+ * Only non-zero level 1 segments are held and only their non-zero values, packed and addressed via a rank over the
+ * segment's value mask (see {@link BitmapContainer#KIND_ARRAY}).
+ * <p>
+ * The data is shared by all iteration copies, each copy only has its own iteration state.
+ * <p>
+ * A snapshot is never built in a pass of its own. Instead, {@link #record(BitmapResult[], long, long, Consumer)}
+ * provides a result that combines the live results only as far as an iteration requests them and records each
+ * combined segment on the way, see {@link Recording}.
+ */
+final class CachedBitmapResult implements BitmapResult, Unpersistable
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+
+	private static final int
+		LEVEL_1_VALUE_COUNT    = BitmapLevel3.LEVEL_1_SEGMENT_VALUE_COUNT,
+		LEVEL_2_SEGMENT_LENGTH = BitmapLevel3.LEVEL_2_SEGMENT_LENGTH
+	;
+
+	// rough heap sizes for the memory bound of the cache. Precision is not required, consistency is.
+	private static final long
+		MEMORY_SIZE_OBJECT    = 16L,
+		MEMORY_SIZE_REFERENCE = 8L
+	;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	/**
+	 * Creates a result that yields the same values as the passed AND-optimized results for all entity ids lower than
+	 * {@code idBound} and records every level 1 segment an iteration combines. Once all level 1 segments below
+	 * {@code idBound} have been combined, by a single iteration or by several iteration copies together, the
+	 * recorded segments are passed to {@code completion} as a new materialized result. An iteration that ends early
+	 * or only covers a part of the id range never completes the recording.
+	 * <p>
+	 * Recording is abandoned as soon as the recorded data would exceed {@code maximumMemorySize}.
+	 * The passed results' iteration state is not affected.
+	 */
+	static BitmapResult record(
+		final BitmapResult[]               results          ,
+		final long                         idBound          ,
+		final long                         maximumMemorySize,
+		final Consumer<CachedBitmapResult> completion
+	)
+	{
+		final Recorder recorder = new Recorder(results, idBound, maximumMemorySize, completion);
+
+		// nothing to combine at all for an empty map.
+		recorder.completeIfDone();
+
+		return new Recording(recorder);
+	}
+
+	private static boolean setLevel2Segments(final BitmapResult[] results, final int level3Index)
+	{
+		for(final BitmapResult r : results)
+		{
+			if(r == null)
+			{
+				break;
+			}
+			if(!r.setCurrentIterationLevel2Segment(level3Index))
+			{
+				// AND logic: a single result without data makes the whole segment empty.
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean setLevel1Segments(final BitmapResult[] results, final int level2Index)
+	{
+		for(final BitmapResult r : results)
+		{
+			if(r == null)
+			{
+				break;
+			}
+			if(!r.setCurrentIterationLevel1Segment(level2Index))
+			{
+				// AND logic: a single result without data makes the whole segment empty.
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static Level1 materializeLevel1Segment(
+		final BitmapResult[] results     ,
+		final long[]         values      ,
+		final long           level1BaseId,
+		final long           idBound
+	)
+	{
+		final long valueMask = BitmapResult.andValueMasks(results);
+
+		long packedMask  = 0L;
+		int  packedCount = 0;
+		for(int level1Index = BitmapResult.nextValueIndex(valueMask, -1);
+			level1Index < LEVEL_1_VALUE_COUNT;
+			level1Index = BitmapResult.nextValueIndex(valueMask, level1Index)
+		)
+		{
+			final long valueBaseId = level1BaseId + (level1Index << BitmapLevel3.VALUE_BIT_LENGTH_EXPONENT);
+			if(valueBaseId >= idBound)
+			{
+				break;
+			}
+
+			long value = -1L;
+			for(final BitmapResult r : results)
+			{
+				if(r == null)
+				{
+					break;
+				}
+				if((value &= r.getCurrentLevel1BitmapValue(level1Index)) == 0L)
+				{
+					break;
+				}
+			}
+			if(valueBaseId + Long.SIZE > idBound)
+			{
+				// NOT logic yields 1-bits beyond the last used id. Those must not become part of the snapshot.
+				value = AbstractBitmapIterating.boundToId(value, idBound);
+			}
+			if(value != 0L)
+			{
+				values[packedCount++] = value;
+				packedMask |= 1L << level1Index;
+			}
+		}
+
+		return packedCount == 0
+			? null
+			: new Level1(packedMask, Arrays.copyOf(values, packedCount))
+		;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+
+	private final Data data;
+
+	private transient Level1[] currentIterationLevel2Segment;
+	private transient Level1   currentIterationLevel1Segment;
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	private CachedBitmapResult(final Data data)
+	{
+		super();
+		this.data = data;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+
+	final long memorySize()
+	{
+		return this.data.memorySize;
+	}
+
+	@Override
+	public boolean isAndLogicOptimizable()
+	{
+		return true;
+	}
+
+	@Override
+	public long segmentCount()
+	{
+		return this.data.segmentCount;
+	}
+
+	@Override
+	public long getCurrentLevel1BitmapValue(final int level1Index)
+	{
+		final Level1 segment = this.currentIterationLevel1Segment;
+
+		return segment == null ? 0L : segment.value(level1Index);
+	}
+
+	@Override
+	public long getCurrentLevel1ValueMask()
+	{
+		final Level1 segment = this.currentIterationLevel1Segment;
+
+		return segment == null ? 0L : segment.valueMask;
+	}
+
+	@Override
+	public long getCurrentLevel1FullMask()
+	{
+		final Level1 segment = this.currentIterationLevel1Segment;
+
+		return segment == null ? 0L : segment.fullMask;
+	}
+
+	@Override
+	public boolean setCurrentIterationLevel1Segment(final int level2Index)
+	{
+		final Level1[] level2Segment = this.currentIterationLevel2Segment;
+
+		return (this.currentIterationLevel1Segment = level2Segment == null
+			? null
+			: level2Segment[level2Index]
+		) != null;
+	}
+
+	@Override
+	public boolean setCurrentIterationLevel2Segment(final int level3Index)
+	{
+		final Level1[][] segments = this.data.segments;
+
+		this.currentIterationLevel1Segment = null;
+
+		return (this.currentIterationLevel2Segment = level3Index < segments.length
+			? segments[level3Index]
+			: null
+		) != null;
+	}
+
+	@Override
+	public void clearIterationState()
+	{
+		this.currentIterationLevel2Segment = null;
+		this.currentIterationLevel1Segment = null;
+	}
+
+	@Override
+	public BitmapResult createIterationCopy()
+	{
+		// SAME data instance, but with an exclusive iteration state.
+		return new CachedBitmapResult(this.data);
+	}
+
+
+
+	static final class Data
+	{
+		final Level1[][] segments    ;
+		final long       segmentCount;
+		final long       memorySize  ;
+
+		Data(final Level1[][] segments, final long segmentCount, final long memorySize)
+		{
+			super();
+			this.segments     = segments    ;
+			this.segmentCount = segmentCount;
+			this.memorySize   = memorySize  ;
+		}
+	}
+
+	static final class Level1
+	{
+		final long   valueMask;
+		final long   fullMask ;
+		final long[] values   ;
+
+		Level1(final long valueMask, final long[] values)
+		{
+			super();
+			this.valueMask = valueMask;
+			this.values    = values   ;
+			this.fullMask  = fullMask(valueMask, values);
+		}
+
+		private static long fullMask(final long valueMask, final long[] values)
+		{
+			// packed values are in mask order, so the lowest remaining mask bit always belongs to the next value.
+			long fullMask    = 0L;
+			int  packedIndex = 0;
+			for(long m = valueMask; m != 0L; m &= m - 1)
+			{
+				if(values[packedIndex++] == -1L)
+				{
+					fullMask |= Long.lowestOneBit(m);
+				}
+			}
+
+			return fullMask;
+		}
+
+		final long value(final int level1Index)
+		{
+			final long bit = 1L << level1Index;
+
+			// rank: the packed position is the number of non-zero values below the requested one.
+			return (this.valueMask & bit) == 0L
+				? 0L
+				: this.values[Long.bitCount(this.valueMask & bit - 1)]
+			;
+		}
+
+		final long memorySize()
+		{
+			return MEMORY_SIZE_OBJECT + 3 * Long.BYTES + MEMORY_SIZE_OBJECT + (long)this.values.length * Long.BYTES;
+		}
+	}
+
+	/**
+	 * The recording state shared by all iteration copies of a {@link Recording}.
+	 */
+	static final class Recorder
+	{
+		final BitmapResult[]               results          ;
+		final long                         idBound          ;
+		final long                         maximumMemorySize;
+		final int                          level1SegmentBound;
+
+		private Consumer<CachedBitmapResult> completion     ;
+		private Level1[][]                   segments       ;
+		private long[]                       combined       ; // one bit per level 1 segment position
+		private int                          combinedCount  ;
+		private long                         segmentCount   ;
+		private long                         memorySize     ;
+
+		Recorder(
+			final BitmapResult[]               results          ,
+			final long                         idBound          ,
+			final long                         maximumMemorySize,
+			final Consumer<CachedBitmapResult> completion
+		)
+		{
+			super();
+			this.results            = results          ;
+			this.idBound            = idBound          ;
+			this.maximumMemorySize  = maximumMemorySize;
+			this.completion         = completion       ;
+			this.level1SegmentBound = idBound <= 0L
+				? 0
+				: XTypes.to_int((idBound - 1 >>> BitmapLevel3.LEVEL_1_TOTAL_SIZE_EXP) + 1)
+			;
+
+			final int level3Bound = idBound <= 0L ? 0 : BitmapLevel3.toLevel3Index(idBound - 1) + 1;
+			this.segments   = new Level1[level3Bound][];
+			this.combined   = new long[(this.level1SegmentBound + Long.SIZE - 1) >>> 6];
+			this.memorySize = MEMORY_SIZE_OBJECT + MEMORY_SIZE_OBJECT + level3Bound * MEMORY_SIZE_REFERENCE;
+		}
+
+		final synchronized void recordEmptyLevel2Segment(final int level3Index)
+		{
+			for(int level2Index = 0; level2Index < LEVEL_2_SEGMENT_LENGTH; level2Index++)
+			{
+				this.record(level3Index, level2Index, null);
+			}
+		}
+
+		final synchronized void recordLevel1Segment(final int level3Index, final int level2Index, final Level1 segment)
+		{
+			this.record(level3Index, level2Index, segment);
+		}
+
+		private void record(final int level3Index, final int level2Index, final Level1 segment)
+		{
+			final long position = (long)level3Index * LEVEL_2_SEGMENT_LENGTH + level2Index;
+			if(this.completion == null || position >= this.level1SegmentBound)
+			{
+				// completed or abandoned, or beyond the id bound.
+				return;
+			}
+
+			final long bit = 1L << (position & Long.SIZE - 1);
+			if((this.combined[(int)(position >>> 6)] & bit) != 0L)
+			{
+				// several iteration copies may cover the same segment.
+				return;
+			}
+			this.combined[(int)(position >>> 6)] |= bit;
+			this.combinedCount++;
+
+			if(segment != null)
+			{
+				if(this.segments[level3Index] == null)
+				{
+					this.segments[level3Index] = new Level1[LEVEL_2_SEGMENT_LENGTH];
+					this.memorySize += MEMORY_SIZE_OBJECT + LEVEL_2_SEGMENT_LENGTH * MEMORY_SIZE_REFERENCE;
+				}
+				this.segments[level3Index][level2Index] = segment;
+				this.memorySize += segment.memorySize();
+				this.segmentCount++;
+
+				if(this.memorySize > this.maximumMemorySize)
+				{
+					// not worth caching, so the recorded data is released right away.
+					this.release();
+					return;
+				}
+			}
+
+			this.completeIfDone();
+		}
+
+		final synchronized void completeIfDone()
+		{
+			if(this.completion == null || this.combinedCount < this.level1SegmentBound)
+			{
+				return;
+			}
+
+			final Consumer<CachedBitmapResult> completion = this.completion;
+			final CachedBitmapResult           result     = new CachedBitmapResult(
+				new Data(this.segments, this.segmentCount, this.memorySize)
+			);
+			this.release();
+			completion.accept(result);
+		}
+
+		private void release()
+		{
+			this.completion = null;
+			this.segments   = null;
+			this.combined   = null;
+		}
+	}
+
+	/**
+	 * A {@link BitmapResult} that combines the recorder's results one level 1 segment at a time, exactly when an
+	 * iteration sets the segment, and hands every combined segment to its {@link Recorder}. Each instance has
+	 * its own iteration copies of the recorder's results.
+	 */
+	static final class Recording implements BitmapResult, Unpersistable
+	{
+		private final Recorder       recorder;
+		private final BitmapResult[] copies  ;
+		private final long[]         values   = new long[LEVEL_1_VALUE_COUNT];
+
+		private int     currentIterationLevel3Index = -1;
+		private boolean hasCurrentIterationLevel2Segment;
+		private Level1  currentIterationLevel1Segment;
+
+		Recording(final Recorder recorder)
+		{
+			super();
+			this.recorder = recorder;
+			this.copies   = BitmapResult.createIterationCopy(recorder.results);
+		}
+
+		@Override
+		public long getCurrentLevel1BitmapValue(final int level1Index)
+		{
+			final Level1 segment = this.currentIterationLevel1Segment;
+
+			return segment == null ? 0L : segment.value(level1Index);
+		}
+
+		@Override
+		public long getCurrentLevel1ValueMask()
+		{
+			final Level1 segment = this.currentIterationLevel1Segment;
+
+			return segment == null ? 0L : segment.valueMask;
+		}
+
+		@Override
+		public long getCurrentLevel1FullMask()
+		{
+			final Level1 segment = this.currentIterationLevel1Segment;
+
+			return segment == null ? 0L : segment.fullMask;
+		}
+
+		@Override
+		public boolean setCurrentIterationLevel1Segment(final int level2Index)
+		{
+			final long level1BaseId = ((long)this.currentIterationLevel3Index << BitmapLevel3.LEVEL_2_TOTAL_SIZE_EXP)
+				+ ((long)level2Index << BitmapLevel3.LEVEL_1_TOTAL_SIZE_EXP)
+			;
+
+			Level1 segment = null;
+			if(this.hasCurrentIterationLevel2Segment
+				&& level1BaseId < this.recorder.idBound
+				&& setLevel1Segments(this.copies, level2Index)
+			)
+			{
+				segment = materializeLevel1Segment(this.copies, this.values, level1BaseId, this.recorder.idBound);
+			}
+			this.recorder.recordLevel1Segment(this.currentIterationLevel3Index, level2Index, segment);
+
+			return (this.currentIterationLevel1Segment = segment) != null;
+		}
+
+		@Override
+		public boolean setCurrentIterationLevel2Segment(final int level3Index)
+		{
+			this.currentIterationLevel3Index   = level3Index;
+			this.currentIterationLevel1Segment = null;
+			if(!(this.hasCurrentIterationLevel2Segment = setLevel2Segments(this.copies, level3Index)))
+			{
+				this.recorder.recordEmptyLevel2Segment(level3Index);
+				return false;
+			}
+
+			return true;
+		}
+
+		@Override
+		public boolean isAndLogicOptimizable()
+		{
+			return true;
+		}
+
+		@Override
+		public long segmentCount()
+		{
+			final BitmapResult[] results = this.recorder.results;
+
+			// the results are AND-optimized, so the first one is the only relevant.
+			return results.length == 0 || results[0] == null ? 0L : results[0].segmentCount();
+		}
+
+		@Override
+		public void clearIterationState()
+		{
+			this.currentIterationLevel3Index      = -1;
+			this.hasCurrentIterationLevel2Segment = false;
+			this.currentIterationLevel1Segment    = null;
+			for(final BitmapResult copy : this.copies)
+			{
+				if(copy == null)
+				{
+					break;
+				}
+				copy.clearIterationState();
+			}
+		}
+
+		@Override
+		public BitmapResult createIterationCopy()
+		{
+			// SAME recorder, but with an exclusive iteration state.
+			return new Recording(this.recorder);
+		}
+	}
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.store.gigamap.types;
  * #L%
  */
 
+import org.eclipse.serializer.collections.BulkList;
 import org.eclipse.serializer.collections.XArrays;
 import org.eclipse.serializer.hashing.HashEqualator;
 import org.eclipse.serializer.persistence.binary.types.BinaryTypeHandler;
@@ -149,6 +150,33 @@ public class CompositeBitmapIndexHashing<E> extends AbstractCompositeBitmapIndex
 		return array;
 	}
 	
+	@Override
+	protected void addEntryResults(
+		final int                          subPosition,
+		final CompositePredicate<Object[]> predicate  ,
+		final BulkList<BitmapResult>       subResults
+	)
+	{
+		if(!(predicate instanceof CompositePredicate.ObjectSetBased)
+			|| !(this.subIndices[subPosition] instanceof SubBitmapIndexHashing)
+		)
+		{
+			super.addEntryResults(subPosition, predicate, subResults);
+			return;
+		}
+		
+		// discrete sub keys: looking each of them up is far cheaper than testing every key of the sub index.
+		final SubBitmapIndexHashing<E> subIndex = (SubBitmapIndexHashing<E>)this.subIndices[subPosition];
+		for(final Object subKey : ((CompositePredicate.ObjectSetBased)predicate).subKeys)
+		{
+			final BitmapEntry<E, Object[], Object> entry = subIndex.getEntryForKey(subKey);
+			if(entry != null)
+			{
+				subResults.add(entry.createResult());
+			}
+		}
+	}
+	
 	@Override
 	protected final void clearCarrier()
 	{
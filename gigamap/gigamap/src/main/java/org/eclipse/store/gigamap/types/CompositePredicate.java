@@ -199,6 +199,59 @@ public interface CompositePredicate<KS> extends Predicate<KS>
 	}
 	
 	
+	/**
+	 * Matches all composite keys whose sub key at a single position equals one of a set of sub keys.
+	 * <p>
+	 * Semantically, this is an OR of {@link ObjectSampleBased} samples that only differ in one position, but
+	 * hashing composite indices resolve it via a direct lookup of each sub key instead of testing every key of
+	 * the sub index (see {@link CompositeBitmapIndexHashing#addEntryResults}). That makes it the predicate of
+	 * choice for selecting many discrete values of a high-cardinality sub key, e.g. spatial cells.
+	 */
+	final class ObjectSetBased implements CompositePredicate<Object[]>
+	{
+		final int      subKeyPosition;
+		final Object[] subKeys       ;
+		
+		public ObjectSetBased(final int subKeyPosition, final Object... subKeys)
+		{
+			super();
+			this.subKeyPosition = subKeyPosition;
+			this.subKeys        = notNull(subKeys);
+		}
+		
+		@Override
+		public final boolean setSubKeyPosition(final int subKeyPosition)
+		{
+			return subKeyPosition == this.subKeyPosition;
+		}
+		
+		@Override
+		public boolean test(final Object[] keys)
+		{
+			return this.subKeyPosition < keys.length && this.test(this.subKeyPosition, keys[this.subKeyPosition]);
+		}
+		
+		@Override
+		public boolean test(final int subKeyPosition, final Object subKey)
+		{
+			if(subKeyPosition != this.subKeyPosition || subKey == null)
+			{
+				return false;
+			}
+			for(final Object s : this.subKeys)
+			{
+				if(s.equals(subKey))
+				{
+					return true;
+				}
+			}
+			
+			return false;
+		}
+		
+	}
+	
+	
 	abstract class AbstractBinarySampleBased implements CompositePredicate<long[]>
 	{
 		protected final long[] sample;
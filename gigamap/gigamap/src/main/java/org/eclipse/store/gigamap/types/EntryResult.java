@@ -46,8 +46,9 @@ final class EntryResult implements BitmapResult, Unpersistable
 	private final BitmapLevel3   data    ;
 	private final BitmapLevel2[] segments;
 	
+	private final transient BitmapContainer currentIterationLevel1Container = new BitmapContainer();
+	
 	private transient long currentIterationLevel2Segment;
-	private transient long currentIterationLevel1Address;
 	
 	
 	
@@ -84,8 +85,20 @@ final class EntryResult implements BitmapResult, Unpersistable
 	@Override
 	public long getCurrentLevel1BitmapValue(final int level1Index)
 	{
-		// The called method will return 0L if the pointer is 0L. This is kind of a hack, but also correct. And fast.
-		return BitmapLevel2.getLevel1BitmapValue(this.currentIterationLevel1Address, level1Index);
+		// a cleared container yields 0L for every index, which is correct for non-existing segments.
+		return this.currentIterationLevel1Container.value(level1Index);
+	}
+	
+	@Override
+	public long getCurrentLevel1ValueMask()
+	{
+		return this.currentIterationLevel1Container.valueMask();
+	}
+	
+	@Override
+	public long getCurrentLevel1FullMask()
+	{
+		return this.currentIterationLevel1Container.fullMask();
 	}
 
 	@Override
@@ -94,10 +107,7 @@ final class EntryResult implements BitmapResult, Unpersistable
 		// if level2segment is null, no level1segment can be set, of course.
 		if(this.currentIterationLevel2Segment == 0L)
 		{
-			if(this.currentIterationLevel1Address != 0L)
-			{
-				this.currentIterationLevel1Address = 0L;
-			}
+			this.currentIterationLevel1Container.clear();
 			return false;
 		}
 		
@@ -108,16 +118,14 @@ final class EntryResult implements BitmapResult, Unpersistable
 		// a level1 segment containing only 0-bits is represented by the pointer itself being 0 with no segment at all.
 		if(level1SegmentAddress == 0L)
 		{
-			if(this.currentIterationLevel1Address != 0L)
-			{
-				this.currentIterationLevel1Address = 0L;
-			}
+			this.currentIterationLevel1Container.clear();
 			return false;
 		}
 		
-		this.currentIterationLevel1Address = level1SegmentAddress;
+		// compressed segments get decoded exactly once here instead of once per bitmap value.
+		this.currentIterationLevel1Container.load(level1SegmentAddress);
 		
-		return true;
+		return !this.currentIterationLevel1Container.isEmpty();
 	}
 
 	@Override
@@ -132,7 +140,7 @@ final class EntryResult implements BitmapResult, Unpersistable
 			return false;
 		}
 		
-		this.currentIterationLevel1Address = 0L;
+		this.currentIterationLevel1Container.clear();
 		this.currentIterationLevel2Segment = this.segments[level3Index].level2Address;
 		
 		return true;
@@ -142,7 +150,7 @@ final class EntryResult implements BitmapResult, Unpersistable
 	public void clearIterationState()
 	{
 		this.currentIterationLevel2Segment = 0L;
-		this.currentIterationLevel1Address = 0L;
+		this.currentIterationLevel1Container.clear();
 	}
 	
 	@Override
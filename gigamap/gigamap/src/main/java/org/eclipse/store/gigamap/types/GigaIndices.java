@@ -263,6 +263,21 @@ public interface GigaIndices<E> extends GigaMap.Component<E>
 			}
 		}
 
+		protected final void internalBulkAddAll(final long firstEntityId, final E[] entities, final int threadCount)
+		{
+			try
+			{
+				for(final IndexGroup.Internal<E> indexGroup : this.indexGroups)
+				{
+					indexGroup.internalBulkAddAll(firstEntityId, entities, threadCount);
+				}
+			}
+			finally
+			{
+				this.markStateChangeChildren();
+			}
+		}
+
 		protected final void internalRemove(final long entityId, final E entity)
 		{
 			/*
@@ -49,7 +49,9 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.eclipse.serializer.util.X.notNull;
 
@@ -185,6 +187,46 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 		return this.addAll(ConstList.New(elements));
 	}
 	
+	/**
+	 * Adds all elements to this collection via a bulk load path meant for large batches (up to millions of elements),
+	 * e.g. the initial population of a map.
+	 * <p>
+	 * The result is the same as the one of {@link #addAll(Iterable)}, but the work is organized differently:
+	 * <ul>
+	 * <li>The elements are stored first, ids are assigned in one consecutive block.</li>
+	 * <li>Unique constraints are validated for the whole batch in a single sort-based pass. In contrast to
+	 * {@link #addAll(Iterable)}, this also detects duplicates <i>within</i> the batch.</li>
+	 * <li>The bitmap indices are built in parallel, one index per task, using up to {@code threadCount} threads.
+	 * Consequently, the {@link Indexer}s of this map's bitmap indices must be safe to be called concurrently.</li>
+	 * </ul>
+	 * The indices are built in their uncompressed form. Call {@link BitmapIndices#ensureOptimizedSize()}
+	 * afterwards if the map is not going to receive further bulk additions soon.
+	 * <p>
+	 * <b>Behavior on failure:</b> the same as for {@link #addAll(Iterable)}.
+	 *
+	 * @param elements the elements to add, traversed exactly once
+	 * @param threadCount the maximum number of threads used to build the indices, at least 1
+	 * @return the last assigned id
+	 * @throws IllegalArgumentException if an element is <code>null</code> or if {@code threadCount} is lower than 1
+	 */
+	public long addAllBulk(Iterable<? extends E> elements, int threadCount);
+	
+	/**
+	 * Adds all elements of the passed stream via the bulk load path, see {@link #addAllBulk(Iterable, int)}.
+	 *
+	 * @param elements the elements to add
+	 * @param threadCount the maximum number of threads used to build the indices, at least 1
+	 * @return the last assigned id
+	 * @throws IllegalArgumentException if an element is <code>null</code> or if {@code threadCount} is lower than 1
+	 */
+	@SuppressWarnings("unchecked")
+	public default long addAllBulk(final Stream<? extends E> elements, final int threadCount)
+	{
+		// the bulk path traverses the passed iterable exactly once, so a stream-backed iterable is fine.
+		final Iterator<? extends E> iterator = elements.iterator();
+		return this.addAllBulk(() -> (Iterator<E>)iterator, threadCount);
+	}
+	
 	/**
 	 * Returns the element to which the specified id is mapped, if it is already loaded.
 	 * 
@@ -321,6 +363,45 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 	 */
 	public void unmarkReadOnly();
 	
+	/**
+	 * Enables caching of query results with the specified memory bound, replacing a previously enabled cache.
+	 * <p>
+	 * Once enabled, the combined result of a cacheable query condition is materialized on its first execution and
+	 * reused by subsequent executions of an equal condition for as long as none of the indices it refers to has been
+	 * modified. See {@link QueryCache} for which conditions are cacheable and how validity is determined.
+	 * <p>
+	 * The cache is runtime state only: it is neither persisted nor restored when loading this {@link GigaMap}.
+	 *
+	 * @param maximumMemorySize the maximum approximated heap memory in bytes to be occupied by cached results
+	 * @return the newly enabled cache, e.g. to monitor its hit rate
+	 * @throws IllegalArgumentException if {@code maximumMemorySize} is not positive
+	 */
+	public QueryCache enableQueryCache(long maximumMemorySize);
+	
+	/**
+	 * Enables caching of query results with the specified memory bound and eviction policy, replacing a previously
+	 * enabled cache. See {@link #enableQueryCache(long)}.
+	 *
+	 * @param maximumMemorySize the maximum approximated heap memory in bytes to be occupied by cached results
+	 * @param evictionPolicy the policy determining which cached results are evicted first
+	 * @return the newly enabled cache, e.g. to monitor its hit rate
+	 * @throws IllegalArgumentException if {@code maximumMemorySize} is not positive
+	 */
+	public QueryCache enableQueryCache(long maximumMemorySize, QueryCache.EvictionPolicy evictionPolicy);
+	
+	/**
+	 * Disables caching of query results and drops all cached results. Does nothing if no cache is enabled.
+	 */
+	public void disableQueryCache();
+	
+	/**
+	 * Returns the currently enabled query cache.
+	 *
+	 * @return the currently enabled query cache or {@code null} if query results are not cached.
+	 * @see #enableQueryCache(long)
+	 */
+	public QueryCache queryCache();
+	
 	/**
 	 * Writes the specified entity to the specified id, updates the indices accordingly, and returns the
 	 * entity that was mapped to that id before.
@@ -1573,6 +1654,12 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			return BinaryHandlerGigaMapDefault.New();
 		}
 		
+		/**
+		 * The maximum number of unloaded level1 segments that are loaded together when a full iteration
+		 * resolves an unloaded segment. See {@link LazyPrefetch}.
+		 */
+		static final int LEVEL1_PREFETCH_COUNT = 16;
+		
 		
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
@@ -1633,6 +1720,9 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 		// Public, explicit read-only mode count, controlled solely by markReadOnly()/unmarkReadOnly().
 		private transient int explicitReadOnlyCount;
 		private final transient BulkList<Reading> activeReaders;
+		
+		// optional, see #enableQueryCache. Volatile since query execution in read-only mode does not hold the lock.
+		private transient volatile QueryCache.Default queryCache;
 							
 		
 		
@@ -1830,6 +1920,20 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			
 		@Override
 		public final synchronized E get(final long entityId)
+		{
+			return this.lookup(entityId, false);
+		}
+		
+		/**
+		 * Variant of {@link #get(long)} for sequential iteration: resolving an unloaded level1 segment
+		 * takes the following unloaded siblings along, as they are about to be visited next.
+		 */
+		final synchronized E getIterating(final long entityId)
+		{
+			return this.lookup(entityId, true);
+		}
+		
+		private E lookup(final long entityId, final boolean prefetchSiblings)
 		{
 			if(entityId < 0L)
 			{
@@ -1850,13 +1954,17 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			}
 
 			final GigaLevel2<E> level2 = level2Lazy.get();
-			final Lazy<GigaLevel1<E>> level1Lazy = level2.segments[this.toLevel2Index(entityId)];
+			final int level2Index = this.toLevel2Index(entityId);
+			final Lazy<GigaLevel1<E>> level1Lazy = level2.segments[level2Index];
 			if(level1Lazy == null)
 			{
 				return null; // lookup miss (e.g. exceeding currentId)
 			}
 
-			final GigaLevel1<E> level1 = level1Lazy.get();
+			final GigaLevel1<E> level1 = prefetchSiblings
+				? resolveLevel1(level2.segments, level2Index, level1Lazy)
+				: level1Lazy.get()
+			;
 			return level1.entities[this.toLevel1Index(entityId)]; // potentially null (lookup miss)
 		}
 				
@@ -2835,6 +2943,49 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			}
 		}
 
+		@Override
+		public final synchronized long addAllBulk(final Iterable<? extends E> entities, final int threadCount)
+		{
+			if(threadCount < 1)
+			{
+				throw new IllegalArgumentException("Invalid thread count: " + threadCount);
+			}
+			this.ensureMutability();
+
+			final long currentId = this.nextFreeId();
+			try
+			{
+				/*
+				 * Phase 1: store the entities in a consecutive id block. The unique constraints are checked
+				 * for the whole batch by the bitmap indices later on, so only the custom constraints are
+				 * checked per entity here. The entities are collected in id order: the index building threads
+				 * must not resolve them via #get, since this thread holds the map's lock.
+				 */
+				final ArrayList<E> added = new ArrayList<>();
+				for(final E element : entities)
+				{
+					this.validateForCRUD(element);
+					this.constraints.custom().check(-1, null, element);
+					this.ensureAddingStateSetup();
+					this.addingLevel1.entities[this.addingLevel1Index] = element;
+					this.addingLevel1Index++;
+					added.add(element);
+				}
+
+				// phase 2: unique validation and (parallel) index building. See BitmapIndices#internalBulkAddAll.
+				@SuppressWarnings("unchecked")
+				final E[] batch = (E[])added.toArray();
+				this.indices.internalBulkAddAll(currentId, batch, threadCount);
+
+				return this.nextFreeId() - 1;
+			}
+			catch(final Exception e)
+			{
+				this.rollbackToEntityId(currentId, e);
+				throw e;
+			}
+		}
+
 		/**
 		 * Returns a re-traversable view of the entities in the id range [{@code firstEntityId}; {@code idBound}),
 		 * in id order. Every call to {@link Iterable#iterator()} yields the same element sequence, which is what
@@ -3096,16 +3247,35 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 				
 		static <E> void iterate(final Lazy<GigaLevel1<E>>[] level2, final Consumer<? super E> iterator)
 		{
-			for(final Lazy<GigaLevel1<E>> level1Root : level2)
+			for(int i = 0; i < level2.length; i++)
 			{
-				if(level1Root == null)
+				final Lazy<GigaLevel1<E>> level1Root;
+				if((level1Root = level2[i]) == null)
 				{
 					continue;
 				}
-				final GigaLevel1<E> level1 = level1Root.get();
+				final GigaLevel1<E> level1 = resolveLevel1(level2, i, level1Root);
 				iterate(level1, iterator);
 			}
 		}
+
+		/*
+		 * Resolving an unloaded segment during a full iteration takes the following unloaded siblings along
+		 * in the same load request, so walking the segments costs one round trip per batch, not per segment.
+		 */
+		static <E> GigaLevel1<E> resolveLevel1(
+			final Lazy<GigaLevel1<E>>[] level2     ,
+			final int                   level2Index,
+			final Lazy<GigaLevel1<E>>   level1Root
+		)
+		{
+			if(!level1Root.isLoaded())
+			{
+				LazyPrefetch.prefetch(level2, level2Index, LEVEL1_PREFETCH_COUNT);
+			}
+
+			return level1Root.get();
+		}
 		
 		static <E> void iterate(final GigaLevel1<E> level1, final Consumer<? super E> iterator)
 		{
@@ -3180,7 +3350,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 				{
 					continue;
 				}
-				final GigaLevel1<E> level1 = level1Root.get();
+				final GigaLevel1<E> level1 = resolveLevel1(segments, i, level1Root);
 				// (long) cast mandatory: i<<level1Pow2 would overflow in int before the widening addition.
 				this.iterate(level1.entities, baseId + ((long)i << level1Pow2),  consumer);
 			}
@@ -3256,6 +3426,43 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			return new GigaQuery.Default<>(this, threadProvider);
 		}
 
+		@Override
+		public final synchronized QueryCache enableQueryCache(final long maximumMemorySize)
+		{
+			return this.queryCache = QueryCache.New(maximumMemorySize);
+		}
+		
+		@Override
+		public final synchronized QueryCache enableQueryCache(
+			final long                      maximumMemorySize,
+			final QueryCache.EvictionPolicy evictionPolicy
+		)
+		{
+			return this.queryCache = QueryCache.New(maximumMemorySize, evictionPolicy);
+		}
+		
+		@Override
+		public final synchronized void disableQueryCache()
+		{
+			this.queryCache = null;
+		}
+		
+		@Override
+		public final QueryCache queryCache()
+		{
+			return this.queryCache;
+		}
+		
+		private BitmapResult evaluate(final Condition<E> condition)
+		{
+			final QueryCache.Default queryCache = this.queryCache;
+			
+			return queryCache == null
+				? condition.evaluate(this.indices.bitmap())
+				: queryCache.evaluate(condition, this.indices.bitmap(), this.nextFreeId())
+			;
+		}
+
 		final synchronized GigaIterator<E> createIterator(
 			final Condition<E>            condition     ,
 			final long                    idStart       ,
@@ -3265,7 +3472,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			final IterationThreadProvider threadProvider
 		)
 		{
-			final BitmapResult   result  = condition.evaluate(this.indices.bitmap());
+			final BitmapResult   result  = this.evaluate(condition);
 			final BitmapResult[] results = result.andOptimize();
 
 			if(isNoResult(results))
@@ -3324,7 +3531,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			final long effStart = Math.max(idStart, 0);
 			final long effBound = Math.min(Math.max(idBound, effStart), this.nextFreeId());
 
-			final BitmapResult   result  = condition.evaluate(this.indices.bitmap());
+			final BitmapResult   result  = this.evaluate(condition);
 			final BitmapResult[] results = result.andOptimize();
 
 			if(isNoResult(results))
@@ -3345,6 +3552,53 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 				: new EntityIdMatcher.AscendingListWrapper(ids);
 		}
 
+		final synchronized void iterateEntityIds(
+			final Condition<E>    condition ,
+			final long            idStart   ,
+			final long            idBound   ,
+			final EntityIdMatcher idMatcher ,
+			final LongConsumer    idConsumer
+		)
+		{
+			final long effStart = Math.max(idStart, 0);
+			final long effBound = Math.min(Math.max(idBound, effStart), this.nextFreeId());
+
+			if(condition == null)
+			{
+				// without a condition, every id in the range matches. Only sub-query matchers can narrow it down.
+				for(long entityId = effStart; entityId < effBound;)
+				{
+					final long next = idMatcher.matchEntityId(entityId);
+					if(next == entityId)
+					{
+						idConsumer.accept(entityId++);
+					}
+					else
+					{
+						entityId = next < 0 ? entityId + 1 : next;
+					}
+				}
+				return;
+			}
+
+			final BitmapResult[] results = this.evaluate(condition).andOptimize();
+			if(isNoResult(results))
+			{
+				return;
+			}
+
+			new AbstractBitmapIterating<E>(idMatcher, effStart, effBound, results, -1)
+			{
+				@Override
+				protected boolean handleEntityId(final long entityId)
+				{
+					idConsumer.accept(entityId);
+					return false; // keep iterating
+				}
+			}
+			.execute();
+		}
+
 		private long[] materializeEntityIds(
 			final BitmapResult[]  results  ,
 			final EntityIdMatcher idMatcher,
@@ -3550,7 +3804,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 			 */
 			final long         effStart = Math.max(idStart, 0);
 			final long         effBound = Math.min(Math.max(idBound, effStart), this.nextFreeId());
-			final BitmapResult result   = condition.evaluate(this.indices.bitmap());
+			final BitmapResult result   = this.evaluate(condition);
 			
 			execute(idMatcher,this, result.andOptimize(), effStart, effBound, consumer);
 		}
@@ -3596,7 +3850,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 
 			final long           effStart = Math.max(idStart, 0);
 			final long           effBound = Math.min(Math.max(idBound, effStart), this.nextFreeId());
-			final BitmapResult[] results  = condition.evaluate(this.indices.bitmap()).andOptimize();
+			final BitmapResult[] results  = this.evaluate(condition).andOptimize();
 
 			// Threaded execution cannot apply a stateful idMatcher safely across partitions.
 			// When an idMatcher is present, partition the id range sequentially on a single
@@ -3989,7 +4243,7 @@ public interface GigaMap<E> extends XIterable<E>, Sized, Iterable<E>
 						this.close();
 						return false;
 					}
-					this.currentEntity = this.parent.get(this.currentEntityId);
+					this.currentEntity = this.parent.getIterating(this.currentEntityId);
 				}
 				return true;
 			}
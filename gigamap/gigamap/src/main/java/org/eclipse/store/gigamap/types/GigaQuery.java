@@ -22,6 +22,7 @@ import org.eclipse.serializer.util.X;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -357,6 +358,44 @@ public interface GigaQuery<E> extends XIterable<E>, Iterable<E>, GigaMap.Compone
 	 */
 	public <A extends EntryConsumer<? super E>> A executeWithId(A entryConsumer);
 
+	/**
+	 * Executes this query and returns the ids of the matching entities in ascending order, without resolving
+	 * the entities. See {@link #executeIds(LongConsumer)}.
+	 *
+	 * @return the ids of the matching entities in ascending order
+	 */
+	public default long[] executeIds()
+	{
+		final long[][] idsRef  = {new long[16]};
+		final int[]    sizeRef = {0};
+		this.executeIds(entityId ->
+		{
+			long[] ids = idsRef[0];
+			if(sizeRef[0] == ids.length)
+			{
+				idsRef[0] = ids = Arrays.copyOf(ids, ids.length << 1);
+			}
+			ids[sizeRef[0]++] = entityId;
+		});
+
+		return Arrays.copyOf(idsRef[0], sizeRef[0]);
+	}
+
+	/**
+	 * Executes this query handing over the ids of the matching entities in ascending order to the passed
+	 * consumer, without resolving the entities and without collecting the ids first. The ids are determined
+	 * solely by the bitmap indices, so entities that are not loaded stay unloaded.
+	 * <p>
+	 * Since the indices only know indexed entities, the ids of a condition negating an index can include ids
+	 * in the queried range that do not hold an entity (anymore). For the same reason, a query without a condition
+	 * matches every id in the queried range below the next free id.
+	 *
+	 * @param <C> the consumer type
+	 * @param idConsumer the consumer of the matching ids
+	 * @return the given consumer
+	 */
+	public <C extends LongConsumer> C executeIds(C idConsumer);
+
 
 	/**
 	 * Executes this query handing over the results to the specified {@link EntityResolver}.
@@ -886,6 +925,15 @@ public interface GigaQuery<E> extends XIterable<E>, Iterable<E>, GigaMap.Compone
 			
 			return entryConsumer;
 		}
+		
+		@Override
+		public <C extends LongConsumer> C executeIds(final C idConsumer)
+		{
+			final EntityIdMatcher idMatcher = this.buildEntityIdMatcher();
+			this.parent.iterateEntityIds(this.condition, this.idStart, this.idBound, idMatcher, idConsumer);
+			
+			return idConsumer;
+		}
 
 
 		
@@ -57,6 +57,23 @@ public interface IndexGroup<E> extends GigaMap.Component<E>
 			this.internalAddAll(firstEntityId, Arrays.asList(entities));
 		}
 		
+		/**
+		 * Adds entities starting with a certain id to this index in the course of a bulk load
+		 * (see {@link GigaMap#addAllBulk(Iterable, int)}). Implementations may use up to {@code threadCount}
+		 * threads, but must return only after all of them have finished. The calling thread holds the lock
+		 * of the parent map, so additional threads must never try to acquire it.
+		 * <p>
+		 * The default implementation delegates to {@link #internalAddAll(long, Object[])}.
+		 *
+		 * @param firstEntityId the first id which will be incremented for remaining entities
+		 * @param entities the entities to add
+		 * @param threadCount the maximum number of threads to use, at least 1
+		 */
+		public default void internalBulkAddAll(final long firstEntityId, final E[] entities, final int threadCount)
+		{
+			this.internalAddAll(firstEntityId, entities);
+		}
+		
 		public void internalPrepareIndicesUpdate(E replacedEntity);
 		
 		/**
@@ -0,0 +1,170 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.serializer.persistence.types.PersistenceRetrieving;
+import org.eclipse.serializer.reference.Lazy;
+import org.eclipse.serializer.reference.ObjectSwizzling;
+
+/**
+ * Batch resolution of {@link Lazy} references.
+ * <p>
+ * Resolving unloaded lazy references one by one costs one load request, and hence one round trip to the
+ * storage, per reference. Prefetching collects the object ids of all passed references that are not loaded
+ * yet and loads them with a single request per loader. The loaded instances are registered in the object
+ * registry as usual and linked to their lazy references right away, so that subsequent calls of
+ * {@link Lazy#get()} are served from memory.
+ * <p>
+ * References whose loader does not support batch retrieval are left untouched and resolve individually
+ * on their next {@link Lazy#get()}.
+ */
+public final class LazyPrefetch
+{
+	///////////////////////////////////////////////////////////////////////////
+	// static methods //
+	///////////////////
+
+	/**
+	 * Loads all passed {@link Lazy} references that are not loaded yet with one load request per loader.
+	 *
+	 * @param lazies the lazy references to be resolved. {@code null} entries are ignored.
+	 *
+	 * @return the number of references that have been resolved by the prefetch.
+	 */
+	public static int prefetch(final Iterable<? extends Lazy<?>> lazies)
+	{
+		final Map<ObjectSwizzling, Batch> batches = new IdentityHashMap<>();
+		for(final Lazy<?> lazy : lazies)
+		{
+			enqueue(batches, lazy);
+		}
+
+		return resolve(batches);
+	}
+
+	/**
+	 * Loads up to {@code count} of the passed array's {@link Lazy} references that are not loaded yet,
+	 * starting at {@code offset}, with one load request per loader. This is the sibling prefetch for
+	 * containers holding their lazy references in an array: resolving one element takes the following
+	 * ones along.
+	 *
+	 * @param lazies the array holding the lazy references. {@code null} entries are ignored.
+	 * @param offset the index of the first reference to be considered.
+	 * @param count  the maximum number of unloaded references to be resolved.
+	 *
+	 * @return the number of references that have been resolved by the prefetch.
+	 */
+	public static int prefetch(final Lazy<?>[] lazies, final int offset, final int count)
+	{
+		final Map<ObjectSwizzling, Batch> batches = new IdentityHashMap<>();
+
+		int enqueued = 0;
+		for(int i = offset; i < lazies.length && enqueued < count; i++)
+		{
+			if(enqueue(batches, lazies[i]))
+			{
+				enqueued++;
+			}
+		}
+
+		return resolve(batches);
+	}
+
+	private static boolean enqueue(final Map<ObjectSwizzling, Batch> batches, final Lazy<?> lazy)
+	{
+		if(!(lazy instanceof Lazy.Default) || lazy.isLoaded())
+		{
+			return false;
+		}
+
+		final Lazy.Default<?> reference = (Lazy.Default<?>)lazy;
+		final ObjectSwizzling loader    = reference.$getLoader();
+		if(!(loader instanceof PersistenceRetrieving) || reference.objectId() == 0)
+		{
+			return false;
+		}
+
+		batches.computeIfAbsent(loader, l -> new Batch()).add(reference);
+
+		return true;
+	}
+
+	private static int resolve(final Map<ObjectSwizzling, Batch> batches)
+	{
+		int resolved = 0;
+		for(final Map.Entry<ObjectSwizzling, Batch> entry : batches.entrySet())
+		{
+			resolved += entry.getValue().resolve((PersistenceRetrieving)entry.getKey());
+		}
+
+		return resolved;
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+
+	private LazyPrefetch()
+	{
+		// static only
+		throw new UnsupportedOperationException();
+	}
+
+
+
+	///////////////////////////////////////////////////////////////////////////
+	// helper classes //
+	///////////////////
+
+	static final class Batch
+	{
+		final List<Lazy.Default<?>> references = new ArrayList<>();
+		      long[]                objectIds  = new long[16];
+
+		void add(final Lazy.Default<?> reference)
+		{
+			if(this.references.size() == this.objectIds.length)
+			{
+				this.objectIds = Arrays.copyOf(this.objectIds, this.objectIds.length * 2);
+			}
+			this.objectIds[this.references.size()] = reference.objectId();
+			this.references.add(reference);
+		}
+
+		int resolve(final PersistenceRetrieving loader)
+		{
+			// the collected instances are held strongly until they are linked to their lazy references.
+			final List<Object> instances = new ArrayList<>(this.references.size());
+			loader.collect(instances::add, Arrays.copyOf(this.objectIds, this.references.size()));
+
+			for(final Lazy.Default<?> reference : this.references)
+			{
+				// served from the object registry, no further load request.
+				reference.get();
+			}
+
+			return this.references.size();
+		}
+	}
+
+}
@@ -0,0 +1,622 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.eclipse.serializer.collections.BulkList;
+
+
+/**
+ * A memory-bounded cache of query results of a {@link GigaMap}, see {@link GigaMap#enableQueryCache(long)}.
+ * <p>
+ * Repeatedly executed queries with the same condition normally evaluate the condition against the indices and
+ * combine the index bitmaps with AND/OR/NOT logic on every execution. With a query cache, the combined result of
+ * a condition is recorded while a query iterates over it and reused for as long as none of the indices referenced
+ * by the condition has been modified and no entity id has been added to the map. Recording does not cost an
+ * additional pass: every combined segment is kept as the iteration produces it, and the result is cached once
+ * an iteration has covered the whole id range. Queries that end early or only cover a part of the id range
+ * are answered as usual, but do not populate the cache. Validity is checked via each index'
+ * {@link BitmapIndex.Internal#internalModificationCount() modification count}, so modifications of other indices
+ * do not invalidate a cached result.
+ * <p>
+ * Cache keys are derived from the condition structure, not from the condition instances: two separately created
+ * but equal conditions share one cache entry. AND and OR linked conditions are normalized to be independent of the
+ * order of their elements. Conditions that cannot be compared reliably, most notably conditions based on a
+ * predicate (e.g. {@code like}, {@code startsWith} or range searches) and custom condition implementations, are
+ * never cached and simply evaluated as usual. Index keys used in cached conditions must be properly comparable via
+ * {@link Object#equals(Object)} and {@link Object#hashCode()} and must not be mutated afterwards.
+ * <p>
+ * Entries are evicted once the approximated heap memory of all cached results exceeds the configured
+ * {@link #maximumMemorySize()}, in the order defined by the cache's {@link EvictionPolicy}.
+ */
+public interface QueryCache
+{
+	/**
+	 * Returns the maximum approximated heap memory size in bytes of all cached results.
+	 *
+	 * @return the maximum memory size in bytes
+	 */
+	public long maximumMemorySize();
+
+	/**
+	 * Returns the policy that determines which cached results are evicted first.
+	 *
+	 * @return the eviction policy
+	 */
+	public EvictionPolicy evictionPolicy();
+
+	/**
+	 * Returns the approximated heap memory size in bytes currently occupied by all cached results.
+	 *
+	 * @return the current memory size in bytes
+	 */
+	public long memorySize();
+
+	/**
+	 * Returns the number of currently cached results.
+	 *
+	 * @return the current entry count
+	 */
+	public int entryCount();
+
+	/**
+	 * Returns the number of query evaluations that could be answered by a valid cached result.
+	 *
+	 * @return the hit count
+	 */
+	public long hitCount();
+
+	/**
+	 * Returns the number of query evaluations of cacheable conditions that had to be evaluated against the indices.
+	 *
+	 * @return the miss count
+	 */
+	public long missCount();
+
+	/**
+	 * Removes all cached results. Hit and miss counts are retained.
+	 */
+	public void clear();
+
+
+
+	public static QueryCache.Default New(final long maximumMemorySize)
+	{
+		return New(maximumMemorySize, EvictionPolicy.LEAST_RECENTLY_USED);
+	}
+
+	public static QueryCache.Default New(final long maximumMemorySize, final EvictionPolicy evictionPolicy)
+	{
+		if(maximumMemorySize <= 0L)
+		{
+			throw new IllegalArgumentException("Maximum memory size must be positive: " + maximumMemorySize);
+		}
+
+		return new QueryCache.Default(maximumMemorySize, notNull(evictionPolicy));
+	}
+
+
+
+	/**
+	 * Determines which cached results are evicted first once the memory bound of a {@link QueryCache} is exceeded.
+	 */
+	public enum EvictionPolicy
+	{
+		/**
+		 * Evicts the result that has not been used for the longest time. This is the default.
+		 */
+		LEAST_RECENTLY_USED,
+
+		/**
+		 * Evicts the result that has been used the fewest times since it was cached, the least recently used one
+		 * among equally often used results. Suitable for workloads with a stable set of frequent queries that
+		 * must not be displaced by a burst of one-off queries.
+		 */
+		LEAST_FREQUENTLY_USED
+	}
+
+
+
+	public final class Default implements QueryCache
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int
+			KIND_NOT    = 1,
+			KIND_AND    = 2,
+			KIND_OR     = 3,
+			KIND_EQUALS = 4,
+			KIND_IN     = 5,
+			KIND_ALL    = 6
+		;
+
+		// rough heap size of an entry and its validity state, not counting the cached result itself.
+		private static final long ENTRY_MEMORY_SIZE = 128L;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long           maximumMemorySize;
+		private final EvictionPolicy evictionPolicy   ;
+
+		// access order: iterating starts at the least recently used entry.
+		private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+		// only used for LEAST_FREQUENTLY_USED: the first element is the next entry to be evicted.
+		private final TreeSet<Entry> frequencyOrder = new TreeSet<>(
+			Comparator.<Entry>comparingLong(e -> e.hitCount).thenComparingLong(e -> e.lastAccess)
+		);
+
+		private long memorySize, hitCount, missCount, accessCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long maximumMemorySize, final EvictionPolicy evictionPolicy)
+		{
+			super();
+			this.maximumMemorySize = maximumMemorySize;
+			this.evictionPolicy    = evictionPolicy   ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long maximumMemorySize()
+		{
+			return this.maximumMemorySize;
+		}
+
+		@Override
+		public final EvictionPolicy evictionPolicy()
+		{
+			return this.evictionPolicy;
+		}
+
+		@Override
+		public final synchronized long memorySize()
+		{
+			return this.memorySize;
+		}
+
+		@Override
+		public final synchronized int entryCount()
+		{
+			return this.entries.size();
+		}
+
+		@Override
+		public final synchronized long hitCount()
+		{
+			return this.hitCount;
+		}
+
+		@Override
+		public final synchronized long missCount()
+		{
+			return this.missCount;
+		}
+
+		@Override
+		public final synchronized void clear()
+		{
+			this.entries.clear();
+			this.frequencyOrder.clear();
+			this.memorySize = 0L;
+		}
+
+		/**
+		 * Evaluates the passed condition, either by providing an iteration copy of a valid cached result or by
+		 * evaluating it against the passed indices.
+		 * <p>
+		 * Must be called while the parent map cannot be modified, i.e. under its lock or in read-only mode.
+		 */
+		final <E> BitmapResult evaluate(
+			final Condition<E>              condition,
+			final BitmapIndices.Internal<E> indices  ,
+			final long                      idBound
+		)
+		{
+			final BulkList<BitmapIndex.Internal<E, ?>> involvedIndices = BulkList.New();
+			final Object key = createKey(condition, indices, involvedIndices);
+			if(key == null)
+			{
+				return condition.evaluate(indices);
+			}
+
+			final Entry cached = this.lookup(key, idBound);
+			if(cached != null)
+			{
+				return cached.result.createIterationCopy();
+			}
+
+			// the caller guarantees that no modification can happen between evaluating and capturing the counts.
+			final Entry entry = new Entry(key, involvedIndices, idBound);
+
+			return CachedBitmapResult.record(
+				condition.evaluate(indices).andOptimize(),
+				idBound,
+				this.maximumMemorySize - ENTRY_MEMORY_SIZE,
+				result -> this.register(entry.complete(result))
+			);
+		}
+
+		private synchronized Entry lookup(final Object key, final long idBound)
+		{
+			final Entry entry = this.entries.get(key);
+			if(entry != null)
+			{
+				if(entry.isValid(idBound))
+				{
+					this.hitCount++;
+					this.touch(entry, true);
+					return entry;
+				}
+
+				// an outdated entry will never become valid again.
+				this.remove(key, entry);
+			}
+			this.missCount++;
+
+			return null;
+		}
+
+		private synchronized void register(final Entry entry)
+		{
+			if(!entry.isValid(entry.idBound))
+			{
+				// the recording iteration outlived a modification of the map, the result may be a mixture.
+				return;
+			}
+
+			final long entryMemorySize = entry.memorySize();
+			if(entryMemorySize > this.maximumMemorySize)
+			{
+				// a result that would evict everything else is not worth caching.
+				return;
+			}
+
+			final Entry replaced = this.entries.put(entry.key, entry);
+			if(replaced != null)
+			{
+				// concurrent evaluations of the same condition, the later one wins.
+				this.frequencyOrder.remove(replaced);
+				this.memorySize -= replaced.memorySize();
+			}
+			this.touch(entry, false);
+			this.memorySize += entryMemorySize;
+
+			while(this.memorySize > this.maximumMemorySize)
+			{
+				final Entry evicted = this.selectEviction(entry);
+				if(evicted == null)
+				{
+					break;
+				}
+				this.remove(evicted.key, evicted);
+			}
+		}
+
+		private void touch(final Entry entry, final boolean isHit)
+		{
+			if(this.evictionPolicy != EvictionPolicy.LEAST_FREQUENTLY_USED)
+			{
+				// the access ordered map keeps track of the recency on its own.
+				return;
+			}
+
+			// the ordering properties of an element must not change while it is part of the tree.
+			this.frequencyOrder.remove(entry);
+			if(isHit)
+			{
+				entry.hitCount++;
+			}
+			entry.lastAccess = ++this.accessCount;
+			this.frequencyOrder.add(entry);
+		}
+
+		private Entry selectEviction(final Entry retained)
+		{
+			// the entry just registered has not had a chance to be used, yet.
+			final Iterable<Entry> candidates = this.evictionPolicy == EvictionPolicy.LEAST_FREQUENTLY_USED
+				? this.frequencyOrder
+				: this.entries.values()
+			;
+			for(final Entry e : candidates)
+			{
+				if(e != retained)
+				{
+					return e;
+				}
+			}
+
+			return null;
+		}
+
+		private void remove(final Object key, final Entry entry)
+		{
+			this.entries.remove(key);
+			this.frequencyOrder.remove(entry);
+			this.memorySize -= entry.memorySize();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// key creation //
+		/////////////////
+
+		/**
+		 * Creates a structural key for the passed condition and collects all indices referenced by it.
+		 * Returns {@code null} if the condition (or any of its nested conditions) is not cacheable.
+		 */
+		static <E> Object createKey(
+			final Condition<E>                         condition      ,
+			final BitmapIndices.Internal<E>            indices        ,
+			final BulkList<BitmapIndex.Internal<E, ?>> involvedIndices
+		)
+		{
+			if(condition instanceof Condition.Term)
+			{
+				// parenthesis only matter for linking, not for the result.
+				return createKey(((Condition.Term<E>)condition).condition, indices, involvedIndices);
+			}
+			if(condition instanceof Condition.Not)
+			{
+				final Object nested = createKey(((Condition.Not<E>)condition).condition, indices, involvedIndices);
+				return nested == null ? null : new Key(KIND_NOT, null, nested);
+			}
+			if(condition instanceof Condition.And)
+			{
+				return createChainKey(KIND_AND, ((Condition.And<E>)condition).conditions, indices, involvedIndices);
+			}
+			if(condition instanceof Condition.Or)
+			{
+				return createChainKey(KIND_OR, ((Condition.Or<E>)condition).conditions, indices, involvedIndices);
+			}
+			if(condition instanceof Condition.Equals)
+			{
+				final Condition.Equals<E, ?> c = (Condition.Equals<E, ?>)condition;
+				return new Key(KIND_EQUALS, involve(c.index.resolveFor(indices), involvedIndices), normalizeKey(c.key));
+			}
+			if(condition instanceof Condition.In)
+			{
+				final Condition.In<E, ?> c = (Condition.In<E, ?>)condition;
+				return new Key(KIND_IN, involve(c.index.resolveFor(indices), involvedIndices), normalizeKeys(c.keys));
+			}
+			if(condition instanceof Condition.All)
+			{
+				final Condition.All<E, ?> c = (Condition.All<E, ?>)condition;
+				return new Key(KIND_ALL, involve(c.index.resolveFor(indices), involvedIndices), normalizeKeys(c.keys));
+			}
+
+			// predicate searches and unknown condition implementations cannot be compared reliably.
+			return null;
+		}
+
+		private static <E> Object createChainKey(
+			final int                                  kind           ,
+			final BulkList<Condition<E>>               conditions     ,
+			final BitmapIndices.Internal<E>            indices        ,
+			final BulkList<BitmapIndex.Internal<E, ?>> involvedIndices
+		)
+		{
+			// AND and OR are commutative and idempotent, so a set of the elements' keys is a sufficient normalization.
+			final Set<Object> elementKeys = new HashSet<>();
+			for(final Condition<E> element : conditions)
+			{
+				final Object elementKey = createKey(element, indices, involvedIndices);
+				if(elementKey == null)
+				{
+					return null;
+				}
+				elementKeys.add(elementKey);
+			}
+
+			return new Key(kind, null, elementKeys);
+		}
+
+		private static <E> BitmapIndex.Internal<E, ?> involve(
+			final BitmapIndex.Internal<E, ?>           index          ,
+			final BulkList<BitmapIndex.Internal<E, ?>> involvedIndices
+		)
+		{
+			if(!involvedIndices.containsId(index))
+			{
+				involvedIndices.add(index);
+			}
+
+			return index;
+		}
+
+		private static Set<Object> normalizeKeys(final Object[] keys)
+		{
+			final Set<Object> normalizedKeys = new HashSet<>(keys.length);
+			for(final Object key : keys)
+			{
+				normalizedKeys.add(normalizeKey(key));
+			}
+
+			return normalizedKeys;
+		}
+
+		private static Object normalizeKey(final Object key)
+		{
+			// composite indices use arrays as keys, which only have identity equality.
+			return key != null && key.getClass().isArray()
+				? new ArrayKey(key)
+				: key
+			;
+		}
+
+
+
+		static final class Key
+		{
+			final int    kind   ;
+			final Object index  ;
+			final Object operand;
+
+			Key(final int kind, final Object index, final Object operand)
+			{
+				super();
+				this.kind    = kind   ;
+				this.index   = index  ;
+				this.operand = operand;
+			}
+
+			@Override
+			public boolean equals(final Object other)
+			{
+				if(other == this)
+				{
+					return true;
+				}
+				if(!(other instanceof Key))
+				{
+					return false;
+				}
+
+				final Key key = (Key)other;
+
+				// indices are compared by identity: a replaced index is a different index, even with the same name.
+				return this.kind == key.kind
+					&& this.index == key.index
+					&& Objects.equals(this.operand, key.operand)
+				;
+			}
+
+			@Override
+			public int hashCode()
+			{
+				return (this.kind * 31 + System.identityHashCode(this.index)) * 31 + Objects.hashCode(this.operand);
+			}
+		}
+
+		static final class ArrayKey
+		{
+			// wrapped in an Object[] to use the deep logic that handles primitive component types, as well.
+			final Object[] array;
+
+			ArrayKey(final Object array)
+			{
+				super();
+				this.array = new Object[]{array};
+			}
+
+			@Override
+			public boolean equals(final Object other)
+			{
+				return other == this
+					|| other instanceof ArrayKey && Arrays.deepEquals(this.array, ((ArrayKey)other).array)
+				;
+			}
+
+			@Override
+			public int hashCode()
+			{
+				return Arrays.deepHashCode(this.array);
+			}
+		}
+
+		static final class Entry
+		{
+			final Object                       key               ;
+			final BitmapIndex.Internal<?, ?>[] indices           ;
+			final long[]                       modificationCounts;
+			final long                         idBound           ;
+
+			// set once the recording iteration has covered the whole id range.
+			CachedBitmapResult result;
+
+			// number of lookups answered by this entry and the sequence number of its last access,
+			// only accessed under the cache's lock.
+			long hitCount, lastAccess;
+
+			Entry(
+				final Object                                         key    ,
+				final BulkList<? extends BitmapIndex.Internal<?, ?>> indices,
+				final long                                           idBound
+			)
+			{
+				super();
+				this.key                = key;
+				this.indices            = new BitmapIndex.Internal<?, ?>[indices.intSize()];
+				this.modificationCounts = new long[this.indices.length];
+				this.idBound            = idBound;
+
+				int i = 0;
+				for(final BitmapIndex.Internal<?, ?> index : indices)
+				{
+					this.indices[i]              = index;
+					this.modificationCounts[i++] = index.internalModificationCount();
+				}
+			}
+
+			final Entry complete(final CachedBitmapResult result)
+			{
+				this.result = result;
+
+				return this;
+			}
+
+			final boolean isValid(final long idBound)
+			{
+				// a new id changes the result of NOT logic, even if the referenced indices did not change.
+				if(idBound != this.idBound)
+				{
+					return false;
+				}
+				for(int i = 0; i < this.indices.length; i++)
+				{
+					if(this.indices[i].internalModificationCount() != this.modificationCounts[i])
+					{
+						return false;
+					}
+				}
+
+				return true;
+			}
+
+			final long memorySize()
+			{
+				return ENTRY_MEMORY_SIZE + this.result.memorySize();
+			}
+		}
+
+	}
+
+}
@@ -119,6 +119,9 @@ public interface ResultIdIterator
 		private long currentBitmapValue = 0L;
 		private int  currentBitPosition = Long.SIZE; // required to force efficient initialization.
 		
+		// the combined value mask of the current level1 segment. Values outside of it are known to be 0L.
+		private long currentLevel1ValueMask = 0L;
+		
 		private boolean isActive = true;
 		
 		
@@ -227,15 +230,16 @@ public interface ResultIdIterator
 			int currentLevel1Index = this.currentLevel1Index;
 			do
 			{
-				if(++currentLevel1Index >= level1IndexBound)
+				// values that are known to be 0L are skipped without ever being looked at.
+				if((currentLevel1Index = BitmapResult.nextValueIndex(this.currentLevel1ValueMask, currentLevel1Index)) >= level1IndexBound)
 				{
 					if(!this.scrollToNextLevel1Segment())
 					{
 						// no more level1 segment to scroll to, because iteration has reached the end of the data.
 						return false;
 					}
-					// start the newly scrolled to level1segment at the beginning.
-					currentLevel1Index = 0;
+					// start the newly scrolled to level1segment at its first potentially non-zero value.
+					currentLevel1Index = BitmapResult.nextValueIndex(this.currentLevel1ValueMask, -1);
 				}
 			}
 			while(this.updateCurrentBitmapValue(currentLevel1Index));
@@ -307,9 +311,15 @@ public interface ResultIdIterator
 				if(!r.setCurrentIterationLevel1Segment(level2Index))
 				{
 					// early exit: an all-0s value will never be changed by AND logic.
+					this.currentLevel1ValueMask = 0L;
 					return true;
 				}
 			}
+			if((this.currentLevel1ValueMask = BitmapResult.andValueMasks(this.results)) == 0L)
+			{
+				// the results' segments have no potentially non-zero value in common, so the segment can be skipped.
+				return true;
+			}
 			this.updateLevel1IterationState(level2Index);
 			
 			return false;
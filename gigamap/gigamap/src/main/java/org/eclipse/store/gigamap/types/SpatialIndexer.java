@@ -25,6 +25,12 @@ import java.util.function.Predicate;
  * encoding ({@code value * 10^7}, giving ~1.1cm precision) and uses the existing
  * {@link HashingCompositeIndexer} infrastructure with 8 sub-indices
  * (positions 0-3 for latitude, 4-7 for longitude).
+ * <p>
+ * In addition, every point is assigned to a grid cell at several resolutions (positions 8 and up, see
+ * {@link Abstract#Abstract(int)}). {@link #withinBox(double, double, double, double)} and
+ * {@link #near(double, double, double)} first select the few cells covering the queried area via direct
+ * lookups and only refine those candidates with the exact coordinate ranges, instead of combining the
+ * ranges of both coordinates over all entities.
  *
  * @param <E> the entity type
  */
@@ -170,9 +176,76 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 		private static final int SCALE           = 10_000_000; // 10^7 -> ~1.1cm precision
 		private static final int BYTES_PER_COORD = Integer.BYTES;
 
+		private static final long LAT_RANGE = 90L  * SCALE;
+		private static final long LON_RANGE = 180L * SCALE;
+
+		/**
+		 * The default finest cell level: a grid of 1024 x 1024 cells, about 20 x 40 km at the equator.
+		 * Together with the coarser levels 7, 4 and 1, there are 4 cell sub-indices.
+		 */
+		public static final int DEFAULT_FINEST_CELL_LEVEL = 10;
+
+		/**
+		 * The maximum finest cell level, limited by cell ids having to fit into an {@link Integer}.
+		 */
+		public static final int MAX_FINEST_CELL_LEVEL = 15;
+
+		// resolutions of the cell levels indexed for each point: finest, finest - 3, finest - 6, ...
+		private static final int CELL_LEVEL_STEP = 3;
+
+		// a query area is covered by cells of the finest level for which it requires at most that many cells.
+		private static final int MAX_COVERING_CELLS = 64;
+
+		/*
+		 * Instances loaded from a storage written before the cell levels existed get 0 (no cells) here, which
+		 * matches the data in their index. Conditions built by an instance with cells check that at evaluation
+		 * time, see CellCovered.
+		 */
+		private final int finestCellLevel;
+
 		protected Abstract()
+		{
+			this(DEFAULT_FINEST_CELL_LEVEL);
+		}
+
+		/**
+		 * Creates a spatial indexer that assigns every point to grid cells at the levels {@code finestCellLevel},
+		 * {@code finestCellLevel - 3}, and so on, down to level 1. Level {@code n} divides the latitude and
+		 * the longitude range into {@code 2^n} slices each.
+		 * <p>
+		 * The finer the finest level, the smaller the areas that can be queried efficiently, but the more
+		 * distinct keys the finest cell sub-index holds. {@code 0} disables the cells altogether.
+		 *
+		 * @param finestCellLevel the finest cell level, between 0 and {@link #MAX_FINEST_CELL_LEVEL}
+		 */
+		protected Abstract(final int finestCellLevel)
 		{
 			super();
+			if(finestCellLevel < 0 || finestCellLevel > MAX_FINEST_CELL_LEVEL)
+			{
+				throw new IllegalArgumentException(
+					"Finest cell level must be between 0 and " + MAX_FINEST_CELL_LEVEL + ", but was " + finestCellLevel
+				);
+			}
+			this.finestCellLevel = finestCellLevel;
+		}
+
+		/**
+		 * @return the finest cell level, {@code 0} if this indexer does not index cells
+		 */
+		public final int finestCellLevel()
+		{
+			return this.finestCellLevel;
+		}
+
+		private int cellLevelCount()
+		{
+			return (this.finestCellLevel + CELL_LEVEL_STEP - 1) / CELL_LEVEL_STEP;
+		}
+
+		private int cellLevel(final int cellLevelIndex)
+		{
+			return this.finestCellLevel - cellLevelIndex * CELL_LEVEL_STEP;
 		}
 
 		/**
@@ -220,10 +293,12 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 				throw new IllegalArgumentException("Longitude must be between -180 and 180, but was " + lon);
 			}
 
+			final int compositeSize = COMPOSITE_SIZE + this.cellLevelCount();
+
 			Object[] c = carrier;
-			if(c == null || c.length != COMPOSITE_SIZE)
+			if(c == null || c.length != compositeSize)
 			{
-				c = new Object[COMPOSITE_SIZE];
+				c = new Object[compositeSize];
 			}
 			else
 			{
@@ -231,6 +306,7 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 			}
 
 			fillCarrier(lat, lon, c);
+			this.fillCells(lat, lon, c);
 			return c;
 		}
 
@@ -299,13 +375,16 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 		{
 			if(minLon > maxLon)
 			{
-				// Crosses antimeridian: split into two longitude ranges
-				return (Condition<S>)this.latitudeBetween(minLat, maxLat).and(
-					this.longitudeBetween(minLon, 180.0).or(this.longitudeBetween(-180.0, maxLon))
-				);
+				// Crosses antimeridian: split into two boxes
+				return (Condition<S>)this.withinBox(minLat, maxLat, minLon, 180.0)
+					.or(this.withinBox(minLat, maxLat, -180.0, maxLon))
+				;
 			}
 
-			return (Condition<S>)this.latitudeBetween(minLat, maxLat).and(this.longitudeBetween(minLon, maxLon));
+			return this.cellCovered(
+				minLat, maxLat, minLon, maxLon,
+				this.latitudeBetween(minLat, maxLat).and(this.longitudeBetween(minLon, maxLon))
+			);
 		}
 
 		@SuppressWarnings("unchecked")
@@ -323,7 +402,7 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 			// In this case, restrict only by latitude and allow full longitude range.
 			if(Math.abs(latitude) > 89.9)
 			{
-				return (Condition<S>)this.latitudeBetween(minLat, maxLat);
+				return this.cellCovered(minLat, maxLat, -180.0, 180.0, this.latitudeBetween(minLat, maxLat));
 			}
 
 			final double lonDelta = Math.toDegrees(
@@ -335,18 +414,16 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 			if(minLon < -180.0)
 			{
 				// Wraps west past antimeridian
-				return (Condition<S>)this.latitudeBetween(minLat, maxLat).and(
-					this.longitudeBetween(minLon + 360.0, 180.0)
-					.or(this.longitudeBetween(-180.0, maxLon))
-				);
+				return (Condition<S>)this.withinBox(minLat, maxLat, minLon + 360.0, 180.0)
+					.or(this.withinBox(minLat, maxLat, -180.0, maxLon))
+				;
 			}
 			else if(maxLon > 180.0)
 			{
 				// Wraps east past antimeridian
-				return (Condition<S>)this.latitudeBetween(minLat, maxLat).and(
-					this.longitudeBetween(minLon, 180.0)
-					.or(this.longitudeBetween(-180.0, maxLon - 360.0))
-				);
+				return (Condition<S>)this.withinBox(minLat, maxLat, minLon, 180.0)
+					.or(this.withinBox(minLat, maxLat, -180.0, maxLon - 360.0))
+				;
 			}
 
 			return this.withinBox(minLat, maxLat, minLon, maxLon);
@@ -449,6 +526,151 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 		}
 
 
+		// ---- cells ----
+
+		/**
+		 * Narrows the passed exact condition for a box not crossing the antimeridian down to the cells covering
+		 * the box, at the finest cell level that requires no more than {@link #MAX_COVERING_CELLS} cells.
+		 * If there is no such level, the exact condition is returned unchanged.
+		 */
+		@SuppressWarnings("unchecked")
+		private <S extends E> Condition<S> cellCovered(
+			final double          minLat, final double maxLat,
+			final double          minLon, final double maxLon,
+			final Condition<? super S> exact
+		)
+		{
+			final int minLatFixed = toFixed(Math.max(minLat, -90.0)) , maxLatFixed = toFixed(Math.min(maxLat,  90.0));
+			final int minLonFixed = toFixed(Math.max(minLon, -180.0)), maxLonFixed = toFixed(Math.min(maxLon, 180.0));
+			if(minLatFixed > maxLatFixed || minLonFixed > maxLonFixed)
+			{
+				// an empty box: nothing to narrow down, the exact condition yields the empty result by itself.
+				return (Condition<S>)exact;
+			}
+
+			for(int i = 0; i < this.cellLevelCount(); i++)
+			{
+				final int  level    = this.cellLevel(i);
+				final int  latStart = cellIndex(minLatFixed, LAT_RANGE, level), latBound = cellIndex(maxLatFixed, LAT_RANGE, level) + 1;
+				final int  lonStart = cellIndex(minLonFixed, LON_RANGE, level), lonBound = cellIndex(maxLonFixed, LON_RANGE, level) + 1;
+				final long count    = (long)(latBound - latStart) * (lonBound - lonStart);
+				if(count > MAX_COVERING_CELLS)
+				{
+					continue;
+				}
+
+				final Object[] cells = new Object[(int)count];
+				int c = 0;
+				for(int latIndex = latStart; latIndex < latBound; latIndex++)
+				{
+					for(int lonIndex = lonStart; lonIndex < lonBound; lonIndex++)
+					{
+						cells[c++] = cellId(latIndex, lonIndex, level);
+					}
+				}
+
+				return new CellCovered<>(this, COMPOSITE_SIZE + i, cells, (Condition<S>)exact);
+			}
+
+			return (Condition<S>)exact;
+		}
+
+		private void fillCells(final double latitude, final double longitude, final Object[] carrier)
+		{
+			final int latFixed = toFixed(latitude);
+			final int lonFixed = toFixed(longitude);
+			for(int i = 0; i < this.cellLevelCount(); i++)
+			{
+				final int level = this.cellLevel(i);
+				carrier[COMPOSITE_SIZE + i] = cellId(
+					cellIndex(latFixed, LAT_RANGE, level),
+					cellIndex(lonFixed, LON_RANGE, level),
+					level
+				);
+			}
+		}
+
+		/*
+		 * Cells are derived from the same fixed-point value as the coordinate bytes. Since the mapping is monotonic,
+		 * every point matching a fixed-point range lies in one of the cells covering that range, no matter how
+		 * the conversion rounded.
+		 */
+		private static int cellIndex(final int fixed, final long range, final int level)
+		{
+			// [-range; range] onto [0; 2^level - 1]
+			return (int)((fixed + range << level) / (2 * range + 1));
+		}
+
+		private static Integer cellId(final int latIndex, final int lonIndex, final int level)
+		{
+			return latIndex << level | lonIndex;
+		}
+
+
+		/**
+		 * The cell-narrowed form of an exact spatial condition: the entities in the covering cells, refined by
+		 * the exact condition. Testing a single entity just tests the exact condition.
+		 * <p>
+		 * The cells are only used if the index the condition is evaluated against was built with the same cell
+		 * levels, i.e. by an indexer with the same {@link #finestCellLevel()}. Otherwise, e.g. for an index
+		 * created before the cells existed, the exact condition is evaluated alone.
+		 */
+		static final class CellCovered<E> extends Condition.Abstract<E>
+		{
+			private final SpatialIndexer.Abstract<?> indexer       ;
+			private final int                        subKeyPosition;
+			private final Object[]                   cells         ;
+			private final Condition<E>               exact         ;
+
+			CellCovered(
+				final SpatialIndexer.Abstract<?> indexer       ,
+				final int                        subKeyPosition,
+				final Object[]                   cells         ,
+				final Condition<E>               exact
+			)
+			{
+				super();
+				this.indexer        = indexer       ;
+				this.subKeyPosition = subKeyPosition;
+				this.cells          = cells         ;
+				this.exact          = exact         ;
+			}
+
+			@Override
+			public <S extends E> BitmapResult evaluate(final BitmapIndices.Internal<S> parent)
+			{
+				final BitmapResult exactResult = this.exact.evaluate(parent);
+
+				final BitmapIndex.Internal<?, Object[]> index = this.resolveIndex(parent);
+				if(!(index.indexer() instanceof SpatialIndexer.Abstract)
+					|| ((SpatialIndexer.Abstract<?>)index.indexer()).finestCellLevel != this.indexer.finestCellLevel
+				)
+				{
+					return exactResult;
+				}
+
+				// the sparse cell result first, so that AND iteration skips all segments without candidates right away.
+				return new BitmapResult.ChainAnd(new BitmapResult[]{
+					index.search(new CompositePredicate.ObjectSetBased(this.subKeyPosition, this.cells)),
+					exactResult
+				});
+			}
+
+			@SuppressWarnings("unchecked")
+			private <S> BitmapIndex.Internal<?, Object[]> resolveIndex(final BitmapIndices.Internal<S> parent)
+			{
+				return ((SpatialIndexer.Abstract<? super S>)this.indexer).resolveFor(parent);
+			}
+
+			@Override
+			public boolean test(final E entity)
+			{
+				return this.exact.test(entity);
+			}
+
+		}
+
+
 		// ---- encoding ----
 
 		private static void fillCarrier(final double latitude, final double longitude, final Object[] carrier)
@@ -475,9 +697,14 @@ public interface SpatialIndexer<E> extends HashingCompositeIndexer<E>
 			return values;
 		}
 
+		private static int toFixed(final double value)
+		{
+			return (int)(value * SCALE);
+		}
+
 		private static void coordinateToUnsignedBytes(final double value, final int[] target)
 		{
-			final int fixed   = (int)(value * SCALE);
+			final int fixed   = toFixed(value);
 			final int ordered = fixed ^ 0x80000000;
 			target[0] = (ordered >>> 24) & 0xFF;
 			target[1] = (ordered >>> 16) & 0xFF;
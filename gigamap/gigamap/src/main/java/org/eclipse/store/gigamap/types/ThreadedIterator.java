@@ -748,8 +748,14 @@ public final class ThreadedIterator implements ResultIdIterator, GigaMap.Reading
 			final long           currentValueGroupAddress
 		)
 		{
+			// values that are known to be 0L for at least one result are skipped without ever being looked at.
+			final long valueMask = BitmapResult.andValueMasks(results);
+			
 			boolean vgiHasData = false;
-			for(int level1Index = 0; level1Index < LEVEL_1_VALUE_COUNT; level1Index++)
+			for(int level1Index = BitmapResult.nextValueIndex(valueMask, -1);
+				level1Index < LEVEL_1_VALUE_COUNT;
+				level1Index = BitmapResult.nextValueIndex(valueMask, level1Index)
+			)
 			{
 				// iterate over each result and calculate the current bitmap value result.
 				final long valueResult = calculateBitmapValue(results, level1Index);
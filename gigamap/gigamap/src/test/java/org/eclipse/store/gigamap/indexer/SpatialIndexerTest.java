@@ -17,6 +17,7 @@ package org.eclipse.store.gigamap.indexer;
 import org.eclipse.store.gigamap.types.BitmapIndices;
 import org.eclipse.store.gigamap.types.Condition;
 import org.eclipse.store.gigamap.types.GigaMap;
+import org.eclipse.store.gigamap.types.GigaQuery;
 import org.eclipse.store.gigamap.types.IndexerString;
 import org.eclipse.store.gigamap.types.SpatialIndexer;
 import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
@@ -25,7 +26,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -415,6 +419,89 @@ public class SpatialIndexerTest
 	}
 
 
+	/**
+	 * Cell-covered withinBox/near conditions must yield exactly what the plain coordinate range conditions of an
+	 * indexer without cells yield, for boxes of all sizes, including such crossing the antimeridian.
+	 */
+	@Test
+	void cellCoveredQueriesMatchRangeQueries()
+	{
+		final CellLessLocationIndex plain = new CellLessLocationIndex("plain");
+		final GigaMap<Location>     map   = GigaMap.<Location>Builder()
+			.withBitmapIndex(this.locationIndex)
+			.withBitmapIndex(plain)
+			.build();
+
+		final Random random = new Random(4711);
+		for(int i = 0; i < 20_000; i++)
+		{
+			// clustered around a few centers, like real locations, plus some spread over the whole globe.
+			final double lat = i % 10 == 0 ? random.nextDouble() * 180.0 - 90.0  : 48.0 + random.nextGaussian();
+			final double lon = i % 10 == 0 ? random.nextDouble() * 360.0 - 180.0 : (i % 3 == 0 ? 179.5 : 11.0) + random.nextGaussian() * 0.3;
+			map.add(new Location("L" + i, lat, Math.max(-180.0, Math.min(180.0, lon))));
+		}
+
+		final double[][] boxes = {
+			{48.0, 48.05, 11.0, 11.05},
+			{47.5, 48.5 , 10.5, 11.5 },
+			{40.0, 55.0 ,  0.0, 20.0 },
+			{-90.0, 90.0, -180.0, 180.0},
+			{47.0, 49.0 , 179.0, -179.0},
+			{48.0, 48.0 , 11.0 , 11.0}
+		};
+		for(final double[] b : boxes)
+		{
+			assertEquals(
+				names(map.query(plain.withinBox(b[0], b[1], b[2], b[3]))),
+				names(map.query(this.locationIndex.withinBox(b[0], b[1], b[2], b[3]))),
+				() -> "withinBox " + Arrays.toString(b)
+			);
+		}
+
+		for(final double radiusKm : new double[]{0.5, 5.0, 50.0, 500.0, 5000.0})
+		{
+			assertEquals(
+				names(map.query(plain.near(48.0, 11.0, radiusKm))),
+				names(map.query(this.locationIndex.near(48.0, 11.0, radiusKm))),
+				"near " + radiusKm
+			);
+			assertEquals(
+				names(map.query(plain.near(48.0, 179.9, radiusKm))),
+				names(map.query(this.locationIndex.near(48.0, 179.9, radiusKm))),
+				"near antimeridian " + radiusKm
+			);
+		}
+
+		assertFalse(names(map.query(this.locationIndex.near(48.0, 11.0, 5.0))).isEmpty());
+	}
+
+	/**
+	 * An index built without cells, e.g. by an indexer instance loaded from a storage written before the
+	 * cells existed, must still be queried correctly by conditions created by an indexer with cells.
+	 */
+	@Test
+	void cellCoveredQueriesOnIndexWithoutCells()
+	{
+		final GigaMap<Location> map = GigaMap.New();
+		map.index().bitmap().add(new CellLessLocationIndex(this.locationIndex.name()));
+		map.addAll(
+			new Location("New York",  40.7128,  -74.0060),
+			new Location("London",    51.5074,   -0.1278),
+			new Location("Tokyo",     35.6762,  139.6503)
+		);
+
+		assertEquals(List.of("London"), names(map.query(this.locationIndex.withinBox(51.0, 52.0, -1.0, 1.0))));
+		assertEquals(List.of("New York"), names(map.query(this.locationIndex.near(40.7, -74.0, 10.0))));
+	}
+
+	private static List<String> names(final GigaQuery<Location> query)
+	{
+		final List<String> names = new ArrayList<>();
+		query.forEach(l -> names.add(l.name));
+		return names;
+	}
+
+
 	// ---- test infrastructure ----
 
 	private GigaMap<Location> prepareGigaMap()
@@ -453,6 +540,36 @@ public class SpatialIndexerTest
 	}
 
 
+	private static class CellLessLocationIndex extends SpatialIndexer.Abstract<Location>
+	{
+		private final String name;
+
+		CellLessLocationIndex(final String name)
+		{
+			super(0);
+			this.name = name;
+		}
+
+		@Override
+		public String name()
+		{
+			return this.name;
+		}
+
+		@Override
+		protected Double getLatitude(final Location entity)
+		{
+			return entity.latitude;
+		}
+
+		@Override
+		protected Double getLongitude(final Location entity)
+		{
+			return entity.longitude;
+		}
+	}
+
+
 	private static class NameIndex extends IndexerString.Abstract<Location>
 	{
 		@Override
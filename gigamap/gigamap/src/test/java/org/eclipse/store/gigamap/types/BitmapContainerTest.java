@@ -0,0 +1,197 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Query iteration skips level1 values via the value and full masks provided by {@link BitmapContainer}s and
+ * combined by the {@link BitmapResult} implementations. Skipping is only an optimization, so every query must
+ * yield exactly what a brute force filter over all entities yields.
+ * <p>
+ * The data deliberately mixes the container kinds: a sparse key (a handful of ids per level1 segment), a dense
+ * run spanning many complete level1 segments and a key that is set in every other value only. Every query is
+ * checked with standalone (uncompressed) segments, with compressed segments and with the threaded iterator.
+ */
+public class BitmapContainerTest
+{
+	static class Item
+	{
+		final int id;
+
+		Item(final int id)
+		{
+			super();
+			this.id = id;
+		}
+	}
+
+	static final int
+		ENTITY_COUNT = 3 * BitmapLevel3.LEVEL_1_ID_COUNT * 20 + 17,
+		RUN_START    = 5 * BitmapLevel3.LEVEL_1_ID_COUNT + 100,
+		RUN_BOUND    = 40 * BitmapLevel3.LEVEL_1_ID_COUNT - 3
+	;
+
+	static boolean isSparse(final int id)
+	{
+		return id % 997 == 0;
+	}
+
+	static boolean isRun(final int id)
+	{
+		return id >= RUN_START && id < RUN_BOUND;
+	}
+
+	static boolean isStriped(final int id)
+	{
+		// every other 64-bit value: all-1-bits and all-0-bits values alternate.
+		return (id >>> 6 & 1) == 0;
+	}
+
+	static class KindIndexer extends IndexerInteger.Abstract<Item>
+	{
+		@Override
+		protected Integer getInteger(final Item entity)
+		{
+			return isSparse(entity.id) ? 1 : isRun(entity.id) ? 2 : 0;
+		}
+	}
+
+	static class StripeIndexer extends IndexerBoolean.Abstract<Item>
+	{
+		@Override
+		protected Boolean getBoolean(final Item entity)
+		{
+			return isStriped(entity.id);
+		}
+	}
+
+	private static final KindIndexer   KIND   = new KindIndexer();
+	private static final StripeIndexer STRIPE = new StripeIndexer();
+
+	@Test
+	public void queriesOverMixedContainersMatchBruteForce()
+	{
+		final GigaMap<Item> map = createMap();
+		try
+		{
+			assertAllQueries(map, "standalone segments");
+
+			map.index().bitmap(KIND).ensureOptimizedSize();
+			map.index().bitmap(STRIPE).ensureOptimizedSize();
+			assertAllQueries(map, "compressed segments");
+
+			map.index().bitmap(KIND).ensureOptimizedPerformance();
+			assertAllQueries(map, "mixed segments");
+		}
+		finally
+		{
+			map.release();
+		}
+	}
+
+	@Test
+	public void queriesStartingInsideASegmentMatchBruteForce()
+	{
+		final GigaMap<Item> map = createMap();
+		try
+		{
+			map.index().bitmap(KIND).ensureOptimizedSize();
+
+			final long idStart = RUN_START + 1234;
+			final long idBound = RUN_BOUND - 4321;
+			final List<Integer> expected = new ArrayList<>();
+			for(int id = (int)idStart; id < idBound; id++)
+			{
+				if(isRun(id) && !isStriped(id))
+				{
+					expected.add(id);
+				}
+			}
+
+			assertEquals(expected, ids(map.query(KIND.is(2)).and(STRIPE.is(false)).idRange(idStart, idBound)));
+		}
+		finally
+		{
+			map.release();
+		}
+	}
+
+	private static GigaMap<Item> createMap()
+	{
+		final GigaMap<Item> map = GigaMap.New();
+		map.index().bitmap().add(KIND);
+		map.index().bitmap().add(STRIPE);
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			map.add(new Item(i));
+		}
+
+		return map;
+	}
+
+	private static void assertAllQueries(final GigaMap<Item> map, final String state)
+	{
+		assertQuery(map.query(KIND.is(1)), id -> isSparse(id), state + ": sparse");
+		assertQuery(map.query(KIND.is(2)), id -> isRun(id), state + ": run");
+		assertQuery(map.query(STRIPE.is(true)), id -> isStriped(id), state + ": striped");
+		assertQuery(map.query(KIND.is(1)).or(KIND.is(2)), id -> isSparse(id) || isRun(id), state + ": sparse OR run");
+		assertQuery(map.query(KIND.is(2)).and(STRIPE.is(true)), id -> isRun(id) && isStriped(id), state + ": run AND striped");
+		assertQuery(map.query(KIND.is(1)).and(STRIPE.is(true)), id -> isSparse(id) && isStriped(id), state + ": sparse AND striped");
+		assertQuery(map.query(KIND.is(2)).and(KIND.not(1)), id -> isRun(id), state + ": run ANDNOT sparse");
+		assertQuery(map.query(KIND.not(2)).and(STRIPE.is(true)), id -> !isRun(id) && isStriped(id), state + ": NOT run AND striped");
+		assertQuery(map.query(KIND.is(1)).and(KIND.is(2)), id -> false, state + ": disjoint AND");
+		assertQuery(map.query(KIND.is(2).or(STRIPE.is(true))).and(KIND.not(1)), id -> (isRun(id) || isStriped(id)) && !isSparse(id), state + ": (run OR striped) ANDNOT sparse");
+		assertQuery(map.query(KIND.not(1)).and(KIND.not(2)).and(STRIPE.is(false)), id -> !isSparse(id) && !isRun(id) && !isStriped(id), state + ": nested NOTs");
+
+		final IterationThreadProvider provider = IterationThreadProvider.Pooling(4, ThreadCountProvider.Fixed(2));
+		assertQuery(map.query(provider).and(KIND.is(2)).and(STRIPE.is(false)), id -> isRun(id) && !isStriped(id), state + ": threaded");
+	}
+
+	private static void assertQuery(final GigaQuery<Item> query, final Predicate<Integer> filter, final String message)
+	{
+		final List<Integer> expected = new ArrayList<>();
+		for(int id = 0; id < ENTITY_COUNT; id++)
+		{
+			if(filter.test(id))
+			{
+				expected.add(id);
+			}
+		}
+
+		assertEquals(expected, ids(query), message);
+	}
+
+	private static List<Integer> ids(final GigaQuery<Item> query)
+	{
+		final List<Integer> ids = new ArrayList<>();
+		try(final GigaIterator<Item> iterator = query.iterator())
+		{
+			while(iterator.hasNext())
+			{
+				ids.add(iterator.next().id);
+			}
+		}
+
+		return ids;
+	}
+
+}
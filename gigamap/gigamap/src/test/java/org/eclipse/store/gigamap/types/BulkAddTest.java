@@ -0,0 +1,235 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.store.gigamap.exceptions.UniqueConstraintViolationExceptionBitmap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The bulk load path must yield exactly the same map as {@link GigaMap#addAll(Iterable)}, and it must leave the map
+ * unchanged if the batch violates a unique constraint, be it against an existing entity or within the batch itself.
+ */
+public class BulkAddTest
+{
+	static class Item
+	{
+		final int    id  ;
+		final String name;
+		final int    day ;
+
+		Item(final int id)
+		{
+			this(id, "item" + id);
+		}
+
+		Item(final int id, final String name)
+		{
+			this(id, name, id);
+		}
+
+		Item(final int id, final String name, final int day)
+		{
+			super();
+			this.id   = id;
+			this.name = name;
+			this.day  = day;
+		}
+	}
+
+	static class CategoryIndexer extends IndexerInteger.Abstract<Item>
+	{
+		@Override
+		protected Integer getInteger(final Item entity)
+		{
+			return entity.id % 7;
+		}
+	}
+
+	static class FlagIndexer extends IndexerBoolean.Abstract<Item>
+	{
+		@Override
+		protected Boolean getBoolean(final Item entity)
+		{
+			return entity.id % 3 == 0;
+		}
+	}
+
+	static class NameIndexer extends IndexerString.Abstract<Item>
+	{
+		@Override
+		protected String getString(final Item entity)
+		{
+			return entity.name;
+		}
+	}
+
+	static class DayIndexer extends IndexerLocalDate.Abstract<Item>
+	{
+		@Override
+		protected LocalDate getLocalDate(final Item entity)
+		{
+			return LocalDate.ofEpochDay(entity.day);
+		}
+	}
+
+	private static final CategoryIndexer CATEGORY = new CategoryIndexer();
+	private static final FlagIndexer     FLAG     = new FlagIndexer();
+	private static final NameIndexer     NAME     = new NameIndexer();
+	private static final DayIndexer      DAY      = new DayIndexer();
+
+	private static final int ENTITY_COUNT = 3 * BitmapLevel3.LEVEL_1_ID_COUNT + 123;
+
+	@Test
+	public void bulkAddEqualsRegularAdd()
+	{
+		final GigaMap<Item> regular = createMap();
+		final GigaMap<Item> bulk    = createMap();
+
+		regular.addAll(items(0, ENTITY_COUNT));
+		assertEquals(ENTITY_COUNT - 1, bulk.addAllBulk(items(0, ENTITY_COUNT), 4));
+
+		assertEquals(regular.size(), bulk.size());
+		assertEquals(ids(regular.query(CATEGORY.is(3))), ids(bulk.query(CATEGORY.is(3))));
+		assertEquals(ids(regular.query(FLAG.is(true))), ids(bulk.query(FLAG.is(true))));
+		assertEquals(ids(regular.query(CATEGORY.not(2)).and(FLAG.is(false))), ids(bulk.query(CATEGORY.not(2)).and(FLAG.is(false))));
+		assertEquals(List.of(1234), ids(bulk.query(NAME.is("item1234"))));
+	}
+
+	@Test
+	public void bulkAddAppendsToExistingEntities()
+	{
+		final GigaMap<Item> map = createMap();
+		map.addAll(items(0, 1000));
+
+		map.addAllBulk(IntStream.range(1000, ENTITY_COUNT).mapToObj(Item::new), 3);
+
+		assertEquals(ENTITY_COUNT, map.size());
+		assertEquals(List.of(10), ids(map.query(NAME.is("item10"))));
+		assertEquals(List.of(4000), ids(map.query(NAME.is("item4000"))));
+		assertEquals(ENTITY_COUNT / 3 + 1, ids(map.query(FLAG.is(true))).size());
+	}
+
+	@Test
+	public void duplicateWithinBatchIsRejected()
+	{
+		final GigaMap<Item> map = createMap();
+		map.addAll(items(0, 10));
+
+		final List<Item> batch = items(10, 2000);
+		batch.add(new Item(5000, "item1500"));
+
+		assertThrows(UniqueConstraintViolationExceptionBitmap.class, () -> map.addAllBulk(batch, 2));
+		assertUnchanged(map, 10);
+	}
+
+	@Test
+	public void duplicateCompositeKeyWithinBatchIsRejected()
+	{
+		final GigaMap<Item> map = createMap();
+		map.index().bitmap().addUniqueConstraint(DAY);
+		map.addAll(items(0, 10));
+
+		// composite keys are arrays, equal keys are different instances.
+		final List<Item> batch = items(10, 2000);
+		batch.add(new Item(5000, "item5000", 1500));
+
+		assertThrows(UniqueConstraintViolationExceptionBitmap.class, () -> map.addAllBulk(batch, 2));
+		assertUnchanged(map, 10);
+
+		assertEquals(1999, map.addAllBulk(items(11, 2000), 2));
+		assertEquals(List.of(1500), ids(map.query(DAY.is(LocalDate.ofEpochDay(1500)))));
+	}
+
+	@Test
+	public void duplicateOfExistingEntityIsRejected()
+	{
+		final GigaMap<Item> map = createMap();
+		map.addAll(items(0, 10));
+
+		final List<Item> batch = items(10, 2000);
+		batch.add(new Item(5000, "item7"));
+
+		assertThrows(UniqueConstraintViolationExceptionBitmap.class, () -> map.addAllBulk(batch, 2));
+		assertUnchanged(map, 10);
+	}
+
+	@Test
+	public void invalidInputIsRejected()
+	{
+		final GigaMap<Item> map = createMap();
+		map.addAll(items(0, 10));
+
+		final List<Item> batch = items(10, 20);
+		batch.add(null);
+
+		assertThrows(IllegalArgumentException.class, () -> map.addAllBulk(batch, 2));
+		assertThrows(IllegalArgumentException.class, () -> map.addAllBulk(items(10, 20), 0));
+		assertUnchanged(map, 10);
+	}
+
+	private static void assertUnchanged(final GigaMap<Item> map, final int size)
+	{
+		assertEquals(size, map.size());
+		assertEquals(List.of(), ids(map.query(NAME.is("item" + size))));
+
+		// the ids of the rolled back batch are reused.
+		assertEquals(size, map.add(new Item(size)));
+		assertEquals(List.of(size), ids(map.query(NAME.is("item" + size))));
+	}
+
+	private static GigaMap<Item> createMap()
+	{
+		final GigaMap<Item> map = GigaMap.New();
+		map.index().bitmap().add(CATEGORY);
+		map.index().bitmap().add(FLAG);
+		map.index().bitmap().addUniqueConstraint(NAME);
+
+		return map;
+	}
+
+	private static List<Item> items(final int from, final int bound)
+	{
+		final List<Item> items = new ArrayList<>();
+		for(int i = from; i < bound; i++)
+		{
+			items.add(new Item(i));
+		}
+
+		return items;
+	}
+
+	private static List<Integer> ids(final GigaQuery<Item> query)
+	{
+		final List<Integer> ids = new ArrayList<>();
+		try(final GigaIterator<Item> iterator = query.iterator())
+		{
+			while(iterator.hasNext())
+			{
+				ids.add(iterator.next().id);
+			}
+		}
+
+		return ids;
+	}
+
+}
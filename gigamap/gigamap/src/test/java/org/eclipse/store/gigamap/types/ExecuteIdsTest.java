@@ -0,0 +1,124 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link GigaQuery#executeIds()} yields the ids of the matching entities from the indices alone,
+ * without loading any entity.
+ */
+public class ExecuteIdsTest
+{
+	static final int ENTITY_COUNT = 3 * BitmapLevel3.LEVEL_1_ID_COUNT + 123;
+
+	static class Item
+	{
+		final int id;
+
+		Item(final int id)
+		{
+			super();
+			this.id = id;
+		}
+	}
+
+	static class CategoryIndexer extends IndexerInteger.Abstract<Item>
+	{
+		@Override
+		protected Integer getInteger(final Item entity)
+		{
+			return entity.id % 7;
+		}
+	}
+
+	private static final CategoryIndexer CATEGORY = new CategoryIndexer();
+
+	@Test
+	void idsMatchTheResolvedEntities()
+	{
+		final GigaMap<Item> map = createMap();
+
+		assertArrayEquals(ids(map, id -> id % 7 == 3), map.query(CATEGORY.is(3)).executeIds());
+		assertArrayEquals(ids(map, id -> id % 7 != 3 && id < 1000), map.query(CATEGORY.not(3)).idBound(1000).executeIds());
+		assertArrayEquals(new long[0], map.query(CATEGORY.is(42)).executeIds());
+		assertEquals(ENTITY_COUNT, map.query().executeIds().length);
+	}
+
+	@Test
+	void idsAreStreamedToAConsumer()
+	{
+		final GigaMap<Item> map = createMap();
+
+		final LongStream.Builder streamed = LongStream.builder();
+		map.query(CATEGORY.is(3)).executeIds(streamed);
+		assertArrayEquals(ids(map, id -> id % 7 == 3), streamed.build().toArray());
+	}
+
+	@Test
+	void noConditionYieldsTheIdRange()
+	{
+		final GigaMap<Item> map = createMap();
+
+		assertArrayEquals(LongStream.range(10, 100).toArray(), map.query().idStart(10).idBound(100).executeIds());
+		assertArrayEquals(ids(map, id -> true), map.query().executeIds());
+	}
+
+	@Test
+	void entitiesAreNotLoaded(@TempDir final Path dir)
+	{
+		final GigaMap<Item> map = createMap();
+		try(final EmbeddedStorageManager storage = EmbeddedStorage.start(map, dir))
+		{
+			map.release();
+			assertNull(map.peek(3), "precondition: release() must have evicted the segments");
+
+			assertArrayEquals(ids(map, id -> id % 7 == 3), map.query(CATEGORY.is(3)).executeIds());
+			assertNull(map.peek(3));
+
+			assertEquals(ENTITY_COUNT, map.query().executeIds().length);
+			assertNull(map.peek(3));
+		}
+	}
+
+	private static GigaMap<Item> createMap()
+	{
+		final GigaMap<Item> map = GigaMap.New();
+		map.index().bitmap().add(CATEGORY);
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			map.add(new Item(i));
+		}
+
+		return map;
+	}
+
+	private static long[] ids(final GigaMap<Item> map, final LongPredicate filter)
+	{
+		return LongStream.range(0, map.size()).filter(filter).toArray();
+	}
+
+}
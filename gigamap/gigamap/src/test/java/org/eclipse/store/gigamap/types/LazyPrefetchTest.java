@@ -0,0 +1,129 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.serializer.reference.Lazy;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unloaded lazy references are resolved in batches: explicitly via {@link LazyPrefetch} and implicitly
+ * by sequential iterations over the level1 segments of a {@link GigaMap}.
+ * <p>
+ * {@code GigaMap.New(1)} puts 2 entities into a level1 segment, so 100 entities span 50 segments,
+ * more than one prefetch batch of {@link GigaMap.Default#LEVEL1_PREFETCH_COUNT}.
+ */
+public class LazyPrefetchTest
+{
+	static final int ENTITY_COUNT = 100;
+
+	static class Item
+	{
+		final String name;
+
+		Item(final String name)
+		{
+			super();
+			this.name = name;
+		}
+	}
+
+	@Test
+	void prefetchResolvesAllPassedReferences(@TempDir final Path dir)
+	{
+		final List<Lazy<Item>> lazies = new ArrayList<>();
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			lazies.add(Lazy.Reference(new Item("item #" + i)));
+		}
+
+		try(final EmbeddedStorageManager storage = EmbeddedStorage.start(lazies, dir))
+		{
+			lazies.forEach(Lazy::clear);
+			lazies.forEach(lazy -> assertFalse(lazy.isLoaded()));
+
+			assertEquals(ENTITY_COUNT, LazyPrefetch.prefetch(lazies));
+
+			for(int i = 0; i < ENTITY_COUNT; i++)
+			{
+				assertTrue(lazies.get(i).isLoaded());
+				assertEquals("item #" + i, lazies.get(i).peek().name);
+			}
+
+			// nothing left to resolve
+			assertEquals(0, LazyPrefetch.prefetch(lazies));
+		}
+	}
+
+	@Test
+	void iterationPrefetchesFollowingSegments(@TempDir final Path dir)
+	{
+		final GigaMap<Item> map = GigaMap.New(1);
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			map.add(new Item("item #" + i));
+		}
+
+		try(final EmbeddedStorageManager storage = EmbeddedStorage.start(map, dir))
+		{
+			map.release();
+			assertNull(map.peek(0), "precondition: release() must have evicted the segments");
+
+			// the first segment is resolved together with its following siblings, up to the batch size
+			final int lastPrefetchedId = 2 * GigaMap.Default.LEVEL1_PREFETCH_COUNT - 1;
+
+			try(final GigaIterator<Item> iterator = map.iterator())
+			{
+				assertTrue(iterator.hasNext());
+				assertEquals("item #0", iterator.next().name);
+				assertNotNull(map.peek(lastPrefetchedId));
+				assertNull(map.peek(lastPrefetchedId + 1));
+
+				int count = 1;
+				while(iterator.hasNext())
+				{
+					assertEquals("item #" + count++, iterator.next().name);
+				}
+				assertEquals(ENTITY_COUNT, count);
+			}
+
+			map.release();
+			final List<Item> iterated = new ArrayList<>();
+			map.iterate(item ->
+			{
+				if(iterated.isEmpty())
+				{
+					assertNotNull(map.peek(lastPrefetchedId));
+					assertNull(map.peek(lastPrefetchedId + 1));
+				}
+				iterated.add(item);
+			});
+			assertEquals(ENTITY_COUNT, iterated.size());
+		}
+	}
+
+}
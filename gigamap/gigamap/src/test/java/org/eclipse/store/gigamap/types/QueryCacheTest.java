@@ -0,0 +1,291 @@
+package org.eclipse.store.gigamap.types;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * A cached query result must always be exactly what evaluating the condition against the current indices yields.
+ * Besides that, equal conditions must share a cache entry and modifications of indices a condition does not refer
+ * to must not invalidate it.
+ */
+public class QueryCacheTest
+{
+	static class Item
+	{
+		final int id;
+		int       category;
+		boolean   flag;
+
+		Item(final int id)
+		{
+			super();
+			this.id       = id;
+			this.category = id % 7;
+			this.flag     = id % 3 == 0;
+		}
+	}
+
+	static class CategoryIndexer extends IndexerInteger.Abstract<Item>
+	{
+		@Override
+		protected Integer getInteger(final Item entity)
+		{
+			return entity.category;
+		}
+	}
+
+	static class FlagIndexer extends IndexerBoolean.Abstract<Item>
+	{
+		@Override
+		protected Boolean getBoolean(final Item entity)
+		{
+			return entity.flag;
+		}
+	}
+
+	static class NameIndexer extends IndexerString.Abstract<Item>
+	{
+		@Override
+		protected String getString(final Item entity)
+		{
+			return "item" + entity.id;
+		}
+	}
+
+	private static final CategoryIndexer CATEGORY = new CategoryIndexer();
+	private static final FlagIndexer     FLAG     = new FlagIndexer();
+	private static final NameIndexer     NAME     = new NameIndexer();
+
+	private static final int ENTITY_COUNT = 3 * BitmapLevel3.LEVEL_1_ID_COUNT + 123;
+
+	@Test
+	public void cachedResultsMatchBruteForce()
+	{
+		final GigaMap<Item> map = createMap();
+		final QueryCache    cache = map.enableQueryCache(1L << 24);
+
+		for(int run = 0; run < 2; run++)
+		{
+			assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+			assertQuery(map, map.query(CATEGORY.is(3)).and(FLAG.is(true)), e -> e.category == 3 && e.flag);
+			assertQuery(map, map.query(CATEGORY.in(1, 2)).or(FLAG.is(true)), e -> e.category == 1 || e.category == 2 || e.flag);
+			assertQuery(map, map.query(CATEGORY.not(3)), e -> e.category != 3);
+			assertQuery(map, map.query(FLAG.is(false)).and(CATEGORY.notIn(0, 6)), e -> !e.flag && e.category != 0 && e.category != 6);
+		}
+
+		// five distinct conditions, each evaluated once and answered from the cache once.
+		assertEquals(5, cache.entryCount());
+		assertEquals(5, cache.missCount());
+		assertEquals(5, cache.hitCount());
+		assertTrue(cache.memorySize() > 0L);
+	}
+
+	@Test
+	public void equalConditionsShareAnEntry()
+	{
+		final GigaMap<Item> map = createMap();
+		final QueryCache    cache = map.enableQueryCache(1L << 24);
+
+		ids(map.query(CATEGORY.is(3)).and(FLAG.is(true)));
+		ids(map.query(FLAG.is(true)).and(CATEGORY.is(3)));
+		ids(map.query(FLAG.is(true).and(CATEGORY.is(3))));
+
+		assertEquals(1, cache.entryCount());
+		assertEquals(2, cache.hitCount());
+	}
+
+	@Test
+	public void predicateConditionsAreNotCached()
+	{
+		final GigaMap<Item> map = createMap();
+		final QueryCache    cache = map.enableQueryCache(1L << 24);
+
+		assertQuery(map, map.query(NAME.startsWith("item12")), e -> ("item" + e.id).startsWith("item12"));
+		assertQuery(map, map.query(NAME.startsWith("item12")), e -> ("item" + e.id).startsWith("item12"));
+
+		assertEquals(0, cache.entryCount());
+		assertEquals(0, cache.missCount());
+	}
+
+	@Test
+	public void modificationsInvalidateReferringEntriesOnly()
+	{
+		final GigaMap<Item> map = createMap();
+		final QueryCache    cache = map.enableQueryCache(1L << 24);
+
+		ids(map.query(CATEGORY.is(3)));
+		ids(map.query(FLAG.is(true)));
+		assertEquals(2, cache.missCount());
+
+		// only the flag index changes: the category entry stays valid.
+		map.update(map.get(21), e -> e.flag = false);
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+		assertQuery(map, map.query(FLAG.is(true)), e -> e.flag);
+		assertEquals(1, cache.hitCount());
+		assertEquals(3, cache.missCount());
+
+		// removing and adding entities changes all indices.
+		map.removeById(3);
+		map.add(new Item(ENTITY_COUNT));
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+		assertQuery(map, map.query(CATEGORY.not(3)), e -> e.category != 3);
+		assertEquals(1, cache.hitCount());
+
+		map.removeAll();
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> false);
+	}
+
+	@Test
+	public void partialIterationsDoNotPopulateTheCache()
+	{
+		final GigaMap<Item> map = createMap();
+		final QueryCache    cache = map.enableQueryCache(1L << 24);
+
+		// an iteration that ends early only records the segments it has seen, which is no complete result.
+		try(final GigaIterator<Item> iterator = map.query(CATEGORY.is(3)).iterator())
+		{
+			assertTrue(iterator.hasNext());
+			assertEquals(3, iterator.next().id);
+		}
+		assertEquals(0, cache.entryCount());
+
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+		assertEquals(1, cache.entryCount());
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+		assertEquals(1, cache.hitCount());
+		assertEquals(2, cache.missCount());
+	}
+
+	@Test
+	public void memoryBoundEvictsLeastRecentlyUsed()
+	{
+		final GigaMap<Item> map = createMap();
+
+		map.enableQueryCache(1L << 24);
+		ids(map.query(CATEGORY.is(1)));
+		final long entryMemorySize = map.queryCache().memorySize();
+
+		// room for two entries of the same shape, but not for three.
+		final QueryCache cache = map.enableQueryCache(entryMemorySize * 5 / 2);
+		ids(map.query(CATEGORY.is(1)));
+		ids(map.query(CATEGORY.is(2)));
+		ids(map.query(CATEGORY.is(1)));
+		ids(map.query(CATEGORY.is(4)));
+		assertEquals(2, cache.entryCount());
+		assertTrue(cache.memorySize() <= cache.maximumMemorySize());
+
+		// category 2 was the least recently used entry and got evicted, category 1 did not.
+		ids(map.query(CATEGORY.is(1)));
+		assertEquals(2, cache.hitCount());
+		ids(map.query(CATEGORY.is(2)));
+		assertEquals(2, cache.hitCount());
+	}
+
+	@Test
+	public void memoryBoundEvictsLeastFrequentlyUsed()
+	{
+		final GigaMap<Item> map = createMap();
+
+		map.enableQueryCache(1L << 24);
+		ids(map.query(CATEGORY.is(1)));
+		final long entryMemorySize = map.queryCache().memorySize();
+
+		final QueryCache cache = map.enableQueryCache(entryMemorySize * 5 / 2, QueryCache.EvictionPolicy.LEAST_FREQUENTLY_USED);
+		assertEquals(QueryCache.EvictionPolicy.LEAST_FREQUENTLY_USED, cache.evictionPolicy());
+		ids(map.query(CATEGORY.is(1)));
+		ids(map.query(CATEGORY.is(1)));
+		ids(map.query(CATEGORY.is(1)));
+		ids(map.query(CATEGORY.is(2)));
+		ids(map.query(CATEGORY.is(2)));
+		ids(map.query(CATEGORY.is(4)));
+		assertEquals(2, cache.entryCount());
+		assertEquals(3, cache.hitCount());
+
+		// category 1 was the least recently used, but most frequently used entry. Category 2 got evicted instead.
+		ids(map.query(CATEGORY.is(1)));
+		assertEquals(4, cache.hitCount());
+		ids(map.query(CATEGORY.is(2)));
+		assertEquals(4, cache.hitCount());
+	}
+
+	@Test
+	public void enablingAndDisabling()
+	{
+		final GigaMap<Item> map = createMap();
+		assertNull(map.queryCache());
+		assertThrows(IllegalArgumentException.class, () -> map.enableQueryCache(0L));
+
+		final QueryCache cache = map.enableQueryCache(1L << 20);
+		assertSame(cache, map.queryCache());
+
+		map.disableQueryCache();
+		assertNull(map.queryCache());
+		assertQuery(map, map.query(CATEGORY.is(3)), e -> e.category == 3);
+	}
+
+	private static GigaMap<Item> createMap()
+	{
+		final GigaMap<Item> map = GigaMap.New();
+		map.index().bitmap().add(CATEGORY);
+		map.index().bitmap().add(FLAG);
+		map.index().bitmap().add(NAME);
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			map.add(new Item(i));
+		}
+
+		return map;
+	}
+
+	private static void assertQuery(final GigaMap<Item> map, final GigaQuery<Item> query, final Predicate<Item> filter)
+	{
+		final List<Integer> expected = new ArrayList<>();
+		map.iterate(e ->
+		{
+			if(filter.test(e))
+			{
+				expected.add(e.id);
+			}
+		});
+
+		assertEquals(expected, ids(query));
+	}
+
+	private static List<Integer> ids(final GigaQuery<Item> query)
+	{
+		final List<Integer> ids = new ArrayList<>();
+		try(final GigaIterator<Item> iterator = query.iterator())
+		{
+			while(iterator.hasNext())
+			{
+				ids.add(iterator.next().id);
+			}
+		}
+
+		return ids;
+	}
+
+}
@@ -90,13 +90,38 @@ interface PQCompressionManager
      * @param similarityFunction the similarity function to use
      * @return the search result with reranked nodes
      */
+    public default SearchResult searchWithRerank(
+        final VectorFloat<?>           query             ,
+        final int                      k                 ,
+        final int                      rerankK           ,
+        final GraphSearcher            searcher          ,
+        final RandomAccessVectorValues ravv              ,
+        final VectorSimilarityFunction similarityFunction
+    )
+    {
+        return this.searchWithRerank(query, k, rerankK, searcher, ravv, similarityFunction, Bits.ALL);
+    }
+
+    /**
+     * Searches using PQ-compressed vectors with reranking, restricted to the accepted nodes.
+     *
+     * @param query              the query vector
+     * @param k                  the number of results to return
+     * @param rerankK            minimum beam width (search effort) for the HNSW search
+     * @param searcher           the graph searcher to use
+     * @param ravv               random access vector values for exact reranking
+     * @param similarityFunction the similarity function to use
+     * @param acceptBits         the nodes that may be part of the result
+     * @return the search result with reranked nodes
+     */
     public SearchResult searchWithRerank(
         VectorFloat<?>           query             ,
         int                      k                 ,
         int                      rerankK           ,
         GraphSearcher            searcher          ,
         RandomAccessVectorValues ravv              ,
-        VectorSimilarityFunction similarityFunction
+        VectorSimilarityFunction similarityFunction,
+        Bits                     acceptBits
     );
 
     /**
@@ -243,7 +268,8 @@ interface PQCompressionManager
             final int                      rerankK           ,
             final GraphSearcher            searcher          ,
             final RandomAccessVectorValues ravv              ,
-            final VectorSimilarityFunction similarityFunction
+            final VectorSimilarityFunction similarityFunction,
+            final Bits                     acceptBits
         )
         {
             // Search with PQ for approximate results (fetch more candidates for reranking)
@@ -256,7 +282,7 @@ interface PQCompressionManager
                 ravv
             );
 
-            final SearchResult result = searcher.search(ssp, candidateCount, candidateCount, 0f, 0f, Bits.ALL);
+            final SearchResult result = searcher.search(ssp, candidateCount, candidateCount, 0f, 0f, acceptBits);
 
             // Rerank with exact vectors to get the best k
             final List<NodeScoreEntry> reranked = new ArrayList<>();
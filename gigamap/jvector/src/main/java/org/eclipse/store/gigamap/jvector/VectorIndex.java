@@ -29,8 +29,10 @@ import org.eclipse.serializer.persistence.binary.types.BinaryTypeHandler;
 import org.eclipse.serializer.persistence.types.Storer;
 import org.eclipse.store.gigamap.types.AbstractStateChangeFlagged;
 import org.eclipse.store.gigamap.types.BitmapIndex;
+import org.eclipse.store.gigamap.types.Condition;
 import org.eclipse.store.gigamap.types.GigaIndex;
 import org.eclipse.store.gigamap.types.GigaMap;
+import org.eclipse.store.gigamap.types.GigaQuery;
 import org.eclipse.store.gigamap.types.ScoredSearchResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +44,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -455,6 +458,51 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
         return this.search(this.requireQueryVector(queryEntity), k, searchBeamWidth);
     }
 
+    /**
+     * Searches for the k nearest neighbors among the entities matched by the given query.
+     * <p>
+     * The matching entity ids are pushed into the graph search as its accept set, so the
+     * result contains up to k entities that all match the filter, instead of the up to k
+     * nearest entities of which only some survive a subsequent filtering. If the filter
+     * matches only a small fraction of the vectors, the graph is bypassed and the matching
+     * vectors are scored exactly, because a graph traversal with a very sparse accept set
+     * visits many nodes without finding acceptable ones.
+     *
+     * <h4>Example</h4>
+     * <pre>{@code
+     * VectorSearchResult<Product> result = index.search(
+     *     queryVector,
+     *     10,
+     *     gigaMap.query(categoryIndex.is("shoes")).and(stockIndex.is(true))
+     * );
+     * }</pre>
+     *
+     * @param queryVector the query vector; must have exactly {@link VectorIndexConfiguration#dimension()} elements
+     * @param k           the number of nearest neighbors to return; must be positive
+     * @param filter      the query defining the entities to search among; must be a query of
+     *                    this index's {@link GigaMap}
+     * @return the search result containing up to k entries matching the filter; never null
+     * @throws IllegalArgumentException if queryVector or filter is null, the filter belongs to another
+     *                                  GigaMap, or k &lt;= 0
+     * @see #search(float[], int)
+     */
+    public VectorSearchResult<E> search(float[] queryVector, int k, GigaQuery<E> filter);
+
+    /**
+     * Searches for the k nearest neighbors among the entities matching the given condition.
+     * <p>
+     * Convenience variant of {@link #search(float[], int, GigaQuery)} for a query consisting
+     * of the given condition only.
+     *
+     * @param queryVector the query vector; must have exactly {@link VectorIndexConfiguration#dimension()} elements
+     * @param k           the number of nearest neighbors to return; must be positive
+     * @param filter      the condition the result entities must match
+     * @return the search result containing up to k entries matching the filter; never null
+     * @throws IllegalArgumentException if queryVector or filter is null, or k &lt;= 0
+     * @see #search(float[], int, GigaQuery)
+     */
+    public VectorSearchResult<E> search(float[] queryVector, int k, Condition<E> filter);
+
     /**
      * Extracts the query vector from the given entity, rejecting both a null entity and a null
      * result: an entity without an embedding has no meaningful similarity and cannot be used as
@@ -743,6 +791,11 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
     {
         private static final Logger LOG = LoggerFactory.getLogger(Default.class);
 
+        // A filtered search scores the accepted vectors exactly instead of traversing the graph if the
+        // filter accepts at most this many times the beam width, or at most 1/divisor of all vectors.
+        private static final int EXACT_SEARCH_BEAM_FACTOR      = 16 ;
+        private static final int EXACT_SEARCH_FRACTION_DIVISOR = 100;
+
         static BinaryTypeHandler<Default<?>> provideTypeHandler()
         {
             return BinaryHandlerVectorIndexDefault.New();
@@ -2077,16 +2130,45 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
         @Override
         public VectorSearchResult<E> search(final float[] queryVector, final int k)
         {
-            return this.doSearch(queryVector, k, this.computeRerankK(k));
+            return this.doSearch(queryVector, k, this.computeRerankK(k), null);
         }
 
         @Override
         public VectorSearchResult<E> search(final float[] queryVector, final int k, final int searchBeamWidth)
         {
-            return this.doSearch(queryVector, k, Math.max(k, positive(searchBeamWidth)));
+            return this.doSearch(queryVector, k, Math.max(k, positive(searchBeamWidth)), null);
         }
 
-        private VectorSearchResult<E> doSearch(final float[] queryVector, final int k, final int rerankK)
+        @Override
+        public VectorSearchResult<E> search(final float[] queryVector, final int k, final GigaQuery<E> filter)
+        {
+            if(filter == null)
+            {
+                throw new IllegalArgumentException("Filter query must not be null");
+            }
+            if(filter.parentMap() != this.parentMap())
+            {
+                throw new IllegalArgumentException("Filter query belongs to a different GigaMap than index '" + this.name + "'");
+            }
+            return this.doSearch(queryVector, k, this.computeRerankK(k), filter);
+        }
+
+        @Override
+        public VectorSearchResult<E> search(final float[] queryVector, final int k, final Condition<E> filter)
+        {
+            if(filter == null)
+            {
+                throw new IllegalArgumentException("Filter condition must not be null");
+            }
+            return this.search(queryVector, k, this.parentMap().query(filter));
+        }
+
+        private VectorSearchResult<E> doSearch(
+            final float[]      queryVector,
+            final int          k          ,
+            final int          rerankK    ,
+            final GigaQuery<E> filter
+        )
         {
             if(queryVector == null)
             {
@@ -2101,6 +2183,15 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             }
             this.validateDimension(queryVector);
 
+            // Materialize the filter BEFORE acquiring the read lock, for the same reason as the
+            // rebuild gate below: executing a query takes the parent GigaMap monitor.
+            final AcceptedIds acceptedIds = filter == null ? null : AcceptedIds.New(filter);
+            if(acceptedIds != null && acceptedIds.count() == 0)
+            {
+                return this.convertSearchResult(new SearchResult(new SearchResult.NodeScore[0], 0, 0, 0, 0, 0f));
+            }
+            final boolean exactSearch = acceptedIds != null && this.isSelective(acceptedIds, rerankK);
+
             // Ensure the (deferred) graph rebuild has run BEFORE acquiring the read lock: the
             // rebuild gate takes the parent GigaMap monitor, and holding readLock while acquiring
             // that monitor would risk the exact lock-ordering deadlock the read-lock note below
@@ -2115,20 +2206,25 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             try
             {
                 final VectorFloat<?> query = this.vectorTypeSupport.createFloatVector(queryVector);
+                final Bits filterBits = acceptedIds != null ? acceptedIds : Bits.ALL;
 
-                // Choose search strategy based on index mode
+                // Choose search strategy based on filter selectivity and index mode
                 final SearchResult result;
-                if (this.incrementalMode)
+                if (exactSearch)
+                {
+                    result = this.searchExact(query, k, acceptedIds);
+                }
+                else if (this.incrementalMode)
                 {
-                    result = this.searchIncremental(query, k, rerankK);
+                    result = this.searchIncremental(query, k, rerankK, filterBits);
                 }
                 else if (this.diskManager != null && this.diskManager.isLoaded() && this.diskManager.getDiskIndex() != null)
                 {
-                    result = this.searchDiskIndex(query, k, rerankK);
+                    result = this.searchDiskIndex(query, k, rerankK, filterBits);
                 }
                 else
                 {
-                    result = this.searchInMemoryIndex(query, k, rerankK);
+                    result = this.searchInMemoryIndex(query, k, rerankK, filterBits);
                 }
 
                 return this.convertSearchResult(result);
@@ -2139,6 +2235,76 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             }
         }
 
+        /**
+         * A filter is selective if it accepts so few vectors that scoring all of them exactly is
+         * cheaper than a graph traversal, which has to visit many rejected nodes to find enough
+         * accepted ones and loses recall doing so.
+         */
+        private boolean isSelective(final AcceptedIds acceptedIds, final int rerankK)
+        {
+            return acceptedIds.count() <= (long)rerankK * EXACT_SEARCH_BEAM_FACTOR
+                || acceptedIds.count() <= this.getExpectedVectorCount() / EXACT_SEARCH_FRACTION_DIVISOR
+            ;
+        }
+
+        /**
+         * Scores the vectors of all accepted entities exactly, bypassing the graph.
+         * Entities without a vector are skipped.
+         */
+        private SearchResult searchExact(final VectorFloat<?> query, final int k, final AcceptedIds acceptedIds)
+        {
+            final RandomAccessVectorValues vectorValues = this.createVectorValues();
+            final int                      bound        = Math.min(acceptedIds.bound(), vectorValues.size());
+            final io.github.jbellis.jvector.vector.VectorSimilarityFunction similarity = this.jvectorSimilarityFunction();
+
+            // min-heap: the head is the worst of the best k found so far
+            final PriorityQueue<SearchResult.NodeScore> best = new PriorityQueue<>(
+                k + 1,
+                (a, b) -> Float.compare(a.score, b.score)
+            );
+            int visited = 0;
+            for(int ordinal = acceptedIds.next(0); ordinal >= 0 && ordinal < bound; ordinal = acceptedIds.next(ordinal + 1))
+            {
+                final VectorFloat<?> vector = vectorValues.getVector(ordinal);
+                if(vector == null)
+                {
+                    continue;
+                }
+                visited++;
+
+                final float score = similarity.compare(query, vector);
+                if(best.size() < k)
+                {
+                    best.add(new SearchResult.NodeScore(ordinal, score));
+                }
+                else if(score > best.peek().score)
+                {
+                    best.poll();
+                    best.add(new SearchResult.NodeScore(ordinal, score));
+                }
+            }
+
+            final SearchResult.NodeScore[] nodes = new SearchResult.NodeScore[best.size()];
+            for(int i = nodes.length; i-- > 0;)
+            {
+                nodes[i] = best.poll();
+            }
+            return new SearchResult(nodes, visited, 0, 0, 0, 0f);
+        }
+
+        private static Bits intersect(final Bits bits1, final Bits bits2)
+        {
+            if(bits1 == Bits.ALL)
+            {
+                return bits2;
+            }
+            if(bits2 == Bits.ALL)
+            {
+                return bits1;
+            }
+            return ordinal -> bits1.get(ordinal) && bits2.get(ordinal);
+        }
+
         /**
          * Computes the search beam width (rerankK), ensuring a minimum exploration effort
          * regardless of how small k is. This prevents the HNSW search from returning
@@ -2152,7 +2318,12 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
         /**
          * Searches the in-memory index using a pooled GraphSearcher.
          */
-        private SearchResult searchInMemoryIndex(final VectorFloat<?> query, final int k, final int rerankK)
+        private SearchResult searchInMemoryIndex(
+            final VectorFloat<?> query     ,
+            final int            k         ,
+            final int            rerankK   ,
+            final Bits           filterBits
+        )
         {
             final SearchScoreProvider scoreProvider = DefaultSearchScoreProvider.exact(
                 query,
@@ -2169,14 +2340,19 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             {
                 searcher.setView(view);
             }
-            final Bits acceptBits = view != null ? view.liveNodes() : Bits.ALL;
+            final Bits acceptBits = intersect(view != null ? view.liveNodes() : Bits.ALL, filterBits);
             return searcher.search(scoreProvider, k, rerankK, 0f, 0f, acceptBits);
         }
 
         /**
          * Searches the on-disk index using a pooled GraphSearcher, with optional PQ-based approximate search and reranking.
          */
-        private SearchResult searchDiskIndex(final VectorFloat<?> query, final int k, final int rerankK)
+        private SearchResult searchDiskIndex(
+            final VectorFloat<?> query     ,
+            final int            k         ,
+            final int            rerankK   ,
+            final Bits           filterBits
+        )
         {
             // If PQ is available, use compressed scoring with reranking
             if(this.pqManager != null && this.pqManager.isTrained() && this.pqManager.getCompressedVectors() != null)
@@ -2188,7 +2364,8 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
                     rerankK,
                     searcher,
                     this.createCachingVectorValues(),
-                    this.jvectorSimilarityFunction()
+                    this.jvectorSimilarityFunction(),
+                    filterBits
                 );
             }
 
@@ -2200,14 +2377,19 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             );
 
             final GraphSearcher searcher = this.inMemorySearcherPool.get();
-            return searcher.search(scoreProvider, k, rerankK, 0f, 0f, Bits.ALL);
+            return searcher.search(scoreProvider, k, rerankK, 0f, 0f, filterBits);
         }
 
         /**
          * Searches in incremental mode: queries both the disk graph (for existing data)
          * and the in-memory builder graph (for new mutations), then merges results.
          */
-        private SearchResult searchIncremental(final VectorFloat<?> query, final int k, final int rerankK)
+        private SearchResult searchIncremental(
+            final VectorFloat<?> query     ,
+            final int            k         ,
+            final int            rerankK   ,
+            final Bits           filterBits
+        )
         {
             final SearchScoreProvider scoreProvider = DefaultSearchScoreProvider.exact(
                 query,
@@ -2221,7 +2403,7 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             if(this.diskSearcherPool != null)
             {
                 final GraphSearcher diskSearcher = this.diskSearcherPool.get();
-                final Bits acceptBits = this.createDiskAcceptBits();
+                final Bits acceptBits = intersect(this.createDiskAcceptBits(), filterBits);
                 diskResult = diskSearcher.search(scoreProvider, rerankK, rerankK, 0f, 0f, acceptBits);
             }
 
@@ -2235,7 +2417,7 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
                 // getView() calls could return different snapshots).
                 final var view = this.index.getView();
                 memSearcher.setView(view);
-                memResult = memSearcher.search(scoreProvider, rerankK, rerankK, 0f, 0f, view.liveNodes());
+                memResult = memSearcher.search(scoreProvider, rerankK, rerankK, 0f, 0f, intersect(view.liveNodes(), filterBits));
             }
 
             // 3. Merge results — truncate single-source results to k since sub-graphs
@@ -3417,6 +3599,92 @@ public interface VectorIndex<E> extends GigaIndex<E>, Closeable
             }
         }
 
+
+        /**
+         * The entity ids matched by a filter query, materialized as a bit set that serves as
+         * jvector accept set. Ordinals are entity ids, so no mapping is required.
+         * The ids are streamed from the filter's bitmap indices straight into the bit set, the
+         * entities are not resolved and no intermediate id array is built.
+         */
+        static final class AcceptedIds implements Bits
+        {
+            static AcceptedIds New(final GigaQuery<?> filter)
+            {
+                final AcceptedIds acceptedIds = new AcceptedIds();
+                filter.executeIds(acceptedIds::add);
+                return acceptedIds;
+            }
+
+            private long[] words = new long[1];
+            private int    bound;
+            private long   count;
+
+            private void add(final long entityId)
+            {
+                // ordinals are ints, ids beyond the ordinal space can never be part of the graph anyway.
+                if(entityId > Integer.MAX_VALUE - 1)
+                {
+                    return;
+                }
+
+                final int ordinal   = (int)entityId;
+                final int wordIndex = ordinal >>> 6;
+                if(wordIndex >= this.words.length)
+                {
+                    this.words = Arrays.copyOf(this.words, Math.max(wordIndex + 1, this.words.length * 2));
+                }
+                if((this.words[wordIndex] & 1L << ordinal) == 0)
+                {
+                    this.words[wordIndex] |= 1L << ordinal;
+                    this.count++;
+                }
+                this.bound = Math.max(this.bound, ordinal + 1);
+            }
+
+            long count()
+            {
+                return this.count;
+            }
+
+            int bound()
+            {
+                return this.bound;
+            }
+
+            /**
+             * Returns the lowest accepted ordinal greater than or equal to the passed one or -1 if there is none.
+             */
+            int next(final int ordinal)
+            {
+                if(ordinal >= this.bound)
+                {
+                    return -1;
+                }
+
+                int  wordIndex = ordinal >>> 6;
+                long word      = this.words[wordIndex] & -1L << ordinal;
+                while(word == 0)
+                {
+                    if(++wordIndex >= this.words.length)
+                    {
+                        return -1;
+                    }
+                    word = this.words[wordIndex];
+                }
+                return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            }
+
+            @Override
+            public boolean get(final int ordinal)
+            {
+                final int wordIndex = ordinal >>> 6;
+                return ordinal >= 0
+                    && wordIndex < this.words.length
+                    && (this.words[wordIndex] & 1L << ordinal) != 0
+                ;
+            }
+        }
+
     }
 
 }
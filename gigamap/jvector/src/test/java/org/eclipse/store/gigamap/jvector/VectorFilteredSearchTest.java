@@ -0,0 +1,242 @@
+package org.eclipse.store.gigamap.jvector;
+
+/*-
+ * #%L
+ * EclipseStore GigaMap JVector
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.store.gigamap.types.GigaMap;
+import org.eclipse.store.gigamap.types.GigaQuery;
+import org.eclipse.store.gigamap.types.IndexerBoolean;
+import org.eclipse.store.gigamap.types.IndexerInteger;
+import org.eclipse.store.gigamap.types.ScoredSearchResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies {@link VectorIndex#search(float[], int, GigaQuery)}: every result matches the filter,
+ * a selective filter (exact scoring) yields exactly the brute force top k and a broad filter
+ * (graph search with the filter as accept set) yields still k results with high recall.
+ */
+class VectorFilteredSearchTest
+{
+	static final class Doc
+	{
+		final int     category;
+		final boolean inStock ;
+		final float[] vector  ;
+
+		Doc(final int category, final boolean inStock, final float[] vector)
+		{
+			this.category = category;
+			this.inStock  = inStock ;
+			this.vector   = vector  ;
+		}
+	}
+
+	static class CategoryIndexer extends IndexerInteger.Abstract<Doc>
+	{
+		@Override
+		protected Integer getInteger(final Doc entity)
+		{
+			return entity.category;
+		}
+	}
+
+	static class StockIndexer extends IndexerBoolean.Abstract<Doc>
+	{
+		@Override
+		protected Boolean getBoolean(final Doc entity)
+		{
+			return entity.inStock;
+		}
+	}
+
+	static class DocVectorizer extends Vectorizer<Doc>
+	{
+		@Override
+		public float[] vectorize(final Doc entity)
+		{
+			return entity.vector;
+		}
+
+		@Override
+		public boolean isEmbedded()
+		{
+			return true;
+		}
+	}
+
+	private static final int DIMENSION    = 16  ;
+	private static final int ENTITY_COUNT = 3000;
+	private static final int K            = 10  ;
+
+	private static final CategoryIndexer CATEGORY = new CategoryIndexer();
+	private static final StockIndexer    STOCK    = new StockIndexer();
+
+
+	@Test
+	void selectiveFilterYieldsExactTopK()
+	{
+		final GigaMap<Doc>     map         = GigaMap.New();
+		final VectorIndex<Doc> vectorIndex = setup(map);
+		final float[]          query       = randomVector(new Random(7));
+
+		// ~75 of 3000 entities: far below the exact search threshold.
+		final VectorSearchResult<Doc> result = vectorIndex.search(
+			query,
+			K,
+			map.query(CATEGORY.is(3)).and(STOCK.is(true))
+		);
+
+		assertEquals(bruteForce(map, query, d -> d.category == 3 && d.inStock), ids(result));
+	}
+
+	@Test
+	void broadFilterYieldsMatchingResultsOnly()
+	{
+		final GigaMap<Doc>     map         = GigaMap.New();
+		final VectorIndex<Doc> vectorIndex = setup(map);
+		final float[]          query       = randomVector(new Random(11));
+
+		// ~1500 of 3000 entities: searched via the graph with the filter as accept set.
+		final VectorSearchResult<Doc> result = vectorIndex.search(query, K, STOCK.is(true));
+
+		assertEquals(K, result.size());
+		for(final ScoredSearchResult.Entry<Doc> entry : result)
+		{
+			assertTrue(entry.entity().inStock);
+		}
+
+		final Set<Long> expected = new HashSet<>(bruteForce(map, query, d -> d.inStock));
+		final long      hits     = ids(result).stream().filter(expected::contains).count();
+		assertTrue(hits >= K * 8 / 10, "recall too low: " + hits + "/" + K);
+	}
+
+	@Test
+	void emptyFilterYieldsEmptyResult()
+	{
+		final GigaMap<Doc>     map         = GigaMap.New();
+		final VectorIndex<Doc> vectorIndex = setup(map);
+
+		assertEquals(0, vectorIndex.search(randomVector(new Random(3)), K, CATEGORY.is(-1)).size());
+	}
+
+	@Test
+	void filterOfOtherMapIsRejected()
+	{
+		final GigaMap<Doc>     map         = GigaMap.New();
+		final VectorIndex<Doc> vectorIndex = setup(map);
+		final GigaMap<Doc>     other       = GigaMap.New();
+		other.index().bitmap().add(CATEGORY);
+
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> vectorIndex.search(randomVector(new Random(5)), K, other.query(CATEGORY.is(1)))
+		);
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> vectorIndex.search(randomVector(new Random(5)), K, (GigaQuery<Doc>)null)
+		);
+	}
+
+
+	private static VectorIndex<Doc> setup(final GigaMap<Doc> map)
+	{
+		map.index().bitmap().add(CATEGORY);
+		map.index().bitmap().add(STOCK);
+		final VectorIndices<Doc> vectorIndices = map.index().register(VectorIndices.Category());
+		final VectorIndex<Doc>   vectorIndex   = vectorIndices.add(
+			"vec",
+			VectorIndexConfiguration.builder()
+				.dimension(DIMENSION)
+				.similarityFunction(VectorSimilarityFunction.COSINE)
+				.minSearchBeamWidth(K)
+				.build(),
+			new DocVectorizer()
+		);
+
+		final Random random = new Random(42);
+		for(int i = 0; i < ENTITY_COUNT; i++)
+		{
+			map.add(new Doc(i % 20, i % 2 == 0, randomVector(random)));
+		}
+
+		return vectorIndex;
+	}
+
+	private static float[] randomVector(final Random random)
+	{
+		final float[] vector = new float[DIMENSION];
+		for(int i = 0; i < DIMENSION; i++)
+		{
+			vector[i] = random.nextFloat() * 2 - 1;
+		}
+		return vector;
+	}
+
+	private static List<Long> bruteForce(final GigaMap<Doc> map, final float[] query, final Predicate<Doc> filter)
+	{
+		final List<long[]> candidates   = new ArrayList<>();
+		final List<Double> similarities = new ArrayList<>();
+		map.iterateIndexed((id, doc) ->
+		{
+			if(filter.test(doc))
+			{
+				candidates.add(new long[]{id, similarities.size()});
+				similarities.add(cosine(query, doc.vector));
+			}
+		});
+		candidates.sort(Comparator.comparingDouble((long[] c) -> similarities.get((int)c[1])).reversed());
+
+		final List<Long> ids = new ArrayList<>();
+		for(int i = 0; i < Math.min(K, candidates.size()); i++)
+		{
+			ids.add(candidates.get(i)[0]);
+		}
+		return ids;
+	}
+
+	private static double cosine(final float[] v1, final float[] v2)
+	{
+		double dot = 0, norm1 = 0, norm2 = 0;
+		for(int i = 0; i < v1.length; i++)
+		{
+			dot   += v1[i] * v2[i];
+			norm1 += v1[i] * v1[i];
+			norm2 += v2[i] * v2[i];
+		}
+		return dot / Math.sqrt(norm1 * norm2);
+	}
+
+	private static List<Long> ids(final VectorSearchResult<Doc> result)
+	{
+		final List<Long> ids = new ArrayList<>();
+		for(final ScoredSearchResult.Entry<Doc> entry : result)
+		{
+			ids.add(entry.entityId());
+		}
+		return ids;
+	}
+
+}
@@ -0,0 +1,123 @@
+package test.eclipse.store.afs.blobstore;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.junit.jupiter.api.Test;
+
+/**
+ * With the cache enabled, the blobs of a file are listed once and the manifest is kept up to date by
+ * the connector's own writes, truncations and deletions.
+ */
+public class BlobManifestCacheTest
+{
+    private static final BlobStorePath FILE = BlobStorePath.New("container", "dir", "file.dat");
+
+    @Test
+    void readsDoNotListBlobs()
+    {
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true);
+        final byte[]                     content   = write(connector, 10, 100);
+
+        final long listCount = connector.listCount();
+        for(int i = 0; i < 100; i++)
+        {
+            final int offset = i * 7;
+            assertArrayEquals(
+                Arrays.copyOfRange(content, offset, offset + 150),
+                read(connector, offset, 150)
+            );
+        }
+        assertEquals(listCount, connector.listCount());
+        assertEquals(content.length, connector.fileSize(FILE));
+
+        // appends update the manifest
+        final byte[] appended = bytes(50, 77);
+        connector.writeData(FILE, List.of(ByteBuffer.wrap(appended)));
+        assertArrayEquals(appended, read(connector, content.length, 50));
+        assertEquals(listCount, connector.listCount());
+    }
+
+    @Test
+    void manifestFollowsTruncateAndDelete()
+    {
+        final InMemoryBlobStoreConnector cached   = new InMemoryBlobStoreConnector(true);
+        final InMemoryBlobStoreConnector uncached = new InMemoryBlobStoreConnector(false);
+        final byte[]                     content  = write(cached, 5, 100);
+        write(uncached, 5, 100);
+
+        for(final InMemoryBlobStoreConnector connector : List.of(cached, uncached))
+        {
+            // inside of a blob
+            connector.truncateFile(FILE, 250);
+            assertEquals(250, connector.fileSize(FILE));
+            assertArrayEquals(Arrays.copyOf(content, 250), read(connector, 0, -1));
+
+            // at a blob's boundary
+            connector.truncateFile(FILE, 200);
+            assertArrayEquals(Arrays.copyOf(content, 200), read(connector, 0, -1));
+
+            final byte[] appended = bytes(30, 5);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(appended)));
+            assertArrayEquals(appended, read(connector, 200, 30));
+            assertEquals(230, connector.fileSize(FILE));
+
+            assertTrue(connector.deleteFile(FILE));
+            assertFalse(connector.fileExists(FILE));
+            assertEquals(0, connector.blobCount());
+        }
+
+        final byte[] rewritten = write(cached, 2, 10);
+        assertArrayEquals(rewritten, read(cached, 0, -1));
+    }
+
+    private static byte[] write(final InMemoryBlobStoreConnector connector, final int blobs, final int blobSize)
+    {
+        final byte[] content = bytes(blobs * blobSize, 0);
+        for(int i = 0; i < blobs; i++)
+        {
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(content, i * blobSize, blobSize)));
+        }
+        return content;
+    }
+
+    private static byte[] read(final InMemoryBlobStoreConnector connector, final long offset, final long length)
+    {
+        final ByteBuffer buffer = connector.readData(FILE, offset, length);
+        final byte[]     data   = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    private static byte[] bytes(final int length, final int seed)
+    {
+        final byte[] bytes = new byte[length];
+        for(int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte)(i * 31 + seed);
+        }
+        return bytes;
+    }
+
+}
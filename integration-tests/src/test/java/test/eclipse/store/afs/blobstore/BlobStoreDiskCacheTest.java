@@ -0,0 +1,158 @@
+package test.eclipse.store.afs.blobstore;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.store.afs.blobstore.types.BlobStoreDiskCacheConnector;
+import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Complete pages are served from the local disk cache, which follows truncations and stays within its maximum size.
+ */
+public class BlobStoreDiskCacheTest
+{
+    private static final BlobStorePath FILE = BlobStorePath.New("container", "dir", "file.dat");
+
+    @Test
+    void repeatedReadsAreServedFromDisk() throws IOException
+    {
+        final Path                        directory = Files.createTempDirectory("disk-cache");
+        final InMemoryBlobStoreConnector  delegate  = new InMemoryBlobStoreConnector(true);
+        final BlobStoreDiskCacheConnector connector = BlobStoreDiskCacheConnector.New(delegate, directory, 10_000, 100);
+        try
+        {
+            final byte[] content = bytes(1050, 0);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(content)));
+
+            assertArrayEquals(Arrays.copyOfRange(content, 30, 930), read(connector, 30, 900));
+            final long getCount = delegate.getCount();
+
+            // complete pages are cached
+            assertArrayEquals(Arrays.copyOfRange(content, 30, 930), read(connector, 30, 900));
+            assertArrayEquals(Arrays.copyOfRange(content, 130, 250), read(connector, 130, 120));
+            assertEquals(getCount, delegate.getCount());
+            assertEquals(1000, connector.size());
+
+            // the incomplete last page is always read from the delegate
+            assertArrayEquals(Arrays.copyOfRange(content, 950, 1050), read(connector, 950, -1));
+            assertTrue(delegate.getCount() > getCount);
+        }
+        finally
+        {
+            connector.close();
+        }
+        assertEquals(0, cacheFileSize(directory));
+    }
+
+    @Test
+    void truncateDiscardsPages() throws IOException
+    {
+        final Path                        directory = Files.createTempDirectory("disk-cache");
+        final InMemoryBlobStoreConnector  delegate  = new InMemoryBlobStoreConnector(true);
+        final BlobStoreDiskCacheConnector connector = BlobStoreDiskCacheConnector.New(delegate, directory, 10_000, 100);
+        try
+        {
+            final byte[] content = bytes(1000, 0);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(content)));
+            assertArrayEquals(content, read(connector, 0, -1));
+            assertEquals(1000, connector.size());
+
+            connector.truncateFile(FILE, 450);
+            assertEquals(400, connector.size());
+
+            final byte[] appended = bytes(550, 13);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(appended)));
+            final byte[] expected = Arrays.copyOf(content, 1000);
+            System.arraycopy(appended, 0, expected, 450, 550);
+            assertArrayEquals(expected, read(connector, 0, -1));
+
+            connector.deleteFile(FILE);
+            assertEquals(0, connector.size());
+        }
+        finally
+        {
+            connector.close();
+        }
+    }
+
+    @Test
+    void evictionBoundsSize() throws IOException
+    {
+        final Path                        directory = Files.createTempDirectory("disk-cache");
+        final InMemoryBlobStoreConnector  delegate  = new InMemoryBlobStoreConnector(true);
+        final BlobStoreDiskCacheConnector connector = BlobStoreDiskCacheConnector.New(delegate, directory, 300, 100);
+        try
+        {
+            final byte[] content = bytes(1000, 0);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(content)));
+            assertArrayEquals(content, read(connector, 0, -1));
+            assertEquals(300, connector.size());
+            assertEquals(300, cacheFileSize(directory));
+
+            // the most recently used pages are kept
+            final long getCount = delegate.getCount();
+            assertArrayEquals(Arrays.copyOfRange(content, 700, 1000), read(connector, 700, 300));
+            assertEquals(getCount, delegate.getCount());
+        }
+        finally
+        {
+            connector.close();
+        }
+    }
+
+    private static long cacheFileSize(final Path directory) throws IOException
+    {
+        try(Stream<Path> files = Files.list(directory))
+        {
+            long size = 0;
+            for(final Path file : (Iterable<Path>)files::iterator)
+            {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static byte[] read(final BlobStoreDiskCacheConnector connector, final long offset, final long length)
+    {
+        final ByteBuffer buffer = connector.readData(FILE, offset, length);
+        final byte[]     data   = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    private static byte[] bytes(final int length, final int seed)
+    {
+        final byte[] bytes = new byte[length];
+        for(int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte)(i * 31 + seed);
+        }
+        return bytes;
+    }
+
+}
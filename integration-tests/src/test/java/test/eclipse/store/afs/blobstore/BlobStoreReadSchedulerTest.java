@@ -0,0 +1,172 @@
+package test.eclipse.store.afs.blobstore;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Large reads are split into concurrent ranged requests, sequential scans are served from read-ahead data.
+ */
+public class BlobStoreReadSchedulerTest
+{
+    private static final BlobStorePath FILE       = BlobStorePath.New("container", "dir", "file.dat");
+    private static final int           KIB        = 1024;
+    private static final long          LATENCY    = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void largeReadsAreSplitIntoConcurrentRequests()
+    {
+        final BlobStoreReadScheduler     scheduler = BlobStoreReadScheduler.New(8, 64 * KIB, 0, 0);
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true, LATENCY, scheduler);
+        try
+        {
+            final byte[] content = write(connector, 2, 512 * KIB);
+
+            assertArrayEquals(content, read(connector, 0, -1));
+            assertEquals(16, connector.getCount());
+            assertTrue(connector.maxInFlight() > 1, "max in flight " + connector.maxInFlight());
+
+            // across a blob's boundary
+            assertArrayEquals(
+                Arrays.copyOfRange(content, 500 * KIB, 600 * KIB),
+                read(connector, 500 * KIB, 100 * KIB)
+            );
+        }
+        finally
+        {
+            connector.close();
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void sequentialScansAreReadAhead()
+    {
+        final BlobStoreReadScheduler     scheduler = BlobStoreReadScheduler.New(4, 1024 * KIB, 256 * KIB, 1024 * KIB);
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true, LATENCY, scheduler);
+        try
+        {
+            final byte[] content = write(connector, 1, 1024 * KIB);
+
+            for(int offset = 0; offset < content.length; offset += 64 * KIB)
+            {
+                assertArrayEquals(
+                    Arrays.copyOfRange(content, offset, offset + 64 * KIB),
+                    read(connector, offset, 64 * KIB)
+                );
+            }
+            // the first chunk and four read-ahead ranges
+            assertEquals(5, connector.getCount());
+            assertEquals(0, ((BlobStoreReadScheduler.Default)scheduler).bufferSize());
+
+            // read-ahead data is discarded when the file changes
+            read(connector, 0, 64 * KIB);
+            connector.truncateFile(FILE, 100 * KIB);
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(new byte[100 * KIB])));
+            assertArrayEquals(new byte[28 * KIB], read(connector, 100 * KIB, 28 * KIB));
+        }
+        finally
+        {
+            connector.close();
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void readAheadIsBoundedByBufferSize()
+    {
+        final BlobStoreReadScheduler     scheduler = BlobStoreReadScheduler.New(4, 1024 * KIB, 256 * KIB, 128 * KIB);
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true, 0L, scheduler);
+        try
+        {
+            final byte[] content = write(connector, 1, 512 * KIB);
+            for(int offset = 0; offset < content.length; offset += 64 * KIB)
+            {
+                read(connector, offset, 64 * KIB);
+            }
+            // only the file's last chunk fits into the buffer
+            assertEquals(7, connector.getCount());
+        }
+        finally
+        {
+            connector.close();
+            scheduler.close();
+        }
+    }
+
+    @Test
+    void closingTheConnectorReleasesTheScheduler()
+    {
+        // a high latency keeps the read-ahead pending while the connector is closed
+        final BlobStoreReadScheduler.Default scheduler = (BlobStoreReadScheduler.Default)BlobStoreReadScheduler.New(
+            1, 1024 * KIB, 256 * KIB, 1024 * KIB
+        );
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(
+            true, TimeUnit.MILLISECONDS.toNanos(200), scheduler
+        );
+        write(connector, 1, 1024 * KIB);
+        read(connector, 0, 64 * KIB);
+        assertTrue(scheduler.bufferSize() > 0, "buffer size " + scheduler.bufferSize());
+        assertFalse(scheduler.isTerminated());
+
+        connector.close();
+
+        assertEquals(0, scheduler.bufferSize());
+        Awaitility.await()
+            .atMost(Duration.ofMillis(5000))
+            .pollInterval(Duration.ofMillis(20))
+            .until(scheduler::isTerminated);
+
+        // closing again has no effect
+        connector.close();
+    }
+
+    private static byte[] write(final InMemoryBlobStoreConnector connector, final int blobs, final int blobSize)
+    {
+        final byte[] content = new byte[blobs * blobSize];
+        for(int i = 0; i < content.length; i++)
+        {
+            content[i] = (byte)(i * 31 + i / 7);
+        }
+        for(int i = 0; i < blobs; i++)
+        {
+            connector.writeData(FILE, List.of(ByteBuffer.wrap(content, i * blobSize, blobSize)));
+        }
+        return content;
+    }
+
+    private static byte[] read(final InMemoryBlobStoreConnector connector, final long offset, final long length)
+    {
+        final ByteBuffer buffer = connector.readData(FILE, offset, length);
+        final byte[]     data   = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+}
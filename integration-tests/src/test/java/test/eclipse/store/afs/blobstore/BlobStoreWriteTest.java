@@ -0,0 +1,145 @@
+package test.eclipse.store.afs.blobstore;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Copies are executed on the server side or streamed chunk by chunk, small appends are combined into larger blobs.
+ */
+public class BlobStoreWriteTest
+{
+    private static final BlobStorePath SOURCE = BlobStorePath.New("container", "dir", "source.dat");
+    private static final BlobStorePath TARGET = BlobStorePath.New("container", "dir", "target.dat");
+    private static final int           KIB    = 1024;
+
+    @Test
+    void copyIsStreamedInChunks()
+    {
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true)
+            .copyChunkSize(16 * KIB)
+        ;
+        final byte[] content = write(connector, SOURCE, 3, 100 * KIB);
+
+        final long getCount = connector.getCount();
+        assertEquals(200 * KIB, connector.copyFile(SOURCE, TARGET, 50 * KIB, 200 * KIB));
+
+        // a single target blob, read in 13 chunks, two of them span two source blobs
+        assertEquals(4, connector.blobCount());
+        assertEquals(getCount + 15, connector.getCount());
+        assertArrayEquals(Arrays.copyOfRange(content, 50 * KIB, 250 * KIB), read(connector, TARGET));
+    }
+
+    @Test
+    void wholeBlobsAreCopiedOnTheServerSide()
+    {
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true)
+            .serverSideCopy(true)
+        ;
+        final byte[] content = write(connector, SOURCE, 3, 100 * KIB);
+
+        final long getCount = connector.getCount();
+        connector.copyFile(SOURCE, TARGET, 0, -1);
+        assertEquals(3, connector.copyCount());
+        assertEquals(getCount, connector.getCount());
+        assertArrayEquals(content, read(connector, TARGET));
+
+        // only the partial first blob is transferred
+        connector.deleteFile(TARGET);
+        connector.copyFile(SOURCE, TARGET, 50 * KIB, 250 * KIB);
+        assertEquals(5, connector.copyCount());
+        assertArrayEquals(Arrays.copyOfRange(content, 50 * KIB, 300 * KIB), read(connector, TARGET));
+
+        connector.deleteFile(TARGET);
+        connector.moveFile(SOURCE, TARGET);
+        assertEquals(8, connector.copyCount());
+        assertFalse(connector.fileExists(SOURCE));
+        assertArrayEquals(content, read(connector, TARGET));
+    }
+
+    @Test
+    void smallAppendsAreCombined()
+    {
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true)
+            .writeCombiningSize(64 * KIB)
+        ;
+        final byte[] content = write(connector, SOURCE, 100, KIB);
+        assertEquals(2, connector.blobCount());
+        assertEquals(100 * KIB, connector.fileSize(SOURCE));
+        assertArrayEquals(content, read(connector, SOURCE));
+
+        // large writes get a blob of their own, the following small one starts a new blob
+        connector.writeData(SOURCE, List.of(ByteBuffer.wrap(new byte[100 * KIB])));
+        connector.writeData(SOURCE, List.of(ByteBuffer.wrap(new byte[KIB])));
+        assertEquals(4, connector.blobCount());
+
+        // truncation ends combining
+        connector.truncateFile(SOURCE, 50 * KIB);
+        connector.writeData(SOURCE, List.of(ByteBuffer.wrap(content, 0, KIB)));
+        assertEquals(51 * KIB, connector.fileSize(SOURCE));
+        final byte[] expected = Arrays.copyOf(content, 51 * KIB);
+        System.arraycopy(content, 0, expected, 50 * KIB, KIB);
+        assertArrayEquals(expected, read(connector, SOURCE));
+    }
+
+    @Test
+    void withoutBlobWriteSupportAppendsAreNotCombined()
+    {
+        final InMemoryBlobStoreConnector connector = new InMemoryBlobStoreConnector(true)
+            .blobWrite(false)
+            .writeCombiningSize(64 * KIB)
+        ;
+        final byte[] content = write(connector, SOURCE, 10, KIB);
+        assertEquals(10, connector.blobCount());
+        assertArrayEquals(content, read(connector, SOURCE));
+    }
+
+    private static byte[] write(
+        final InMemoryBlobStoreConnector connector,
+        final BlobStorePath              file     ,
+        final int                        writes   ,
+        final int                        size
+    )
+    {
+        final byte[] content = new byte[writes * size];
+        for(int i = 0; i < content.length; i++)
+        {
+            content[i] = (byte)(i * 31 + i / 7);
+        }
+        for(int i = 0; i < writes; i++)
+        {
+            connector.writeData(file, List.of(ByteBuffer.wrap(content, i * size, size)));
+        }
+        return content;
+    }
+
+    private static byte[] read(final InMemoryBlobStoreConnector connector, final BlobStorePath file)
+    {
+        final ByteBuffer buffer = connector.readData(file, 0, -1);
+        final byte[]     data   = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+}
@@ -0,0 +1,304 @@
+package test.eclipse.store.afs.blobstore;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.store.afs.blobstore.types.BlobStoreConnector;
+import org.eclipse.store.afs.blobstore.types.BlobStorePath;
+import org.eclipse.store.afs.blobstore.types.BlobStoreReadScheduler;
+
+/**
+ * Blob store connector keeping its blobs in memory, which counts the requests a remote object store
+ * would receive and optionally delays them like a network round trip.
+ */
+public class InMemoryBlobStoreConnector extends BlobStoreConnector.Abstract<InMemoryBlobStoreConnector.Blob>
+{
+    public static final class Blob
+    {
+        final String key ;
+        final long   size;
+
+        Blob(final String key, final long size)
+        {
+            this.key  = key ;
+            this.size = size;
+        }
+    }
+
+
+    private final Map<String, byte[]> blobs       = new ConcurrentSkipListMap<>();
+    private final AtomicLong          listCount   = new AtomicLong();
+    private final AtomicLong          getCount    = new AtomicLong();
+    private final AtomicLong          putCount    = new AtomicLong();
+    private final AtomicLong          copyCount   = new AtomicLong();
+    private final AtomicLong          putBytes    = new AtomicLong();
+    private final AtomicInteger       inFlight    = new AtomicInteger();
+    private final AtomicInteger       maxInFlight = new AtomicInteger();
+    private final long                latencyNanos;
+    private       boolean             serverSideCopy    ;
+    private       boolean             blobWrite         = true;
+    private       long                writeCombiningSize;
+    private       long                copyChunkSize     = super.copyChunkSize();
+
+    public InMemoryBlobStoreConnector(final boolean useCache)
+    {
+        this(useCache, 0L);
+    }
+
+    public InMemoryBlobStoreConnector(final boolean useCache, final long latencyNanos)
+    {
+        this(useCache, latencyNanos, BlobStoreReadScheduler.Sequential());
+    }
+
+    public InMemoryBlobStoreConnector(
+        final boolean                useCache     ,
+        final long                   latencyNanos ,
+        final BlobStoreReadScheduler readScheduler
+    )
+    {
+        super(blob -> blob.key, blob -> blob.size, null, useCache, readScheduler);
+        this.latencyNanos = latencyNanos;
+    }
+
+    public long listCount()
+    {
+        return this.listCount.get();
+    }
+
+    public long getCount()
+    {
+        return this.getCount.get();
+    }
+
+    public long putCount()
+    {
+        return this.putCount.get();
+    }
+
+    public long putBytes()
+    {
+        return this.putBytes.get();
+    }
+
+    public long copyCount()
+    {
+        return this.copyCount.get();
+    }
+
+    public InMemoryBlobStoreConnector serverSideCopy(final boolean serverSideCopy)
+    {
+        this.serverSideCopy = serverSideCopy;
+        return this;
+    }
+
+    public InMemoryBlobStoreConnector copyChunkSize(final long copyChunkSize)
+    {
+        this.copyChunkSize = copyChunkSize;
+        return this;
+    }
+
+    public InMemoryBlobStoreConnector blobWrite(final boolean blobWrite)
+    {
+        this.blobWrite = blobWrite;
+        return this;
+    }
+
+    public InMemoryBlobStoreConnector writeCombiningSize(final long writeCombiningSize)
+    {
+        this.writeCombiningSize = writeCombiningSize;
+        return this;
+    }
+
+    /**
+     * @return the maximum number of concurrent GET requests
+     */
+    public int maxInFlight()
+    {
+        return this.maxInFlight.get();
+    }
+
+    public int blobCount()
+    {
+        return this.blobs.size();
+    }
+
+    private void roundTrip()
+    {
+        if(this.latencyNanos > 0L)
+        {
+            LockSupport.parkNanos(this.latencyNanos);
+        }
+    }
+
+    @Override
+    protected Stream<? extends Blob> blobs(final BlobStorePath file)
+    {
+        this.listCount.incrementAndGet();
+        this.roundTrip();
+
+        final String  prefix  = file.container() + BlobStorePath.SEPARATOR;
+        final Pattern pattern = Pattern.compile(blobKeyRegex(toBlobKeyPrefix(file)));
+        final List<Blob> blobs = this.blobs.entrySet().stream()
+            .filter(e -> e.getKey().startsWith(prefix))
+            .map(e -> new Blob(e.getKey().substring(prefix.length()), e.getValue().length))
+            .filter(blob -> pattern.matcher(blob.key).matches())
+            .sorted(Comparator.comparingLong(this::blobNumber))
+            .toList()
+        ;
+        return blobs.stream();
+    }
+
+    @Override
+    protected Stream<String> childKeys(final BlobStorePath directory)
+    {
+        this.listCount.incrementAndGet();
+        this.roundTrip();
+
+        final String  prefix  = directory.container() + BlobStorePath.SEPARATOR;
+        final Pattern pattern = Pattern.compile(childKeysRegex(directory));
+        return this.blobs.keySet().stream()
+            .filter(key -> key.startsWith(prefix))
+            .map(key -> key.substring(prefix.length()))
+            .filter(key -> pattern.matcher(key).matches())
+            .toList()
+            .stream()
+        ;
+    }
+
+    @Override
+    protected boolean internalDeleteBlobs(final BlobStorePath file, final List<? extends Blob> blobs)
+    {
+        this.roundTrip();
+        boolean success = true;
+        for(final Blob blob : blobs)
+        {
+            success &= this.blobs.remove(file.container() + BlobStorePath.SEPARATOR + blob.key) != null;
+        }
+        return success;
+    }
+
+    @Override
+    protected void internalReadBlobData(
+        final BlobStorePath file        ,
+        final Blob          blob        ,
+        final ByteBuffer    targetBuffer,
+        final long          offset      ,
+        final long          length
+    )
+    {
+        this.getCount.incrementAndGet();
+        this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+        try
+        {
+            this.roundTrip();
+
+            final byte[] data = this.blobs.get(file.container() + BlobStorePath.SEPARATOR + blob.key);
+            targetBuffer.put(data, (int)offset, (int)length);
+        }
+        finally
+        {
+            this.inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    protected long internalWriteData(final BlobStorePath file, final Iterable<? extends ByteBuffer> sourceBuffers)
+    {
+        final long totalSize = this.totalSize(sourceBuffers);
+        this.internalWriteBlob(file, this.nextBlobNumber(file), sourceBuffers);
+        return totalSize;
+    }
+
+    @Override
+    protected void internalWriteBlob(
+        final BlobStorePath                  file         ,
+        final long                           number       ,
+        final Iterable<? extends ByteBuffer> sourceBuffers
+    )
+    {
+        final byte[]     data   = new byte[Math.toIntExact(this.totalSize(sourceBuffers))];
+        final ByteBuffer target = ByteBuffer.wrap(data);
+        for(final ByteBuffer buffer : sourceBuffers)
+        {
+            target.put(buffer);
+        }
+
+        this.putCount.incrementAndGet();
+        this.putBytes.addAndGet(data.length);
+        this.roundTrip();
+        this.blobs.put(toBlobKeyWithContainer(file, number), data);
+    }
+
+    @Override
+    protected boolean internalWriteBlobSupported()
+    {
+        return this.blobWrite;
+    }
+
+    @Override
+    protected long writeCombiningSize()
+    {
+        return this.writeCombiningSize;
+    }
+
+    @Override
+    protected long copyChunkSize()
+    {
+        return this.copyChunkSize;
+    }
+
+    @Override
+    protected boolean internalCopyBlobSupported()
+    {
+        return this.serverSideCopy;
+    }
+
+    @Override
+    protected Blob internalCopyBlob(
+        final BlobStorePath sourceFile,
+        final Blob          blob      ,
+        final BlobStorePath targetFile,
+        final long          number
+    )
+    {
+        if(!this.serverSideCopy)
+        {
+            return null;
+        }
+
+        this.copyCount.incrementAndGet();
+        this.roundTrip();
+        final byte[] data = this.blobs.get(sourceFile.container() + BlobStorePath.SEPARATOR + blob.key);
+        this.blobs.put(toBlobKeyWithContainer(targetFile, number), data.clone());
+        return this.writtenBlob(targetFile, number, data.length);
+    }
+
+    @Override
+    protected Blob writtenBlob(final BlobStorePath file, final long number, final long size)
+    {
+        return new Blob(toBlobKey(file, number), size);
+    }
+
+}
@@ -0,0 +1,195 @@
+package test.eclipse.store.afs.sql;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.awaitility.Awaitility;
+import org.eclipse.store.afs.sql.types.SqlConnector;
+import org.eclipse.store.afs.sql.types.SqlPath;
+import org.eclipse.store.afs.sql.types.SqlProviderSqlite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * Batched writes, streamed reads and parallel range reads of the SQL connector against a SQLite database.
+ */
+public class SqlConnectorSqliteTest
+{
+    private static final SqlPath DIRECTORY = SqlPath.New("storage");
+    private static final SqlPath FILE      = SqlPath.New("storage", "file.dat");
+    private static final int     KIB       = 1024;
+    private static final int     MIB       = 1024 * KIB;
+
+    @TempDir
+    Path tempDir;
+
+    private SQLiteDataSource dataSource;
+
+    @BeforeEach
+    void createDataSource()
+    {
+        this.dataSource = new SQLiteDataSource();
+        this.dataSource.setUrl("jdbc:sqlite:" + this.tempDir.resolve("eclipsestoredb"));
+    }
+
+    @Test
+    void writesAreBatchedAndAppended() throws SQLException
+    {
+        try(final SqlConnector connector = SqlConnector.New(SqlProviderSqlite.New(this.dataSource)))
+        {
+            final byte[] first  = write(connector, 40 * MIB + 123, 700 * KIB, 1);
+            final byte[] second = write(connector, 3 * MIB, 1 * MIB, 2);
+
+            assertEquals(first.length + second.length, connector.fileSize(FILE));
+            // more segment rows than one batch holds
+            assertTrue(this.rowCount() > 32, "rows " + this.rowCount());
+
+            final byte[] content = concat(first, second);
+            assertArrayEquals(content, read(connector, 0, -1));
+        }
+    }
+
+    @Test
+    void rangesAreStreamedAcrossSegments()
+    {
+        try(final SqlConnector connector = SqlConnector.New(SqlProviderSqlite.New(this.dataSource)))
+        {
+            final byte[] content = write(connector, 10 * MIB, 300 * KIB, 3);
+
+            // within one segment, across a segment boundary and up to the end
+            assertArrayEquals(Arrays.copyOfRange(content, 100, 200), read(connector, 100, 100));
+            assertArrayEquals(
+                Arrays.copyOfRange(content, MIB - 1000, 3 * MIB + 1000),
+                read(connector, MIB - 1000, 2 * MIB + 2000)
+            );
+            assertArrayEquals(
+                Arrays.copyOfRange(content, 7 * MIB + 5, content.length),
+                read(connector, 7 * MIB + 5, -1)
+            );
+
+            final ByteBuffer target = ByteBuffer.allocate(5 * MIB);
+            assertEquals(5 * MIB, connector.readData(FILE, target, 2 * MIB + 17, 5 * MIB));
+            assertArrayEquals(Arrays.copyOfRange(content, 2 * MIB + 17, 7 * MIB + 17), target.array());
+        }
+    }
+
+    @Test
+    void largeRangesAreReadInParallelSlices()
+    {
+        final SqlConnector connector = SqlConnector.New(SqlProviderSqlite.New(this.dataSource), 4);
+        try
+        {
+            final byte[] content = write(connector, 33 * MIB + 7, 1 * MIB, 4);
+
+            assertArrayEquals(content, read(connector, 0, -1));
+            assertTrue(readerThreadsAlive(), "no parallel reader threads");
+
+            final ByteBuffer target = ByteBuffer.allocate(20 * MIB);
+            assertEquals(20 * MIB, connector.readData(FILE, target, 5 * MIB + 3, 20 * MIB));
+            assertArrayEquals(Arrays.copyOfRange(content, 5 * MIB + 3, 25 * MIB + 3), target.array());
+
+            assertArrayEquals(
+                Arrays.copyOfRange(content, 13 * MIB, content.length),
+                read(connector, 13 * MIB, -1)
+            );
+        }
+        finally
+        {
+            connector.close();
+        }
+
+        Awaitility.await()
+            .atMost(Duration.ofMillis(5000))
+            .pollInterval(Duration.ofMillis(20))
+            .until(() -> !readerThreadsAlive());
+        assertFalse(readerThreadsAlive());
+    }
+
+    private static byte[] write(
+        final SqlConnector connector ,
+        final int          size      ,
+        final int          chunkSize ,
+        final long         seed
+    )
+    {
+        final byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+
+        connector.createDirectory(DIRECTORY);
+
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        for(int offset = 0; offset < size; offset += chunkSize)
+        {
+            buffers.add(ByteBuffer.wrap(content, offset, Math.min(chunkSize, size - offset)));
+        }
+        assertEquals(size, connector.writeData(FILE, buffers));
+
+        return content;
+    }
+
+    private static byte[] read(
+        final SqlConnector connector,
+        final long         offset   ,
+        final long         length
+    )
+    {
+        final ByteBuffer buffer = connector.readData(FILE, offset, length);
+        final byte[]     bytes  = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] concat(final byte[] first, final byte[] second)
+    {
+        final byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static boolean readerThreadsAlive()
+    {
+        return Thread.getAllStackTraces().keySet().stream()
+            .anyMatch(thread -> thread.getName().startsWith("SqlReader-"));
+    }
+
+    private long rowCount() throws SQLException
+    {
+        try(final Connection connection = this.dataSource.getConnection();
+            final Statement statement = connection.createStatement();
+            final ResultSet result = statement.executeQuery("select count(*) from \"storage\""))
+        {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
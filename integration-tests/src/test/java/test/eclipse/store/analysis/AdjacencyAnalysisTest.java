@@ -0,0 +1,130 @@
+package test.eclipse.store.analysis;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.store.storage.analysis.AdjacencyDataConverter;
+import org.eclipse.store.storage.analysis.AdjacencyDataConverter.ConvertedAdjacencyFiles;
+import org.eclipse.store.storage.analysis.MissingObjects;
+import org.eclipse.store.storage.analysis.MissingObjectsSearch;
+import org.eclipse.store.storage.analysis.ObjectParents;
+import org.eclipse.store.storage.analysis.ReverseObjectSearch;
+import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The adjacency analysis sorts the exported references out of core, a tiny run length forces
+ * many runs and several merge passes.
+ */
+public class AdjacencyAnalysisTest
+{
+	static final long BASE         = 1_000_000_000_000_000_000L;
+	static final int  OBJECT_COUNT = 3000;
+	static final int  FILE_COUNT   = 3;
+	static final long MISSING_A    = BASE + 10_000;
+	static final long MISSING_B    = BASE + 10_001;
+	
+	@TempDir
+	Path tempDir;
+	
+	/**
+	 * Object {@code i} references {@code i + 1} and, twice, a constant id outside the object id range.
+	 * Objects 500 and 700 reference {@code MISSING_A}, object 1500 references {@code MISSING_B}.
+	 */
+	private List<AdjacencyFiles> export() throws IOException
+	{
+		final Map<Long, Path> files = new HashMap<>();
+		for(int f = 0; f < FILE_COUNT; f++)
+		{
+			final ByteBuffer buffer = ByteBuffer.allocate(OBJECT_COUNT * 64);
+			for(int i = f; i < OBJECT_COUNT; i += FILE_COUNT)
+			{
+				final List<Long> references = new ArrayList<>();
+				if(i + 1 < OBJECT_COUNT)
+				{
+					references.add(BASE + i + 1);
+				}
+				references.add(42L);
+				references.add(42L);
+				if(i == 500 || i == 700)
+				{
+					references.add(MISSING_A);
+				}
+				if(i == 1500)
+				{
+					references.add(MISSING_B);
+				}
+				
+				buffer.putLong(BASE + i);
+				buffer.putInt(references.size());
+				references.forEach(buffer::putLong);
+			}
+			buffer.flip();
+			
+			final Path path = this.tempDir.resolve("channel_0_" + f + ".dat.bin");
+			Files.write(path, Arrays.copyOf(buffer.array(), buffer.limit()));
+			files.put((long)f, path);
+		}
+		
+		return List.of(new AdjacencyFiles.Default(0, files));
+	}
+	
+	@Test
+	void findsMissingObjectsAndTheirParents() throws IOException
+	{
+		final List<AdjacencyFiles> exports = this.export();
+		
+		final ConvertedAdjacencyFiles data = new AdjacencyDataConverter.Default(
+			exports,
+			new AdjacencyDataConverter.Default.DefaultConfiguration(1, 1, 2, 16)
+		).convert();
+		
+		final MissingObjects missing = MissingObjectsSearch.New(exports, data.getReferenceSets(), null)
+			.searchMissingEntities();
+		assertEquals(Set.of(MISSING_A, MISSING_B), missing.getMissingObjectIDs());
+		
+		final ObjectParents parents = ReverseObjectSearch.New(exports, data)
+			.searchObjectIDs(Set.of(MISSING_A));
+		
+		assertArrayEquals(new long[] {BASE + 500, BASE + 700}, sorted(parents.getParents(MISSING_A)));
+		assertArrayEquals(new long[] {BASE + 499}, parents.getParents(BASE + 500));
+		assertArrayEquals(new long[] {BASE}, parents.getParents(BASE + 1));
+		assertNull(parents.getParents(BASE));
+		assertNull(parents.getParents(MISSING_B));
+	}
+	
+	private static long[] sorted(final long[] values)
+	{
+		final long[] copy = values.clone();
+		Arrays.sort(copy);
+		return copy;
+	}
+	
+}
@@ -0,0 +1,191 @@
+package test.eclipse.store.backup;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.eclipse.serializer.monitoring.MonitoringManager;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.monitoring.StorageBackupMonitorMBean;
+import org.eclipse.store.storage.types.Storage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Several backup threads copy the channels in parallel, a throughput limit delays the copying and
+ * the resulting lag is observable, and a clean shutdown still leaves a complete backup.
+ */
+@Timeout(120)
+public class ParallelBackupTest
+{
+	static final int CHANNEL_COUNT = 4;
+
+	@TempDir
+	Path tempDir;
+
+	private EmbeddedStorageManager startStorage(
+		final Object root           ,
+		final int    copierCount    ,
+		final long   throughputLimit,
+		final String monitorName
+	)
+	{
+		final NioFileSystem fileSystem = NioFileSystem.New();
+		return EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir.resolve("storage")))
+					.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+					.setBackupSetup(Storage.BackupSetup(
+						fileSystem.ensureDirectory(this.tempDir.resolve("backup")),
+						copierCount,
+						throughputLimit
+					))
+					.createConfiguration()
+			)
+			.setStorageMonitorManager(MonitoringManager.PlatformDependent(monitorName))
+			.start(root)
+		;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Item> loadBackup()
+	{
+		final EmbeddedStorageManager restored = EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir.resolve("backup")))
+					.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+					.createConfiguration()
+			)
+			.start()
+		;
+		try
+		{
+			return new ArrayList<>((List<Item>)restored.root());
+		}
+		finally
+		{
+			restored.shutdown();
+		}
+	}
+
+	private static StorageBackupMonitorMBean backupMonitor(final String monitorName) throws Exception
+	{
+		return JMX.newMBeanProxy(
+			ManagementFactory.getPlatformMBeanServer(),
+			new ObjectName("org.eclipse.store:storage=" + monitorName + ",name=StorageBackup"),
+			StorageBackupMonitorMBean.class
+		);
+	}
+
+	private static List<Item> createItems(final int count, final int nameLength)
+	{
+		final List<Item> items = new ArrayList<>(count);
+		for(int i = 0; i < count; i++)
+		{
+			items.add(new Item(i + ":" + "x".repeat(nameLength)));
+		}
+		return items;
+	}
+
+	@Test
+	void parallelCopiersCreateCompleteBackup() throws Exception
+	{
+		final List<Item> items       = createItems(2000, 20);
+		final String     monitorName = System.nanoTime() + "ParallelBackup";
+
+		final EmbeddedStorageManager storage = this.startStorage(items, CHANNEL_COUNT, 0, monitorName);
+		try
+		{
+			assertEquals(CHANNEL_COUNT, backupMonitor(monitorName).getCopierCount());
+
+			for(int round = 0; round < 20; round++)
+			{
+				for(int i = round; i < items.size(); i += 20)
+				{
+					items.get(i).name = "round " + round + " #" + i;
+				}
+				storage.storeAll(items);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final List<Item> backup = this.loadBackup();
+		assertEquals(items.size(), backup.size());
+		for(int i = 0; i < items.size(); i++)
+		{
+			assertEquals(items.get(i).name, backup.get(i).name);
+		}
+	}
+
+	@Test
+	void throttledBackupExposesLag() throws Exception
+	{
+		final List<Item> items       = new ArrayList<>();
+		final String     monitorName = System.nanoTime() + "ThrottledBackup";
+		final long       limit       = 256 * 1024;
+
+		final EmbeddedStorageManager storage = this.startStorage(items, 2, limit, monitorName);
+		try
+		{
+			final StorageBackupMonitorMBean monitor = backupMonitor(monitorName);
+			assertEquals(limit, monitor.getThroughputLimit());
+
+			// roughly 1 MiB in total, so the throttled copying takes several seconds
+			for(int batch = 0; batch < 16; batch++)
+			{
+				items.addAll(createItems(200, 300));
+				storage.store(items);
+			}
+
+			assertTrue(monitor.getPendingItemCount() > 0);
+			assertTrue(monitor.getPendingByteCount() > 0);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		// the shutdown waits for the pending items, however throttled
+		assertEquals(items.size(), this.loadBackup().size());
+	}
+
+
+	static class Item
+	{
+		String name;
+
+		Item(final String name)
+		{
+			super();
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package test.eclipse.store.backup;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageFoundation;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageBackupSnapshot;
+import org.eclipse.store.storage.types.StorageBackupSnapshots;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Snapshot backups only copy the data appended since the previous snapshot, share everything else and
+ * can be restored to any of the snapshots' points in time.
+ */
+public class SnapshotBackupTest
+{
+	static final int CHANNEL_COUNT = 2;
+
+	@TempDir
+	Path tempDir;
+
+	private static EmbeddedStorageFoundation<?> foundation(final Path directory)
+	{
+		return EmbeddedStorage.Foundation(
+			Storage.ConfigurationBuilder()
+				.setStorageFileProvider(Storage.FileProvider(directory))
+				.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+				.createConfiguration()
+		);
+	}
+
+	@Test
+	void incrementalSnapshotsRestoreToTheirPointInTime()
+	{
+		final NioFileSystem          fileSystem = NioFileSystem.New();
+		final StorageBackupSnapshots snapshots  = StorageBackupSnapshots.New(
+			fileSystem.ensureDirectory(this.tempDir.resolve("snapshots"))
+		);
+
+		final List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 1000; i++)
+		{
+			items.add(new Item("item #" + i));
+		}
+
+		final StorageBackupSnapshot first;
+		final StorageBackupSnapshot second;
+		final StorageBackupSnapshot third;
+		final EmbeddedStorageManager storage = foundation(this.tempDir.resolve("storage")).start(items);
+		try
+		{
+			first = storage.issueSnapshotBackup(snapshots);
+			assertEquals(first.totalLength(), first.copiedLength());
+
+			// nothing changed, everything is shared
+			second = storage.issueSnapshotBackup(snapshots);
+			assertEquals(first.totalLength(), second.totalLength());
+			assertEquals(0, second.copiedLength());
+
+			items.get(7).name = "changed";
+			storage.store(items.get(7));
+			third = storage.issueSnapshotBackup(snapshots);
+			assertTrue(third.copiedLength() > 0);
+			assertTrue(third.copiedLength() < first.totalLength() / 10, third.toString());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		assertEquals(3, snapshots.snapshots().size());
+		assertEquals(third.timestamp(), snapshots.latestSnapshot().timestamp());
+		assertEquals(first.timestamp(), snapshots.snapshotAt(first.timestamp()).timestamp());
+		assertNull(snapshots.snapshotAt(first.timestamp() - 1));
+
+		assertEquals("item #7", this.restoreItems(snapshots, first, "restored-first").get(7).name);
+		assertEquals("changed", this.restoreItems(snapshots, third, "restored-third").get(7).name);
+
+		final ADirectory used = fileSystem.ensureDirectory(this.tempDir.resolve("restored-third"));
+		assertThrows(StorageException.class, () -> snapshots.restore(first, used));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Item> restoreItems(
+		final StorageBackupSnapshots snapshots,
+		final StorageBackupSnapshot  snapshot ,
+		final String                 directory
+	)
+	{
+		final Path target = this.tempDir.resolve(directory);
+		snapshots.restore(
+			snapshots.snapshotAt(snapshot.timestamp()),
+			NioFileSystem.New().ensureDirectory(target)
+		);
+
+		final EmbeddedStorageManager restored = foundation(target).start();
+		try
+		{
+			final List<Item> items = (List<Item>)restored.root();
+			assertEquals(1000, items.size());
+			return items;
+		}
+		finally
+		{
+			restored.shutdown();
+		}
+	}
+
+
+	static class Item
+	{
+		String name;
+
+		Item(final String name)
+		{
+			super();
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,217 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.serializer.typing.KeyValue;
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.CacheTable;
+import org.eclipse.store.cache.types.CachedValue;
+import org.eclipse.store.cache.types.EvictionManager;
+import org.eclipse.store.cache.types.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * The cache table is lock-striped: operations on different keys run concurrently, while every
+ * single-entry operation, including entry processors, stays atomic.
+ */
+public class CacheConcurrencyTest
+{
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    @Timeout(60)
+    void entryProcessorsAreAtomicPerEntry() throws Exception
+    {
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, Long> cache = cacheManager.createCache(
+            "concurrentInvokeCache",
+            CacheConfiguration.Builder(Integer.class, Long.class).build()
+        );
+        try
+        {
+            final int             keyCount       = 16;
+            final int             incrementCount = 5_000;
+            final ExecutorService executor       = Executors.newFixedThreadPool(THREAD_COUNT);
+            try
+            {
+                final List<Future<?>> futures = new ArrayList<>();
+                for(int t = 0; t < THREAD_COUNT; t++)
+                {
+                    futures.add(executor.submit(() ->
+                    {
+                        for(int i = 0; i < incrementCount; i++)
+                        {
+                            cache.invoke(i % keyCount, (entry, args) ->
+                            {
+                                entry.setValue(entry.exists() ? entry.getValue() + 1 : 1L);
+                                return null;
+                            });
+                        }
+                    }));
+                }
+                for(final Future<?> future : futures)
+                {
+                    future.get();
+                }
+            }
+            finally
+            {
+                executor.shutdown();
+            }
+
+            long total = 0;
+            for(int key = 0; key < keyCount; key++)
+            {
+                total += cache.get(key);
+            }
+            assertEquals((long)THREAD_COUNT * incrementCount, total);
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void concurrentMutationsWithEviction() throws Exception
+    {
+        final long maxCacheSize = 1_000;
+
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, String> cache = cacheManager.createCache(
+            "concurrentEvictionCache",
+            CacheConfiguration.Builder(Integer.class, String.class)
+                .evictionManagerFactory(() ->
+                    EvictionManager.OnEntryCreation(EvictionPolicy.LeastRecentlyUsed(maxCacheSize)))
+                .build()
+        );
+        try
+        {
+            final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+            try
+            {
+                final List<Future<?>> futures = new ArrayList<>();
+                for(int t = 0; t < THREAD_COUNT; t++)
+                {
+                    futures.add(executor.submit(() ->
+                    {
+                        final ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for(int i = 0; i < 20_000; i++)
+                        {
+                            final int key = random.nextInt(5_000);
+                            switch(random.nextInt(4))
+                            {
+                                case 0  -> cache.remove(key);
+                                case 1  -> cache.get(key);
+                                default -> cache.put(key, "value" + key);
+                            }
+                        }
+
+                        // iteration must not fail while other threads mutate the cache
+                        for(final Iterator<Cache.Entry<Integer, String>> it = cache.iterator(); it.hasNext();)
+                        {
+                            final Cache.Entry<Integer, String> entry = it.next();
+                            assertEquals("value" + entry.getKey(), entry.getValue());
+                        }
+                    }));
+                }
+                for(final Future<?> future : futures)
+                {
+                    future.get();
+                }
+            }
+            finally
+            {
+                executor.shutdown();
+            }
+
+            // every creation triggers an eviction after its entry lock is released. Concurrent evictions
+            // may pick the same victim, so the bound is only approximately kept.
+            long size = 0;
+            for(final Cache.Entry<Integer, String> entry : cache)
+            {
+                size++;
+            }
+            assertTrue(size <= 2 * maxCacheSize, "size " + size);
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void stripedTableSpansAllStripes()
+    {
+        final CacheTable table = CacheTable.New(16);
+        for(int i = 0; i < 1_000; i++)
+        {
+            table.put(i, CachedValue.New("value" + i, i, -1));
+        }
+        assertEquals(1_000, table.size());
+
+        final Comparator<KeyValue<Object, CachedValue>> byCreation =
+            (kv1, kv2) -> Long.compare(kv1.value().creationTime(), kv2.value().creationTime());
+        assertEquals(0, table.min(byCreation).key());
+        assertEquals(0, table.rangeMin(0, 1_000, byCreation).key());
+
+        // a range covering all entries except the first one and the last one, in iteration order
+        final List<Object> keys = new ArrayList<>();
+        table.keys().forEach(keys::add);
+        final Object first = keys.get(0);
+        final Object last  = keys.get(keys.size() - 1);
+        final KeyValue<Object, CachedValue> rangeMin = table.rangeMin(1, 998, byCreation);
+        assertFalse(rangeMin.key().equals(first) || rangeMin.key().equals(last));
+        assertEquals(
+            keys.subList(1, 999).stream().mapToInt(k -> (Integer)k).min().getAsInt(),
+            rangeMin.key()
+        );
+
+        // conditional removal only removes the expected value
+        final CachedValue value = table.get(42);
+        assertFalse(table.remove(42, CachedValue.New("other", 0, -1)));
+        assertTrue(table.remove(42, value));
+        assertNull(table.get(42));
+
+        table.clear();
+        assertEquals(0, table.size());
+    }
+
+}
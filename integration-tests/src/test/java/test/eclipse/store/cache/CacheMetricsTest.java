@@ -0,0 +1,115 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.CacheMetrics;
+import org.eclipse.store.cache.types.CacheStatisticsMXBean;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The Micrometer binding reports the cache's size, counters and latencies, tagged with the cache's name.
+ */
+public class CacheMetricsTest
+{
+    @Test
+    void metricsReflectTheStatistics()
+    {
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, String> cache = cacheManager.createCache(
+            "metricsCache",
+            CacheConfiguration.Builder(Integer.class, String.class)
+                .enableStatistics(true)
+                .build()
+        );
+        try
+        {
+            final MeterRegistry registry = new SimpleMeterRegistry();
+            CacheMetrics.New(cache.unwrap(org.eclipse.store.cache.types.Cache.class), Tags.of("application", "test"))
+                .bindTo(registry);
+
+            for(int i = 0; i < 10; i++)
+            {
+                cache.put(i, "value" + i);
+            }
+            for(int i = 0; i < 15; i++)
+            {
+                cache.get(i);
+            }
+            cache.remove(1);
+
+            assertEquals( 9.0, registry.get("cache.size").tag("cache", "metricsCache").gauge().value());
+            assertEquals(10.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+            assertEquals( 5.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+            assertEquals(
+                10.0,
+                registry.get("cache.puts").tags("application", "test", "cache", "metricsCache").functionCounter().count()
+            );
+            assertEquals( 1.0, registry.get("cache.removals").functionCounter().count());
+            assertEquals( 0.0, registry.get("cache.evictions").functionCounter().count());
+            assertEquals( 0.0, registry.get("cache.expiries").functionCounter().count());
+
+            // percentiles are only reported while the latency histogram is recorded
+            final double p50Before = registry.get("cache.latency")
+                .tag("operation", "get")
+                .tag("quantile", "0.5")
+                .timeGauge()
+                .value(TimeUnit.MICROSECONDS);
+            assertEquals(0.0, p50Before);
+
+            cache.unwrap(CacheStatisticsMXBean.class).setLatencyHistogramEnabled(true);
+            for(int i = 0; i < 100; i++)
+            {
+                cache.get(i % 10);
+            }
+            final double p50 = registry.get("cache.latency")
+                .tag("operation", "get")
+                .tag("quantile", "0.5")
+                .timeGauge()
+                .value(TimeUnit.MICROSECONDS);
+            final double p999 = registry.get("cache.latency")
+                .tag("operation", "get")
+                .tag("quantile", "0.999")
+                .timeGauge()
+                .value(TimeUnit.MICROSECONDS);
+            assertTrue(p50 > 0, "p50 " + p50);
+            assertTrue(p999 >= p50, "p99.9 " + p999);
+            assertTrue(
+                registry.get("cache.latency.mean").tag("operation", "get").timeGauge().value(TimeUnit.MICROSECONDS) > 0
+            );
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.CacheStatisticsMXBean;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The statistics count all operations, while timing and latency histograms can be switched at runtime.
+ */
+public class CacheStatisticsTest
+{
+    @Test
+    void statisticsWithSwitchableTiming()
+    {
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, String> cache = cacheManager.createCache(
+            "statisticsCache",
+            CacheConfiguration.Builder(Integer.class, String.class)
+                .enableStatistics(true)
+                .build()
+        );
+        try
+        {
+            final CacheStatisticsMXBean statistics = cache.unwrap(CacheStatisticsMXBean.class);
+            assertTrue(statistics.isTimingEnabled());
+            assertFalse(statistics.isLatencyHistogramEnabled());
+
+            for(int i = 0; i < 100; i++)
+            {
+                cache.put(i, "value" + i);
+            }
+            for(int i = 0; i < 150; i++)
+            {
+                cache.get(i);
+            }
+            cache.remove(1);
+
+            assertEquals(100, statistics.getCachePuts());
+            assertEquals(100, statistics.getCacheHits());
+            assertEquals( 50, statistics.getCacheMisses());
+            assertEquals(  1, statistics.getCacheRemovals());
+            assertEquals(0.0f, statistics.getGetTimePercentile(99.0));
+
+            // without timing, the counters keep counting
+            statistics.setTimingEnabled(false);
+            for(int i = 0; i < 100; i++)
+            {
+                cache.get(i);
+            }
+            assertEquals(199, statistics.getCacheHits());
+            assertTrue(statistics.getAverageGetTime() >= 0);
+
+            // enabling histograms enables timing as well
+            statistics.setLatencyHistogramEnabled(true);
+            assertTrue(statistics.isTimingEnabled());
+            for(int i = 0; i < 100; i++)
+            {
+                cache.get(i);
+            }
+            final float median = statistics.getGetTimePercentile(50.0);
+            final float p999   = statistics.getGetTimePercentile(99.9);
+            assertTrue(median > 0, "median " + median);
+            assertTrue(p999 >= median, "p99.9 " + p999);
+
+            statistics.clear();
+            assertEquals(0, statistics.getCacheHits());
+            assertEquals(0.0f, statistics.getGetTimePercentile(50.0));
+            assertEquals(0.0f, statistics.getAverageGetTime());
+
+            statistics.setLatencyHistogramEnabled(false);
+            cache.get(2);
+            assertEquals(0.0f, statistics.getGetTimePercentile(50.0));
+            assertEquals(1, statistics.getCacheHits());
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+}
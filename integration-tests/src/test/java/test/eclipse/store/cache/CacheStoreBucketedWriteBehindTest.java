@@ -0,0 +1,312 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.integration.CacheLoaderException;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.CacheStore;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The bucketed store persists like the single table store, and the write-behind store coalesces
+ * writes per key while its loads always see the latest write.
+ */
+public class CacheStoreBucketedWriteBehindTest
+{
+    private static final String CACHE_KEY = "bucketedCache";
+
+    @Test
+    @Timeout(60)
+    void bucketedStoreSurvivesRestart(@TempDir final Path tempdir)
+    {
+        EmbeddedStorageManager storageManager = EmbeddedStorage.start(tempdir);
+        try
+        {
+            final CacheStore<Integer, String> store =
+                CacheStore.Bucketed(CacheStore.TableProvider.Root(CACHE_KEY), storageManager, 16);
+
+            final List<Cache.Entry<? extends Integer, ? extends String>> entries = new ArrayList<>();
+            for(int i = 0; i < 1_000; i++)
+            {
+                entries.add(new SimpleEntry(i, "value" + i));
+            }
+            store.writeAll(entries);
+            assertTrue(entries.isEmpty(), "written entries must be removed from the collection");
+
+            store.write(new SimpleEntry(7, "changed"));
+            store.delete(8);
+            final Set<Integer> keysToDelete = new HashSet<>(List.of(10, 11, 12));
+            store.deleteAll(keysToDelete);
+            assertTrue(keysToDelete.isEmpty());
+
+            storageManager.shutdown();
+            storageManager = EmbeddedStorage.start(tempdir);
+
+            final CacheStore<Integer, String> restarted =
+                CacheStore.Bucketed(CacheStore.TableProvider.Root(CACHE_KEY), storageManager, 16);
+            assertEquals("value0", restarted.load(0));
+            assertEquals("changed", restarted.load(7));
+            assertNull(restarted.load(8));
+            assertNull(restarted.loadAll(List.of(11)).get(11));
+            assertEquals("value999", restarted.loadAll(List.of(999)).get(999));
+            assertEquals(996, count(restarted.keys()));
+
+            // the layout of a cache key can not be changed
+            final CacheStore<Integer, String> singleTable = CacheStore.New(CACHE_KEY, storageManager);
+            final CacheLoaderException        exception   = assertThrows(CacheLoaderException.class, () -> singleTable.load(0));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+        finally
+        {
+            storageManager.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void writeBehindCoalescesWrites() throws Exception
+    {
+        final MapStore                                delegate = new MapStore();
+        final CacheStore.WriteBehind<Integer, String> store    = CacheStore.WriteBehind(delegate, 60_000, 100, 10_000);
+        try
+        {
+            for(int i = 0; i < 50; i++)
+            {
+                store.write(new SimpleEntry(1, "value" + i));
+            }
+            store.write(new SimpleEntry(2, "two"));
+            store.write(new SimpleEntry(3, "three"));
+            store.delete(3);
+
+            // nothing flushed yet, but loads see the queued operations
+            assertEquals(0, delegate.writtenCount);
+            assertEquals("value49", store.load(1));
+            assertNull(store.load(3));
+            assertEquals(Set.of(1, 2), keySet(store.keys()));
+
+            store.flush();
+            assertEquals(0, store.pendingCount());
+            assertEquals(2, delegate.writtenCount);
+            assertEquals("value49", delegate.map.get(1));
+            assertEquals("two", delegate.map.get(2));
+            assertEquals("two", store.load(2));
+        }
+        finally
+        {
+            store.close();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void writeBehindFlushesInBackground() throws Exception
+    {
+        final MapStore                                delegate = new MapStore();
+        final CacheStore.WriteBehind<Integer, String> store    = CacheStore.WriteBehind(delegate, 10, 100, 10_000);
+        try
+        {
+            for(int i = 0; i < 1_000; i++)
+            {
+                store.write(new SimpleEntry(i, "value" + i));
+            }
+            while(store.pendingCount() > 0)
+            {
+                Thread.sleep(10);
+            }
+            assertEquals(1_000, delegate.size());
+        }
+        finally
+        {
+            store.close();
+        }
+    }
+
+    @Test
+    @Timeout(60)
+    void writeBehindCacheIsFlushedOnClose(@TempDir final Path tempdir)
+    {
+        EmbeddedStorageManager storageManager = EmbeddedStorage.start(tempdir);
+        final CachingProvider  provider       = Caching.getCachingProvider();
+        CacheManager           cacheManager   = provider.getCacheManager();
+        try
+        {
+            final CacheStore<Integer, String> store = CacheStore.WriteBehind(
+                CacheStore.Bucketed(CACHE_KEY, storageManager)
+            );
+            final Cache<Integer, String> cache = cacheManager.createCache(
+                "writeBehindCache",
+                CacheConfiguration.Builder(Integer.class, String.class)
+                    .cacheLoaderFactory(() -> store)
+                    .cacheWriterFactory(() -> store)
+                    .readThrough()
+                    .writeThrough()
+                    .build()
+            );
+            for(int i = 0; i < 500; i++)
+            {
+                cache.put(i, "value" + i);
+            }
+            cache.remove(5);
+
+            // closing the cache closes its writer, which flushes the queue
+            cacheManager.close();
+            storageManager.shutdown();
+
+            storageManager = EmbeddedStorage.start(tempdir);
+            final CacheStore<Integer, String> restarted = CacheStore.Bucketed(CACHE_KEY, storageManager);
+            assertEquals("value0", restarted.load(0));
+            assertEquals("value499", restarted.load(499));
+            assertNull(restarted.load(5));
+        }
+        finally
+        {
+            cacheManager.close();
+            storageManager.shutdown();
+        }
+    }
+
+    private static int count(final Iterator<?> iterator)
+    {
+        int count = 0;
+        while(iterator.hasNext())
+        {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    private static Set<Integer> keySet(final Iterator<Integer> iterator)
+    {
+        final Set<Integer> keys = new HashSet<>();
+        iterator.forEachRemaining(keys::add);
+        return keys;
+    }
+
+
+    static final class SimpleEntry implements Cache.Entry<Integer, String>
+    {
+        private final Integer key  ;
+        private final String  value;
+
+        SimpleEntry(final Integer key, final String value)
+        {
+            this.key   = key  ;
+            this.value = value;
+        }
+
+        @Override
+        public Integer getKey()
+        {
+            return this.key;
+        }
+
+        @Override
+        public String getValue()
+        {
+            return this.value;
+        }
+
+        @Override
+        public <T> T unwrap(final Class<T> clazz)
+        {
+            throw new IllegalArgumentException();
+        }
+    }
+
+
+    static final class MapStore implements CacheStore<Integer, String>
+    {
+        final Map<Integer, String> map = new HashMap<>();
+        int                        writtenCount;
+
+        synchronized int size()
+        {
+            return this.map.size();
+        }
+
+        @Override
+        public synchronized Iterator<Integer> keys()
+        {
+            return new ArrayList<>(this.map.keySet()).iterator();
+        }
+
+        @Override
+        public synchronized String load(final Integer key)
+        {
+            return this.map.get(key);
+        }
+
+        @Override
+        public synchronized Map<Integer, String> loadAll(final Iterable<? extends Integer> keys)
+        {
+            final Map<Integer, String> result = new HashMap<>();
+            keys.forEach(key -> result.put(key, this.map.get(key)));
+            return result;
+        }
+
+        @Override
+        public synchronized void write(final Cache.Entry<? extends Integer, ? extends String> entry)
+        {
+            this.map.put(entry.getKey(), entry.getValue());
+            this.writtenCount++;
+        }
+
+        @Override
+        public synchronized void writeAll(final Collection<Cache.Entry<? extends Integer, ? extends String>> entries)
+        {
+            entries.forEach(this::write);
+            entries.clear();
+        }
+
+        @Override
+        public synchronized void delete(final Object key)
+        {
+            this.map.remove(key);
+        }
+
+        @Override
+        public synchronized void deleteAll(final Collection<?> keys)
+        {
+            keys.forEach(this.map::remove);
+            keys.clear();
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import org.eclipse.serializer.typing.KeyValue;
+import org.eclipse.store.cache.types.CacheTable;
+import org.eclipse.store.cache.types.CachedValue;
+import org.eclipse.store.cache.types.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Hit rates of the eviction policies on fixed synthetic traces.
+ * <p>
+ * Each trace is replayed against a {@link CacheTable} driven like the cache does it: a miss inserts the key and
+ * lets the policy pick its victims. The traces are generated with a fixed seed, so the hit rates are reproducible:
+ * <ul>
+ *   <li><b>zipf</b> - skewed popularity (exponent 0.99), like web and database accesses</li>
+ *   <li><b>zipf+scan</b> - the same, interrupted by scans of one-time keys larger than the cache</li>
+ *   <li><b>loop</b> - a cyclic access pattern slightly larger than the cache, the worst case for LRU</li>
+ * </ul>
+ * Recorded traces like the ARC or LIRS ones can be replayed by passing a text file with one numeric key per
+ * line (further columns are ignored) as system property <code>eviction.trace</code>, and optionally the cache
+ * size as <code>eviction.cacheSize</code>. The hit rates of such a replay are only reported, not asserted.
+ */
+public class EvictionHitRateTest
+{
+    private static final int  KEY_SPACE     = 10_000;
+    private static final int  TRACE_LENGTH  = 100_000;
+    private static final int  SCAN_INTERVAL = 10_000;
+    private static final int  LOOP_LENGTH   = 600;
+    private static final long CACHE_SIZE    = 500;
+    private static final long SEED          = 42L;
+
+    @Test
+    void zipf()
+    {
+        final Map<String, Double> hitRates = hitRates(zipfTrace(KEY_SPACE, TRACE_LENGTH, 0.99, 0));
+
+        hitRates.forEach((policy, hitRate) -> assertTrue(hitRate > 0.1, policy + " hit rate " + hitRate));
+        assertAtLeast(hitRates, "W-TinyLFU", "Sampling LRU");
+        assertAtLeast(hitRates, "SLRU"     , "Sampling LRU");
+    }
+
+    @Test
+    void zipfWithScans()
+    {
+        final Map<String, Double> hitRates = hitRates(zipfTrace(KEY_SPACE, TRACE_LENGTH, 0.99, SCAN_INTERVAL));
+
+        // the scans flush an LRU cache, the scan resistant policies keep the popular keys
+        assertTrue(
+            hitRates.get("W-TinyLFU") > hitRates.get("Sampling LRU"),
+            "W-TinyLFU " + hitRates.get("W-TinyLFU") + ", LRU " + hitRates.get("Sampling LRU")
+        );
+        assertAtLeast(hitRates, "SLRU", "Sampling LRU");
+    }
+
+    @Test
+    void loop()
+    {
+        final Map<String, Double> hitRates = hitRates(loopTrace(LOOP_LENGTH, TRACE_LENGTH));
+
+        // every key is evicted right before it is accessed again
+        assertEquals(0.0, hitRates.get("Sampling LRU"));
+        assertTrue(hitRates.get("W-TinyLFU") > 0.1, "W-TinyLFU hit rate " + hitRates.get("W-TinyLFU"));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "eviction.trace", matches = ".+")
+    void recordedTrace() throws IOException
+    {
+        final Path   traceFile = Path.of(System.getProperty("eviction.trace"));
+        final long[] trace;
+        try(final Stream<String> lines = Files.lines(traceFile))
+        {
+            trace = lines
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && Character.isDigit(line.charAt(0)))
+                .mapToLong(line -> Long.parseLong(line.split("[\\s,]+")[0]))
+                .toArray();
+        }
+        assertTrue(trace.length > 0, "No keys in trace file " + traceFile);
+
+        final long cacheSize = Long.getLong("eviction.cacheSize", CACHE_SIZE);
+        hitRates(trace, cacheSize).forEach((policy, hitRate) ->
+            System.out.printf(
+                "%-24s size %7d  %-14s hit rate %6.2f%%%n",
+                traceFile.getFileName(), cacheSize, policy, hitRate * 100
+            )
+        );
+    }
+
+    private static void assertAtLeast(final Map<String, Double> hitRates, final String policy, final String baseline)
+    {
+        assertTrue(
+            hitRates.get(policy) >= hitRates.get(baseline) - 0.01,
+            policy + " " + hitRates.get(policy) + " below " + baseline + " " + hitRates.get(baseline)
+        );
+    }
+
+    private static Map<String, Double> hitRates(final long[] trace)
+    {
+        return hitRates(trace, CACHE_SIZE);
+    }
+
+    private static Map<String, Double> hitRates(final long[] trace, final long cacheSize)
+    {
+        final Map<String, LongFunction<EvictionPolicy>> policies = new LinkedHashMap<>();
+        policies.put("Sampling LRU", size -> EvictionPolicy.LeastRecentlyUsed(1, size + 1));
+        policies.put("Sampling LFU", size -> EvictionPolicy.LeastFrequentlyUsed(1, size + 1));
+        policies.put("SLRU"        , EvictionPolicy::SegmentedLeastRecentlyUsed);
+        policies.put("W-TinyLFU"   , EvictionPolicy::WindowTinyLfu);
+
+        final Map<String, Double> hitRates = new LinkedHashMap<>();
+        for(final Map.Entry<String, LongFunction<EvictionPolicy>> policy : policies.entrySet())
+        {
+            hitRates.put(policy.getKey(), hitRate(policy.getValue().apply(cacheSize), trace));
+        }
+        return hitRates;
+    }
+
+    private static double hitRate(final EvictionPolicy policy, final long[] trace)
+    {
+        final CacheTable table = CacheTable.New(1);
+        if(policy instanceof CacheTable.Observer)
+        {
+            table.observer((CacheTable.Observer)policy);
+        }
+
+        long hits = 0;
+        long tick = 0;
+        for(final long key : trace)
+        {
+            tick++;
+            final CachedValue value = table.get(key);
+            if(value != null)
+            {
+                // updates the access time and count the sampling policies compare
+                value.value(tick);
+                hits++;
+                continue;
+            }
+
+            table.put(key, CachedValue.New(key, tick, -1));
+            final Iterable<KeyValue<Object, CachedValue>> victims = policy.pickEntriesToEvict(table);
+            if(victims != null)
+            {
+                victims.forEach(kv -> table.remove(kv.key(), kv.value()));
+            }
+        }
+        return (double)hits / trace.length;
+    }
+
+    private static long[] zipfTrace(final int keySpace, final int length, final double exponent, final int scanInterval)
+    {
+        final double[] cumulative = new double[keySpace];
+        double sum = 0;
+        for(int i = 0; i < keySpace; i++)
+        {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+
+        final Random random  = new Random(SEED);
+        final long[] trace   = new long[length];
+        long         scanKey = keySpace;
+        for(int i = 0; i < length; i++)
+        {
+            // every scan interval, a tenth of it consists of one-time keys
+            if(scanInterval > 0 && i % scanInterval >= scanInterval - scanInterval / 10)
+            {
+                trace[i] = scanKey++;
+                continue;
+            }
+
+            final int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            trace[i] = index >= 0 ? index : -index - 1;
+        }
+        return trace;
+    }
+
+    private static long[] loopTrace(final int loopLength, final int length)
+    {
+        final long[] trace = new long[length];
+        for(int i = 0; i < length; i++)
+        {
+            trace[i] = i % loopLength;
+        }
+        return trace;
+    }
+
+}
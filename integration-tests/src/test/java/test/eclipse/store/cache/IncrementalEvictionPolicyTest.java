@@ -0,0 +1,182 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.serializer.typing.KeyValue;
+import org.eclipse.store.cache.types.ByteSized;
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.CacheTable;
+import org.eclipse.store.cache.types.CachedValue;
+import org.eclipse.store.cache.types.EvictionManager;
+import org.eclipse.store.cache.types.EvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The incrementally maintained policies keep the cache within its maximum and, unlike plain LRU,
+ * keep frequently used entries when a scan of one-time keys passes through the cache.
+ */
+public class IncrementalEvictionPolicyTest
+{
+    private static final int MAX_CACHE_SIZE = 100;
+    private static final int HOT_KEY_COUNT  = 50;
+
+    @Test
+    void windowTinyLfuIsScanResistant()
+    {
+        this.assertScanResistant("windowTinyLfuCache", () -> EvictionPolicy.WindowTinyLfu(MAX_CACHE_SIZE));
+    }
+
+    @Test
+    void segmentedLruIsScanResistant()
+    {
+        this.assertScanResistant("segmentedLruCache", () -> EvictionPolicy.SegmentedLeastRecentlyUsed(MAX_CACHE_SIZE));
+    }
+
+    private void assertScanResistant(final String cacheName, final Supplier<EvictionPolicy> policy)
+    {
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, String> cache = cacheManager.createCache(
+            cacheName,
+            CacheConfiguration.Builder(Integer.class, String.class)
+                .evictionManagerFactory(() -> EvictionManager.OnEntryCreation(policy.get()))
+                .build()
+        );
+        try
+        {
+            for(int round = 0; round < 5; round++)
+            {
+                for(int key = 0; key < HOT_KEY_COUNT; key++)
+                {
+                    if(cache.get(key) == null)
+                    {
+                        cache.put(key, "hot" + key);
+                    }
+                }
+            }
+
+            for(int key = 1_000; key < 11_000; key++)
+            {
+                cache.put(key, "scan" + key);
+            }
+
+            long size = 0;
+            for(final Cache.Entry<Integer, String> entry : cache)
+            {
+                size++;
+            }
+            assertTrue(size <= MAX_CACHE_SIZE, "size " + size);
+
+            int retained = 0;
+            for(int key = 0; key < HOT_KEY_COUNT; key++)
+            {
+                if(cache.containsKey(key))
+                {
+                    retained++;
+                }
+            }
+            assertEquals(HOT_KEY_COUNT, retained);
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void weighsEntriesByByteSize()
+    {
+        final CacheTable     table  = CacheTable.New(4);
+        final EvictionPolicy policy = EvictionPolicy.WindowTinyLfu(1_000, true);
+        table.observer((CacheTable.Observer)policy);
+
+        for(int key = 0; key < 100; key++)
+        {
+            table.put(key, CachedValue.New(new Blob(key % 2 == 0 ? 100 : 50), key, -1));
+            final Iterable<KeyValue<Object, CachedValue>> victims = policy.pickEntriesToEvict(table);
+            if(victims != null)
+            {
+                victims.forEach(kv -> table.remove(kv.key(), kv.value()));
+            }
+
+            long byteSize = 0;
+            for(final Object k : table.keys())
+            {
+                byteSize += table.get(k).byteSizeEstimate();
+            }
+            assertTrue(byteSize <= 1_000, "byte size " + byteSize);
+        }
+
+        // removed entries are no longer tracked, nothing is left to evict
+        table.clear();
+        assertNull(policy.pickEntriesToEvict(table));
+    }
+
+    @Test
+    void replacedVictimIsTrackedAgain()
+    {
+        final CacheTable     table  = CacheTable.New(1);
+        final EvictionPolicy policy = EvictionPolicy.SegmentedLeastRecentlyUsed(2);
+        table.observer((CacheTable.Observer)policy);
+
+        table.put(1, CachedValue.New(1, 1, -1));
+        table.put(2, CachedValue.New(2, 2, -1));
+        table.put(3, CachedValue.New(3, 3, -1));
+        final Iterable<KeyValue<Object, CachedValue>> victims = policy.pickEntriesToEvict(table);
+
+        // the victim is replaced before the eviction removes it, so its conditional removal fails
+        final CachedValue replacement = CachedValue.New(1, 4, -1);
+        table.put(1, replacement);
+        victims.forEach(kv -> assertTrue(kv.value() != replacement && !table.remove(kv.key(), kv.value())));
+
+        // the replacement is still subject to eviction
+        for(int key = 4; key < 10; key++)
+        {
+            table.put(key, CachedValue.New(key, key, -1));
+            policy.pickEntriesToEvict(table).forEach(kv -> table.remove(kv.key(), kv.value()));
+        }
+        assertEquals(2, table.size());
+        assertNull(table.get(1));
+    }
+
+    static final class Blob implements ByteSized
+    {
+        private final long byteSize;
+
+        Blob(final long byteSize)
+        {
+            this.byteSize = byteSize;
+        }
+
+        @Override
+        public long byteSize()
+        {
+            return this.byteSize;
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package test.eclipse.store.cache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.eclipse.store.cache.types.CacheConfiguration;
+import org.eclipse.store.cache.types.EvictionManager;
+import org.eclipse.store.cache.types.EvictionPolicy;
+import org.eclipse.store.cache.types.OffHeapObject;
+import org.eclipse.store.cache.types.OffHeapStore;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A store-by-value cache with an off-heap size keeps its serialized values in native memory,
+ * with the same semantics as the on-heap by-value cache.
+ */
+public class OffHeapCacheTest
+{
+    @Test
+    @SuppressWarnings("unchecked")
+    void offHeapCacheStoresByValue()
+    {
+        final CachingProvider provider     = Caching.getCachingProvider();
+        final CacheManager    cacheManager = provider.getCacheManager();
+
+        final Cache<Integer, List<String>> cache = cacheManager.createCache(
+            "offHeapCache",
+            CacheConfiguration.Builder(Integer.class, (Class<List<String>>)(Class<?>)List.class)
+                .storeByValue()
+                .offHeapByteSize(16L << 20)
+                .evictionManagerFactory(() -> EvictionManager.OnEntryCreation(
+                    EvictionPolicy.WindowTinyLfu(8L << 20, true)
+                ))
+                .build()
+        );
+        try
+        {
+            final List<String> value = new ArrayList<>(values(100));
+            cache.put(1, value);
+
+            // mutations of the original don't affect the cached copy
+            value.add("changed");
+            assertEquals(values(100), cache.get(1));
+            assertEquals(values(100), cache.get(1));
+
+            assertTrue(cache.replace(1, values(100), values(200)));
+            assertFalse(cache.replace(1, values(100), values(300)));
+            assertEquals(values(200), cache.get(1));
+
+            assertTrue(cache.remove(1, values(200)));
+            assertNull(cache.get(1));
+
+            // small values stay on the heap
+            cache.put(2, new ArrayList<>(List.of("small")));
+            assertEquals(List.of("small"), cache.get(2));
+
+            // many large values are evicted by byte size instead of exhausting the native memory
+            for(int key = 0; key < 2_000; key++)
+            {
+                cache.put(key, values(1_000));
+            }
+            int present = 0;
+            for(final Cache.Entry<Integer, List<String>> entry : cache)
+            {
+                assertEquals(values(1_000), entry.getValue());
+                present++;
+            }
+            assertTrue(present > 0 && present < 2_000, "present " + present);
+        }
+        finally
+        {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void offHeapStoreKeepsWithinMaximum()
+    {
+        final OffHeapStore store = OffHeapStore.New(2L * OffHeapStore.DefaultSlabByteSize());
+
+        final byte[] small = new byte[100];
+        Arrays.fill(small, (byte)7);
+        final OffHeapObject stored = store.store(small.hashCode(), small);
+        assertTrue(stored.isOffHeap());
+        assertArrayEquals(small, stored.serializedData());
+        assertEquals(100, stored.byteSize());
+        assertEquals(100, store.usedByteSize());
+        assertEquals(OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+
+        // the same size class shares the slab
+        assertTrue(store.store(1, new byte[120]).isOffHeap());
+        assertEquals(OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+
+        // another size class needs the second slab, a third one exceeds the maximum
+        assertTrue(store.store(2, new byte[1_000]).isOffHeap());
+        assertNull(store.store(3, new byte[10_000]));
+        assertNull(store.store(4, new byte[3 * OffHeapStore.DefaultSlabByteSize()]));
+        assertEquals(2L * OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+
+        // too small for a block
+        assertNull(store.store(5, new byte[10]));
+    }
+
+    @Test
+    void releasedBlocksAreReused()
+    {
+        final OffHeapStore store = OffHeapStore.New(OffHeapStore.DefaultSlabByteSize());
+
+        final OffHeapObject stored = store.store(1, new byte[100]);
+        stored.release();
+        assertEquals(0, store.usedByteSize());
+        assertThrows(IllegalStateException.class, stored::serializedData);
+        // releasing again has no effect
+        stored.release();
+        assertEquals(0, store.usedByteSize());
+
+        // twice as many blocks as the slab holds, only possible if released blocks are handed out again
+        final int blockCount = 2 * OffHeapStore.DefaultSlabByteSize() / 128;
+        for(int i = 0; i < blockCount; i++)
+        {
+            final OffHeapObject block = store.store(i, new byte[100]);
+            assertTrue(block.isOffHeap());
+            block.release();
+        }
+        assertEquals(OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+        assertEquals(0, store.usedByteSize());
+    }
+
+    @Test
+    void emptySlabsAreReclaimedAcrossSizeClasses()
+    {
+        final OffHeapStore store = OffHeapStore.New(2L * OffHeapStore.DefaultSlabByteSize());
+
+        // fill both slabs with one size class
+        final List<OffHeapObject> blocks = new ArrayList<>();
+        for(int i = 0; i < 2 * OffHeapStore.DefaultSlabByteSize() / 128; i++)
+        {
+            final OffHeapObject block = store.store(i, new byte[100]);
+            assertTrue(block.isOffHeap());
+            blocks.add(block);
+        }
+        assertNull(store.store(-1, new byte[1_000]));
+
+        // one empty slab is kept for the size class, the other one is returned
+        blocks.forEach(OffHeapObject::release);
+        assertEquals(OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+
+        // the returned slab serves another size class, the kept one is reclaimed for a third
+        assertTrue(store.store(1, new byte[1_000]).isOffHeap());
+        assertTrue(store.store(2, new byte[10_000]).isOffHeap());
+        assertEquals(2L * OffHeapStore.DefaultSlabByteSize(), store.allocatedByteSize());
+        assertNull(store.store(3, new byte[100_000]));
+    }
+
+    private static List<String> values(final int count)
+    {
+        final List<String> values = new ArrayList<>(count);
+        for(int i = 0; i < count; i++)
+        {
+            values.add("value" + i);
+        }
+        return values;
+    }
+
+}
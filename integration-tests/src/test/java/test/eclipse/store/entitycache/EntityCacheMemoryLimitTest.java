@@ -0,0 +1,237 @@
+package test.eclipse.store.entitycache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.eclipse.serializer.monitoring.MonitoringManager;
+import org.eclipse.serializer.reference.Lazy;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.monitoring.EntityCacheSummaryMonitorMBean;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
+import org.eclipse.store.storage.types.StorageMemoryPressureHandler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The entity cache never exceeds its maximum size while loading and is shrunk on memory pressure.
+ */
+public class EntityCacheMemoryLimitTest
+{
+	static final int  BLOB_COUNT         = 100;
+	static final long MAXIMUM_CACHE_SIZE = 50_000;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void loadingRespectsTheMaximumCacheSize() throws Exception
+	{
+		final List<Lazy<Blob>> blobs = new ArrayList<>();
+		for(int i = 0; i < BLOB_COUNT; i++)
+		{
+			blobs.add(Lazy.Reference(new Blob(i)));
+		}
+
+		final String managerName = "EntityCacheMemoryLimitTest" + System.nanoTime();
+		try(final EmbeddedStorageManager storage = this.start(
+			blobs,
+			managerName,
+			Storage.EntityCacheEvaluator(
+				StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs(),
+				StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold(),
+				MAXIMUM_CACHE_SIZE
+			)
+		))
+		{
+			final EntityCacheSummaryMonitorMBean cache = cacheMonitor(managerName);
+
+			blobs.forEach(Lazy::clear);
+			for(int i = 0; i < BLOB_COUNT; i++)
+			{
+				assertArrayEquals(Blob.data(i), blobs.get(i).get().data);
+				assertTrue(
+					cache.getUsedCacheSize() <= MAXIMUM_CACHE_SIZE,
+					"used cache size: " + cache.getUsedCacheSize()
+				);
+			}
+
+			// the cleared entities are reloaded from their files
+			blobs.forEach(Lazy::clear);
+			for(int i = 0; i < BLOB_COUNT; i++)
+			{
+				assertArrayEquals(Blob.data(i), blobs.get(i).get().data);
+			}
+			assertTrue(cache.getUsedCacheSize() <= MAXIMUM_CACHE_SIZE);
+		}
+
+		assertThrows(
+			IllegalArgumentException.class,
+			() -> Storage.EntityCacheEvaluator(1_000, 1_000, 0)
+		);
+	}
+
+	@Test
+	void containerMemoryIsReadFromTheCgroup() throws Exception
+	{
+		assertNull(StorageMemoryPressureHandler.ContainerMemory.detect(this.tempDir));
+
+		final StorageMemoryPressureHandler.ContainerMemory memory = this.cgroupV2("1000", "990", 40);
+		assertEquals(1000, memory.limit());
+		assertEquals(950, memory.workingSet());
+
+		assertEquals(-1, this.cgroupV2("max", "990", 0).limit());
+
+		final Path v1 = Files.createDirectories(this.tempDir.resolve("v1").resolve("memory"));
+		Files.writeString(v1.resolve("memory.limit_in_bytes"), "9223372036854771712\n");
+		Files.writeString(v1.resolve("memory.usage_in_bytes"), "500\n");
+		Files.writeString(v1.resolve("memory.stat"), "cache 300\ntotal_inactive_file 200\n");
+		final StorageMemoryPressureHandler.ContainerMemory memoryV1 =
+			StorageMemoryPressureHandler.ContainerMemory.detect(v1.getParent())
+		;
+		assertNotNull(memoryV1);
+		assertEquals(-1, memoryV1.limit());
+		assertEquals(300, memoryV1.workingSet());
+	}
+
+	@Test
+	void containerMemoryPressureShrinksTheCache() throws Exception
+	{
+		final List<Lazy<Blob>> blobs = new ArrayList<>();
+		for(int i = 0; i < BLOB_COUNT; i++)
+		{
+			blobs.add(Lazy.Reference(new Blob(i)));
+		}
+
+		final String managerName = "EntityCacheMemoryLimitTest" + System.nanoTime();
+		try(final EmbeddedStorageManager storage = this.start(blobs, managerName, Storage.EntityCacheEvaluator()))
+		{
+			final EntityCacheSummaryMonitorMBean cache = cacheMonitor(managerName);
+
+			blobs.forEach(Lazy::clear);
+			blobs.forEach(Lazy::get);
+			assertTrue(cache.getUsedCacheSize() > 0);
+
+			try(final StorageMemoryPressureHandler handler = StorageMemoryPressureHandler.New(
+				storage,
+				(s, t, e) -> true,
+				StorageMemoryPressureHandler.Defaults.defaultHeapUsageRatio(),
+				StorageMemoryPressureHandler.Defaults.defaultContainerUsageRatio(),
+				10,
+				StorageMemoryPressureHandler.Defaults.defaultCacheCheckTimeBudgetNs(),
+				this.cgroupV2("1000", "990", 0)
+			).start())
+			{
+				final long deadline = System.currentTimeMillis() + 10_000;
+				while((handler.pressureCount() == 0 || cache.getUsedCacheSize() > 0)
+					&& System.currentTimeMillis() < deadline
+				)
+				{
+					Thread.sleep(10);
+				}
+
+				assertTrue(handler.pressureCount() > 0);
+				assertEquals(0, cache.getUsedCacheSize());
+			}
+
+			// still fully usable
+			blobs.forEach(Lazy::clear);
+			for(int i = 0; i < BLOB_COUNT; i++)
+			{
+				assertArrayEquals(Blob.data(i), blobs.get(i).get().data);
+			}
+		}
+	}
+
+	private EmbeddedStorageManager start(
+		final Object                      root       ,
+		final String                      managerName,
+		final StorageEntityCacheEvaluator evaluator
+	)
+	{
+		return EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir.resolve("storage")))
+					.setEntityCacheEvaluator(evaluator)
+					.createConfiguration()
+			)
+			.setStorageMonitorManager(MonitoringManager.PlatformDependent(managerName))
+			.start(root)
+		;
+	}
+
+	private StorageMemoryPressureHandler.ContainerMemory cgroupV2(
+		final String limit       ,
+		final String usage       ,
+		final long   inactiveFile
+	)
+		throws Exception
+	{
+		final Path cgroup = Files.createTempDirectory(this.tempDir, "cgroup");
+		Files.writeString(cgroup.resolve("memory.max"), limit + "\n");
+		Files.writeString(cgroup.resolve("memory.current"), usage + "\n");
+		Files.writeString(cgroup.resolve("memory.stat"), "anon 100\ninactive_file " + inactiveFile + "\n");
+
+		return StorageMemoryPressureHandler.ContainerMemory.detect(cgroup);
+	}
+
+	private static EntityCacheSummaryMonitorMBean cacheMonitor(final String managerName) throws Exception
+	{
+		return JMX.newMBeanProxy(
+			ManagementFactory.getPlatformMBeanServer(),
+			new ObjectName("org.eclipse.store:storage=" + managerName + ",name=EntityCacheSummary"),
+			EntityCacheSummaryMonitorMBean.class
+		);
+	}
+
+
+	static class Blob
+	{
+		static final int LENGTH = 10 * 1024;
+
+		static byte[] data(final int seed)
+		{
+			final byte[] data = new byte[LENGTH];
+			Arrays.fill(data, (byte)seed);
+			return data;
+		}
+
+		final byte[] data;
+
+		Blob(final int seed)
+		{
+			super();
+			this.data = data(seed);
+		}
+	}
+
+}
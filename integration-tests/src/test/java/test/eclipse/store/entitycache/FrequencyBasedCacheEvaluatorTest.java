@@ -0,0 +1,322 @@
+package test.eclipse.store.entitycache;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.memory.MemoryRangeReader;
+import org.eclipse.serializer.monitoring.MonitoringManager;
+import org.eclipse.serializer.persistence.types.PersistenceObjectIdAcceptor;
+import org.eclipse.serializer.reference.Lazy;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.monitoring.EntityCacheSummaryMonitorMBean;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageEntity;
+import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
+import org.eclipse.store.storage.types.StorageEntityCacheEvaluatorFrequencyBased;
+import org.eclipse.store.storage.types.StorageLiveDataFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * The frequency-based cache evaluator keeps frequently accessed entities cached, drops rarely accessed ones
+ * first and limits the cached data of budgeted types.
+ */
+public class FrequencyBasedCacheEvaluatorTest
+{
+	static final long THRESHOLD = 1_000_000;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void frequencyCountsAccesses()
+	{
+		final StorageEntityCacheEvaluatorFrequencyBased evaluator = StorageEntityCacheEvaluatorFrequencyBased.New();
+		final TestEntity entity = new TestEntity(1_000_042, 100, -1, 0);
+
+		assertEquals(0, evaluator.frequency(entity.objectId()));
+		for(int i = 0; i < 5; i++)
+		{
+			evaluator.registerAccess(entity);
+		}
+		assertEquals(5, evaluator.frequency(entity.objectId()));
+
+		// counters saturate
+		for(int i = 0; i < 100; i++)
+		{
+			evaluator.registerAccess(entity);
+		}
+		assertEquals(15, evaluator.frequency(entity.objectId()));
+		assertEquals(0, evaluator.frequency(1_000_043));
+	}
+
+	@Test
+	void rarelyAccessedEntitiesAreClearedFirst()
+	{
+		final StorageEntityCacheEvaluatorFrequencyBased evaluator = this.evaluator(Map.of());
+		final long now = System.currentTimeMillis();
+		final TestEntity hot  = new TestEntity(1_000_001, 100, -1, 0);
+		final TestEntity scan = new TestEntity(1_000_002, 100, -1, 0);
+		for(int i = 0; i < 3; i++)
+		{
+			evaluator.registerAccess(hot);
+		}
+		evaluator.registerAccess(scan);
+
+		// plenty of space: both stay
+		assertFalse(evaluator.clearEntityCache(THRESHOLD / 4, now, hot));
+		assertFalse(evaluator.clearEntityCache(THRESHOLD / 4, now, scan));
+
+		// more than half used: the entity accessed only once has to go, the frequent one stays
+		assertFalse(evaluator.clearEntityCache(THRESHOLD * 3 / 4, now, hot));
+		assertTrue(evaluator.clearEntityCache(THRESHOLD * 3 / 4, now, scan));
+
+		// threshold exceeded: everything goes
+		assertTrue(evaluator.clearEntityCache(THRESHOLD, now, hot));
+	}
+
+	@Test
+	void typeBudgetsReplaceTheThreshold()
+	{
+		final StorageEntityCacheEvaluatorFrequencyBased evaluator = this.evaluator(Map.of());
+		final long now = System.currentTimeMillis();
+
+		// over budget, although the channel's cache is nearly empty
+		assertTrue(evaluator.clearEntityCache(1_000, now, new TestEntity(1_000_001, 100, 500, 600)));
+
+		// within a generous budget, rarely accessed entities stay despite a filled channel cache
+		assertFalse(evaluator.clearEntityCache(THRESHOLD * 3 / 4, now, new TestEntity(1_000_002, 100, 10_000, 600)));
+
+		// a budget of 0 prevents caching
+		assertTrue(evaluator.clearEntityCache(100, now, new TestEntity(1_000_003, 100, 0, 100)));
+
+		assertThrows(IllegalArgumentException.class, () -> this.evaluator(Map.of("some.Type", -1L)));
+	}
+
+	@Test
+	void budgetedTypeIsNotCached() throws Exception
+	{
+		final List<Lazy<Object>> items = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+		{
+			items.add(Lazy.Reference(new Blob(i)));
+			items.add(Lazy.Reference(new Item(i)));
+		}
+
+		final String managerName = "FrequencyBasedCacheEvaluatorTest" + System.nanoTime();
+		final StorageEntityCacheEvaluator evaluator = Storage.EntityCacheEvaluatorFrequencyBased(
+			// the blobs' data are separate byte array entities
+			Map.of(byte[].class.getName(), 0L)
+		);
+
+		try(final EmbeddedStorageManager storage = EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir))
+					.setEntityCacheEvaluator(evaluator)
+					.createConfiguration()
+			)
+			.setStorageMonitorManager(MonitoringManager.PlatformDependent(managerName))
+			.start(items)
+		)
+		{
+			items.forEach(Lazy::clear);
+			for(int i = 0; i < 100; i++)
+			{
+				assertArrayEquals(Blob.data(i), ((Blob)items.get(2 * i).get()).data);
+				assertEquals(i, ((Item)items.get(2 * i + 1).get()).value);
+			}
+
+			final EntityCacheSummaryMonitorMBean cache = JMX.newMBeanProxy(
+				ManagementFactory.getPlatformMBeanServer(),
+				new ObjectName("org.eclipse.store:storage=" + managerName + ",name=EntityCacheSummary"),
+				EntityCacheSummaryMonitorMBean.class
+			);
+
+			// the items are cached, the 100 * 10 KB of blob data are not.
+			assertTrue(cache.getUsedCacheSize() > 0);
+			assertTrue(cache.getUsedCacheSize() < 10 * Blob.LENGTH, "used cache size: " + cache.getUsedCacheSize());
+
+			storage.issueFullCacheCheck((s, t, e) -> true);
+			assertEquals(0, cache.getUsedCacheSize());
+		}
+	}
+
+	private StorageEntityCacheEvaluatorFrequencyBased evaluator(final Map<String, Long> typeCacheBudgets)
+	{
+		return StorageEntityCacheEvaluatorFrequencyBased.New(
+			StorageEntityCacheEvaluatorFrequencyBased.Defaults.defaultTimeoutMs(),
+			THRESHOLD,
+			typeCacheBudgets,
+			1024
+		);
+	}
+
+
+	static final class TestEntity implements StorageEntity
+	{
+		final long objectId            ;
+		final long length              ;
+		final long typeCacheBudget     ;
+		final long typeCachedDataLength;
+		final long lastTouched         = System.currentTimeMillis();
+
+		TestEntity(
+			final long objectId            ,
+			final long length              ,
+			final long typeCacheBudget     ,
+			final long typeCachedDataLength
+		)
+		{
+			super();
+			this.objectId             = objectId            ;
+			this.length               = length              ;
+			this.typeCacheBudget      = typeCacheBudget     ;
+			this.typeCachedDataLength = typeCachedDataLength;
+		}
+
+		@Override
+		public long objectId()
+		{
+			return this.objectId;
+		}
+
+		@Override
+		public long dataLength()
+		{
+			return this.length;
+		}
+
+		@Override
+		public long cachedDataLength()
+		{
+			return this.length;
+		}
+
+		@Override
+		public long typeCachedDataLength()
+		{
+			return this.typeCachedDataLength;
+		}
+
+		@Override
+		public long typeCacheBudget()
+		{
+			return this.typeCacheBudget;
+		}
+
+		@Override
+		public long lastTouched()
+		{
+			return this.lastTouched;
+		}
+
+		@Override
+		public boolean hasReferences()
+		{
+			return true;
+		}
+
+		@Override
+		public long typeId()
+		{
+			return 1_000_000;
+		}
+
+		@Override
+		public long storagePosition()
+		{
+			return 0;
+		}
+
+		@Override
+		public StorageLiveDataFile storageFile()
+		{
+			return null;
+		}
+
+		@Override
+		public void copyCachedData(final MemoryRangeReader entityDataCollector)
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long clearCache()
+		{
+			return this.length;
+		}
+
+		@Override
+		public boolean iterateReferenceIds(final PersistenceObjectIdAcceptor referenceIdIterator)
+		{
+			return false;
+		}
+
+		@Override
+		public long exportTo(final AWritableFile file)
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	static class Blob
+	{
+		static final int LENGTH = 10 * 1024;
+
+		static byte[] data(final int seed)
+		{
+			final byte[] data = new byte[LENGTH];
+			Arrays.fill(data, (byte)seed);
+			return data;
+		}
+
+		final byte[] data;
+
+		Blob(final int seed)
+		{
+			super();
+			this.data = data(seed);
+		}
+	}
+
+	static class Item
+	{
+		final int value;
+
+		Item(final int value)
+		{
+			super();
+			this.value = value;
+		}
+	}
+
+}
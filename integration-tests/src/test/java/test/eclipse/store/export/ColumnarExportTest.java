@@ -0,0 +1,222 @@
+package test.eclipse.store.export;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageDataConverterTypeBinaryToColumnar;
+import org.eclipse.store.storage.types.StorageEntityTypeConversionFileProvider;
+import org.eclipse.store.storage.types.StorageEntityTypeExportFileProvider;
+import org.eclipse.store.storage.types.StorageEntityTypeExportStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Exported type files are converted in parallel into typed columns, strings dictionary encoded.
+ */
+public class ColumnarExportTest
+{
+	static final int ITEM_COUNT     = 1000;
+	static final int ROW_GROUP_SIZE = 300;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void convertsTypesToColumns() throws IOException
+	{
+		final NioFileSystem fs = NioFileSystem.New();
+
+		final List<Item> items = new ArrayList<>();
+		for(int i = 0; i < ITEM_COUNT; i++)
+		{
+			items.add(new Item("item #" + i % 10, i));
+		}
+
+		final EmbeddedStorageManager storage = EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir.resolve("storage")))
+					.setChannelCountProvider(Storage.ChannelCountProvider(2))
+					.createConfiguration()
+			)
+			.start(items);
+		try
+		{
+			final ADirectory exportDir = fs.ensureDirectoryPath(this.tempDir.resolve("export").toString());
+			final ADirectory columnDir = fs.ensureDirectoryPath(this.tempDir.resolve("columns").toString());
+
+			final StorageEntityTypeExportStatistics exportResult = storage.exportTypes(
+				new StorageEntityTypeExportFileProvider.Default(exportDir, "bin")
+			);
+
+			StorageDataConverterTypeBinaryToColumnar.New(
+				new StorageEntityTypeConversionFileProvider.Default(columnDir, "col"),
+				storage.typeDictionary(),
+				ROW_GROUP_SIZE
+			).convertDataFiles(exportResult.files(), 4);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final ColumnarFile itemFile = ColumnarFile.read(this.columnFile(Item.class.getName()));
+		assertArrayEquals(new String[] {"objectId", "name", "value"}, itemFile.columnNames.toArray());
+		assertArrayEquals(
+			new byte[] {
+				StorageDataConverterTypeBinaryToColumnar.KIND_LONG,
+				StorageDataConverterTypeBinaryToColumnar.KIND_REFERENCE,
+				StorageDataConverterTypeBinaryToColumnar.KIND_INT
+			},
+			itemFile.kinds
+		);
+		assertEquals(ITEM_COUNT, itemFile.totalRowCount);
+		assertTrue(itemFile.rowGroupCount >= ITEM_COUNT / ROW_GROUP_SIZE, "row groups: " + itemFile.rowGroupCount);
+
+		final Set<Integer> values = new HashSet<>();
+		itemFile.intValues.forEach(values::add);
+		assertEquals(ITEM_COUNT, values.size());
+
+		// ten distinct item names, each stored once as a String entity
+		final ColumnarFile stringFile = ColumnarFile.read(this.columnFile(String.class.getName()));
+		for(int i = 0; i < 10; i++)
+		{
+			assertTrue(stringFile.strings.contains("item #" + i), stringFile.strings.toString());
+		}
+	}
+
+	private Path columnFile(final String typeName) throws IOException
+	{
+		try(Stream<Path> files = Files.list(this.tempDir.resolve("columns")))
+		{
+			return files
+				.filter(p -> p.getFileName().toString().startsWith(typeName + "_"))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("no columnar file for " + typeName))
+			;
+		}
+	}
+
+
+	/**
+	 * Minimal reader of the columnar format, collecting the values of int and string columns.
+	 */
+	static class ColumnarFile
+	{
+		final List<String>  columnNames = new ArrayList<>();
+		final List<Integer> intValues   = new ArrayList<>();
+		final Set<String>   strings     = new HashSet<>();
+		byte[] kinds;
+		long   totalRowCount;
+		int    rowGroupCount;
+
+		static ColumnarFile read(final Path path) throws IOException
+		{
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+			final ColumnarFile file = new ColumnarFile();
+
+			final byte[] magic = new byte[8];
+			buffer.get(magic);
+			assertEquals("ESCOLUMN", new String(magic, StandardCharsets.US_ASCII));
+			assertEquals(StorageDataConverterTypeBinaryToColumnar.FORMAT_VERSION, buffer.getInt());
+			readString(buffer);
+			buffer.getLong();
+
+			file.kinds = new byte[buffer.getInt()];
+			for(int i = 0; i < file.kinds.length; i++)
+			{
+				file.columnNames.add(readString(buffer));
+				file.kinds[i] = buffer.get();
+				readString(buffer);
+			}
+
+			long rows = 0;
+			for(int rowCount; (rowCount = buffer.getInt()) > 0;)
+			{
+				file.rowGroupCount++;
+				rows += rowCount;
+				for(final byte kind : file.kinds)
+				{
+					final int length = buffer.getInt();
+					final ByteBuffer chunk = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+					chunk.limit(length);
+					buffer.position(buffer.position() + length);
+
+					if(kind == StorageDataConverterTypeBinaryToColumnar.KIND_INT)
+					{
+						assertEquals(rowCount * Integer.BYTES, length);
+						while(chunk.hasRemaining())
+						{
+							file.intValues.add(chunk.getInt());
+						}
+					}
+					else if(kind == StorageDataConverterTypeBinaryToColumnar.KIND_STRING)
+					{
+						final int dictionarySize = chunk.getInt();
+						for(int i = 0; i < dictionarySize; i++)
+						{
+							file.strings.add(readString(chunk));
+						}
+						assertEquals(rowCount * Integer.BYTES, chunk.remaining());
+					}
+				}
+			}
+			file.totalRowCount = buffer.getLong();
+			assertEquals(rows, file.totalRowCount);
+
+			return file;
+		}
+
+		static String readString(final ByteBuffer buffer)
+		{
+			final byte[] bytes = new byte[buffer.getInt()];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	}
+
+	static class Item
+	{
+		String name ;
+		int    value;
+
+		Item(final String name, final int value)
+		{
+			super();
+			this.name  = name ;
+			this.value = value;
+		}
+	}
+
+}
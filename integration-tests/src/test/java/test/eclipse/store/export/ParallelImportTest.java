@@ -0,0 +1,175 @@
+package test.eclipse.store.export;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.collections.types.XEnum;
+import org.eclipse.serializer.util.X;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageLiveFileProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Import sources are read by several threads, but every channel must still receive them in their
+ * order: an entity's record in a later file replaces its record in an earlier one.
+ */
+public class ParallelImportTest
+{
+	static final int CHANNEL_COUNT = 4;
+	static final int ITEM_COUNT    = 2000;
+	static final int ROUNDS        = 5;
+
+	@TempDir
+	Path tempDir;
+
+	private EmbeddedStorageManager start()
+	{
+		return EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir.resolve("storage")))
+					.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+					.setDataFileEvaluator(Storage.DataFileEvaluator(1024, 8192, 1.0))
+					.createConfiguration()
+			)
+			.start();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	void laterSourcesReplaceEarlierOnes() throws IOException
+	{
+		final NioFileSystem fs        = NioFileSystem.New();
+		final Path          exportDir = this.tempDir.resolve("export");
+
+		EmbeddedStorageManager storage = this.start();
+		try
+		{
+			final List<Item> items = new ArrayList<>();
+			for(int i = 0; i < ITEM_COUNT; i++)
+			{
+				items.add(new Item("item #" + i));
+			}
+			storage.setRoot(items);
+			storage.storeRoot();
+
+			// several versions of every item spread over many small files
+			for(int round = 0; round < ROUNDS; round++)
+			{
+				for(final Item item : items)
+				{
+					item.name = "round " + round;
+				}
+				storage.storeAll(items);
+			}
+
+			final ADirectory aExportDir = fs.ensureDirectoryPath(exportDir.toFile().getAbsolutePath());
+			storage.createConnection().exportChannels(StorageLiveFileProvider.New(aExportDir), false);
+
+			for(final Item item : items)
+			{
+				item.name = "changed";
+			}
+			storage.storeAll(items);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		final List<Path> exportFiles = dataFilesInOrder(exportDir);
+		assertTrue(exportFiles.size() > CHANNEL_COUNT, exportFiles.toString());
+
+		storage = this.start();
+		try
+		{
+			final XEnum<AFile> importFiles = X.Enum();
+			exportFiles.forEach(p -> importFiles.add(fs.ensureFile(p)));
+			storage.createConnection().importFiles(importFiles);
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		storage = this.start();
+		try
+		{
+			final List<Item> items = (List<Item>)storage.root();
+			assertEquals(ITEM_COUNT, items.size());
+			for(final Item item : items)
+			{
+				assertEquals("round " + (ROUNDS - 1), item.name);
+			}
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	/**
+	 * All exported data files, ordered by channel and file number.
+	 */
+	private static List<Path> dataFilesInOrder(final Path directory) throws IOException
+	{
+		try(Stream<Path> files = Files.walk(directory))
+		{
+			return files
+				.filter(p -> p.getFileName().toString().matches("channel_\\d+_\\d+\\.dat"))
+				.sorted(Comparator
+					.comparingLong((Path p) -> fileNumberPart(p, 1))
+					.thenComparingLong(p -> fileNumberPart(p, 2))
+				)
+				.collect(Collectors.toList())
+			;
+		}
+	}
+
+	private static long fileNumberPart(final Path file, final int part)
+	{
+		final String name = file.getFileName().toString();
+		return Long.parseLong(name.substring(0, name.length() - ".dat".length()).split("_")[part]);
+	}
+
+
+	static class Item
+	{
+		String name;
+
+		Item(final String name)
+		{
+			super();
+			this.name = name;
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+package test.eclipse.store.export;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.store.afs.nio.types.NioFileSystem;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageDataFileEvaluator;
+import org.eclipse.store.storage.types.StorageEntityTypeExportFileProvider;
+import org.eclipse.store.storage.types.StorageEntityTypeExportStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * With type clustering enabled, housekeeping relocates the entities of a type contiguously, so that
+ * loading or exporting a type reads few large runs.
+ */
+public class TypeClusteredLayoutTest
+{
+	static final int PAIR_COUNT = 2000;
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void housekeepingClustersEntitiesByType() throws IOException
+	{
+		final Path clustered = this.tempDir.resolve("clustered");
+		final Path original  = this.tempDir.resolve("original");
+
+		final long clusteredTransitions = this.storeAndDissolve(clustered, true);
+		final long originalTransitions  = this.storeAndDissolve(original, false);
+
+		// interleaved storing yields a type change between nearly every two entities, unless clustered.
+		assertTrue(originalTransitions > PAIR_COUNT, "original transitions: " + originalTransitions);
+		assertTrue(clusteredTransitions < PAIR_COUNT / 20, "clustered transitions: " + clusteredTransitions);
+
+		final EmbeddedStorageManager storage = start(clustered, true, null);
+		try
+		{
+			@SuppressWarnings("unchecked")
+			final List<Object> items = (List<Object>)storage.root();
+			assertEquals(2 * PAIR_COUNT, items.size());
+			for(int i = 0; i < PAIR_COUNT; i++)
+			{
+				assertEquals(i, ((A)items.get(2 * i)).value);
+				assertEquals(i, ((B)items.get(2 * i + 1)).value);
+			}
+
+			final ADirectory exportDir = NioFileSystem.New().ensureDirectoryPath(this.tempDir.resolve("export").toString());
+			final StorageEntityTypeExportStatistics export = storage.exportTypes(
+				new StorageEntityTypeExportFileProvider.Default(exportDir, "bin"),
+				t -> t.type() == A.class || t.type() == B.class
+			);
+			assertEquals(2 * PAIR_COUNT, export.entityCount());
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+	}
+
+	private long storeAndDissolve(final Path directory, final boolean clusterEntitiesByType) throws IOException
+	{
+		final List<Object> items = new ArrayList<>();
+		for(int i = 0; i < PAIR_COUNT; i++)
+		{
+			items.add(new A(i));
+			items.add(new C(i));
+			items.add(new B(i));
+		}
+
+		final long typeIdA;
+		final long typeIdB;
+		final EmbeddedStorageManager storage = start(directory, clusterEntitiesByType, items);
+		try
+		{
+			// dropping every C leaves gaps all over the data, so its files get dissolved
+			items.removeIf(C.class::isInstance);
+			storage.store(items);
+			storage.issueFullGarbageCollection();
+			storage.issueFullFileCheck();
+
+			typeIdA = storage.typeDictionary().lookupTypeByName(A.class.getName()).typeId();
+			typeIdB = storage.typeDictionary().lookupTypeByName(B.class.getName()).typeId();
+		}
+		finally
+		{
+			storage.shutdown();
+		}
+
+		return countTypeTransitions(directory, typeIdA, typeIdB);
+	}
+
+	private static EmbeddedStorageManager start(
+		final Path    directory            ,
+		final boolean clusterEntitiesByType,
+		final Object  root
+	)
+	{
+		return EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(directory))
+					.setChannelCountProvider(Storage.ChannelCountProvider(1))
+					.setDataFileEvaluator(Storage.DataFileEvaluator(
+						1024,
+						16 * 1024,
+						0.9,
+						false,
+						StorageDataFileEvaluator.Defaults.defaultTransactionFileMaximumSize(),
+						8 * 1024,
+						clusterEntitiesByType
+					))
+					.createConfiguration()
+			)
+			.start(root);
+	}
+
+	/*
+	 * Scans the raw data files for records of the two types and counts how often consecutive ones
+	 * differ in type. Negative lengths denote gaps and meta records.
+	 */
+	private static long countTypeTransitions(final Path directory, final long typeIdA, final long typeIdB)
+		throws IOException
+	{
+		final List<Path> dataFiles;
+		try(Stream<Path> files = Files.walk(directory))
+		{
+			dataFiles = files.filter(p -> p.getFileName().toString().endsWith(".dat")).toList();
+		}
+
+		long transitions = 0;
+		for(final Path dataFile : dataFiles)
+		{
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(dataFile)).order(ByteOrder.nativeOrder());
+			long lastTypeId = 0;
+			while(buffer.remaining() >= Long.BYTES)
+			{
+				final int  position = buffer.position();
+				final long length   = buffer.getLong(position);
+				if(length < 0)
+				{
+					buffer.position(position - (int)length);
+					continue;
+				}
+				final long typeId = buffer.getLong(position + Long.BYTES);
+				if(typeId == typeIdA || typeId == typeIdB)
+				{
+					if(lastTypeId != 0 && lastTypeId != typeId)
+					{
+						transitions++;
+					}
+					lastTypeId = typeId;
+				}
+				buffer.position(position + (int)length);
+			}
+		}
+
+		return transitions;
+	}
+
+
+	static class A
+	{
+		final int value;
+
+		A(final int value)
+		{
+			super();
+			this.value = value;
+		}
+	}
+
+	static class B
+	{
+		final long value;
+
+		B(final long value)
+		{
+			super();
+			this.value = value;
+		}
+	}
+
+	static class C
+	{
+		final double value;
+
+		C(final double value)
+		{
+			super();
+			this.value = value;
+		}
+	}
+
+}
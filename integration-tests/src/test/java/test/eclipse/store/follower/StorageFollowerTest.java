@@ -0,0 +1,261 @@
+package test.eclipse.store.follower;
+
+/*-
+ * #%L
+ * EclipseStore Integration Tests
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.serializer.functional._longProcedure;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.persistence.types.PersistenceIdSet;
+import org.eclipse.serializer.persistence.types.PersistenceSource;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
+import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
+import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageFollower;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * A follower tails the transactions files of a running storage and serves the latest committed
+ * entity records, across stores, file transfers and file deletions.
+ */
+public class StorageFollowerTest
+{
+	static final int CHANNEL_COUNT = 2;
+
+	@TempDir
+	Path tempDir;
+
+	EmbeddedStorageManager storage;
+
+	@AfterEach
+	public void afterTest()
+	{
+		if(this.storage != null && this.storage.isRunning())
+		{
+			this.storage.shutdown();
+		}
+	}
+
+	private void startStorage(final Object root)
+	{
+		this.storage = EmbeddedStorage.Foundation(
+				Storage.ConfigurationBuilder()
+					.setStorageFileProvider(Storage.FileProvider(this.tempDir))
+					.setChannelCountProvider(Storage.ChannelCountProvider(CHANNEL_COUNT))
+					.setDataFileEvaluator(Storage.DataFileEvaluator(1024, 4096, 0.9))
+					.createConfiguration()
+			)
+			.start(root);
+	}
+
+	private long objectId(final Object instance)
+	{
+		return this.storage.persistenceManager().objectRegistry().lookupObjectId(instance);
+	}
+
+	private static long recordObjectId(final ByteBuffer record)
+	{
+		return Binary.getEntityObjectIdRawValue(XMemory.getDirectByteBufferAddress(record));
+	}
+
+	@Test
+	void followsStoresAndHousekeeping()
+	{
+		final List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+		{
+			items.add(new Item("item #" + i));
+		}
+		final Root root = new Root(items);
+		this.startStorage(root);
+		this.storage.storeRoot();
+
+		try(final StorageFollower follower = StorageFollower.New(Storage.FileProvider(this.tempDir), CHANNEL_COUNT, 0))
+		{
+			assertTrue(follower.update() > 0);
+			assertTrue(follower.entityCount() >= items.size());
+
+			final Item   first    = items.get(0);
+			final long   objectId = this.objectId(first);
+			final ByteBuffer record = follower.readEntity(objectId);
+			assertNotNull(record);
+			assertEquals(objectId, recordObjectId(record));
+			final int initialLength = record.remaining();
+
+			assertNull(follower.readEntity(Long.MAX_VALUE));
+
+			// an update is visible once committed
+			first.name = "a considerably longer name for the first item";
+			this.storage.store(first);
+			final ByteBuffer updated = follower.readEntity(objectId);
+			assertEquals(objectId, recordObjectId(updated));
+			assertTrue(updated.remaining() > initialLength);
+
+			// rewrite everything several times, then let housekeeping transfer and delete files
+			for(int round = 0; round < 10; round++)
+			{
+				for(final Item item : items)
+				{
+					item.name = "item " + item.name.length() + " round " + round;
+				}
+				this.storage.storeAll(items);
+			}
+			this.storage.issueFullFileCheck();
+
+			for(final Item item : items)
+			{
+				final long       id     = this.objectId(item);
+				final ByteBuffer latest = follower.readEntity(id);
+				assertNotNull(latest, "record of " + item.name);
+				assertEquals(id, recordObjectId(latest));
+			}
+		}
+	}
+
+	@Test
+	void boundedStalenessDefersUpdates()
+	{
+		final Root root = new Root(new ArrayList<>());
+		this.startStorage(root);
+		this.storage.storeRoot();
+
+		try(final StorageFollower follower = StorageFollower.New(Storage.FileProvider(this.tempDir), CHANNEL_COUNT, 60_000))
+		{
+			follower.update();
+			final long updateTime = follower.lastUpdateTime();
+
+			final Item item = new Item("late");
+			root.items.add(item);
+			this.storage.store(root.items);
+
+			// within the staleness bound, the new item is not visible yet
+			assertNull(follower.readEntity(this.objectId(item)));
+			assertEquals(updateTime, follower.lastUpdateTime());
+
+			follower.update();
+			assertNotNull(follower.readEntity(this.objectId(item)));
+		}
+	}
+
+	@Test
+	void sourceServesRecordsToTheLoader()
+	{
+		final List<Item> items = new ArrayList<>();
+		for(int i = 0; i < 10; i++)
+		{
+			items.add(new Item("item #" + i));
+		}
+		final Root root = new Root(items);
+		this.startStorage(root);
+		this.storage.storeRoot();
+
+		try(final StorageFollower follower = StorageFollower.New(Storage.FileProvider(this.tempDir), CHANNEL_COUNT, 0))
+		{
+			final long[] objectIds = new long[items.size()];
+			long         length    = 0L;
+			for(int i = 0; i < objectIds.length; i++)
+			{
+				objectIds[i] = this.objectId(items.get(i));
+				final ByteBuffer record = follower.readEntity(objectIds[i]);
+				length += record.remaining();
+				XMemory.deallocateDirectByteBuffer(record);
+			}
+
+			final ByteBuffer rootRecord = follower.readEntity(this.objectId(root));
+			final long       rootTypeId = Binary.getEntityTypeIdRawValue(XMemory.getDirectByteBufferAddress(rootRecord));
+			final int        rootLength = rootRecord.remaining();
+			XMemory.deallocateDirectByteBuffer(rootRecord);
+
+			final PersistenceSource<Binary> source = follower.source(rootTypeId);
+			assertEquals(length, totalLength(source.readByObjectIds(new PersistenceIdSet[]{idSet(objectIds)})));
+			assertEquals(rootLength, totalLength(source.read()));
+		}
+	}
+
+	private static long totalLength(final Iterable<? extends Binary> chunks)
+	{
+		long length = 0L;
+		for(final Binary chunk : chunks)
+		{
+			for(final ByteBuffer buffer : chunk.buffers())
+			{
+				length += buffer.remaining();
+			}
+		}
+		return length;
+	}
+
+	private static PersistenceIdSet idSet(final long... ids)
+	{
+		return new PersistenceIdSet()
+		{
+			@Override
+			public long size()
+			{
+				return ids.length;
+			}
+
+			@Override
+			public boolean isEmpty()
+			{
+				return ids.length == 0;
+			}
+
+			@Override
+			public void iterate(final _longProcedure iterator)
+			{
+				for(final long id : ids)
+				{
+					iterator.accept(id);
+				}
+			}
+		};
+	}
+
+
+	static class Root
+	{
+		final List<Item> items;
+
+		Root(final List<Item> items)
+		{
+			super();
+			this.items = items;
+		}
+	}
+
+	static class Item
+	{
+		String name;
+
+		Item(final String name)
+		{
+			super();
+			this.name = name;
+		}
+	}
+
+}
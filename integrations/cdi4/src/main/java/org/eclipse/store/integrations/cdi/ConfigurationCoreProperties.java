@@ -80,6 +80,22 @@ public enum ConfigurationCoreProperties
 		EmbeddedStorageConfigurationPropertyNames.BACKUP_FILESYSTEM
 	),
 	
+	/**
+	 * The number of backup threads copying in parallel. Default is 1.
+	 */
+	BACKUP_COPIER_COUNT(
+			Constants.PREFIX + "backup.copier.count",
+		EmbeddedStorageConfigurationPropertyNames.BACKUP_COPIER_COUNT
+	),
+	
+	/**
+	 * The maximum number of bytes per second copied to the backup. Default is no limit.
+	 */
+	BACKUP_THROUGHPUT_LIMIT(
+			Constants.PREFIX + "backup.throughput.limit",
+		EmbeddedStorageConfigurationPropertyNames.BACKUP_THROUGHPUT_LIMIT
+	),
+	
 	/**
 	 * The number of threads and number of directories used by the storage engine. Every thread has exclusive access
 	 * to its directory. Default is 1.
@@ -187,6 +203,15 @@ public enum ConfigurationCoreProperties
 		EmbeddedStorageConfigurationPropertyNames.ENTITY_CACHE_TIMEOUT
 	),
 	
+	/**
+	 * Hard limit for the cached entity data of each channel. Loading entity data that would exceed it
+	 * clears cached entities right away. Default is no limit.
+	 */
+	ENTITY_CACHE_MAXIMUM_SIZE(
+			Constants.PREFIX + "entity.cache.maximum.size",
+		EmbeddedStorageConfigurationPropertyNames.ENTITY_CACHE_MAXIMUM_SIZE
+	),
+	
 	/**
 	 * Minimum file size for a data file to avoid cleaning it up. Default is 1024^2 = 1 MiB.
 	 */
@@ -37,6 +37,8 @@ import org.eclipse.store.storage.embedded.types.EmbeddedStorageFoundation;
 import org.eclipse.store.storage.embedded.types.EmbeddedStorageManager;
 import org.eclipse.store.storage.types.Database;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
+import org.eclipse.store.storage.types.StorageBackupSnapshot;
+import org.eclipse.store.storage.types.StorageBackupSnapshots;
 import org.eclipse.store.storage.types.StorageConfiguration;
 import org.eclipse.store.storage.types.StorageConnection;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
@@ -256,6 +258,12 @@ public class StorageManagerProxy extends UsageMarkable.Default implements Storag
         this.getStorageManager().issueFullBackup(targetFileProvider, typeDictionaryExporter);
     }
 
+    @Override
+    public StorageBackupSnapshot issueSnapshotBackup(final StorageBackupSnapshots snapshots)
+    {
+        return this.getStorageManager().issueSnapshotBackup(snapshots);
+    }
+
     @Override
     public void issueTransactionsLogCleanup()
     {
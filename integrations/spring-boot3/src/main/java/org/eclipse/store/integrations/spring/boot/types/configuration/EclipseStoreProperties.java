@@ -64,6 +64,16 @@ public class EclipseStoreProperties
     @NestedConfigurationProperty
     private StorageFilesystem backupFilesystem;
 
+    /**
+     * The number of backup threads copying in parallel. Default is 1.
+     */
+    private String backupCopierCount;
+
+    /**
+     * The maximum number of bytes per second copied to the backup, e.g. "10 MiB". Default is no limit.
+     */
+    private String backupThroughputLimit;
+
     /**
      * The number of threads and number of directories used by the storage engine. Every thread has exclusive access to its directory. Default is 1.
      */
@@ -167,6 +177,12 @@ public class EclipseStoreProperties
      */
     private String entityCacheThreshold;
 
+    /**
+     * Hard limit for the cached entity data of each channel. Loading entity data that would exceed it
+     * clears cached entities right away. Default is no limit.
+     */
+    private String entityCacheMaximumSize;
+
     /**
      * Minimum file size for a data file to avoid cleaning it up. Default is 1024^2 = 1 MiB.
      */
@@ -305,6 +321,26 @@ public class EclipseStoreProperties
         this.backupFilesystem = backupFilesystem;
     }
 
+    public String getBackupCopierCount()
+    {
+        return this.backupCopierCount;
+    }
+
+    public void setBackupCopierCount(final String backupCopierCount)
+    {
+        this.backupCopierCount = backupCopierCount;
+    }
+
+    public String getBackupThroughputLimit()
+    {
+        return this.backupThroughputLimit;
+    }
+
+    public void setBackupThroughputLimit(final String backupThroughputLimit)
+    {
+        this.backupThroughputLimit = backupThroughputLimit;
+    }
+
     public String getChannelCount()
     {
         return this.channelCount;
@@ -495,6 +531,16 @@ public class EclipseStoreProperties
         this.entityCacheThreshold = entityCacheThreshold;
     }
 
+    public String getEntityCacheMaximumSize()
+    {
+        return this.entityCacheMaximumSize;
+    }
+
+    public void setEntityCacheMaximumSize(final String entityCacheMaximumSize)
+    {
+        this.entityCacheMaximumSize = entityCacheMaximumSize;
+    }
+
     public String getDataFileMinimumSize()
     {
         return this.dataFileMinimumSize;
@@ -49,6 +49,8 @@ public class EclipseStoreConfigConverter
     protected static final String TRUNCATION_DIRECTORY = EmbeddedStorageConfigurationPropertyNames.TRUNCATION_DIRECTORY;
     protected static final String BACKUP_DIRECTORY = EmbeddedStorageConfigurationPropertyNames.BACKUP_DIRECTORY;
     protected static final String BACKUP_FILESYSTEM = EmbeddedStorageConfigurationPropertyNames.BACKUP_FILESYSTEM;
+    protected static final String BACKUP_COPIER_COUNT = EmbeddedStorageConfigurationPropertyNames.BACKUP_COPIER_COUNT;
+    protected static final String BACKUP_THROUGHPUT_LIMIT = EmbeddedStorageConfigurationPropertyNames.BACKUP_THROUGHPUT_LIMIT;
 
     // Fields for the channel configuration
     protected static final String CHANNEL_COUNT = EmbeddedStorageConfigurationPropertyNames.CHANNEL_COUNT;
@@ -76,6 +78,7 @@ public class EclipseStoreConfigConverter
     // Fields for the entity cache configuration
     protected static final String ENTITY_CACHE_THRESHOLD = EmbeddedStorageConfigurationPropertyNames.ENTITY_CACHE_THRESHOLD;
     protected static final String ENTITY_CACHE_TIMEOUT = EmbeddedStorageConfigurationPropertyNames.ENTITY_CACHE_TIMEOUT;
+    protected static final String ENTITY_CACHE_MAXIMUM_SIZE = EmbeddedStorageConfigurationPropertyNames.ENTITY_CACHE_MAXIMUM_SIZE;
 
     // Fields for the data file configuration
     protected static final String DATA_FILE_MINIMUM_SIZE = EmbeddedStorageConfigurationPropertyNames.DATA_FILE_MINIMUM_SIZE;
@@ -131,6 +134,9 @@ public class EclipseStoreConfigConverter
             configValues.putAll(this.prepareFileSystem(properties.getBackupFilesystem(), BACKUP_FILESYSTEM));
         }
 
+        configValues.put(BACKUP_COPIER_COUNT, properties.getBackupCopierCount());
+        configValues.put(BACKUP_THROUGHPUT_LIMIT, properties.getBackupThroughputLimit());
+
         configValues.put(CHANNEL_COUNT, properties.getChannelCount());
         configValues.put(CHANNEL_DIRECTORY_PREFIX, properties.getChannelDirectoryPrefix());
         configValues.put(DATA_FILE_PREFIX, properties.getDataFilePrefix());
@@ -150,6 +156,7 @@ public class EclipseStoreConfigConverter
         configValues.put(GC_SWEEP_THRESHOLD, properties.getGcSweepThreshold());
         configValues.put(ENTITY_CACHE_THRESHOLD, properties.getEntityCacheThreshold());
         configValues.put(ENTITY_CACHE_TIMEOUT, properties.getEntityCacheTimeout());
+        configValues.put(ENTITY_CACHE_MAXIMUM_SIZE, properties.getEntityCacheMaximumSize());
         configValues.put(DATA_FILE_MINIMUM_SIZE, properties.getDataFileMinimumSize());
         configValues.put(DATA_FILE_MAXIMUM_SIZE, properties.getDataFileMaximumSize());
         configValues.put(DATA_FILE_MINIMUM_USE_RATIO, properties.getDataFileMinimumUseRatio());
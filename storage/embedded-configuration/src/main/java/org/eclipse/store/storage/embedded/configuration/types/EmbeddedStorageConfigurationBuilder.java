@@ -112,6 +112,24 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 		return this;
 	}
 
+	/**
+	 * The number of backup threads copying to the backup directory in parallel. Items of the same
+	 * channel are always backed up in order, so more threads than channels are of no use. Default is 1.
+	 *
+	 * @param backupCopierCount the number of backup threads
+	 * @return this
+	 */
+	public EmbeddedStorageConfigurationBuilder setBackupCopierCount(int backupCopierCount);
+
+	/**
+	 * The maximum number of bytes per second copied to the backup directory, summed over all backup
+	 * threads. Default is no limit.
+	 *
+	 * @param backupThroughputLimit the maximum bytes per second
+	 * @return this
+	 */
+	public EmbeddedStorageConfigurationBuilder setBackupThroughputLimit(ByteSize backupThroughputLimit);
+
 	/**
 	 * The number of threads and number of directories used by the storage
 	 * engine. Every thread has exclusive access to its directory. Default is
@@ -296,6 +314,18 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 	 */
 	public EmbeddedStorageConfigurationBuilder setEntityCacheTimeout(Duration entityCacheTimeout);
 
+	/**
+	 * Hard limit for the cached entity data of each channel. Loading entity data that would exceed it
+	 * clears cached entities right away, instead of waiting for the housekeeping. Default is no limit.
+	 * See {@link StorageEntityCacheEvaluator#New(long, long, long)}.
+	 *
+	 * @param entityCacheMaximumSize the new maximum cache size
+	 * @return this
+	 *
+	 * @see #setEntityCacheThreshold(long)
+	 */
+	public EmbeddedStorageConfigurationBuilder setEntityCacheMaximumSize(ByteSize entityCacheMaximumSize);
+
 	/**
 	 * Minimum file size for a data file to avoid cleaning it up. Default is 1 MiB.
 	 *
@@ -624,6 +654,22 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(BACKUP_DIRECTORY, backupDirectory);
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setBackupCopierCount(
+			final int backupCopierCount
+		)
+		{
+			return this.set(BACKUP_COPIER_COUNT, Integer.toString(backupCopierCount));
+		}
+
+		@Override
+		public EmbeddedStorageConfigurationBuilder setBackupThroughputLimit(
+			final ByteSize backupThroughputLimit
+		)
+		{
+			return this.set(BACKUP_THROUGHPUT_LIMIT, backupThroughputLimit.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setChannelCount(
 			final int channelCount
@@ -769,6 +815,14 @@ public interface EmbeddedStorageConfigurationBuilder extends Configuration.Build
 			return this.set(ENTITY_CACHE_TIMEOUT, entityCacheTimeout.toString());
 		}
 
+		@Override
+		public EmbeddedStorageConfigurationBuilder setEntityCacheMaximumSize(
+			final ByteSize entityCacheMaximumSize
+		)
+		{
+			return this.set(ENTITY_CACHE_MAXIMUM_SIZE, entityCacheMaximumSize.toString());
+		}
+
 		@Override
 		public EmbeddedStorageConfigurationBuilder setDataFileMinimumSize(
 			final ByteSize dataFileMinimumSize
@@ -65,6 +65,16 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String BACKUP_FILESYSTEM             = "backup-filesystem";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setBackupCopierCount(int)
+	 */
+	public final static String BACKUP_COPIER_COUNT           = "backup-copier-count";
+
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setBackupThroughputLimit(ByteSize)
+	 */
+	public final static String BACKUP_THROUGHPUT_LIMIT       = "backup-throughput-limit";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setChannelCount(int)
 	 */
@@ -155,6 +165,11 @@ public interface EmbeddedStorageConfigurationPropertyNames
 	 */
 	public final static String ENTITY_CACHE_TIMEOUT          = "entity-cache-timeout";
 
+	/**
+	 * @see EmbeddedStorageConfigurationBuilder#setEntityCacheMaximumSize(ByteSize)
+	 */
+	public final static String ENTITY_CACHE_MAXIMUM_SIZE     = "entity-cache-maximum-size";
+
 	/**
 	 * @see EmbeddedStorageConfigurationBuilder#setDataFileMinimumSize(ByteSize)
 	 */
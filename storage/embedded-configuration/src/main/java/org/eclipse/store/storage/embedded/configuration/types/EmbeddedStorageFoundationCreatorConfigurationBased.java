@@ -31,6 +31,7 @@ import org.eclipse.store.afs.nio.types.NioFileSystem;
 import org.eclipse.store.storage.embedded.types.EmbeddedStorage;
 import org.eclipse.store.storage.embedded.types.EmbeddedStorageFoundation;
 import org.eclipse.store.storage.types.Storage;
+import org.eclipse.store.storage.types.StorageBackupSetup;
 import org.eclipse.store.storage.types.StorageChannelCountProvider;
 import org.eclipse.store.storage.types.StorageChunkChecksumPolicy;
 import org.eclipse.store.storage.types.StorageChunkChecksumPolicy.Anomaly;
@@ -144,7 +145,12 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 						() -> fileSystem
 					);
 					configBuilder.setBackupSetup(Storage.BackupSetup(
-						backupFileSystem.ensureDirectoryPath(backupDirectory)
+						backupFileSystem.ensureDirectoryPath(backupDirectory),
+						this.configuration.optInteger(BACKUP_COPIER_COUNT)
+							.orElse(StorageBackupSetup.Defaults.defaultCopierCount()),
+						this.configuration.opt(BACKUP_THROUGHPUT_LIMIT, ByteSize.class)
+							.map(ByteSize::bytes)
+							.orElse(StorageBackupSetup.Defaults.defaultThroughputLimit())
 					));
 				})
 			;
@@ -341,7 +347,10 @@ public interface EmbeddedStorageFoundationCreatorConfigurationBased extends Embe
 					.map(Duration::toMillis)
 					.orElse(StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs()),
 				this.configuration.optLong(ENTITY_CACHE_THRESHOLD)
-					.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold())
+					.orElse(StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold()),
+				this.configuration.opt(ENTITY_CACHE_MAXIMUM_SIZE, ByteSize.class)
+					.map(ByteSize::bytes)
+					.orElse(StorageEntityCacheEvaluator.Defaults.defaultMaximumCacheSize())
 			);
 		}
 
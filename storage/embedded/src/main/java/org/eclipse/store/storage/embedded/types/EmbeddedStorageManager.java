@@ -52,6 +52,8 @@ import org.eclipse.store.storage.monitoring.ObjectRegistryMonitor;
 import org.eclipse.store.storage.monitoring.StorageManagerMonitor;
 import org.eclipse.store.storage.types.Database;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
+import org.eclipse.store.storage.types.StorageBackupSnapshot;
+import org.eclipse.store.storage.types.StorageBackupSnapshots;
 import org.eclipse.store.storage.types.StorageConfiguration;
 import org.eclipse.store.storage.types.StorageConnection;
 import org.eclipse.store.storage.types.StorageEntityCacheEvaluator;
@@ -661,6 +663,12 @@ public interface EmbeddedStorageManager extends StorageManager
 		{
 			this.singletonConnection().issueFullBackup(targetFileProvider, typeDictionaryExporter);
 		}
+
+		@Override
+		public final StorageBackupSnapshot issueSnapshotBackup(final StorageBackupSnapshots snapshots)
+		{
+			return this.singletonConnection().issueSnapshotBackup(snapshots);
+		}
 		
 		@Override
 		public void issueTransactionsLogCleanup()
@@ -1,15 +1,16 @@
 package org.eclipse.store.storage.analysis;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -17,7 +18,6 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 /*-
  * #%L
@@ -33,7 +33,9 @@ import java.util.concurrent.atomic.AtomicLong;
  * #L%
  */
 
+import org.eclipse.serializer.persistence.types.Persistence;
 import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.exceptions.StorageException;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
 import org.slf4j.Logger;
@@ -43,8 +45,13 @@ import org.slf4j.Logger;
 /**
  * Converts the data exported from {@link StorageAdjacencyDataExporter}
  * to different formats used for further processing.
- * These are a set of all references in an input file and
- * a map of all and there reverencing parents objects.
+ * These are a set of all references to objects without a record in the exported data and
+ * a map of all referenced objects and their referencing parent objects.
+ * <p>
+ * Both are files of primitive longs, sorted by an external merge sort: the exported files are read
+ * and sorted in runs of bounded length by several threads in parallel, the runs are then merged in
+ * parallel passes. The heap required is therefore bounded by the configured run length per thread,
+ * independent of the size of the storage.
  */
 public interface AdjacencyDataConverter
 {
@@ -60,8 +67,19 @@ public interface AdjacencyDataConverter
 	 */
 	public interface ConvertedAdjacencyFiles
 	{
+		/**
+		 * Files of the sorted object ids that are referenced but have no record in the exported data.
+		 * 
+		 * @return the reference set files.
+		 */
 		 public List<Path> getReferenceSets();
 		 
+		/**
+		 * Files of (referenced object id, referencing object id) pairs, sorted by the referenced
+		 * object id.
+		 * 
+		 * @return the reverse reference map files.
+		 */
 		 public List<Path> getReverseReferenceMaps();
 	}
 		
@@ -103,13 +121,17 @@ public interface AdjacencyDataConverter
 		
 		public static class DefaultConfiguration implements Configuration
 		{
-			private final static int THREAD_MINIMUM =  1;
-			private final static int THREAD_MAXIMUM = 12;
+			private final static int THREAD_MINIMUM     =  1;
+			private final static int THREAD_MAXIMUM     = 12;
+			private final static int RUN_LENGTH_DEFAULT = 1 << 19;
+			private final static int RUN_LENGTH_MINIMUM = 1 << 4;
+			private final static int MERGE_FAN_IN       = 64;
 			
 			private final int mapLoaders;
 			private final int setCreators;
 			private final int reverseMapCreators;
 			private final int threadsTotal;
+			private final int runLength;
 				
 			/**
 			 * Create a configuration object using default values.
@@ -122,11 +144,13 @@ public interface AdjacencyDataConverter
 				this.reverseMapCreators = 3;
 				
 				this.threadsTotal = this.mapLoaders + this.setCreators + this.reverseMapCreators;
+				this.runLength = RUN_LENGTH_DEFAULT;
 			}
 			
 			/**
 			 * Create a new Configuration for the AdjacencyDataConverter.
 			 * This config requires a minimum of one thread and a maximum of 12 for each configuration value.
+			 * All threads read and sort the exported files and merge the sorted runs.
 			 * 
 			 * @param mapLoaders The number of threads used to load adjacency maps during initialisation.
 			 * @param setCreators The number of threads used to create adjacency sets during initialisation.
@@ -136,6 +160,26 @@ public interface AdjacencyDataConverter
 				final int mapLoaders,
 				final int setCreators,
 				final int reverseMapCreators)
+			{
+				this(mapLoaders, setCreators, reverseMapCreators, RUN_LENGTH_DEFAULT);
+			}
+			
+			/**
+			 * Create a new Configuration for the AdjacencyDataConverter.
+			 * This config requires a minimum of one thread and a maximum of 12 for each configuration value.
+			 * All threads read and sort the exported files and merge the sorted runs.
+			 * 
+			 * @param mapLoaders The number of threads used to load adjacency maps during initialisation.
+			 * @param setCreators The number of threads used to create adjacency sets during initialisation.
+			 * @param reverseMapCreators The number of threads used to create reverse adjacency maps during initialisation.
+			 * @param runLength The number of references each thread sorts in memory before writing them to a
+			 *        temporary file. Each thread requires 24 bytes of heap per reference.
+			 */
+			public DefaultConfiguration(
+				final int mapLoaders,
+				final int setCreators,
+				final int reverseMapCreators,
+				final int runLength)
 			{
 				super();
 								
@@ -144,6 +188,7 @@ public interface AdjacencyDataConverter
 				this.reverseMapCreators = this.verifyThreadCount(reverseMapCreators);
 				
 				this.threadsTotal = this.mapLoaders + this.setCreators + this.reverseMapCreators;
+				this.runLength = Math.max(runLength, RUN_LENGTH_MINIMUM);
 			}
 
 			public final int getMapLoaders()
@@ -166,6 +211,16 @@ public interface AdjacencyDataConverter
 				return this.reverseMapCreators;
 			}
 			
+			public final int getRunLength()
+			{
+				return this.runLength;
+			}
+			
+			public final int getMergeFanIn()
+			{
+				return MERGE_FAN_IN;
+			}
+			
 			private int verifyThreadCount(final int numThreads)
 			{
 				if(numThreads < THREAD_MINIMUM)
@@ -186,12 +241,13 @@ public interface AdjacencyDataConverter
 		
 		private final static Logger logger = Logging.getLogger(MissingObjectsSearch.class);
 		
+		static final String REVERSE_REFERENCES_FILE_NAME    = "reverse-references.brf";
+		static final String UNRESOLVED_REFERENCES_FILE_NAME = "unresolved-references.ref";
+		static final String OBJECT_IDS_FILE_NAME            = "object-ids.oid";
+		
 		private final DefaultConfiguration configuration;
 		private final ThreadFactory        threadFactory;
 		private final List<AdjacencyFiles> adjacencyFiles;
-		private final int                  fileCount;
-		private final AtomicInteger        setsCreated        = new AtomicInteger();
-		private final AtomicInteger        reverseMapsCreated = new AtomicInteger();
 		
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
@@ -216,13 +272,6 @@ public interface AdjacencyDataConverter
 				{
 					return new Thread(r, "Eclipse-Store-AdjacencyDataConverter-WorkerThread-" + this.counter.getAndIncrement());
 				}};
-			
-			int tempFileCount = 0;
-			for(final AdjacencyFiles channel : this.adjacencyFiles)
-			{
-				tempFileCount += channel.get().size();
-			}
-			this.fileCount = tempFileCount;
 		}
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -244,12 +293,7 @@ public interface AdjacencyDataConverter
 		@Override
 		public ConvertedAdjacencyFiles convert()
 		{
-			final ExecutorService executor = Executors.newFixedThreadPool(this.configuration.getThreadsTotal() , this.threadFactory);
-			
-			final LinkedBlockingQueue<Path> adjacencyMapsPathsQueue     = new LinkedBlockingQueue<>();
-			final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue1 = new LinkedBlockingQueue<>(this.configuration.getSetCreators());
-			final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue2 = new LinkedBlockingQueue<>(this.configuration.getReverseMapCreators());
-					
+			final LinkedBlockingQueue<Path> adjacencyMapsPathsQueue = new LinkedBlockingQueue<>();
 			for(final AdjacencyFiles channel : this.adjacencyFiles)
 			{
 				for(final Entry<Long, Path> entry : channel.get().entrySet())
@@ -257,55 +301,58 @@ public interface AdjacencyDataConverter
 					adjacencyMapsPathsQueue.add(entry.getValue());
 				}
 			}
-			
-			final List<CompletableFuture<Void>> futures = new ArrayList<>();
-									
-			for(int i = 0; i < this.configuration.getMapLoaders()  ; i++)
+			if(adjacencyMapsPathsQueue.isEmpty())
 			{
-				futures.add(
-					CompletableFuture
-					.runAsync(() -> Default.adjacencyMapLoader(adjacencyMapsPathsQueue, List.of(adjacencyMapsQueue1, adjacencyMapsQueue2)), executor)
-					.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
+				return new DefaultConvertedAdjacencyFiles(new ArrayList<>(), new ArrayList<>());
 			}
 			
-			final List<Path> referenceMaps = Collections.synchronizedList(new ArrayList<>(this.fileCount));
-			for(int i = 0; i < this.configuration.getReverseMapCreators(); i++)
-			{
-				futures.add(
-					CompletableFuture
-					.runAsync(() ->  referenceMaps.addAll(this.reverseReferenceMapCreator(adjacencyMapsQueue1)), executor)
-					.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
-			}
+			// all results and temporary files are placed next to the exported files
+			final Path directory = adjacencyMapsPathsQueue.peek().toAbsolutePath().getParent();
+			final int  runLength = this.configuration.getRunLength();
 			
-			final List<Path> referenceSets = Collections.synchronizedList(new ArrayList<>(this.fileCount));
-			for(int i = 0; i < this.configuration.getSetCreators(); i++)
-			{
-				futures.add(
-					CompletableFuture
-					.runAsync(() -> referenceSets.addAll(this.referenceSetCreator(adjacencyMapsQueue2)), executor)
-					.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
-			}
+			final AdjacencySorter reverseReferences = new AdjacencySorter(directory, "reverse-references", 2, runLength);
+			final AdjacencySorter objectIds         = new AdjacencySorter(directory, "object-ids"        , 1, runLength / 2);
 			
-											
-			final CompletableFuture<Void> createSetsStage = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-				
+			final ExecutorService executor = Executors.newFixedThreadPool(this.configuration.getThreadsTotal(), this.threadFactory);
 			try
 			{
-				createSetsStage.get();
+				final List<CompletableFuture<Void>> futures = new ArrayList<>();
+				for(int i = 0; i < this.configuration.getThreadsTotal(); i++)
+				{
+					futures.add(
+						CompletableFuture
+						.runAsync(() -> sortRuns(adjacencyMapsPathsQueue, reverseReferences, objectIds), executor)
+						.exceptionally((t) -> shutdownExceptional(executor, t))
+					);
+				}
+				
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get();
+				
+				final int fanIn = this.configuration.getMergeFanIn();
+				final Path reverseReferencesFile = reverseReferences.merge(directory.resolve(REVERSE_REFERENCES_FILE_NAME), executor, fanIn);
+				final Path objectIdsFile         = objectIds.merge(directory.resolve(OBJECT_IDS_FILE_NAME), executor, fanIn);
+				
+				final Path unresolvedReferencesFile = collectUnresolvedReferences(
+					new AdjacencyRecords(reverseReferencesFile, 2),
+					new AdjacencyRecords(objectIdsFile, 1),
+					directory.resolve(UNRESOLVED_REFERENCES_FILE_NAME)
+				);
+				Files.deleteIfExists(objectIdsFile);
+				
+				return new DefaultConvertedAdjacencyFiles(
+					new ArrayList<>(List.of(unresolvedReferencesFile)),
+					new ArrayList<>(List.of(reverseReferencesFile))
+				);
 			}
-			catch(InterruptedException | ExecutionException e)
+			catch(InterruptedException | ExecutionException | IOException e)
 			{
-				logger.error("prepareReferenceSets failed: ", e);
+				logger.error("convert failed: ", e);
+				throw new StorageException("Converting the adjacency data failed", e);
 			}
 			finally
 			{
 				shutdown(executor);
 			}
-			
-			return new DefaultConvertedAdjacencyFiles(referenceSets, referenceMaps);
 		}
 		
 		private static Void shutdownExceptional(final ExecutorService ex, final Throwable t)
@@ -329,109 +376,111 @@ public interface AdjacencyDataConverter
 			return null;
 		}
 		
-		private List<Path> referenceSetCreator(
-			final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue)
+		/**
+		 * Reads exported adjacency files until there are none left and adds every reference as a
+		 * (referenced, referencing) pair and every contained object id to this thread's runs.
+		 */
+		private static void sortRuns(
+			final LinkedBlockingQueue<Path> adjacencyMapsPathsQueue,
+			final AdjacencySorter           reverseReferences      ,
+			final AdjacencySorter           objectIds
+		)
 		{
-			final List<Path> createdFiles = new ArrayList<>(this.fileCount);
+			final AdjacencySorter.Run referenceRun = reverseReferences.newRun();
+			final AdjacencySorter.Run objectIdRun  = objectIds.newRun();
 			
-			while(this.setsCreated.getAndIncrement() < this.fileCount)
+			Path path;
+			while((path = adjacencyMapsPathsQueue.poll()) != null)
 			{
-				try
+				forEachRecord(path, (objectId, buffer, position, count) ->
 				{
-					final AdjacencyMap map = adjacencyMapsQueue.take();
-					final AdjacencySet rf = new AdjacencySet(map);
-					
-					rf.store();
-					rf.unload();
-					
-					createdFiles.add(rf.getPath());
-					logger.debug("created reference set {}", rf.getPath());
-				}
-				catch(final InterruptedException e)
-				{
-					//stop processing
-					logger.debug("Reference set creator task stopped after interruption");
-					return null;
-				}
+					objectIdRun.add(objectId);
+					for(int i = 0; i < count; i++)
+					{
+						referenceRun.add(buffer.getLong(position + i * Long.BYTES), objectId);
+					}
+				});
+				
+				logger.debug("sorted reference map {}", path);
 			}
 			
-			logger.debug("Reference set creator task finished successfully.");
-			return createdFiles;
+			referenceRun.spill();
+			objectIdRun.spill();
+			
+			logger.debug("Adjacency sort task finished successfully.");
 		}
 		
-		private List<Path> reverseReferenceMapCreator(final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue)
+		/**
+		 * Iterates the records of an exported adjacency file: object id (long), reference count (int)
+		 * and the referenced object ids (long each).
+		 */
+		static void forEachRecord(final Path path, final RecordProcessor processor)
 		{
-			final List<Path> createdFiles = new ArrayList<>(this.fileCount);
-			
-			while(this.reverseMapsCreated.getAndIncrement() < this.fileCount)
+			try(FileChannel fc = FileChannel.open(path, StandardOpenOption.READ))
 			{
-				try
+				final MappedByteBuffer buffer = fc.map(MapMode.READ_ONLY, 0, fc.size());
+				
+				int position = 0;
+				while(position < buffer.limit())
 				{
-					final AdjacencyMap adjacencyMap = adjacencyMapsQueue.take();
-					
-					final TreeMap<Long, long[]> map = adjacencyMap.getMap();
-					
-					final Path path = derivePath(adjacencyMap.getPath(), ".brf");
-					
-	
-					final HashMap<Long, Set<Long>> backRefs = new HashMap<>();
-					
-					map.forEach((k,v) ->
-					{
-						for(final long r : v)
-						{
-							backRefs.computeIfAbsent(r, x -> new HashSet<>()).add(k);
-						}
-					});
-					
-					final AtomicLong backRefsCount = new AtomicLong();
-					backRefs.values().forEach(v -> backRefsCount.addAndGet(v.size()));
-																	
-					AdjacencyMap.serialize(backRefs, path, backRefs.size(), backRefsCount.get());
-	
-					createdFiles.add(path);
+					final long objectId = buffer.getLong(position);
+					final int  count    = buffer.getInt(position + Long.BYTES);
+					position += Long.BYTES + Integer.BYTES;
 					
-					logger.debug("created reverse reference map {}", path);
-				}
-				catch(final InterruptedException e)
-				{
-					//stop processing
-					logger.debug("Reverse reference map creator task stopped after interruption.");
-					return null;
+					processor.accept(objectId, buffer, position, count);
+					position += count * Long.BYTES;
 				}
 			}
-			
-			logger.debug("Reverse reference map creator task finished successfully.");
-			return createdFiles;
+			catch(final IOException e)
+			{
+				throw new StorageException("Could not read adjacency data " + path, e);
+			}
 		}
 		
-		protected static void adjacencyMapLoader(
-			final LinkedBlockingQueue<Path> adjacencyMapsPathsQueue,
-			final List<LinkedBlockingQueue<AdjacencyMap>> outputQueues)
+		@FunctionalInterface
+		interface RecordProcessor
 		{
-			Path path;
-			while((path = adjacencyMapsPathsQueue.poll()) != null)
+			public void accept(long objectId, MappedByteBuffer buffer, int referencesPosition, int referenceCount);
+		}
+		
+		/**
+		 * Writes every distinct referenced object id without a record of its own, in a single
+		 * sequential pass over both sorted files.
+		 */
+		private static Path collectUnresolvedReferences(
+			final AdjacencyRecords reverseReferences,
+			final AdjacencyRecords objectIds        ,
+			final Path             target
+		)
+			throws IOException
+		{
+			final long[] record = new long[1];
+			try(AdjacencySorter.RecordWriter writer = new AdjacencySorter.RecordWriter(target, 1))
 			{
-				try
+				long objectIndex = 0;
+				for(long i = 0; i < reverseReferences.size(); i++)
 				{
-					final TreeMap<Long, long[]> refMap = AdjacencyMap.deserializeReferenceMap(path);
-	
-					for(final LinkedBlockingQueue<AdjacencyMap> queue : outputQueues)
+					final long referencedId = reverseReferences.get(i, 0);
+					if(!Persistence.IdType.OID.isInRange(referencedId))
 					{
-						queue.put(new AdjacencyMap(refMap, path));
+						continue;
 					}
 					
-					logger.debug("loaded reference map {}", path);
-				}
-				catch(final InterruptedException e)
-				{
-					//stop processing
-					logger.debug("Adjacency map loader task stopped after interruption");
-					return;
+					while(objectIndex < objectIds.size() && objectIds.get(objectIndex, 0) < referencedId)
+					{
+						objectIndex++;
+					}
+					if(objectIndex == objectIds.size() || objectIds.get(objectIndex, 0) != referencedId)
+					{
+						// consecutive equal ids are skipped by the writer
+						record[0] = referencedId;
+						writer.write(record, 0);
+					}
 				}
 			}
-	
-			logger.debug("Adjacency map loader task finished successfully.");
+			
+			return target;
 		}
+		
 	}
 }
@@ -0,0 +1,155 @@
+package org.eclipse.store.storage.analysis;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.store.storage.exceptions.StorageException;
+
+/**
+ * Read-only, memory-mapped view of a file of fixed-width records of primitive longs, sorted ascending
+ * by their first long, as written by the {@link AdjacencySorter}.
+ * <p>
+ * Only the pages actually accessed are loaded, so lookups in files of any size need no heap
+ * beyond this instance.
+ */
+final class AdjacencyRecords
+{
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	private static final long MAXIMUM_SEGMENT_BYTES = 1L << 30;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final Path                path          ;
+	private final int                 width         ;
+	private final long                size          ;
+	private final long                segmentRecords;
+	private final MappedByteBuffer[]  segments      ;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	AdjacencyRecords(final Path path, final int width)
+	{
+		super();
+		this.path           = path;
+		this.width          = width;
+		this.segmentRecords = MAXIMUM_SEGMENT_BYTES / (width * Long.BYTES);
+		
+		try(FileChannel fc = FileChannel.open(path, StandardOpenOption.READ))
+		{
+			final long recordBytes = width * Long.BYTES;
+			final long fileSize    = fc.size();
+			if(fileSize % recordBytes != 0)
+			{
+				throw new StorageException(
+					"Invalid length " + fileSize + " of " + path + " for records of " + recordBytes + " bytes."
+				);
+			}
+			
+			this.size     = fileSize / recordBytes;
+			this.segments = new MappedByteBuffer[(int)((this.size + this.segmentRecords - 1) / this.segmentRecords)];
+			for(int i = 0; i < this.segments.length; i++)
+			{
+				final long position = i * this.segmentRecords * recordBytes;
+				this.segments[i] = fc.map(MapMode.READ_ONLY, position, Math.min(fileSize - position, MAXIMUM_SEGMENT_BYTES));
+			}
+			// mappings stay valid after the channel is closed.
+		}
+		catch(final IOException e)
+		{
+			throw new StorageException("Could not map " + path, e);
+		}
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	public Path path()
+	{
+		return this.path;
+	}
+	
+	public long size()
+	{
+		return this.size;
+	}
+	
+	public long get(final long record, final int column)
+	{
+		final int  segment = (int)(record / this.segmentRecords);
+		final long offset  = (record % this.segmentRecords) * this.width + column;
+		
+		return this.segments[segment].getLong((int)(offset * Long.BYTES));
+	}
+	
+	/**
+	 * Returns the index of the first record whose first long is not less than the passed key,
+	 * or {@link #size()} if there is none.
+	 * 
+	 * @param key the key to search for.
+	 * @return the index of the first record with a key &gt;= {@code key}.
+	 */
+	public long lowerBound(final long key)
+	{
+		long low  = 0;
+		long high = this.size;
+		while(low < high)
+		{
+			final long middle = (low + high) >>> 1;
+			if(this.get(middle, 0) < key)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Whether a record with the passed first long exists.
+	 * 
+	 * @param key the key to search for.
+	 * @return whether the key is contained.
+	 */
+	public boolean contains(final long key)
+	{
+		final long index = this.lowerBound(key);
+		return index < this.size && this.get(index, 0) == key;
+	}
+	
+}
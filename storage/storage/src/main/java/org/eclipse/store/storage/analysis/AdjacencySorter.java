@@ -0,0 +1,613 @@
+package org.eclipse.store.storage.analysis;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2025 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.slf4j.Logger;
+
+/**
+ * External merge sort of fixed-width records of primitive longs, ordered by their first, then their
+ * second long, without duplicates.
+ * <p>
+ * Any number of threads fill their own {@link Run} buffers, which are sorted and spilled to run files
+ * whenever they are full, so the heap used is bounded by the run length per thread. The run files are
+ * then merged, in parallel passes of at most {@code fanIn} runs each, into a single sorted file that can
+ * be read with {@link AdjacencyRecords}.
+ * <p>
+ * The exporter sorts the entities of a storage file with {@link #sortPairs(long[], int, int)}, too.
+ */
+public final class AdjacencySorter
+{
+	private final static Logger logger = Logging.getLogger(AdjacencySorter.class);
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constants //
+	//////////////
+	
+	private static final int IO_BUFFER_BYTES = 1 << 16;
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// instance fields //
+	////////////////////
+	
+	private final Path          directory ;
+	private final String        prefix    ;
+	private final int           width     ;
+	private final int           runLength ;
+	private final List<Path>    runs      = Collections.synchronizedList(new ArrayList<>());
+	private final AtomicInteger runCounter = new AtomicInteger();
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// constructors //
+	/////////////////
+	
+	/**
+	 * @param directory the directory for the temporary run files.
+	 * @param prefix    the file name prefix of the temporary run files.
+	 * @param width     the number of longs per record, 1 or 2.
+	 * @param runLength the number of records a {@link Run} buffers before spilling.
+	 */
+	AdjacencySorter(final Path directory, final String prefix, final int width, final int runLength)
+	{
+		super();
+		this.directory = directory;
+		this.prefix    = prefix   ;
+		this.width     = width    ;
+		this.runLength = runLength;
+	}
+	
+	
+	
+	///////////////////////////////////////////////////////////////////////////
+	// methods //
+	////////////
+	
+	/**
+	 * Creates a new buffer to be filled by a single thread.
+	 * 
+	 * @return a new run buffer.
+	 */
+	public Run newRun()
+	{
+		return new Run();
+	}
+	
+	private Path newRunPath()
+	{
+		return this.directory.resolve(this.prefix + "-" + this.runCounter.getAndIncrement() + ".run");
+	}
+	
+	/**
+	 * Merges all spilled runs into the passed target file and deletes them. Intermediate merge passes
+	 * are executed in parallel by the passed executor, the final pass by the calling thread.
+	 * 
+	 * @param target   the sorted output file.
+	 * @param executor the executor for the intermediate merge passes.
+	 * @param fanIn    the maximum number of runs merged at once.
+	 * @return the passed target file.
+	 */
+	public Path merge(final Path target, final ExecutorService executor, final int fanIn)
+	{
+		List<Path> runs = new ArrayList<>(this.runs);
+		this.runs.clear();
+		
+		while(runs.size() > fanIn)
+		{
+			logger.debug("Merging {} runs of {}", runs.size(), this.prefix);
+			
+			final List<CompletableFuture<Path>> merges = new ArrayList<>();
+			for(int i = 0; i < runs.size(); i += fanIn)
+			{
+				final List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+				merges.add(CompletableFuture.supplyAsync(() -> this.mergeRuns(group, this.newRunPath()), executor));
+			}
+			
+			final List<Path> merged = new ArrayList<>(merges.size());
+			for(final CompletableFuture<Path> merge : merges)
+			{
+				merged.add(join(merge));
+			}
+			runs = merged;
+		}
+		
+		return this.mergeRuns(runs, target);
+	}
+	
+	private static <T> T join(final CompletableFuture<T> future)
+	{
+		try
+		{
+			return future.join();
+		}
+		catch(final CompletionException e)
+		{
+			if(e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			throw new StorageException("Merging sorted runs failed", e.getCause());
+		}
+	}
+	
+	private Path mergeRuns(final List<Path> inputs, final Path target)
+	{
+		try
+		{
+			if(inputs.size() == 1)
+			{
+				return Files.move(inputs.get(0), target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			
+			final RunReader[] readers = new RunReader[inputs.size()];
+			try(RecordWriter writer = new RecordWriter(target, this.width))
+			{
+				for(int i = 0; i < readers.length; i++)
+				{
+					readers[i] = new RunReader(inputs.get(i), this.width);
+				}
+				this.mergeRuns(readers, writer);
+			}
+			finally
+			{
+				for(final RunReader reader : readers)
+				{
+					if(reader != null)
+					{
+						reader.close();
+					}
+				}
+			}
+			
+			for(final Path input : inputs)
+			{
+				Files.delete(input);
+			}
+			
+			return target;
+		}
+		catch(final IOException e)
+		{
+			throw new StorageException("Could not merge sorted runs into " + target, e);
+		}
+	}
+	
+	private void mergeRuns(final RunReader[] readers, final RecordWriter writer) throws IOException
+	{
+		// binary min-heap of the readers that still have a current record
+		final RunReader[] heap = new RunReader[readers.length];
+		int heapSize = 0;
+		for(final RunReader reader : readers)
+		{
+			if(reader.next())
+			{
+				heap[heapSize++] = reader;
+			}
+		}
+		for(int i = heapSize / 2 - 1; i >= 0; i--)
+		{
+			siftDown(heap, i, heapSize);
+		}
+		
+		while(heapSize > 0)
+		{
+			final RunReader smallest = heap[0];
+			writer.write(smallest.record, 0);
+			if(!smallest.next())
+			{
+				heap[0] = heap[--heapSize];
+			}
+			siftDown(heap, 0, heapSize);
+		}
+	}
+	
+	private static void siftDown(final RunReader[] heap, final int index, final int heapSize)
+	{
+		final int width  = heapSize > 0 ? heap[0].record.length : 0;
+		      int parent = index;
+		while(true)
+		{
+			final int left     = 2 * parent + 1;
+			      int smallest = parent;
+			if(left < heapSize && compare(heap[left].record, 0, heap[smallest].record, 0, width) < 0)
+			{
+				smallest = left;
+			}
+			if(left + 1 < heapSize && compare(heap[left + 1].record, 0, heap[smallest].record, 0, width) < 0)
+			{
+				smallest = left + 1;
+			}
+			if(smallest == parent)
+			{
+				return;
+			}
+			final RunReader swap = heap[parent];
+			heap[parent]   = heap[smallest];
+			heap[smallest] = swap;
+			parent = smallest;
+		}
+	}
+	
+	static int compare(final long[] a, final int aOffset, final long[] b, final int bOffset, final int width)
+	{
+		for(int i = 0; i < width; i++)
+		{
+			final int result = Long.compare(a[aOffset + i], b[bOffset + i]);
+			if(result != 0)
+			{
+				return result;
+			}
+		}
+		return 0;
+	}
+	
+	/**
+	 * Sorts the records of two longs in {@code [from, to)} by their first, then their second long.
+	 * Three-way partitioning keeps the many records with the same first long (e.g. all references
+	 * to a frequently referenced object) from degrading the sort.
+	 * 
+	 * @param data the records, two longs each.
+	 * @param from the index of the first record to sort, inclusive.
+	 * @param to   the index of the last record to sort, exclusive.
+	 */
+	public static void sortPairs(final long[] data, final int from, final int to)
+	{
+		int low  = from;
+		int high = to;
+		while(high - low > 16)
+		{
+			final int  pivot  = medianOfThree(data, low, (low + high) >>> 1, high - 1);
+			final long pivot0 = data[2 * pivot];
+			final long pivot1 = data[2 * pivot + 1];
+			
+			int lower   = low;
+			int current = low;
+			int greater = high;
+			while(current < greater)
+			{
+				final int c = comparePair(data, current, pivot0, pivot1);
+				if(c < 0)
+				{
+					swapPairs(data, lower++, current++);
+				}
+				else if(c > 0)
+				{
+					swapPairs(data, current, --greater);
+				}
+				else
+				{
+					current++;
+				}
+			}
+			
+			// recursing into the smaller partition only bounds the stack depth
+			if(lower - low < high - greater)
+			{
+				sortPairs(data, low, lower);
+				low = greater;
+			}
+			else
+			{
+				sortPairs(data, greater, high);
+				high = lower;
+			}
+		}
+		
+		for(int i = low + 1; i < high; i++)
+		{
+			for(int j = i; j > low && comparePair(data, j, data[2 * j - 2], data[2 * j - 1]) < 0; j--)
+			{
+				swapPairs(data, j, j - 1);
+			}
+		}
+	}
+	
+	private static int comparePair(final long[] data, final int index, final long value0, final long value1)
+	{
+		final int result = Long.compare(data[2 * index], value0);
+		return result != 0 ? result : Long.compare(data[2 * index + 1], value1);
+	}
+	
+	private static int medianOfThree(final long[] data, final int a, final int b, final int c)
+	{
+		final boolean ab = comparePair(data, a, data[2 * b], data[2 * b + 1]) < 0;
+		final boolean bc = comparePair(data, b, data[2 * c], data[2 * c + 1]) < 0;
+		final boolean ac = comparePair(data, a, data[2 * c], data[2 * c + 1]) < 0;
+		
+		return ab
+			? bc ? b : ac ? c : a
+			: bc ? ac ? a : c : b
+		;
+	}
+	
+	private static void swapPairs(final long[] data, final int i, final int j)
+	{
+		final long swap0 = data[2 * i];
+		final long swap1 = data[2 * i + 1];
+		data[2 * i]     = data[2 * j];
+		data[2 * i + 1] = data[2 * j + 1];
+		data[2 * j]     = swap0;
+		data[2 * j + 1] = swap1;
+	}
+	
+	
+	
+	/**
+	 * A buffer of records filled by a single thread and spilled to a sorted run file whenever full.
+	 */
+	final class Run
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final long[] data ;
+		private       int    count;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		Run()
+		{
+			super();
+			this.data = new long[AdjacencySorter.this.runLength * AdjacencySorter.this.width];
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		public void add(final long value)
+		{
+			if(this.count == AdjacencySorter.this.runLength)
+			{
+				this.spill();
+			}
+			this.data[this.count++] = value;
+		}
+		
+		public void add(final long value0, final long value1)
+		{
+			if(this.count == AdjacencySorter.this.runLength)
+			{
+				this.spill();
+			}
+			this.data[2 * this.count]     = value0;
+			this.data[2 * this.count + 1] = value1;
+			this.count++;
+		}
+		
+		/**
+		 * Sorts and writes the buffered records, if any, to a new run file.
+		 */
+		public void spill()
+		{
+			if(this.count == 0)
+			{
+				return;
+			}
+			
+			final int width = AdjacencySorter.this.width;
+			if(width == 1)
+			{
+				Arrays.sort(this.data, 0, this.count);
+			}
+			else
+			{
+				sortPairs(this.data, 0, this.count);
+			}
+			
+			final Path path = AdjacencySorter.this.newRunPath();
+			try(RecordWriter writer = new RecordWriter(path, width))
+			{
+				for(int i = 0; i < this.count; i++)
+				{
+					writer.write(this.data, i * width);
+				}
+			}
+			catch(final IOException e)
+			{
+				throw new StorageException("Could not write sorted run " + path, e);
+			}
+			
+			AdjacencySorter.this.runs.add(path);
+			this.count = 0;
+		}
+		
+	}
+	
+	/**
+	 * Sequential writer of sorted records that skips a record equal to its predecessor.
+	 */
+	static final class RecordWriter implements AutoCloseable
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		private final FileChannel channel;
+		private final ByteBuffer  buffer ;
+		private final long[]      last   ;
+		private       boolean     empty  = true;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		RecordWriter(final Path path, final int width) throws IOException
+		{
+			super();
+			this.channel = FileChannel.open(path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE
+			);
+			this.buffer = ByteBuffer.allocate(IO_BUFFER_BYTES);
+			this.last   = new long[width];
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		public void write(final long[] record, final int offset) throws IOException
+		{
+			if(!this.empty && compare(record, offset, this.last, 0, this.last.length) == 0)
+			{
+				return;
+			}
+			
+			if(this.buffer.remaining() < this.last.length * Long.BYTES)
+			{
+				this.flush();
+			}
+			for(int i = 0; i < this.last.length; i++)
+			{
+				this.buffer.putLong(this.last[i] = record[offset + i]);
+			}
+			this.empty = false;
+		}
+		
+		private void flush() throws IOException
+		{
+			this.buffer.flip();
+			while(this.buffer.hasRemaining())
+			{
+				this.channel.write(this.buffer);
+			}
+			this.buffer.clear();
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			try
+			{
+				this.flush();
+			}
+			finally
+			{
+				this.channel.close();
+			}
+		}
+		
+	}
+	
+	/**
+	 * Sequential reader of the records of a run file.
+	 */
+	static final class RunReader implements AutoCloseable
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+		
+		final long[] record;
+		
+		private final FileChannel channel;
+		private final ByteBuffer  buffer ;
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+		
+		RunReader(final Path path, final int width) throws IOException
+		{
+			super();
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+			this.buffer  = ByteBuffer.allocate(IO_BUFFER_BYTES);
+			this.record  = new long[width];
+			this.buffer.flip();
+		}
+		
+		
+		
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+		
+		/**
+		 * Reads the next record into {@link #record}.
+		 * 
+		 * @return whether there was a next record.
+		 */
+		public boolean next() throws IOException
+		{
+			final int recordBytes = this.record.length * Long.BYTES;
+			if(this.buffer.remaining() < recordBytes)
+			{
+				this.buffer.compact();
+				while(this.buffer.position() < recordBytes)
+				{
+					if(this.channel.read(this.buffer) < 0)
+					{
+						if(this.buffer.position() != 0)
+						{
+							throw new StorageException("Incomplete record at the end of a sorted run.");
+						}
+						this.buffer.flip();
+						return false;
+					}
+				}
+				this.buffer.flip();
+			}
+			
+			for(int i = 0; i < this.record.length; i++)
+			{
+				this.record[i] = this.buffer.getLong();
+			}
+			return true;
+		}
+		
+		@Override
+		public void close() throws IOException
+		{
+			this.channel.close();
+		}
+		
+	}
+	
+}
@@ -15,18 +15,9 @@ package org.eclipse.store.storage.analysis;
  */
 
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.types.StorageAdjacencyDataExporter.AdjacencyFiles;
@@ -44,6 +35,11 @@ public interface MissingObjectsSearch {
 	 */
 	public MissingObjects searchMissingEntities();
 	
+	/**
+	 * @deprecated the search reads the unresolved references collected by the {@link AdjacencyDataConverter}
+	 * directly and has nothing left to configure.
+	 */
+	@Deprecated
 	public interface Configuration {}
 	
 	/**
@@ -51,7 +47,7 @@ public interface MissingObjectsSearch {
 	 * 
 	 * @param adjacencyFiles the input adjacency files.
 	 * @param referenceSetsPaths list of path's to the reference set files.
-	 * @param configuration configuration, can be null.
+	 * @param configuration ignored, can be null.
 	 * @return a new MissingObjectsSearch.Default instance.
 	 */
 	public static MissingObjectsSearch New(
@@ -59,14 +55,20 @@ public interface MissingObjectsSearch {
 		final List<Path> referenceSetsPaths,
 		final MissingObjectsSearch.Default.DefaultConfiguration configuration)
 	{
-		if(configuration != null)
-			return new MissingObjectsSearch.Default(adjacencyFiles, referenceSetsPaths, configuration);
-		
 		return new MissingObjectsSearch.Default(adjacencyFiles, referenceSetsPaths);
 	}
 	
 	public final class Default implements MissingObjectsSearch
 	{
+		/**
+		 * The thread counts of this configuration were used by the former set-reduction search stage.
+		 * They are validated and retained, but no longer used.
+		 * 
+		 * @deprecated the search reads the unresolved references collected by the {@link AdjacencyDataConverter}
+		 * directly and has nothing left to configure. Pass {@code null} to
+		 * {@link MissingObjectsSearch#New(List, List, DefaultConfiguration)} instead.
+		 */
+		@Deprecated
 		public static final class DefaultConfiguration implements MissingObjectsSearch.Configuration
 		{
 			private final static int THREAD_MINIMUM =  1;
@@ -164,48 +166,24 @@ public interface MissingObjectsSearch {
 		
 		private final static Logger logger = Logging.getLogger(MissingObjectsSearch.class);
 		
-		private final DefaultConfiguration configuration;
-		
 		private final List<AdjacencyFiles> adjacencyFiles;
 		private final List<Path> referenceSetsPaths;
-		private long  fileCount;
-						
-		private final ThreadFactory threadFactory;
-		
-		private final AtomicInteger mapsTaken = new AtomicInteger();
 		
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
 		/////////////////
 
 		/**
-		 * Create a new MissingObjectsSearch.Default instance
-		 * using the default configuration.
+		 * Create a new MissingObjectsSearch.Default instance.
 		 * 
 		 * @param adjacencyFiles the input adjacency files.
 		 * @param referenceSetsPaths list of path's to the reference set files.
          */
 		public Default(final List<AdjacencyFiles > adjacencyFiles, final List<Path> referenceSetsPaths)
 		{
+			super();
 			this.adjacencyFiles = adjacencyFiles;
 			this.referenceSetsPaths = referenceSetsPaths;
-			this.configuration = new DefaultConfiguration();
-		
-			this.threadFactory = new ThreadFactory()
-			{
-				final AtomicInteger counter = new AtomicInteger();
-				
-				@Override
-				public Thread newThread(final Runnable r)
-				{
-					return new Thread(r, "Eclipse-Store-WorkerThread-" + this.counter.getAndIncrement());
-				}
-			};
-			
-			for(final AdjacencyFiles channel : this.adjacencyFiles)
-			{
-				this.fileCount += channel.get().size();
-			}
 		}
 		
 		/**
@@ -213,29 +191,13 @@ public interface MissingObjectsSearch {
 		 * 
 		 * @param adjacencyFiles the input adjacency files.
 		 * @param referenceSetsPaths list of path's to the reference set files.
-		 * @param configuration configuration, can be null.
+		 * @param configuration ignored, can be null.
+		 * @deprecated the configuration is no longer used, use {@link #Default(List, List)} instead.
          */
+		@Deprecated
 		public Default(final List<AdjacencyFiles> adjacencyFiles, final List<Path> referenceSetsPaths, final DefaultConfiguration configuration)
 		{
-			this.adjacencyFiles = adjacencyFiles;
-			this.referenceSetsPaths = referenceSetsPaths;
-			this.configuration = configuration;
-		
-			this.threadFactory = new ThreadFactory()
-			{
-				final AtomicInteger counter = new AtomicInteger();
-				
-				@Override
-				public Thread newThread(final Runnable r)
-				{
-					return new Thread(r, "Eclipse-Store-WorkerThread-" + this.counter.getAndIncrement());
-				}
-			};
-			
-			for(final AdjacencyFiles channel : this.adjacencyFiles)
-			{
-				this.fileCount += channel.get().size();
-			}
+			this(adjacencyFiles, referenceSetsPaths);
 		}
 
 		///////////////////////////////////////////////////////////////////////////
@@ -244,284 +206,24 @@ public interface MissingObjectsSearch {
 		
 		@Override
 		public MissingObjects searchMissingEntities()
-		{
-			final LinkedBlockingQueue<AdjacencySet> refSetsQueueDone = this.searchMissingObjectIDs(this.referenceSetsPaths);
-			
-			return new MissingObjects.Default(this.gatherMissingObjectIDs(refSetsQueueDone));
-		}
-		
-		private Set<Long> gatherMissingObjectIDs(final LinkedBlockingQueue<AdjacencySet> refSetsQueue)
 		{
 			final Set<Long> missingObjectIds = new HashSet<>();
-			refSetsQueue.forEach((set) ->
+			for(final Path path : this.referenceSetsPaths)
 			{
-				set.load(false);
-				if(!set.getReferences().isEmpty())
+				final AdjacencyRecords set = new AdjacencyRecords(path, 1);
+				if(set.size() > 0)
 				{
-					logger.info("file {} has {} missing object(s)!", set.getPath().getFileName(), set.getReferences().size());
+					logger.info("file {} has {} missing object(s)!", path.getFileName(), set.size());
 				}
-				missingObjectIds.addAll(set.getReferences());
-				set.unload();
-			});
-
-			return missingObjectIds;
-		}
-			
-		private static Void shutdownExceptional(final ExecutorService ex, final Throwable t) {
-			if(ex != null && !ex.isTerminated())
-			{
-				ex.shutdownNow();
-				logger.error("Shutting down exceptionally: ", t);
-				throw new RuntimeException("abnormal termination", t);
-			}
-			
-			return null;
-		}
-		
-		private static Void shutdown(final ExecutorService ex) {
-			if(ex != null && !ex.isTerminated())
-			{
-				ex.shutdownNow();
-			}
-			return null;
-		}
-					
-		private LinkedBlockingQueue<AdjacencySet> searchMissingObjectIDs(final List<Path> referenceSetsPaths)
-		{
-			final ExecutorService executor = Executors.newFixedThreadPool(this.configuration.getReduceStage_TotalThreads(), this.threadFactory);
-		
-			
-			final LinkedBlockingQueue<AdjacencySet> refSetsQueue = new LinkedBlockingQueue<>();
-			referenceSetsPaths.forEach(p -> refSetsQueue.add(new AdjacencySet(p)));
-			
-			final LinkedBlockingQueue<Path>         adjacentMapsPathsQueue      = new LinkedBlockingQueue<>();
-			final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue          = new LinkedBlockingQueue<>(this.configuration.getReduceStage_MapLoaders());
-			final LinkedBlockingQueue<AdjacencySet> initOutQueue                = new LinkedBlockingQueue<>(this.configuration.getQUEUE_SIZE());
-			final LinkedBlockingQueue<AdjacencySet> adjacencySetsQueueFinished  = new LinkedBlockingQueue<>();
-			LinkedBlockingQueue<AdjacencySet> reducerInQueue;  //created later on demand
-			
-			for(final AdjacencyFiles channel : this.adjacencyFiles)
-			{
-				for(final Entry<Long, Path> entry : channel.get().entrySet())
+				for(long i = 0; i < set.size(); i++)
 				{
-					adjacentMapsPathsQueue.add(entry.getValue());
+					missingObjectIds.add(set.get(i, 0));
 				}
 			}
 			
-			final List<CompletableFuture<Void>> futures = new ArrayList<>();
-			
-			for(int i = 0; i < this.configuration.getReduceStage_MapLoaders(); i++)
-			{
-				futures.add(
-					CompletableFuture
-						.runAsync(() -> AdjacencyDataConverter.Default.adjacencyMapLoader(adjacentMapsPathsQueue, List.of(adjacencyMapsQueue)), executor)
-						.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
-			}
-					
-			for(int i = 0; i < this.configuration.getReduceStage_Initializers(); i++)
-			{
-				futures.add(
-					CompletableFuture
-						.runAsync(() -> this.stageInit(refSetsQueue, initOutQueue), executor)
-						.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
-			}
-								
-			reducerInQueue = initOutQueue;
-			for(int i = 0; i < this.configuration.getReduceStage_SetReducers(); i++) {
-				
-				final LinkedBlockingQueue<AdjacencySet> inQueue = reducerInQueue;
-				final LinkedBlockingQueue<AdjacencySet> outQueue = new LinkedBlockingQueue<>(this.configuration.getQUEUE_SIZE());
-				
-				
-				futures.add(
-					CompletableFuture
-						.runAsync(() -> this.stageReduce(adjacencyMapsQueue, inQueue, outQueue), executor)
-						.exceptionally((t) -> shutdownExceptional(executor, t))
-				);
-				
-				reducerInQueue = outQueue;
-			}
-						
-			final LinkedBlockingQueue<AdjacencySet> stageEndInQueue = reducerInQueue;
-			futures.add(
-				CompletableFuture
-				.runAsync(() -> this.stageEnd(stageEndInQueue, refSetsQueue, adjacencySetsQueueFinished), executor)
-				.whenComplete((v, t) -> {
-					if(t!=null) {
-						shutdownExceptional(executor, t);
-					} else {
-						shutdown(executor);
-					}
-				})
-			);
-								
-			final CompletableFuture<?> reduceStage = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-			
-			try
-			{
-				reduceStage.get();
-			}
-			catch(InterruptedException | ExecutionException e)
-			{
-				logger.error("searchMissingObjectIDs failed: ", e);
-				throw new RuntimeException(e);
-			}
-			finally
-			{
-				executor.shutdownNow();
-			}
-							
-			return adjacencySetsQueueFinished;
-		}
-					
-		private void stageInit(
-			final LinkedBlockingQueue<AdjacencySet> queueIn,
-			final LinkedBlockingQueue<AdjacencySet> queueOut)
-		{
-			do
-			{
-				try
-				{
-					final AdjacencySet set = queueIn.take();
-					set.load(true);
-					queueOut.put(set);
-				}
-				catch(final InterruptedException e)
-				{
-					//stop processing
-					logger.debug("Init stage thread ending stopped of interruption");
-					return;
-				}
-				catch(final Exception e)
-				{
-					throw new RuntimeException(e);
-				}
-			} while(true);
-		}
-				
-		private void stageReduce(
-				final LinkedBlockingQueue<AdjacencyMap> adjacencyMapsQueue,
-				final LinkedBlockingQueue<AdjacencySet> queueIn,
-				final LinkedBlockingQueue<AdjacencySet> queueOut)
-		{
-			while(true)
-			{
-				if(this.mapsTaken.getAndIncrement() < this.fileCount)
-				{
-					try
-					{
-						final AdjacencyMap map = adjacencyMapsQueue.take();
-										
-						long counter = 0;
-						
-						while(counter < this.fileCount)
-						{
-
-							final AdjacencySet set = queueIn.take();
-							if(!set.isEmpty())
-							{
-								set.reduce(map);
-							}
-														
-							queueOut.put(set);
-							counter++;
-						}
-					}
-					catch(final InterruptedException e)
-					{
-						//stop processing
-						logger.debug("Reduce stage thread stopped because of interruption");
-						return;
-					}
-					catch(final Exception e)
-					{
-						throw new RuntimeException(e);
-					}
-				}
-				else
-				{
-					//simply forward
-					try
-					{
-						final AdjacencySet set = queueIn.take();
-						queueOut.put(set);
-					}
-					catch(final InterruptedException e)
-					{
-						//stop processing
-						logger.debug("Reduce stage thread stopped because of interruption");
-						return;
-					}
-					catch(final Exception e)
-					{
-						throw new RuntimeException(e);
-					}
-				}
-			}
+			return new MissingObjects.Default(missingObjectIds);
 		}
 		
-		private void stageEnd(final LinkedBlockingQueue<AdjacencySet> queueIn,
-				final LinkedBlockingQueue<AdjacencySet> queueOut,
-				final LinkedBlockingQueue<AdjacencySet> queueDone)
-		{
-			long processedFiles = 0;
-			final List<AdjacencySet> tmp = new ArrayList<>();
-			
-			do
-			{
-				try
-				{
-					final AdjacencySet set = queueIn.take();
-					
-					set.store();
-					set.unload();
-												
-					tmp.add(set);
-										
-					//every time a set reaches this point it was reduced by
-					//n reduces stages. We are done as soon as very file was
-					//reduced by every file, which results in a total of
-					//files^2 reduce operations.
-					processedFiles += this.configuration.getReduceStage_SetReducers();
-					
-					if(tmp.size() == this.fileCount)
-					{
-						logger.debug("Processed {} of {}", processedFiles, this.fileCount * this.fileCount);
-												
-						if(processedFiles >= (this.fileCount * this.fileCount))
-						{
-							if(queueOut.isEmpty())
-							{
-								queueDone.addAll(tmp);
-								return;
-							} else
-								throw new RuntimeException("Something went wrong, there are more items to be processed then expected.");
-						}
-						else
-						{
-							queueOut.addAll(tmp);
-							tmp.clear();
-						}
-					}
-					
-				}
-				catch(final InterruptedException e)
-				{
-					//stop processing
-					logger.debug("End stage thread stopped because of interruption");
-					return;
-				}
-				catch(final Exception e)
-				{
-					throw new RuntimeException(e);
-				}
-				
-			}
-			while(true);
-		}
-											
 	}
 	
 }
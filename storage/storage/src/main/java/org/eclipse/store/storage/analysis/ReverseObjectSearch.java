@@ -14,14 +14,14 @@ package org.eclipse.store.storage.analysis;
  * #L%
  */
 
-import java.nio.file.Path;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.TreeSet;
 
 import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.analysis.AdjacencyDataConverter.ConvertedAdjacencyFiles;
@@ -54,8 +54,8 @@ public interface ReverseObjectSearch
 	{
 		private final static Logger logger = Logging.getLogger(ReverseObjectSearch.class);
 		
-		private final List<AdjacencyFiles> adjacencyFiles;
-		private final LinkedList<ComparableAdjacencyMap> reverseAdjacencyMaps;
+		private final List<AdjacencyFiles>   adjacencyFiles;
+		private final List<AdjacencyRecords> reverseReferenceMaps;
 		
 		
 		///////////////////////////////////////////////////////////////////////////
@@ -72,201 +72,66 @@ public interface ReverseObjectSearch
 		{
 			super();
 			this.adjacencyFiles = adjacencyFiles;
-			this.reverseAdjacencyMaps = this.buildReverseAdjacencyMaps(convertedAdjacencyFiles.getReverseReferenceMaps());
+			this.reverseReferenceMaps = new ArrayList<>();
+			
+			convertedAdjacencyFiles.getReverseReferenceMaps().forEach(
+				path -> this.reverseReferenceMaps.add(new AdjacencyRecords(path, 2))
+			);
 		}
 	
 		///////////////////////////////////////////////////////////////////////////
 		// methods //
 		///////////
 			
+		/**
+		 * The reverse reference maps are sorted by the referenced object id, the parents of an id are
+		 * therefore found by a binary search directly in the mapped files, without loading them.
+		 */
 		@Override
 		public ObjectParents searchObjectIDs(final Set<Long> objectIDs)
-		{
-			while(this.hasOverlapping(this.reverseAdjacencyMaps))
-			{
-				this.sort(this.reverseAdjacencyMaps);
-				Collections.sort(this.reverseAdjacencyMaps);
-			}
-			
-			return this.search(objectIDs);
-		}
-		
-		private boolean hasOverlapping(final LinkedList<ComparableAdjacencyMap> list)
-		{
-			for(final ComparableAdjacencyMap mapA : list)
-			{
-				for(final ComparableAdjacencyMap mapB : list)
-				{
-					if(mapA.isEmpty() || mapB.isEmpty()) {
-						continue;
-					}
-					
-					final boolean overlapping = mapA.intersect(mapB);
-					logger.trace("overlap test {} > {} : {}", mapA.path.getFileName(), mapB.path.getFileName(), overlapping);
-					
-					if(mapA != mapB)
-					{
-						if(overlapping)
-							return true;
-					}
-				}
-			}
-			return false;
-		}
-		
-		private ObjectParents.Default search(final Set<Long> objectIDs)
 		{
 			final Map<Long, long[]> foundParents = new TreeMap<>();
-
-            final TreeSet<Long> next = new TreeSet<>(objectIDs);
+			final ArrayDeque<Long>  next         = new ArrayDeque<>(objectIDs);
+			final Set<Long>         visited      = new HashSet<>(objectIDs);
 			
+			long[] parents = new long[16];
 			while(!next.isEmpty())
 			{
-				Long currentID = next.pollFirst();
-						
+				final long currentID = next.poll();
+				
 				logger.debug("searching processing id: {} ", currentID);
-			
-				final ComparableAdjacencyMap map = this.getMapFor(currentID);
-				if(map != null)
+				
+				int count = 0;
+				for(final AdjacencyRecords map : this.reverseReferenceMaps)
 				{
-					if(map.map == null)
-					{
-						map.load();
-					}
-					
-					while(currentID != null)
+					for(long i = map.lowerBound(currentID); i < map.size() && map.get(i, 0) == currentID; i++)
 					{
-						final long[] parents = map.map.get(currentID);
-						if(parents == null)
+						if(count == parents.length)
 						{
-							logger.trace("no parents for id {} found in map {} !", currentID, map);
-						}
-						else
-						{
-							foundParents.put(currentID, parents);
-									
-							for(final long parentID : parents)
-							{
-								if(foundParents.get(parentID) == null)
-								{
-									//if parent object id not found search for it in next cycle.
-									next.add(parentID);
-								}
-							}
-						}
-												
-						if(!next.isEmpty())
-						{
-							currentID = next.first();
-						}
-												
-						if(!next.removeIf(map::inRange))
-						{
-							currentID = null;
+							parents = Arrays.copyOf(parents, count * 2);
 						}
+						parents[count++] = map.get(i, 1);
 					}
-					
-					map.unload();
-					
 				}
-				else
+				
+				if(count == 0)
 				{
-					logger.trace("ID {} not found in map ranges!", currentID);
-				}
-			}
-					
-			return new ObjectParents.Default(foundParents);
-		}
-			
-		private ComparableAdjacencyMap getMapFor(final long id)
-		{
-			for(final ComparableAdjacencyMap map : this.reverseAdjacencyMaps)
-			{
-				if(map.inRange(id))
-					return map;
-			}
-			return null;
-		}
-		
-		private void sort(final LinkedList<ComparableAdjacencyMap> list)
-		{
-			long counter = 0;
-			
-			for(final ComparableAdjacencyMap mapA : list)
-			{
-				if(mapA.isEmpty()) {
+					logger.trace("no parents for id {} found!", currentID);
 					continue;
 				}
-				mapA.load();
 				
-				for(final ComparableAdjacencyMap mapB : list)
+				foundParents.put(currentID, Arrays.copyOf(parents, count));
+				for(int i = 0; i < count; i++)
 				{
-					if(mapA == mapB) {
-						continue;
-					}
-																
-					if(mapB.isEmpty()) {
-						continue;
-					}
-					if(mapA.intersect(mapB))
+					//if parent object id not searched yet search for it in next cycle.
+					if(visited.add(parents[i]))
 					{
-						mapB.load();
-						
-						this.mergeMaps(mapA, mapB);
-						
-						mapA.update();
-						mapB.update();
-						
-						if(mapB.updated())
-						{
-							mapB.serialize();
-							logger.trace("serialized {} ", mapB.path.getFileName());
-						}
-						mapB.unload();
+						next.add(parents[i]);
 					}
-					
-				}
-				if(mapA.updated())
-				{
-					mapA.serialize();
 				}
-				mapA.unload();
-				
-				logger.debug("Progress: {} of {}", ++counter, list.size());
 			}
-		}
-		
-		private void mergeMaps(final ComparableAdjacencyMap mapA, final ComparableAdjacencyMap mapB)
-		{
-			logger.trace("merging {} with {}", mapA, mapB);
 			
-			final TreeMap<Long, long[]> map1 = mapA.map;
-			final TreeMap<Long, long[]> map2 = mapB.map;
-	
-			map1.putAll(map2);
-			map2.clear();
-	
-			for(int i = 0; i < map1.size() / 2; i++)
-			{
-				final var e = map1.lastEntry();
-				map2.put(e.getKey(), e.getValue());
-				map1.remove(e.getKey());
-			}
-	
-			mapA.update();
-			mapB.update();
-		}
-			
-			
-		private LinkedList<ComparableAdjacencyMap> buildReverseAdjacencyMaps(List<Path> reverseReverenceMapPaths)
-		{
-			final LinkedList<ComparableAdjacencyMap> backReferenceMaps = new LinkedList<>();
-			
-			reverseReverenceMapPaths.forEach(
-				path -> backReferenceMaps.add(new ComparableAdjacencyMap(path))
-			);
-			
-			return backReferenceMaps;
+			return new ObjectParents.Default(foundParents);
 		}
 	}
 }
@@ -0,0 +1,60 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MetricMonitor;
+import org.eclipse.store.storage.types.StorageBackupHandler;
+
+public class StorageBackupMonitor implements StorageBackupMonitorMBean, MetricMonitor
+{
+	private final StorageBackupHandler backupHandler;
+
+	public StorageBackupMonitor(final StorageBackupHandler backupHandler)
+	{
+		this.backupHandler = backupHandler;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "name=StorageBackup";
+	}
+
+	@Override
+	public long getPendingItemCount()
+	{
+		return this.backupHandler.itemQueue().itemCount();
+	}
+
+	@Override
+	public long getPendingByteCount()
+	{
+		return this.backupHandler.itemQueue().byteCount();
+	}
+
+	@Override
+	public int getCopierCount()
+	{
+		return this.backupHandler.setup().copierCount();
+	}
+
+	@Override
+	public long getThroughputLimit()
+	{
+		return this.backupHandler.setup().throughputLimit();
+	}
+
+}
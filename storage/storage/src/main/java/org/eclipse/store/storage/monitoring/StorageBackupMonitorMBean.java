@@ -0,0 +1,59 @@
+package org.eclipse.store.storage.monitoring;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+
+import org.eclipse.serializer.monitoring.MonitorDescription;
+import org.eclipse.store.storage.types.StorageBackupHandler;
+
+/**
+ * JMX MBean definition that provides monitoring and metrics of the continuous backup
+ * performed by the {@link StorageBackupHandler}.
+ */
+@MonitorDescription("Provides monitoring and metrics data of the continuous backup.")
+public interface StorageBackupMonitorMBean
+{
+	/**
+	 * Get the number of backup items that are queued or currently being processed.
+	 * 
+	 * @return the number of pending backup items.
+	 */
+	@MonitorDescription("The number of backup items that are queued or currently being processed.")
+	long getPendingItemCount();
+
+	/**
+	 * Get the number of bytes the pending backup items still have to copy.
+	 * 
+	 * @return the number of pending bytes.
+	 */
+	@MonitorDescription("The number of bytes the pending backup items still have to copy.")
+	long getPendingByteCount();
+
+	/**
+	 * Get the number of backup threads copying in parallel.
+	 * 
+	 * @return the number of backup copier threads.
+	 */
+	@MonitorDescription("The number of backup threads copying in parallel.")
+	int getCopierCount();
+
+	/**
+	 * Get the maximum number of bytes per second the backup copies, 0 meaning no limit.
+	 * 
+	 * @return the throughput limit in bytes per second.
+	 */
+	@MonitorDescription("The maximum number of bytes per second the backup copies, 0 meaning no limit.")
+	long getThroughputLimit();
+}
@@ -18,6 +18,7 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 
 import org.eclipse.store.afs.nio.types.NioFileSystem;
 import org.eclipse.serializer.afs.types.ADirectory;
@@ -403,6 +404,78 @@ public final class Storage
 		return StorageEntityCacheEvaluator.New(timeoutMs, threshold);
 	}
 
+	/**
+	 * Creates a new {@link StorageEntityCacheEvaluator}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageEntityCacheEvaluator#New(long, long, long)}.
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read (the "age"), after which a particular
+	 *        entity's data will be cleared from the Storage's internal cache.
+	 *
+	 * @param threshold an abstract value (greater than 0) to evaluate the product of size and age of an entity in relation
+	 *        to the current cache size in order to determine if the entity's data shall be cleared from the cache.
+	 *
+	 * @param maximumCacheSize the hard limit in bytes (greater than 0) for the cache of one channel.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is equal to or lower than 0.
+	 *
+	 * @see Storage#EntityCacheEvaluator(long, long)
+	 * @see StorageEntityCacheEvaluator#New(long, long, long)
+	 */
+	public static final StorageEntityCacheEvaluator EntityCacheEvaluator(
+		final long timeoutMs       ,
+		final long threshold       ,
+		final long maximumCacheSize
+	)
+	{
+		return StorageEntityCacheEvaluator.New(timeoutMs, threshold, maximumCacheSize);
+	}
+
+	/**
+	 * Creates a new {@link StorageEntityCacheEvaluatorFrequencyBased}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageEntityCacheEvaluatorFrequencyBased}.
+	 *
+	 * @param typeCacheBudgets the cache budgets in bytes per channel, mapped by type name.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @see Storage#EntityCacheEvaluatorFrequencyBased(long, long, Map)
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(Map)
+	 */
+	public static final StorageEntityCacheEvaluatorFrequencyBased EntityCacheEvaluatorFrequencyBased(
+		final Map<String, Long> typeCacheBudgets
+	)
+	{
+		return StorageEntityCacheEvaluatorFrequencyBased.New(typeCacheBudgets);
+	}
+
+	/**
+	 * Creates a new {@link StorageEntityCacheEvaluatorFrequencyBased}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageEntityCacheEvaluatorFrequencyBased}.
+	 *
+	 * @param timeoutMs        the time (in milliseconds, greater than 0) of not being read, after which a particular
+	 *                         entity's data will be cleared from the Storage's internal cache.
+	 * @param threshold        an abstract value (greater than 0), see {@link StorageEntityCacheEvaluator#New(long, long)}.
+	 * @param typeCacheBudgets the cache budgets in bytes per channel, mapped by type name.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @see Storage#EntityCacheEvaluatorFrequencyBased(Map)
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(long, long, Map)
+	 */
+	public static final StorageEntityCacheEvaluatorFrequencyBased EntityCacheEvaluatorFrequencyBased(
+		final long              timeoutMs       ,
+		final long              threshold       ,
+		final Map<String, Long> typeCacheBudgets
+	)
+	{
+		return StorageEntityCacheEvaluatorFrequencyBased.New(timeoutMs, threshold, typeCacheBudgets);
+	}
+
 	/**
 	 * Creates a new {@link StorageChannelCountProvider}.
 	 * <p>
@@ -684,6 +757,58 @@ public final class Storage
 		);
 	}
 
+	/**
+	 * Creates a new {@link StorageDataFileEvaluator}.
+	 * <p>
+	 * For a detailed explanation see {@link StorageDataFileEvaluator#New(int, int, double, boolean, int, long, boolean)}.
+	 *
+	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
+	 *        will be dissolved.
+	 *
+	 * @param fileMaximumSize the maximum file size in bytes that a single storage file may have. Larger files
+	 *        will be dissolved.<br>
+	 *        Note that a file can exceed this limit if it contains a single entity that already exceeds the limit.
+	 *
+	 * @param minimumUseRatio the ratio (value in ]0.0;1.0]) of non-gap data contained in a storage file to prevent
+	 *        the file from being dissolved.
+	 *
+	 * @param cleanUpHeadFile a flag defining whether the current head file (the only file actively written to)
+	 *        shall be subjected to file cleanups as well.
+	 *
+	 * @param transactionFileMaximumSize the maximum file size for transaction files. Lager files will
+	 *        be deleted and a new one will be created.
+	 *
+	 * @param coalesceChunkTargetBytes the soft target size in bytes for a single coalesced chunk produced by
+	 *        the dissolution transfer. See {@link StorageDataFileEvaluator#coalesceChunkTargetBytes()}.
+	 *
+	 * @param clusterEntitiesByType whether the dissolution transfer groups the relocated entities by type.
+	 *        See {@link StorageDataFileEvaluator#clusterEntitiesByType()}.
+	 *
+	 * @return a new {@link StorageDataFileEvaluator} instance.
+	 *
+	 * @see StorageDataFileEvaluator#New(int, int, double, boolean, int, long, boolean)
+	 */
+	public static final StorageDataFileEvaluator DataFileEvaluator(
+		final int     fileMinimumSize           ,
+		final int     fileMaximumSize           ,
+		final double  minimumUseRatio           ,
+		final boolean cleanUpHeadFile           ,
+		final int     transactionFileMaximumSize,
+		final long    coalesceChunkTargetBytes  ,
+		final boolean clusterEntitiesByType
+	)
+	{
+		return StorageDataFileEvaluator.New(
+			fileMinimumSize,
+			fileMaximumSize,
+			minimumUseRatio,
+			cleanUpHeadFile,
+			transactionFileMaximumSize,
+			coalesceChunkTargetBytes,
+			clusterEntitiesByType
+		);
+	}
+
 	/**
 	 * Creates a new {@link StorageBackupSetup}.
 	 * <p>
@@ -722,6 +847,29 @@ public final class Storage
 		return StorageBackupSetup.New(backupDirectory);
 	}
 
+	/**
+	 * Creates a new {@link StorageBackupSetup} with multiple backup threads and/or a throughput limit.
+	 * <p>
+	 * For a detailed explanation see {@link StorageBackupSetup#New(ADirectory, int, long)}.
+	 * 
+	 * @param backupDirectory the directory where the backup shall be located.
+	 * @param copierCount     the number of backup threads copying in parallel.
+	 * @param throughputLimit the maximum number of bytes per second to be copied or 0 for no limit.
+	 * 
+	 * @return a new {@link StorageBackupSetup} instance.
+	 *
+	 * @see StorageBackupSetup#New(ADirectory, int, long)
+	 * @see StorageBackupHandler
+	 */
+	public static final StorageBackupSetup BackupSetup(
+		final ADirectory backupDirectory,
+		final int        copierCount    ,
+		final long       throughputLimit
+	)
+	{
+		return StorageBackupSetup.New(backupDirectory, copierCount, throughputLimit);
+	}
+
 	/**
 	 * Creates a new {@link StorageBackupSetup}.
 	 * <p>
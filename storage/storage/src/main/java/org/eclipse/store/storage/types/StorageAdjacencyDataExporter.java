@@ -20,10 +20,9 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.List;
 import java.util.Map;
 
 import org.eclipse.serializer.collections.types.XGettingTable;
@@ -35,6 +34,7 @@ import org.eclipse.serializer.persistence.types.PersistenceTypeDefinition;
 import org.eclipse.serializer.reference.Swizzling;
 import org.eclipse.serializer.typing.KeyValue;
 import org.eclipse.serializer.util.logging.Logging;
+import org.eclipse.store.storage.analysis.AdjacencySorter;
 import org.eclipse.store.storage.exceptions.StorageException;
 import org.slf4j.Logger;
 
@@ -101,12 +101,22 @@ public interface StorageAdjacencyDataExporter
 	{
 		private final static Logger logger = Logging.getLogger(StorageAdjacencyDataExporter.class);
 		
+		private static final int SERIALIZE_BUFFER_SIZE = 1 << 20;
+		
 		private final Path exportDirectory;
 		private final Hashtable<Long, BinaryReferenceTraverser[]> traverser = new Hashtable<>();
 		private final XGettingTable<Long, PersistenceTypeDefinition> typeDefinitions;
 		
 		private final Map<Long, Path> processedFiles;
 		private final int channelIndex;
+		
+		// reused primitive buffer of (object id, offset) pairs of the current file's entities
+		private long[] entities = new long[2 * 1024];
+		private int    entityCount;
+		
+		// reused primitive buffer for the references of the current entity
+		private long[] referenceIDs = new long[64];
+		private int    referenceCount;
 
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
@@ -139,26 +149,42 @@ public interface StorageAdjacencyDataExporter
 		@Override
 		public void exportAdjacencyData(final StorageLiveDataFile file)
 		{
-			HashMap<Long, long[]> referenceTable = new HashMap<>();
-			
-			ByteBuffer buffer = XMemory.allocateDirectNative((int)file.size());
-			file.readBytes(buffer);
-			
-			long startAddress = XMemory.getDirectByteBufferAddress(buffer);
-			long offset = 0;
+			final Path filePath = this.exportDirectory.resolve(file.file().name() + ".bin");
+			logger.debug("Exporting reference meta data for file {} to {}", file.identifier(), filePath);
 			
-			long address = 0;
-			long size = 0;
-			long typeID = 0;
-			long objectID = 0;
+			final ByteBuffer buffer = XMemory.allocateDirectNative((int)file.size());
+			try
+			{
+				file.readBytes(buffer);
+				
+				final long startAddress = XMemory.getDirectByteBufferAddress(buffer);
+				this.collectEntities(startAddress, buffer.limit());
+				
+				// sorted by object id, so later versions of the same entity follow their predecessors
+				AdjacencySorter.sortPairs(this.entities, 0, this.entityCount);
+				
+				this.serialize(startAddress, filePath);
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
 			
-			long keyCount = 0;
-			long refCount = 0;
+			this.processedFiles.put(file.number(), filePath);
+		}
+		
+		/*
+		 * Collects (object id, offset) pairs of all entities in the file's content.
+		 */
+		private void collectEntities(final long startAddress, final long length)
+		{
+			this.entityCount = 0;
 			
-			while(offset < buffer.limit())
+			long offset = 0;
+			while(offset < length)
 			{
-				address = startAddress + offset;
-				size = XMemory.get_long(address);
+				final long address = startAddress + offset;
+				final long size    = XMemory.get_long(address);
 
 				if(size < 0)
 				{
@@ -172,75 +198,90 @@ public interface StorageAdjacencyDataExporter
 					// advancing by 0 would otherwise spin forever on the same offset.
 					break;
 				}
-				else
-				{
-					offset += size;
-				}
 
-				typeID = XMemory.get_long(address + 8);
-				objectID = XMemory.get_long(address + 16);
-								
+				final long objectID = XMemory.get_long(address + 16);
 				if(Persistence.IdType.OID.isInRange(objectID))
 				{
-					long[] references = this.getReferenceIDs(address, typeID);
-					referenceTable.put(objectID, references);
-					
-					keyCount++;
-					refCount+=references.length;
+					this.addEntity(objectID, offset);
 				}
 				
-
+				offset += size;
 			}
-										
-			XMemory.deallocateDirectByteBuffer(buffer);
-						
-			Path filePath = this.exportDirectory.resolve(file.file().name() + ".bin");
-			logger.debug("Exporting reference meta data for file {} to {}", file.identifier(), filePath);
-			
-			this.serialize(referenceTable, filePath, keyCount, refCount);
-			this.processedFiles.put(file.number(), filePath);
 		}
 		
+		private void addEntity(final long objectID, final long offset)
+		{
+			if(2 * this.entityCount == this.entities.length)
+			{
+				this.entities = Arrays.copyOf(this.entities, this.entities.length * 2);
+			}
+			this.entities[2 * this.entityCount]     = objectID;
+			this.entities[2 * this.entityCount + 1] = offset;
+			this.entityCount++;
+		}
 		
-		private void serialize(
-			final HashMap<Long, long[]> referenceTable,
-			final Path path,
-			final long keyCount,
-			final long refCount)
+		/*
+		 * Streams a record per entity into the file: object id (long), reference count (int) and the
+		 * referenced object ids (long each). Only the last version of an entity in the file is exported.
+		 */
+		private void serialize(final long startAddress, final Path path)
 		{
-			long estimatedbufferSize =
-				((XMemory.byteSize_long() + XMemory.byteSize_int()) * keyCount) +
-				(refCount * XMemory.byteSize_long());
-												
-			ByteBuffer buffer = ByteBuffer.allocate((int)estimatedbufferSize);
+			long keyCount = 0;
+			long refCount = 0;
 			
-			for (Map.Entry<Long, long[]> entry : referenceTable.entrySet())
+			// written in bounded chunks instead of a buffer for the whole file
+			ByteBuffer buffer = ByteBuffer.allocate(SERIALIZE_BUFFER_SIZE);
+			
+			try(FileChannel fc = FileChannel.open(path, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.CREATE))
 			{
-				buffer.putLong(entry.getKey());
-				buffer.putInt(entry.getValue().length);
-				for (long l : entry.getValue())
+				for(int i = 0; i < this.entityCount; i++)
 				{
-					try
+					final long objectID = this.entities[2 * i];
+					if(i + 1 < this.entityCount && this.entities[2 * i + 2] == objectID)
+					{
+						// superseded by a later version in the same file
+						continue;
+					}
+					
+					final long address = startAddress + this.entities[2 * i + 1];
+					this.collectReferenceIDs(address, XMemory.get_long(address + 8));
+					
+					if(buffer.remaining() < XMemory.byteSize_long() + XMemory.byteSize_int())
 					{
-						buffer.putLong(l);
+						write(fc, buffer);
 					}
-					catch(Exception e)
+					buffer.putLong(objectID);
+					buffer.putInt(this.referenceCount);
+					for(int r = 0; r < this.referenceCount; r++)
 					{
-						throw new RuntimeException(e);
+						if(buffer.remaining() < XMemory.byteSize_long())
+						{
+							write(fc, buffer);
+						}
+						buffer.putLong(this.referenceIDs[r]);
 					}
+					
+					keyCount++;
+					refCount += this.referenceCount;
 				}
+				write(fc, buffer);
 			}
-			buffer.flip();
-			
-			
-			try(FileChannel fc = FileChannel.open(path, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.CREATE))
+			catch(IOException e)
 			{
-				fc.write(buffer);
+				throw new StorageException("Could not write adjacency data " + path, e);
 			}
-			catch(IOException e)
+			
+			logger.trace("Serialized {} objects with {} references to {}", keyCount, refCount, path);
+		}
+		
+		private static void write(final FileChannel fc, final ByteBuffer buffer) throws IOException
+		{
+			buffer.flip();
+			while(buffer.hasRemaining())
 			{
-				throw new RuntimeException(e);
+				fc.write(buffer);
 			}
+			buffer.clear();
 		}
 			
 		private void createTraverser()
@@ -255,16 +296,16 @@ public interface StorageAdjacencyDataExporter
             }
         }
 		
-		private long[] getReferenceIDs(final long objectStartAddress, final long typeID)
+		private void collectReferenceIDs(final long objectStartAddress, final long typeID)
 		{
 			BinaryReferenceTraverser[] tr = this.traverser.get(typeID);
-			List<Long> referencesIDs = new ArrayList<>();
 			
 			if(tr == null)
 			{
 				throw new StorageException("No BinaryReferenceTraverser found for typeID " + typeID);
 			}
 			
+			this.referenceCount = 0;
 			long a = Binary.toEntityContentOffset(objectStartAddress);
 
             for (BinaryReferenceTraverser binaryReferenceTraverser : tr)
@@ -273,12 +314,19 @@ public interface StorageAdjacencyDataExporter
                 {
                     if (Swizzling.isProperId(refId))
                     {
-                        referencesIDs.add(refId);
+                        this.addReferenceID(refId);
                     }
                 });
             }
-			
-			return referencesIDs.stream().mapToLong(l -> l).toArray();
+		}
+		
+		private void addReferenceID(final long refId)
+		{
+			if(this.referenceCount == this.referenceIDs.length)
+			{
+				this.referenceIDs = Arrays.copyOf(this.referenceIDs, this.referenceCount * 2);
+			}
+			this.referenceIDs[this.referenceCount++] = refId;
 		}
 	}
 }
@@ -36,6 +36,14 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 {
 	public StorageBackupSetup setup();
 	
+	/**
+	 * The queue of pending backup items, e.g. for monitoring the backup lag via
+	 * {@link StorageBackupItemQueue#itemCount()} and {@link StorageBackupItemQueue#byteCount()}.
+	 * 
+	 * @return the backup item queue processed by this handler.
+	 */
+	public StorageBackupItemQueue itemQueue();
+	
 	public void initialize(int channelIndex);
 	
 	public void synchronize(StorageInventory storageInventory);
@@ -117,6 +125,10 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		private final StorageTypeDictionary             typeDictionary        ;
 		private final PersistenceTypeDictionaryExporter typeDictionaryExporter;
 		
+		// throttling state, guarded by throttleLock: the earliest time the next copy may start.
+		private final Object throttleLock = new Object();
+		private       long   throttleBoundNs;
+		
 		private boolean running; // being "ordered" to run.
 		private boolean active ; // being actually active, e.g. executing the last loop before running check.
 		private boolean shutdown;// being "ordered" to stop the backup handler after completing current queued items
@@ -161,6 +173,12 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 			return this.backupSetup;
 		}
 		
+		@Override
+		public final StorageBackupItemQueue itemQueue()
+		{
+			return this.itemQueue;
+		}
+		
 		@Override
 		public final synchronized boolean isRunning()
 		{
@@ -263,40 +281,137 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 		{
 			logger.info("Starting backup handler");
 			
-			// must be the method instead of the field to check the lock but don't cover the whole loop
+			Thread[] copiers = null;
 			try
 			{
 				this.active = true;
 				
-				// can not / may not copy storage files if the storage is not running (has locked and opened files, etc.)
-				while(this.isRunning() && this.operationController.checkProcessingEnabled())
+				copiers = this.startAdditionalCopiers();
+				this.processItems();
+			}
+			finally
+			{
+				try
 				{
-					try
-					{
-						this.itemQueue.processNextItem(this, 10_000);
-					}
-					catch(final InterruptedException e)
-					{
-						// still not sure about the viability of interruption handling in a case like this.
-						this.stop();
-					}
-					catch(final RuntimeException e)
-					{
-						this.operationController.registerDisruption(e);
-						// see outer try-finally for cleanup
-						throw e;
-					}
+					// the files may only be closed once no other copier can use them any more.
+					this.joinCopiers(copiers);
+				}
+				finally
+				{
+					// must close all open files on any aborting case (after stopping and before throwing an exception)
+					this.closeAllDataFiles();
+					this.active = false;
+					
+					logger.info("Backup handler stopped");
 				}
 			}
-			finally
+			
+		}
+		
+		/**
+		 * Starts the copier threads beyond the current one, which all drain the same item queue.
+		 * The queue hands out at most one item per channel at a time, so the copiers never
+		 * work on the same backup files concurrently.
+		 */
+		private Thread[] startAdditionalCopiers()
+		{
+			final Thread   current = Thread.currentThread();
+			final Thread[] copiers = new Thread[this.backupSetup.copierCount() - 1];
+			for(int i = 0; i < copiers.length; i++)
 			{
-				// must close all open files on any aborting case (after stopping and before throwing an exception)
-				this.closeAllDataFiles();
-				this.active = false;
-				
-				logger.info("Backup handler stopped");
+				copiers[i] = new Thread(this::processItems, current.getName() + "-" + (i + 1));
+				copiers[i].setDaemon(current.isDaemon());
+				copiers[i].start();
+			}
+			
+			return copiers;
+		}
+		
+		private void joinCopiers(final Thread[] copiers)
+		{
+			if(copiers == null)
+			{
+				return;
+			}
+			
+			for(final Thread copier : copiers)
+			{
+				if(copier == null)
+				{
+					continue;
+				}
+				try
+				{
+					copier.join();
+				}
+				catch(final InterruptedException e)
+				{
+					this.stop();
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+		
+		private void processItems()
+		{
+			// must be the method instead of the field to check the lock but don't cover the whole loop
+			// can not / may not copy storage files if the storage is not running (has locked and opened files, etc.)
+			while(this.isRunning() && this.operationController.checkProcessingEnabled())
+			{
+				try
+				{
+					this.itemQueue.processNextItem(this, 10_000);
+				}
+				catch(final InterruptedException e)
+				{
+					// still not sure about the viability of interruption handling in a case like this.
+					this.stop();
+				}
+				catch(final RuntimeException e)
+				{
+					this.operationController.registerDisruption(e);
+					// see run's try-finally for cleanup
+					throw e;
+				}
+			}
+		}
+		
+		/**
+		 * Delays the calling copier until copying {@code length} more bytes keeps the backup within its
+		 * throughput limit. Every copy reserves its share of time on a common schedule, so the limit holds
+		 * for the sum of all copiers, and a copier waits without holding any lock.
+		 */
+		private void throttle(final long length)
+		{
+			final long limit = this.backupSetup.throughputLimit();
+			if(limit <= 0)
+			{
+				return;
+			}
+			
+			final long waitNs;
+			synchronized(this.throttleLock)
+			{
+				final long now   = System.nanoTime();
+				final long start = Math.max(now, this.throttleBoundNs);
+				this.throttleBoundNs = start + (long)(length * 1_000_000_000.0 / limit);
+				waitNs = start - now;
+			}
+			if(waitNs <= 0)
+			{
+				return;
 			}
 			
+			try
+			{
+				Thread.sleep(waitNs / 1_000_000, (int)(waitNs % 1_000_000));
+			}
+			catch(final InterruptedException e)
+			{
+				// same as in the processing loop. Not re-interrupting, as that would break the following file I/O.
+				this.stop();
+			}
 		}
 		
 		private void ensureTypeDictionaryBackup()
@@ -590,6 +705,7 @@ public interface StorageBackupHandler extends Runnable, StorageActivePart
 				backupTargetFile.file().toPathString()
 			);
 			
+			this.throttle(copyLength);
 			this.copyFilePart(sourceFile, sourcePosition, copyLength, backupTargetFile);
 		}
 
@@ -14,6 +14,8 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.util.BitSet;
+
 import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.exceptions.StorageExceptionBackupCopying;
 import org.slf4j.Logger;
@@ -22,7 +24,31 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 {
 	public boolean processNextItem(StorageBackupHandler handler, long timeoutMs) throws InterruptedException;
 	
+	/**
+	 * Whether there are neither queued items nor items currently being processed.
+	 *
+	 * @return whether the backup has caught up with the live storage.
+	 */
 	public boolean isEmpty();
+	
+	/**
+	 * The number of items that have been enqueued but not completely processed yet, including
+	 * the ones currently being processed. Together with {@link #byteCount()}, this is the lag of
+	 * the continuous backup behind the live storage.
+	 *
+	 * @return the number of pending items.
+	 */
+	public long itemCount();
+	
+	/**
+	 * The number of bytes still to be copied by the pending items, including the ones currently
+	 * being processed.
+	 *
+	 * @return the number of pending bytes.
+	 *
+	 * @see #itemCount()
+	 */
+	public long byteCount();
 		
 	public static StorageBackupItemQueue New()
 	{
@@ -37,8 +63,13 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 		// instance fields //
 		////////////////////
 
-		private final Item head = new Item(null);
-		private       Item tail = this.head;
+		private final Item   head          = new Item(null);
+		private       Item   tail          = this.head;
+		private final BitSet busyChannels  = new BitSet();
+		
+		// only written under the queue lock, but read lock-free for the isEmpty check and monitoring.
+		private volatile long itemCount;
+		private volatile long byteCount;
 		
 		
 		
@@ -60,7 +91,20 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 		@Override
 		public final boolean isEmpty()
 		{
-			return this.head.next == null;
+			// must not lock: called by the backup handler's isRunning while it holds its own monitor.
+			return this.itemCount == 0;
+		}
+		
+		@Override
+		public final long itemCount()
+		{
+			return this.itemCount;
+		}
+		
+		@Override
+		public final long byteCount()
+		{
+			return this.byteCount;
 		}
 		
 		@Override
@@ -102,6 +146,8 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			synchronized(this.head)
 			{
 				this.tail = this.tail.next = item;
+				this.itemCount++;
+				this.byteCount += item.byteCount();
 				this.head.notifyAll();
 			}
 		}
@@ -170,6 +216,8 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 					if(predicate.test(current))
 					{
 						this.unlink(previous, current);
+						this.itemCount--;
+						this.byteCount -= current.byteCount();
 						current.next = null;
 						if(removedHead == null)
 						{
@@ -194,6 +242,36 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			}
 		}
 
+		/**
+		 * Pops the first queued item whose channel has no item in processing and marks that channel
+		 * busy, or returns {@code null} if there is none. Callers must hold {@code this.head}'s monitor.
+		 * <p>
+		 * Items of the same channel are hence processed strictly in their queue order, one at a time,
+		 * while items of different channels can be processed by several backup threads in parallel.
+		 * Ordering per channel (instead of only per file) keeps a channel's backup transactions file
+		 * from getting ahead of its backup data files and prevents a deletion from overtaking the
+		 * copying of the data transferred out of the deleted file.
+		 */
+		private Item pollProcessableItem()
+		{
+			Item previous = this.head;
+			for(Item current = this.head.next; current != null; previous = current, current = current.next)
+			{
+				final int channelIndex = current.sourceFile.channelIndex();
+				if(this.busyChannels.get(channelIndex))
+				{
+					continue;
+				}
+				this.unlink(previous, current);
+				current.next = null;
+				this.busyChannels.set(channelIndex);
+				
+				return current;
+			}
+			
+			return null;
+		}
+
 		@Override
 		public final boolean processNextItem(
 			final StorageBackupHandler handler  ,
@@ -204,7 +282,7 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			final long timeBudgetBound = System.currentTimeMillis() + timeoutMs;
 			final long waitInterval    = timeoutMs / 16;
 
-			final Item itemToBeProcessed;
+			Item itemToBeProcessed;
 
 			// queue lock is a leaf: only structural mutation happens here. Processing and the
 			// file-monitor work in unregisterUsageClosing must run outside it, otherwise the
@@ -212,7 +290,7 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			// the housekeeping channel and the backup handler, causing a deadlock.
 			synchronized(this.head)
 			{
-				while(this.head.next == null)
+				while((itemToBeProcessed = this.pollProcessableItem()) == null)
 				{
 					if(!handler.isRunning())
 					{
@@ -226,9 +304,6 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 
 					this.head.wait(waitInterval);
 				}
-
-				itemToBeProcessed = this.head.next;
-				this.unlink(this.head, itemToBeProcessed);
 			}
 
 			try
@@ -258,6 +333,15 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			}
 			finally
 			{
+				synchronized(this.head)
+				{
+					this.busyChannels.clear(itemToBeProcessed.sourceFile.channelIndex());
+					this.itemCount--;
+					this.byteCount -= itemToBeProcessed.byteCount();
+					// the channel's next item may now be processed by any waiting backup thread.
+					this.head.notifyAll();
+				}
+				
 				// the backup thread can be the last active part of an already shutdown storage, so it has to clean up.
 				itemToBeProcessed.sourceFile.unregisterUsageClosing(this, null);
 			}
@@ -323,6 +407,11 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 				return;
 			}
 			
+			public long byteCount()
+			{
+				return 0;
+			}
+			
 		}
 		
 		static final class CopyItem extends Item
@@ -355,6 +444,12 @@ public interface StorageBackupItemQueue extends StorageBackupItemEnqueuer, Stora
 			{
 				handler.copyFilePart(this.sourceFile, this.sourcePosition, this.length);
 			}
+			
+			@Override
+			public long byteCount()
+			{
+				return this.length;
+			}
 		}
 		
 		static final class TruncationItem extends Item
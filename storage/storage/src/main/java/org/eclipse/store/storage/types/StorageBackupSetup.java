@@ -1,5 +1,7 @@
 package org.eclipse.store.storage.types;
 
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.math.XMath.positive;
 import static org.eclipse.serializer.util.X.notNull;
 
 /*-
@@ -42,6 +44,27 @@ public interface StorageBackupSetup
 	 * @return the configured {@link StorageBackupFileProvider}.
 	 */
 	public StorageBackupFileProvider backupFileProvider();
+	
+	/**
+	 * Returns the number of backup threads that copy pending backup items in parallel.
+	 * <p>
+	 * Items of the same channel are always processed in order, one at a time, so more copiers than
+	 * storage channels do not increase the backup throughput.
+	 *
+	 * @return the number of backup copier threads, at least 1.
+	 */
+	public int copierCount();
+	
+	/**
+	 * Returns the maximum number of bytes per second the backup copies from the live storage files,
+	 * summed over all copier threads, or 0 if the copying is not throttled.
+	 * <p>
+	 * Throttling keeps the backup from competing with the storage's own file I/O under heavy load,
+	 * at the cost of a growing backup lag.
+	 *
+	 * @return the backup throughput limit in bytes per second or 0 for no limit.
+	 */
+	public long throughputLimit();
 
 	/**
 	 * Wraps the passed live-storage {@link StorageFileWriter.Provider} into a backup-aware variant
@@ -101,6 +124,33 @@ public interface StorageBackupSetup
 		return New(backupFileProvider);
 	}
 	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageBackupSetup} instance
+	 * using the passed directory as the backup location and the passed copying parameters.
+	 * 
+	 * @param backupDirectory the directory where the backup shall be located.
+	 * @param copierCount     the number of backup threads, see {@link #copierCount()}.
+	 * @param throughputLimit the maximum bytes per second to be copied or 0, see {@link #throughputLimit()}.
+	 * 
+	 * @return a new {@link StorageBackupSetup} instance.
+	 * 
+	 * @see StorageBackupSetup#New(ADirectory)
+	 */
+	public static StorageBackupSetup New(
+		final ADirectory backupDirectory,
+		final int        copierCount    ,
+		final long       throughputLimit
+	)
+	{
+		final StorageBackupFileProvider backupFileProvider = StorageBackupFileProvider.Builder(
+			backupDirectory.fileSystem()
+		)
+			.setDirectory(backupDirectory)
+			.createFileProvider()
+		;
+		return New(backupFileProvider, copierCount, throughputLimit);
+	}
+	
 	/**
 	 * Pseudo-constructor method to create a new {@link StorageBackupSetup} instance
 	 * using the passed {@link StorageLiveFileProvider}.
@@ -115,13 +165,59 @@ public interface StorageBackupSetup
 	 * @see StorageBackupHandler
 	 */
 	public static StorageBackupSetup New(final StorageBackupFileProvider backupFileProvider)
+	{
+		return New(
+			backupFileProvider               ,
+			Defaults.defaultCopierCount()    ,
+			Defaults.defaultThroughputLimit()
+		);
+	}
+	
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageBackupSetup} instance
+	 * using the passed {@link StorageLiveFileProvider} and copying parameters.
+	 * 
+	 * @param backupFileProvider the {@link StorageBackupFileProvider} to define where the backup files will be located.
+	 * @param copierCount        the number of backup threads, see {@link #copierCount()}.
+	 * @param throughputLimit    the maximum bytes per second to be copied or 0, see {@link #throughputLimit()}.
+	 * 
+	 * @return a new {@link StorageBackupSetup} instance.
+	 * 
+	 * @see StorageBackupSetup#New(StorageBackupFileProvider)
+	 */
+	public static StorageBackupSetup New(
+		final StorageBackupFileProvider backupFileProvider,
+		final int                       copierCount       ,
+		final long                      throughputLimit
+	)
 	{
 		return new StorageBackupSetup.Default(
 			notNull(backupFileProvider) ,
-			StorageBackupItemQueue.New()
+			StorageBackupItemQueue.New(),
+			positive(copierCount)       ,
+			notNegative(throughputLimit)
 		);
 	}
 	
+	public interface Defaults
+	{
+		/**
+		 * @return {@code 1} (meaning a single backup thread processing all pending items in order).
+		 */
+		public static int defaultCopierCount()
+		{
+			return 1;
+		}
+		
+		/**
+		 * @return {@code 0} (meaning no throttling).
+		 */
+		public static long defaultThroughputLimit()
+		{
+			return 0;
+		}
+	}
+	
 	/**
 	 * Default {@link StorageBackupSetup} implementation: pairs a {@link StorageBackupFileProvider}
 	 * with a shared {@link StorageBackupItemQueue} that the backup-aware writer fills and that the
@@ -135,6 +231,8 @@ public interface StorageBackupSetup
 		
 		private final StorageBackupFileProvider backupFileProvider;
 		private final StorageBackupItemQueue    itemQueue         ;
+		private final int                       copierCount       ;
+		private final long                      throughputLimit   ;
 		
 		
 		
@@ -144,12 +242,16 @@ public interface StorageBackupSetup
 		
 		Default(
 			final StorageBackupFileProvider backupFileProvider,
-			final StorageBackupItemQueue    itemQueue
+			final StorageBackupItemQueue    itemQueue         ,
+			final int                       copierCount       ,
+			final long                      throughputLimit
 		)
 		{
 			super();
 			this.backupFileProvider = backupFileProvider;
 			this.itemQueue          = itemQueue         ;
+			this.copierCount        = copierCount       ;
+			this.throughputLimit    = throughputLimit   ;
 		}
 		
 		
@@ -164,6 +266,18 @@ public interface StorageBackupSetup
 			return this.backupFileProvider;
 		}
 		
+		@Override
+		public final int copierCount()
+		{
+			return this.copierCount;
+		}
+		
+		@Override
+		public final long throughputLimit()
+		{
+			return this.throughputLimit;
+		}
+		
 		@Override
 		public StorageFileWriter.Provider setupWriterProvider(
 			final StorageFileWriter.Provider writerProvider
@@ -0,0 +1,545 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import org.eclipse.serializer.chars.VarString;
+import org.eclipse.serializer.collections.BulkList;
+import org.eclipse.serializer.collections.types.XGettingSequence;
+import org.eclipse.store.storage.exceptions.StorageException;
+
+
+/**
+ * Manifest of a point-in-time snapshot backup, see {@link StorageBackupSnapshots}.
+ * <p>
+ * The manifest lists the transactions file and the data files of every channel with their length at the
+ * time of the snapshot. The content of every file is a sequence of {@link Segment}s, which reference
+ * content-addressed objects in the snapshot repository. Files which did not change since the previous
+ * snapshot reference the same segments, files which only grew reference the previous segments plus one
+ * segment for the appended range.
+ *
+ * @see StorageBackupSnapshots
+ */
+public interface StorageBackupSnapshot
+{
+	/**
+	 * Returns the storage timestamp of the snapshot in nanoseconds, which identifies the snapshot in its
+	 * repository.
+	 *
+	 * @return the snapshot timestamp.
+	 */
+	public long timestamp();
+
+	/**
+	 * @return the channel count of the snapshot's storage.
+	 */
+	public int channelCount();
+
+	/**
+	 * @return the per-channel file lists, ordered by channel index.
+	 */
+	public XGettingSequence<ChannelEntry> channels();
+
+	/**
+	 * @return the total length of all files of the snapshot.
+	 */
+	public long totalLength();
+
+	/**
+	 * @return the number of bytes copied by this snapshot, the rest is shared with previous snapshots.
+	 */
+	public long copiedLength();
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageBackupSnapshot}.
+	 *
+	 * @param timestamp the storage timestamp of the snapshot.
+	 * @param channels the per-channel file lists, ordered by channel index.
+	 *
+	 * @return a new {@link StorageBackupSnapshot}.
+	 */
+	public static StorageBackupSnapshot New(
+		final long                           timestamp,
+		final XGettingSequence<ChannelEntry> channels
+	)
+	{
+		return new StorageBackupSnapshot.Default(
+			timestamp,
+			BulkList.New(notNull(channels)).immure()
+		);
+	}
+
+	public final class Default implements StorageBackupSnapshot
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                           timestamp;
+		private final XGettingSequence<ChannelEntry> channels ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final long timestamp, final XGettingSequence<ChannelEntry> channels)
+		{
+			super();
+			this.timestamp = timestamp;
+			this.channels  = channels ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final long timestamp()
+		{
+			return this.timestamp;
+		}
+
+		@Override
+		public final int channelCount()
+		{
+			return (int)this.channels.size();
+		}
+
+		@Override
+		public final XGettingSequence<ChannelEntry> channels()
+		{
+			return this.channels;
+		}
+
+		@Override
+		public final long totalLength()
+		{
+			long length = 0;
+			for(final ChannelEntry channel : this.channels)
+			{
+				length += channel.transactionsFile().length();
+				for(final FileEntry file : channel.dataFiles())
+				{
+					length += file.length();
+				}
+			}
+			return length;
+		}
+
+		@Override
+		public final long copiedLength()
+		{
+			long length = 0;
+			for(final ChannelEntry channel : this.channels)
+			{
+				length += channel.copiedLength();
+			}
+			return length;
+		}
+
+		@Override
+		public final String toString()
+		{
+			return "Snapshot " + this.timestamp + " (" + this.totalLength() + " bytes, "
+				+ this.copiedLength() + " copied)"
+			;
+		}
+
+	}
+
+
+
+	/**
+	 * The files of one channel in a snapshot.
+	 */
+	public final class ChannelEntry
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final int                         channelIndex         ;
+		private final long                        transactionsTimestamp;
+		private final FileEntry                   transactionsFile     ;
+		private final XGettingSequence<FileEntry> dataFiles            ;
+		private final long                        copiedLength         ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ChannelEntry(
+			final int                         channelIndex         ,
+			final long                        transactionsTimestamp,
+			final FileEntry                   transactionsFile     ,
+			final XGettingSequence<FileEntry> dataFiles            ,
+			final long                        copiedLength
+		)
+		{
+			super();
+			this.channelIndex          = channelIndex         ;
+			this.transactionsTimestamp = transactionsTimestamp;
+			this.transactionsFile      = transactionsFile     ;
+			this.dataFiles             = dataFiles            ;
+			this.copiedLength          = copiedLength         ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final int channelIndex()
+		{
+			return this.channelIndex;
+		}
+
+		/**
+		 * Returns the timestamp of the first transactions entry, which changes when the transactions file
+		 * is rewritten.
+		 *
+		 * @return the timestamp of the first transactions entry or 0 for an empty transactions file.
+		 */
+		public final long transactionsTimestamp()
+		{
+			return this.transactionsTimestamp;
+		}
+
+		public final FileEntry transactionsFile()
+		{
+			return this.transactionsFile;
+		}
+
+		/**
+		 * @return the data files of the channel, ordered by file number.
+		 */
+		public final XGettingSequence<FileEntry> dataFiles()
+		{
+			return this.dataFiles;
+		}
+
+		/**
+		 * @return the number of bytes of this channel copied by the snapshot.
+		 */
+		public final long copiedLength()
+		{
+			return this.copiedLength;
+		}
+
+		final FileEntry lookupDataFile(final long number)
+		{
+			return this.dataFiles.search(f -> f.number() == number);
+		}
+
+		final long headFileNumber()
+		{
+			return this.dataFiles.isEmpty() ? -1 : this.dataFiles.last().number();
+		}
+
+	}
+
+	/**
+	 * A file in a snapshot and the segments of its content.
+	 */
+	public final class FileEntry
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long                      number  ;
+		private final long                      length  ;
+		private final XGettingSequence<Segment> segments;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FileEntry(final long number, final XGettingSequence<Segment> segments)
+		{
+			super();
+			this.number   = number  ;
+			this.segments = segments;
+
+			long length = 0;
+			for(final Segment segment : segments)
+			{
+				length += segment.length();
+			}
+			this.length = length;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the file number of a data file, -1 for a transactions file.
+		 */
+		public final long number()
+		{
+			return this.number;
+		}
+
+		public final long length()
+		{
+			return this.length;
+		}
+
+		public final XGettingSequence<Segment> segments()
+		{
+			return this.segments;
+		}
+
+	}
+
+	/**
+	 * A contiguous range of a file's content, stored as an object named by the SHA-256 hash of its content.
+	 */
+	public final class Segment
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final String hash  ;
+		private final long   length;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Segment(final String hash, final long length)
+		{
+			super();
+			this.hash   = hash  ;
+			this.length = length;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		public final String hash()
+		{
+			return this.hash;
+		}
+
+		public final long length()
+		{
+			return this.length;
+		}
+
+	}
+
+
+
+	/**
+	 * Line based text format of the manifest:
+	 * <pre>
+	 * snapshot [timestamp]
+	 * channel [channelIndex] [transactionsTimestamp] [copiedLength]
+	 * transactions [hash]:[length],...
+	 * data [fileNumber] [hash]:[length],...
+	 * </pre>
+	 * Empty files have the segment list "-".
+	 */
+	public final class Manifest
+	{
+		static final String
+			KEY_SNAPSHOT     = "snapshot"    ,
+			KEY_CHANNEL      = "channel"     ,
+			KEY_TRANSACTIONS = "transactions",
+			KEY_DATA         = "data"        ,
+			NO_SEGMENTS      = "-"
+		;
+
+		public static String assemble(final StorageBackupSnapshot snapshot)
+		{
+			final VarString vs = VarString.New()
+				.add(KEY_SNAPSHOT).blank().add(snapshot.timestamp()).lf()
+			;
+			for(final ChannelEntry channel : snapshot.channels())
+			{
+				vs
+				.add(KEY_CHANNEL).blank().add(channel.channelIndex())
+				.blank().add(channel.transactionsTimestamp())
+				.blank().add(channel.copiedLength()).lf()
+				.add(KEY_TRANSACTIONS).blank()
+				;
+				assembleSegments(vs, channel.transactionsFile()).lf();
+				for(final FileEntry file : channel.dataFiles())
+				{
+					vs.add(KEY_DATA).blank().add(file.number()).blank();
+					assembleSegments(vs, file).lf();
+				}
+			}
+
+			return vs.toString();
+		}
+
+		private static VarString assembleSegments(final VarString vs, final FileEntry file)
+		{
+			if(file.segments().isEmpty())
+			{
+				return vs.add(NO_SEGMENTS);
+			}
+			for(final Segment segment : file.segments())
+			{
+				vs.add(segment.hash()).add(':').add(segment.length()).add(',');
+			}
+			return vs.deleteLast();
+		}
+
+		public static StorageBackupSnapshot parse(final String manifest)
+		{
+			long                   timestamp = -1;
+			BulkList<FileEntry>    dataFiles = null;
+			final BulkList<ChannelEntry> channels = BulkList.New();
+
+			int       channelIndex          = -1;
+			long      transactionsTimestamp = 0 ;
+			long      copiedLength          = 0 ;
+			FileEntry transactionsFile      = null;
+
+			for(final String line : manifest.split("\n"))
+			{
+				if(line.isEmpty())
+				{
+					continue;
+				}
+				final String[] parts = line.split(" ");
+				try
+				{
+					switch(parts[0])
+					{
+						case KEY_SNAPSHOT:
+						{
+							timestamp = Long.parseLong(parts[1]);
+							break;
+						}
+						case KEY_CHANNEL:
+						{
+							if(dataFiles != null)
+							{
+								channels.add(new ChannelEntry(
+									channelIndex, transactionsTimestamp, transactionsFile, dataFiles.immure(), copiedLength
+								));
+							}
+							channelIndex          = Integer.parseInt(parts[1]);
+							transactionsTimestamp = Long.parseLong(parts[2]);
+							copiedLength          = Long.parseLong(parts[3]);
+							transactionsFile      = null;
+							dataFiles             = BulkList.New();
+							break;
+						}
+						case KEY_TRANSACTIONS:
+						{
+							transactionsFile = new FileEntry(-1, parseSegments(parts[1]));
+							break;
+						}
+						case KEY_DATA:
+						{
+							dataFiles.add(new FileEntry(Long.parseLong(parts[1]), parseSegments(parts[2])));
+							break;
+						}
+						default:
+						{
+							throw new StorageException("Unknown snapshot manifest entry: " + line);
+						}
+					}
+				}
+				catch(final NumberFormatException | IndexOutOfBoundsException e)
+				{
+					throw new StorageException("Invalid snapshot manifest entry: " + line, e);
+				}
+			}
+			if(dataFiles != null)
+			{
+				channels.add(new ChannelEntry(
+					channelIndex, transactionsTimestamp, transactionsFile, dataFiles.immure(), copiedLength
+				));
+			}
+
+			if(timestamp < 0 || channels.isEmpty())
+			{
+				throw new StorageException("Incomplete snapshot manifest");
+			}
+			for(final ChannelEntry channel : channels)
+			{
+				if(channel.transactionsFile() == null || channel.channelIndex() != channels.indexOf(channel))
+				{
+					throw new StorageException("Incomplete snapshot manifest for channel " + channel.channelIndex());
+				}
+			}
+
+			return new StorageBackupSnapshot.Default(timestamp, channels.immure());
+		}
+
+		private static XGettingSequence<Segment> parseSegments(final String segments)
+		{
+			final BulkList<Segment> list = BulkList.New();
+			if(!NO_SEGMENTS.equals(segments))
+			{
+				for(final String segment : segments.split(","))
+				{
+					final int separator = segment.indexOf(':');
+					list.add(new Segment(
+						segment.substring(0, separator),
+						Long.parseLong(segment.substring(separator + 1))
+					));
+				}
+			}
+			return list.immure();
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		/**
+		 * Dummy constructor to prevent instantiation of this static-only utility class.
+		 *
+		 * @throws UnsupportedOperationException when called
+		 */
+		private Manifest()
+		{
+			// static only
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
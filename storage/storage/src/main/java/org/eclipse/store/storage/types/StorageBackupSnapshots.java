@@ -0,0 +1,651 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.chars.XChars;
+import org.eclipse.serializer.collections.BulkList;
+import org.eclipse.serializer.collections.EqHashTable;
+import org.eclipse.serializer.collections.types.XGettingSequence;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDictionary;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDictionaryExporter;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDictionaryFileHandler;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.eclipse.store.storage.types.StorageBackupSnapshot.ChannelEntry;
+import org.eclipse.store.storage.types.StorageBackupSnapshot.FileEntry;
+import org.eclipse.store.storage.types.StorageBackupSnapshot.Segment;
+import org.eclipse.store.storage.types.StorageTransactionsAnalysis.Logic;
+
+
+/**
+ * Repository of incremental, deduplicated point-in-time snapshot backups.
+ * <p>
+ * A snapshot only copies what changed since the previous snapshot in the repository: data files are append-only,
+ * so for every file known by the previous snapshot only the range appended since then is copied. The transactions
+ * file tells which files have been truncated meanwhile, those are copied from the truncated length on. Sealed files,
+ * which did not change at all, are shared between snapshots without any copying.
+ * <p>
+ * The copied ranges are stored as content-addressed objects, named by the SHA-256 hash of their content, and every
+ * snapshot has a manifest listing the segments of all its files. A snapshot can be restored to a new storage
+ * directory at any time, independently of the other snapshots.
+ * <p>
+ * Repository layout:
+ * <pre>
+ * objects/[hash prefix]/[hash]
+ * snapshots/[timestamp]/snapshot.manifest
+ * snapshots/[timestamp]/[type dictionary]
+ * </pre>
+ *
+ * @see StorageConnection#issueSnapshotBackup(StorageBackupSnapshots)
+ * @see StorageBackupSnapshot
+ */
+public interface StorageBackupSnapshots
+{
+	/**
+	 * @return the repository's root directory.
+	 */
+	public ADirectory directory();
+
+	/**
+	 * Returns all complete snapshots of the repository, ordered by their timestamp.
+	 *
+	 * @return the snapshots of the repository.
+	 */
+	public XGettingSequence<StorageBackupSnapshot> snapshots();
+
+	/**
+	 * @return the latest complete snapshot or <code>null</code> if the repository contains no snapshot.
+	 */
+	public StorageBackupSnapshot latestSnapshot();
+
+	/**
+	 * Returns the latest snapshot taken at or before the passed point in time.
+	 *
+	 * @param timestamp the point in time as storage timestamp in nanoseconds.
+	 * @return the snapshot or <code>null</code> if there is no snapshot that old.
+	 */
+	public StorageBackupSnapshot snapshotAt(long timestamp);
+
+	/**
+	 * Copies the changes of one channel since the previous snapshot. Called by every channel's thread
+	 * while processing the snapshot task, so the files are in a consistent state.
+	 *
+	 * @param timestamp the timestamp of the new snapshot.
+	 * @param previous the previous snapshot or <code>null</code>.
+	 * @param channelIndex the channel's index.
+	 * @param transactionsFile the channel's transactions file.
+	 * @param dataFiles the channel's data files, ordered by file number.
+	 * @return the file list of the channel in the new snapshot.
+	 */
+	public ChannelEntry snapshotChannel(
+		long                                        timestamp       ,
+		StorageBackupSnapshot                       previous        ,
+		int                                         channelIndex    ,
+		StorageFile                                 transactionsFile,
+		XGettingSequence<? extends StorageDataFile> dataFiles
+	);
+
+	/**
+	 * Completes a snapshot by writing its type dictionary and its manifest. Snapshots without manifest are
+	 * ignored, so a failed snapshot never becomes visible.
+	 *
+	 * @param snapshot the snapshot to be committed.
+	 * @param typeDictionary the type dictionary of the storage.
+	 */
+	public void commit(StorageBackupSnapshot snapshot, PersistenceTypeDictionary typeDictionary);
+
+	/**
+	 * Restores a snapshot into an empty directory, which can then be used as a storage directory.
+	 *
+	 * @param snapshot the snapshot to be restored.
+	 * @param targetDirectory the storage directory to be written to.
+	 */
+	public void restore(StorageBackupSnapshot snapshot, ADirectory targetDirectory);
+
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageBackupSnapshots} repository.
+	 *
+	 * @param directory the repository's root directory.
+	 *
+	 * @return a new {@link StorageBackupSnapshots}.
+	 */
+	public static StorageBackupSnapshots New(final ADirectory directory)
+	{
+		return new StorageBackupSnapshots.Default(notNull(directory));
+	}
+
+	public final class Default implements StorageBackupSnapshots
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final String
+			DIRECTORY_OBJECTS   = "objects"  ,
+			DIRECTORY_SNAPSHOTS = "snapshots",
+			FILE_MANIFEST       = "snapshot" ,
+			TYPE_MANIFEST       = "manifest" ,
+			TYPE_TEMPORARY      = "tmp"      ,
+			HASH_ALGORITHM      = "SHA-256"
+		;
+
+		static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final ADirectory directory;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(final ADirectory directory)
+		{
+			super();
+			this.directory = directory;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final ADirectory directory()
+		{
+			return this.directory;
+		}
+
+		final ADirectory snapshotDirectory(final long timestamp)
+		{
+			return this.directory.ensureDirectory(DIRECTORY_SNAPSHOTS).ensureDirectory(Long.toString(timestamp));
+		}
+
+		final AFile objectFile(final String hash)
+		{
+			return this.directory.ensureDirectory(DIRECTORY_OBJECTS)
+				.ensureDirectory(hash.substring(0, 2))
+				.ensureFile(hash)
+			;
+		}
+
+		@Override
+		public final synchronized XGettingSequence<StorageBackupSnapshot> snapshots()
+		{
+			final EqHashTable<Long, StorageBackupSnapshot> snapshots = EqHashTable.New();
+
+			final ADirectory snapshotsDirectory = this.directory.ensureDirectory(DIRECTORY_SNAPSHOTS);
+			if(snapshotsDirectory.exists())
+			{
+				snapshotsDirectory.iterateDirectories(d ->
+				{
+					final AFile manifestFile = d.ensureFile(FILE_MANIFEST, TYPE_MANIFEST);
+					if(manifestFile.exists())
+					{
+						final StorageBackupSnapshot snapshot = StorageBackupSnapshot.Manifest.parse(
+							AFS.readString(manifestFile, XChars.utf8())
+						);
+						snapshots.add(snapshot.timestamp(), snapshot);
+					}
+				});
+			}
+			snapshots.keys().sort(Long::compare);
+
+			return BulkList.New(snapshots.values()).immure();
+		}
+
+		@Override
+		public final StorageBackupSnapshot latestSnapshot()
+		{
+			final XGettingSequence<StorageBackupSnapshot> snapshots = this.snapshots();
+
+			return snapshots.isEmpty() ? null : snapshots.last();
+		}
+
+		@Override
+		public final StorageBackupSnapshot snapshotAt(final long timestamp)
+		{
+			StorageBackupSnapshot result = null;
+			for(final StorageBackupSnapshot snapshot : this.snapshots())
+			{
+				if(snapshot.timestamp() > timestamp)
+				{
+					break;
+				}
+				result = snapshot;
+			}
+
+			return result;
+		}
+
+		@Override
+		public final ChannelEntry snapshotChannel(
+			final long                                        timestamp       ,
+			final StorageBackupSnapshot                       previous        ,
+			final int                                         channelIndex    ,
+			final StorageFile                                 transactionsFile,
+			final XGettingSequence<? extends StorageDataFile> dataFiles
+		)
+		{
+			final ChannelEntry previousChannel = previous == null || previous.channelCount() <= channelIndex
+				? null
+				: previous.channels().at(channelIndex)
+			;
+
+			final Copier copier = new Copier(this, timestamp, channelIndex);
+			try
+			{
+				final long transactionsLength    = transactionsFile.size();
+				final long transactionsTimestamp = copier.readFirstTimestamp(transactionsFile, transactionsLength);
+
+				/*
+				 * If the transactions file has only been appended to, the appended entries tell which data files
+				 * have been truncated since the previous snapshot. If it has been rewritten (compacted) meanwhile,
+				 * only the previous head file can have been truncated, so it is copied completely.
+				 */
+				final EqHashTable<Long, Long> truncations = EqHashTable.New();
+				final boolean followed = previousChannel != null
+					&& previousChannel.transactionsTimestamp() == transactionsTimestamp
+					&& previousChannel.transactionsFile().length() <= transactionsLength
+				;
+				final FileEntry transactionsEntry;
+				if(followed)
+				{
+					final long previousLength = previousChannel.transactionsFile().length();
+					copier.collectTruncations(transactionsFile, previousLength, transactionsLength, truncations);
+					transactionsEntry = copier.append(
+						transactionsFile, -1, previousChannel.transactionsFile(), previousLength, transactionsLength
+					);
+				}
+				else
+				{
+					transactionsEntry = copier.append(transactionsFile, -1, null, 0, transactionsLength);
+				}
+
+				final long previousHeadFileNumber = !followed && previousChannel != null
+					? previousChannel.headFileNumber()
+					: -1
+				;
+
+				final BulkList<FileEntry> fileEntries = BulkList.New(dataFiles.size());
+				for(final StorageDataFile file : dataFiles)
+				{
+					final long      length       = file.size();
+					final FileEntry previousFile = previousChannel == null
+						? null
+						: previousChannel.lookupDataFile(file.number())
+					;
+
+					long validLength = previousFile == null || file.number() == previousHeadFileNumber
+						? 0
+						: Math.min(previousFile.length(), length)
+					;
+					final Long truncatedLength = truncations.get(file.number());
+					if(truncatedLength != null)
+					{
+						validLength = Math.min(validLength, truncatedLength);
+					}
+
+					fileEntries.add(copier.append(file, file.number(), previousFile, validLength, length));
+				}
+
+				return new ChannelEntry(
+					channelIndex,
+					transactionsTimestamp,
+					transactionsEntry,
+					fileEntries.immure(),
+					copier.copiedLength
+				);
+			}
+			finally
+			{
+				copier.close();
+			}
+		}
+
+		@Override
+		public final synchronized void commit(
+			final StorageBackupSnapshot     snapshot      ,
+			final PersistenceTypeDictionary typeDictionary
+		)
+		{
+			final ADirectory snapshotDirectory = this.snapshotDirectory(snapshot.timestamp());
+			snapshotDirectory.ensureExists();
+
+			PersistenceTypeDictionaryExporter.New(
+				PersistenceTypeDictionaryFileHandler.New(snapshotDirectory)
+			)
+			.exportTypeDictionary(typeDictionary);
+
+			// the manifest is written last and moved into place, it marks the snapshot as complete.
+			final AFile temporaryFile = snapshotDirectory.ensureFile(FILE_MANIFEST, TYPE_TEMPORARY);
+			final AFile manifestFile  = snapshotDirectory.ensureFile(FILE_MANIFEST, TYPE_MANIFEST);
+			final byte[] manifest = StorageBackupSnapshot.Manifest.assemble(snapshot).getBytes(StandardCharsets.UTF_8);
+			temporaryFile.ensureExists();
+			AFS.executeWriting(temporaryFile, wf ->
+			{
+				wf.truncate(0);
+				wf.writeBytes(ByteBuffer.wrap(manifest));
+				AFS.executeWriting(manifestFile, wf::moveTo);
+			});
+		}
+
+		@Override
+		public final void restore(final StorageBackupSnapshot snapshot, final ADirectory targetDirectory)
+		{
+			if(targetDirectory.exists() && !targetDirectory.isEmpty())
+			{
+				throw new StorageException("Restore target directory is not empty: " + targetDirectory.toPathString());
+			}
+
+			final StorageLiveFileProvider fileProvider = StorageLiveFileProvider.New(targetDirectory);
+			final ByteBuffer              buffer       = XMemory.allocateDirectNative(COPY_BUFFER_SIZE);
+			final MessageDigest           digest       = createDigest();
+			try
+			{
+				for(final ChannelEntry channel : snapshot.channels())
+				{
+					this.restoreFile(
+						channel.transactionsFile(),
+						fileProvider.provideTransactionsFile(channel.channelIndex()),
+						buffer,
+						digest
+					);
+					for(final FileEntry file : channel.dataFiles())
+					{
+						this.restoreFile(
+							file,
+							fileProvider.provideDataFile(channel.channelIndex(), file.number()),
+							buffer,
+							digest
+						);
+					}
+				}
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(buffer);
+			}
+
+			// the type dictionary and any other snapshot-level file
+			this.snapshotDirectory(snapshot.timestamp()).iterateFiles(f ->
+			{
+				if(f.exists() && !TYPE_MANIFEST.equals(f.type()))
+				{
+					final AFile targetFile = targetDirectory.ensureFile(f.identifier());
+					targetFile.ensureExists();
+					AFS.executeWriting(targetFile, wf ->
+						AFS.execute(f, rf -> rf.copyTo(wf))
+					);
+				}
+			});
+		}
+
+		private void restoreFile(
+			final FileEntry     entry     ,
+			final AFile         targetFile,
+			final ByteBuffer    buffer    ,
+			final MessageDigest digest
+		)
+		{
+			targetFile.ensureExists();
+			AFS.executeWriting(targetFile, wf ->
+			{
+				for(final Segment segment : entry.segments())
+				{
+					final AFile objectFile = this.objectFile(segment.hash());
+					if(!objectFile.exists() || objectFile.size() != segment.length())
+					{
+						throw new StorageException("Missing or incomplete snapshot object " + segment.hash());
+					}
+
+					digest.reset();
+					AFS.execute(objectFile, rf ->
+					{
+						for(long position = 0; position < segment.length();)
+						{
+							buffer.clear();
+							buffer.limit((int)Math.min(buffer.capacity(), segment.length() - position));
+							rf.readBytes(buffer, position);
+							buffer.flip();
+							digest.update(buffer);
+							buffer.rewind();
+							position += wf.writeBytes(buffer);
+						}
+					});
+					if(!segment.hash().equals(HexFormat.of().formatHex(digest.digest())))
+					{
+						throw new StorageException("Corrupted snapshot object " + segment.hash());
+					}
+				}
+			});
+		}
+
+		static MessageDigest createDigest()
+		{
+			try
+			{
+				return MessageDigest.getInstance(HASH_ALGORITHM);
+			}
+			catch(final NoSuchAlgorithmException e)
+			{
+				throw new StorageException(e);
+			}
+		}
+
+
+
+		/**
+		 * Copies the changed ranges of one channel's files into content-addressed objects.
+		 */
+		static final class Copier
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final Default       parent      ;
+			private final long          timestamp   ;
+			private final int           channelIndex;
+			private final MessageDigest digest      ;
+			private final ByteBuffer    buffer      ;
+			private final long          address     ;
+			private       int           objectCount ;
+			              long          copiedLength;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Copier(final Default parent, final long timestamp, final int channelIndex)
+			{
+				super();
+				this.parent       = parent                                        ;
+				this.timestamp    = timestamp                                     ;
+				this.channelIndex = channelIndex                                  ;
+				this.digest       = createDigest()                                ;
+				this.buffer       = XMemory.allocateDirectNative(COPY_BUFFER_SIZE);
+				this.address      = XMemory.getDirectByteBufferAddress(this.buffer);
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final long readFirstTimestamp(final StorageFile transactionsFile, final long length)
+			{
+				if(length < Logic.LENGTH_COMMON)
+				{
+					return 0;
+				}
+				this.buffer.clear();
+				transactionsFile.readBytes(this.buffer, 0, Logic.LENGTH_COMMON);
+
+				return Logic.getEntryTimestamp(this.address);
+			}
+
+			final void collectTruncations(
+				final StorageFile             transactionsFile,
+				final long                    start           ,
+				final long                    bound           ,
+				final EqHashTable<Long, Long> truncations
+			)
+			{
+				for(long position = start; position < bound;)
+				{
+					final int length = (int)Math.min(this.buffer.capacity(), bound - position);
+					this.buffer.clear();
+					transactionsFile.readBytes(this.buffer, position, length);
+
+					int offset = 0;
+					while(length - offset > Logic.LENGTH_ENTRY_LENGTH + Logic.LENGTH_ENTRY_TYPE)
+					{
+						final int entryLength = Logic.getEntryLength(this.address + offset);
+						if(entryLength == 0 || offset + Math.abs(entryLength) > length)
+						{
+							break;
+						}
+						if(entryLength > 0 && Logic.getEntryType(this.address + offset) == Logic.TYPE_FILE_TRUNCATION)
+						{
+							final long fileNumber = Logic.getFileNumber(this.address + offset);
+							final long fileLength = Logic.getFileLength(this.address + offset);
+							final Long known      = truncations.get(fileNumber);
+							truncations.put(fileNumber, known == null ? fileLength : Math.min(known, fileLength));
+						}
+						offset += Math.abs(entryLength);
+					}
+					if(offset == 0)
+					{
+						// incomplete trailing entry, it cannot contain a truncation that is already effective
+						break;
+					}
+					position += offset;
+				}
+			}
+
+			/**
+			 * Reuses the segments of the previous file entry which are completely within the valid length
+			 * and copies the rest of the file as a new segment.
+			 */
+			final FileEntry append(
+				final StorageFile file          ,
+				final long        number        ,
+				final FileEntry   previousEntry ,
+				final long        validLength   ,
+				final long        length
+			)
+			{
+				final BulkList<Segment> segments = BulkList.New();
+
+				long position = 0;
+				if(previousEntry != null)
+				{
+					for(final Segment segment : previousEntry.segments())
+					{
+						if(position + segment.length() > validLength)
+						{
+							break;
+						}
+						segments.add(segment);
+						position += segment.length();
+					}
+				}
+				if(length > position)
+				{
+					segments.add(this.copy(file, position, length - position));
+				}
+
+				return new FileEntry(number, segments.immure());
+			}
+
+			private Segment copy(final StorageFile file, final long position, final long length)
+			{
+				final AFile temporaryFile = this.parent.directory.ensureDirectory(DIRECTORY_OBJECTS).ensureFile(
+					this.timestamp + "-" + this.channelIndex + "-" + ++this.objectCount,
+					TYPE_TEMPORARY
+				);
+				temporaryFile.ensureExists();
+
+				this.digest.reset();
+				AFS.executeWriting(temporaryFile, wf ->
+				{
+					wf.truncate(0);
+					for(long copied = 0; copied < length;)
+					{
+						final int chunkLength = (int)Math.min(this.buffer.capacity(), length - copied);
+						this.buffer.clear();
+						file.readBytes(this.buffer, position + copied, chunkLength);
+						this.buffer.flip();
+						this.digest.update(this.buffer);
+						this.buffer.rewind();
+						wf.writeBytes(this.buffer);
+						copied += chunkLength;
+					}
+				});
+
+				final String hash       = HexFormat.of().formatHex(this.digest.digest());
+				final AFile  objectFile = this.parent.objectFile(hash);
+				AFS.executeWriting(temporaryFile, wf ->
+				{
+					if(objectFile.exists() && objectFile.size() == length)
+					{
+						// same content already stored by another snapshot or file
+						wf.delete();
+					}
+					else
+					{
+						objectFile.parent().ensureExists();
+						AFS.executeWriting(objectFile, wf::moveTo);
+						this.copiedLength += length;
+					}
+				});
+
+				return new Segment(hash, length);
+			}
+
+			final void close()
+			{
+				XMemory.deallocateDirectByteBuffer(this.buffer);
+			}
+
+		}
+
+	}
+
+}
@@ -26,7 +26,6 @@ import java.util.function.Predicate;
 
 import org.eclipse.serializer.afs.types.AWritableFile;
 import org.eclipse.serializer.collections.BulkList;
-import org.eclipse.serializer.functional.ThrowingProcedure;
 import org.eclipse.serializer.monitoring.MonitoringManager;
 import org.eclipse.serializer.persistence.binary.types.Chunk;
 import org.eclipse.serializer.persistence.binary.types.ChunksBuffer;
@@ -335,6 +334,20 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 	 */
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	/**
+	 * Copies this channel's changes since the previous snapshot into the passed snapshot repository.
+	 *
+	 * @param snapshots the snapshot repository.
+	 * @param timestamp the timestamp of the new snapshot.
+	 * @param previous the previous snapshot or {@code null}.
+	 * @return the file list of this channel in the new snapshot.
+	 */
+	public StorageBackupSnapshot.ChannelEntry snapshotData(
+		StorageBackupSnapshots snapshots,
+		long                   timestamp,
+		StorageBackupSnapshot  previous
+	);
+
 	// (19.07.2014 TM)TODO: refactor storage typing to avoid classes in public API
 	/**
 	 * Prepares this channel to receive imported data by registering the import with the storage
@@ -1278,6 +1291,16 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 			this.fileManager.exportData(fileProvider);
 		}
 
+		@Override
+		public final StorageBackupSnapshot.ChannelEntry snapshotData(
+			final StorageBackupSnapshots snapshots,
+			final long                   timestamp,
+			final StorageBackupSnapshot  previous
+		)
+		{
+			return this.fileManager.snapshotData(snapshots, timestamp, previous);
+		}
+
 		@Override
 		public StorageEntityCache.Default prepareImportData()
 		{
@@ -1331,27 +1354,11 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				return X.KeyValue(0L, 0L);
 			}
 
-			final long byteCount = entities.iterateEntities(
-				new ThrowingProcedure<StorageEntity.Default, IOException>()
-				{
-					long byteCount;
-
-					@Override
-					public void accept(final StorageEntity.Default e) throws IOException
-					{
-						if(!predicateEntity.test(e))
-						{
-							return;
-						}
-						this.byteCount += e.exportTo(file);
-					}
-				}
-			).byteCount;
+			final long byteCount = exportEntityRuns(entities, predicateEntity, file);
 
 			return X.KeyValue(byteCount, entities.entityCount());
 		}
 
-		// intentionally implemented redundantly to the other exportTypeEntities for performance reasons
 		@Override
 		public final KeyValue<Long, Long> exportTypeEntities(
 			final StorageEntityTypeHandler type,
@@ -1365,20 +1372,87 @@ public interface StorageChannel extends Runnable, StorageChannelResetablePart, S
 				return X.KeyValue(0L, 0L);
 			}
 
-			final long byteCount = entities.iterateEntities(
-				new ThrowingProcedure<StorageEntity.Default, IOException>()
-				{
-					long byteCount;
+			final long byteCount = exportEntityRuns(entities, null, file);
+
+			return X.KeyValue(byteCount, entities.entityCount());
+		}
+
+		/*
+		 * The entities are exported in storage order, so that every run of directly adjacent entities
+		 * in a data file is copied with a single transfer instead of one transfer per entity.
+		 */
+		private static long exportEntityRuns(
+			final StorageEntityType.Default        type           ,
+			final Predicate<? super StorageEntity> predicateEntity,
+			final AWritableFile                    file
+		)
+		{
+			return type.iterateEntitiesInStorageOrder(new EntityRunExporter(predicateEntity, file)).complete();
+		}
 
-					@Override
-					public void accept(final StorageEntity.Default e) throws IOException
+		static final class EntityRunExporter implements StorageEntityType.Default.EntityBatchProcedure
+		{
+			private final Predicate<? super StorageEntity> predicateEntity;
+			private final AWritableFile                    file           ;
+
+			private long                  byteCount;
+			private StorageEntity.Default runFirst ;
+			private long                  runLength;
+
+			EntityRunExporter(final Predicate<? super StorageEntity> predicateEntity, final AWritableFile file)
+			{
+				super();
+				this.predicateEntity = predicateEntity;
+				this.file            = file           ;
+			}
+
+			@Override
+			public final void acceptBatch(final StorageEntity.Default[] entities, final int count)
+			{
+				// runs are continued across batches, only the batch array itself must not be retained.
+				for(int i = 0; i < count; i++)
+				{
+					final StorageEntity.Default entity = entities[i];
+					if(this.predicateEntity != null && !this.predicateEntity.test(entity))
+					{
+						continue;
+					}
+					if(this.runFirst != null
+						&& entity.typeInFile.file == this.runFirst.typeInFile.file
+						&& entity.storagePosition == this.runFirst.storagePosition + this.runLength
+					)
 					{
-						this.byteCount += e.exportTo(file);
+						this.runLength += entity.length;
+						continue;
 					}
+					this.exportRun();
+					this.runFirst  = entity       ;
+					this.runLength = entity.length;
 				}
-			).byteCount;
+			}
+
+			final long complete()
+			{
+				this.exportRun();
+				this.runFirst = null;
+
+				return this.byteCount;
+			}
+
+			private void exportRun()
+			{
+				if(this.runFirst == null)
+				{
+					return;
+				}
+
+				// a short copy must fail loudly, not produce a truncated export.
+				this.byteCount += StorageFileWriter.validateIoByteCount(
+					this.runLength,
+					this.runFirst.typeInFile.file.copyTo(this.file, this.runFirst.storagePosition, this.runLength)
+				);
+			}
 
-			return X.KeyValue(byteCount, entities.entityCount());
 		}
 
 		@Override
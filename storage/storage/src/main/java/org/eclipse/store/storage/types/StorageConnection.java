@@ -274,6 +274,31 @@ public interface StorageConnection extends UsageMarkable, Persister
 		PersistenceTypeDictionaryExporter typeDictionaryExporter
 	);
 
+	/**
+	 * Issues an incremental snapshot backup into the snapshot repository in the passed directory.
+	 * Only the data appended since the latest snapshot in the repository is copied, unchanged files are shared.
+	 *
+	 * @param repositoryDirectory the root directory of the snapshot repository
+	 * @return the manifest of the new snapshot
+	 *
+	 * @see StorageBackupSnapshots
+	 */
+	public default StorageBackupSnapshot issueSnapshotBackup(final ADirectory repositoryDirectory)
+	{
+		return this.issueSnapshotBackup(StorageBackupSnapshots.New(repositoryDirectory));
+	}
+
+	/**
+	 * Issues an incremental snapshot backup into the passed snapshot repository.
+	 * Only the data appended since the latest snapshot in the repository is copied, unchanged files are shared.
+	 * The snapshot is consistent across all channels and can be restored with
+	 * {@link StorageBackupSnapshots#restore(StorageBackupSnapshot, ADirectory)}.
+	 *
+	 * @param snapshots the snapshot repository
+	 * @return the manifest of the new snapshot
+	 */
+	public StorageBackupSnapshot issueSnapshotBackup(StorageBackupSnapshots snapshots);
+
 	/**
 	 * Issue a cleanup of the transaction log regardless of its current size.
 	 *
@@ -700,6 +725,24 @@ public interface StorageConnection extends UsageMarkable, Persister
 			this.exportChannels(targetFileProvider);
 			typeDictionaryExporter.exportTypeDictionary(this.persistenceManager().typeDictionary());
 		}
+
+		@Override
+		public final StorageBackupSnapshot issueSnapshotBackup(final StorageBackupSnapshots snapshots)
+		{
+			try
+			{
+				final StorageBackupSnapshot snapshot = this.connectionRequestAcceptor.createSnapshotBackup(snapshots);
+				snapshots.commit(snapshot, this.persistenceManager().typeDictionary());
+
+				return snapshot;
+			}
+			catch(final InterruptedException e)
+			{
+				// thread interrupted, task aborted, no snapshot
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
 		
 		@Override
 		public boolean issueStorageFlush()
@@ -0,0 +1,703 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 - 2026 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.serializer.afs.types.ADirectory;
+import org.eclipse.serializer.afs.types.AFS;
+import org.eclipse.serializer.afs.types.AFile;
+import org.eclipse.serializer.afs.types.AReadableFile;
+import org.eclipse.serializer.afs.types.AWritableFile;
+import org.eclipse.serializer.collections.types.XGettingSequence;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDefinition;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDescriptionMember;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDescriptionMemberFieldGeneric;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDescriptionMemberFieldGenericComplex;
+import org.eclipse.serializer.persistence.types.PersistenceTypeDictionary;
+import org.eclipse.serializer.util.X;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.eclipse.store.storage.exceptions.StorageExceptionIo;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoWriting;
+
+
+/**
+ * Converts binary type data files, as created by {@link StorageConnection#exportTypes}, into a compact
+ * columnar format with typed columns, read straight from the binary entity layout.
+ * <p>
+ * A columnar file consists of (all numbers little endian):
+ * <ul>
+ * <li>a header: the magic bytes {@code ESCOLUMN}, the format version (int), the type name (string),
+ * the type id (long), the column count (int) and per column its name (string), kind (byte)
+ * and persisted type name (string). The first column always is the object id.</li>
+ * <li>row groups of at most the configured number of entities: the row count (int), followed by one
+ * chunk per column, each prefixed by its byte length (int).</li>
+ * <li>a trailer: a row count of 0 (int) and the total row count (long).</li>
+ * </ul>
+ * Strings are encoded as their UTF-8 byte length (int) followed by the bytes.
+ * Fixed-size columns hold the plain values. {@link #KIND_STRING} columns are dictionary encoded per row group:
+ * the dictionary size (int), the distinct strings and one dictionary index (int) per row.
+ * {@link #KIND_BYTES} and {@link #KIND_LIST} columns hold a byte length (int) and the raw bytes per row,
+ * the latter in the binary list layout of the storage.
+ * <p>
+ * Instances are thread-safe, {@link #convertDataFiles(Iterable, int)} converts several files in parallel.
+ */
+public interface StorageDataConverterTypeBinaryToColumnar
+{
+	public static final byte
+		KIND_BYTE      =  1,
+		KIND_BOOLEAN   =  2,
+		KIND_SHORT     =  3,
+		KIND_CHAR      =  4,
+		KIND_INT       =  5,
+		KIND_FLOAT     =  6,
+		KIND_LONG      =  7,
+		KIND_DOUBLE    =  8,
+		KIND_REFERENCE =  9,
+		KIND_STRING    = 10,
+		KIND_BYTES     = 11,
+		KIND_LIST      = 12
+	;
+
+	public static final int FORMAT_VERSION = 1;
+
+	public void convertDataFile(AReadableFile file);
+
+	/**
+	 * Batch-converts a list of files.
+	 *
+	 * @param <I> file collection type
+	 * @param files the binary files to convert
+	 */
+	public default <I extends Iterable<AFile>> void convertDataFiles(final I files)
+	{
+		this.convertDataFiles(files, 1);
+	}
+
+	/**
+	 * Batch-converts a list of files, using the passed number of threads. Every file is converted
+	 * by a single thread.
+	 *
+	 * @param <I> file collection type
+	 * @param files the binary files to convert
+	 * @param threadCount the number of files converted in parallel
+	 */
+	public default <I extends Iterable<AFile>> void convertDataFiles(final I files, final int threadCount)
+	{
+		if(threadCount <= 1)
+		{
+			for(final AFile file : files)
+			{
+				AFS.execute(file, this::convertDataFile);
+			}
+			return;
+		}
+
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try
+		{
+			final List<Future<?>> conversions = new ArrayList<>();
+			for(final AFile file : files)
+			{
+				conversions.add(executor.submit(() -> AFS.execute(file, this::convertDataFile)));
+			}
+			for(final Future<?> conversion : conversions)
+			{
+				conversion.get();
+			}
+		}
+		catch(final ExecutionException e)
+		{
+			throw e.getCause() instanceof StorageException
+				? (StorageException)e.getCause()
+				: new StorageException("Columnar conversion failed", e.getCause())
+			;
+		}
+		catch(final InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new StorageException("Columnar conversion interrupted", e);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataConverterTypeBinaryToColumnar}.
+	 *
+	 * @param targetDirectory write target directory
+	 * @param typeDictionary the type dictionary to use
+	 * @return a new {@link StorageDataConverterTypeBinaryToColumnar}
+	 */
+	public static StorageDataConverterTypeBinaryToColumnar New(
+		final ADirectory                targetDirectory,
+		final PersistenceTypeDictionary typeDictionary
+	)
+	{
+		return New(
+			new StorageEntityTypeConversionFileProvider.Default(targetDirectory, "col"),
+			typeDictionary,
+			Default.DEFAULT_ROW_GROUP_SIZE
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataConverterTypeBinaryToColumnar}.
+	 *
+	 * @param fileProvider target file provider
+	 * @param typeDictionary the type dictionary to use
+	 * @param rowGroupSize the maximum number of entities buffered and written as one row group
+	 * @return a new {@link StorageDataConverterTypeBinaryToColumnar}
+	 */
+	public static StorageDataConverterTypeBinaryToColumnar New(
+		final StorageEntityTypeConversionFileProvider fileProvider  ,
+		final PersistenceTypeDictionary               typeDictionary,
+		final int                                     rowGroupSize
+	)
+	{
+		return new StorageDataConverterTypeBinaryToColumnar.Default(
+			notNull(fileProvider)  ,
+			notNull(typeDictionary),
+			Math.max(1, rowGroupSize)
+		);
+	}
+
+
+	public final class Default implements StorageDataConverterTypeBinaryToColumnar
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+		static final byte[] MAGIC = "ESCOLUMN".getBytes(StandardCharsets.US_ASCII);
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageEntityTypeConversionFileProvider fileProvider  ;
+		private final PersistenceTypeDictionary               typeDictionary;
+		private final int                                     rowGroupSize  ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageEntityTypeConversionFileProvider fileProvider  ,
+			final PersistenceTypeDictionary               typeDictionary,
+			final int                                     rowGroupSize
+		)
+		{
+			super();
+			this.fileProvider   = fileProvider  ;
+			this.typeDictionary = typeDictionary;
+			this.rowGroupSize   = rowGroupSize  ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final void convertDataFile(final AReadableFile file)
+		{
+			if(file.isEmpty())
+			{
+				return;
+			}
+
+			// all state of a conversion is local to it, so files can be converted concurrently
+			final Conversion conversion = new Conversion(file);
+			try
+			{
+				Throwable suppressed = null;
+				try
+				{
+					StorageDataFileItemIterator.Default.processInputFile(file, conversion);
+					conversion.complete();
+				}
+				catch(final Throwable t)
+				{
+					suppressed = t;
+					throw t;
+				}
+				finally
+				{
+					if(conversion.targetFile != null)
+					{
+						AFS.close(conversion.targetFile, suppressed);
+					}
+				}
+			}
+			catch(final IOException e)
+			{
+				throw new StorageExceptionIo(e);
+			}
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// helper classes //
+		///////////////////
+
+		final class Conversion implements StorageDataFileItemIterator.ItemProcessor
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			private final AFile                     sourceFile     ;
+			private       long                      typeId         = -1;
+			private       PersistenceTypeDefinition typeDescription;
+			private       Column[]                  columns        ;
+			private       AWritableFile             targetFile     ;
+			private       int                       rowCount       ;
+			private       long                      totalRowCount  ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Conversion(final AFile sourceFile)
+			{
+				super();
+				this.sourceFile = sourceFile;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			@Override
+			public boolean accept(final long entityAddress, final long availableEntityLength)
+			{
+				// check for gap and skip (report success/advance without taking any action)
+				if(Binary.getEntityLengthRawValue(entityAddress) < 0)
+				{
+					return true;
+				}
+
+				// check for incomplete entity data and report failure/reload.
+				if(availableEntityLength < Binary.getEntityLengthRawValue(entityAddress))
+				{
+					return false;
+				}
+
+				try
+				{
+					this.processEntity(entityAddress);
+					return true;
+				}
+				catch(final IOException e)
+				{
+					throw new StorageExceptionIoWriting(e);
+				}
+			}
+
+			private void processEntity(final long entityAddress) throws IOException
+			{
+				this.checkType(Binary.getEntityTypeIdRawValue(entityAddress));
+
+				final Column[] columns = this.columns;
+				columns[0].buffer(8).putLong(Binary.getEntityObjectIdRawValue(entityAddress));
+
+				long address = Binary.toEntityContentOffset(entityAddress);
+				for(int i = 1; i < columns.length; i++)
+				{
+					address = columns[i].append(address);
+				}
+
+				if(++this.rowCount == Default.this.rowGroupSize)
+				{
+					this.writeRowGroup();
+				}
+			}
+
+			private void checkType(final long typeId) throws IOException
+			{
+				if(this.typeId < 0)
+				{
+					if((this.typeDescription = Default.this.typeDictionary.lookupTypeById(typeId)) == null)
+					{
+						throw new StorageException("Unknown TypeId: " + typeId);
+					}
+					this.typeId  = typeId;
+					this.columns = createColumns(this.typeDescription.instanceMembers());
+					this.targetFile = Default.this.fileProvider.provideConversionFile(this.typeDescription, this.sourceFile);
+					this.writeHeader();
+				}
+				else if(typeId != this.typeId)
+				{
+					throw new StorageException("Inconsistent TypeId: " + typeId + " != " + this.typeId);
+				}
+			}
+
+			private void writeHeader() throws IOException
+			{
+				final Chunk header = new Chunk(1024);
+				header.buffer(MAGIC.length).put(MAGIC);
+				header.buffer(4).putInt(FORMAT_VERSION);
+				header.putString(this.typeDescription.typeName());
+				header.buffer(8).putLong(this.typeId);
+				header.buffer(4).putInt(this.columns.length);
+				for(final Column column : this.columns)
+				{
+					header.putString(column.name);
+					header.buffer(1).put(column.kind);
+					header.putString(column.typeName);
+				}
+
+				this.write(header.flip());
+			}
+
+			private void writeRowGroup() throws IOException
+			{
+				final Chunk rowGroupHeader = new Chunk(4);
+				rowGroupHeader.buffer(4).putInt(this.rowCount);
+				this.write(rowGroupHeader.flip());
+
+				for(final Column column : this.columns)
+				{
+					final ByteBuffer chunk = column.completeChunk();
+					final Chunk chunkHeader = new Chunk(4);
+					chunkHeader.buffer(4).putInt(chunk.remaining());
+					this.write(chunkHeader.flip());
+					this.write(chunk);
+					column.reset();
+				}
+
+				this.totalRowCount += this.rowCount;
+				this.rowCount = 0;
+			}
+
+			final void complete() throws IOException
+			{
+				if(this.targetFile == null)
+				{
+					// no entities at all (only gaps)
+					return;
+				}
+				if(this.rowCount > 0)
+				{
+					this.writeRowGroup();
+				}
+
+				final Chunk trailer = new Chunk(12);
+				trailer.buffer(4).putInt(0);
+				trailer.buffer(8).putLong(this.totalRowCount);
+				this.write(trailer.flip());
+			}
+
+			private void write(final ByteBuffer buffer)
+			{
+				while(buffer.hasRemaining())
+				{
+					this.targetFile.writeBytes(X.Constant(buffer));
+				}
+			}
+
+		}
+
+		static Column[] createColumns(final XGettingSequence<? extends PersistenceTypeDescriptionMember> members)
+		{
+			final List<Column> columns = new ArrayList<>();
+			columns.add(new FixedColumn("objectId", KIND_LONG, long.class.getName(), 8));
+
+			// members are in persistent order, so their order must be heeded exactely
+			for(final PersistenceTypeDescriptionMember member : members)
+			{
+				columns.add(createColumn(member));
+			}
+
+			return columns.toArray(new Column[0]);
+		}
+
+		static Column createColumn(final PersistenceTypeDescriptionMember member)
+		{
+			final String name     = member.name()    ;
+			final String typeName = member.typeName();
+			if(member.isReference())
+			{
+				return new FixedColumn(name, KIND_REFERENCE, typeName, 8);
+			}
+			if(member instanceof PersistenceTypeDescriptionMemberFieldGenericComplex)
+			{
+				final XGettingSequence<PersistenceTypeDescriptionMemberFieldGeneric> elements =
+					((PersistenceTypeDescriptionMemberFieldGenericComplex)member).members()
+				;
+				// a list of chars is a string, just as in the CSV conversion
+				return elements.size() == 1 && elements.first().typeName().equals(char.class.getName())
+					? new StringColumn(name, typeName)
+					: new VariableColumn(name, KIND_LIST, typeName)
+				;
+			}
+			if(typeName.equals(PersistenceTypeDictionary.Symbols.typeChars()))
+			{
+				return new StringColumn(name, typeName);
+			}
+			if(typeName.equals(PersistenceTypeDictionary.Symbols.typeBytes()))
+			{
+				return new VariableColumn(name, KIND_BYTES, typeName);
+			}
+
+			switch(typeName)
+			{
+				case "byte"   : return new FixedColumn(name, KIND_BYTE   , typeName, 1);
+				case "boolean": return new FixedColumn(name, KIND_BOOLEAN, typeName, 1);
+				case "short"  : return new FixedColumn(name, KIND_SHORT  , typeName, 2);
+				case "char"   : return new FixedColumn(name, KIND_CHAR   , typeName, 2);
+				case "int"    : return new FixedColumn(name, KIND_INT    , typeName, 4);
+				case "float"  : return new FixedColumn(name, KIND_FLOAT  , typeName, 4);
+				case "long"   : return new FixedColumn(name, KIND_LONG   , typeName, 8);
+				case "double" : return new FixedColumn(name, KIND_DOUBLE , typeName, 8);
+				default:
+					throw new StorageException("Unrecognized type: " + typeName);
+			}
+		}
+
+		/**
+		 * A growable little endian byte buffer.
+		 */
+		static class Chunk
+		{
+			private ByteBuffer data;
+
+			Chunk(final int initialCapacity)
+			{
+				super();
+				this.data = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+			}
+
+			final ByteBuffer buffer(final int required)
+			{
+				if(this.data.remaining() < required)
+				{
+					final ByteBuffer data = ByteBuffer.allocate(
+						Math.max(this.data.capacity() * 2, this.data.position() + required)
+					).order(ByteOrder.LITTLE_ENDIAN);
+					this.data.flip();
+					data.put(this.data);
+					this.data = data;
+				}
+				return this.data;
+			}
+
+			final void putString(final String value)
+			{
+				this.putBytes(value.getBytes(StandardCharsets.UTF_8));
+			}
+
+			final void putBytes(final byte[] bytes)
+			{
+				this.buffer(4 + bytes.length).putInt(bytes.length).put(bytes);
+			}
+
+			final ByteBuffer flip()
+			{
+				return this.data.flip();
+			}
+
+			void reset()
+			{
+				this.data.clear();
+			}
+
+		}
+
+		abstract static class Column extends Chunk
+		{
+			final String name    ;
+			final byte   kind    ;
+			final String typeName;
+
+			Column(final String name, final byte kind, final String typeName)
+			{
+				super(4096);
+				this.name     = name    ;
+				this.kind     = kind    ;
+				this.typeName = typeName;
+			}
+
+			/**
+			 * Appends the value at the passed address of an entity.
+			 *
+			 * @param address the address of the value
+			 * @return the address of the next value
+			 */
+			abstract long append(long address);
+
+			ByteBuffer completeChunk()
+			{
+				return this.flip();
+			}
+
+		}
+
+		static final class FixedColumn extends Column
+		{
+			private final int width;
+
+			FixedColumn(final String name, final byte kind, final String typeName, final int width)
+			{
+				super(name, kind, typeName);
+				this.width = width;
+			}
+
+			@Override
+			final long append(final long address)
+			{
+				final ByteBuffer buffer = this.buffer(this.width);
+				switch(this.width)
+				{
+					case 1 : buffer.put     (XMemory.get_byte (address)); break;
+					case 2 : buffer.putShort(XMemory.get_short(address)); break;
+					case 4 : buffer.putInt  (XMemory.get_int  (address)); break;
+					default: buffer.putLong (XMemory.get_long (address)); break;
+				}
+				return address + this.width;
+			}
+
+		}
+
+		static final class VariableColumn extends Column
+		{
+			VariableColumn(final String name, final byte kind, final String typeName)
+			{
+				super(name, kind, typeName);
+			}
+
+			@Override
+			final long append(final long address)
+			{
+				final long bound = address + XMemory.get_long(Binary.toBinaryListByteLengthOffset(address));
+
+				// plain bytes without the list header, other lists including it to keep their element count
+				final long start  = this.kind == KIND_BYTES ? Binary.toBinaryListElementsOffset(address) : address;
+				final int  length = X.checkArrayRange(bound - start);
+
+				final ByteBuffer buffer = this.buffer(4 + length);
+				buffer.putInt(length);
+				for(long a = start; a < bound; a++)
+				{
+					buffer.put(XMemory.get_byte(a));
+				}
+				return bound;
+			}
+
+		}
+
+		static final class StringColumn extends Column
+		{
+			private final HashMap<String, Integer> dictionary = new HashMap<>();
+			private final List<String>             entries    = new ArrayList<>();
+			private       int[]                    indices    = new int[1024];
+			private       int                      rowCount   ;
+
+			StringColumn(final String name, final String typeName)
+			{
+				super(name, KIND_STRING, typeName);
+			}
+
+			@Override
+			final long append(final long address)
+			{
+				final long   bound = address + XMemory.get_long(Binary.toBinaryListByteLengthOffset(address));
+				final long   start = Binary.toBinaryListElementsOffset(address);
+				final char[] chars = new char[X.checkArrayRange((bound - start) / XMemory.byteSize_char())];
+				for(int i = 0; i < chars.length; i++)
+				{
+					chars[i] = XMemory.get_char(start + (long)i * XMemory.byteSize_char());
+				}
+
+				final String value = new String(chars);
+				Integer index = this.dictionary.get(value);
+				if(index == null)
+				{
+					this.dictionary.put(value, index = this.entries.size());
+					this.entries.add(value);
+				}
+
+				if(this.rowCount == this.indices.length)
+				{
+					this.indices = Arrays.copyOf(this.indices, this.rowCount * 2);
+				}
+				this.indices[this.rowCount++] = index;
+
+				return bound;
+			}
+
+			@Override
+			final ByteBuffer completeChunk()
+			{
+				this.buffer(4).putInt(this.entries.size());
+				for(final String entry : this.entries)
+				{
+					this.putString(entry);
+				}
+				final ByteBuffer buffer = this.buffer(this.rowCount * 4);
+				for(int i = 0; i < this.rowCount; i++)
+				{
+					buffer.putInt(this.indices[i]);
+				}
+
+				return this.flip();
+			}
+
+			@Override
+			final void reset()
+			{
+				super.reset();
+				this.dictionary.clear();
+				this.entries.clear();
+				this.rowCount = 0;
+			}
+
+		}
+
+	}
+
+}
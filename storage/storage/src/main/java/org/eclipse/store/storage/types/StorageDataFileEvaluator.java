@@ -55,6 +55,24 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 	 */
 	public long coalesceChunkTargetBytes();
 
+	/**
+	 * Defines whether the dissolution transfer clusters the entities it relocates by type: the entities
+	 * of a transferred chunk are written to the head file grouped by their type id instead of in their
+	 * original order. Over time, housekeeping thereby lays out the instances of a type contiguously,
+	 * so that loading or exporting all instances of a type comes down to few large sequential reads.
+	 * <p>
+	 * Clustering requires buffering the relocated chunk (bounded by {@link #coalesceChunkTargetBytes()}),
+	 * so it replaces the zero-copy transfer used if no chunk checksums are written.
+	 *
+	 * @return whether relocated entities are clustered by type.
+	 *
+	 * @see StorageDataFileEvaluator.Defaults#defaultClusterEntitiesByType()
+	 */
+	public default boolean clusterEntitiesByType()
+	{
+		return Defaults.defaultClusterEntitiesByType();
+	}
+
 	/**
 	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
 	 * using default values specified by {@link StorageDataFileEvaluator.Defaults}.
@@ -350,6 +368,63 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		final int     transactionFileMaximumSize,
 		final long    coalesceChunkTargetBytes
 	)
+	{
+		return New(
+			fileMinimumSize                        ,
+			fileMaximumSize                        ,
+			minimumUseRatio                        ,
+			cleanUpHeadFile                        ,
+			transactionFileMaximumSize             ,
+			coalesceChunkTargetBytes               ,
+			Defaults.defaultClusterEntitiesByType()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageDataFileEvaluator} instance
+	 * using the passed values.
+	 * <p>
+	 * For explanations and customizing values, see {@link StorageDataFileEvaluator#New(int, int, double)}.
+	 *
+	 * @param fileMinimumSize the minimum file size in bytes that a single storage file must have. Smaller files
+	 *        will be dissolved.
+	 *
+	 * @param fileMaximumSize the maximum file size in bytes that a single storage file may have. Larger files
+	 *        will be dissolved.<br>
+	 *        Note that a file can exceed this limit if it contains a single entity that already exceeds the limit.
+	 *
+	 * @param minimumUseRatio the ratio (value in ]0.0;1.0]) of non-gap data contained in a storage file to prevent
+	 *        the file from being dissolved.
+	 *
+	 * @param cleanUpHeadFile a flag defining whether the current head file (the only file actively written to)
+	 *        shall be subjected to file cleanups as well.
+	 *
+	 * @param transactionFileMaximumSize the maximum file size for transaction files. Lager files will
+	 *        be deleted and a new one will be created.
+	 *
+	 * @param coalesceChunkTargetBytes the soft target size in bytes for a single coalesced chunk produced by
+	 *        the dissolution transfer. See {@link StorageDataFileEvaluator#coalesceChunkTargetBytes()}.
+	 *
+	 * @param clusterEntitiesByType whether the dissolution transfer groups the relocated entities by type.
+	 *        See {@link StorageDataFileEvaluator#clusterEntitiesByType()}.
+	 *
+	 * @return a new {@link StorageDataFileEvaluator} instance.
+	 *
+	 * @see StorageDataFileEvaluator#New()
+	 * @see StorageDataFileEvaluator#New(double)
+	 * @see StorageDataFileEvaluator#New(int, int)
+	 * @see StorageDataFileEvaluator#New(int, int, double)
+	 * @see StorageDataFileEvaluator.Defaults
+	 */
+	public static StorageDataFileEvaluator New(
+		final int     fileMinimumSize           ,
+		final int     fileMaximumSize           ,
+		final double  minimumUseRatio           ,
+		final boolean cleanUpHeadFile           ,
+		final int     transactionFileMaximumSize,
+		final long    coalesceChunkTargetBytes  ,
+		final boolean clusterEntitiesByType
+	)
 	{
 		Validation.validateParameters(fileMinimumSize, fileMaximumSize, minimumUseRatio, transactionFileMaximumSize);
 		Validation.validateCoalesceChunkTargetBytes(coalesceChunkTargetBytes);
@@ -359,7 +434,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			minimumUseRatio           ,
 			cleanUpHeadFile           ,
 			transactionFileMaximumSize,
-			coalesceChunkTargetBytes
+			coalesceChunkTargetBytes  ,
+			clusterEntitiesByType
 		);
 	}
 
@@ -528,6 +604,14 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			return 1 * 1024 * 1024;
 		}
 
+		/**
+		 * @return {@code false} (meaning relocated entities keep their original order).
+		 */
+		public static boolean defaultClusterEntitiesByType()
+		{
+			return false;
+		}
+
 		/**
 		 * @return {@code 0.75} (meaning 75% minimum use ratio required).
 		 */
@@ -556,6 +640,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 		private final boolean cleanupHeadFile;
 		private final int     transactionFileMaximumSize;
 		private final long    coalesceChunkTargetBytes;
+		private final boolean clusterEntitiesByType;
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -568,7 +653,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			final double  minimumUseRatio,
 			final boolean cleanupHeadFile,
 			final int     transactionFileMaximumSize,
-			final long    coalesceChunkTargetBytes
+			final long    coalesceChunkTargetBytes,
+			final boolean clusterEntitiesByType
 		)
 		{
 			super();
@@ -581,6 +667,7 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			// target can never usefully exceed the (hard) file-size cap: clamp it. A target above
 			// fileMaximumSize would otherwise force every coalesced chunk into its own oversized file.
 			this.coalesceChunkTargetBytes   = Math.min(coalesceChunkTargetBytes, fileMaximumSize);
+			this.clusterEntitiesByType      = clusterEntitiesByType;
 		}
 
 
@@ -623,6 +710,12 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 			return this.coalesceChunkTargetBytes;
 		}
 
+		@Override
+		public final boolean clusterEntitiesByType()
+		{
+			return this.clusterEntitiesByType;
+		}
+
 		@Override
 		public final boolean needsDissolving(final StorageLiveDataFile storageFile)
 		{
@@ -694,7 +787,8 @@ public interface StorageDataFileEvaluator extends StorageDataFileDissolvingEvalu
 				.blank().add("fileMinimumSize").tab().add('=').blank().add(this.fileMinimumSize).lf()
 				.blank().add("fileMaximumSize").tab().add('=').blank().add(this.fileMaximumSize).lf()
 				.blank().add("minimumUseRatio").tab().add('=').blank().add(this.minimumUseRatio).lf()
-				.blank().add("cleanupHeadFile").tab().add('=').blank().add(this.cleanupHeadFile)
+				.blank().add("cleanupHeadFile").tab().add('=').blank().add(this.cleanupHeadFile).lf()
+				.blank().add("clusterEntitiesByType").tab().add('=').blank().add(this.clusterEntitiesByType)
 				.toString()
 			;
 		}
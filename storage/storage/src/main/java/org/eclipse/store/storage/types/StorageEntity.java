@@ -63,6 +63,22 @@ public interface StorageEntity
 	 */
 	public long cachedDataLength();
 
+	/**
+	 * The length the cached data of all entities of this entity's type occupies in the cache of the entity's
+	 * channel.
+	 *
+	 * @return the cached data length of this entity's type in its channel.
+	 */
+	public long typeCachedDataLength();
+
+	/**
+	 * The cache budget of this entity's type per channel, as defined by
+	 * {@link StorageEntityCacheEvaluator#typeCacheBudget(StorageEntityTypeHandler)}.
+	 *
+	 * @return the type's cache budget in bytes or a negative value if the type has no budget of its own.
+	 */
+	public long typeCacheBudget();
+
 	/**
 	 * The approximate system time that this particular entity has been last touched.
 	 * The returned value is compatible to the value returned by {@link System#currentTimeMillis()}.
@@ -124,6 +140,15 @@ public interface StorageEntity
 		static final byte GC_INITIAL    =  0; // created/updated. Not marked, but not to be deleted in current GC round.
 		static final byte GC_WHITE      = -1; // not marked (also the start of the unmarked-sweep countdown)
 
+		/*
+		 * Cache state flags, combined in one byte to not increase the entity instance size:
+		 * - only the simple references are cached instead of the complete entity data.
+		 * - the entity is queued in its channel's cached entities queue (see StorageEntityCache.Default).
+		 *   The queue flag outlives the cached data, the queue drops the entity when it finds it not live.
+		 */
+		static final byte CACHE_ONLY_REFS = 1;
+		static final byte CACHE_QUEUED    = 2;
+
 
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
@@ -178,7 +203,7 @@ public interface StorageEntity
 		int        lastTouched    ; // age timestamp for cache clearing evaluation. See methods and constants.
 		byte       gcState        ; // gc state
 		boolean    isDeleted      ;
-		boolean    onlyRefsCached ;
+		byte       cacheState     ; // cache state flags. See constants.
 		byte       referenceCount ; // could be combined with hasReferences to a short with ~10 bits free for ref count
 
 		// reference to the type meta-data instance and the parent channel file
@@ -357,17 +382,32 @@ public interface StorageEntity
 
 		final boolean hasOnlySimpleReferencesLoaded()
 		{
-			return this.onlyRefsCached;
+			return (this.cacheState & CACHE_ONLY_REFS) != 0;
 		}
 
 		final void setSimpleReferencesLoaded()
 		{
-			this.onlyRefsCached = true;
+			this.cacheState |= CACHE_ONLY_REFS;
 		}
 
 		final void clearSimpleReferencesLoaded()
 		{
-			this.onlyRefsCached = false;
+			this.cacheState &= ~CACHE_ONLY_REFS;
+		}
+
+		final boolean isCacheQueued()
+		{
+			return (this.cacheState & CACHE_QUEUED) != 0;
+		}
+
+		final void setCacheQueued()
+		{
+			this.cacheState |= CACHE_QUEUED;
+		}
+
+		final void clearCacheQueued()
+		{
+			this.cacheState &= ~CACHE_QUEUED;
 		}
 
 		final int simpleReferenceCount()
@@ -496,6 +536,30 @@ public interface StorageEntity
 			return this.cacheAddress;
 		}
 
+		/**
+		 * Tells whether loading the entity's complete data requires a read from its data file, i.e. whether
+		 * {@link #copyCachedData(MemoryRangeReader)} would not be served from the cache alone.
+		 */
+		final boolean requiresFullDataLoad()
+		{
+			return !this.isLive() || this.hasOnlySimpleReferencesLoaded();
+		}
+
+		/**
+		 * Puts the entity's complete data, read elsewhere as part of a larger run, into the cache,
+		 * replacing cached simple reference data if present.
+		 *
+		 * @return the change of the used cache size caused by this.
+		 */
+		final long putFullCacheData(final long sourceAddress)
+		{
+			final long clearedLength = this.isLive() ? this.clearCache() : 0L;
+			this.putCacheData(sourceAddress, this.length);
+			this.clearSimpleReferencesLoaded();
+
+			return this.length - clearedLength;
+		}
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -527,6 +591,18 @@ public interface StorageEntity
 			return this.hasOnlySimpleReferencesLoaded() ? this.calculateSimpleReferenceCacheLength() : this.length;
 		}
 
+		@Override
+		public final long typeCachedDataLength()
+		{
+			return this.typeInFile.type.cachedDataLength;
+		}
+
+		@Override
+		public final long typeCacheBudget()
+		{
+			return this.typeInFile.type.cacheBudget;
+		}
+
 		@Override
 		public final boolean hasReferences()
 		{
@@ -606,7 +682,7 @@ public interface StorageEntity
 			final long currentDataLength = this.cachedDataLength();
 			XMemory.free(this.cacheAddress());
 			this.cacheAddress = 0;
-			this.onlyRefsCached = false;
+			this.clearSimpleReferencesLoaded();
 			return currentDataLength;
 		}
 
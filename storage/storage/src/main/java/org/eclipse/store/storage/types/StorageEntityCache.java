@@ -21,6 +21,7 @@ import static org.eclipse.serializer.util.X.notNull;
 
 import java.lang.ref.Reference;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 
 import org.eclipse.serializer.collections.EqHashEnum;
 import org.eclipse.serializer.collections.Set_long;
@@ -95,6 +96,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		 */
 		private static final long SWEEP_QUIESCE_RETRY_BACKOFF_MS = 1L;
 
+		/**
+		 * Enforcing the maximum cache size clears 1/16th of it more than required, see {@link #ensureCacheCapacity(long)}.
+		 */
+		private static final int CACHE_CAPACITY_MARGIN_SHIFT = 4;
+
 
 		private static boolean gcEnabled = true;
 				
@@ -117,6 +123,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final long                               rootTypeId          ;
 		private final long                               markingWaitTimeMs   ;
 		        final StorageEntityCacheEvaluator        entityCacheEvaluator;
+		private final long                               maximumCacheSize    ;
 		private final StorageTypeDictionary              typeDictionary      ;
 		private final long[]                             markingOidBuffer    ;
 		private final StorageGCZombieOidHandler          zombieOidHandler    ;
@@ -133,6 +140,9 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		private final StorageObjectIdMarkQueue  oidMarkQueue   ; // resetting handled by markMonitor
 		private final StorageReferenceMarker    referenceMarker; // resetting must be handled here.
 		
+		// queue of the cached entities if tracked by the evaluator (see #modifyUsedCacheSize), null otherwise.
+		private final ArrayDeque<StorageEntity.Default> cachedEntities;
+		
 		private final LiveObjectIdsHandler liveObjectIdsHandler;
 
 		
@@ -209,6 +219,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.channelIndex         = notNegative(channelIndex)     ;
 			this.channelHashShift     = XMath.log2pow2   (channelCount)     ;
 			this.entityCacheEvaluator = notNull    (cacheEvaluator)   ;
+			this.maximumCacheSize     = positive   (cacheEvaluator.maximumCacheSize());
 			this.typeDictionary       = notNull    (typeDictionary)   ;
 			this.markMonitor          = notNull    (markMonitor)      ;
 			this.zombieOidHandler     = notNull    (zombieOidHandler) ;
@@ -228,6 +239,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			this.markingOidBuffer   = new long[markingBufferLength];
 			this.rootEntityIterator = new RootEntityRootOidSelectionIterator(rootOidSelector);
 			this.typeHead           = new StorageEntityType.Default(this.channelIndex);
+			this.cachedEntities     = cacheEvaluator.tracksCachedEntities() ? new ArrayDeque<>() : null;
 			
 			// initializing mutable (operational) state.
 			this.reset();
@@ -286,6 +298,10 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			(this.typeTail      = this.typeHead).next = null;
 
 			this.resetLiveCursor();
+			if(this.cachedEntities != null)
+			{
+				this.cachedEntities.clear();
+			}
 
 			this.usedCacheSize  = 0L;
 			this.warnedObsoleteTypeIds.clear();
@@ -403,7 +419,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 				this.channelIndex,
 				typeHandler,
 				this.tidHashTable[hashIndex],
-				this.typeHead
+				this.typeHead,
+				this.entityCacheEvaluator.typeCacheBudget(typeHandler)
 			);
 			this.typeTail = this.typeTail.next = this.tidHashTable[hashIndex] = type;
 
@@ -706,7 +723,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			if(entry.isLive())
 			{
-				this.modifyUsedCacheSize(-entry.clearCache());
+				this.modifyUsedCacheSize(entry, -entry.clearCache());
 			}
 		}
 
@@ -1239,6 +1256,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 
 		}
 
+		final void registerAccess(final StorageEntity.Default entry)
+		{
+			this.entityCacheEvaluator.registerAccess(entry);
+		}
+
 		void checkForCacheClear(final StorageEntity.Default entry, final long evalTime)
 		{
 			if(this.entityCacheEvaluator.clearEntityCache(this.usedCacheSize, evalTime, entry))
@@ -1609,9 +1631,69 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			}
 		}
 
-		final void modifyUsedCacheSize(final long cacheChange)
+		final void modifyUsedCacheSize(final StorageEntity.Default entity, final long cacheChange)
 		{
 			this.usedCacheSize += cacheChange;
+			entity.typeInFile.type.cachedDataLength += cacheChange;
+
+			// an entity is queued once and stays queued until the cache check finds it not live anymore.
+			if(this.cachedEntities != null && entity.isLive() && !entity.isCacheQueued())
+			{
+				entity.setCacheQueued();
+				this.cachedEntities.add(entity);
+			}
+		}
+
+		final boolean hasCacheCapacity(final long cacheIncrease)
+		{
+			return this.usedCacheSize + cacheIncrease <= this.maximumCacheSize;
+		}
+
+		/**
+		 * Returns how many bytes can be loaded into the cache without reaching the maximum cache size, at most the
+		 * passed length and never more than the margin left by {@link #ensureCacheCapacity(long)}. If less is left,
+		 * the maximum cache size is enforced once upfront, so that data loaded afterwards is not cleared again
+		 * before it has been used.
+		 */
+		final long loadCapacity(final long length)
+		{
+			final long requested = Math.min(length, Math.max(1L, this.maximumCacheSize >>> CACHE_CAPACITY_MARGIN_SHIFT));
+			this.ensureCacheCapacity(requested);
+
+			return Math.max(0L, Math.min(requested, this.maximumCacheSize - this.usedCacheSize));
+		}
+
+		/**
+		 * Enforces the evaluator's maximum cache size before the cache grows by the passed amount:
+		 * entities deemed clearable by the evaluator are cleared first, any others only if that does not suffice.
+		 * The cache is reduced a little below the required size to not having to repeat this for every
+		 * subsequent load.
+		 */
+		final void ensureCacheCapacity(final long cacheIncrease)
+		{
+			if(this.hasCacheCapacity(cacheIncrease))
+			{
+				return;
+			}
+
+			final long sizeBefore = this.usedCacheSize;
+			final long bound      = Math.max(
+				0L,
+				this.maximumCacheSize - (this.maximumCacheSize >>> CACHE_CAPACITY_MARGIN_SHIFT) - cacheIncrease
+			);
+
+			this.internalCacheCheck(Long.MAX_VALUE, this.entityCacheEvaluator, bound);
+			if(this.usedCacheSize > bound)
+			{
+				this.internalCacheCheck(Long.MAX_VALUE, (s, t, e) -> true, bound);
+			}
+
+			logger.debug(
+				"StorageChannel#{} cleared {} bytes of entity cache to stay within the maximum cache size of {} bytes.",
+				this.channelIndex,
+				sizeBefore - this.usedCacheSize,
+				this.maximumCacheSize
+			);
 		}
 
 
@@ -1642,7 +1724,7 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			
 			final long currentUsedCacheSize = this.usedCacheSize;
 			
-			this.internalCacheCheck(Long.MAX_VALUE, (s, t, e) -> true);
+			this.internalCacheCheck(Long.MAX_VALUE, (s, t, e) -> true, 0L);
 			
 			return currentUsedCacheSize;
 		}
@@ -1735,12 +1817,17 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			final long                        nanoTimeBudgetBound
 		)
 		{
-			return this.internalCacheCheck(nanoTimeBudgetBound, this.entityCacheEvaluator);
+			return this.internalCacheCheck(nanoTimeBudgetBound, this.entityCacheEvaluator, 0L);
 		}
 
+		/**
+		 * Checks cached entities until all have been checked once, the time budget is used up or the used cache
+		 * size has been reduced to the passed bound. A bound of 0 means to check as long as anything is cached.
+		 */
 		private boolean internalCacheCheck(
 			final long                        nanoTimeBudgetBound,
-			final StorageEntityCacheEvaluator evaluator
+			final StorageEntityCacheEvaluator evaluator          ,
+			final long                        cacheSizeBound
 		)
 		{
 			// quick check before setting up the local stuff.
@@ -1748,6 +1835,11 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			{
 				return true;
 			}
+			
+			if(this.cachedEntities != null)
+			{
+				return this.internalCachedEntitiesCheck(nanoTimeBudgetBound, evaluator, cacheSizeBound);
+			}
 
 			final long evaluationTime = System.currentTimeMillis();
 			final StorageEntity.Default cursor;
@@ -1798,8 +1890,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 					// use ensure method for that for the purpose of uniformity / simplicity
 					this.ensureNoCachedData(entity);
 
-					// check if this was the last entity in the cache, effectively suspending live check
-					if(this.usedCacheSize == 0)
+					// check if this was the last entity in the cache (or enough), effectively suspending live check
+					if(this.usedCacheSize <= cacheSizeBound)
 					{
 						break;
 					}
@@ -1813,6 +1905,43 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 			return this.quitLiveCheck(entity);
 		}
 		
+		private boolean internalCachedEntitiesCheck(
+			final long                        nanoTimeBudgetBound,
+			final StorageEntityCacheEvaluator evaluator          ,
+			final long                        cacheSizeBound
+		)
+		{
+			final long evaluationTime = System.currentTimeMillis();
+
+			// every queued entity is checked at most once per cycle. Entities staying cached are requeued at the end.
+			for(int remaining = this.cachedEntities.size(); remaining > 0; remaining--)
+			{
+				final StorageEntity.Default entity = this.cachedEntities.poll();
+				if(!entity.isLive())
+				{
+					// cleared since it has been queued (e.g. updated or deleted), so it leaves the queue.
+					entity.clearCacheQueued();
+				}
+				else if(evaluator.clearEntityCache(this.usedCacheSize, evaluationTime, entity))
+				{
+					entity.clearCacheQueued();
+					this.ensureNoCachedData(entity);
+				}
+				else
+				{
+					this.cachedEntities.add(entity);
+				}
+				
+				// abort conditions are checked at the end to guarantee one entity progress to avoid starvation
+				if(this.usedCacheSize <= cacheSizeBound || System.nanoTime() >= nanoTimeBudgetBound)
+				{
+					break;
+				}
+			}
+
+			return this.quitLiveCheck(null);
+		}
+		
 		private boolean quitLiveCheck(final StorageEntity.Default entity)
 		{
 			if(this.usedCacheSize == 0)
@@ -1876,7 +2005,8 @@ public interface StorageEntityCache<E extends StorageEntity> extends StorageChan
 		{
 			return this.internalCacheCheck(
 				nanoTimeBudgetBound,
-				X.coalesce(entityEvaluator, this.entityCacheEvaluator)
+				X.coalesce(entityEvaluator, this.entityCacheEvaluator),
+				0L
 			);
 		}
 
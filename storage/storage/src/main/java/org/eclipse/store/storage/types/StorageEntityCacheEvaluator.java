@@ -41,6 +41,65 @@ public interface StorageEntityCacheEvaluator
 		return !this.clearEntityCache(totalCacheSize, evaluationTime, entity);
 	}
 
+	/**
+	 * Registers an access of a load request to the passed entity's data. Loading all entities of a type and
+	 * the garbage collector's reference iteration do not count as accesses.
+	 * <p>
+	 * Note that this method is called by all channels, potentially concurrently.
+	 * The default implementation does nothing.
+	 *
+	 * @param entity the accessed entity.
+	 */
+	public default void registerAccess(final StorageEntity entity)
+	{
+		// no-op by default
+	}
+
+	/**
+	 * Defines the maximum length in bytes that the cached data of the passed type's entities may occupy
+	 * in the cache of one channel. The value is queried once per type and channel and is available to
+	 * {@link #clearEntityCache(long, long, StorageEntity)} via {@link StorageEntity#typeCacheBudget()}.
+	 * <p>
+	 * The default implementation returns -1, meaning no type has a budget of its own.
+	 *
+	 * @param typeHandler the type handler of the type to be budgeted.
+	 *
+	 * @return the type's cache budget in bytes or a negative value for no budget.
+	 */
+	public default long typeCacheBudget(final StorageEntityTypeHandler typeHandler)
+	{
+		return -1L;
+	}
+
+	/**
+	 * Defines if the channels shall keep their cached entities in a queue. Cache checks then evaluate only
+	 * the queued entities, in the order of their caching, instead of iterating all entities, which makes
+	 * their cost depend on the number of cached entities instead of the total number of entities.
+	 * <p>
+	 * The queue costs one reference per cached entity. The default implementation returns {@code false}.
+	 *
+	 * @return if the channels shall keep their cached entities in a queue.
+	 */
+	public default boolean tracksCachedEntities()
+	{
+		return false;
+	}
+
+	/**
+	 * Defines the hard limit in bytes for the cache of one channel. Contrary to the threshold, the limit is
+	 * enforced while loading: if caching an entity's data would exceed it, cached entities are cleared right away,
+	 * the ones this evaluator deems clearable first, any others if that does not suffice.
+	 * A single entity larger than the limit can still be loaded.
+	 * <p>
+	 * The default implementation returns {@link Long#MAX_VALUE}, meaning no limit.
+	 *
+	 * @return the maximum cache size in bytes per channel.
+	 */
+	public default long maximumCacheSize()
+	{
+		return Long.MAX_VALUE;
+	}
+
 
 
 	public interface Defaults
@@ -56,6 +115,12 @@ public interface StorageEntityCacheEvaluator
 			// 1 day default timeout
 			return 86_400_000;
 		}
+
+		public static long defaultMaximumCacheSize()
+		{
+			// no hard limit by default
+			return Long.MAX_VALUE;
+		}
 	}
 
 	public interface Validation
@@ -68,6 +133,10 @@ public interface StorageEntityCacheEvaluator
 		{
 			return 1;
 		}
+		public static long minimumMaximumCacheSize()
+		{
+			return 1;
+		}
 
 		public static void validateParameters(
 			final long timeoutMs,
@@ -94,6 +163,25 @@ public interface StorageEntityCacheEvaluator
 				);
 			}
 		}
+
+		public static void validateParameters(
+			final long timeoutMs       ,
+			final long threshold       ,
+			final long maximumCacheSize
+		)
+			throws IllegalArgumentException
+		{
+			validateParameters(timeoutMs, threshold);
+			if(maximumCacheSize < minimumMaximumCacheSize())
+			{
+				throw new IllegalArgumentException(
+					"Specified maximum cache size of "
+					+ maximumCacheSize
+					+ " is lower than the minimum value "
+					+ minimumMaximumCacheSize()+ "."
+				);
+			}
+		}
 	}
 
 	/**
@@ -184,9 +272,40 @@ public interface StorageEntityCacheEvaluator
 		final long threshold
 	)
 	{
-		Validation.validateParameters(timeoutMs, threshold);
+		return New(timeoutMs, threshold, Defaults.defaultMaximumCacheSize());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluator} instance
+	 * using the passed values.
+	 * <p>
+	 * For explanations of the timeout and the threshold, see {@link StorageEntityCacheEvaluator#New(long, long)}.
+	 *
+	 * @param timeoutMs the time (in milliseconds, greater than 0) of not being read (the "age"), after which a particular
+	 *        entity's data will be cleared from the Storage's internal cache.
+	 *
+	 * @param threshold an abstract value (greater than 0) to evaluate the product of size and age of an entity in relation
+	 *        to the current cache size in order to determine if the entity's data shall be cleared from the cache.
+	 *
+	 * @param maximumCacheSize the hard limit in bytes (greater than 0) for the cache of one channel,
+	 *        see {@link #maximumCacheSize()}.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluator} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is equal to or lower than 0.
+	 *
+	 * @see StorageEntityCacheEvaluator#New(long, long)
+	 * @see StorageEntityCacheEvaluator.Defaults
+	 */
+	public static StorageEntityCacheEvaluator New(
+		final long timeoutMs       ,
+		final long threshold       ,
+		final long maximumCacheSize
+	)
+	{
+		Validation.validateParameters(timeoutMs, threshold, maximumCacheSize);
 
-		return new StorageEntityCacheEvaluator.Default(timeoutMs, threshold);
+		return new StorageEntityCacheEvaluator.Default(timeoutMs, threshold, maximumCacheSize);
 	}
 
 	public final class Default implements StorageEntityCacheEvaluator
@@ -226,17 +345,23 @@ public interface StorageEntityCacheEvaluator
 		 */
 		private final long threshold;
 
+		/**
+		 * Hard limit for the cache size of one channel, enforced while loading.
+		 */
+		private final long maximumCacheSize;
+
 
 
 		///////////////////////////////////////////////////////////////////////////
 		// constructors //
 		/////////////////
 
-		Default(final long timeoutMs, final long threshold)
+		Default(final long timeoutMs, final long threshold, final long maximumCacheSize)
 		{
 			super();
-			this.timeoutMs = timeoutMs;
-			this.threshold = threshold;
+			this.timeoutMs        = timeoutMs       ;
+			this.threshold        = threshold       ;
+			this.maximumCacheSize = maximumCacheSize;
 		}
 
 
@@ -255,6 +380,12 @@ public interface StorageEntityCacheEvaluator
 			return this.threshold;
 		}
 
+		@Override
+		public long maximumCacheSize()
+		{
+			return this.maximumCacheSize;
+		}
+
 
 		@Override
 		public final boolean clearEntityCache(
@@ -319,8 +450,9 @@ public interface StorageEntityCacheEvaluator
 		{
 			return VarString.New()
 				.add(this.getClass().getName()).add(':').lf()
-				.blank().add("threshold ").tab().add('=').blank().add(this.threshold).lf()
-				.blank().add("timeout   ").tab().add('=').blank().add(this.timeoutMs)
+				.blank().add("threshold       ").tab().add('=').blank().add(this.threshold).lf()
+				.blank().add("timeout         ").tab().add('=').blank().add(this.timeoutMs).lf()
+				.blank().add("maximumCacheSize").tab().add('=').blank().add(this.maximumCacheSize)
 				.toString()
 			;
 		}
@@ -0,0 +1,568 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import java.util.Map;
+
+import org.eclipse.serializer.chars.VarString;
+
+/**
+ * {@link StorageEntityCacheEvaluator} that takes the access frequency of entities into account and supports
+ * cache budgets per type.
+ * <p>
+ * Accesses of load requests are counted in a compact, approximate frequency sketch (4 bit counters in a
+ * count-min sketch, halved periodically to let old accesses fade out). Frequently accessed entities weigh less
+ * in the cache clearing formula of {@link StorageEntityCacheEvaluator.Default} and stay cached longer.
+ * Entities that have been accessed at most once are only kept while less than half of the cache is used,
+ * so that a single large scan over many entities cannot displace the frequently used ones.
+ * <p>
+ * Types with a cache budget are evaluated against their own budget instead of the channel's threshold:
+ * their entities never occupy more than the budget and are not affected by the other types' usage of the cache.
+ * A generous budget keeps a type's entities cached, a small one limits it. Like the threshold, budgets apply
+ * per channel. Only the timeout and the channel's cache exceeding the threshold as a whole clear entities
+ * regardless of their type's budget.
+ * <p>
+ * The channels keep their cached entities in a queue for this evaluator (see {@link #tracksCachedEntities()}),
+ * so the cost of a cache check depends on the number of cached entities, not on the total number of entities.
+ */
+public interface StorageEntityCacheEvaluatorFrequencyBased extends StorageEntityCacheEvaluator
+{
+	public long timeout();
+
+	public long threshold();
+
+	/**
+	 * @return the cache budgets in bytes per channel, mapped by type name.
+	 */
+	public Map<String, Long> typeCacheBudgets();
+
+	/**
+	 * The estimated number of registered accesses to the entity with the passed object id, in the range [0; 15].
+	 *
+	 * @param objectId the object id of the entity.
+	 *
+	 * @return the estimated access frequency.
+	 */
+	public int frequency(long objectId);
+
+
+
+	public interface Defaults
+	{
+		public static long defaultCacheThreshold()
+		{
+			return StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold();
+		}
+
+		public static long defaultTimeoutMs()
+		{
+			return StorageEntityCacheEvaluator.Defaults.defaultTimeoutMs();
+		}
+
+		public static long defaultMaximumCacheSize()
+		{
+			return StorageEntityCacheEvaluator.Defaults.defaultMaximumCacheSize();
+		}
+
+		public static int defaultFrequencyCounterCount()
+		{
+			// 4 bits per counter: 512 KB
+			return 1 << 20;
+		}
+	}
+
+	public interface Validation
+	{
+		public static int minimumFrequencyCounterCount()
+		{
+			// one long of counters
+			return 16;
+		}
+
+		public static void validateParameters(
+			final long              timeoutMs            ,
+			final long              threshold            ,
+			final long              maximumCacheSize     ,
+			final Map<String, Long> typeCacheBudgets     ,
+			final int               frequencyCounterCount
+		)
+			throws IllegalArgumentException
+		{
+			StorageEntityCacheEvaluator.Validation.validateParameters(timeoutMs, threshold, maximumCacheSize);
+
+			for(final Map.Entry<String, Long> e : typeCacheBudgets.entrySet())
+			{
+				if(e.getKey() == null || e.getValue() == null || e.getValue() < 0)
+				{
+					throw new IllegalArgumentException(
+						"Invalid cache budget for type " + e.getKey() + ": " + e.getValue() + "."
+					);
+				}
+			}
+
+			if(frequencyCounterCount < minimumFrequencyCounterCount()
+			|| Integer.bitCount(frequencyCounterCount) != 1
+			)
+			{
+				throw new IllegalArgumentException(
+					"Specified frequency counter count of "
+					+ frequencyCounterCount
+					+ " is not a power of 2 of at least "
+					+ minimumFrequencyCounterCount() + "."
+				);
+			}
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance
+	 * without type cache budgets, using default values defined by
+	 * {@link StorageEntityCacheEvaluatorFrequencyBased.Defaults}.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(long, long, Map, int)
+	 */
+	public static StorageEntityCacheEvaluatorFrequencyBased New()
+	{
+		return New(Map.of());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance
+	 * using the passed type cache budgets and default values defined by
+	 * {@link StorageEntityCacheEvaluatorFrequencyBased.Defaults}.
+	 *
+	 * @param typeCacheBudgets the cache budgets in bytes per channel, mapped by type name.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(long, long, Map, int)
+	 */
+	public static StorageEntityCacheEvaluatorFrequencyBased New(final Map<String, Long> typeCacheBudgets)
+	{
+		return New(
+			Defaults.defaultTimeoutMs()     ,
+			Defaults.defaultCacheThreshold(),
+			typeCacheBudgets
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance
+	 * using the passed values and the default frequency counter count.
+	 *
+	 * @param timeoutMs        the time (in milliseconds, greater than 0) of not being read, after which a particular
+	 *                         entity's data will be cleared from the Storage's internal cache.
+	 * @param threshold        an abstract value (greater than 0), see {@link StorageEntityCacheEvaluator#New(long, long)}.
+	 * @param typeCacheBudgets the cache budgets in bytes per channel, mapped by type name.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(long, long, Map, int)
+	 */
+	public static StorageEntityCacheEvaluatorFrequencyBased New(
+		final long              timeoutMs       ,
+		final long              threshold       ,
+		final Map<String, Long> typeCacheBudgets
+	)
+	{
+		return New(
+			timeoutMs                              ,
+			threshold                              ,
+			typeCacheBudgets                       ,
+			Defaults.defaultFrequencyCounterCount()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance
+	 * using the passed values.
+	 *
+	 * @param timeoutMs             the time (in milliseconds, greater than 0) of not being read, after which a
+	 *                              particular entity's data will be cleared from the Storage's internal cache.
+	 * @param threshold             an abstract value (greater than 0),
+	 *                              see {@link StorageEntityCacheEvaluator#New(long, long)}.
+	 * @param typeCacheBudgets      the cache budgets in bytes per channel, mapped by type name.
+	 *                              A budget of 0 prevents caching the type's entities.
+	 * @param frequencyCounterCount the number of counters of the frequency sketch, a power of 2.
+	 *                              Should be in the order of the number of frequently accessed entities.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 *
+	 * @see StorageEntityCacheEvaluatorFrequencyBased#New(long, long, long, Map, int)
+	 */
+	public static StorageEntityCacheEvaluatorFrequencyBased New(
+		final long              timeoutMs            ,
+		final long              threshold            ,
+		final Map<String, Long> typeCacheBudgets     ,
+		final int               frequencyCounterCount
+	)
+	{
+		return New(
+			timeoutMs                         ,
+			threshold                         ,
+			Defaults.defaultMaximumCacheSize(),
+			typeCacheBudgets                  ,
+			frequencyCounterCount
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance
+	 * using the passed values.
+	 *
+	 * @param timeoutMs             the time (in milliseconds, greater than 0) of not being read, after which a
+	 *                              particular entity's data will be cleared from the Storage's internal cache.
+	 * @param threshold             an abstract value (greater than 0),
+	 *                              see {@link StorageEntityCacheEvaluator#New(long, long)}.
+	 * @param maximumCacheSize      the hard limit in bytes for the cache of one channel,
+	 *                              see {@link StorageEntityCacheEvaluator#maximumCacheSize()}.
+	 * @param typeCacheBudgets      the cache budgets in bytes per channel, mapped by type name.
+	 *                              A budget of 0 prevents caching the type's entities.
+	 * @param frequencyCounterCount the number of counters of the frequency sketch, a power of 2.
+	 *                              Should be in the order of the number of frequently accessed entities.
+	 *
+	 * @return a new {@link StorageEntityCacheEvaluatorFrequencyBased} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 */
+	public static StorageEntityCacheEvaluatorFrequencyBased New(
+		final long              timeoutMs            ,
+		final long              threshold            ,
+		final long              maximumCacheSize     ,
+		final Map<String, Long> typeCacheBudgets     ,
+		final int               frequencyCounterCount
+	)
+	{
+		Validation.validateParameters(timeoutMs, threshold, maximumCacheSize, typeCacheBudgets, frequencyCounterCount);
+
+		return new StorageEntityCacheEvaluatorFrequencyBased.Default(
+			timeoutMs                                 ,
+			threshold                                 ,
+			maximumCacheSize                          ,
+			Map.copyOf(typeCacheBudgets)              ,
+			new FrequencySketch(frequencyCounterCount)
+		);
+	}
+
+	public final class Default implements StorageEntityCacheEvaluatorFrequencyBased
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// see StorageEntityCacheEvaluator.Default
+		private static final int C16 = 16;
+
+		// entities accessed at most this often are only kept while less than half of the cache is used.
+		private static final int PROBATION_FREQUENCY = 1;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long              timeoutMs       ;
+		private final long              threshold       ;
+		private final long              maximumCacheSize;
+		private final Map<String, Long> typeCacheBudgets;
+		private final FrequencySketch   sketch          ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long              timeoutMs       ,
+			final long              threshold       ,
+			final long              maximumCacheSize,
+			final Map<String, Long> typeCacheBudgets,
+			final FrequencySketch   sketch
+		)
+		{
+			super();
+			this.timeoutMs        = timeoutMs       ;
+			this.threshold        = threshold       ;
+			this.maximumCacheSize = maximumCacheSize;
+			this.typeCacheBudgets = typeCacheBudgets;
+			this.sketch           = sketch          ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public long timeout()
+		{
+			return this.timeoutMs;
+		}
+
+		@Override
+		public long threshold()
+		{
+			return this.threshold;
+		}
+
+		@Override
+		public long maximumCacheSize()
+		{
+			return this.maximumCacheSize;
+		}
+
+		@Override
+		public Map<String, Long> typeCacheBudgets()
+		{
+			return this.typeCacheBudgets;
+		}
+
+		@Override
+		public int frequency(final long objectId)
+		{
+			return this.sketch.frequency(objectId);
+		}
+
+		@Override
+		public final void registerAccess(final StorageEntity entity)
+		{
+			this.sketch.increment(entity.objectId());
+		}
+
+		@Override
+		public final long typeCacheBudget(final StorageEntityTypeHandler typeHandler)
+		{
+			final Long budget = this.typeCacheBudgets.get(typeHandler.typeName());
+
+			return budget == null ? -1L : budget;
+		}
+
+		@Override
+		public final boolean tracksCachedEntities()
+		{
+			return true;
+		}
+
+		@Override
+		public final boolean initiallyCacheEntity(
+			final long          totalCacheSize,
+			final long          evaluationTime,
+			final StorageEntity entity
+		)
+		{
+			// without any registered access, initial caching would only ever fill the cache with probationary entities.
+			return false;
+		}
+
+		@Override
+		public final boolean clearEntityCache(
+			final long          cacheSize,
+			final long          evalTime ,
+			final StorageEntity e
+		)
+		{
+			final long ageInMs = evalTime - e.lastTouched();
+
+			// timeout and a channel cache exceeding the threshold as a whole clear entities of any type.
+			if(ageInMs >= this.timeoutMs || cacheSize >= this.threshold)
+			{
+				return true;
+			}
+
+			// budgeted types are evaluated against their own budget instead of the channel's threshold.
+			final long budget = e.typeCacheBudget();
+			final long limit;
+			final long used ;
+			if(budget >= 0)
+			{
+				if((used = e.typeCachedDataLength()) > budget)
+				{
+					return true;
+				}
+				limit = budget;
+			}
+			else
+			{
+				used  = cacheSize;
+				limit = this.threshold;
+			}
+
+			final int frequency = this.sketch.frequency(e.objectId());
+
+			// scan resistance: rarely accessed entities are not allowed to displace the frequently accessed ones.
+			if(frequency <= PROBATION_FREQUENCY && used > limit >>> 1)
+			{
+				return true;
+			}
+
+			/*
+			 * Same formula as StorageEntityCacheEvaluator.Default, but the weight is divided by the access frequency.
+			 * See the comments there. Note the signed shift for entities touched "in the future".
+			 */
+			return limit - used
+				< e.cachedDataLength() * (ageInMs >> C16) / (frequency + 1) << (e.hasReferences() ? 0 : 1)
+			;
+		}
+
+		@Override
+		public String toString()
+		{
+			return VarString.New()
+				.add(this.getClass().getName()).add(':').lf()
+				.blank().add("threshold       ").tab().add('=').blank().add(this.threshold).lf()
+				.blank().add("timeout         ").tab().add('=').blank().add(this.timeoutMs).lf()
+				.blank().add("maximumCacheSize").tab().add('=').blank().add(this.maximumCacheSize).lf()
+				.blank().add("typeCacheBudgets").tab().add('=').blank().add(this.typeCacheBudgets.toString()).lf()
+				.blank().add("counterCount    ").tab().add('=').blank().add(this.sketch.counterCount())
+				.toString()
+			;
+		}
+
+	}
+
+	/**
+	 * Count-min sketch of 4 bit counters, 16 per long. Every object id is counted in 4 counters and its
+	 * frequency is estimated as the minimum of these. After a sample of increments proportional to the size,
+	 * all counters are halved, so that the sketch reflects the recent accesses.
+	 * <p>
+	 * The sketch is shared by all channels without synchronization. Concurrent increments may occasionally
+	 * get lost, which merely makes the estimation a little less accurate. Every counter stays in its range.
+	 */
+	public final class FrequencySketch
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		private static final int  DEPTH       = 4;
+		private static final long HALF_MASK   = 0x7777_7777_7777_7777L;
+		private static final long COUNTER_MAX = 0xFL;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final long[] table      ;
+		private final int    counterMask;
+		private final int    sampleSize ;
+		private       int    sampleCount;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		FrequencySketch(final int counterCount)
+		{
+			super();
+			this.table       = new long[counterCount >>> 4];
+			this.counterMask = counterCount - 1;
+			this.sampleSize  = 10 * this.table.length;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		final int counterCount()
+		{
+			return this.counterMask + 1;
+		}
+
+		private static long spread(final long objectId)
+		{
+			// 64 bit finalizer of SplitMix64
+			long h = (objectId ^ objectId >>> 30) * 0xBF58_476D_1CE4_E5B9L;
+			h = (h ^ h >>> 27) * 0x94D0_49BB_1331_11EBL;
+			return h ^ h >>> 31;
+		}
+
+		private int counterIndex(final long hash, final int i)
+		{
+			// double hashing: 2 independent halves of the hash yield all indices.
+			return (int)hash + i * ((int)(hash >>> 32) | 1) & this.counterMask;
+		}
+
+		final void increment(final long objectId)
+		{
+			final long hash = spread(objectId);
+
+			boolean incremented = false;
+			for(int i = 0; i < DEPTH; i++)
+			{
+				incremented |= this.incrementCounter(this.counterIndex(hash, i));
+			}
+
+			if(incremented && ++this.sampleCount >= this.sampleSize)
+			{
+				this.halve();
+			}
+		}
+
+		private boolean incrementCounter(final int counterIndex)
+		{
+			final int  slot  = counterIndex >>> 4;
+			final int  shift = (counterIndex & 15) << 2;
+			final long word  = this.table[slot];
+			if((word >>> shift & COUNTER_MAX) == COUNTER_MAX)
+			{
+				return false;
+			}
+			this.table[slot] = word + (1L << shift);
+
+			return true;
+		}
+
+		final int frequency(final long objectId)
+		{
+			final long hash = spread(objectId);
+
+			long frequency = COUNTER_MAX;
+			for(int i = 0; i < DEPTH; i++)
+			{
+				final int counterIndex = this.counterIndex(hash, i);
+				frequency = Math.min(
+					frequency,
+					this.table[counterIndex >>> 4] >>> ((counterIndex & 15) << 2) & COUNTER_MAX
+				);
+			}
+
+			return (int)frequency;
+		}
+
+		private void halve()
+		{
+			for(int i = 0; i < this.table.length; i++)
+			{
+				this.table[i] = this.table[i] >>> 1 & HALF_MASK;
+			}
+			this.sampleCount = this.sampleCount >>> 1;
+		}
+
+	}
+
+}
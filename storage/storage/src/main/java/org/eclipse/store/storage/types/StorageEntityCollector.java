@@ -120,6 +120,7 @@ public interface StorageEntityCollector extends _longProcedure
 			}
 			this.entityCache.markEntityForLoadedData(entry);
 			entry.copyCachedData(this.dataCollector);
+			this.entityCache.registerAccess(entry);
 			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
 		}
 
@@ -179,13 +180,38 @@ public interface StorageEntityCollector extends _longProcedure
 			}
 			this.entityCache.markEntityForLoadedData(entry);
 			entry.copyCachedData(this.dataCollector);
+			this.entityCache.registerAccess(entry);
 			this.entityCache.checkForCacheClear(entry, System.currentTimeMillis());
 		}
 	
 	}
 
-	class EntityCollectorByTid implements StorageEntityCollector
+	class EntityCollectorByTid implements StorageEntityCollector, StorageEntityType.Default.EntityBatchProcedure
 	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/**
+		 * The maximum number of bytes between two entities that are still read as part of the same run.
+		 * Reading over a small gap (deleted data or a meta record) is cheaper than issuing another read.
+		 */
+		static final int RUN_GAP_TOLERANCE = 4 * 1024;
+
+		/**
+		 * The soft maximum length of a single run read. A single entity larger than that still forms its own run.
+		 */
+		static final int RUN_MAXIMUM_LENGTH = 1024 * 1024;
+
+		/**
+		 * The soft maximum number of bytes loaded ahead of collecting them, bounding the cache growth caused by
+		 * loading a type's entities in runs before the cache evaluator gets to see them. A batch is further
+		 * limited to the cache's remaining capacity, see {@link StorageEntityCache.Default#loadCapacity(long)}.
+		 */
+		static final long BATCH_MAXIMUM_LENGTH = 16 * 1024 * 1024;
+	
+	
+	
 		///////////////////////////////////////////////////////////////////////////
 		// instance fields //
 		////////////////////
@@ -225,13 +251,87 @@ public interface StorageEntityCollector extends _longProcedure
 				return;
 			}
 	
-			// all the type's entities are iterated and their data is collected
-			for(StorageEntity.Default entity = type.head; (entity = entity.typeNext) != null;)
+			/*
+			 * All the type's entities are iterated in storage order and their data is collected.
+			 * Instead of reading every entity on its own, the not yet cached entities of a batch are
+			 * loaded in runs of physically adjacent entities, one read per run.
+			 * Loading a whole type is a scan, so it is deliberately not registered as an access of the entities.
+			 */
+			type.iterateEntitiesInStorageOrder(this);
+		}
+
+		@Override
+		public final void acceptBatch(final StorageEntity.Default[] entities, final int count)
+		{
+			for(int batchStart = 0, batchBound; batchStart < count; batchStart = batchBound)
+			{
+				batchBound = this.loadBatch(entities, batchStart, count);
+				for(int i = batchStart; i < batchBound; i++)
+				{
+					entities[i].copyCachedData(this.dataCollector);
+					this.entityCache.checkForCacheClear(entities[i], System.currentTimeMillis());
+				}
+			}
+		}
+
+		private int loadBatch(final StorageEntity.Default[] entities, final int batchStart, final int bound)
+		{
+			// the batch fits into the cache, so loading it cannot clear its own entities before they are collected
+			final long capacity    = this.entityCache.loadCapacity(BATCH_MAXIMUM_LENGTH);
+			      long batchLength = 0L;
+			      int  runFirst    = -1;
+			      int  runLast     = -1;
+
+			int i = batchStart;
+			for(; i < bound; i++)
 			{
+				final StorageEntity.Default entity       = entities[i];
+				final boolean               requiresLoad = entity.requiresFullDataLoad();
+				if(requiresLoad && batchLength > 0L && batchLength + entity.length > capacity)
+				{
+					break;
+				}
 				this.entityCache.markEntityForLoadedData(entity);
-				entity.copyCachedData(this.dataCollector);
-				this.entityCache.checkForCacheClear(entity, System.currentTimeMillis());
+				if(!requiresLoad)
+				{
+					continue;
+				}
+				batchLength += entity.length;
+
+				if(runFirst >= 0 && !continuesRun(entities[runFirst], entities[runLast], entity))
+				{
+					loadRun(entities, runFirst, runLast);
+					runFirst = -1;
+				}
+				if(runFirst < 0)
+				{
+					runFirst = i;
+				}
+				runLast = i;
 			}
+			if(runFirst >= 0)
+			{
+				loadRun(entities, runFirst, runLast);
+			}
+
+			return i;
+		}
+
+		private static boolean continuesRun(
+			final StorageEntity.Default first,
+			final StorageEntity.Default last ,
+			final StorageEntity.Default next
+		)
+		{
+			return next.typeInFile.file == last.typeInFile.file
+				&& next.storagePosition - (last.storagePosition + last.length) <= RUN_GAP_TOLERANCE
+				&& next.storagePosition + next.length - first.storagePosition <= RUN_MAXIMUM_LENGTH
+			;
+		}
+
+		private static void loadRun(final StorageEntity.Default[] entities, final int first, final int last)
+		{
+			entities[first].typeInFile.file.loadEntityDataRun(entities, first, last + 1);
 		}
 	
 	}
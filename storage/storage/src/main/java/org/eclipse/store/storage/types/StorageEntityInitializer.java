@@ -158,10 +158,12 @@ public interface StorageEntityInitializer<D extends StorageLiveDataFile>
 				file.prependEntry(entity);
 				totalFileContentLength += entityLength;
 				
-				if(entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity))
+				if(entityCache.hasCacheCapacity(entityLength)
+					&& entityCacheEvaluator.initiallyCacheEntity(entityCache.cacheSize(), initializationTime, entity)
+				)
 				{
 					entity.putCacheData(entityAddress, entityLength);
-					entityCache.modifyUsedCacheSize(entityLength);
+					entityCache.modifyUsedCacheSize(entity, entityLength);
 				}
 			}
 
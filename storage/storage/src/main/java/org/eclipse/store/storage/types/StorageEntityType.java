@@ -14,6 +14,7 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.util.Arrays;
 import java.util.function.Predicate;
 
 import org.eclipse.store.storage.exceptions.StorageException;
@@ -154,6 +155,33 @@ public interface StorageEntityType<E extends StorageEntity>
 			);
 		}
 
+		/**
+		 * Callback used by {@link Default#iterateEntitiesInStorageOrder(EntityBatchProcedure)} to receive
+		 * a type's entities in storage order, one bounded batch at a time.
+		 */
+		public interface EntityBatchProcedure
+		{
+			/**
+			 * Processes the first {@code count} entries of the passed batch. The array is reused for the
+			 * next batch, so it must not be retained.
+			 *
+			 * @param entities the batch array, ordered by data file and ascending by storage position within each file.
+			 * @param count    the number of valid entries in {@code entities}.
+			 */
+			public void acceptBatch(StorageEntity.Default[] entities, int count);
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		/**
+		 * The maximum number of entities passed to an {@link EntityBatchProcedure} at once.
+		 */
+		static final int STORAGE_ORDER_BATCH_SIZE = 4096;
+
 
 
 		///////////////////////////////////////////////////////////////////////////
@@ -165,8 +193,10 @@ public interface StorageEntityType<E extends StorageEntity>
 		private final StorageEntityTypeHandler typeHandler             ;
 		private final boolean                  hasReferences           ;
 		private final long                     simpleReferenceDataCount;
+		        final long                     cacheBudget             ; // negative for none
 		
 		private       long                     entityCount             ;
+		              long                     cachedDataLength        ; // maintained by the entity cache
 		StorageEntityType.Default              hashNext                ;
 		StorageEntityType.Default              next                    ;
 		        final TypeInFile               dummy                    = new TypeInFile(this, null, null);
@@ -188,6 +218,7 @@ public interface StorageEntityType<E extends StorageEntity>
 			this.typeHandler              =         null;
 			this.hasReferences            =        false;
 			this.simpleReferenceDataCount =            0;
+			this.cacheBudget              =           -1;
 			this.next                     =         this;
 		}
 
@@ -195,7 +226,8 @@ public interface StorageEntityType<E extends StorageEntity>
 			final int                              channelIndex,
 			final StorageEntityTypeHandler         typeHandler ,
 			final StorageEntityType.Default hashNext    ,
-			final StorageEntityType.Default next
+			final StorageEntityType.Default next        ,
+			final long                             cacheBudget
 		)
 		{
 			super();
@@ -204,6 +236,7 @@ public interface StorageEntityType<E extends StorageEntity>
 			this.simpleReferenceDataCount = typeHandler.simpleReferenceCount()  ;
 			this.typeId                   = typeHandler.typeId()                ;
 			this.typeHandler              = typeHandler                         ;
+			this.cacheBudget              = cacheBudget                         ;
 			this.hashNext                 = hashNext                            ;
 			this.next                     = next                                ;
 		}
@@ -249,6 +282,75 @@ public interface StorageEntityType<E extends StorageEntity>
 			return procedure;
 		}
 
+		/**
+		 * Passes this type's entities to the passed procedure in batches of at most
+		 * {@link #STORAGE_ORDER_BATCH_SIZE}, each ordered by their physical location, i.e. by data file and
+		 * ascending by storage position within each file. Consecutive entries that are stored directly after
+		 * one another form a run that can be read or copied as a single range.
+		 * <p>
+		 * The batches are taken from the type's entity chain in its order and only sorted within themselves,
+		 * so the cost is bound to the type's own entities and the heap used to a single batch. As entities are
+		 * mostly appended to the chain in the order they are stored, a batch is largely presorted.
+		 *
+		 * @param <P>       the procedure type.
+		 * @param procedure the procedure to receive the batches.
+		 *
+		 * @return the same {@code procedure} instance.
+		 */
+		final <P extends EntityBatchProcedure> P iterateEntitiesInStorageOrder(final P procedure)
+		{
+			if(this.head.typeNext == null)
+			{
+				return procedure;
+			}
+
+			final StorageEntity.Default[] batch = new StorageEntity.Default[
+				(int)Math.min(this.entityCount, STORAGE_ORDER_BATCH_SIZE)
+			];
+
+			int count = 0;
+			for(StorageEntity.Default entity = this.head; (entity = entity.typeNext) != null;)
+			{
+				batch[count++] = entity;
+				if(count == batch.length)
+				{
+					acceptSorted(procedure, batch, count);
+					count = 0;
+				}
+			}
+			if(count > 0)
+			{
+				acceptSorted(procedure, batch, count);
+			}
+
+			return procedure;
+		}
+
+		private static void acceptSorted(
+			final EntityBatchProcedure    procedure,
+			final StorageEntity.Default[] batch    ,
+			final int                     count
+		)
+		{
+			Arrays.sort(batch, 0, count, Default::orderByStoragePosition);
+			procedure.acceptBatch(batch, count);
+			Arrays.fill(batch, 0, count, null);
+		}
+
+		private static int orderByStoragePosition(
+			final StorageEntity.Default entity1,
+			final StorageEntity.Default entity2
+		)
+		{
+			final StorageLiveDataFile.Default file1 = entity1.typeInFile.file;
+			final StorageLiveDataFile.Default file2 = entity2.typeInFile.file;
+
+			return file1 == file2
+				? Integer.compare(entity1.storagePosition, entity2.storagePosition)
+				: StorageDataFile.orderByNumber(file1, file2)
+			;
+		}
+
 		public <P extends EntityDeleter> P removeAll(final P deleter)
 		{
 			for(StorageEntity.Default last, entity = this.head; (entity = (last = entity).typeNext) != null;)
@@ -21,6 +21,7 @@ import static org.eclipse.serializer.util.X.mayNull;
 import static org.eclipse.serializer.util.X.notNull;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 import org.eclipse.serializer.afs.types.AFS;
@@ -113,6 +114,12 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 	public void exportData(StorageLiveFileProvider fileProvider);
 
+	public StorageBackupSnapshot.ChannelEntry snapshotData(
+		StorageBackupSnapshots snapshots,
+		long                   timestamp,
+		StorageBackupSnapshot  previous
+	);
+
 	public StorageRawFileStatistics.ChannelStatistics createRawFileStatistics();
 
 	// this is not "reset" in terms of "set to initial state", more like a "go back to the start of the chain".
@@ -464,7 +471,7 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 		final void transferOneChainToHeadFile(final StorageLiveDataFile.Default sourceFile)
 		{
 			final StorageLiveDataFile.Default headFile = this.headFile           ;
-			final StorageEntity.Default   first    = sourceFile.head.fileNext;
+			      StorageEntity.Default   first    = sourceFile.head.fileNext;
 			      StorageEntity.Default   last     = null                    ;
 			      StorageEntity.Default   current  = first                   ;
 
@@ -485,7 +492,9 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			// transfer may COALESCE several live sub-runs into one compacted chunk, skipping the gaps
 			// between them. When no checksum is emitted the relocation uses the zero-copy file-to-file
 			// transfer, which can only move one contiguous range, so the chain breaks at the first gap.
-			final boolean coalesce = checksumReserve != 0L;
+			// Clustering by type reorders the chain and hence always needs the buffering coalescing path.
+			final boolean cluster  = this.dataFileEvaluator.clusterEntitiesByType();
+			final boolean coalesce = checksumReserve != 0L || cluster;
 
 			// Soft cap on a coalesced chunk's size: once the collected live bytes reach this target the
 			// run is closed and the chunk emitted, keeping the transient transfer buffer (sized to
@@ -577,6 +586,15 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 
 			// can only reach here if there is at least one entity to transfer
 
+			if(cluster && first != last)
+			{
+				final StorageEntity.Default[] chain = clusterChainByType(
+					first, last, subRanges, targetFileOldTotalLength
+				);
+				first = chain[0];
+				last  = chain[chain.length - 1];
+			}
+
 			// update source file to keep consistency as it might not be cleared completely
 			sourceFile.removeHeadBoundChain(current, totalLive);
 
@@ -592,6 +610,77 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			}
 		}
 
+		/**
+		 * Reorders the collected transfer chain so that the entities are grouped by type id, keeping their
+		 * original relative order within each type. The compacted target positions, the file chain links and
+		 * the source sub-runs (now in target order, merged where still adjacent) are updated accordingly.
+		 */
+		private static StorageEntity.Default[] clusterChainByType(
+			final StorageEntity.Default first         ,
+			final StorageEntity.Default last          ,
+			final BulkList<long[]>      subRanges     ,
+			final long                  targetPosition
+		)
+		{
+			int length = 1;
+			for(StorageEntity.Default entity = first; entity != last; entity = entity.fileNext)
+			{
+				length++;
+			}
+
+			/*
+			 * Collect the chain and temporarily put every entity's source position into its storage position
+			 * again, derived from the sub-runs, which the chain fills exactly in order. Then stable sort the
+			 * chain by type id, so that the original relative order is kept within each type.
+			 */
+			final StorageEntity.Default[] chain = new StorageEntity.Default[length];
+			StorageEntity.Default entity        = first;
+			int                   rangeIndex    = 0    ;
+			long                  rangeConsumed = 0L   ;
+			for(int i = 0; i < length; i++, entity = entity.fileNext)
+			{
+				final long[] subRange = subRanges.at(rangeIndex);
+				entity.storagePosition = XTypes.to_int(subRange[0] + rangeConsumed);
+				if((rangeConsumed += entity.length) == subRange[1])
+				{
+					rangeIndex++;
+					rangeConsumed = 0L;
+				}
+				chain[i] = entity;
+			}
+			Arrays.sort(chain, (e1, e2) -> Long.compare(e1.typeInFile.type.typeId, e2.typeInFile.type.typeId));
+
+			// assign the compacted target positions in the new order, relink the chain and rebuild the sub-runs.
+			subRanges.clear();
+			long position = targetPosition;
+			long runStart = -1L;
+			long runLen   =  0L;
+			for(int i = 0; i < length; i++)
+			{
+				final long source = chain[i].storagePosition;
+				if(source != runStart + runLen)
+				{
+					if(runLen != 0L)
+					{
+						subRanges.add(new long[]{runStart, runLen});
+					}
+					runStart = source;
+					runLen   = 0L    ;
+				}
+				runLen += chain[i].length;
+
+				chain[i].storagePosition = XTypes.to_int(position);
+				position += chain[i].length;
+				if(i > 0)
+				{
+					(chain[i].filePrev = chain[i - 1]).fileNext = chain[i];
+				}
+			}
+			subRanges.add(new long[]{runStart, runLen});
+
+			return chain;
+		}
+
 		private void appendBytesToHeadFile(
 			final StorageLiveDataFile.Default sourceFile     ,
 			final BulkList<long[]>            subRanges      ,
@@ -659,6 +748,32 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				headFile.increaseContentLength(totalLive);
 				headFile.registerMetaLength(this.chunkChecksumCalculator.chunkChecksumRecordLength());
 			}
+			else if(subRanges.size() > 1)
+			{
+				/*
+				 * No checksum to emit, but the chain has been clustered by type, so its sub-runs are no
+				 * single contiguous range anymore: concatenate them in target order and write the block.
+				 */
+				final int        totalLiveInt = X.checkArrayRange(totalLive)              ;
+				final ByteBuffer dataBuffer   = XMemory.allocateDirectNative(totalLiveInt);
+				try
+				{
+					for(final long[] subRange : subRanges)
+					{
+						dataBuffer.limit(totalLiveInt);
+						sourceFile.readBytes(dataBuffer, subRange[0], subRange[1]);
+					}
+					dataBuffer.flip();
+
+					this.writeStoreExactOrTruncate(headFile, X.ArrayView(dataBuffer), totalLive, headFileLength, "Data transfer");
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(dataBuffer);
+				}
+
+				headFile.increaseContentLength(totalLive);
+			}
 			else
 			{
 				// No checksum to emit: the chain was collected as a single contiguous run starting at
@@ -1319,6 +1434,54 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			}
 		}
 
+		final void loadDataRun(
+			final StorageLiveDataFile.Default dataFile,
+			final StorageEntity.Default[]     entities,
+			final int                         offset  ,
+			final int                         bound
+		)
+		{
+			// the run spans from the first entity's start to the last entity's end, including any gaps in between.
+			final long runStart  = entities[offset].storagePosition;
+			final long runLength = entities[bound - 1].storagePosition + entities[bound - 1].length - runStart;
+
+			final ByteBuffer dataBuffer = this.buffer(X.checkArrayRange(runLength));
+			try
+			{
+				dataFile.readBytes(dataBuffer, runStart);
+
+				final long runAddress = XMemory.getDirectByteBufferAddress(dataBuffer);
+				for(int i = offset; i < bound; i++)
+				{
+					// entities already completely cached within the run's range are skipped
+					if(entities[i].requiresFullDataLoad())
+					{
+						/*
+						 * Callers limit the loaded length to the cache's remaining capacity, so this only clears
+						 * anything for a single entity exceeding it, before any other entity has been loaded.
+						 */
+						this.entityCache.ensureCacheCapacity(entities[i].length);
+						this.entityCache.modifyUsedCacheSize(
+							entities[i],
+							entities[i].putFullCacheData(runAddress + entities[i].storagePosition - runStart)
+						);
+					}
+				}
+			}
+			catch(final StorageExceptionIoReading e)
+			{
+				throw e;
+			}
+			catch(final Exception e)
+			{
+				throw new StorageExceptionIoReading(e);
+			}
+			finally
+			{
+				this.clearBuffer(dataBuffer);
+			}
+		}
+
 		private void putLiveEntityData(
 			final StorageEntity.Default entity     ,
 			final long                         address    ,
@@ -1326,8 +1489,10 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 			final long                         cacheChange
 		)
 		{
+			// the entity's data is not cached at this point, so enforcing the maximum cache size cannot clear it.
+			this.entityCache.ensureCacheCapacity(cacheChange);
 			entity.putCacheData(address, length);
-			this.entityCache.modifyUsedCacheSize(cacheChange);
+			this.entityCache.modifyUsedCacheSize(entity, cacheChange);
 		}
 
 		@Override
@@ -2358,6 +2523,19 @@ public interface StorageFileManager extends StorageChannelResetablePart, Disposa
 				);
 			});
 		}
+
+		@Override
+		public StorageBackupSnapshot.ChannelEntry snapshotData(
+			final StorageBackupSnapshots snapshots,
+			final long                   timestamp,
+			final StorageBackupSnapshot  previous
+		)
+		{
+			final BulkList<StorageLiveDataFile> dataFiles = BulkList.New();
+			this.iterateStorageFiles(dataFiles::add);
+
+			return snapshots.snapshotChannel(timestamp, previous, this.channelIndex(), this.fileTransactions, dataFiles);
+		}
 		
 		private static StorageRawFileStatistics.FileStatistics createFileStatistics(final StorageLiveDataFile.Default file)
 		{
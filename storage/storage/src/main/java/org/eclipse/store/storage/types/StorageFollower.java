@@ -0,0 +1,903 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.math.XMath.notNegative;
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.eclipse.serializer.afs.types.AReadableFile;
+import org.eclipse.serializer.collections.ArrayView;
+import org.eclipse.serializer.collections.EqHashEnum;
+import org.eclipse.serializer.collections.EqHashTable;
+import org.eclipse.serializer.collections.XSort;
+import org.eclipse.serializer.collections.types.XGettingCollection;
+import org.eclipse.serializer.memory.XMemory;
+import org.eclipse.serializer.persistence.binary.types.Binary;
+import org.eclipse.serializer.persistence.binary.types.ChunksBuffer;
+import org.eclipse.serializer.persistence.types.PersistenceIdSet;
+import org.eclipse.serializer.persistence.types.PersistenceSource;
+import org.eclipse.serializer.util.BufferSizeProviderIncremental;
+import org.eclipse.serializer.util.X;
+import org.eclipse.store.storage.exceptions.StorageException;
+import org.eclipse.store.storage.exceptions.StorageExceptionConsistency;
+import org.eclipse.store.storage.exceptions.StorageExceptionIncompleteTransactionsEntry;
+import org.eclipse.store.storage.exceptions.StorageExceptionIoReading;
+import org.eclipse.store.storage.types.StorageTransactionsAnalysis.Logic;
+
+
+/**
+ * Read-only follower of a storage, which is written by another process.
+ * <p>
+ * The follower keeps its own index of the latest entity record per object id. It tails the transactions file
+ * of every channel and applies new entries incrementally: stores and transfers index the records appended to
+ * the head file, file creations index the new file's initial content and file deletions drop the records of the
+ * deleted file. Truncations and rewritten transactions files (see {@link StorageTransactionsFileCleaner}) cause
+ * the index to be rebuilt from the remaining data files.
+ * <p>
+ * Only committed data is visible, since the storage writes a transactions entry after the data it covers.
+ * Channels are tailed independently, so a store spanning multiple channels can become visible in one channel
+ * before the others.
+ * <p>
+ * Reads are served with bounded staleness: if the last update is older than the maximum staleness,
+ * the transactions files are tailed before the read. {@link #update()} can be called explicitly as well,
+ * e.g. periodically by a background thread.
+ * <p>
+ * The follower doesn't lock the storage and never writes to it. It can follow the storage directory of a
+ * running storage on the same host, or a shared or shipped copy of it.
+ * <p>
+ * Besides raw records, the follower provides a read-only {@link #source(long) persistence source}, which a
+ * persistence manager can load object graphs from, just like from the storage itself.
+ */
+public interface StorageFollower extends AutoCloseable
+{
+	/**
+	 * Tails the transactions files of all channels and applies the new entries to the index.
+	 *
+	 * @return the number of applied transactions entries
+	 */
+	public long update();
+
+	/**
+	 * Reads the latest record of an entity, including its header.
+	 * <p>
+	 * The returned buffer is a direct buffer owned by the caller. It can be released right away by
+	 * {@link XMemory#deallocateDirectByteBuffer(ByteBuffer)} once it is no longer needed, otherwise its memory
+	 * is reclaimed along with the buffer by the garbage collector.
+	 *
+	 * @param objectId the entity's object id
+	 * @return a buffer with the entity record, or <code>null</code> if no record is known for the object id
+	 */
+	public ByteBuffer readEntity(long objectId);
+
+	/**
+	 * Creates a read-only {@link PersistenceSource} serving the latest records known to this follower, e.g. for
+	 * the loader of a persistence manager which reads the followed storage. Requested entities without a known
+	 * record are skipped, like by the storage.
+	 *
+	 * @param rootTypeId the type id of the persistent roots, whose entities are read by
+	 *        {@link PersistenceSource#read()}, see {@link StorageRootTypeIdProvider}
+	 * @return a new persistence source reading from this follower
+	 */
+	public PersistenceSource<Binary> source(long rootTypeId);
+
+	/**
+	 * @return the number of indexed entities, including ones which are no longer reachable
+	 */
+	public long entityCount();
+
+	/**
+	 * @return the time of the last update in milliseconds, see {@link System#currentTimeMillis()}
+	 */
+	public long lastUpdateTime();
+
+	/**
+	 * @return the maximum age of the index in milliseconds, before a read updates it
+	 */
+	public long maximumStaleness();
+
+	@Override
+	public void close();
+
+
+
+	/**
+	 * @return the default maximum staleness of one second
+	 */
+	public static long defaultMaximumStaleness()
+	{
+		return 1000L;
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollower} with the
+	 * {@link #defaultMaximumStaleness()}.
+	 *
+	 * @param fileProvider the file provider of the followed storage
+	 * @param channelCount the channel count of the followed storage
+	 * @return a new {@link StorageFollower}
+	 */
+	public static StorageFollower New(
+		final StorageLiveFileProvider fileProvider,
+		final int                     channelCount
+	)
+	{
+		return New(fileProvider, channelCount, defaultMaximumStaleness());
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageFollower}.
+	 *
+	 * @param fileProvider the file provider of the followed storage
+	 * @param channelCount the channel count of the followed storage
+	 * @param maximumStaleness the maximum age of the index in milliseconds, before a read updates it
+	 * @return a new {@link StorageFollower}
+	 */
+	public static StorageFollower New(
+		final StorageLiveFileProvider fileProvider    ,
+		final int                     channelCount    ,
+		final long                    maximumStaleness
+	)
+	{
+		return new StorageFollower.Default(
+			notNull(fileProvider),
+			StorageChannelCountProvider.validateChannelCount(channelCount),
+			notNegative(maximumStaleness)
+		);
+	}
+
+
+	public final class Default implements StorageFollower
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageLiveFileProvider fileProvider     ;
+		private final Channel[]               channels         ;
+		private final int                     channelHashModulo;
+		private final long                    maximumStaleness ;
+		private volatile long                 lastUpdateTime   ;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageLiveFileProvider fileProvider    ,
+			final int                     channelCount    ,
+			final long                    maximumStaleness
+		)
+		{
+			super();
+			this.fileProvider      = fileProvider    ;
+			this.channelHashModulo = channelCount - 1;
+			this.maximumStaleness  = maximumStaleness;
+			this.channels          = new Channel[channelCount];
+			for(int i = 0; i < channelCount; i++)
+			{
+				this.channels[i] = new Channel(i);
+			}
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized long update()
+		{
+			// everything committed up to now is applied
+			final long time = System.currentTimeMillis();
+
+			long count = 0L;
+			for(final Channel channel : this.channels)
+			{
+				count += channel.update();
+			}
+			this.lastUpdateTime = time;
+
+			return count;
+		}
+
+		@Override
+		public final ByteBuffer readEntity(final long objectId)
+		{
+			if(System.currentTimeMillis() - this.lastUpdateTime >= this.maximumStaleness)
+			{
+				this.update();
+			}
+
+			final Channel channel = this.channels[StorageEntityCache.Default.oidChannelIndex(
+				objectId,
+				this.channelHashModulo
+			)];
+			for(int attempt = 0;; attempt++)
+			{
+				final AReadableFile file    ;
+				final long          position;
+				final int           length  ;
+				synchronized(this)
+				{
+					final int slot = channel.index.slot(objectId);
+					if(slot < 0)
+					{
+						return null;
+					}
+					file     = channel.dataFile(channel.index.fileNumbers[slot]);
+					position = channel.index.positions[slot];
+					length   = channel.index.lengths[slot];
+				}
+
+				final ByteBuffer buffer = XMemory.allocateDirectNative(length);
+				boolean          valid  = false;
+				try
+				{
+					file.readBytes(buffer, position, length);
+					buffer.flip();
+					valid = Binary.getEntityObjectIdRawValue(XMemory.getDirectByteBufferAddress(buffer)) == objectId;
+				}
+				catch(final RuntimeException e)
+				{
+					if(attempt > 0)
+					{
+						throw e;
+					}
+				}
+				finally
+				{
+					if(!valid)
+					{
+						XMemory.deallocateDirectByteBuffer(buffer);
+					}
+				}
+				if(valid)
+				{
+					return buffer;
+				}
+
+				// deleted or truncated by the storage meanwhile, the transactions entries show where it went
+				if(attempt > 0)
+				{
+					throw new StorageExceptionConsistency(
+						"Inconsistent record for object id " + objectId + " in channel " + channel.channelIndex
+					);
+				}
+				this.update();
+			}
+		}
+
+		@Override
+		public final PersistenceSource<Binary> source(final long rootTypeId)
+		{
+			return new Source(this, rootTypeId);
+		}
+
+		final void copyEntity(final long objectId, final ChunksBuffer chunks)
+		{
+			final ByteBuffer record = this.readEntity(objectId);
+			if(record == null)
+			{
+				return;
+			}
+			try
+			{
+				chunks.readMemory(XMemory.getDirectByteBufferAddress(record), record.remaining());
+			}
+			finally
+			{
+				XMemory.deallocateDirectByteBuffer(record);
+			}
+		}
+
+		final synchronized long[] objectIdsOfType(final long typeId)
+		{
+			final EqHashEnum<Long> objectIds = EqHashEnum.New();
+			for(final Channel channel : this.channels)
+			{
+				channel.index.collectObjectIds(typeId, objectIds);
+			}
+
+			final long[] result = new long[X.checkArrayRange(objectIds.size())];
+			int i = 0;
+			for(final Long objectId : objectIds)
+			{
+				result[i++] = objectId;
+			}
+			return result;
+		}
+
+		@Override
+		public final synchronized long entityCount()
+		{
+			long count = 0L;
+			for(final Channel channel : this.channels)
+			{
+				count += channel.index.size;
+			}
+			return count;
+		}
+
+		@Override
+		public final long lastUpdateTime()
+		{
+			return this.lastUpdateTime;
+		}
+
+		@Override
+		public final long maximumStaleness()
+		{
+			return this.maximumStaleness;
+		}
+
+		@Override
+		public final synchronized void close()
+		{
+			for(final Channel channel : this.channels)
+			{
+				channel.reset();
+			}
+		}
+
+
+
+		/**
+		 * Read-only persistence source, which copies the records of the requested entities into a chunks buffer.
+		 * Writing is never possible, since the follower has no access to the storage's writing side.
+		 */
+		static final class Source implements PersistenceSource<Binary>
+		{
+			private final Default follower  ;
+			private final long    rootTypeId;
+
+			Source(final Default follower, final long rootTypeId)
+			{
+				super();
+				this.follower   = follower  ;
+				this.rootTypeId = rootTypeId;
+			}
+
+			@Override
+			public XGettingCollection<? extends Binary> read()
+			{
+				this.updateIfStale();
+
+				final ChunksBuffer chunks = createChunksBuffer();
+				for(final long objectId : this.follower.objectIdsOfType(this.rootTypeId))
+				{
+					this.follower.copyEntity(objectId, chunks);
+				}
+				return new ArrayView<>(new Binary[]{chunks.complete()});
+			}
+
+			@Override
+			public XGettingCollection<? extends Binary> readByObjectIds(final PersistenceIdSet[] oids)
+			{
+				this.updateIfStale();
+
+				final ChunksBuffer chunks = createChunksBuffer();
+				for(final PersistenceIdSet channelOids : oids)
+				{
+					if(channelOids != null)
+					{
+						channelOids.iterate(objectId -> this.follower.copyEntity(objectId, chunks));
+					}
+				}
+				return new ArrayView<>(new Binary[]{chunks.complete()});
+			}
+
+			// one update for the whole request instead of one per entity
+			private void updateIfStale()
+			{
+				if(System.currentTimeMillis() - this.follower.lastUpdateTime() >= this.follower.maximumStaleness())
+				{
+					this.follower.update();
+				}
+			}
+
+			private static ChunksBuffer createChunksBuffer()
+			{
+				return ChunksBuffer.New(new ChunksBuffer[1], BufferSizeProviderIncremental.New());
+			}
+
+		}
+
+		/**
+		 * State of one followed channel: its transactions file position, the committed lengths of its data files
+		 * and the index of its entities.
+		 */
+		final class Channel implements StorageTransactionsAnalysis.EntryIterator
+		{
+			///////////////////////////////////////////////////////////////////////////
+			// instance fields //
+			////////////////////
+
+			final int                                channelIndex                            ;
+			final EntityIndex                        index        = new EntityIndex()        ;
+			final EqHashTable<Long, Long>            fileLengths  = EqHashTable.New()        ;
+			final EqHashTable<Long, AReadableFile>   dataFiles    = EqHashTable.New()        ;
+			final EqHashEnum<Long>                   deletedFiles = EqHashEnum.New()         ;
+			      long                               position                                ;
+			      long                               firstTimestamp                          ;
+			      long                               headFileNumber = -1                     ;
+			      long                               entryCount                              ;
+			      boolean                            rebuilding                              ;
+			      boolean                            rebuildRequired                         ;
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// constructors //
+			/////////////////
+
+			Channel(final int channelIndex)
+			{
+				super();
+				this.channelIndex = channelIndex;
+			}
+
+
+
+			///////////////////////////////////////////////////////////////////////////
+			// methods //
+			////////////
+
+			final long update()
+			{
+				final AReadableFile file = Default.this.fileProvider.provideTransactionsFile(this.channelIndex)
+					.useReading()
+				;
+				try
+				{
+					if(!file.exists())
+					{
+						return 0L;
+					}
+
+					final long size = file.size();
+					if(this.position > 0L && (size < this.position || readFirstTimestamp(file) != this.firstTimestamp))
+					{
+						// compacted or replaced
+						this.reset();
+					}
+
+					final long count = this.tail(file, size);
+					if(!this.rebuildRequired)
+					{
+						return count;
+					}
+
+					this.reset();
+					return count + this.tail(file, file.size());
+				}
+				finally
+				{
+					file.close();
+				}
+			}
+
+			private long tail(final AReadableFile file, final long size)
+			{
+				this.entryCount      = 0L;
+				this.rebuilding      = this.position == 0L;
+				this.rebuildRequired = false;
+				if(this.rebuilding && size > 0L)
+				{
+					this.firstTimestamp = readFirstTimestamp(file);
+				}
+
+				long end = size;
+				try
+				{
+					Logic.processInputFile(file, this.position, size - this.position, this);
+				}
+				catch(final StorageExceptionIncompleteTransactionsEntry e)
+				{
+					// the entry is being appended, it is applied by the next update
+					end = e.position();
+				}
+				this.position = end;
+
+				if(this.rebuilding)
+				{
+					this.indexAllFiles();
+				}
+				else if(!this.deletedFiles.isEmpty())
+				{
+					this.index.removeFiles(this.deletedFiles);
+				}
+				this.deletedFiles.clear();
+
+				return this.entryCount;
+			}
+
+			private static long readFirstTimestamp(final AReadableFile file)
+			{
+				final ByteBuffer buffer = XMemory.allocateDirectNative(Logic.LENGTH_COMMON);
+				try
+				{
+					if(file.size() < Logic.LENGTH_COMMON)
+					{
+						return 0L;
+					}
+					file.readBytes(buffer, 0L, Logic.LENGTH_COMMON);
+					return Logic.getEntryTimestamp(XMemory.getDirectByteBufferAddress(buffer));
+				}
+				finally
+				{
+					XMemory.deallocateDirectByteBuffer(buffer);
+				}
+			}
+
+			@Override
+			public boolean accept(final long address, final long availableEntryLength)
+			{
+				final int entryLength = Logic.getEntryLength(address);
+				if(entryLength < 0)
+				{
+					// gap
+					return true;
+				}
+				if(availableEntryLength < entryLength)
+				{
+					return false;
+				}
+
+				switch(Logic.getEntryType(address))
+				{
+					case Logic.TYPE_FILE_CREATION:
+					{
+						this.fileCreated(Logic.getFileNumber(address), Logic.getFileLength(address));
+						break;
+					}
+					case Logic.TYPE_STORE:
+					case Logic.TYPE_TRANSFER:
+					{
+						this.headFileGrown(Logic.getFileLength(address));
+						break;
+					}
+					case Logic.TYPE_FILE_TRUNCATION:
+					{
+						this.headFileTruncated(Logic.getFileLength(address));
+						break;
+					}
+					case Logic.TYPE_FILE_DELETION:
+					{
+						this.fileDeleted(Logic.getFileNumber(address));
+						break;
+					}
+					default:
+					{
+						throw new StorageException("Unknown transactions entry type: " + Logic.getEntryType(address));
+					}
+				}
+				this.entryCount++;
+
+				return true;
+			}
+
+			private void fileCreated(final long fileNumber, final long length)
+			{
+				this.fileLengths.put(fileNumber, length);
+				this.headFileNumber = fileNumber;
+				if(!this.rebuilding)
+				{
+					// a rewritten transactions file creates existing files with their whole content
+					this.indexRange(fileNumber, 0L, length);
+				}
+			}
+
+			private void headFileGrown(final long length)
+			{
+				final Long oldLength = this.fileLengths.get(this.headFileNumber);
+				if(oldLength == null)
+				{
+					throw new StorageExceptionConsistency(
+						this.channelIndex + " No head file for store or transfer to length " + length
+					);
+				}
+				this.fileLengths.put(this.headFileNumber, length);
+				if(!this.rebuilding && length > oldLength)
+				{
+					this.indexRange(this.headFileNumber, oldLength, length - oldLength);
+				}
+			}
+
+			private void headFileTruncated(final long length)
+			{
+				this.fileLengths.put(this.headFileNumber, length);
+
+				// rolled back records may have replaced records which are no longer indexed
+				this.rebuildRequired |= !this.rebuilding;
+			}
+
+			private void fileDeleted(final long fileNumber)
+			{
+				this.fileLengths.removeFor(fileNumber);
+				this.closeDataFile(fileNumber);
+				if(!this.rebuilding)
+				{
+					this.deletedFiles.add(fileNumber);
+				}
+			}
+
+			/*
+			 * Newer records are located in files with higher numbers or at higher positions in the same file,
+			 * since transfers only copy live records to the head file.
+			 */
+			private void indexAllFiles()
+			{
+				final EqHashTable<Long, Long> files = EqHashTable.New(this.fileLengths);
+				files.keys().sort(XSort::compare);
+				files.iterate(e ->
+					this.indexRange(e.key(), 0L, e.value())
+				);
+			}
+
+			private void indexRange(final long fileNumber, final long start, final long length)
+			{
+				if(length == 0L || this.rebuildRequired)
+				{
+					return;
+				}
+
+				final AReadableFile file = this.dataFile(fileNumber);
+				if(!file.exists())
+				{
+					// deleted meanwhile, the live records have been transferred, see later entries
+					return;
+				}
+				if(start + length > file.size())
+				{
+					// truncated meanwhile, the truncation entry follows
+					this.rebuildRequired = !this.rebuilding;
+					return;
+				}
+
+				try
+				{
+					StorageDataFileItemIterator.Default.processInputFile(
+						file,
+						StorageDataFileItemIterator.BufferProvider.New(),
+						new Indexer(this.index, fileNumber, start),
+						start,
+						length
+					);
+				}
+				catch(final IOException e)
+				{
+					throw new StorageExceptionIoReading(e);
+				}
+			}
+
+			final AReadableFile dataFile(final long fileNumber)
+			{
+				AReadableFile file = this.dataFiles.get(fileNumber);
+				if(file == null)
+				{
+					file = Default.this.fileProvider.provideDataFile(this.channelIndex, fileNumber).useReading();
+					this.dataFiles.put(fileNumber, file);
+				}
+				return file;
+			}
+
+			private void closeDataFile(final long fileNumber)
+			{
+				final AReadableFile file = this.dataFiles.get(fileNumber);
+				if(file != null)
+				{
+					this.dataFiles.removeFor(fileNumber);
+					file.close();
+				}
+			}
+
+			final void reset()
+			{
+				this.dataFiles.values().iterate(AReadableFile::close);
+				this.dataFiles.clear();
+				this.fileLengths.clear();
+				this.deletedFiles.clear();
+				this.index.clear();
+				this.position       = 0L;
+				this.firstTimestamp = 0L;
+				this.headFileNumber = -1;
+			}
+
+		}
+
+		/**
+		 * Indexes the entity records of a data file range, skipping gaps and meta records.
+		 */
+		static final class Indexer implements StorageDataFileItemIterator.ItemProcessor
+		{
+			private final EntityIndex index     ;
+			private final long        fileNumber;
+			private       long        position  ;
+
+			Indexer(final EntityIndex index, final long fileNumber, final long position)
+			{
+				super();
+				this.index      = index     ;
+				this.fileNumber = fileNumber;
+				this.position   = position  ;
+			}
+
+			@Override
+			public boolean accept(final long address, final long remainingBufferedData)
+			{
+				final long length = Binary.getEntityLengthRawValue(address);
+				if(length < 0)
+				{
+					this.position -= length;
+					return true;
+				}
+
+				// only the header is required
+				if(remainingBufferedData < Binary.entityHeaderLength())
+				{
+					return false;
+				}
+
+				this.index.put(
+					Binary.getEntityObjectIdRawValue(address),
+					Binary.getEntityTypeIdRawValue(address),
+					this.fileNumber,
+					this.position,
+					X.checkArrayRange(length)
+				);
+				this.position += length;
+
+				return true;
+			}
+
+		}
+
+		/**
+		 * Open addressing hash table of the entity record locations by object id, in primitive arrays.
+		 */
+		static final class EntityIndex
+		{
+			private static final int INITIAL_CAPACITY = 1024;
+
+			long[] objectIds  ;
+			long[] typeIds    ;
+			long[] fileNumbers;
+			long[] positions  ;
+			int[]  lengths    ;
+			int    size       ;
+
+			EntityIndex()
+			{
+				super();
+				this.allocate(INITIAL_CAPACITY);
+			}
+
+			private void allocate(final int capacity)
+			{
+				this.objectIds   = new long[capacity];
+				this.typeIds     = new long[capacity];
+				this.fileNumbers = new long[capacity];
+				this.positions   = new long[capacity];
+				this.lengths     = new int [capacity];
+				this.size        = 0;
+			}
+
+			// object ids of a channel share their lowest bits, so they have to be spread
+			private static int hash(final long objectId, final int modulo)
+			{
+				return (int)(objectId * 0x9E3779B97F4A7C15L >>> 32) & modulo;
+			}
+
+			final int slot(final long objectId)
+			{
+				final int modulo = this.objectIds.length - 1;
+				for(int i = hash(objectId, modulo);; i = i + 1 & modulo)
+				{
+					if(this.objectIds[i] == objectId)
+					{
+						return i;
+					}
+					if(this.objectIds[i] == 0L)
+					{
+						return -1;
+					}
+				}
+			}
+
+			final void put(
+				final long objectId  ,
+				final long typeId    ,
+				final long fileNumber,
+				final long position  ,
+				final int  length
+			)
+			{
+				final int modulo = this.objectIds.length - 1;
+				int i = hash(objectId, modulo);
+				while(this.objectIds[i] != 0L && this.objectIds[i] != objectId)
+				{
+					i = i + 1 & modulo;
+				}
+				if(this.objectIds[i] == 0L)
+				{
+					this.objectIds[i] = objectId;
+					if(++this.size > this.objectIds.length / 4 * 3)
+					{
+						this.typeIds    [i] = typeId    ;
+						this.fileNumbers[i] = fileNumber;
+						this.positions  [i] = position  ;
+						this.lengths    [i] = length    ;
+						this.rebuild(this.objectIds.length << 1, null);
+						return;
+					}
+				}
+				this.typeIds    [i] = typeId    ;
+				this.fileNumbers[i] = fileNumber;
+				this.positions  [i] = position  ;
+				this.lengths    [i] = length    ;
+			}
+
+			final void removeFiles(final EqHashEnum<Long> fileNumbers)
+			{
+				this.rebuild(this.objectIds.length, fileNumbers);
+			}
+
+			private void rebuild(final int capacity, final EqHashEnum<Long> removedFileNumbers)
+			{
+				final long[] objectIds   = this.objectIds  ;
+				final long[] typeIds     = this.typeIds    ;
+				final long[] fileNumbers = this.fileNumbers;
+				final long[] positions   = this.positions  ;
+				final int[]  lengths     = this.lengths    ;
+
+				this.allocate(capacity);
+				for(int i = 0; i < objectIds.length; i++)
+				{
+					if(objectIds[i] != 0L
+						&& (removedFileNumbers == null || !removedFileNumbers.contains(fileNumbers[i]))
+					)
+					{
+						this.put(objectIds[i], typeIds[i], fileNumbers[i], positions[i], lengths[i]);
+					}
+				}
+			}
+
+			final void collectObjectIds(final long typeId, final EqHashEnum<Long> objectIds)
+			{
+				for(int i = 0; i < this.objectIds.length; i++)
+				{
+					if(this.objectIds[i] != 0L && this.typeIds[i] == typeId)
+					{
+						objectIds.add(this.objectIds[i]);
+					}
+				}
+			}
+
+			final void clear()
+			{
+				this.allocate(INITIAL_CAPACITY);
+			}
+
+		}
+
+	}
+
+}
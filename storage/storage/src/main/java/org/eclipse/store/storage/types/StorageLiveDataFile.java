@@ -445,6 +445,19 @@ extends StorageDataFile, StorageLiveChannelFile<StorageLiveDataFile>, StorageCre
 			this.parent.loadData(this, entity, length, cacheChange);
 		}
 		
+		/**
+		 * Loads the complete data of the passed entities, which must be stored in this file in ascending
+		 * order of their storage positions, with a single read covering all of them.
+		 */
+		public final void loadEntityDataRun(
+			final StorageEntity.Default[] entities,
+			final int                     offset  ,
+			final int                     bound
+		)
+		{
+			this.parent.loadDataRun(this, entities, offset, bound);
+		}
+		
 		@Override
 		public boolean isHeadFile()
 		{
@@ -0,0 +1,600 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import static org.eclipse.serializer.util.X.notNull;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+
+import org.eclipse.serializer.util.logging.Logging;
+import org.slf4j.Logger;
+
+/**
+ * Shrinks the entity cache as soon as the memory of the JVM or of its container runs short, instead of
+ * waiting for the housekeeping to clear enough cached entity data.
+ * <p>
+ * Two sources of memory pressure are observed:
+ * <ul>
+ * <li>The heap memory pools' collection usage thresholds: the JVM notifies when the memory still used
+ * after a garbage collection exceeds the configured share of a pool's maximum.
+ * Thresholds are only set for pools that have none, yet, and are reset on {@link #close()}.</li>
+ * <li>The memory limit of the cgroup (v1 or v2) the process runs in, polled periodically. The working set,
+ * i.e. the usage without the reclaimable inactive file cache, is compared to the configured share of the limit.</li>
+ * </ul>
+ * On pressure, a cache check with a tightened {@link StorageEntityCacheEvaluator} is issued right away.
+ * Further pressure signals are ignored while such a check is running.
+ * <p>
+ * Note that the entity cache's data is off-heap memory, so the cache is shrunk to make room for the heap
+ * or the process as a whole. For a hard limit of the cache itself, see {@link StorageEntityCacheEvaluator#maximumCacheSize()}.
+ */
+public interface StorageMemoryPressureHandler extends AutoCloseable
+{
+	/**
+	 * Starts observing the memory usage.
+	 *
+	 * @return this
+	 */
+	public StorageMemoryPressureHandler start();
+
+	public boolean isRunning();
+
+	/**
+	 * Issues the cache check with the tightened evaluator right away, independent of the memory usage.
+	 */
+	public void handleMemoryPressure();
+
+	/**
+	 * @return the number of cache checks issued because of memory pressure so far.
+	 */
+	public long pressureCount();
+
+	/**
+	 * Stops observing the memory usage.
+	 */
+	@Override
+	public void close();
+
+
+
+	public interface Defaults
+	{
+		public static double defaultHeapUsageRatio()
+		{
+			return 0.85;
+		}
+
+		public static double defaultContainerUsageRatio()
+		{
+			return 0.9;
+		}
+
+		public static long defaultPollingIntervalMs()
+		{
+			return 1_000;
+		}
+
+		public static long defaultCacheCheckTimeBudgetNs()
+		{
+			// 1 second
+			return 1_000_000_000;
+		}
+
+		public static StorageEntityCacheEvaluator defaultPressureEvaluator()
+		{
+			// only entities read within the last 10 seconds stay, with a tenth of the default threshold
+			return StorageEntityCacheEvaluator.New(
+				10_000,
+				StorageEntityCacheEvaluator.Defaults.defaultCacheThreshold() / 10
+			);
+		}
+	}
+
+	public interface Validation
+	{
+		public static void validateParameters(
+			final double heapUsageRatio        ,
+			final double containerUsageRatio   ,
+			final long   pollingIntervalMs     ,
+			final long   cacheCheckTimeBudgetNs
+		)
+			throws IllegalArgumentException
+		{
+			validateRatio("heap usage ratio", heapUsageRatio);
+			validateRatio("container usage ratio", containerUsageRatio);
+			if(pollingIntervalMs <= 0)
+			{
+				throw new IllegalArgumentException("Polling interval must be greater than 0: " + pollingIntervalMs);
+			}
+			if(cacheCheckTimeBudgetNs <= 0)
+			{
+				throw new IllegalArgumentException(
+					"Cache check time budget must be greater than 0: " + cacheCheckTimeBudgetNs
+				);
+			}
+		}
+
+		private static void validateRatio(final String name, final double ratio)
+		{
+			if(!(ratio > 0.0 && ratio <= 1.0))
+			{
+				throw new IllegalArgumentException("Specified " + name + " of " + ratio + " is not in ]0.0; 1.0].");
+			}
+		}
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageMemoryPressureHandler} instance for the passed
+	 * connection, using the default values defined by {@link StorageMemoryPressureHandler.Defaults} and the
+	 * memory limit of the detected cgroup, if any.
+	 *
+	 * @param connection the connection to issue the cache checks with.
+	 *
+	 * @return a new, not yet started {@link StorageMemoryPressureHandler} instance.
+	 */
+	public static StorageMemoryPressureHandler New(final StorageConnection connection)
+	{
+		return New(
+			connection                                ,
+			Defaults.defaultPressureEvaluator()       ,
+			Defaults.defaultHeapUsageRatio()          ,
+			Defaults.defaultContainerUsageRatio()     ,
+			Defaults.defaultPollingIntervalMs()       ,
+			Defaults.defaultCacheCheckTimeBudgetNs()  ,
+			ContainerMemory.detect()
+		);
+	}
+
+	/**
+	 * Pseudo-constructor method to create a new {@link StorageMemoryPressureHandler} instance using the passed values.
+	 *
+	 * @param connection             the connection to issue the cache checks with.
+	 * @param pressureEvaluator      the tightened evaluator to be used for the cache checks on pressure.
+	 * @param heapUsageRatio         the share of a heap memory pool's maximum in ]0.0; 1.0] that is considered
+	 *                               pressure if still used after a garbage collection.
+	 * @param containerUsageRatio    the share of the cgroup's memory limit in ]0.0; 1.0] that is considered pressure.
+	 * @param pollingIntervalMs      the interval in milliseconds to check the cgroup's memory usage.
+	 * @param cacheCheckTimeBudgetNs the time budget in nanoseconds of a cache check on pressure.
+	 * @param containerMemory        the cgroup's memory to be observed or {@code null} for none.
+	 *
+	 * @return a new, not yet started {@link StorageMemoryPressureHandler} instance.
+	 *
+	 * @throws IllegalArgumentException if any of the passed values is invalid.
+	 */
+	public static StorageMemoryPressureHandler New(
+		final StorageConnection           connection            ,
+		final StorageEntityCacheEvaluator pressureEvaluator     ,
+		final double                      heapUsageRatio        ,
+		final double                      containerUsageRatio   ,
+		final long                        pollingIntervalMs     ,
+		final long                        cacheCheckTimeBudgetNs,
+		final ContainerMemory             containerMemory
+	)
+	{
+		Validation.validateParameters(heapUsageRatio, containerUsageRatio, pollingIntervalMs, cacheCheckTimeBudgetNs);
+
+		return new StorageMemoryPressureHandler.Default(
+			notNull(connection)        ,
+			notNull(pressureEvaluator) ,
+			heapUsageRatio             ,
+			containerUsageRatio        ,
+			pollingIntervalMs          ,
+			cacheCheckTimeBudgetNs     ,
+			containerMemory
+		);
+	}
+
+	public final class Default implements StorageMemoryPressureHandler
+	{
+		private final static Logger logger = Logging.getLogger(StorageMemoryPressureHandler.class);
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageConnection           connection            ;
+		private final StorageEntityCacheEvaluator pressureEvaluator     ;
+		private final double                      heapUsageRatio        ;
+		private final double                      containerUsageRatio   ;
+		private final long                        pollingIntervalMs     ;
+		private final long                        cacheCheckTimeBudgetNs;
+		private final ContainerMemory             containerMemory       ;
+
+		private final List<MemoryPoolMXBean> thresholdPools = new ArrayList<>();
+		private final NotificationListener   listener       = this::handleNotification;
+		private final AtomicBoolean          isChecking     = new AtomicBoolean();
+		private final AtomicLong             pressureCount  = new AtomicLong();
+
+		private ScheduledExecutorService executor;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final StorageConnection           connection            ,
+			final StorageEntityCacheEvaluator pressureEvaluator     ,
+			final double                      heapUsageRatio        ,
+			final double                      containerUsageRatio   ,
+			final long                        pollingIntervalMs     ,
+			final long                        cacheCheckTimeBudgetNs,
+			final ContainerMemory             containerMemory
+		)
+		{
+			super();
+			this.connection             = connection            ;
+			this.pressureEvaluator      = pressureEvaluator     ;
+			this.heapUsageRatio         = heapUsageRatio        ;
+			this.containerUsageRatio    = containerUsageRatio   ;
+			this.pollingIntervalMs      = pollingIntervalMs     ;
+			this.cacheCheckTimeBudgetNs = cacheCheckTimeBudgetNs;
+			this.containerMemory        = containerMemory       ;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		public final synchronized StorageMemoryPressureHandler start()
+		{
+			if(this.executor != null)
+			{
+				return this;
+			}
+
+			this.executor = Executors.newSingleThreadScheduledExecutor(runnable ->
+			{
+				final Thread thread = new Thread(runnable, StorageMemoryPressureHandler.class.getSimpleName());
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			this.registerHeapThresholds();
+
+			if(this.containerMemory != null)
+			{
+				this.executor.scheduleWithFixedDelay(
+					this::checkContainerMemory,
+					this.pollingIntervalMs    ,
+					this.pollingIntervalMs    ,
+					TimeUnit.MILLISECONDS
+				);
+			}
+
+			return this;
+		}
+
+		@Override
+		public final synchronized boolean isRunning()
+		{
+			return this.executor != null;
+		}
+
+		@Override
+		public final long pressureCount()
+		{
+			return this.pressureCount.get();
+		}
+
+		private void registerHeapThresholds()
+		{
+			for(final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			{
+				// the usage after a collection reflects the live data, not the garbage waiting to be collected.
+				if(pool.getType() != MemoryType.HEAP
+				|| !pool.isCollectionUsageThresholdSupported()
+				|| pool.getUsage().getMax() <= 0
+				|| pool.getCollectionUsageThreshold() != 0
+				)
+				{
+					continue;
+				}
+
+				pool.setCollectionUsageThreshold((long)(pool.getUsage().getMax() * this.heapUsageRatio));
+				this.thresholdPools.add(pool);
+			}
+
+			if(!this.thresholdPools.isEmpty())
+			{
+				((NotificationEmitter)ManagementFactory.getMemoryMXBean()).addNotificationListener(
+					this.listener,
+					(NotificationFilter)n -> MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(n.getType()),
+					null
+				);
+			}
+		}
+
+		private void unregisterHeapThresholds()
+		{
+			if(this.thresholdPools.isEmpty())
+			{
+				return;
+			}
+
+			try
+			{
+				((NotificationEmitter)ManagementFactory.getMemoryMXBean()).removeNotificationListener(this.listener);
+			}
+			catch(final ListenerNotFoundException e)
+			{
+				// already removed, nothing to do
+			}
+			for(final MemoryPoolMXBean pool : this.thresholdPools)
+			{
+				pool.setCollectionUsageThreshold(0);
+			}
+			this.thresholdPools.clear();
+		}
+
+		private void handleNotification(final Notification notification, final Object handback)
+		{
+			// the notification thread must not be blocked by the cache check
+			this.issueAsynchronously();
+		}
+
+		private synchronized void issueAsynchronously()
+		{
+			if(this.executor == null)
+			{
+				return;
+			}
+			try
+			{
+				this.executor.execute(this::handleMemoryPressure);
+			}
+			catch(final RejectedExecutionException e)
+			{
+				// closed concurrently, nothing to do
+			}
+		}
+
+		private void checkContainerMemory()
+		{
+			final long limit      = this.containerMemory.limit();
+			final long workingSet = this.containerMemory.workingSet();
+			if(limit > 0 && workingSet > limit * this.containerUsageRatio)
+			{
+				logger.debug("Container memory working set of {} bytes exceeds the limit of {} bytes.", workingSet, limit);
+				this.handleMemoryPressure();
+			}
+		}
+
+		@Override
+		public final void handleMemoryPressure()
+		{
+			// signals while a check is running are covered by that check
+			if(!this.isChecking.compareAndSet(false, true))
+			{
+				return;
+			}
+
+			try
+			{
+				this.pressureCount.incrementAndGet();
+				logger.info("Memory pressure, issuing entity cache check.");
+				this.connection.issueCacheCheck(this.cacheCheckTimeBudgetNs, this.pressureEvaluator);
+			}
+			catch(final RuntimeException e)
+			{
+				// must not end the periodic checking, e.g. because the storage is being shut down.
+				logger.warn("Entity cache check on memory pressure failed.", e);
+			}
+			finally
+			{
+				this.isChecking.set(false);
+			}
+		}
+
+		@Override
+		public final synchronized void close()
+		{
+			if(this.executor == null)
+			{
+				return;
+			}
+
+			this.unregisterHeapThresholds();
+			this.executor.shutdown();
+			this.executor = null;
+		}
+
+	}
+
+	/**
+	 * The memory limit and usage of a cgroup, read from the cgroup file system.
+	 * Both cgroup v2 and v1 are supported.
+	 */
+	public final class ContainerMemory
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// constants //
+		//////////////
+
+		// cgroup v1 reports "no limit" as a huge value, page aligned Long.MAX_VALUE.
+		private static final long V1_UNLIMITED = 1L << 62;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// static methods //
+		///////////////////
+
+		/**
+		 * Detects the memory cgroup of the process, as seen in the default location {@code /sys/fs/cgroup}.
+		 *
+		 * @return the detected cgroup's memory or {@code null} if there is none.
+		 */
+		public static ContainerMemory detect()
+		{
+			return detect(Paths.get("/sys/fs/cgroup"));
+		}
+
+		/**
+		 * Detects the memory cgroup files in the passed cgroup file system root.
+		 *
+		 * @param cgroupRoot the root directory of the cgroup file system.
+		 *
+		 * @return the detected cgroup's memory or {@code null} if there is none.
+		 */
+		public static ContainerMemory detect(final Path cgroupRoot)
+		{
+			if(Files.isRegularFile(cgroupRoot.resolve("memory.max")))
+			{
+				return new ContainerMemory(
+					cgroupRoot.resolve("memory.max")    ,
+					cgroupRoot.resolve("memory.current"),
+					cgroupRoot.resolve("memory.stat")   ,
+					"inactive_file"
+				);
+			}
+
+			final Path v1 = cgroupRoot.resolve("memory");
+			if(Files.isRegularFile(v1.resolve("memory.limit_in_bytes")))
+			{
+				return new ContainerMemory(
+					v1.resolve("memory.limit_in_bytes"),
+					v1.resolve("memory.usage_in_bytes"),
+					v1.resolve("memory.stat")          ,
+					"total_inactive_file"
+				);
+			}
+
+			return null;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final Path   limitFile      ;
+		private final Path   usageFile      ;
+		private final Path   statFile       ;
+		private final String inactiveFileKey;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		ContainerMemory(
+			final Path   limitFile      ,
+			final Path   usageFile      ,
+			final Path   statFile       ,
+			final String inactiveFileKey
+		)
+		{
+			super();
+			this.limitFile       = limitFile      ;
+			this.usageFile       = usageFile      ;
+			this.statFile        = statFile       ;
+			this.inactiveFileKey = inactiveFileKey;
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		/**
+		 * @return the memory limit in bytes or -1 if there is none or it cannot be read.
+		 */
+		public long limit()
+		{
+			final long limit = readValue(this.limitFile);
+
+			return limit <= 0 || limit >= V1_UNLIMITED ? -1 : limit;
+		}
+
+		/**
+		 * @return the used memory without the inactive file cache in bytes or -1 if it cannot be read.
+		 */
+		public long workingSet()
+		{
+			final long usage = readValue(this.usageFile);
+			if(usage < 0)
+			{
+				return -1;
+			}
+
+			return Math.max(0, usage - Math.max(0, this.readInactiveFile()));
+		}
+
+		private long readInactiveFile()
+		{
+			try
+			{
+				for(final String line : Files.readAllLines(this.statFile))
+				{
+					if(line.startsWith(this.inactiveFileKey + ' '))
+					{
+						return Long.parseLong(line.substring(this.inactiveFileKey.length() + 1).trim());
+					}
+				}
+			}
+			catch(final IOException | NumberFormatException e)
+			{
+				// not available, handled as no inactive file cache
+			}
+
+			return -1;
+		}
+
+		private static long readValue(final Path file)
+		{
+			try
+			{
+				final String value = Files.readString(file).trim();
+
+				// cgroup v2 reports "no limit" as "max"
+				return "max".equals(value) ? -1 : Long.parseLong(value);
+			}
+			catch(final IOException | NumberFormatException e)
+			{
+				return -1;
+			}
+		}
+
+	}
+
+}
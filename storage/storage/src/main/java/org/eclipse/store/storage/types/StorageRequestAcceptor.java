@@ -106,6 +106,8 @@ public interface StorageRequestAcceptor
 	public void exportChannels(StorageLiveFileProvider fileProvider, boolean performGarbageCollection)
 		throws InterruptedException;
 
+	public StorageBackupSnapshot createSnapshotBackup(StorageBackupSnapshots snapshots) throws InterruptedException;
+
 	public void importFiles(XGettingEnum<AFile> importFiles) throws InterruptedException;
 	
 	public void importData(XGettingEnum<ByteBuffer> importFiles) throws InterruptedException;
@@ -305,6 +307,13 @@ public interface StorageRequestAcceptor
 			waitOnTask(this.taskBroker.enqueueExportChannelsTask(fileProvider, performGarbageCollection));
 		}
 
+		@Override
+		public final StorageBackupSnapshot createSnapshotBackup(final StorageBackupSnapshots snapshots)
+			throws InterruptedException
+		{
+			return waitOnTask(this.taskBroker.enqueueSnapshotBackupTask(snapshots)).result();
+		}
+
 		@Override
 		public StorageRawFileStatistics createStatistics() throws InterruptedException
 		{
@@ -75,6 +75,12 @@ public interface StorageRequestTaskCreator
 		StorageOperationController operationController
 	);
 
+	public StorageRequestTaskSnapshotBackup createTaskSnapshotBackup(
+		int                        channelCount       ,
+		StorageBackupSnapshots     snapshots          ,
+		StorageOperationController operationController
+	);
+
 	public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(
 		int                        channelCount       ,
 		StorageOperationController operationController
@@ -296,6 +302,21 @@ public interface StorageRequestTaskCreator
 			);
 		}
 
+		@Override
+		public StorageRequestTaskSnapshotBackup createTaskSnapshotBackup(
+			final int                        channelCount       ,
+			final StorageBackupSnapshots     snapshots          ,
+			final StorageOperationController operationController
+		)
+		{
+			return new StorageRequestTaskSnapshotBackup.Default(
+				this.timestampProvider.currentNanoTimestamp(),
+				channelCount,
+				snapshots,
+				operationController
+			);
+		}
+
 		@Override
 		public StorageRequestTaskCreateStatistics createCreateRawFileStatisticsTask(
 			final int                        channelCount       ,
@@ -14,7 +14,10 @@ package org.eclipse.store.storage.types;
  * #L%
  */
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.serializer.collections.XArrays;
 import org.eclipse.serializer.collections.types.XGettingEnum;
@@ -56,9 +59,16 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 		// starting point for the channels to process
 		private final StorageImportSource.Abstract[] sourceTails;
 
+		// sources are read in parallel, but published to the channels strictly in their order
+		private final    int           readerCount  ;
+		private final    AtomicInteger nextSource    = new AtomicInteger();
+		private final    AtomicInteger activeReaders = new AtomicInteger();
+		private final    Object        publishLock   = new Object();
+		private          int           publishedSourceCount;
+
 		private final    AtomicBoolean complete  = new AtomicBoolean();
 		private volatile long          maxObjectId;
-		private          Thread        readThread ;
+		private          Thread[]      readThreads;
 		private volatile Throwable     readProblem;
 		// whether any channel entered the import commit phase; a channel taking fail() after that
 		// is a succeed/fail split the succeed() catch cannot see - it must disrupt (see fail()).
@@ -78,6 +88,7 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 			this.entityCaches           = new StorageEntityCache.Default[channelCount];
 			this.sourceTails            = this.createImportSources(channelCount);
 			this.sourceHeads            = this.sourceTails.clone();
+			this.readerCount            = Math.max(1, Math.min(channelCount, Runtime.getRuntime().availableProcessors()));
 		}
 
 
@@ -115,56 +126,112 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 			return false;
 		}
 
-		private synchronized void ensureReaderThread()
+		private synchronized void ensureReaderThreads()
 		{
-			if(this.readThread != null || this.entityCacheCollectionNotComplete())
+			if(this.readThreads != null || this.entityCacheCollectionNotComplete())
 			{
 				return;
 			}
-			this.readThread = XThreads.start((Runnable)this::readSources);
+
+			final List<S> sources = new ArrayList<>();
+			for(final S source : this.sources)
+			{
+				sources.add(source);
+			}
+
+			// one reader per channel at most, each holds at most one parsed but unpublished source
+			this.readThreads = new Thread[Math.max(1, Math.min(this.readerCount, sources.size()))];
+			this.activeReaders.set(this.readThreads.length);
+			for(int i = 0; i < this.readThreads.length; i++)
+			{
+				this.readThreads[i] = XThreads.start((Runnable)() -> this.readSources(sources));
+			}
 		}
 
-		final void readSources()
+		final void readSources(final List<S> sources)
 		{
 			try
 			{
 				final ItemReader itemReader = new ItemReader(this.entityCaches, this.sourceHeads);
 
-				for(final S source : this.sources)
+				for(int index; this.readProblem == null && (index = this.nextSource.getAndIncrement()) < sources.size();)
 				{
+					final S source = sources.get(index);
 					try
 					{
 						itemReader.setSource(source);
 						this.iterateSource(source, itemReader);
-						itemReader.completeCurrentSource();
 					}
 					catch(final Exception e)
 					{
 						throw new StorageExceptionImportFailed("Exception while reading import source " + source, e);
 					}
+
+					if(!this.publishSource(index, itemReader))
+					{
+						// another reader failed, its source will never be published
+						return;
+					}
 				}
 			}
 			catch(final Throwable t)
 			{
-				// this thread has no uncaught exception handler, a failure escaping here would be
+				// reader threads have no uncaught exception handler, a failure escaping here would be
 				// swallowed; hand it to the channels, which must roll back instead of committing
 				// the batches published before the read failed
-				this.readProblem = t;
+				synchronized(this.publishLock)
+				{
+					if(this.readProblem == null)
+					{
+						this.readProblem = t;
+					}
+					this.publishLock.notifyAll();
+				}
 			}
 			finally
 			{
 				// the only signal that no further source will arrive - left unset, every channel
-				// parks forever in #internalProcessBy. Written after #readProblem, so observing
-				// completion also observes the cause.
-				this.complete.set(true);
+				// parks forever in #internalProcessBy. Written after #readProblem and after the last
+				// publication, so observing completion also observes the cause and all sources.
+				if(this.activeReaders.decrementAndGet() == 0)
+				{
+					this.complete.set(true);
+				}
 			}
 		}
 
 		/**
-		 * The reader thread can fail, never start at all (a channel failing before registering its
-		 * entity cache leaves it unstarted, see {@link #ensureReaderThread()}), or a storage-wide
-		 * disruption can make waiting pointless. Only a failed reader sets {@link #complete} (its
-		 * finally); an unstarted reader or a disruption never does, so a waiting channel must
+		 * Waits until all sources preceding the passed one are published, then publishes the parsed
+		 * source to the channels. This keeps the per-channel order of the sources, so a later record
+		 * of an entity always replaces an earlier one, no matter which reader parsed it.
+		 */
+		private boolean publishSource(final int sourceIndex, final ItemReader itemReader)
+			throws InterruptedException
+		{
+			synchronized(this.publishLock)
+			{
+				while(this.publishedSourceCount != sourceIndex)
+				{
+					if(this.readProblem != null)
+					{
+						return false;
+					}
+					this.publishLock.wait();
+				}
+
+				itemReader.completeCurrentSource();
+				this.publishedSourceCount++;
+				this.publishLock.notifyAll();
+			}
+
+			return true;
+		}
+
+		/**
+		 * A reader thread can fail, never start at all (a channel failing before registering its
+		 * entity cache leaves them unstarted, see {@link #ensureReaderThreads()}), or a storage-wide
+		 * disruption can make waiting pointless. Only failed readers set {@link #complete} (their
+		 * finally); unstarted readers or a disruption never do, so a waiting channel must
 		 * observe those explicitly or it freezes the whole storage, shutdown included.
 		 *
 		 * @return the cause to register as the waiting channel's problem, or {@code null}. Sibling
@@ -207,6 +274,7 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 			private       S                              source               ;
 			private       int                            currentBatchChannel  ;
 			private       long                           currentSourcePosition;
+			private       long                           maxObjectId          ;
 			
 			
 			///////////////////////////////////////////////////////////////////////////
@@ -258,13 +326,16 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 				final int intLength = X.checkArrayRange(length);
 
 				// read and validate entity head information
-				final long                      objectId     = Binary.getEntityObjectIdRawValue(address);
-				final int                       channelIndex = (int)objectId & this.channelHash;
-				final StorageEntityType.Default type         = this.entityCaches[channelIndex].validateEntity(
-					intLength,
-					Binary.getEntityTypeIdRawValue(address),
-					objectId
-				);
+				final long                       objectId     = Binary.getEntityObjectIdRawValue(address);
+				final int                        channelIndex = (int)objectId & this.channelHash;
+				final StorageEntityCache.Default entityCache  = this.entityCaches[channelIndex];
+				final StorageEntityType.Default  type;
+
+				// validation may register a new type in the channel's cache, which concurrent readers must not race
+				synchronized(entityCache)
+				{
+					type = entityCache.validateEntity(intLength, Binary.getEntityTypeIdRawValue(address), objectId);
+				}
 
 				// register entity accordingly (either new batch required or current batch can be enlarged)
 				if(channelIndex != this.currentBatchChannel)
@@ -277,9 +348,9 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 					this.addToCurrentBatch(intLength, objectId, type);
 				}
 
-				if(objectId >= StorageRequestTaskImportData.Abstract.this.maxObjectId)
+				if(objectId >= this.maxObjectId)
 				{
-					 StorageRequestTaskImportData.Abstract.this.maxObjectId = objectId;
+					this.maxObjectId = objectId;
 				}
 
 				// keep track of current source position to offset the batch correctly
@@ -331,8 +402,14 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 				this.source                = source;
 			}
 
+			// called in source order under the task's publish lock
 			final void completeCurrentSource()
 			{
+				if(this.maxObjectId > StorageRequestTaskImportData.Abstract.this.maxObjectId)
+				{
+					StorageRequestTaskImportData.Abstract.this.maxObjectId = this.maxObjectId;
+				}
+
 				final StorageImportSource.Abstract[] sourceHeads  = this.sourceHeads ;
 				final ChannelItem[]                  channelItems = this.channelItems;
 				for(int i = 0; i < sourceHeads.length; i++)
@@ -373,10 +450,10 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 			}
 
 			/*
-			 * the last thread to enter this method starts a single reader thread,
+			 * the last thread to enter this method starts the reader threads,
 			 * all other threads return here right away
 			 */
-			this.ensureReaderThread();
+			this.ensureReaderThreads();
 
 			// the tail array is always initialized with an empty dummy source which serves as an entry point.
 			StorageImportSource.Abstract currentSource = this.sourceTails[channel.channelIndex()];
@@ -415,7 +492,7 @@ public interface StorageRequestTaskImportData<S> extends StorageRequestTask
 						currentSource = currentSource.next;
 					}
 
-					// process the batch outside the lock to not block the central reader thread by channel-local work
+					// process the batch outside the lock to not block the reader threads by channel-local work
 					channel.importData(currentSource);
 				}
 			}
@@ -0,0 +1,86 @@
+package org.eclipse.store.storage.types;
+
+/*-
+ * #%L
+ * EclipseStore Storage
+ * %%
+ * Copyright (C) 2023 MicroStream Software
+ * %%
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ * 
+ * SPDX-License-Identifier: EPL-2.0
+ * #L%
+ */
+
+import org.eclipse.serializer.util.X;
+
+
+public interface StorageRequestTaskSnapshotBackup extends StorageRequestTask
+{
+	public StorageBackupSnapshot result();
+
+
+
+	public final class Default
+	extends StorageChannelSynchronizingTask.AbstractCompletingTask<StorageBackupSnapshot.ChannelEntry>
+	implements StorageRequestTaskSnapshotBackup
+	{
+		///////////////////////////////////////////////////////////////////////////
+		// instance fields //
+		////////////////////
+
+		private final StorageBackupSnapshots               snapshots     ;
+		private final StorageBackupSnapshot                previous      ;
+		private final StorageBackupSnapshot.ChannelEntry[] channelResults;
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// constructors //
+		/////////////////
+
+		Default(
+			final long                       timestamp   ,
+			final int                        channelCount,
+			final StorageBackupSnapshots     snapshots   ,
+			final StorageOperationController controller
+		)
+		{
+			super(timestamp, channelCount, controller);
+			this.snapshots      = snapshots;
+			this.previous       = snapshots.latestSnapshot();
+			this.channelResults = new StorageBackupSnapshot.ChannelEntry[channelCount];
+		}
+
+
+
+		///////////////////////////////////////////////////////////////////////////
+		// methods //
+		////////////
+
+		@Override
+		protected final StorageBackupSnapshot.ChannelEntry internalProcessBy(final StorageChannel channel)
+		{
+			return channel.snapshotData(this.snapshots, this.timestamp(), this.previous);
+		}
+
+		@Override
+		protected synchronized void succeed(
+			final StorageChannel                     channel,
+			final StorageBackupSnapshot.ChannelEntry result
+		)
+		{
+			this.channelResults[channel.channelIndex()] = result;
+		}
+
+		@Override
+		public synchronized StorageBackupSnapshot result()
+		{
+			return StorageBackupSnapshot.New(this.timestamp(), X.ArrayView(this.channelResults));
+		}
+
+	}
+
+}
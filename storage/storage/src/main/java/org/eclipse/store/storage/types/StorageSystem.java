@@ -30,6 +30,7 @@ import org.eclipse.serializer.util.logging.Logging;
 import org.eclipse.store.storage.exceptions.StorageExceptionInitialization;
 import org.eclipse.store.storage.exceptions.StorageExceptionNotAcceptingTasks;
 import org.eclipse.store.storage.exceptions.StorageExceptionNotRunning;
+import org.eclipse.store.storage.monitoring.StorageBackupMonitor;
 import org.slf4j.Logger;
 
 
@@ -481,9 +482,11 @@ public interface StorageSystem extends StorageController
 			// set backup handling state to being running
 			backupHandler.start();
 			
-			// set up a backup thread and start it.
+			// set up a backup thread and start it. Additional copier threads are spawned by the handler itself.
 			this.backupThread = this.threadProvider.provideBackupThread(backupHandler);
 			this.backupThread.start();
+			
+			this.monitorManager.registerMonitor(new StorageBackupMonitor(backupHandler));
 		}
 		
 		private void initializeLockFileManager()
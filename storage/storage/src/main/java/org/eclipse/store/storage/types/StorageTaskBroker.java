@@ -68,6 +68,9 @@ public interface StorageTaskBroker
 	)
 		throws InterruptedException;
 
+	public StorageRequestTaskSnapshotBackup enqueueSnapshotBackupTask(StorageBackupSnapshots snapshots)
+		throws InterruptedException;
+
 	public StorageRequestTask enqueueImportFromFilesTask(XGettingEnum<AFile> importFiles)
 		throws InterruptedException;
 	
@@ -609,6 +612,19 @@ public interface StorageTaskBroker
 			return task;
 		}
 
+		@Override
+		public final synchronized StorageRequestTaskSnapshotBackup enqueueSnapshotBackupTask(
+			final StorageBackupSnapshots snapshots
+		)
+			throws InterruptedException
+		{
+			final StorageRequestTaskSnapshotBackup task = this.taskCreator.createTaskSnapshotBackup(
+				this.channelCount, snapshots, this.operationController
+			);
+			this.enqueueTaskAndNotifyAll(task);
+			return task;
+		}
+
 		@Override
 		public final synchronized StorageRequestTaskCreateStatistics enqueueCreateRawFileStatisticsTask() throws InterruptedException
 		{